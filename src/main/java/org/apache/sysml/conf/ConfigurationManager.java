@@ -47,6 +47,9 @@ public class ConfigurationManager
     /** Local compiler configuration for thead-local config updates */
     private static ThreadLocalCompilerConfig _lcconf = new ThreadLocalCompilerConfig();
     
+    /** Global flag for single-precision storage (cached for runtime access) */
+    private static boolean _singlePrecision = false;
+    
     //global static initialization
 	static {
 		_rJob = new JobConf();
@@ -82,6 +85,8 @@ public class ConfigurationManager
 	 */
 	public synchronized static void setGlobalConfig( DMLConfig conf ) {
 		_dmlconf = conf;
+		_singlePrecision = (conf != null) && "single".equalsIgnoreCase(
+			conf.getTextValue(DMLConfig.FLOATING_POINT_PRECISION));
 		
 		//reinitialize thread-local dml configs w/ _dmlconf
 		_ldmlconf = new ThreadLocalDMLConfig();
@@ -178,6 +183,18 @@ public class ConfigurationManager
 		return getCompilerConfigFlag(ConfigType.PARALLEL_LOCAL_OR_REMOTE_PARFOR);
 	}
 	
+	/**
+	 * Indicates if matrix blocks are stored in single precision (FP32)
+	 * when serialized (e.g., buffer pool evictions and binary block files)
+	 * and as dense instruction outputs in memory, which is configured via 
+	 * floating.point.precision.
+	 * 
+	 * @return true if single-precision storage is enabled
+	 */
+	public static boolean isSinglePrecision() {
+		return _singlePrecision;
+	}
+	
 	
 	///////////////////////////////////////
 	// Thread-local classes
@@ -386,6 +386,14 @@ public class AggBinaryOp extends Hop implements MultiThreadedHop
 		return true;
 	}
 	
+	@Override
+	protected boolean supportsLargeDenseBlocks() {
+		//plain matrix multiply (w/o tsmm, mmchain, pmm patterns)
+		return isMatrixMultiply() && !_hasLeftPMInput
+			&& checkTransposeSelf() == MMTSJType.NONE
+			&& checkMapMultChain() == ChainType.NONE;
+	}
+	
 	@Override
 	protected ExecType optFindExecType() 
 		throws HopsException 
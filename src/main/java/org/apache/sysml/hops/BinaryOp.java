@@ -21,6 +21,7 @@ package org.apache.sysml.hops;
 
 import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.Hop.MultiThreadedHop;
 import org.apache.sysml.hops.rewrite.HopRewriteUtils;
 import org.apache.sysml.lops.Aggregate;
 import org.apache.sysml.lops.AppendGAlignedSP;
@@ -54,6 +55,8 @@ import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.controlprogram.ParForProgramBlock.PDataPartitionFormat;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.DenseBlockFactory;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.mapred.DistributedCacheInput;
 
 
@@ -64,7 +67,7 @@ import org.apache.sysml.runtime.matrix.mapred.DistributedCacheInput;
  * 		Semantic: align indices (sort), then perform operation
  */
 
-public class BinaryOp extends Hop 
+public class BinaryOp extends Hop implements MultiThreadedHop
 {
 	
 	//we use the full remote memory budget (but reduced by sort buffer), 
@@ -72,6 +75,7 @@ public class BinaryOp extends Hop
 	
 	private Hop.OpOp2 op;
 	private boolean outer = false;
+	private int _maxNumThreads = -1; //-1 for unlimited
 	
 	public static AppendMethod FORCED_APPEND_METHOD = null;
 	
@@ -127,6 +131,16 @@ public class BinaryOp extends Hop
 		return outer;
 	}
 	
+	@Override
+	public void setMaxNumThreads( int k ) {
+		_maxNumThreads = k;
+	}
+	
+	@Override
+	public int getMaxNumThreads() {
+		return _maxNumThreads;
+	}
+	
 	@Override
 	public Lop constructLops() 
 		throws HopsException, LopsException 
@@ -611,9 +625,11 @@ public class BinaryOp extends Hop
 									getInput().get(1).constructLops(),
 									ConvolutionTransform.OperationTypes.RELU_BACKWARD, getDataType(), getValueType(), et, -1);
 				}
-				else
+				else {
+					int k = OptimizerUtils.getConstrainedNumThreads( _maxNumThreads );
 					binary = new Binary(getInput().get(0).constructLops(), getInput().get(1).constructLops(), HopsOpOp2LopsB.get(op),
-						getDataType(), getValueType(), et);
+						getDataType(), getValueType(), et, k);
+				}
 				
 				setOutputDimensions(binary);
 				setLineNumbers(binary);
@@ -794,6 +810,11 @@ public class BinaryOp extends Hop
 				sparsity = OptimizerUtils.getSparsity(dim1, dim2, nnz);
 			
 			ret = OptimizerUtils.estimateSizeExactSparsity(dim1, dim2, sparsity);	
+			
+			//relational operations produce boolean outputs (bitset) if smaller
+			if( isPPredOperation() && !outer && getDataType()==DataType.MATRIX
+				&& dim1 > 0 && dim2 > 0 && dim1 * dim2 <= DenseBlockFactory.MAX_ALLOC )
+				ret = Math.min(ret, MatrixBlock.estimateSizeBooleanInMemory(dim1, dim2));
 		}
 		
 		
@@ -925,6 +946,21 @@ public class BinaryOp extends Hop
 		return true;
 	}
 	
+	@Override
+	protected boolean supportsLargeDenseBlocks() {
+		//cell-wise matrix-matrix, matrix-vector, and matrix-scalar operations
+		if( outer )
+			return false;
+		switch( op ) {
+			case PLUS: case MINUS: case MULT: case DIV: case MODULUS: case INTDIV:
+			case LESS: case LESSEQUAL: case GREATER: case GREATEREQUAL: case EQUAL: 
+			case NOTEQUAL: case MIN: case MAX: case AND: case OR: case POW:
+				return true;
+			default:
+				return false;
+		}
+	}
+	
 	@Override
 	protected ExecType optFindExecType() throws HopsException {
 		
@@ -1507,6 +1543,7 @@ public class BinaryOp extends Hop
 		//copy specific attributes
 		ret.op = op;
 		ret.outer = outer;
+		ret._maxNumThreads = _maxNumThreads;
 		
 		return ret;
 	}
@@ -1520,6 +1557,7 @@ public class BinaryOp extends Hop
 		BinaryOp that2 = (BinaryOp)that;
 		return (   op == that2.op
 				&& outer == that2.outer
+				&& _maxNumThreads == that2._maxNumThreads
 				&& getInput().get(0) == that2.getInput().get(0)
 				&& getInput().get(1) == that2.getInput().get(1));
 	}
@@ -184,6 +184,16 @@ public abstract class Hop
 			_etypeForced = ExecType.SPARK;
 	}
 	
+	/**
+	 * Indicates if the CP runtime of this operation supports dense inputs and
+	 * outputs of more than 2^31 cells (dense blocks of multiple row blocks).
+	 * 
+	 * @return true if large dense blocks are supported
+	 */
+	protected boolean supportsLargeDenseBlocks() {
+		return false;
+	}
+	
 	public void checkAndSetInvalidCPDimsAndSize()
 	{		
 		if( _etype == ExecType.CP )
@@ -197,10 +207,12 @@ public abstract class Hop
 			
 			//Step 2: check valid output and input sizes for cp (<16GB for DENSE)
 			//(if the memory estimate is smaller than max_numcells we are guaranteed to have it in sparse representation)
-			invalid |= !(  OptimizerUtils.isValidCPMatrixSize(_dim1, _dim2, OptimizerUtils.getSparsity(_dim1, _dim2, _nnz))
+			//(unless the operation supports large dense blocks of multiple row blocks)
+			boolean largeDense = supportsLargeDenseBlocks();
+			invalid |= !(  OptimizerUtils.isValidCPMatrixSize(_dim1, _dim2, OptimizerUtils.getSparsity(_dim1, _dim2, _nnz), largeDense)
 					    || getOutputMemEstimate() < OptimizerUtils.MAX_NUMCELLS_CP_DENSE );
 			for( Hop in : getInput() )
-				invalid |= !(   OptimizerUtils.isValidCPMatrixSize(in._dim1, in._dim2, OptimizerUtils.getSparsity(in._dim1, in._dim2, in._nnz))
+				invalid |= !(   OptimizerUtils.isValidCPMatrixSize(in._dim1, in._dim2, OptimizerUtils.getSparsity(in._dim1, in._dim2, in._nnz), largeDense)
 						     || in.getOutputMemEstimate() < OptimizerUtils.MAX_NUMCELLS_CP_DENSE);
 			
 			//force exec type mr if necessary
@@ -170,7 +170,7 @@ public class IndexingOp extends Hop
 					RangeBasedReIndex reindex = new RangeBasedReIndex(
 							input.constructLops(), getInput().get(1).constructLops(), getInput().get(2).constructLops(),
 							getInput().get(3).constructLops(), getInput().get(4).constructLops(), dummy, dummy,
-							getDataType(), getValueType(), et);
+							getDataType(), getValueType(), et, false, isReadOnlyRowSlice());
 					
 					setOutputDimensions(reindex);
 					setLineNumbers(reindex);
@@ -263,6 +263,37 @@ public class IndexingOp extends Hop
 		return ret;
 	}
 	
+	/**
+	 * Indicates if this right indexing extracts a row range over all columns
+	 * of a matrix, whose result is never updated by its consumers. In this case, 
+	 * the runtime may return a read-only view of the input (zero-copy), which
+	 * is safe because views are copied on write if modified nevertheless.
+	 * 
+	 * @return true if read-only row range indexing
+	 */
+	private boolean isReadOnlyRowSlice() 
+	{
+		Hop input = getInput().get(0);
+		Hop cl = getInput().get(3);
+		Hop cu = getInput().get(4);
+		
+		//check for row range indexing over all columns, i.e., X[rl:ru,]
+		boolean allCols = cl instanceof LiteralOp && HopRewriteUtils.getDoubleValueSafe((LiteralOp)cl)==1
+			&& ((cu instanceof LiteralOp && input.getDim2() > 0 
+				&& HopRewriteUtils.getDoubleValueSafe((LiteralOp)cu)==input.getDim2())
+			|| (HopRewriteUtils.isUnary(cu, OpOp1.NCOL) && cu.getInput().get(0)==input));
+		if( getDataType() != DataType.MATRIX || input.getDataType() != DataType.MATRIX 
+			|| _rowLowerEqualsUpper || !allCols )
+			return false;
+		
+		//check for consumers that potentially update their inputs
+		for( Hop p : getParent() )
+			if( (p instanceof LeftIndexingOp && p.getInput().get(0)==this) 
+				|| p instanceof FunctionOp )
+				return false;
+		return true;
+	}
+	
 	/**
 	 * Indicates if the lbound:rbound expressions is of the form
 	 * "(c * (i - 1) + 1) : (c * i)", where we could use c as a tight size estimate.
@@ -173,6 +173,12 @@ public class OptimizerUtils
 	 */
 	public static boolean ALLOW_LOOP_UPDATE_IN_PLACE = true;
 	
+	/**
+	 * Enables a specific rewrite that marks loop-invariant matrix variables as
+	 * read-only, which allows their conversion into read-optimized sparse blocks.
+	 */
+	public static boolean ALLOW_LOOP_READ_ONLY = true;
+	
 	
 	/**
 	 * Specifies a multiplier computing the degree of parallelism of parallel
@@ -307,6 +313,7 @@ public class OptimizerUtils
 				ALLOW_BRANCH_REMOVAL = false;
 				ALLOW_SUM_PRODUCT_REWRITES = false;
 				ALLOW_LOOP_UPDATE_IN_PLACE = false;
+				ALLOW_LOOP_READ_ONLY = false;
 				break;
 			// opt level 2: memory-based (all advanced rewrites)
 			case 2:
@@ -835,12 +842,29 @@ public class OptimizerUtils
 	 * @param sparsity the sparsity
 	 * @return true if valid matrix size
 	 */
-	public static boolean isValidCPMatrixSize( long rows, long cols, double sparsity )
+	public static boolean isValidCPMatrixSize( long rows, long cols, double sparsity ) {
+		return isValidCPMatrixSize(rows, cols, sparsity, false);
+	}
+	
+	/**
+	 * Determines if valid matrix size to be represented in CP data structures. Note that
+	 * sparsity needs to be specified as rows*cols if unknown. Dense matrices with more 
+	 * than 2^31 cells are only valid if the consuming operation supports large dense 
+	 * blocks of multiple row blocks.
+	 * 
+	 * @param rows number of rows
+	 * @param cols number of cols
+	 * @param sparsity the sparsity
+	 * @param allowLargeDense true if large dense blocks are supported
+	 * @return true if valid matrix size
+	 */
+	public static boolean isValidCPMatrixSize( long rows, long cols, double sparsity, boolean allowLargeDense )
 	{
 		boolean ret = true;
 		
 		//the current CP runtime implementation has several limitations:
-		//1) for dense: 16GB because we use a linearized array (bounded to int in java)
+		//1) for dense: 16GB because we use a linearized array (bounded to int in java),
+		//   unless the operation supports large dense blocks of multiple row blocks
 		//2) for sparse: 2G x 2G nnz because (1) nnz maintained as long, (2) potential changes 
 		//   to dense, and (3) sparse row arrays also of max int size (worst case in case of skew)  
 		long nnz = (long)(sparsity * rows * cols);
@@ -854,7 +878,7 @@ public class OptimizerUtils
 		else //DENSE
 		{
 			//check number of matrix cell
-			ret = ((rows * cols) <= MAX_NUMCELLS_CP_DENSE);
+			ret = allowLargeDense || ((rows * cols) <= MAX_NUMCELLS_CP_DENSE);
 		}
 			
 		return ret;
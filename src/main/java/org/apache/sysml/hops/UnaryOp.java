@@ -159,7 +159,8 @@ public class UnaryOp extends Hop implements MultiThreadedHop
 				}
 				else //default unary 
 				{
-					int k = isCumulativeUnaryOperation() ? OptimizerUtils.getConstrainedNumThreads( _maxNumThreads ) : 1;
+					int k = isCumulativeUnaryOperation() || isDecompositionUnaryOperation() ? 
+						OptimizerUtils.getConstrainedNumThreads( _maxNumThreads ) : 1;
 					if(_op == OpOp1.SELP || _op == OpOp1.EXP) {
 						et = findGPUExecTypeByMemEstimate(et);
 					}
@@ -601,6 +602,12 @@ public class UnaryOp extends Hop implements MultiThreadedHop
 				|| _op == OpOp1.CUMMAX  );
 	}
 
+	public boolean isDecompositionUnaryOperation() 
+	{
+		return (   _op == OpOp1.INVERSE 
+				|| _op == OpOp1.CHOLESKY );
+	}
+
 	public boolean isCastUnaryOperation() 
 	{
 		return (   _op == OpOp1.CAST_AS_MATRIX
@@ -118,6 +118,8 @@ public class ProgramRewriter
  			_sbRuleSet.add( new RewriteInjectSparkLoopCheckpointing(true)        ); //dependency: reblock (blocksizes)
  			if( OptimizerUtils.ALLOW_LOOP_UPDATE_IN_PLACE )
  				_sbRuleSet.add(  new RewriteMarkLoopVariablesUpdateInPlace()      );
+ 			if( OptimizerUtils.ALLOW_LOOP_READ_ONLY )
+ 				_sbRuleSet.add(  new RewriteMarkLoopVariablesReadOnly()           );
 		}
 		
 		// DYNAMIC REWRITES (which do require size information)
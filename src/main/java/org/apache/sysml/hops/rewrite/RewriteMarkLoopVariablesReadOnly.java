@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.hops.rewrite;
+
+import java.util.ArrayList;
+
+import org.apache.sysml.hops.HopsException;
+import org.apache.sysml.parser.ForStatementBlock;
+import org.apache.sysml.parser.StatementBlock;
+import org.apache.sysml.parser.VariableSet;
+import org.apache.sysml.parser.WhileStatementBlock;
+import org.apache.sysml.parser.Expression.DataType;
+
+/**
+ * Rule: Mark loop-invariant matrix variables, i.e., variables that are read
+ * but never updated inside the loop body, as read-only. At runtime, these
+ * variables are subject to the conversion into read-optimized sparse blocks.
+ * 
+ */
+public class RewriteMarkLoopVariablesReadOnly extends StatementBlockRewriteRule
+{
+	@Override
+	public ArrayList<StatementBlock> rewriteStatementBlock(StatementBlock sb, ProgramRewriteStatus status)
+		throws HopsException 
+	{
+		ArrayList<StatementBlock> ret = new ArrayList<StatementBlock>();
+		
+		if( sb instanceof WhileStatementBlock || sb instanceof ForStatementBlock ) //incl parfor 
+		{
+			ArrayList<String> candidates = new ArrayList<String>(); 
+			VariableSet read = sb.variablesRead();
+			VariableSet updated = sb.variablesUpdated();
+			
+			for( String varname : read.getVariableNames() ) {
+				if( read.getVariable(varname).getDataType()==DataType.MATRIX
+					&& !updated.containsVariable(varname) ) //loop-invariant
+				{
+					candidates.add(varname);
+				}
+			}
+			
+			sb.setReadOnlyVars(candidates);
+		}
+		
+		//return modified statement block
+		ret.add(sb);
+		return ret;
+	}
+}
@@ -193,8 +193,11 @@ public class Binary extends Lop
 		
 		sb.append( this.prepOutputOperand(output));
 		
-		//append degree of parallelism for matrix multiplications
-		if( operation == OperationTypes.MATMULT && getExecType()==ExecType.CP ) {
+		//append degree of parallelism for matrix multiplications, solve,
+		//and matrix-matrix arithmetic and relational operations
+		if( (operation == OperationTypes.MATMULT || operation == OperationTypes.SOLVE 
+			|| isMultiThreadedCellOp()) 
+			&& getExecType()==ExecType.CP ) {
 			sb.append( OPERAND_DELIMITOR );
 			sb.append( numThreads );
 		}
@@ -208,6 +211,14 @@ public class Binary extends Lop
 		return sb.toString();
 	}
 	
+	private boolean isMultiThreadedCellOp() {
+		boolean isCellOp = (operation != OperationTypes.MATMULT && operation != OperationTypes.SOLVE
+			&& operation != OperationTypes.AND && operation != OperationTypes.OR
+			&& operation != OperationTypes.MAX && operation != OperationTypes.MIN);
+		return isCellOp && getInputs().get(0).getDataType() == DataType.MATRIX 
+			&& getInputs().get(1).getDataType() == DataType.MATRIX;
+	}
+	
 	@Override
 	public String getInstructions(int input_index1, int input_index2, int output_index) throws LopsException
 	{
@@ -325,6 +325,11 @@ public class DataGen extends Lop
 		sb.append( Lop.OPERAND_DELIMITOR );
 		sb.append( colsInBlockString );
 		sb.append( Lop.OPERAND_DELIMITOR );
+		if( getExecType() == ExecType.CP ) {
+			//append degree of parallelism
+			sb.append( _numThreads );
+			sb.append( Lop.OPERAND_DELIMITOR );
+		}
 		sb.append( prepOutputOperand(output) );
 		
 		return sb.toString();
@@ -382,6 +387,11 @@ public class DataGen extends Lop
 			sb.append( baseDir );
 			sb.append( OPERAND_DELIMITOR );
 		}
+		else if( et == ExecType.CP ) {
+			//append degree of parallelism
+			sb.append( _numThreads );
+			sb.append( OPERAND_DELIMITOR );
+		}
 		sb.append( this.prepOutputOperand(output));
 
 		return sb.toString();
@@ -37,11 +37,19 @@ public class FunctionCallCP extends Lop
 	private String _fname;
 	private String[] _outputs;
 	private ArrayList<Lop> _outputLops = null;
+	private int _numThreads = 1;
 
 	public FunctionCallCP(ArrayList<Lop> inputs, String fnamespace, String fname, String[] outputs, ArrayList<Hop> outputHops, ExecType et) 
 		throws HopsException, LopsException 
+	{
+		this(inputs, fnamespace, fname, outputs, outputHops, et, 1);
+	}
+	
+	public FunctionCallCP(ArrayList<Lop> inputs, String fnamespace, String fname, String[] outputs, ArrayList<Hop> outputHops, ExecType et, int k) 
+		throws HopsException, LopsException 
 	{
 		this(inputs, fnamespace, fname, outputs, et);
+		_numThreads = k;
 		if(outputHops != null) {
 			_outputLops = new ArrayList<Lop>();
 			for(Hop h : outputHops)
@@ -98,9 +106,21 @@ public class FunctionCallCP extends Lop
 			sb.append(_outputs[i]);
 		}
 		
+		//num threads for multi-threaded decompositions
+		if( isMultiThreadedDecomposition() ) {
+			sb.append(Lop.OPERAND_DELIMITOR);
+			sb.append(_numThreads);
+		}
+		
 		return sb.toString();
 	}
 	
+	private boolean isMultiThreadedDecomposition() {
+		return getExecType() == ExecType.CP 
+			&& (_fname.equalsIgnoreCase("qr") || _fname.equalsIgnoreCase("lu")
+			|| _fname.equalsIgnoreCase("eigen"));
+	}
+	
 	/**
 	 * Method to generate instructions for external functions as well as builtin functions with multiple returns.
 	 * Builtin functions have their namespace set to DMLProgram.INTERNAL_NAMESPACE ("_internal").
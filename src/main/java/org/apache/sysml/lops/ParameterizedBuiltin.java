@@ -47,6 +47,7 @@ public class ParameterizedBuiltin extends Lop
 	private OperationTypes _operation;
 	private HashMap<String, Lop> _inputParams;
 	private boolean _bRmEmptyBC;
+	private int _numThreads = 1;
 
 	public ParameterizedBuiltin(HashMap<String, Lop> paramLops, OperationTypes op, DataType dt, ValueType vt, ExecType et) 
 		throws HopsException 
@@ -109,6 +110,13 @@ public class ParameterizedBuiltin extends Lop
 		_bRmEmptyBC = bRmEmptyBC;
 	}
 	
+	public ParameterizedBuiltin(HashMap<String, Lop> paramLops, OperationTypes op, DataType dt, ValueType vt, ExecType et, int k) 
+		throws HopsException 
+	{
+		this(paramLops, op, dt, vt, et);
+		_numThreads = k;
+	}
+	
 	public OperationTypes getOp() { 
 		return _operation; 
 	}
@@ -229,6 +237,14 @@ public class ParameterizedBuiltin extends Lop
 			sb.append( _bRmEmptyBC );
 			sb.append(OPERAND_DELIMITOR);
 		}
+		
+		if( getExecType()==ExecType.CP && (_operation == OperationTypes.RMEMPTY 
+			|| _operation == OperationTypes.REXPAND) ) {
+			sb.append( "k" );
+			sb.append( NAME_VALUE_SEPARATOR );
+			sb.append( _numThreads );
+			sb.append( OPERAND_DELIMITOR );
+		}
 
 		sb.append(this.prepOutputOperand(output));
 		
@@ -34,6 +34,9 @@ public class RangeBasedReIndex extends Lop
 
 	//optional attribute for spark exec type
 	private SparkAggType _aggtype = SparkAggType.MULTI_BLOCK;
+	
+	//optional attribute for cp exec type (read-only output, allows views)
+	private boolean _view = false;
 
 	public RangeBasedReIndex(Lop input, Lop rowL, Lop rowU, Lop colL, Lop colU, Lop rowDim, Lop colDim, 
 			DataType dt, ValueType vt, ExecType et, boolean forleft)
@@ -51,6 +54,15 @@ public class RangeBasedReIndex extends Lop
 		init(input, rowL, rowU, colL, colU, rowDim, colDim, dt, vt, et, false);
 	}
 
+	public RangeBasedReIndex(Lop input, Lop rowL, Lop rowU, Lop colL, Lop colU, Lop rowDim, Lop colDim, 
+			DataType dt, ValueType vt, ExecType et, boolean forleft, boolean view)
+		throws LopsException 
+	{
+		super(Lop.Type.RangeReIndex, dt, vt);
+		_view = view;
+		init(input, rowL, rowU, colL, colU, rowDim, colDim, dt, vt, et, forleft);
+	}
+
 	public RangeBasedReIndex(Lop input, Lop rowL, Lop rowU, Lop colL, Lop colU, Lop rowDim, Lop colDim, 
 			DataType dt, ValueType vt, SparkAggType aggtype, ExecType et)
 		throws LopsException 
@@ -151,6 +163,12 @@ public class RangeBasedReIndex extends Lop
 			sb.append( _aggtype );	
 		}
 		
+		//in case of cp, we compile the optional view flag into the instruction.
+		if( getExecType() == ExecType.CP && _view ) {
+			sb.append( OPERAND_DELIMITOR );
+			sb.append( _view );
+		}
+		
 		return sb.toString();
 	}
 
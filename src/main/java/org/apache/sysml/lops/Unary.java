@@ -330,6 +330,12 @@ public class Unary extends Lop
 			|| op==OperationTypes.CUMMAX;
 	}
 	
+	public static boolean isMultiThreadedOp(OperationTypes op) {
+		return isCumulativeOp(op)
+			|| op==OperationTypes.INVERSE
+			|| op==OperationTypes.CHOLESKY;
+	}
+	
 	@Override
 	public String getInstructions(String input1, String output) 
 		throws LopsException 
@@ -350,8 +356,8 @@ public class Unary extends Lop
 		sb.append( OPERAND_DELIMITOR );
 		sb.append( prepOutputOperand(output) );
 		
-		//num threads for cumulative cp ops
-		if( getExecType() == ExecType.CP && isCumulativeOp(operation) ) {
+		//num threads for cumulative and decomposition-based cp ops
+		if( getExecType() == ExecType.CP && isMultiThreadedOp(operation) ) {
 			sb.append( OPERAND_DELIMITOR );
 			sb.append( _numThreads );
 		}
@@ -79,6 +79,7 @@ public class DataExpression extends DataIdentifier
 	public static final String AUTHORPARAM = "author";
 	public static final String SCHEMAPARAM = "schema";
 	public static final String CREATEDPARAM = "created";
+	public static final String COMPRESSEDPARAM = "compressed";
 
 	// Parameter names relevant to reading/writing delimited/csv files
 	public static final String DELIM_DELIMITER = "sep";
@@ -101,7 +102,7 @@ public class DataExpression extends DataIdentifier
 	public static final String[] READ_VALID_MTD_PARAM_NAMES = 
 		{ IO_FILENAME, READROWPARAM, READCOLPARAM, READNUMNONZEROPARAM, FORMAT_TYPE,
 			ROWBLOCKCOUNTPARAM, COLUMNBLOCKCOUNTPARAM, DATATYPEPARAM, VALUETYPEPARAM, SCHEMAPARAM, DESCRIPTIONPARAM,
-			AUTHORPARAM, CREATEDPARAM,
+			AUTHORPARAM, CREATEDPARAM, COMPRESSEDPARAM,
 			// Parameters related to delimited/csv files.
 			DELIM_FILL_VALUE, DELIM_DELIMITER, DELIM_FILL, DELIM_HAS_HEADER_ROW, DELIM_NA_STRINGS
 		}; 
@@ -1840,7 +1841,8 @@ public class DataExpression extends DataIdentifier
 				if (getVarParam(key.toString()) == null){
 					if (( !key.toString().equalsIgnoreCase(DESCRIPTIONPARAM) ) &&
 							( !key.toString().equalsIgnoreCase(AUTHORPARAM) ) &&
-							( !key.toString().equalsIgnoreCase(CREATEDPARAM) ) )
+							( !key.toString().equalsIgnoreCase(CREATEDPARAM) ) &&
+							( !key.toString().equalsIgnoreCase(COMPRESSEDPARAM) ) )
 					{
 						StringIdentifier strId = new StringIdentifier(val.toString(),
 								this.getFilename(), this.getBeginLine(), this.getBeginColumn(), 
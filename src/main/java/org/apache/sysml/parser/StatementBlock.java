@@ -55,6 +55,7 @@ public class StatementBlock extends LiveVariableAnalysis
 	HashMap<String,ConstIdentifier> _constVarsOut;
 	
 	private ArrayList<String> _updateInPlaceVars = null;
+	private ArrayList<String> _readOnlyVars = null;
 	private boolean _requiresRecompile = false;
 	
 	public StatementBlock() {
@@ -69,6 +70,7 @@ public class StatementBlock extends LiveVariableAnalysis
 		_constVarsIn = new HashMap<String,ConstIdentifier>();
 		_constVarsOut = new HashMap<String,ConstIdentifier>();
 		_updateInPlaceVars = new ArrayList<String>();
+		_readOnlyVars = new ArrayList<String>();
 	}
 	
 	public void setDMLProg(DMLProgram dmlProg){
@@ -1052,4 +1054,12 @@ public class StatementBlock extends LiveVariableAnalysis
 		_updateInPlaceVars = vars;
 	}
 	
+	public ArrayList<String> getReadOnlyVars() {
+		return _readOnlyVars;
+	}
+	
+	public void setReadOnlyVars( ArrayList<String> vars ) {
+		_readOnlyVars = vars;
+	}
+	
 }  // end class
@@ -0,0 +1,363 @@
+// Generated from org/apache/sysml/parser/dml/Dml.g4 by ANTLR 4.5.3
+package org.apache.sysml.parser.dml;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.antlr.v4.runtime.Lexer;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenStream;
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.atn.*;
+import org.antlr.v4.runtime.dfa.DFA;
+import org.antlr.v4.runtime.misc.*;
+
+@SuppressWarnings({"all", "warnings", "unchecked", "unused", "cast"})
+public class DmlLexer extends Lexer {
+	static { RuntimeMetaData.checkVersion("4.5.3", RuntimeMetaData.VERSION); }
+
+	protected static final DFA[] _decisionToDFA;
+	protected static final PredictionContextCache _sharedContextCache =
+		new PredictionContextCache();
+	public static final int
+		T__0=1, T__1=2, T__2=3, T__3=4, T__4=5, T__5=6, T__6=7, T__7=8, T__8=9, 
+		T__9=10, T__10=11, T__11=12, T__12=13, T__13=14, T__14=15, T__15=16, T__16=17, 
+		T__17=18, T__18=19, T__19=20, T__20=21, T__21=22, T__22=23, T__23=24, 
+		T__24=25, T__25=26, T__26=27, T__27=28, T__28=29, T__29=30, T__30=31, 
+		T__31=32, T__32=33, T__33=34, T__34=35, T__35=36, T__36=37, T__37=38, 
+		T__38=39, T__39=40, T__40=41, T__41=42, T__42=43, T__43=44, T__44=45, 
+		T__45=46, T__46=47, T__47=48, T__48=49, T__49=50, T__50=51, T__51=52, 
+		T__52=53, T__53=54, T__54=55, T__55=56, ID=57, INT=58, DOUBLE=59, DIGIT=60, 
+		ALPHABET=61, COMMANDLINE_NAMED_ID=62, COMMANDLINE_POSITION_ID=63, STRING=64, 
+		LINE_COMMENT=65, MULTILINE_BLOCK_COMMENT=66, WHITESPACE=67;
+	public static String[] modeNames = {
+		"DEFAULT_MODE"
+	};
+
+	public static final String[] ruleNames = {
+		"T__0", "T__1", "T__2", "T__3", "T__4", "T__5", "T__6", "T__7", "T__8", 
+		"T__9", "T__10", "T__11", "T__12", "T__13", "T__14", "T__15", "T__16", 
+		"T__17", "T__18", "T__19", "T__20", "T__21", "T__22", "T__23", "T__24", 
+		"T__25", "T__26", "T__27", "T__28", "T__29", "T__30", "T__31", "T__32", 
+		"T__33", "T__34", "T__35", "T__36", "T__37", "T__38", "T__39", "T__40", 
+		"T__41", "T__42", "T__43", "T__44", "T__45", "T__46", "T__47", "T__48", 
+		"T__49", "T__50", "T__51", "T__52", "T__53", "T__54", "T__55", "ID", "INT", 
+		"DOUBLE", "DIGIT", "ALPHABET", "EXP", "COMMANDLINE_NAMED_ID", "COMMANDLINE_POSITION_ID", 
+		"STRING", "ESC", "LINE_COMMENT", "MULTILINE_BLOCK_COMMENT", "WHITESPACE"
+	};
+
+	private static final String[] _LITERAL_NAMES = {
+		null, "'source'", "'('", "')'", "'as'", "';'", "'setwd'", "'='", "'<-'", 
+		"','", "'['", "']'", "'ifdef'", "'if'", "'{'", "'}'", "'else'", "'for'", 
+		"'in'", "'parfor'", "'while'", "':'", "'function'", "'return'", "'externalFunction'", 
+		"'implemented'", "'^'", "'-'", "'+'", "'%*%'", "'%/%'", "'%%'", "'*'", 
+		"'/'", "'>'", "'>='", "'<'", "'<='", "'=='", "'!='", "'!'", "'&'", "'&&'", 
+		"'|'", "'||'", "'TRUE'", "'FALSE'", "'int'", "'integer'", "'string'", 
+		"'boolean'", "'double'", "'Int'", "'Integer'", "'String'", "'Boolean'", 
+		"'Double'"
+	};
+	private static final String[] _SYMBOLIC_NAMES = {
+		null, null, null, null, null, null, null, null, null, null, null, null, 
+		null, null, null, null, null, null, null, null, null, null, null, null, 
+		null, null, null, null, null, null, null, null, null, null, null, null, 
+		null, null, null, null, null, null, null, null, null, null, null, null, 
+		null, null, null, null, null, null, null, null, null, "ID", "INT", "DOUBLE", 
+		"DIGIT", "ALPHABET", "COMMANDLINE_NAMED_ID", "COMMANDLINE_POSITION_ID", 
+		"STRING", "LINE_COMMENT", "MULTILINE_BLOCK_COMMENT", "WHITESPACE"
+	};
+	public static final Vocabulary VOCABULARY = new VocabularyImpl(_LITERAL_NAMES, _SYMBOLIC_NAMES);
+
+	/**
+	 * @deprecated Use {@link #VOCABULARY} instead.
+	 */
+	@Deprecated
+	public static final String[] tokenNames;
+	static {
+		tokenNames = new String[_SYMBOLIC_NAMES.length];
+		for (int i = 0; i < tokenNames.length; i++) {
+			tokenNames[i] = VOCABULARY.getLiteralName(i);
+			if (tokenNames[i] == null) {
+				tokenNames[i] = VOCABULARY.getSymbolicName(i);
+			}
+
+			if (tokenNames[i] == null) {
+				tokenNames[i] = "<INVALID>";
+			}
+		}
+	}
+
+	@Override
+	@Deprecated
+	public String[] getTokenNames() {
+		return tokenNames;
+	}
+
+	@Override
+
+	public Vocabulary getVocabulary() {
+		return VOCABULARY;
+	}
+
+
+	public DmlLexer(CharStream input) {
+		super(input);
+		_interp = new LexerATNSimulator(this,_ATN,_decisionToDFA,_sharedContextCache);
+	}
+
+	@Override
+	public String getGrammarFileName() { return "Dml.g4"; }
+
+	@Override
+	public String[] getRuleNames() { return ruleNames; }
+
+	@Override
+	public String getSerializedATN() { return _serializedATN; }
+
+	@Override
+	public String[] getModeNames() { return modeNames; }
+
+	@Override
+	public ATN getATN() { return _ATN; }
+
+	public static final String _serializedATN =
+		"\3\u0430\ud6d1\u8206\uad2d\u4417\uaef1\u8d80\uaadd\2E\u0270\b\1\4\2\t"+
+		"\2\4\3\t\3\4\4\t\4\4\5\t\5\4\6\t\6\4\7\t\7\4\b\t\b\4\t\t\t\4\n\t\n\4\13"+
+		"\t\13\4\f\t\f\4\r\t\r\4\16\t\16\4\17\t\17\4\20\t\20\4\21\t\21\4\22\t\22"+
+		"\4\23\t\23\4\24\t\24\4\25\t\25\4\26\t\26\4\27\t\27\4\30\t\30\4\31\t\31"+
+		"\4\32\t\32\4\33\t\33\4\34\t\34\4\35\t\35\4\36\t\36\4\37\t\37\4 \t \4!"+
+		"\t!\4\"\t\"\4#\t#\4$\t$\4%\t%\4&\t&\4\'\t\'\4(\t(\4)\t)\4*\t*\4+\t+\4"+
+		",\t,\4-\t-\4.\t.\4/\t/\4\60\t\60\4\61\t\61\4\62\t\62\4\63\t\63\4\64\t"+
+		"\64\4\65\t\65\4\66\t\66\4\67\t\67\48\t8\49\t9\4:\t:\4;\t;\4<\t<\4=\t="+
+		"\4>\t>\4?\t?\4@\t@\4A\tA\4B\tB\4C\tC\4D\tD\4E\tE\4F\tF\3\2\3\2\3\2\3\2"+
+		"\3\2\3\2\3\2\3\3\3\3\3\4\3\4\3\5\3\5\3\5\3\6\3\6\3\7\3\7\3\7\3\7\3\7\3"+
+		"\7\3\b\3\b\3\t\3\t\3\t\3\n\3\n\3\13\3\13\3\f\3\f\3\r\3\r\3\r\3\r\3\r\3"+
+		"\r\3\16\3\16\3\16\3\17\3\17\3\20\3\20\3\21\3\21\3\21\3\21\3\21\3\22\3"+
+		"\22\3\22\3\22\3\23\3\23\3\23\3\24\3\24\3\24\3\24\3\24\3\24\3\24\3\25\3"+
+		"\25\3\25\3\25\3\25\3\25\3\26\3\26\3\27\3\27\3\27\3\27\3\27\3\27\3\27\3"+
+		"\27\3\27\3\30\3\30\3\30\3\30\3\30\3\30\3\30\3\31\3\31\3\31\3\31\3\31\3"+
+		"\31\3\31\3\31\3\31\3\31\3\31\3\31\3\31\3\31\3\31\3\31\3\31\3\32\3\32\3"+
+		"\32\3\32\3\32\3\32\3\32\3\32\3\32\3\32\3\32\3\32\3\33\3\33\3\34\3\34\3"+
+		"\35\3\35\3\36\3\36\3\36\3\36\3\37\3\37\3\37\3\37\3 \3 \3 \3!\3!\3\"\3"+
+		"\"\3#\3#\3$\3$\3$\3%\3%\3&\3&\3&\3\'\3\'\3\'\3(\3(\3(\3)\3)\3*\3*\3+\3"+
+		"+\3+\3,\3,\3-\3-\3-\3.\3.\3.\3.\3.\3/\3/\3/\3/\3/\3/\3\60\3\60\3\60\3"+
+		"\60\3\61\3\61\3\61\3\61\3\61\3\61\3\61\3\61\3\62\3\62\3\62\3\62\3\62\3"+
+		"\62\3\62\3\63\3\63\3\63\3\63\3\63\3\63\3\63\3\63\3\64\3\64\3\64\3\64\3"+
+		"\64\3\64\3\64\3\65\3\65\3\65\3\65\3\66\3\66\3\66\3\66\3\66\3\66\3\66\3"+
+		"\66\3\67\3\67\3\67\3\67\3\67\3\67\3\67\38\38\38\38\38\38\38\38\39\39\3"+
+		"9\39\39\39\39\3:\3:\3:\3:\7:\u0188\n:\f:\16:\u018b\13:\3:\3:\3:\5:\u0190"+
+		"\n:\3:\3:\3:\3:\7:\u0196\n:\f:\16:\u0199\13:\3:\3:\3:\3:\3:\3:\3:\3:\3"+
+		":\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3"+
+		":\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3"+
+		":\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\3:\5"+
+		":\u01e8\n:\3;\6;\u01eb\n;\r;\16;\u01ec\3;\5;\u01f0\n;\3<\6<\u01f3\n<\r"+
+		"<\16<\u01f4\3<\3<\7<\u01f9\n<\f<\16<\u01fc\13<\3<\5<\u01ff\n<\3<\5<\u0202"+
+		"\n<\3<\6<\u0205\n<\r<\16<\u0206\3<\5<\u020a\n<\3<\5<\u020d\n<\3<\3<\6"+
+		"<\u0211\n<\r<\16<\u0212\3<\5<\u0216\n<\3<\5<\u0219\n<\5<\u021b\n<\3=\3"+
+		"=\3>\3>\3?\3?\5?\u0223\n?\3?\3?\3@\3@\3@\3@\3@\7@\u022c\n@\f@\16@\u022f"+
+		"\13@\3A\3A\6A\u0233\nA\rA\16A\u0234\3B\3B\3B\7B\u023a\nB\fB\16B\u023d"+
+		"\13B\3B\3B\3B\3B\7B\u0243\nB\fB\16B\u0246\13B\3B\5B\u0249\nB\3C\3C\3C"+
+		"\3D\3D\7D\u0250\nD\fD\16D\u0253\13D\3D\5D\u0256\nD\3D\3D\3D\3D\3E\3E\3"+
+		"E\3E\7E\u0260\nE\fE\16E\u0263\13E\3E\3E\3E\3E\3E\3F\6F\u026b\nF\rF\16"+
+		"F\u026c\3F\3F\6\u023b\u0244\u0251\u0261\2G\3\3\5\4\7\5\t\6\13\7\r\b\17"+
+		"\t\21\n\23\13\25\f\27\r\31\16\33\17\35\20\37\21!\22#\23%\24\'\25)\26+"+
+		"\27-\30/\31\61\32\63\33\65\34\67\359\36;\37= ?!A\"C#E$G%I&K\'M(O)Q*S+"+
+		"U,W-Y.[/]\60_\61a\62c\63e\64g\65i\66k\67m8o9q:s;u<w=y>{?}\2\177@\u0081"+
+		"A\u0083B\u0085\2\u0087C\u0089D\u008bE\3\2\n\4\2NNnn\4\2C\\c|\4\2GGgg\4"+
+		"\2--//\4\2$$^^\4\2))^^\n\2$$))^^ddhhppttvv\5\2\13\f\17\17\"\"\u0298\2"+
+		"\3\3\2\2\2\2\5\3\2\2\2\2\7\3\2\2\2\2\t\3\2\2\2\2\13\3\2\2\2\2\r\3\2\2"+
+		"\2\2\17\3\2\2\2\2\21\3\2\2\2\2\23\3\2\2\2\2\25\3\2\2\2\2\27\3\2\2\2\2"+
+		"\31\3\2\2\2\2\33\3\2\2\2\2\35\3\2\2\2\2\37\3\2\2\2\2!\3\2\2\2\2#\3\2\2"+
+		"\2\2%\3\2\2\2\2\'\3\2\2\2\2)\3\2\2\2\2+\3\2\2\2\2-\3\2\2\2\2/\3\2\2\2"+
+		"\2\61\3\2\2\2\2\63\3\2\2\2\2\65\3\2\2\2\2\67\3\2\2\2\29\3\2\2\2\2;\3\2"+
+		"\2\2\2=\3\2\2\2\2?\3\2\2\2\2A\3\2\2\2\2C\3\2\2\2\2E\3\2\2\2\2G\3\2\2\2"+
+		"\2I\3\2\2\2\2K\3\2\2\2\2M\3\2\2\2\2O\3\2\2\2\2Q\3\2\2\2\2S\3\2\2\2\2U"+
+		"\3\2\2\2\2W\3\2\2\2\2Y\3\2\2\2\2[\3\2\2\2\2]\3\2\2\2\2_\3\2\2\2\2a\3\2"+
+		"\2\2\2c\3\2\2\2\2e\3\2\2\2\2g\3\2\2\2\2i\3\2\2\2\2k\3\2\2\2\2m\3\2\2\2"+
+		"\2o\3\2\2\2\2q\3\2\2\2\2s\3\2\2\2\2u\3\2\2\2\2w\3\2\2\2\2y\3\2\2\2\2{"+
+		"\3\2\2\2\2\177\3\2\2\2\2\u0081\3\2\2\2\2\u0083\3\2\2\2\2\u0087\3\2\2\2"+
+		"\2\u0089\3\2\2\2\2\u008b\3\2\2\2\3\u008d\3\2\2\2\5\u0094\3\2\2\2\7\u0096"+
+		"\3\2\2\2\t\u0098\3\2\2\2\13\u009b\3\2\2\2\r\u009d\3\2\2\2\17\u00a3\3\2"+
+		"\2\2\21\u00a5\3\2\2\2\23\u00a8\3\2\2\2\25\u00aa\3\2\2\2\27\u00ac\3\2\2"+
+		"\2\31\u00ae\3\2\2\2\33\u00b4\3\2\2\2\35\u00b7\3\2\2\2\37\u00b9\3\2\2\2"+
+		"!\u00bb\3\2\2\2#\u00c0\3\2\2\2%\u00c4\3\2\2\2\'\u00c7\3\2\2\2)\u00ce\3"+
+		"\2\2\2+\u00d4\3\2\2\2-\u00d6\3\2\2\2/\u00df\3\2\2\2\61\u00e6\3\2\2\2\63"+
+		"\u00f7\3\2\2\2\65\u0103\3\2\2\2\67\u0105\3\2\2\29\u0107\3\2\2\2;\u0109"+
+		"\3\2\2\2=\u010d\3\2\2\2?\u0111\3\2\2\2A\u0114\3\2\2\2C\u0116\3\2\2\2E"+
+		"\u0118\3\2\2\2G\u011a\3\2\2\2I\u011d\3\2\2\2K\u011f\3\2\2\2M\u0122\3\2"+
+		"\2\2O\u0125\3\2\2\2Q\u0128\3\2\2\2S\u012a\3\2\2\2U\u012c\3\2\2\2W\u012f"+
+		"\3\2\2\2Y\u0131\3\2\2\2[\u0134\3\2\2\2]\u0139\3\2\2\2_\u013f\3\2\2\2a"+
+		"\u0143\3\2\2\2c\u014b\3\2\2\2e\u0152\3\2\2\2g\u015a\3\2\2\2i\u0161\3\2"+
+		"\2\2k\u0165\3\2\2\2m\u016d\3\2\2\2o\u0174\3\2\2\2q\u017c\3\2\2\2s\u01e7"+
+		"\3\2\2\2u\u01ea\3\2\2\2w\u021a\3\2\2\2y\u021c\3\2\2\2{\u021e\3\2\2\2}"+
+		"\u0220\3\2\2\2\177\u0226\3\2\2\2\u0081\u0230\3\2\2\2\u0083\u0248\3\2\2"+
+		"\2\u0085\u024a\3\2\2\2\u0087\u024d\3\2\2\2\u0089\u025b\3\2\2\2\u008b\u026a"+
+		"\3\2\2\2\u008d\u008e\7u\2\2\u008e\u008f\7q\2\2\u008f\u0090\7w\2\2\u0090"+
+		"\u0091\7t\2\2\u0091\u0092\7e\2\2\u0092\u0093\7g\2\2\u0093\4\3\2\2\2\u0094"+
+		"\u0095\7*\2\2\u0095\6\3\2\2\2\u0096\u0097\7+\2\2\u0097\b\3\2\2\2\u0098"+
+		"\u0099\7c\2\2\u0099\u009a\7u\2\2\u009a\n\3\2\2\2\u009b\u009c\7=\2\2\u009c"+
+		"\f\3\2\2\2\u009d\u009e\7u\2\2\u009e\u009f\7g\2\2\u009f\u00a0\7v\2\2\u00a0"+
+		"\u00a1\7y\2\2\u00a1\u00a2\7f\2\2\u00a2\16\3\2\2\2\u00a3\u00a4\7?\2\2\u00a4"+
+		"\20\3\2\2\2\u00a5\u00a6\7>\2\2\u00a6\u00a7\7/\2\2\u00a7\22\3\2\2\2\u00a8"+
+		"\u00a9\7.\2\2\u00a9\24\3\2\2\2\u00aa\u00ab\7]\2\2\u00ab\26\3\2\2\2\u00ac"+
+		"\u00ad\7_\2\2\u00ad\30\3\2\2\2\u00ae\u00af\7k\2\2\u00af\u00b0\7h\2\2\u00b0"+
+		"\u00b1\7f\2\2\u00b1\u00b2\7g\2\2\u00b2\u00b3\7h\2\2\u00b3\32\3\2\2\2\u00b4"+
+		"\u00b5\7k\2\2\u00b5\u00b6\7h\2\2\u00b6\34\3\2\2\2\u00b7\u00b8\7}\2\2\u00b8"+
+		"\36\3\2\2\2\u00b9\u00ba\7\177\2\2\u00ba \3\2\2\2\u00bb\u00bc\7g\2\2\u00bc"+
+		"\u00bd\7n\2\2\u00bd\u00be\7u\2\2\u00be\u00bf\7g\2\2\u00bf\"\3\2\2\2\u00c0"+
+		"\u00c1\7h\2\2\u00c1\u00c2\7q\2\2\u00c2\u00c3\7t\2\2\u00c3$\3\2\2\2\u00c4"+
+		"\u00c5\7k\2\2\u00c5\u00c6\7p\2\2\u00c6&\3\2\2\2\u00c7\u00c8\7r\2\2\u00c8"+
+		"\u00c9\7c\2\2\u00c9\u00ca\7t\2\2\u00ca\u00cb\7h\2\2\u00cb\u00cc\7q\2\2"+
+		"\u00cc\u00cd\7t\2\2\u00cd(\3\2\2\2\u00ce\u00cf\7y\2\2\u00cf\u00d0\7j\2"+
+		"\2\u00d0\u00d1\7k\2\2\u00d1\u00d2\7n\2\2\u00d2\u00d3\7g\2\2\u00d3*\3\2"+
+		"\2\2\u00d4\u00d5\7<\2\2\u00d5,\3\2\2\2\u00d6\u00d7\7h\2\2\u00d7\u00d8"+
+		"\7w\2\2\u00d8\u00d9\7p\2\2\u00d9\u00da\7e\2\2\u00da\u00db\7v\2\2\u00db"+
+		"\u00dc\7k\2\2\u00dc\u00dd\7q\2\2\u00dd\u00de\7p\2\2\u00de.\3\2\2\2\u00df"+
+		"\u00e0\7t\2\2\u00e0\u00e1\7g\2\2\u00e1\u00e2\7v\2\2\u00e2\u00e3\7w\2\2"+
+		"\u00e3\u00e4\7t\2\2\u00e4\u00e5\7p\2\2\u00e5\60\3\2\2\2\u00e6\u00e7\7"+
+		"g\2\2\u00e7\u00e8\7z\2\2\u00e8\u00e9\7v\2\2\u00e9\u00ea\7g\2\2\u00ea\u00eb"+
+		"\7t\2\2\u00eb\u00ec\7p\2\2\u00ec\u00ed\7c\2\2\u00ed\u00ee\7n\2\2\u00ee"+
+		"\u00ef\7H\2\2\u00ef\u00f0\7w\2\2\u00f0\u00f1\7p\2\2\u00f1\u00f2\7e\2\2"+
+		"\u00f2\u00f3\7v\2\2\u00f3\u00f4\7k\2\2\u00f4\u00f5\7q\2\2\u00f5\u00f6"+
+		"\7p\2\2\u00f6\62\3\2\2\2\u00f7\u00f8\7k\2\2\u00f8\u00f9\7o\2\2\u00f9\u00fa"+
+		"\7r\2\2\u00fa\u00fb\7n\2\2\u00fb\u00fc\7g\2\2\u00fc\u00fd\7o\2\2\u00fd"+
+		"\u00fe\7g\2\2\u00fe\u00ff\7p\2\2\u00ff\u0100\7v\2\2\u0100\u0101\7g\2\2"+
+		"\u0101\u0102\7f\2\2\u0102\64\3\2\2\2\u0103\u0104\7`\2\2\u0104\66\3\2\2"+
+		"\2\u0105\u0106\7/\2\2\u01068\3\2\2\2\u0107\u0108\7-\2\2\u0108:\3\2\2\2"+
+		"\u0109\u010a\7\'\2\2\u010a\u010b\7,\2\2\u010b\u010c\7\'\2\2\u010c<\3\2"+
+		"\2\2\u010d\u010e\7\'\2\2\u010e\u010f\7\61\2\2\u010f\u0110\7\'\2\2\u0110"+
+		">\3\2\2\2\u0111\u0112\7\'\2\2\u0112\u0113\7\'\2\2\u0113@\3\2\2\2\u0114"+
+		"\u0115\7,\2\2\u0115B\3\2\2\2\u0116\u0117\7\61\2\2\u0117D\3\2\2\2\u0118"+
+		"\u0119\7@\2\2\u0119F\3\2\2\2\u011a\u011b\7@\2\2\u011b\u011c\7?\2\2\u011c"+
+		"H\3\2\2\2\u011d\u011e\7>\2\2\u011eJ\3\2\2\2\u011f\u0120\7>\2\2\u0120\u0121"+
+		"\7?\2\2\u0121L\3\2\2\2\u0122\u0123\7?\2\2\u0123\u0124\7?\2\2\u0124N\3"+
+		"\2\2\2\u0125\u0126\7#\2\2\u0126\u0127\7?\2\2\u0127P\3\2\2\2\u0128\u0129"+
+		"\7#\2\2\u0129R\3\2\2\2\u012a\u012b\7(\2\2\u012bT\3\2\2\2\u012c\u012d\7"+
+		"(\2\2\u012d\u012e\7(\2\2\u012eV\3\2\2\2\u012f\u0130\7~\2\2\u0130X\3\2"+
+		"\2\2\u0131\u0132\7~\2\2\u0132\u0133\7~\2\2\u0133Z\3\2\2\2\u0134\u0135"+
+		"\7V\2\2\u0135\u0136\7T\2\2\u0136\u0137\7W\2\2\u0137\u0138\7G\2\2\u0138"+
+		"\\\3\2\2\2\u0139\u013a\7H\2\2\u013a\u013b\7C\2\2\u013b\u013c\7N\2\2\u013c"+
+		"\u013d\7U\2\2\u013d\u013e\7G\2\2\u013e^\3\2\2\2\u013f\u0140\7k\2\2\u0140"+
+		"\u0141\7p\2\2\u0141\u0142\7v\2\2\u0142`\3\2\2\2\u0143\u0144\7k\2\2\u0144"+
+		"\u0145\7p\2\2\u0145\u0146\7v\2\2\u0146\u0147\7g\2\2\u0147\u0148\7i\2\2"+
+		"\u0148\u0149\7g\2\2\u0149\u014a\7t\2\2\u014ab\3\2\2\2\u014b\u014c\7u\2"+
+		"\2\u014c\u014d\7v\2\2\u014d\u014e\7t\2\2\u014e\u014f\7k\2\2\u014f\u0150"+
+		"\7p\2\2\u0150\u0151\7i\2\2\u0151d\3\2\2\2\u0152\u0153\7d\2\2\u0153\u0154"+
+		"\7q\2\2\u0154\u0155\7q\2\2\u0155\u0156\7n\2\2\u0156\u0157\7g\2\2\u0157"+
+		"\u0158\7c\2\2\u0158\u0159\7p\2\2\u0159f\3\2\2\2\u015a\u015b\7f\2\2\u015b"+
+		"\u015c\7q\2\2\u015c\u015d\7w\2\2\u015d\u015e\7d\2\2\u015e\u015f\7n\2\2"+
+		"\u015f\u0160\7g\2\2\u0160h\3\2\2\2\u0161\u0162\7K\2\2\u0162\u0163\7p\2"+
+		"\2\u0163\u0164\7v\2\2\u0164j\3\2\2\2\u0165\u0166\7K\2\2\u0166\u0167\7"+
+		"p\2\2\u0167\u0168\7v\2\2\u0168\u0169\7g\2\2\u0169\u016a\7i\2\2\u016a\u016b"+
+		"\7g\2\2\u016b\u016c\7t\2\2\u016cl\3\2\2\2\u016d\u016e\7U\2\2\u016e\u016f"+
+		"\7v\2\2\u016f\u0170\7t\2\2\u0170\u0171\7k\2\2\u0171\u0172\7p\2\2\u0172"+
+		"\u0173\7i\2\2\u0173n\3\2\2\2\u0174\u0175\7D\2\2\u0175\u0176\7q\2\2\u0176"+
+		"\u0177\7q\2\2\u0177\u0178\7n\2\2\u0178\u0179\7g\2\2\u0179\u017a\7c\2\2"+
+		"\u017a\u017b\7p\2\2\u017bp\3\2\2\2\u017c\u017d\7F\2\2\u017d\u017e\7q\2"+
+		"\2\u017e\u017f\7w\2\2\u017f\u0180\7d\2\2\u0180\u0181\7n\2\2\u0181\u0182"+
+		"\7g\2\2\u0182r\3\2\2\2\u0183\u0189\5{>\2\u0184\u0188\5{>\2\u0185\u0188"+
+		"\5y=\2\u0186\u0188\7a\2\2\u0187\u0184\3\2\2\2\u0187\u0185\3\2\2\2\u0187"+
+		"\u0186\3\2\2\2\u0188\u018b\3\2\2\2\u0189\u0187\3\2\2\2\u0189\u018a\3\2"+
+		"\2\2\u018a\u018c\3\2\2\2\u018b\u0189\3\2\2\2\u018c\u018d\7<\2\2\u018d"+
+		"\u018e\7<\2\2\u018e\u0190\3\2\2\2\u018f\u0183\3\2\2\2\u018f\u0190\3\2"+
+		"\2\2\u0190\u0191\3\2\2\2\u0191\u0197\5{>\2\u0192\u0196\5{>\2\u0193\u0196"+
+		"\5y=\2\u0194\u0196\7a\2\2\u0195\u0192\3\2\2\2\u0195\u0193\3\2\2\2\u0195"+
+		"\u0194\3\2\2\2\u0196\u0199\3\2\2\2\u0197\u0195\3\2\2\2\u0197\u0198\3\2"+
+		"\2\2\u0198\u01e8\3\2\2\2\u0199\u0197\3\2\2\2\u019a\u019b\7c\2\2\u019b"+
+		"\u019c\7u\2\2\u019c\u019d\7\60\2\2\u019d\u019e\7u\2\2\u019e\u019f\7e\2"+
+		"\2\u019f\u01a0\7c\2\2\u01a0\u01a1\7n\2\2\u01a1\u01a2\7c\2\2\u01a2\u01e8"+
+		"\7t\2\2\u01a3\u01a4\7c\2\2\u01a4\u01a5\7u\2\2\u01a5\u01a6\7\60\2\2\u01a6"+
+		"\u01a7\7o\2\2\u01a7\u01a8\7c\2\2\u01a8\u01a9\7v\2\2\u01a9\u01aa\7t\2\2"+
+		"\u01aa\u01ab\7k\2\2\u01ab\u01e8\7z\2\2\u01ac\u01ad\7c\2\2\u01ad\u01ae"+
+		"\7u\2\2\u01ae\u01af\7\60\2\2\u01af\u01b0\7h\2\2\u01b0\u01b1\7t\2\2\u01b1"+
+		"\u01b2\7c\2\2\u01b2\u01b3\7o\2\2\u01b3\u01e8\7g\2\2\u01b4\u01b5\7c\2\2"+
+		"\u01b5\u01b6\7u\2\2\u01b6\u01b7\7\60\2\2\u01b7\u01b8\7f\2\2\u01b8\u01b9"+
+		"\7q\2\2\u01b9\u01ba\7w\2\2\u01ba\u01bb\7d\2\2\u01bb\u01bc\7n\2\2\u01bc"+
+		"\u01e8\7g\2\2\u01bd\u01be\7c\2\2\u01be\u01bf\7u\2\2\u01bf\u01c0\7\60\2"+
+		"\2\u01c0\u01c1\7k\2\2\u01c1\u01c2\7p\2\2\u01c2\u01c3\7v\2\2\u01c3\u01c4"+
+		"\7g\2\2\u01c4\u01c5\7i\2\2\u01c5\u01c6\7g\2\2\u01c6\u01e8\7t\2\2\u01c7"+
+		"\u01c8\7c\2\2\u01c8\u01c9\7u\2\2\u01c9\u01ca\7\60\2\2\u01ca\u01cb\7n\2"+
+		"\2\u01cb\u01cc\7q\2\2\u01cc\u01cd\7i\2\2\u01cd\u01ce\7k\2\2\u01ce\u01cf"+
+		"\7e\2\2\u01cf\u01d0\7c\2\2\u01d0\u01e8\7n\2\2\u01d1\u01d2\7k\2\2\u01d2"+
+		"\u01d3\7p\2\2\u01d3\u01d4\7f\2\2\u01d4\u01d5\7g\2\2\u01d5\u01d6\7z\2\2"+
+		"\u01d6\u01d7\7\60\2\2\u01d7\u01d8\7t\2\2\u01d8\u01d9\7g\2\2\u01d9\u01da"+
+		"\7v\2\2\u01da\u01db\7w\2\2\u01db\u01dc\7t\2\2\u01dc\u01e8\7p\2\2\u01dd"+
+		"\u01de\7n\2\2\u01de\u01df\7q\2\2\u01df\u01e0\7y\2\2\u01e0\u01e1\7g\2\2"+
+		"\u01e1\u01e2\7t\2\2\u01e2\u01e3\7\60\2\2\u01e3\u01e4\7v\2\2\u01e4\u01e5"+
+		"\7c\2\2\u01e5\u01e6\7k\2\2\u01e6\u01e8\7n\2\2\u01e7\u018f\3\2\2\2\u01e7"+
+		"\u019a\3\2\2\2\u01e7\u01a3\3\2\2\2\u01e7\u01ac\3\2\2\2\u01e7\u01b4\3\2"+
+		"\2\2\u01e7\u01bd\3\2\2\2\u01e7\u01c7\3\2\2\2\u01e7\u01d1\3\2\2\2\u01e7"+
+		"\u01dd\3\2\2\2\u01e8t\3\2\2\2\u01e9\u01eb\5y=\2\u01ea\u01e9\3\2\2\2\u01eb"+
+		"\u01ec\3\2\2\2\u01ec\u01ea\3\2\2\2\u01ec\u01ed\3\2\2\2\u01ed\u01ef\3\2"+
+		"\2\2\u01ee\u01f0\t\2\2\2\u01ef\u01ee\3\2\2\2\u01ef\u01f0\3\2\2\2\u01f0"+
+		"v\3\2\2\2\u01f1\u01f3\5y=\2\u01f2\u01f1\3\2\2\2\u01f3\u01f4\3\2\2\2\u01f4"+
+		"\u01f2\3\2\2\2\u01f4\u01f5\3\2\2\2\u01f5\u01f6\3\2\2\2\u01f6\u01fa\7\60"+
+		"\2\2\u01f7\u01f9\5y=\2\u01f8\u01f7\3\2\2\2\u01f9\u01fc\3\2\2\2\u01fa\u01f8"+
+		"\3\2\2\2\u01fa\u01fb\3\2\2\2\u01fb\u01fe\3\2\2\2\u01fc\u01fa\3\2\2\2\u01fd"+
+		"\u01ff\5}?\2\u01fe\u01fd\3\2\2\2\u01fe\u01ff\3\2\2\2\u01ff\u0201\3\2\2"+
+		"\2\u0200\u0202\t\2\2\2\u0201\u0200\3\2\2\2\u0201\u0202\3\2\2\2\u0202\u021b"+
+		"\3\2\2\2\u0203\u0205\5y=\2\u0204\u0203\3\2\2\2\u0205\u0206\3\2\2\2\u0206"+
+		"\u0204\3\2\2\2\u0206\u0207\3\2\2\2\u0207\u0209\3\2\2\2\u0208\u020a\5}"+
+		"?\2\u0209\u0208\3\2\2\2\u0209\u020a\3\2\2\2\u020a\u020c\3\2\2\2\u020b"+
+		"\u020d\t\2\2\2\u020c\u020b\3\2\2\2\u020c\u020d\3\2\2\2\u020d\u021b\3\2"+
+		"\2\2\u020e\u0210\7\60\2\2\u020f\u0211\5y=\2\u0210\u020f\3\2\2\2\u0211"+
+		"\u0212\3\2\2\2\u0212\u0210\3\2\2\2\u0212\u0213\3\2\2\2\u0213\u0215\3\2"+
+		"\2\2\u0214\u0216\5}?\2\u0215\u0214\3\2\2\2\u0215\u0216\3\2\2\2\u0216\u0218"+
+		"\3\2\2\2\u0217\u0219\t\2\2\2\u0218\u0217\3\2\2\2\u0218\u0219\3\2\2\2\u0219"+
+		"\u021b\3\2\2\2\u021a\u01f2\3\2\2\2\u021a\u0204\3\2\2\2\u021a\u020e\3\2"+
+		"\2\2\u021bx\3\2\2\2\u021c\u021d\4\62;\2\u021dz\3\2\2\2\u021e\u021f\t\3"+
+		"\2\2\u021f|\3\2\2\2\u0220\u0222\t\4\2\2\u0221\u0223\t\5\2\2\u0222\u0221"+
+		"\3\2\2\2\u0222\u0223\3\2\2\2\u0223\u0224\3\2\2\2\u0224\u0225\5u;\2\u0225"+
+		"~\3\2\2\2\u0226\u0227\7&\2\2\u0227\u022d\5{>\2\u0228\u022c\5{>\2\u0229"+
+		"\u022c\5y=\2\u022a\u022c\7a\2\2\u022b\u0228\3\2\2\2\u022b\u0229\3\2\2"+
+		"\2\u022b\u022a\3\2\2\2\u022c\u022f\3\2\2\2\u022d\u022b\3\2\2\2\u022d\u022e"+
+		"\3\2\2\2\u022e\u0080\3\2\2\2\u022f\u022d\3\2\2\2\u0230\u0232\7&\2\2\u0231"+
+		"\u0233\5y=\2\u0232\u0231\3\2\2\2\u0233\u0234\3\2\2\2\u0234\u0232\3\2\2"+
+		"\2\u0234\u0235\3\2\2\2\u0235\u0082\3\2\2\2\u0236\u023b\7$\2\2\u0237\u023a"+
+		"\5\u0085C\2\u0238\u023a\n\6\2\2\u0239\u0237\3\2\2\2\u0239\u0238\3\2\2"+
+		"\2\u023a\u023d\3\2\2\2\u023b\u023c\3\2\2\2\u023b\u0239\3\2\2\2\u023c\u023e"+
+		"\3\2\2\2\u023d\u023b\3\2\2\2\u023e\u0249\7$\2\2\u023f\u0244\7)\2\2\u0240"+
+		"\u0243\5\u0085C\2\u0241\u0243\n\7\2\2\u0242\u0240\3\2\2\2\u0242\u0241"+
+		"\3\2\2\2\u0243\u0246\3\2\2\2\u0244\u0245\3\2\2\2\u0244\u0242\3\2\2\2\u0245"+
+		"\u0247\3\2\2\2\u0246\u0244\3\2\2\2\u0247\u0249\7)\2\2\u0248\u0236\3\2"+
+		"\2\2\u0248\u023f\3\2\2\2\u0249\u0084\3\2\2\2\u024a\u024b\7^\2\2\u024b"+
+		"\u024c\t\b\2\2\u024c\u0086\3\2\2\2\u024d\u0251\7%\2\2\u024e\u0250\13\2"+
+		"\2\2\u024f\u024e\3\2\2\2\u0250\u0253\3\2\2\2\u0251\u0252\3\2\2\2\u0251"+
+		"\u024f\3\2\2\2\u0252\u0255\3\2\2\2\u0253\u0251\3\2\2\2\u0254\u0256\7\17"+
+		"\2\2\u0255\u0254\3\2\2\2\u0255\u0256\3\2\2\2\u0256\u0257\3\2\2\2\u0257"+
+		"\u0258\7\f\2\2\u0258\u0259\3\2\2\2\u0259\u025a\bD\2\2\u025a\u0088\3\2"+
+		"\2\2\u025b\u025c\7\61\2\2\u025c\u025d\7,\2\2\u025d\u0261\3\2\2\2\u025e"+
+		"\u0260\13\2\2\2\u025f\u025e\3\2\2\2\u0260\u0263\3\2\2\2\u0261\u0262\3"+
+		"\2\2\2\u0261\u025f\3\2\2\2\u0262\u0264\3\2\2\2\u0263\u0261\3\2\2\2\u0264"+
+		"\u0265\7,\2\2\u0265\u0266\7\61\2\2\u0266\u0267\3\2\2\2\u0267\u0268\bE"+
+		"\2\2\u0268\u008a\3\2\2\2\u0269\u026b\t\t\2\2\u026a\u0269\3\2\2\2\u026b"+
+		"\u026c\3\2\2\2\u026c\u026a\3\2\2\2\u026c\u026d\3\2\2\2\u026d\u026e\3\2"+
+		"\2\2\u026e\u026f\bF\2\2\u026f\u008c\3\2\2\2#\2\u0187\u0189\u018f\u0195"+
+		"\u0197\u01e7\u01ec\u01ef\u01f4\u01fa\u01fe\u0201\u0206\u0209\u020c\u0212"+
+		"\u0215\u0218\u021a\u0222\u022b\u022d\u0234\u0239\u023b\u0242\u0244\u0248"+
+		"\u0251\u0255\u0261\u026c\3\b\2\2";
+	public static final ATN _ATN =
+		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
+	static {
+		_decisionToDFA = new DFA[_ATN.getNumberOfDecisions()];
+		for (int i = 0; i < _ATN.getNumberOfDecisions(); i++) {
+			_decisionToDFA[i] = new DFA(_ATN.getDecisionState(i), i);
+		}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,3244 @@
+// Generated from org/apache/sysml/parser/dml/Dml.g4 by ANTLR 4.5.3
+package org.apache.sysml.parser.dml;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.antlr.v4.runtime.atn.*;
+import org.antlr.v4.runtime.dfa.DFA;
+import org.antlr.v4.runtime.*;
+import org.antlr.v4.runtime.misc.*;
+import org.antlr.v4.runtime.tree.*;
+import java.util.List;
+import java.util.Iterator;
+import java.util.ArrayList;
+
+@SuppressWarnings({"all", "warnings", "unchecked", "unused", "cast"})
+public class DmlParser extends Parser {
+	static { RuntimeMetaData.checkVersion("4.5.3", RuntimeMetaData.VERSION); }
+
+	protected static final DFA[] _decisionToDFA;
+	protected static final PredictionContextCache _sharedContextCache =
+		new PredictionContextCache();
+	public static final int
+		T__0=1, T__1=2, T__2=3, T__3=4, T__4=5, T__5=6, T__6=7, T__7=8, T__8=9, 
+		T__9=10, T__10=11, T__11=12, T__12=13, T__13=14, T__14=15, T__15=16, T__16=17, 
+		T__17=18, T__18=19, T__19=20, T__20=21, T__21=22, T__22=23, T__23=24, 
+		T__24=25, T__25=26, T__26=27, T__27=28, T__28=29, T__29=30, T__30=31, 
+		T__31=32, T__32=33, T__33=34, T__34=35, T__35=36, T__36=37, T__37=38, 
+		T__38=39, T__39=40, T__40=41, T__41=42, T__42=43, T__43=44, T__44=45, 
+		T__45=46, T__46=47, T__47=48, T__48=49, T__49=50, T__50=51, T__51=52, 
+		T__52=53, T__53=54, T__54=55, T__55=56, ID=57, INT=58, DOUBLE=59, DIGIT=60, 
+		ALPHABET=61, COMMANDLINE_NAMED_ID=62, COMMANDLINE_POSITION_ID=63, STRING=64, 
+		LINE_COMMENT=65, MULTILINE_BLOCK_COMMENT=66, WHITESPACE=67;
+	public static final int
+		RULE_programroot = 0, RULE_statement = 1, RULE_iterablePredicate = 2, 
+		RULE_functionStatement = 3, RULE_dataIdentifier = 4, RULE_expression = 5, 
+		RULE_typedArgNoAssign = 6, RULE_parameterizedExpression = 7, RULE_strictParameterizedExpression = 8, 
+		RULE_strictParameterizedKeyValueString = 9, RULE_ml_type = 10, RULE_valueType = 11, 
+		RULE_dataType = 12;
+	public static final String[] ruleNames = {
+		"programroot", "statement", "iterablePredicate", "functionStatement", 
+		"dataIdentifier", "expression", "typedArgNoAssign", "parameterizedExpression", 
+		"strictParameterizedExpression", "strictParameterizedKeyValueString", 
+		"ml_type", "valueType", "dataType"
+	};
+
+	private static final String[] _LITERAL_NAMES = {
+		null, "'source'", "'('", "')'", "'as'", "';'", "'setwd'", "'='", "'<-'", 
+		"','", "'['", "']'", "'ifdef'", "'if'", "'{'", "'}'", "'else'", "'for'", 
+		"'in'", "'parfor'", "'while'", "':'", "'function'", "'return'", "'externalFunction'", 
+		"'implemented'", "'^'", "'-'", "'+'", "'%*%'", "'%/%'", "'%%'", "'*'", 
+		"'/'", "'>'", "'>='", "'<'", "'<='", "'=='", "'!='", "'!'", "'&'", "'&&'", 
+		"'|'", "'||'", "'TRUE'", "'FALSE'", "'int'", "'integer'", "'string'", 
+		"'boolean'", "'double'", "'Int'", "'Integer'", "'String'", "'Boolean'", 
+		"'Double'"
+	};
+	private static final String[] _SYMBOLIC_NAMES = {
+		null, null, null, null, null, null, null, null, null, null, null, null, 
+		null, null, null, null, null, null, null, null, null, null, null, null, 
+		null, null, null, null, null, null, null, null, null, null, null, null, 
+		null, null, null, null, null, null, null, null, null, null, null, null, 
+		null, null, null, null, null, null, null, null, null, "ID", "INT", "DOUBLE", 
+		"DIGIT", "ALPHABET", "COMMANDLINE_NAMED_ID", "COMMANDLINE_POSITION_ID", 
+		"STRING", "LINE_COMMENT", "MULTILINE_BLOCK_COMMENT", "WHITESPACE"
+	};
+	public static final Vocabulary VOCABULARY = new VocabularyImpl(_LITERAL_NAMES, _SYMBOLIC_NAMES);
+
+	/**
+	 * @deprecated Use {@link #VOCABULARY} instead.
+	 */
+	@Deprecated
+	public static final String[] tokenNames;
+	static {
+		tokenNames = new String[_SYMBOLIC_NAMES.length];
+		for (int i = 0; i < tokenNames.length; i++) {
+			tokenNames[i] = VOCABULARY.getLiteralName(i);
+			if (tokenNames[i] == null) {
+				tokenNames[i] = VOCABULARY.getSymbolicName(i);
+			}
+
+			if (tokenNames[i] == null) {
+				tokenNames[i] = "<INVALID>";
+			}
+		}
+	}
+
+	@Override
+	@Deprecated
+	public String[] getTokenNames() {
+		return tokenNames;
+	}
+
+	@Override
+
+	public Vocabulary getVocabulary() {
+		return VOCABULARY;
+	}
+
+	@Override
+	public String getGrammarFileName() { return "Dml.g4"; }
+
+	@Override
+	public String[] getRuleNames() { return ruleNames; }
+
+	@Override
+	public String getSerializedATN() { return _serializedATN; }
+
+	@Override
+	public ATN getATN() { return _ATN; }
+
+	public DmlParser(TokenStream input) {
+		super(input);
+		_interp = new ParserATNSimulator(this,_ATN,_decisionToDFA,_sharedContextCache);
+	}
+	public static class ProgramrootContext extends ParserRuleContext {
+		public StatementContext statement;
+		public List<StatementContext> blocks = new ArrayList<StatementContext>();
+		public FunctionStatementContext functionStatement;
+		public List<FunctionStatementContext> functionBlocks = new ArrayList<FunctionStatementContext>();
+		public TerminalNode EOF() { return getToken(DmlParser.EOF, 0); }
+		public List<StatementContext> statement() {
+			return getRuleContexts(StatementContext.class);
+		}
+		public StatementContext statement(int i) {
+			return getRuleContext(StatementContext.class,i);
+		}
+		public List<FunctionStatementContext> functionStatement() {
+			return getRuleContexts(FunctionStatementContext.class);
+		}
+		public FunctionStatementContext functionStatement(int i) {
+			return getRuleContext(FunctionStatementContext.class,i);
+		}
+		public ProgramrootContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_programroot; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterProgramroot(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitProgramroot(this);
+		}
+	}
+
+	public final ProgramrootContext programroot() throws RecognitionException {
+		ProgramrootContext _localctx = new ProgramrootContext(_ctx, getState());
+		enterRule(_localctx, 0, RULE_programroot);
+		int _la;
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(30);
+			_errHandler.sync(this);
+			_la = _input.LA(1);
+			while ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__0) | (1L << T__5) | (1L << T__9) | (1L << T__12) | (1L << T__16) | (1L << T__18) | (1L << T__19) | (1L << ID) | (1L << COMMANDLINE_NAMED_ID) | (1L << COMMANDLINE_POSITION_ID))) != 0)) {
+				{
+				setState(28);
+				_errHandler.sync(this);
+				switch ( getInterpreter().adaptivePredict(_input,0,_ctx) ) {
+				case 1:
+					{
+					setState(26);
+					((ProgramrootContext)_localctx).statement = statement();
+					((ProgramrootContext)_localctx).blocks.add(((ProgramrootContext)_localctx).statement);
+					}
+					break;
+				case 2:
+					{
+					setState(27);
+					((ProgramrootContext)_localctx).functionStatement = functionStatement();
+					((ProgramrootContext)_localctx).functionBlocks.add(((ProgramrootContext)_localctx).functionStatement);
+					}
+					break;
+				}
+				}
+				setState(32);
+				_errHandler.sync(this);
+				_la = _input.LA(1);
+			}
+			setState(33);
+			match(EOF);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class StatementContext extends ParserRuleContext {
+		public org.apache.sysml.parser.common.StatementInfo info;
+		public StatementContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_statement; }
+	 
+		public StatementContext() { }
+		public void copyFrom(StatementContext ctx) {
+			super.copyFrom(ctx);
+			this.info = ctx.info;
+		}
+	}
+	public static class IfStatementContext extends StatementContext {
+		public ExpressionContext predicate;
+		public StatementContext statement;
+		public List<StatementContext> ifBody = new ArrayList<StatementContext>();
+		public List<StatementContext> elseBody = new ArrayList<StatementContext>();
+		public ExpressionContext expression() {
+			return getRuleContext(ExpressionContext.class,0);
+		}
+		public List<StatementContext> statement() {
+			return getRuleContexts(StatementContext.class);
+		}
+		public StatementContext statement(int i) {
+			return getRuleContext(StatementContext.class,i);
+		}
+		public IfStatementContext(StatementContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterIfStatement(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitIfStatement(this);
+		}
+	}
+	public static class AssignmentStatementContext extends StatementContext {
+		public DataIdentifierContext targetList;
+		public Token op;
+		public ExpressionContext source;
+		public DataIdentifierContext dataIdentifier() {
+			return getRuleContext(DataIdentifierContext.class,0);
+		}
+		public ExpressionContext expression() {
+			return getRuleContext(ExpressionContext.class,0);
+		}
+		public AssignmentStatementContext(StatementContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterAssignmentStatement(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitAssignmentStatement(this);
+		}
+	}
+	public static class FunctionCallMultiAssignmentStatementContext extends StatementContext {
+		public DataIdentifierContext dataIdentifier;
+		public List<DataIdentifierContext> targetList = new ArrayList<DataIdentifierContext>();
+		public Token name;
+		public ParameterizedExpressionContext parameterizedExpression;
+		public List<ParameterizedExpressionContext> paramExprs = new ArrayList<ParameterizedExpressionContext>();
+		public List<DataIdentifierContext> dataIdentifier() {
+			return getRuleContexts(DataIdentifierContext.class);
+		}
+		public DataIdentifierContext dataIdentifier(int i) {
+			return getRuleContext(DataIdentifierContext.class,i);
+		}
+		public TerminalNode ID() { return getToken(DmlParser.ID, 0); }
+		public List<ParameterizedExpressionContext> parameterizedExpression() {
+			return getRuleContexts(ParameterizedExpressionContext.class);
+		}
+		public ParameterizedExpressionContext parameterizedExpression(int i) {
+			return getRuleContext(ParameterizedExpressionContext.class,i);
+		}
+		public FunctionCallMultiAssignmentStatementContext(StatementContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterFunctionCallMultiAssignmentStatement(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitFunctionCallMultiAssignmentStatement(this);
+		}
+	}
+	public static class IfdefAssignmentStatementContext extends StatementContext {
+		public DataIdentifierContext targetList;
+		public Token op;
+		public DataIdentifierContext commandLineParam;
+		public ExpressionContext source;
+		public List<DataIdentifierContext> dataIdentifier() {
+			return getRuleContexts(DataIdentifierContext.class);
+		}
+		public DataIdentifierContext dataIdentifier(int i) {
+			return getRuleContext(DataIdentifierContext.class,i);
+		}
+		public ExpressionContext expression() {
+			return getRuleContext(ExpressionContext.class,0);
+		}
+		public IfdefAssignmentStatementContext(StatementContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterIfdefAssignmentStatement(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitIfdefAssignmentStatement(this);
+		}
+	}
+	public static class ParForStatementContext extends StatementContext {
+		public Token iterVar;
+		public IterablePredicateContext iterPred;
+		public StrictParameterizedExpressionContext strictParameterizedExpression;
+		public List<StrictParameterizedExpressionContext> parForParams = new ArrayList<StrictParameterizedExpressionContext>();
+		public StatementContext statement;
+		public List<StatementContext> body = new ArrayList<StatementContext>();
+		public TerminalNode ID() { return getToken(DmlParser.ID, 0); }
+		public IterablePredicateContext iterablePredicate() {
+			return getRuleContext(IterablePredicateContext.class,0);
+		}
+		public List<StatementContext> statement() {
+			return getRuleContexts(StatementContext.class);
+		}
+		public StatementContext statement(int i) {
+			return getRuleContext(StatementContext.class,i);
+		}
+		public List<StrictParameterizedExpressionContext> strictParameterizedExpression() {
+			return getRuleContexts(StrictParameterizedExpressionContext.class);
+		}
+		public StrictParameterizedExpressionContext strictParameterizedExpression(int i) {
+			return getRuleContext(StrictParameterizedExpressionContext.class,i);
+		}
+		public ParForStatementContext(StatementContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterParForStatement(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitParForStatement(this);
+		}
+	}
+	public static class ImportStatementContext extends StatementContext {
+		public Token filePath;
+		public Token namespace;
+		public TerminalNode STRING() { return getToken(DmlParser.STRING, 0); }
+		public TerminalNode ID() { return getToken(DmlParser.ID, 0); }
+		public ImportStatementContext(StatementContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterImportStatement(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitImportStatement(this);
+		}
+	}
+	public static class PathStatementContext extends StatementContext {
+		public Token pathValue;
+		public TerminalNode STRING() { return getToken(DmlParser.STRING, 0); }
+		public PathStatementContext(StatementContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterPathStatement(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitPathStatement(this);
+		}
+	}
+	public static class WhileStatementContext extends StatementContext {
+		public ExpressionContext predicate;
+		public StatementContext statement;
+		public List<StatementContext> body = new ArrayList<StatementContext>();
+		public ExpressionContext expression() {
+			return getRuleContext(ExpressionContext.class,0);
+		}
+		public List<StatementContext> statement() {
+			return getRuleContexts(StatementContext.class);
+		}
+		public StatementContext statement(int i) {
+			return getRuleContext(StatementContext.class,i);
+		}
+		public WhileStatementContext(StatementContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterWhileStatement(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitWhileStatement(this);
+		}
+	}
+	public static class ForStatementContext extends StatementContext {
+		public Token iterVar;
+		public IterablePredicateContext iterPred;
+		public StrictParameterizedExpressionContext strictParameterizedExpression;
+		public List<StrictParameterizedExpressionContext> parForParams = new ArrayList<StrictParameterizedExpressionContext>();
+		public StatementContext statement;
+		public List<StatementContext> body = new ArrayList<StatementContext>();
+		public TerminalNode ID() { return getToken(DmlParser.ID, 0); }
+		public IterablePredicateContext iterablePredicate() {
+			return getRuleContext(IterablePredicateContext.class,0);
+		}
+		public List<StatementContext> statement() {
+			return getRuleContexts(StatementContext.class);
+		}
+		public StatementContext statement(int i) {
+			return getRuleContext(StatementContext.class,i);
+		}
+		public List<StrictParameterizedExpressionContext> strictParameterizedExpression() {
+			return getRuleContexts(StrictParameterizedExpressionContext.class);
+		}
+		public StrictParameterizedExpressionContext strictParameterizedExpression(int i) {
+			return getRuleContext(StrictParameterizedExpressionContext.class,i);
+		}
+		public ForStatementContext(StatementContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterForStatement(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitForStatement(this);
+		}
+	}
+	public static class FunctionCallAssignmentStatementContext extends StatementContext {
+		public DataIdentifierContext targetList;
+		public Token name;
+		public ParameterizedExpressionContext parameterizedExpression;
+		public List<ParameterizedExpressionContext> paramExprs = new ArrayList<ParameterizedExpressionContext>();
+		public TerminalNode ID() { return getToken(DmlParser.ID, 0); }
+		public DataIdentifierContext dataIdentifier() {
+			return getRuleContext(DataIdentifierContext.class,0);
+		}
+		public List<ParameterizedExpressionContext> parameterizedExpression() {
+			return getRuleContexts(ParameterizedExpressionContext.class);
+		}
+		public ParameterizedExpressionContext parameterizedExpression(int i) {
+			return getRuleContext(ParameterizedExpressionContext.class,i);
+		}
+		public FunctionCallAssignmentStatementContext(StatementContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterFunctionCallAssignmentStatement(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitFunctionCallAssignmentStatement(this);
+		}
+	}
+
+	public final StatementContext statement() throws RecognitionException {
+		StatementContext _localctx = new StatementContext(_ctx, getState());
+		enterRule(_localctx, 2, RULE_statement);
+
+		       // This actions occurs regardless of how many alternatives in this rule
+		       ((StatementContext)_localctx).info =  new org.apache.sysml.parser.common.StatementInfo();
+
+		int _la;
+		try {
+			int _alt;
+			setState(286);
+			_errHandler.sync(this);
+			switch ( getInterpreter().adaptivePredict(_input,37,_ctx) ) {
+			case 1:
+				_localctx = new ImportStatementContext(_localctx);
+				enterOuterAlt(_localctx, 1);
+				{
+				setState(35);
+				match(T__0);
+				setState(36);
+				match(T__1);
+				setState(37);
+				((ImportStatementContext)_localctx).filePath = match(STRING);
+				setState(38);
+				match(T__2);
+				setState(39);
+				match(T__3);
+				setState(40);
+				((ImportStatementContext)_localctx).namespace = match(ID);
+				setState(44);
+				_errHandler.sync(this);
+				_alt = getInterpreter().adaptivePredict(_input,2,_ctx);
+				while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
+					if ( _alt==1 ) {
+						{
+						{
+						setState(41);
+						match(T__4);
+						}
+						} 
+					}
+					setState(46);
+					_errHandler.sync(this);
+					_alt = getInterpreter().adaptivePredict(_input,2,_ctx);
+				}
+				}
+				break;
+			case 2:
+				_localctx = new PathStatementContext(_localctx);
+				enterOuterAlt(_localctx, 2);
+				{
+				setState(47);
+				match(T__5);
+				setState(48);
+				match(T__1);
+				setState(49);
+				((PathStatementContext)_localctx).pathValue = match(STRING);
+				setState(50);
+				match(T__2);
+				setState(54);
+				_errHandler.sync(this);
+				_alt = getInterpreter().adaptivePredict(_input,3,_ctx);
+				while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
+					if ( _alt==1 ) {
+						{
+						{
+						setState(51);
+						match(T__4);
+						}
+						} 
+					}
+					setState(56);
+					_errHandler.sync(this);
+					_alt = getInterpreter().adaptivePredict(_input,3,_ctx);
+				}
+				}
+				break;
+			case 3:
+				_localctx = new FunctionCallAssignmentStatementContext(_localctx);
+				enterOuterAlt(_localctx, 3);
+				{
+				setState(60);
+				_errHandler.sync(this);
+				switch ( getInterpreter().adaptivePredict(_input,4,_ctx) ) {
+				case 1:
+					{
+					setState(57);
+					((FunctionCallAssignmentStatementContext)_localctx).targetList = dataIdentifier();
+					setState(58);
+					_la = _input.LA(1);
+					if ( !(_la==T__6 || _la==T__7) ) {
+					_errHandler.recoverInline(this);
+					} else {
+						consume();
+					}
+					}
+					break;
+				}
+				setState(62);
+				((FunctionCallAssignmentStatementContext)_localctx).name = match(ID);
+				setState(63);
+				match(T__1);
+				setState(72);
+				_la = _input.LA(1);
+				if (((((_la - 2)) & ~0x3f) == 0 && ((1L << (_la - 2)) & ((1L << (T__1 - 2)) | (1L << (T__9 - 2)) | (1L << (T__26 - 2)) | (1L << (T__27 - 2)) | (1L << (T__39 - 2)) | (1L << (T__44 - 2)) | (1L << (T__45 - 2)) | (1L << (ID - 2)) | (1L << (INT - 2)) | (1L << (DOUBLE - 2)) | (1L << (COMMANDLINE_NAMED_ID - 2)) | (1L << (COMMANDLINE_POSITION_ID - 2)) | (1L << (STRING - 2)))) != 0)) {
+					{
+					setState(64);
+					((FunctionCallAssignmentStatementContext)_localctx).parameterizedExpression = parameterizedExpression();
+					((FunctionCallAssignmentStatementContext)_localctx).paramExprs.add(((FunctionCallAssignmentStatementContext)_localctx).parameterizedExpression);
+					setState(69);
+					_errHandler.sync(this);
+					_la = _input.LA(1);
+					while (_la==T__8) {
+						{
+						{
+						setState(65);
+						match(T__8);
+						setState(66);
+						((FunctionCallAssignmentStatementContext)_localctx).parameterizedExpression = parameterizedExpression();
+						((FunctionCallAssignmentStatementContext)_localctx).paramExprs.add(((FunctionCallAssignmentStatementContext)_localctx).parameterizedExpression);
+						}
+						}
+						setState(71);
+						_errHandler.sync(this);
+						_la = _input.LA(1);
+					}
+					}
+				}
+
+				setState(74);
+				match(T__2);
+				setState(78);
+				_errHandler.sync(this);
+				_alt = getInterpreter().adaptivePredict(_input,7,_ctx);
+				while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
+					if ( _alt==1 ) {
+						{
+						{
+						setState(75);
+						match(T__4);
+						}
+						} 
+					}
+					setState(80);
+					_errHandler.sync(this);
+					_alt = getInterpreter().adaptivePredict(_input,7,_ctx);
+				}
+				}
+				break;
+			case 4:
+				_localctx = new FunctionCallMultiAssignmentStatementContext(_localctx);
+				enterOuterAlt(_localctx, 4);
+				{
+				setState(81);
+				match(T__9);
+				setState(82);
+				((FunctionCallMultiAssignmentStatementContext)_localctx).dataIdentifier = dataIdentifier();
+				((FunctionCallMultiAssignmentStatementContext)_localctx).targetList.add(((FunctionCallMultiAssignmentStatementContext)_localctx).dataIdentifier);
+				setState(87);
+				_errHandler.sync(this);
+				_la = _input.LA(1);
+				while (_la==T__8) {
+					{
+					{
+					setState(83);
+					match(T__8);
+					setState(84);
+					((FunctionCallMultiAssignmentStatementContext)_localctx).dataIdentifier = dataIdentifier();
+					((FunctionCallMultiAssignmentStatementContext)_localctx).targetList.add(((FunctionCallMultiAssignmentStatementContext)_localctx).dataIdentifier);
+					}
+					}
+					setState(89);
+					_errHandler.sync(this);
+					_la = _input.LA(1);
+				}
+				setState(90);
+				match(T__10);
+				setState(91);
+				_la = _input.LA(1);
+				if ( !(_la==T__6 || _la==T__7) ) {
+				_errHandler.recoverInline(this);
+				} else {
+					consume();
+				}
+				setState(92);
+				((FunctionCallMultiAssignmentStatementContext)_localctx).name = match(ID);
+				setState(93);
+				match(T__1);
+				setState(102);
+				_la = _input.LA(1);
+				if (((((_la - 2)) & ~0x3f) == 0 && ((1L << (_la - 2)) & ((1L << (T__1 - 2)) | (1L << (T__9 - 2)) | (1L << (T__26 - 2)) | (1L << (T__27 - 2)) | (1L << (T__39 - 2)) | (1L << (T__44 - 2)) | (1L << (T__45 - 2)) | (1L << (ID - 2)) | (1L << (INT - 2)) | (1L << (DOUBLE - 2)) | (1L << (COMMANDLINE_NAMED_ID - 2)) | (1L << (COMMANDLINE_POSITION_ID - 2)) | (1L << (STRING - 2)))) != 0)) {
+					{
+					setState(94);
+					((FunctionCallMultiAssignmentStatementContext)_localctx).parameterizedExpression = parameterizedExpression();
+					((FunctionCallMultiAssignmentStatementContext)_localctx).paramExprs.add(((FunctionCallMultiAssignmentStatementContext)_localctx).parameterizedExpression);
+					setState(99);
+					_errHandler.sync(this);
+					_la = _input.LA(1);
+					while (_la==T__8) {
+						{
+						{
+						setState(95);
+						match(T__8);
+						setState(96);
+						((FunctionCallMultiAssignmentStatementContext)_localctx).parameterizedExpression = parameterizedExpression();
+						((FunctionCallMultiAssignmentStatementContext)_localctx).paramExprs.add(((FunctionCallMultiAssignmentStatementContext)_localctx).parameterizedExpression);
+						}
+						}
+						setState(101);
+						_errHandler.sync(this);
+						_la = _input.LA(1);
+					}
+					}
+				}
+
+				setState(104);
+				match(T__2);
+				setState(108);
+				_errHandler.sync(this);
+				_alt = getInterpreter().adaptivePredict(_input,11,_ctx);
+				while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
+					if ( _alt==1 ) {
+						{
+						{
+						setState(105);
+						match(T__4);
+						}
+						} 
+					}
+					setState(110);
+					_errHandler.sync(this);
+					_alt = getInterpreter().adaptivePredict(_input,11,_ctx);
+				}
+				}
+				break;
+			case 5:
+				_localctx = new IfdefAssignmentStatementContext(_localctx);
+				enterOuterAlt(_localctx, 5);
+				{
+				setState(111);
+				((IfdefAssignmentStatementContext)_localctx).targetList = dataIdentifier();
+				setState(112);
+				((IfdefAssignmentStatementContext)_localctx).op = _input.LT(1);
+				_la = _input.LA(1);
+				if ( !(_la==T__6 || _la==T__7) ) {
+					((IfdefAssignmentStatementContext)_localctx).op = (Token)_errHandler.recoverInline(this);
+				} else {
+					consume();
+				}
+				setState(113);
+				match(T__11);
+				setState(114);
+				match(T__1);
+				setState(115);
+				((IfdefAssignmentStatementContext)_localctx).commandLineParam = dataIdentifier();
+				setState(116);
+				match(T__8);
+				setState(117);
+				((IfdefAssignmentStatementContext)_localctx).source = expression(0);
+				setState(118);
+				match(T__2);
+				setState(122);
+				_errHandler.sync(this);
+				_alt = getInterpreter().adaptivePredict(_input,12,_ctx);
+				while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
+					if ( _alt==1 ) {
+						{
+						{
+						setState(119);
+						match(T__4);
+						}
+						} 
+					}
+					setState(124);
+					_errHandler.sync(this);
+					_alt = getInterpreter().adaptivePredict(_input,12,_ctx);
+				}
+				}
+				break;
+			case 6:
+				_localctx = new AssignmentStatementContext(_localctx);
+				enterOuterAlt(_localctx, 6);
+				{
+				setState(125);
+				((AssignmentStatementContext)_localctx).targetList = dataIdentifier();
+				setState(126);
+				((AssignmentStatementContext)_localctx).op = _input.LT(1);
+				_la = _input.LA(1);
+				if ( !(_la==T__6 || _la==T__7) ) {
+					((AssignmentStatementContext)_localctx).op = (Token)_errHandler.recoverInline(this);
+				} else {
+					consume();
+				}
+				setState(127);
+				((AssignmentStatementContext)_localctx).source = expression(0);
+				setState(131);
+				_errHandler.sync(this);
+				_alt = getInterpreter().adaptivePredict(_input,13,_ctx);
+				while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
+					if ( _alt==1 ) {
+						{
+						{
+						setState(128);
+						match(T__4);
+						}
+						} 
+					}
+					setState(133);
+					_errHandler.sync(this);
+					_alt = getInterpreter().adaptivePredict(_input,13,_ctx);
+				}
+				}
+				break;
+			case 7:
+				_localctx = new IfStatementContext(_localctx);
+				enterOuterAlt(_localctx, 7);
+				{
+				setState(134);
+				match(T__12);
+				setState(135);
+				match(T__1);
+				setState(136);
+				((IfStatementContext)_localctx).predicate = expression(0);
+				setState(137);
+				match(T__2);
+				setState(159);
+				switch (_input.LA(1)) {
+				case T__0:
+				case T__5:
+				case T__9:
+				case T__12:
+				case T__16:
+				case T__18:
+				case T__19:
+				case ID:
+				case COMMANDLINE_NAMED_ID:
+				case COMMANDLINE_POSITION_ID:
+					{
+					setState(138);
+					((IfStatementContext)_localctx).statement = statement();
+					((IfStatementContext)_localctx).ifBody.add(((IfStatementContext)_localctx).statement);
+					setState(142);
+					_errHandler.sync(this);
+					_alt = getInterpreter().adaptivePredict(_input,14,_ctx);
+					while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
+						if ( _alt==1 ) {
+							{
+							{
+							setState(139);
+							match(T__4);
+							}
+							} 
+						}
+						setState(144);
+						_errHandler.sync(this);
+						_alt = getInterpreter().adaptivePredict(_input,14,_ctx);
+					}
+					}
+					break;
+				case T__13:
+					{
+					setState(145);
+					match(T__13);
+					setState(155);
+					_errHandler.sync(this);
+					_la = _input.LA(1);
+					while ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__0) | (1L << T__5) | (1L << T__9) | (1L << T__12) | (1L << T__16) | (1L << T__18) | (1L << T__19) | (1L << ID) | (1L << COMMANDLINE_NAMED_ID) | (1L << COMMANDLINE_POSITION_ID))) != 0)) {
+						{
+						{
+						setState(146);
+						((IfStatementContext)_localctx).statement = statement();
+						((IfStatementContext)_localctx).ifBody.add(((IfStatementContext)_localctx).statement);
+						setState(150);
+						_errHandler.sync(this);
+						_la = _input.LA(1);
+						while (_la==T__4) {
+							{
+							{
+							setState(147);
+							match(T__4);
+							}
+							}
+							setState(152);
+							_errHandler.sync(this);
+							_la = _input.LA(1);
+						}
+						}
+						}
+						setState(157);
+						_errHandler.sync(this);
+						_la = _input.LA(1);
+					}
+					setState(158);
+					match(T__14);
+					}
+					break;
+				default:
+					throw new NoViableAltException(this);
+				}
+				setState(185);
+				_errHandler.sync(this);
+				switch ( getInterpreter().adaptivePredict(_input,22,_ctx) ) {
+				case 1:
+					{
+					setState(161);
+					match(T__15);
+					setState(183);
+					switch (_input.LA(1)) {
+					case T__0:
+					case T__5:
+					case T__9:
+					case T__12:
+					case T__16:
+					case T__18:
+					case T__19:
+					case ID:
+					case COMMANDLINE_NAMED_ID:
+					case COMMANDLINE_POSITION_ID:
+						{
+						setState(162);
+						((IfStatementContext)_localctx).statement = statement();
+						((IfStatementContext)_localctx).elseBody.add(((IfStatementContext)_localctx).statement);
+						setState(166);
+						_errHandler.sync(this);
+						_alt = getInterpreter().adaptivePredict(_input,18,_ctx);
+						while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
+							if ( _alt==1 ) {
+								{
+								{
+								setState(163);
+								match(T__4);
+								}
+								} 
+							}
+							setState(168);
+							_errHandler.sync(this);
+							_alt = getInterpreter().adaptivePredict(_input,18,_ctx);
+						}
+						}
+						break;
+					case T__13:
+						{
+						setState(169);
+						match(T__13);
+						setState(179);
+						_errHandler.sync(this);
+						_la = _input.LA(1);
+						while ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__0) | (1L << T__5) | (1L << T__9) | (1L << T__12) | (1L << T__16) | (1L << T__18) | (1L << T__19) | (1L << ID) | (1L << COMMANDLINE_NAMED_ID) | (1L << COMMANDLINE_POSITION_ID))) != 0)) {
+							{
+							{
+							setState(170);
+							((IfStatementContext)_localctx).statement = statement();
+							((IfStatementContext)_localctx).elseBody.add(((IfStatementContext)_localctx).statement);
+							setState(174);
+							_errHandler.sync(this);
+							_la = _input.LA(1);
+							while (_la==T__4) {
+								{
+								{
+								setState(171);
+								match(T__4);
+								}
+								}
+								setState(176);
+								_errHandler.sync(this);
+								_la = _input.LA(1);
+							}
+							}
+							}
+							setState(181);
+							_errHandler.sync(this);
+							_la = _input.LA(1);
+						}
+						setState(182);
+						match(T__14);
+						}
+						break;
+					default:
+						throw new NoViableAltException(this);
+					}
+					}
+					break;
+				}
+				}
+				break;
+			case 8:
+				_localctx = new ForStatementContext(_localctx);
+				enterOuterAlt(_localctx, 8);
+				{
+				setState(187);
+				match(T__16);
+				setState(188);
+				match(T__1);
+				setState(189);
+				((ForStatementContext)_localctx).iterVar = match(ID);
+				setState(190);
+				match(T__17);
+				setState(191);
+				((ForStatementContext)_localctx).iterPred = iterablePredicate();
+				setState(196);
+				_errHandler.sync(this);
+				_la = _input.LA(1);
+				while (_la==T__8) {
+					{
+					{
+					setState(192);
+					match(T__8);
+					setState(193);
+					((ForStatementContext)_localctx).strictParameterizedExpression = strictParameterizedExpression();
+					((ForStatementContext)_localctx).parForParams.add(((ForStatementContext)_localctx).strictParameterizedExpression);
+					}
+					}
+					setState(198);
+					_errHandler.sync(this);
+					_la = _input.LA(1);
+				}
+				setState(199);
+				match(T__2);
+				setState(221);
+				switch (_input.LA(1)) {
+				case T__0:
+				case T__5:
+				case T__9:
+				case T__12:
+				case T__16:
+				case T__18:
+				case T__19:
+				case ID:
+				case COMMANDLINE_NAMED_ID:
+				case COMMANDLINE_POSITION_ID:
+					{
+					setState(200);
+					((ForStatementContext)_localctx).statement = statement();
+					((ForStatementContext)_localctx).body.add(((ForStatementContext)_localctx).statement);
+					setState(204);
+					_errHandler.sync(this);
+					_alt = getInterpreter().adaptivePredict(_input,24,_ctx);
+					while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
+						if ( _alt==1 ) {
+							{
+							{
+							setState(201);
+							match(T__4);
+							}
+							} 
+						}
+						setState(206);
+						_errHandler.sync(this);
+						_alt = getInterpreter().adaptivePredict(_input,24,_ctx);
+					}
+					}
+					break;
+				case T__13:
+					{
+					setState(207);
+					match(T__13);
+					setState(217);
+					_errHandler.sync(this);
+					_la = _input.LA(1);
+					while ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__0) | (1L << T__5) | (1L << T__9) | (1L << T__12) | (1L << T__16) | (1L << T__18) | (1L << T__19) | (1L << ID) | (1L << COMMANDLINE_NAMED_ID) | (1L << COMMANDLINE_POSITION_ID))) != 0)) {
+						{
+						{
+						setState(208);
+						((ForStatementContext)_localctx).statement = statement();
+						((ForStatementContext)_localctx).body.add(((ForStatementContext)_localctx).statement);
+						setState(212);
+						_errHandler.sync(this);
+						_la = _input.LA(1);
+						while (_la==T__4) {
+							{
+							{
+							setState(209);
+							match(T__4);
+							}
+							}
+							setState(214);
+							_errHandler.sync(this);
+							_la = _input.LA(1);
+						}
+						}
+						}
+						setState(219);
+						_errHandler.sync(this);
+						_la = _input.LA(1);
+					}
+					setState(220);
+					match(T__14);
+					}
+					break;
+				default:
+					throw new NoViableAltException(this);
+				}
+				}
+				break;
+			case 9:
+				_localctx = new ParForStatementContext(_localctx);
+				enterOuterAlt(_localctx, 9);
+				{
+				setState(223);
+				match(T__18);
+				setState(224);
+				match(T__1);
+				setState(225);
+				((ParForStatementContext)_localctx).iterVar = match(ID);
+				setState(226);
+				match(T__17);
+				setState(227);
+				((ParForStatementContext)_localctx).iterPred = iterablePredicate();
+				setState(232);
+				_errHandler.sync(this);
+				_la = _input.LA(1);
+				while (_la==T__8) {
+					{
+					{
+					setState(228);
+					match(T__8);
+					setState(229);
+					((ParForStatementContext)_localctx).strictParameterizedExpression = strictParameterizedExpression();
+					((ParForStatementContext)_localctx).parForParams.add(((ParForStatementContext)_localctx).strictParameterizedExpression);
+					}
+					}
+					setState(234);
+					_errHandler.sync(this);
+					_la = _input.LA(1);
+				}
+				setState(235);
+				match(T__2);
+				setState(257);
+				switch (_input.LA(1)) {
+				case T__0:
+				case T__5:
+				case T__9:
+				case T__12:
+				case T__16:
+				case T__18:
+				case T__19:
+				case ID:
+				case COMMANDLINE_NAMED_ID:
+				case COMMANDLINE_POSITION_ID:
+					{
+					setState(236);
+					((ParForStatementContext)_localctx).statement = statement();
+					((ParForStatementContext)_localctx).body.add(((ParForStatementContext)_localctx).statement);
+					setState(240);
+					_errHandler.sync(this);
+					_alt = getInterpreter().adaptivePredict(_input,29,_ctx);
+					while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
+						if ( _alt==1 ) {
+							{
+							{
+							setState(237);
+							match(T__4);
+							}
+							} 
+						}
+						setState(242);
+						_errHandler.sync(this);
+						_alt = getInterpreter().adaptivePredict(_input,29,_ctx);
+					}
+					}
+					break;
+				case T__13:
+					{
+					setState(243);
+					match(T__13);
+					setState(253);
+					_errHandler.sync(this);
+					_la = _input.LA(1);
+					while ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__0) | (1L << T__5) | (1L << T__9) | (1L << T__12) | (1L << T__16) | (1L << T__18) | (1L << T__19) | (1L << ID) | (1L << COMMANDLINE_NAMED_ID) | (1L << COMMANDLINE_POSITION_ID))) != 0)) {
+						{
+						{
+						setState(244);
+						((ParForStatementContext)_localctx).statement = statement();
+						((ParForStatementContext)_localctx).body.add(((ParForStatementContext)_localctx).statement);
+						setState(248);
+						_errHandler.sync(this);
+						_la = _input.LA(1);
+						while (_la==T__4) {
+							{
+							{
+							setState(245);
+							match(T__4);
+							}
+							}
+							setState(250);
+							_errHandler.sync(this);
+							_la = _input.LA(1);
+						}
+						}
+						}
+						setState(255);
+						_errHandler.sync(this);
+						_la = _input.LA(1);
+					}
+					setState(256);
+					match(T__14);
+					}
+					break;
+				default:
+					throw new NoViableAltException(this);
+				}
+				}
+				break;
+			case 10:
+				_localctx = new WhileStatementContext(_localctx);
+				enterOuterAlt(_localctx, 10);
+				{
+				setState(259);
+				match(T__19);
+				setState(260);
+				match(T__1);
+				setState(261);
+				((WhileStatementContext)_localctx).predicate = expression(0);
+				setState(262);
+				match(T__2);
+				setState(284);
+				switch (_input.LA(1)) {
+				case T__0:
+				case T__5:
+				case T__9:
+				case T__12:
+				case T__16:
+				case T__18:
+				case T__19:
+				case ID:
+				case COMMANDLINE_NAMED_ID:
+				case COMMANDLINE_POSITION_ID:
+					{
+					setState(263);
+					((WhileStatementContext)_localctx).statement = statement();
+					((WhileStatementContext)_localctx).body.add(((WhileStatementContext)_localctx).statement);
+					setState(267);
+					_errHandler.sync(this);
+					_alt = getInterpreter().adaptivePredict(_input,33,_ctx);
+					while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
+						if ( _alt==1 ) {
+							{
+							{
+							setState(264);
+							match(T__4);
+							}
+							} 
+						}
+						setState(269);
+						_errHandler.sync(this);
+						_alt = getInterpreter().adaptivePredict(_input,33,_ctx);
+					}
+					}
+					break;
+				case T__13:
+					{
+					setState(270);
+					match(T__13);
+					setState(280);
+					_errHandler.sync(this);
+					_la = _input.LA(1);
+					while ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__0) | (1L << T__5) | (1L << T__9) | (1L << T__12) | (1L << T__16) | (1L << T__18) | (1L << T__19) | (1L << ID) | (1L << COMMANDLINE_NAMED_ID) | (1L << COMMANDLINE_POSITION_ID))) != 0)) {
+						{
+						{
+						setState(271);
+						((WhileStatementContext)_localctx).statement = statement();
+						((WhileStatementContext)_localctx).body.add(((WhileStatementContext)_localctx).statement);
+						setState(275);
+						_errHandler.sync(this);
+						_la = _input.LA(1);
+						while (_la==T__4) {
+							{
+							{
+							setState(272);
+							match(T__4);
+							}
+							}
+							setState(277);
+							_errHandler.sync(this);
+							_la = _input.LA(1);
+						}
+						}
+						}
+						setState(282);
+						_errHandler.sync(this);
+						_la = _input.LA(1);
+					}
+					setState(283);
+					match(T__14);
+					}
+					break;
+				default:
+					throw new NoViableAltException(this);
+				}
+				}
+				break;
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class IterablePredicateContext extends ParserRuleContext {
+		public org.apache.sysml.parser.common.ExpressionInfo info;
+		public IterablePredicateContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_iterablePredicate; }
+	 
+		public IterablePredicateContext() { }
+		public void copyFrom(IterablePredicateContext ctx) {
+			super.copyFrom(ctx);
+			this.info = ctx.info;
+		}
+	}
+	public static class IterablePredicateColonExpressionContext extends IterablePredicateContext {
+		public ExpressionContext from;
+		public ExpressionContext to;
+		public List<ExpressionContext> expression() {
+			return getRuleContexts(ExpressionContext.class);
+		}
+		public ExpressionContext expression(int i) {
+			return getRuleContext(ExpressionContext.class,i);
+		}
+		public IterablePredicateColonExpressionContext(IterablePredicateContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterIterablePredicateColonExpression(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitIterablePredicateColonExpression(this);
+		}
+	}
+	public static class IterablePredicateSeqExpressionContext extends IterablePredicateContext {
+		public ExpressionContext from;
+		public ExpressionContext to;
+		public ExpressionContext increment;
+		public TerminalNode ID() { return getToken(DmlParser.ID, 0); }
+		public List<ExpressionContext> expression() {
+			return getRuleContexts(ExpressionContext.class);
+		}
+		public ExpressionContext expression(int i) {
+			return getRuleContext(ExpressionContext.class,i);
+		}
+		public IterablePredicateSeqExpressionContext(IterablePredicateContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterIterablePredicateSeqExpression(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitIterablePredicateSeqExpression(this);
+		}
+	}
+
+	public final IterablePredicateContext iterablePredicate() throws RecognitionException {
+		IterablePredicateContext _localctx = new IterablePredicateContext(_ctx, getState());
+		enterRule(_localctx, 4, RULE_iterablePredicate);
+
+		         // This actions occurs regardless of how many alternatives in this rule
+		         ((IterablePredicateContext)_localctx).info =  new org.apache.sysml.parser.common.ExpressionInfo();
+		  
+		int _la;
+		try {
+			setState(303);
+			_errHandler.sync(this);
+			switch ( getInterpreter().adaptivePredict(_input,39,_ctx) ) {
+			case 1:
+				_localctx = new IterablePredicateColonExpressionContext(_localctx);
+				enterOuterAlt(_localctx, 1);
+				{
+				setState(288);
+				((IterablePredicateColonExpressionContext)_localctx).from = expression(0);
+				setState(289);
+				match(T__20);
+				setState(290);
+				((IterablePredicateColonExpressionContext)_localctx).to = expression(0);
+				}
+				break;
+			case 2:
+				_localctx = new IterablePredicateSeqExpressionContext(_localctx);
+				enterOuterAlt(_localctx, 2);
+				{
+				setState(292);
+				match(ID);
+				setState(293);
+				match(T__1);
+				setState(294);
+				((IterablePredicateSeqExpressionContext)_localctx).from = expression(0);
+				setState(295);
+				match(T__8);
+				setState(296);
+				((IterablePredicateSeqExpressionContext)_localctx).to = expression(0);
+				setState(299);
+				_la = _input.LA(1);
+				if (_la==T__8) {
+					{
+					setState(297);
+					match(T__8);
+					setState(298);
+					((IterablePredicateSeqExpressionContext)_localctx).increment = expression(0);
+					}
+				}
+
+				setState(301);
+				match(T__2);
+				}
+				break;
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class FunctionStatementContext extends ParserRuleContext {
+		public org.apache.sysml.parser.common.StatementInfo info;
+		public FunctionStatementContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_functionStatement; }
+	 
+		public FunctionStatementContext() { }
+		public void copyFrom(FunctionStatementContext ctx) {
+			super.copyFrom(ctx);
+			this.info = ctx.info;
+		}
+	}
+	public static class ExternalFunctionDefExpressionContext extends FunctionStatementContext {
+		public Token name;
+		public TypedArgNoAssignContext typedArgNoAssign;
+		public List<TypedArgNoAssignContext> inputParams = new ArrayList<TypedArgNoAssignContext>();
+		public List<TypedArgNoAssignContext> outputParams = new ArrayList<TypedArgNoAssignContext>();
+		public StrictParameterizedKeyValueStringContext strictParameterizedKeyValueString;
+		public List<StrictParameterizedKeyValueStringContext> otherParams = new ArrayList<StrictParameterizedKeyValueStringContext>();
+		public TerminalNode ID() { return getToken(DmlParser.ID, 0); }
+		public List<TypedArgNoAssignContext> typedArgNoAssign() {
+			return getRuleContexts(TypedArgNoAssignContext.class);
+		}
+		public TypedArgNoAssignContext typedArgNoAssign(int i) {
+			return getRuleContext(TypedArgNoAssignContext.class,i);
+		}
+		public List<StrictParameterizedKeyValueStringContext> strictParameterizedKeyValueString() {
+			return getRuleContexts(StrictParameterizedKeyValueStringContext.class);
+		}
+		public StrictParameterizedKeyValueStringContext strictParameterizedKeyValueString(int i) {
+			return getRuleContext(StrictParameterizedKeyValueStringContext.class,i);
+		}
+		public ExternalFunctionDefExpressionContext(FunctionStatementContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterExternalFunctionDefExpression(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitExternalFunctionDefExpression(this);
+		}
+	}
+	public static class InternalFunctionDefExpressionContext extends FunctionStatementContext {
+		public Token name;
+		public TypedArgNoAssignContext typedArgNoAssign;
+		public List<TypedArgNoAssignContext> inputParams = new ArrayList<TypedArgNoAssignContext>();
+		public List<TypedArgNoAssignContext> outputParams = new ArrayList<TypedArgNoAssignContext>();
+		public StatementContext statement;
+		public List<StatementContext> body = new ArrayList<StatementContext>();
+		public TerminalNode ID() { return getToken(DmlParser.ID, 0); }
+		public List<TypedArgNoAssignContext> typedArgNoAssign() {
+			return getRuleContexts(TypedArgNoAssignContext.class);
+		}
+		public TypedArgNoAssignContext typedArgNoAssign(int i) {
+			return getRuleContext(TypedArgNoAssignContext.class,i);
+		}
+		public List<StatementContext> statement() {
+			return getRuleContexts(StatementContext.class);
+		}
+		public StatementContext statement(int i) {
+			return getRuleContext(StatementContext.class,i);
+		}
+		public InternalFunctionDefExpressionContext(FunctionStatementContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterInternalFunctionDefExpression(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitInternalFunctionDefExpression(this);
+		}
+	}
+
+	public final FunctionStatementContext functionStatement() throws RecognitionException {
+		FunctionStatementContext _localctx = new FunctionStatementContext(_ctx, getState());
+		enterRule(_localctx, 6, RULE_functionStatement);
+
+		       // This actions occurs regardless of how many alternatives in this rule
+		       ((FunctionStatementContext)_localctx).info =  new org.apache.sysml.parser.common.StatementInfo();
+
+		int _la;
+		try {
+			setState(405);
+			_errHandler.sync(this);
+			switch ( getInterpreter().adaptivePredict(_input,56,_ctx) ) {
+			case 1:
+				_localctx = new InternalFunctionDefExpressionContext(_localctx);
+				enterOuterAlt(_localctx, 1);
+				{
+				setState(305);
+				((InternalFunctionDefExpressionContext)_localctx).name = match(ID);
+				setState(306);
+				_la = _input.LA(1);
+				if ( !(_la==T__6 || _la==T__7) ) {
+				_errHandler.recoverInline(this);
+				} else {
+					consume();
+				}
+				setState(307);
+				match(T__21);
+				setState(308);
+				match(T__1);
+				setState(317);
+				_la = _input.LA(1);
+				if ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__46) | (1L << T__47) | (1L << T__48) | (1L << T__49) | (1L << T__50) | (1L << T__51) | (1L << T__52) | (1L << T__53) | (1L << T__54) | (1L << T__55) | (1L << ID))) != 0)) {
+					{
+					setState(309);
+					((InternalFunctionDefExpressionContext)_localctx).typedArgNoAssign = typedArgNoAssign();
+					((InternalFunctionDefExpressionContext)_localctx).inputParams.add(((InternalFunctionDefExpressionContext)_localctx).typedArgNoAssign);
+					setState(314);
+					_errHandler.sync(this);
+					_la = _input.LA(1);
+					while (_la==T__8) {
+						{
+						{
+						setState(310);
+						match(T__8);
+						setState(311);
+						((InternalFunctionDefExpressionContext)_localctx).typedArgNoAssign = typedArgNoAssign();
+						((InternalFunctionDefExpressionContext)_localctx).inputParams.add(((InternalFunctionDefExpressionContext)_localctx).typedArgNoAssign);
+						}
+						}
+						setState(316);
+						_errHandler.sync(this);
+						_la = _input.LA(1);
+					}
+					}
+				}
+
+				setState(319);
+				match(T__2);
+				setState(333);
+				_la = _input.LA(1);
+				if (_la==T__22) {
+					{
+					setState(320);
+					match(T__22);
+					setState(321);
+					match(T__1);
+					setState(330);
+					_la = _input.LA(1);
+					if ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__46) | (1L << T__47) | (1L << T__48) | (1L << T__49) | (1L << T__50) | (1L << T__51) | (1L << T__52) | (1L << T__53) | (1L << T__54) | (1L << T__55) | (1L << ID))) != 0)) {
+						{
+						setState(322);
+						((InternalFunctionDefExpressionContext)_localctx).typedArgNoAssign = typedArgNoAssign();
+						((InternalFunctionDefExpressionContext)_localctx).outputParams.add(((InternalFunctionDefExpressionContext)_localctx).typedArgNoAssign);
+						setState(327);
+						_errHandler.sync(this);
+						_la = _input.LA(1);
+						while (_la==T__8) {
+							{
+							{
+							setState(323);
+							match(T__8);
+							setState(324);
+							((InternalFunctionDefExpressionContext)_localctx).typedArgNoAssign = typedArgNoAssign();
+							((InternalFunctionDefExpressionContext)_localctx).outputParams.add(((InternalFunctionDefExpressionContext)_localctx).typedArgNoAssign);
+							}
+							}
+							setState(329);
+							_errHandler.sync(this);
+							_la = _input.LA(1);
+						}
+						}
+					}
+
+					setState(332);
+					match(T__2);
+					}
+				}
+
+				setState(335);
+				match(T__13);
+				setState(345);
+				_errHandler.sync(this);
+				_la = _input.LA(1);
+				while ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__0) | (1L << T__5) | (1L << T__9) | (1L << T__12) | (1L << T__16) | (1L << T__18) | (1L << T__19) | (1L << ID) | (1L << COMMANDLINE_NAMED_ID) | (1L << COMMANDLINE_POSITION_ID))) != 0)) {
+					{
+					{
+					setState(336);
+					((InternalFunctionDefExpressionContext)_localctx).statement = statement();
+					((InternalFunctionDefExpressionContext)_localctx).body.add(((InternalFunctionDefExpressionContext)_localctx).statement);
+					setState(340);
+					_errHandler.sync(this);
+					_la = _input.LA(1);
+					while (_la==T__4) {
+						{
+						{
+						setState(337);
+						match(T__4);
+						}
+						}
+						setState(342);
+						_errHandler.sync(this);
+						_la = _input.LA(1);
+					}
+					}
+					}
+					setState(347);
+					_errHandler.sync(this);
+					_la = _input.LA(1);
+				}
+				setState(348);
+				match(T__14);
+				setState(352);
+				_errHandler.sync(this);
+				_la = _input.LA(1);
+				while (_la==T__4) {
+					{
+					{
+					setState(349);
+					match(T__4);
+					}
+					}
+					setState(354);
+					_errHandler.sync(this);
+					_la = _input.LA(1);
+				}
+				}
+				break;
+			case 2:
+				_localctx = new ExternalFunctionDefExpressionContext(_localctx);
+				enterOuterAlt(_localctx, 2);
+				{
+				setState(355);
+				((ExternalFunctionDefExpressionContext)_localctx).name = match(ID);
+				setState(356);
+				_la = _input.LA(1);
+				if ( !(_la==T__6 || _la==T__7) ) {
+				_errHandler.recoverInline(this);
+				} else {
+					consume();
+				}
+				setState(357);
+				match(T__23);
+				setState(358);
+				match(T__1);
+				setState(367);
+				_la = _input.LA(1);
+				if ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__46) | (1L << T__47) | (1L << T__48) | (1L << T__49) | (1L << T__50) | (1L << T__51) | (1L << T__52) | (1L << T__53) | (1L << T__54) | (1L << T__55) | (1L << ID))) != 0)) {
+					{
+					setState(359);
+					((ExternalFunctionDefExpressionContext)_localctx).typedArgNoAssign = typedArgNoAssign();
+					((ExternalFunctionDefExpressionContext)_localctx).inputParams.add(((ExternalFunctionDefExpressionContext)_localctx).typedArgNoAssign);
+					setState(364);
+					_errHandler.sync(this);
+					_la = _input.LA(1);
+					while (_la==T__8) {
+						{
+						{
+						setState(360);
+						match(T__8);
+						setState(361);
+						((ExternalFunctionDefExpressionContext)_localctx).typedArgNoAssign = typedArgNoAssign();
+						((ExternalFunctionDefExpressionContext)_localctx).inputParams.add(((ExternalFunctionDefExpressionContext)_localctx).typedArgNoAssign);
+						}
+						}
+						setState(366);
+						_errHandler.sync(this);
+						_la = _input.LA(1);
+					}
+					}
+				}
+
+				setState(369);
+				match(T__2);
+				setState(383);
+				_la = _input.LA(1);
+				if (_la==T__22) {
+					{
+					setState(370);
+					match(T__22);
+					setState(371);
+					match(T__1);
+					setState(380);
+					_la = _input.LA(1);
+					if ((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__46) | (1L << T__47) | (1L << T__48) | (1L << T__49) | (1L << T__50) | (1L << T__51) | (1L << T__52) | (1L << T__53) | (1L << T__54) | (1L << T__55) | (1L << ID))) != 0)) {
+						{
+						setState(372);
+						((ExternalFunctionDefExpressionContext)_localctx).typedArgNoAssign = typedArgNoAssign();
+						((ExternalFunctionDefExpressionContext)_localctx).outputParams.add(((ExternalFunctionDefExpressionContext)_localctx).typedArgNoAssign);
+						setState(377);
+						_errHandler.sync(this);
+						_la = _input.LA(1);
+						while (_la==T__8) {
+							{
+							{
+							setState(373);
+							match(T__8);
+							setState(374);
+							((ExternalFunctionDefExpressionContext)_localctx).typedArgNoAssign = typedArgNoAssign();
+							((ExternalFunctionDefExpressionContext)_localctx).outputParams.add(((ExternalFunctionDefExpressionContext)_localctx).typedArgNoAssign);
+							}
+							}
+							setState(379);
+							_errHandler.sync(this);
+							_la = _input.LA(1);
+						}
+						}
+					}
+
+					setState(382);
+					match(T__2);
+					}
+				}
+
+				setState(385);
+				match(T__24);
+				setState(386);
+				match(T__17);
+				setState(387);
+				match(T__1);
+				setState(396);
+				_la = _input.LA(1);
+				if (_la==ID) {
+					{
+					setState(388);
+					((ExternalFunctionDefExpressionContext)_localctx).strictParameterizedKeyValueString = strictParameterizedKeyValueString();
+					((ExternalFunctionDefExpressionContext)_localctx).otherParams.add(((ExternalFunctionDefExpressionContext)_localctx).strictParameterizedKeyValueString);
+					setState(393);
+					_errHandler.sync(this);
+					_la = _input.LA(1);
+					while (_la==T__8) {
+						{
+						{
+						setState(389);
+						match(T__8);
+						setState(390);
+						((ExternalFunctionDefExpressionContext)_localctx).strictParameterizedKeyValueString = strictParameterizedKeyValueString();
+						((ExternalFunctionDefExpressionContext)_localctx).otherParams.add(((ExternalFunctionDefExpressionContext)_localctx).strictParameterizedKeyValueString);
+						}
+						}
+						setState(395);
+						_errHandler.sync(this);
+						_la = _input.LA(1);
+					}
+					}
+				}
+
+				setState(398);
+				match(T__2);
+				setState(402);
+				_errHandler.sync(this);
+				_la = _input.LA(1);
+				while (_la==T__4) {
+					{
+					{
+					setState(399);
+					match(T__4);
+					}
+					}
+					setState(404);
+					_errHandler.sync(this);
+					_la = _input.LA(1);
+				}
+				}
+				break;
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class DataIdentifierContext extends ParserRuleContext {
+		public org.apache.sysml.parser.common.ExpressionInfo dataInfo;
+		public DataIdentifierContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_dataIdentifier; }
+	 
+		public DataIdentifierContext() { }
+		public void copyFrom(DataIdentifierContext ctx) {
+			super.copyFrom(ctx);
+			this.dataInfo = ctx.dataInfo;
+		}
+	}
+	public static class IndexedExpressionContext extends DataIdentifierContext {
+		public Token name;
+		public ExpressionContext rowLower;
+		public ExpressionContext rowUpper;
+		public ExpressionContext colLower;
+		public ExpressionContext colUpper;
+		public TerminalNode ID() { return getToken(DmlParser.ID, 0); }
+		public List<ExpressionContext> expression() {
+			return getRuleContexts(ExpressionContext.class);
+		}
+		public ExpressionContext expression(int i) {
+			return getRuleContext(ExpressionContext.class,i);
+		}
+		public IndexedExpressionContext(DataIdentifierContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterIndexedExpression(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitIndexedExpression(this);
+		}
+	}
+	public static class CommandlinePositionExpressionContext extends DataIdentifierContext {
+		public TerminalNode COMMANDLINE_POSITION_ID() { return getToken(DmlParser.COMMANDLINE_POSITION_ID, 0); }
+		public CommandlinePositionExpressionContext(DataIdentifierContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterCommandlinePositionExpression(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitCommandlinePositionExpression(this);
+		}
+	}
+	public static class SimpleDataIdentifierExpressionContext extends DataIdentifierContext {
+		public TerminalNode ID() { return getToken(DmlParser.ID, 0); }
+		public SimpleDataIdentifierExpressionContext(DataIdentifierContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterSimpleDataIdentifierExpression(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitSimpleDataIdentifierExpression(this);
+		}
+	}
+	public static class CommandlineParamExpressionContext extends DataIdentifierContext {
+		public TerminalNode COMMANDLINE_NAMED_ID() { return getToken(DmlParser.COMMANDLINE_NAMED_ID, 0); }
+		public CommandlineParamExpressionContext(DataIdentifierContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterCommandlineParamExpression(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitCommandlineParamExpression(this);
+		}
+	}
+
+	public final DataIdentifierContext dataIdentifier() throws RecognitionException {
+		DataIdentifierContext _localctx = new DataIdentifierContext(_ctx, getState());
+		enterRule(_localctx, 8, RULE_dataIdentifier);
+
+		       // This actions occurs regardless of how many alternatives in this rule
+		       ((DataIdentifierContext)_localctx).dataInfo =  new org.apache.sysml.parser.common.ExpressionInfo();
+		       // _localctx.dataInfo.expr = new org.apache.sysml.parser.DataIdentifier();
+
+		int _la;
+		try {
+			setState(428);
+			_errHandler.sync(this);
+			switch ( getInterpreter().adaptivePredict(_input,61,_ctx) ) {
+			case 1:
+				_localctx = new IndexedExpressionContext(_localctx);
+				enterOuterAlt(_localctx, 1);
+				{
+				setState(407);
+				((IndexedExpressionContext)_localctx).name = match(ID);
+				setState(408);
+				match(T__9);
+				setState(414);
+				_la = _input.LA(1);
+				if (((((_la - 2)) & ~0x3f) == 0 && ((1L << (_la - 2)) & ((1L << (T__1 - 2)) | (1L << (T__9 - 2)) | (1L << (T__26 - 2)) | (1L << (T__27 - 2)) | (1L << (T__39 - 2)) | (1L << (T__44 - 2)) | (1L << (T__45 - 2)) | (1L << (ID - 2)) | (1L << (INT - 2)) | (1L << (DOUBLE - 2)) | (1L << (COMMANDLINE_NAMED_ID - 2)) | (1L << (COMMANDLINE_POSITION_ID - 2)) | (1L << (STRING - 2)))) != 0)) {
+					{
+					setState(409);
+					((IndexedExpressionContext)_localctx).rowLower = expression(0);
+					setState(412);
+					_la = _input.LA(1);
+					if (_la==T__20) {
+						{
+						setState(410);
+						match(T__20);
+						setState(411);
+						((IndexedExpressionContext)_localctx).rowUpper = expression(0);
+						}
+					}
+
+					}
+				}
+
+				setState(416);
+				match(T__8);
+				setState(422);
+				_la = _input.LA(1);
+				if (((((_la - 2)) & ~0x3f) == 0 && ((1L << (_la - 2)) & ((1L << (T__1 - 2)) | (1L << (T__9 - 2)) | (1L << (T__26 - 2)) | (1L << (T__27 - 2)) | (1L << (T__39 - 2)) | (1L << (T__44 - 2)) | (1L << (T__45 - 2)) | (1L << (ID - 2)) | (1L << (INT - 2)) | (1L << (DOUBLE - 2)) | (1L << (COMMANDLINE_NAMED_ID - 2)) | (1L << (COMMANDLINE_POSITION_ID - 2)) | (1L << (STRING - 2)))) != 0)) {
+					{
+					setState(417);
+					((IndexedExpressionContext)_localctx).colLower = expression(0);
+					setState(420);
+					_la = _input.LA(1);
+					if (_la==T__20) {
+						{
+						setState(418);
+						match(T__20);
+						setState(419);
+						((IndexedExpressionContext)_localctx).colUpper = expression(0);
+						}
+					}
+
+					}
+				}
+
+				setState(424);
+				match(T__10);
+				}
+				break;
+			case 2:
+				_localctx = new SimpleDataIdentifierExpressionContext(_localctx);
+				enterOuterAlt(_localctx, 2);
+				{
+				setState(425);
+				match(ID);
+				}
+				break;
+			case 3:
+				_localctx = new CommandlineParamExpressionContext(_localctx);
+				enterOuterAlt(_localctx, 3);
+				{
+				setState(426);
+				match(COMMANDLINE_NAMED_ID);
+				}
+				break;
+			case 4:
+				_localctx = new CommandlinePositionExpressionContext(_localctx);
+				enterOuterAlt(_localctx, 4);
+				{
+				setState(427);
+				match(COMMANDLINE_POSITION_ID);
+				}
+				break;
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class ExpressionContext extends ParserRuleContext {
+		public org.apache.sysml.parser.common.ExpressionInfo info;
+		public ExpressionContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_expression; }
+	 
+		public ExpressionContext() { }
+		public void copyFrom(ExpressionContext ctx) {
+			super.copyFrom(ctx);
+			this.info = ctx.info;
+		}
+	}
+	public static class ModIntDivExpressionContext extends ExpressionContext {
+		public ExpressionContext left;
+		public Token op;
+		public ExpressionContext right;
+		public List<ExpressionContext> expression() {
+			return getRuleContexts(ExpressionContext.class);
+		}
+		public ExpressionContext expression(int i) {
+			return getRuleContext(ExpressionContext.class,i);
+		}
+		public ModIntDivExpressionContext(ExpressionContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterModIntDivExpression(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitModIntDivExpression(this);
+		}
+	}
+	public static class RelationalExpressionContext extends ExpressionContext {
+		public ExpressionContext left;
+		public Token op;
+		public ExpressionContext right;
+		public List<ExpressionContext> expression() {
+			return getRuleContexts(ExpressionContext.class);
+		}
+		public ExpressionContext expression(int i) {
+			return getRuleContext(ExpressionContext.class,i);
+		}
+		public RelationalExpressionContext(ExpressionContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterRelationalExpression(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitRelationalExpression(this);
+		}
+	}
+	public static class BooleanNotExpressionContext extends ExpressionContext {
+		public Token op;
+		public ExpressionContext left;
+		public ExpressionContext expression() {
+			return getRuleContext(ExpressionContext.class,0);
+		}
+		public BooleanNotExpressionContext(ExpressionContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterBooleanNotExpression(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitBooleanNotExpression(this);
+		}
+	}
+	public static class PowerExpressionContext extends ExpressionContext {
+		public ExpressionContext left;
+		public Token op;
+		public ExpressionContext right;
+		public List<ExpressionContext> expression() {
+			return getRuleContexts(ExpressionContext.class);
+		}
+		public ExpressionContext expression(int i) {
+			return getRuleContext(ExpressionContext.class,i);
+		}
+		public PowerExpressionContext(ExpressionContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterPowerExpression(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitPowerExpression(this);
+		}
+	}
+	public static class BuiltinFunctionExpressionContext extends ExpressionContext {
+		public Token name;
+		public ParameterizedExpressionContext parameterizedExpression;
+		public List<ParameterizedExpressionContext> paramExprs = new ArrayList<ParameterizedExpressionContext>();
+		public TerminalNode ID() { return getToken(DmlParser.ID, 0); }
+		public List<ParameterizedExpressionContext> parameterizedExpression() {
+			return getRuleContexts(ParameterizedExpressionContext.class);
+		}
+		public ParameterizedExpressionContext parameterizedExpression(int i) {
+			return getRuleContext(ParameterizedExpressionContext.class,i);
+		}
+		public BuiltinFunctionExpressionContext(ExpressionContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterBuiltinFunctionExpression(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitBuiltinFunctionExpression(this);
+		}
+	}
+	public static class ConstIntIdExpressionContext extends ExpressionContext {
+		public TerminalNode INT() { return getToken(DmlParser.INT, 0); }
+		public ConstIntIdExpressionContext(ExpressionContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterConstIntIdExpression(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitConstIntIdExpression(this);
+		}
+	}
+	public static class AtomicExpressionContext extends ExpressionContext {
+		public ExpressionContext left;
+		public ExpressionContext expression() {
+			return getRuleContext(ExpressionContext.class,0);
+		}
+		public AtomicExpressionContext(ExpressionContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterAtomicExpression(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitAtomicExpression(this);
+		}
+	}
+	public static class ConstStringIdExpressionContext extends ExpressionContext {
+		public TerminalNode STRING() { return getToken(DmlParser.STRING, 0); }
+		public ConstStringIdExpressionContext(ExpressionContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterConstStringIdExpression(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitConstStringIdExpression(this);
+		}
+	}
+	public static class ConstTrueExpressionContext extends ExpressionContext {
+		public ConstTrueExpressionContext(ExpressionContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterConstTrueExpression(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitConstTrueExpression(this);
+		}
+	}
+	public static class UnaryExpressionContext extends ExpressionContext {
+		public Token op;
+		public ExpressionContext left;
+		public ExpressionContext expression() {
+			return getRuleContext(ExpressionContext.class,0);
+		}
+		public UnaryExpressionContext(ExpressionContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterUnaryExpression(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitUnaryExpression(this);
+		}
+	}
+	public static class MultDivExpressionContext extends ExpressionContext {
+		public ExpressionContext left;
+		public Token op;
+		public ExpressionContext right;
+		public List<ExpressionContext> expression() {
+			return getRuleContexts(ExpressionContext.class);
+		}
+		public ExpressionContext expression(int i) {
+			return getRuleContext(ExpressionContext.class,i);
+		}
+		public MultDivExpressionContext(ExpressionContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterMultDivExpression(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitMultDivExpression(this);
+		}
+	}
+	public static class ConstFalseExpressionContext extends ExpressionContext {
+		public ConstFalseExpressionContext(ExpressionContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterConstFalseExpression(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitConstFalseExpression(this);
+		}
+	}
+	public static class DataIdExpressionContext extends ExpressionContext {
+		public DataIdentifierContext dataIdentifier() {
+			return getRuleContext(DataIdentifierContext.class,0);
+		}
+		public DataIdExpressionContext(ExpressionContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterDataIdExpression(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitDataIdExpression(this);
+		}
+	}
+	public static class AddSubExpressionContext extends ExpressionContext {
+		public ExpressionContext left;
+		public Token op;
+		public ExpressionContext right;
+		public List<ExpressionContext> expression() {
+			return getRuleContexts(ExpressionContext.class);
+		}
+		public ExpressionContext expression(int i) {
+			return getRuleContext(ExpressionContext.class,i);
+		}
+		public AddSubExpressionContext(ExpressionContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterAddSubExpression(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitAddSubExpression(this);
+		}
+	}
+	public static class ConstDoubleIdExpressionContext extends ExpressionContext {
+		public TerminalNode DOUBLE() { return getToken(DmlParser.DOUBLE, 0); }
+		public ConstDoubleIdExpressionContext(ExpressionContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterConstDoubleIdExpression(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitConstDoubleIdExpression(this);
+		}
+	}
+	public static class MatrixMulExpressionContext extends ExpressionContext {
+		public ExpressionContext left;
+		public Token op;
+		public ExpressionContext right;
+		public List<ExpressionContext> expression() {
+			return getRuleContexts(ExpressionContext.class);
+		}
+		public ExpressionContext expression(int i) {
+			return getRuleContext(ExpressionContext.class,i);
+		}
+		public MatrixMulExpressionContext(ExpressionContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterMatrixMulExpression(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitMatrixMulExpression(this);
+		}
+	}
+	public static class MultiIdExpressionContext extends ExpressionContext {
+		public ExpressionContext expression;
+		public List<ExpressionContext> targetList = new ArrayList<ExpressionContext>();
+		public List<ExpressionContext> expression() {
+			return getRuleContexts(ExpressionContext.class);
+		}
+		public ExpressionContext expression(int i) {
+			return getRuleContext(ExpressionContext.class,i);
+		}
+		public MultiIdExpressionContext(ExpressionContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterMultiIdExpression(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitMultiIdExpression(this);
+		}
+	}
+	public static class BooleanAndExpressionContext extends ExpressionContext {
+		public ExpressionContext left;
+		public Token op;
+		public ExpressionContext right;
+		public List<ExpressionContext> expression() {
+			return getRuleContexts(ExpressionContext.class);
+		}
+		public ExpressionContext expression(int i) {
+			return getRuleContext(ExpressionContext.class,i);
+		}
+		public BooleanAndExpressionContext(ExpressionContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterBooleanAndExpression(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitBooleanAndExpression(this);
+		}
+	}
+	public static class BooleanOrExpressionContext extends ExpressionContext {
+		public ExpressionContext left;
+		public Token op;
+		public ExpressionContext right;
+		public List<ExpressionContext> expression() {
+			return getRuleContexts(ExpressionContext.class);
+		}
+		public ExpressionContext expression(int i) {
+			return getRuleContext(ExpressionContext.class,i);
+		}
+		public BooleanOrExpressionContext(ExpressionContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterBooleanOrExpression(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitBooleanOrExpression(this);
+		}
+	}
+
+	public final ExpressionContext expression() throws RecognitionException {
+		return expression(0);
+	}
+
+	private ExpressionContext expression(int _p) throws RecognitionException {
+		ParserRuleContext _parentctx = _ctx;
+		int _parentState = getState();
+		ExpressionContext _localctx = new ExpressionContext(_ctx, _parentState);
+		ExpressionContext _prevctx = _localctx;
+		int _startState = 10;
+		enterRecursionRule(_localctx, 10, RULE_expression, _p);
+
+		       // This actions occurs regardless of how many alternatives in this rule
+		       ((ExpressionContext)_localctx).info =  new org.apache.sysml.parser.common.ExpressionInfo();
+		       // _localctx.info.expr = new org.apache.sysml.parser.BinaryExpression(org.apache.sysml.parser.Expression.BinaryOp.INVALID);
+
+		int _la;
+		try {
+			int _alt;
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(475);
+			_errHandler.sync(this);
+			switch ( getInterpreter().adaptivePredict(_input,66,_ctx) ) {
+			case 1:
+				{
+				_localctx = new UnaryExpressionContext(_localctx);
+				_ctx = _localctx;
+				_prevctx = _localctx;
+
+				setState(431);
+				((UnaryExpressionContext)_localctx).op = _input.LT(1);
+				_la = _input.LA(1);
+				if ( !(_la==T__26 || _la==T__27) ) {
+					((UnaryExpressionContext)_localctx).op = (Token)_errHandler.recoverInline(this);
+				} else {
+					consume();
+				}
+				setState(432);
+				((UnaryExpressionContext)_localctx).left = expression(18);
+				}
+				break;
+			case 2:
+				{
+				_localctx = new BooleanNotExpressionContext(_localctx);
+				_ctx = _localctx;
+				_prevctx = _localctx;
+				setState(433);
+				((BooleanNotExpressionContext)_localctx).op = match(T__39);
+				setState(434);
+				((BooleanNotExpressionContext)_localctx).left = expression(12);
+				}
+				break;
+			case 3:
+				{
+				_localctx = new BuiltinFunctionExpressionContext(_localctx);
+				_ctx = _localctx;
+				_prevctx = _localctx;
+				setState(435);
+				((BuiltinFunctionExpressionContext)_localctx).name = match(ID);
+				setState(436);
+				match(T__1);
+				setState(445);
+				_la = _input.LA(1);
+				if (((((_la - 2)) & ~0x3f) == 0 && ((1L << (_la - 2)) & ((1L << (T__1 - 2)) | (1L << (T__9 - 2)) | (1L << (T__26 - 2)) | (1L << (T__27 - 2)) | (1L << (T__39 - 2)) | (1L << (T__44 - 2)) | (1L << (T__45 - 2)) | (1L << (ID - 2)) | (1L << (INT - 2)) | (1L << (DOUBLE - 2)) | (1L << (COMMANDLINE_NAMED_ID - 2)) | (1L << (COMMANDLINE_POSITION_ID - 2)) | (1L << (STRING - 2)))) != 0)) {
+					{
+					setState(437);
+					((BuiltinFunctionExpressionContext)_localctx).parameterizedExpression = parameterizedExpression();
+					((BuiltinFunctionExpressionContext)_localctx).paramExprs.add(((BuiltinFunctionExpressionContext)_localctx).parameterizedExpression);
+					setState(442);
+					_errHandler.sync(this);
+					_la = _input.LA(1);
+					while (_la==T__8) {
+						{
+						{
+						setState(438);
+						match(T__8);
+						setState(439);
+						((BuiltinFunctionExpressionContext)_localctx).parameterizedExpression = parameterizedExpression();
+						((BuiltinFunctionExpressionContext)_localctx).paramExprs.add(((BuiltinFunctionExpressionContext)_localctx).parameterizedExpression);
+						}
+						}
+						setState(444);
+						_errHandler.sync(this);
+						_la = _input.LA(1);
+					}
+					}
+				}
+
+				setState(447);
+				match(T__2);
+				setState(451);
+				_errHandler.sync(this);
+				_alt = getInterpreter().adaptivePredict(_input,64,_ctx);
+				while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
+					if ( _alt==1 ) {
+						{
+						{
+						setState(448);
+						match(T__4);
+						}
+						} 
+					}
+					setState(453);
+					_errHandler.sync(this);
+					_alt = getInterpreter().adaptivePredict(_input,64,_ctx);
+				}
+				}
+				break;
+			case 4:
+				{
+				_localctx = new AtomicExpressionContext(_localctx);
+				_ctx = _localctx;
+				_prevctx = _localctx;
+				setState(454);
+				match(T__1);
+				setState(455);
+				((AtomicExpressionContext)_localctx).left = expression(0);
+				setState(456);
+				match(T__2);
+				}
+				break;
+			case 5:
+				{
+				_localctx = new MultiIdExpressionContext(_localctx);
+				_ctx = _localctx;
+				_prevctx = _localctx;
+				setState(458);
+				match(T__9);
+				setState(459);
+				((MultiIdExpressionContext)_localctx).expression = expression(0);
+				((MultiIdExpressionContext)_localctx).targetList.add(((MultiIdExpressionContext)_localctx).expression);
+				setState(464);
+				_errHandler.sync(this);
+				_la = _input.LA(1);
+				while (_la==T__8) {
+					{
+					{
+					setState(460);
+					match(T__8);
+					setState(461);
+					((MultiIdExpressionContext)_localctx).expression = expression(0);
+					((MultiIdExpressionContext)_localctx).targetList.add(((MultiIdExpressionContext)_localctx).expression);
+					}
+					}
+					setState(466);
+					_errHandler.sync(this);
+					_la = _input.LA(1);
+				}
+				setState(467);
+				match(T__10);
+				}
+				break;
+			case 6:
+				{
+				_localctx = new ConstTrueExpressionContext(_localctx);
+				_ctx = _localctx;
+				_prevctx = _localctx;
+				setState(469);
+				match(T__44);
+				}
+				break;
+			case 7:
+				{
+				_localctx = new ConstFalseExpressionContext(_localctx);
+				_ctx = _localctx;
+				_prevctx = _localctx;
+				setState(470);
+				match(T__45);
+				}
+				break;
+			case 8:
+				{
+				_localctx = new ConstIntIdExpressionContext(_localctx);
+				_ctx = _localctx;
+				_prevctx = _localctx;
+				setState(471);
+				match(INT);
+				}
+				break;
+			case 9:
+				{
+				_localctx = new ConstDoubleIdExpressionContext(_localctx);
+				_ctx = _localctx;
+				_prevctx = _localctx;
+				setState(472);
+				match(DOUBLE);
+				}
+				break;
+			case 10:
+				{
+				_localctx = new ConstStringIdExpressionContext(_localctx);
+				_ctx = _localctx;
+				_prevctx = _localctx;
+				setState(473);
+				match(STRING);
+				}
+				break;
+			case 11:
+				{
+				_localctx = new DataIdExpressionContext(_localctx);
+				_ctx = _localctx;
+				_prevctx = _localctx;
+				setState(474);
+				dataIdentifier();
+				}
+				break;
+			}
+			_ctx.stop = _input.LT(-1);
+			setState(503);
+			_errHandler.sync(this);
+			_alt = getInterpreter().adaptivePredict(_input,68,_ctx);
+			while ( _alt!=2 && _alt!=org.antlr.v4.runtime.atn.ATN.INVALID_ALT_NUMBER ) {
+				if ( _alt==1 ) {
+					if ( _parseListeners!=null ) triggerExitRuleEvent();
+					_prevctx = _localctx;
+					{
+					setState(501);
+					_errHandler.sync(this);
+					switch ( getInterpreter().adaptivePredict(_input,67,_ctx) ) {
+					case 1:
+						{
+						_localctx = new PowerExpressionContext(new ExpressionContext(_parentctx, _parentState));
+						((PowerExpressionContext)_localctx).left = _prevctx;
+						pushNewRecursionContext(_localctx, _startState, RULE_expression);
+						setState(477);
+						if (!(precpred(_ctx, 19))) throw new FailedPredicateException(this, "precpred(_ctx, 19)");
+						setState(478);
+						((PowerExpressionContext)_localctx).op = match(T__25);
+						setState(479);
+						((PowerExpressionContext)_localctx).right = expression(19);
+						}
+						break;
+					case 2:
+						{
+						_localctx = new MatrixMulExpressionContext(new ExpressionContext(_parentctx, _parentState));
+						((MatrixMulExpressionContext)_localctx).left = _prevctx;
+						pushNewRecursionContext(_localctx, _startState, RULE_expression);
+						setState(480);
+						if (!(precpred(_ctx, 17))) throw new FailedPredicateException(this, "precpred(_ctx, 17)");
+						setState(481);
+						((MatrixMulExpressionContext)_localctx).op = match(T__28);
+						setState(482);
+						((MatrixMulExpressionContext)_localctx).right = expression(18);
+						}
+						break;
+					case 3:
+						{
+						_localctx = new ModIntDivExpressionContext(new ExpressionContext(_parentctx, _parentState));
+						((ModIntDivExpressionContext)_localctx).left = _prevctx;
+						pushNewRecursionContext(_localctx, _startState, RULE_expression);
+						setState(483);
+						if (!(precpred(_ctx, 16))) throw new FailedPredicateException(this, "precpred(_ctx, 16)");
+						setState(484);
+						((ModIntDivExpressionContext)_localctx).op = _input.LT(1);
+						_la = _input.LA(1);
+						if ( !(_la==T__29 || _la==T__30) ) {
+							((ModIntDivExpressionContext)_localctx).op = (Token)_errHandler.recoverInline(this);
+						} else {
+							consume();
+						}
+						setState(485);
+						((ModIntDivExpressionContext)_localctx).right = expression(17);
+						}
+						break;
+					case 4:
+						{
+						_localctx = new MultDivExpressionContext(new ExpressionContext(_parentctx, _parentState));
+						((MultDivExpressionContext)_localctx).left = _prevctx;
+						pushNewRecursionContext(_localctx, _startState, RULE_expression);
+						setState(486);
+						if (!(precpred(_ctx, 15))) throw new FailedPredicateException(this, "precpred(_ctx, 15)");
+						setState(487);
+						((MultDivExpressionContext)_localctx).op = _input.LT(1);
+						_la = _input.LA(1);
+						if ( !(_la==T__31 || _la==T__32) ) {
+							((MultDivExpressionContext)_localctx).op = (Token)_errHandler.recoverInline(this);
+						} else {
+							consume();
+						}
+						setState(488);
+						((MultDivExpressionContext)_localctx).right = expression(16);
+						}
+						break;
+					case 5:
+						{
+						_localctx = new AddSubExpressionContext(new ExpressionContext(_parentctx, _parentState));
+						((AddSubExpressionContext)_localctx).left = _prevctx;
+						pushNewRecursionContext(_localctx, _startState, RULE_expression);
+						setState(489);
+						if (!(precpred(_ctx, 14))) throw new FailedPredicateException(this, "precpred(_ctx, 14)");
+						setState(490);
+						((AddSubExpressionContext)_localctx).op = _input.LT(1);
+						_la = _input.LA(1);
+						if ( !(_la==T__26 || _la==T__27) ) {
+							((AddSubExpressionContext)_localctx).op = (Token)_errHandler.recoverInline(this);
+						} else {
+							consume();
+						}
+						setState(491);
+						((AddSubExpressionContext)_localctx).right = expression(15);
+						}
+						break;
+					case 6:
+						{
+						_localctx = new RelationalExpressionContext(new ExpressionContext(_parentctx, _parentState));
+						((RelationalExpressionContext)_localctx).left = _prevctx;
+						pushNewRecursionContext(_localctx, _startState, RULE_expression);
+						setState(492);
+						if (!(precpred(_ctx, 13))) throw new FailedPredicateException(this, "precpred(_ctx, 13)");
+						setState(493);
+						((RelationalExpressionContext)_localctx).op = _input.LT(1);
+						_la = _input.LA(1);
+						if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__33) | (1L << T__34) | (1L << T__35) | (1L << T__36) | (1L << T__37) | (1L << T__38))) != 0)) ) {
+							((RelationalExpressionContext)_localctx).op = (Token)_errHandler.recoverInline(this);
+						} else {
+							consume();
+						}
+						setState(494);
+						((RelationalExpressionContext)_localctx).right = expression(14);
+						}
+						break;
+					case 7:
+						{
+						_localctx = new BooleanAndExpressionContext(new ExpressionContext(_parentctx, _parentState));
+						((BooleanAndExpressionContext)_localctx).left = _prevctx;
+						pushNewRecursionContext(_localctx, _startState, RULE_expression);
+						setState(495);
+						if (!(precpred(_ctx, 11))) throw new FailedPredicateException(this, "precpred(_ctx, 11)");
+						setState(496);
+						((BooleanAndExpressionContext)_localctx).op = _input.LT(1);
+						_la = _input.LA(1);
+						if ( !(_la==T__40 || _la==T__41) ) {
+							((BooleanAndExpressionContext)_localctx).op = (Token)_errHandler.recoverInline(this);
+						} else {
+							consume();
+						}
+						setState(497);
+						((BooleanAndExpressionContext)_localctx).right = expression(12);
+						}
+						break;
+					case 8:
+						{
+						_localctx = new BooleanOrExpressionContext(new ExpressionContext(_parentctx, _parentState));
+						((BooleanOrExpressionContext)_localctx).left = _prevctx;
+						pushNewRecursionContext(_localctx, _startState, RULE_expression);
+						setState(498);
+						if (!(precpred(_ctx, 10))) throw new FailedPredicateException(this, "precpred(_ctx, 10)");
+						setState(499);
+						((BooleanOrExpressionContext)_localctx).op = _input.LT(1);
+						_la = _input.LA(1);
+						if ( !(_la==T__42 || _la==T__43) ) {
+							((BooleanOrExpressionContext)_localctx).op = (Token)_errHandler.recoverInline(this);
+						} else {
+							consume();
+						}
+						setState(500);
+						((BooleanOrExpressionContext)_localctx).right = expression(11);
+						}
+						break;
+					}
+					} 
+				}
+				setState(505);
+				_errHandler.sync(this);
+				_alt = getInterpreter().adaptivePredict(_input,68,_ctx);
+			}
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			unrollRecursionContexts(_parentctx);
+		}
+		return _localctx;
+	}
+
+	public static class TypedArgNoAssignContext extends ParserRuleContext {
+		public Ml_typeContext paramType;
+		public Token paramName;
+		public Ml_typeContext ml_type() {
+			return getRuleContext(Ml_typeContext.class,0);
+		}
+		public TerminalNode ID() { return getToken(DmlParser.ID, 0); }
+		public TypedArgNoAssignContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_typedArgNoAssign; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterTypedArgNoAssign(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitTypedArgNoAssign(this);
+		}
+	}
+
+	public final TypedArgNoAssignContext typedArgNoAssign() throws RecognitionException {
+		TypedArgNoAssignContext _localctx = new TypedArgNoAssignContext(_ctx, getState());
+		enterRule(_localctx, 12, RULE_typedArgNoAssign);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(506);
+			((TypedArgNoAssignContext)_localctx).paramType = ml_type();
+			setState(507);
+			((TypedArgNoAssignContext)_localctx).paramName = match(ID);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class ParameterizedExpressionContext extends ParserRuleContext {
+		public Token paramName;
+		public ExpressionContext paramVal;
+		public ExpressionContext expression() {
+			return getRuleContext(ExpressionContext.class,0);
+		}
+		public TerminalNode ID() { return getToken(DmlParser.ID, 0); }
+		public ParameterizedExpressionContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_parameterizedExpression; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterParameterizedExpression(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitParameterizedExpression(this);
+		}
+	}
+
+	public final ParameterizedExpressionContext parameterizedExpression() throws RecognitionException {
+		ParameterizedExpressionContext _localctx = new ParameterizedExpressionContext(_ctx, getState());
+		enterRule(_localctx, 14, RULE_parameterizedExpression);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(511);
+			_errHandler.sync(this);
+			switch ( getInterpreter().adaptivePredict(_input,69,_ctx) ) {
+			case 1:
+				{
+				setState(509);
+				((ParameterizedExpressionContext)_localctx).paramName = match(ID);
+				setState(510);
+				match(T__6);
+				}
+				break;
+			}
+			setState(513);
+			((ParameterizedExpressionContext)_localctx).paramVal = expression(0);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class StrictParameterizedExpressionContext extends ParserRuleContext {
+		public Token paramName;
+		public ExpressionContext paramVal;
+		public TerminalNode ID() { return getToken(DmlParser.ID, 0); }
+		public ExpressionContext expression() {
+			return getRuleContext(ExpressionContext.class,0);
+		}
+		public StrictParameterizedExpressionContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_strictParameterizedExpression; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterStrictParameterizedExpression(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitStrictParameterizedExpression(this);
+		}
+	}
+
+	public final StrictParameterizedExpressionContext strictParameterizedExpression() throws RecognitionException {
+		StrictParameterizedExpressionContext _localctx = new StrictParameterizedExpressionContext(_ctx, getState());
+		enterRule(_localctx, 16, RULE_strictParameterizedExpression);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(515);
+			((StrictParameterizedExpressionContext)_localctx).paramName = match(ID);
+			setState(516);
+			match(T__6);
+			setState(517);
+			((StrictParameterizedExpressionContext)_localctx).paramVal = expression(0);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class StrictParameterizedKeyValueStringContext extends ParserRuleContext {
+		public Token paramName;
+		public Token paramVal;
+		public TerminalNode ID() { return getToken(DmlParser.ID, 0); }
+		public TerminalNode STRING() { return getToken(DmlParser.STRING, 0); }
+		public StrictParameterizedKeyValueStringContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_strictParameterizedKeyValueString; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterStrictParameterizedKeyValueString(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitStrictParameterizedKeyValueString(this);
+		}
+	}
+
+	public final StrictParameterizedKeyValueStringContext strictParameterizedKeyValueString() throws RecognitionException {
+		StrictParameterizedKeyValueStringContext _localctx = new StrictParameterizedKeyValueStringContext(_ctx, getState());
+		enterRule(_localctx, 18, RULE_strictParameterizedKeyValueString);
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(519);
+			((StrictParameterizedKeyValueStringContext)_localctx).paramName = match(ID);
+			setState(520);
+			match(T__6);
+			setState(521);
+			((StrictParameterizedKeyValueStringContext)_localctx).paramVal = match(STRING);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class Ml_typeContext extends ParserRuleContext {
+		public ValueTypeContext valueType() {
+			return getRuleContext(ValueTypeContext.class,0);
+		}
+		public DataTypeContext dataType() {
+			return getRuleContext(DataTypeContext.class,0);
+		}
+		public Ml_typeContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_ml_type; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterMl_type(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitMl_type(this);
+		}
+	}
+
+	public final Ml_typeContext ml_type() throws RecognitionException {
+		Ml_typeContext _localctx = new Ml_typeContext(_ctx, getState());
+		enterRule(_localctx, 20, RULE_ml_type);
+		try {
+			setState(529);
+			switch (_input.LA(1)) {
+			case T__46:
+			case T__47:
+			case T__48:
+			case T__49:
+			case T__50:
+			case T__51:
+			case T__52:
+			case T__53:
+			case T__54:
+			case T__55:
+				enterOuterAlt(_localctx, 1);
+				{
+				setState(523);
+				valueType();
+				}
+				break;
+			case ID:
+				enterOuterAlt(_localctx, 2);
+				{
+				setState(524);
+				dataType();
+				setState(525);
+				match(T__9);
+				setState(526);
+				valueType();
+				setState(527);
+				match(T__10);
+				}
+				break;
+			default:
+				throw new NoViableAltException(this);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class ValueTypeContext extends ParserRuleContext {
+		public ValueTypeContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_valueType; }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterValueType(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitValueType(this);
+		}
+	}
+
+	public final ValueTypeContext valueType() throws RecognitionException {
+		ValueTypeContext _localctx = new ValueTypeContext(_ctx, getState());
+		enterRule(_localctx, 22, RULE_valueType);
+		int _la;
+		try {
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(531);
+			_la = _input.LA(1);
+			if ( !((((_la) & ~0x3f) == 0 && ((1L << _la) & ((1L << T__46) | (1L << T__47) | (1L << T__48) | (1L << T__49) | (1L << T__50) | (1L << T__51) | (1L << T__52) | (1L << T__53) | (1L << T__54) | (1L << T__55))) != 0)) ) {
+			_errHandler.recoverInline(this);
+			} else {
+				consume();
+			}
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public static class DataTypeContext extends ParserRuleContext {
+		public DataTypeContext(ParserRuleContext parent, int invokingState) {
+			super(parent, invokingState);
+		}
+		@Override public int getRuleIndex() { return RULE_dataType; }
+	 
+		public DataTypeContext() { }
+		public void copyFrom(DataTypeContext ctx) {
+			super.copyFrom(ctx);
+		}
+	}
+	public static class MatrixDataTypeCheckContext extends DataTypeContext {
+		public TerminalNode ID() { return getToken(DmlParser.ID, 0); }
+		public MatrixDataTypeCheckContext(DataTypeContext ctx) { copyFrom(ctx); }
+		@Override
+		public void enterRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).enterMatrixDataTypeCheck(this);
+		}
+		@Override
+		public void exitRule(ParseTreeListener listener) {
+			if ( listener instanceof DmlListener ) ((DmlListener)listener).exitMatrixDataTypeCheck(this);
+		}
+	}
+
+	public final DataTypeContext dataType() throws RecognitionException {
+		DataTypeContext _localctx = new DataTypeContext(_ctx, getState());
+		enterRule(_localctx, 24, RULE_dataType);
+		try {
+			_localctx = new MatrixDataTypeCheckContext(_localctx);
+			enterOuterAlt(_localctx, 1);
+			{
+			setState(533);
+			match(ID);
+			}
+		}
+		catch (RecognitionException re) {
+			_localctx.exception = re;
+			_errHandler.reportError(this, re);
+			_errHandler.recover(this, re);
+		}
+		finally {
+			exitRule();
+		}
+		return _localctx;
+	}
+
+	public boolean sempred(RuleContext _localctx, int ruleIndex, int predIndex) {
+		switch (ruleIndex) {
+		case 5:
+			return expression_sempred((ExpressionContext)_localctx, predIndex);
+		}
+		return true;
+	}
+	private boolean expression_sempred(ExpressionContext _localctx, int predIndex) {
+		switch (predIndex) {
+		case 0:
+			return precpred(_ctx, 19);
+		case 1:
+			return precpred(_ctx, 17);
+		case 2:
+			return precpred(_ctx, 16);
+		case 3:
+			return precpred(_ctx, 15);
+		case 4:
+			return precpred(_ctx, 14);
+		case 5:
+			return precpred(_ctx, 13);
+		case 6:
+			return precpred(_ctx, 11);
+		case 7:
+			return precpred(_ctx, 10);
+		}
+		return true;
+	}
+
+	public static final String _serializedATN =
+		"\3\u0430\ud6d1\u8206\uad2d\u4417\uaef1\u8d80\uaadd\3E\u021a\4\2\t\2\4"+
+		"\3\t\3\4\4\t\4\4\5\t\5\4\6\t\6\4\7\t\7\4\b\t\b\4\t\t\t\4\n\t\n\4\13\t"+
+		"\13\4\f\t\f\4\r\t\r\4\16\t\16\3\2\3\2\7\2\37\n\2\f\2\16\2\"\13\2\3\2\3"+
+		"\2\3\3\3\3\3\3\3\3\3\3\3\3\3\3\7\3-\n\3\f\3\16\3\60\13\3\3\3\3\3\3\3\3"+
+		"\3\3\3\7\3\67\n\3\f\3\16\3:\13\3\3\3\3\3\3\3\5\3?\n\3\3\3\3\3\3\3\3\3"+
+		"\3\3\7\3F\n\3\f\3\16\3I\13\3\5\3K\n\3\3\3\3\3\7\3O\n\3\f\3\16\3R\13\3"+
+		"\3\3\3\3\3\3\3\3\7\3X\n\3\f\3\16\3[\13\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\7"+
+		"\3d\n\3\f\3\16\3g\13\3\5\3i\n\3\3\3\3\3\7\3m\n\3\f\3\16\3p\13\3\3\3\3"+
+		"\3\3\3\3\3\3\3\3\3\3\3\3\3\3\3\7\3{\n\3\f\3\16\3~\13\3\3\3\3\3\3\3\3\3"+
+		"\7\3\u0084\n\3\f\3\16\3\u0087\13\3\3\3\3\3\3\3\3\3\3\3\3\3\7\3\u008f\n"+
+		"\3\f\3\16\3\u0092\13\3\3\3\3\3\3\3\7\3\u0097\n\3\f\3\16\3\u009a\13\3\7"+
+		"\3\u009c\n\3\f\3\16\3\u009f\13\3\3\3\5\3\u00a2\n\3\3\3\3\3\3\3\7\3\u00a7"+
+		"\n\3\f\3\16\3\u00aa\13\3\3\3\3\3\3\3\7\3\u00af\n\3\f\3\16\3\u00b2\13\3"+
+		"\7\3\u00b4\n\3\f\3\16\3\u00b7\13\3\3\3\5\3\u00ba\n\3\5\3\u00bc\n\3\3\3"+
+		"\3\3\3\3\3\3\3\3\3\3\3\3\7\3\u00c5\n\3\f\3\16\3\u00c8\13\3\3\3\3\3\3\3"+
+		"\7\3\u00cd\n\3\f\3\16\3\u00d0\13\3\3\3\3\3\3\3\7\3\u00d5\n\3\f\3\16\3"+
+		"\u00d8\13\3\7\3\u00da\n\3\f\3\16\3\u00dd\13\3\3\3\5\3\u00e0\n\3\3\3\3"+
+		"\3\3\3\3\3\3\3\3\3\3\3\7\3\u00e9\n\3\f\3\16\3\u00ec\13\3\3\3\3\3\3\3\7"+
+		"\3\u00f1\n\3\f\3\16\3\u00f4\13\3\3\3\3\3\3\3\7\3\u00f9\n\3\f\3\16\3\u00fc"+
+		"\13\3\7\3\u00fe\n\3\f\3\16\3\u0101\13\3\3\3\5\3\u0104\n\3\3\3\3\3\3\3"+
+		"\3\3\3\3\3\3\7\3\u010c\n\3\f\3\16\3\u010f\13\3\3\3\3\3\3\3\7\3\u0114\n"+
+		"\3\f\3\16\3\u0117\13\3\7\3\u0119\n\3\f\3\16\3\u011c\13\3\3\3\5\3\u011f"+
+		"\n\3\5\3\u0121\n\3\3\4\3\4\3\4\3\4\3\4\3\4\3\4\3\4\3\4\3\4\3\4\5\4\u012e"+
+		"\n\4\3\4\3\4\5\4\u0132\n\4\3\5\3\5\3\5\3\5\3\5\3\5\3\5\7\5\u013b\n\5\f"+
+		"\5\16\5\u013e\13\5\5\5\u0140\n\5\3\5\3\5\3\5\3\5\3\5\3\5\7\5\u0148\n\5"+
+		"\f\5\16\5\u014b\13\5\5\5\u014d\n\5\3\5\5\5\u0150\n\5\3\5\3\5\3\5\7\5\u0155"+
+		"\n\5\f\5\16\5\u0158\13\5\7\5\u015a\n\5\f\5\16\5\u015d\13\5\3\5\3\5\7\5"+
+		"\u0161\n\5\f\5\16\5\u0164\13\5\3\5\3\5\3\5\3\5\3\5\3\5\3\5\7\5\u016d\n"+
+		"\5\f\5\16\5\u0170\13\5\5\5\u0172\n\5\3\5\3\5\3\5\3\5\3\5\3\5\7\5\u017a"+
+		"\n\5\f\5\16\5\u017d\13\5\5\5\u017f\n\5\3\5\5\5\u0182\n\5\3\5\3\5\3\5\3"+
+		"\5\3\5\3\5\7\5\u018a\n\5\f\5\16\5\u018d\13\5\5\5\u018f\n\5\3\5\3\5\7\5"+
+		"\u0193\n\5\f\5\16\5\u0196\13\5\5\5\u0198\n\5\3\6\3\6\3\6\3\6\3\6\5\6\u019f"+
+		"\n\6\5\6\u01a1\n\6\3\6\3\6\3\6\3\6\5\6\u01a7\n\6\5\6\u01a9\n\6\3\6\3\6"+
+		"\3\6\3\6\5\6\u01af\n\6\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\7\7\u01bb"+
+		"\n\7\f\7\16\7\u01be\13\7\5\7\u01c0\n\7\3\7\3\7\7\7\u01c4\n\7\f\7\16\7"+
+		"\u01c7\13\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\7\7\u01d1\n\7\f\7\16\7\u01d4"+
+		"\13\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\5\7\u01de\n\7\3\7\3\7\3\7\3\7\3"+
+		"\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7\3\7"+
+		"\3\7\3\7\7\7\u01f8\n\7\f\7\16\7\u01fb\13\7\3\b\3\b\3\b\3\t\3\t\5\t\u0202"+
+		"\n\t\3\t\3\t\3\n\3\n\3\n\3\n\3\13\3\13\3\13\3\13\3\f\3\f\3\f\3\f\3\f\3"+
+		"\f\5\f\u0214\n\f\3\r\3\r\3\16\3\16\3\16\2\3\f\17\2\4\6\b\n\f\16\20\22"+
+		"\24\26\30\32\2\n\3\2\t\n\3\2\35\36\3\2 !\3\2\"#\3\2$)\3\2+,\3\2-.\3\2"+
+		"\61:\u026c\2 \3\2\2\2\4\u0120\3\2\2\2\6\u0131\3\2\2\2\b\u0197\3\2\2\2"+
+		"\n\u01ae\3\2\2\2\f\u01dd\3\2\2\2\16\u01fc\3\2\2\2\20\u0201\3\2\2\2\22"+
+		"\u0205\3\2\2\2\24\u0209\3\2\2\2\26\u0213\3\2\2\2\30\u0215\3\2\2\2\32\u0217"+
+		"\3\2\2\2\34\37\5\4\3\2\35\37\5\b\5\2\36\34\3\2\2\2\36\35\3\2\2\2\37\""+
+		"\3\2\2\2 \36\3\2\2\2 !\3\2\2\2!#\3\2\2\2\" \3\2\2\2#$\7\2\2\3$\3\3\2\2"+
+		"\2%&\7\3\2\2&\'\7\4\2\2\'(\7B\2\2()\7\5\2\2)*\7\6\2\2*.\7;\2\2+-\7\7\2"+
+		"\2,+\3\2\2\2-\60\3\2\2\2.,\3\2\2\2./\3\2\2\2/\u0121\3\2\2\2\60.\3\2\2"+
+		"\2\61\62\7\b\2\2\62\63\7\4\2\2\63\64\7B\2\2\648\7\5\2\2\65\67\7\7\2\2"+
+		"\66\65\3\2\2\2\67:\3\2\2\28\66\3\2\2\289\3\2\2\29\u0121\3\2\2\2:8\3\2"+
+		"\2\2;<\5\n\6\2<=\t\2\2\2=?\3\2\2\2>;\3\2\2\2>?\3\2\2\2?@\3\2\2\2@A\7;"+
+		"\2\2AJ\7\4\2\2BG\5\20\t\2CD\7\13\2\2DF\5\20\t\2EC\3\2\2\2FI\3\2\2\2GE"+
+		"\3\2\2\2GH\3\2\2\2HK\3\2\2\2IG\3\2\2\2JB\3\2\2\2JK\3\2\2\2KL\3\2\2\2L"+
+		"P\7\5\2\2MO\7\7\2\2NM\3\2\2\2OR\3\2\2\2PN\3\2\2\2PQ\3\2\2\2Q\u0121\3\2"+
+		"\2\2RP\3\2\2\2ST\7\f\2\2TY\5\n\6\2UV\7\13\2\2VX\5\n\6\2WU\3\2\2\2X[\3"+
+		"\2\2\2YW\3\2\2\2YZ\3\2\2\2Z\\\3\2\2\2[Y\3\2\2\2\\]\7\r\2\2]^\t\2\2\2^"+
+		"_\7;\2\2_h\7\4\2\2`e\5\20\t\2ab\7\13\2\2bd\5\20\t\2ca\3\2\2\2dg\3\2\2"+
+		"\2ec\3\2\2\2ef\3\2\2\2fi\3\2\2\2ge\3\2\2\2h`\3\2\2\2hi\3\2\2\2ij\3\2\2"+
+		"\2jn\7\5\2\2km\7\7\2\2lk\3\2\2\2mp\3\2\2\2nl\3\2\2\2no\3\2\2\2o\u0121"+
+		"\3\2\2\2pn\3\2\2\2qr\5\n\6\2rs\t\2\2\2st\7\16\2\2tu\7\4\2\2uv\5\n\6\2"+
+		"vw\7\13\2\2wx\5\f\7\2x|\7\5\2\2y{\7\7\2\2zy\3\2\2\2{~\3\2\2\2|z\3\2\2"+
+		"\2|}\3\2\2\2}\u0121\3\2\2\2~|\3\2\2\2\177\u0080\5\n\6\2\u0080\u0081\t"+
+		"\2\2\2\u0081\u0085\5\f\7\2\u0082\u0084\7\7\2\2\u0083\u0082\3\2\2\2\u0084"+
+		"\u0087\3\2\2\2\u0085\u0083\3\2\2\2\u0085\u0086\3\2\2\2\u0086\u0121\3\2"+
+		"\2\2\u0087\u0085\3\2\2\2\u0088\u0089\7\17\2\2\u0089\u008a\7\4\2\2\u008a"+
+		"\u008b\5\f\7\2\u008b\u00a1\7\5\2\2\u008c\u0090\5\4\3\2\u008d\u008f\7\7"+
+		"\2\2\u008e\u008d\3\2\2\2\u008f\u0092\3\2\2\2\u0090\u008e\3\2\2\2\u0090"+
+		"\u0091\3\2\2\2\u0091\u00a2\3\2\2\2\u0092\u0090\3\2\2\2\u0093\u009d\7\20"+
+		"\2\2\u0094\u0098\5\4\3\2\u0095\u0097\7\7\2\2\u0096\u0095\3\2\2\2\u0097"+
+		"\u009a\3\2\2\2\u0098\u0096\3\2\2\2\u0098\u0099\3\2\2\2\u0099\u009c\3\2"+
+		"\2\2\u009a\u0098\3\2\2\2\u009b\u0094\3\2\2\2\u009c\u009f\3\2\2\2\u009d"+
+		"\u009b\3\2\2\2\u009d\u009e\3\2\2\2\u009e\u00a0\3\2\2\2\u009f\u009d\3\2"+
+		"\2\2\u00a0\u00a2\7\21\2\2\u00a1\u008c\3\2\2\2\u00a1\u0093\3\2\2\2\u00a2"+
+		"\u00bb\3\2\2\2\u00a3\u00b9\7\22\2\2\u00a4\u00a8\5\4\3\2\u00a5\u00a7\7"+
+		"\7\2\2\u00a6\u00a5\3\2\2\2\u00a7\u00aa\3\2\2\2\u00a8\u00a6\3\2\2\2\u00a8"+
+		"\u00a9\3\2\2\2\u00a9\u00ba\3\2\2\2\u00aa\u00a8\3\2\2\2\u00ab\u00b5\7\20"+
+		"\2\2\u00ac\u00b0\5\4\3\2\u00ad\u00af\7\7\2\2\u00ae\u00ad\3\2\2\2\u00af"+
+		"\u00b2\3\2\2\2\u00b0\u00ae\3\2\2\2\u00b0\u00b1\3\2\2\2\u00b1\u00b4\3\2"+
+		"\2\2\u00b2\u00b0\3\2\2\2\u00b3\u00ac\3\2\2\2\u00b4\u00b7\3\2\2\2\u00b5"+
+		"\u00b3\3\2\2\2\u00b5\u00b6\3\2\2\2\u00b6\u00b8\3\2\2\2\u00b7\u00b5\3\2"+
+		"\2\2\u00b8\u00ba\7\21\2\2\u00b9\u00a4\3\2\2\2\u00b9\u00ab\3\2\2\2\u00ba"+
+		"\u00bc\3\2\2\2\u00bb\u00a3\3\2\2\2\u00bb\u00bc\3\2\2\2\u00bc\u0121\3\2"+
+		"\2\2\u00bd\u00be\7\23\2\2\u00be\u00bf\7\4\2\2\u00bf\u00c0\7;\2\2\u00c0"+
+		"\u00c1\7\24\2\2\u00c1\u00c6\5\6\4\2\u00c2\u00c3\7\13\2\2\u00c3\u00c5\5"+
+		"\22\n\2\u00c4\u00c2\3\2\2\2\u00c5\u00c8\3\2\2\2\u00c6\u00c4\3\2\2\2\u00c6"+
+		"\u00c7\3\2\2\2\u00c7\u00c9\3\2\2\2\u00c8\u00c6\3\2\2\2\u00c9\u00df\7\5"+
+		"\2\2\u00ca\u00ce\5\4\3\2\u00cb\u00cd\7\7\2\2\u00cc\u00cb\3\2\2\2\u00cd"+
+		"\u00d0\3\2\2\2\u00ce\u00cc\3\2\2\2\u00ce\u00cf\3\2\2\2\u00cf\u00e0\3\2"+
+		"\2\2\u00d0\u00ce\3\2\2\2\u00d1\u00db\7\20\2\2\u00d2\u00d6\5\4\3\2\u00d3"+
+		"\u00d5\7\7\2\2\u00d4\u00d3\3\2\2\2\u00d5\u00d8\3\2\2\2\u00d6\u00d4\3\2"+
+		"\2\2\u00d6\u00d7\3\2\2\2\u00d7\u00da\3\2\2\2\u00d8\u00d6\3\2\2\2\u00d9"+
+		"\u00d2\3\2\2\2\u00da\u00dd\3\2\2\2\u00db\u00d9\3\2\2\2\u00db\u00dc\3\2"+
+		"\2\2\u00dc\u00de\3\2\2\2\u00dd\u00db\3\2\2\2\u00de\u00e0\7\21\2\2\u00df"+
+		"\u00ca\3\2\2\2\u00df\u00d1\3\2\2\2\u00e0\u0121\3\2\2\2\u00e1\u00e2\7\25"+
+		"\2\2\u00e2\u00e3\7\4\2\2\u00e3\u00e4\7;\2\2\u00e4\u00e5\7\24\2\2\u00e5"+
+		"\u00ea\5\6\4\2\u00e6\u00e7\7\13\2\2\u00e7\u00e9\5\22\n\2\u00e8\u00e6\3"+
+		"\2\2\2\u00e9\u00ec\3\2\2\2\u00ea\u00e8\3\2\2\2\u00ea\u00eb\3\2\2\2\u00eb"+
+		"\u00ed\3\2\2\2\u00ec\u00ea\3\2\2\2\u00ed\u0103\7\5\2\2\u00ee\u00f2\5\4"+
+		"\3\2\u00ef\u00f1\7\7\2\2\u00f0\u00ef\3\2\2\2\u00f1\u00f4\3\2\2\2\u00f2"+
+		"\u00f0\3\2\2\2\u00f2\u00f3\3\2\2\2\u00f3\u0104\3\2\2\2\u00f4\u00f2\3\2"+
+		"\2\2\u00f5\u00ff\7\20\2\2\u00f6\u00fa\5\4\3\2\u00f7\u00f9\7\7\2\2\u00f8"+
+		"\u00f7\3\2\2\2\u00f9\u00fc\3\2\2\2\u00fa\u00f8\3\2\2\2\u00fa\u00fb\3\2"+
+		"\2\2\u00fb\u00fe\3\2\2\2\u00fc\u00fa\3\2\2\2\u00fd\u00f6\3\2\2\2\u00fe"+
+		"\u0101\3\2\2\2\u00ff\u00fd\3\2\2\2\u00ff\u0100\3\2\2\2\u0100\u0102\3\2"+
+		"\2\2\u0101\u00ff\3\2\2\2\u0102\u0104\7\21\2\2\u0103\u00ee\3\2\2\2\u0103"+
+		"\u00f5\3\2\2\2\u0104\u0121\3\2\2\2\u0105\u0106\7\26\2\2\u0106\u0107\7"+
+		"\4\2\2\u0107\u0108\5\f\7\2\u0108\u011e\7\5\2\2\u0109\u010d\5\4\3\2\u010a"+
+		"\u010c\7\7\2\2\u010b\u010a\3\2\2\2\u010c\u010f\3\2\2\2\u010d\u010b\3\2"+
+		"\2\2\u010d\u010e\3\2\2\2\u010e\u011f\3\2\2\2\u010f\u010d\3\2\2\2\u0110"+
+		"\u011a\7\20\2\2\u0111\u0115\5\4\3\2\u0112\u0114\7\7\2\2\u0113\u0112\3"+
+		"\2\2\2\u0114\u0117\3\2\2\2\u0115\u0113\3\2\2\2\u0115\u0116\3\2\2\2\u0116"+
+		"\u0119\3\2\2\2\u0117\u0115\3\2\2\2\u0118\u0111\3\2\2\2\u0119\u011c\3\2"+
+		"\2\2\u011a\u0118\3\2\2\2\u011a\u011b\3\2\2\2\u011b\u011d\3\2\2\2\u011c"+
+		"\u011a\3\2\2\2\u011d\u011f\7\21\2\2\u011e\u0109\3\2\2\2\u011e\u0110\3"+
+		"\2\2\2\u011f\u0121\3\2\2\2\u0120%\3\2\2\2\u0120\61\3\2\2\2\u0120>\3\2"+
+		"\2\2\u0120S\3\2\2\2\u0120q\3\2\2\2\u0120\177\3\2\2\2\u0120\u0088\3\2\2"+
+		"\2\u0120\u00bd\3\2\2\2\u0120\u00e1\3\2\2\2\u0120\u0105\3\2\2\2\u0121\5"+
+		"\3\2\2\2\u0122\u0123\5\f\7\2\u0123\u0124\7\27\2\2\u0124\u0125\5\f\7\2"+
+		"\u0125\u0132\3\2\2\2\u0126\u0127\7;\2\2\u0127\u0128\7\4\2\2\u0128\u0129"+
+		"\5\f\7\2\u0129\u012a\7\13\2\2\u012a\u012d\5\f\7\2\u012b\u012c\7\13\2\2"+
+		"\u012c\u012e\5\f\7\2\u012d\u012b\3\2\2\2\u012d\u012e\3\2\2\2\u012e\u012f"+
+		"\3\2\2\2\u012f\u0130\7\5\2\2\u0130\u0132\3\2\2\2\u0131\u0122\3\2\2\2\u0131"+
+		"\u0126\3\2\2\2\u0132\7\3\2\2\2\u0133\u0134\7;\2\2\u0134\u0135\t\2\2\2"+
+		"\u0135\u0136\7\30\2\2\u0136\u013f\7\4\2\2\u0137\u013c\5\16\b\2\u0138\u0139"+
+		"\7\13\2\2\u0139\u013b\5\16\b\2\u013a\u0138\3\2\2\2\u013b\u013e\3\2\2\2"+
+		"\u013c\u013a\3\2\2\2\u013c\u013d\3\2\2\2\u013d\u0140\3\2\2\2\u013e\u013c"+
+		"\3\2\2\2\u013f\u0137\3\2\2\2\u013f\u0140\3\2\2\2\u0140\u0141\3\2\2\2\u0141"+
+		"\u014f\7\5\2\2\u0142\u0143\7\31\2\2\u0143\u014c\7\4\2\2\u0144\u0149\5"+
+		"\16\b\2\u0145\u0146\7\13\2\2\u0146\u0148\5\16\b\2\u0147\u0145\3\2\2\2"+
+		"\u0148\u014b\3\2\2\2\u0149\u0147\3\2\2\2\u0149\u014a\3\2\2\2\u014a\u014d"+
+		"\3\2\2\2\u014b\u0149\3\2\2\2\u014c\u0144\3\2\2\2\u014c\u014d\3\2\2\2\u014d"+
+		"\u014e\3\2\2\2\u014e\u0150\7\5\2\2\u014f\u0142\3\2\2\2\u014f\u0150\3\2"+
+		"\2\2\u0150\u0151\3\2\2\2\u0151\u015b\7\20\2\2\u0152\u0156\5\4\3\2\u0153"+
+		"\u0155\7\7\2\2\u0154\u0153\3\2\2\2\u0155\u0158\3\2\2\2\u0156\u0154\3\2"+
+		"\2\2\u0156\u0157\3\2\2\2\u0157\u015a\3\2\2\2\u0158\u0156\3\2\2\2\u0159"+
+		"\u0152\3\2\2\2\u015a\u015d\3\2\2\2\u015b\u0159\3\2\2\2\u015b\u015c\3\2"+
+		"\2\2\u015c\u015e\3\2\2\2\u015d\u015b\3\2\2\2\u015e\u0162\7\21\2\2\u015f"+
+		"\u0161\7\7\2\2\u0160\u015f\3\2\2\2\u0161\u0164\3\2\2\2\u0162\u0160\3\2"+
+		"\2\2\u0162\u0163\3\2\2\2\u0163\u0198\3\2\2\2\u0164\u0162\3\2\2\2\u0165"+
+		"\u0166\7;\2\2\u0166\u0167\t\2\2\2\u0167\u0168\7\32\2\2\u0168\u0171\7\4"+
+		"\2\2\u0169\u016e\5\16\b\2\u016a\u016b\7\13\2\2\u016b\u016d\5\16\b\2\u016c"+
+		"\u016a\3\2\2\2\u016d\u0170\3\2\2\2\u016e\u016c\3\2\2\2\u016e\u016f\3\2"+
+		"\2\2\u016f\u0172\3\2\2\2\u0170\u016e\3\2\2\2\u0171\u0169\3\2\2\2\u0171"+
+		"\u0172\3\2\2\2\u0172\u0173\3\2\2\2\u0173\u0181\7\5\2\2\u0174\u0175\7\31"+
+		"\2\2\u0175\u017e\7\4\2\2\u0176\u017b\5\16\b\2\u0177\u0178\7\13\2\2\u0178"+
+		"\u017a\5\16\b\2\u0179\u0177\3\2\2\2\u017a\u017d\3\2\2\2\u017b\u0179\3"+
+		"\2\2\2\u017b\u017c\3\2\2\2\u017c\u017f\3\2\2\2\u017d\u017b\3\2\2\2\u017e"+
+		"\u0176\3\2\2\2\u017e\u017f\3\2\2\2\u017f\u0180\3\2\2\2\u0180\u0182\7\5"+
+		"\2\2\u0181\u0174\3\2\2\2\u0181\u0182\3\2\2\2\u0182\u0183\3\2\2\2\u0183"+
+		"\u0184\7\33\2\2\u0184\u0185\7\24\2\2\u0185\u018e\7\4\2\2\u0186\u018b\5"+
+		"\24\13\2\u0187\u0188\7\13\2\2\u0188\u018a\5\24\13\2\u0189\u0187\3\2\2"+
+		"\2\u018a\u018d\3\2\2\2\u018b\u0189\3\2\2\2\u018b\u018c\3\2\2\2\u018c\u018f"+
+		"\3\2\2\2\u018d\u018b\3\2\2\2\u018e\u0186\3\2\2\2\u018e\u018f\3\2\2\2\u018f"+
+		"\u0190\3\2\2\2\u0190\u0194\7\5\2\2\u0191\u0193\7\7\2\2\u0192\u0191\3\2"+
+		"\2\2\u0193\u0196\3\2\2\2\u0194\u0192\3\2\2\2\u0194\u0195\3\2\2\2\u0195"+
+		"\u0198\3\2\2\2\u0196\u0194\3\2\2\2\u0197\u0133\3\2\2\2\u0197\u0165\3\2"+
+		"\2\2\u0198\t\3\2\2\2\u0199\u019a\7;\2\2\u019a\u01a0\7\f\2\2\u019b\u019e"+
+		"\5\f\7\2\u019c\u019d\7\27\2\2\u019d\u019f\5\f\7\2\u019e\u019c\3\2\2\2"+
+		"\u019e\u019f\3\2\2\2\u019f\u01a1\3\2\2\2\u01a0\u019b\3\2\2\2\u01a0\u01a1"+
+		"\3\2\2\2\u01a1\u01a2\3\2\2\2\u01a2\u01a8\7\13\2\2\u01a3\u01a6\5\f\7\2"+
+		"\u01a4\u01a5\7\27\2\2\u01a5\u01a7\5\f\7\2\u01a6\u01a4\3\2\2\2\u01a6\u01a7"+
+		"\3\2\2\2\u01a7\u01a9\3\2\2\2\u01a8\u01a3\3\2\2\2\u01a8\u01a9\3\2\2\2\u01a9"+
+		"\u01aa\3\2\2\2\u01aa\u01af\7\r\2\2\u01ab\u01af\7;\2\2\u01ac\u01af\7@\2"+
+		"\2\u01ad\u01af\7A\2\2\u01ae\u0199\3\2\2\2\u01ae\u01ab\3\2\2\2\u01ae\u01ac"+
+		"\3\2\2\2\u01ae\u01ad\3\2\2\2\u01af\13\3\2\2\2\u01b0\u01b1\b\7\1\2\u01b1"+
+		"\u01b2\t\3\2\2\u01b2\u01de\5\f\7\24\u01b3\u01b4\7*\2\2\u01b4\u01de\5\f"+
+		"\7\16\u01b5\u01b6\7;\2\2\u01b6\u01bf\7\4\2\2\u01b7\u01bc\5\20\t\2\u01b8"+
+		"\u01b9\7\13\2\2\u01b9\u01bb\5\20\t\2\u01ba\u01b8\3\2\2\2\u01bb\u01be\3"+
+		"\2\2\2\u01bc\u01ba\3\2\2\2\u01bc\u01bd\3\2\2\2\u01bd\u01c0\3\2\2\2\u01be"+
+		"\u01bc\3\2\2\2\u01bf\u01b7\3\2\2\2\u01bf\u01c0\3\2\2\2\u01c0\u01c1\3\2"+
+		"\2\2\u01c1\u01c5\7\5\2\2\u01c2\u01c4\7\7\2\2\u01c3\u01c2\3\2\2\2\u01c4"+
+		"\u01c7\3\2\2\2\u01c5\u01c3\3\2\2\2\u01c5\u01c6\3\2\2\2\u01c6\u01de\3\2"+
+		"\2\2\u01c7\u01c5\3\2\2\2\u01c8\u01c9\7\4\2\2\u01c9\u01ca\5\f\7\2\u01ca"+
+		"\u01cb\7\5\2\2\u01cb\u01de\3\2\2\2\u01cc\u01cd\7\f\2\2\u01cd\u01d2\5\f"+
+		"\7\2\u01ce\u01cf\7\13\2\2\u01cf\u01d1\5\f\7\2\u01d0\u01ce\3\2\2\2\u01d1"+
+		"\u01d4\3\2\2\2\u01d2\u01d0\3\2\2\2\u01d2\u01d3\3\2\2\2\u01d3\u01d5\3\2"+
+		"\2\2\u01d4\u01d2\3\2\2\2\u01d5\u01d6\7\r\2\2\u01d6\u01de\3\2\2\2\u01d7"+
+		"\u01de\7/\2\2\u01d8\u01de\7\60\2\2\u01d9\u01de\7<\2\2\u01da\u01de\7=\2"+
+		"\2\u01db\u01de\7B\2\2\u01dc\u01de\5\n\6\2\u01dd\u01b0\3\2\2\2\u01dd\u01b3"+
+		"\3\2\2\2\u01dd\u01b5\3\2\2\2\u01dd\u01c8\3\2\2\2\u01dd\u01cc\3\2\2\2\u01dd"+
+		"\u01d7\3\2\2\2\u01dd\u01d8\3\2\2\2\u01dd\u01d9\3\2\2\2\u01dd\u01da\3\2"+
+		"\2\2\u01dd\u01db\3\2\2\2\u01dd\u01dc\3\2\2\2\u01de\u01f9\3\2\2\2\u01df"+
+		"\u01e0\f\25\2\2\u01e0\u01e1\7\34\2\2\u01e1\u01f8\5\f\7\25\u01e2\u01e3"+
+		"\f\23\2\2\u01e3\u01e4\7\37\2\2\u01e4\u01f8\5\f\7\24\u01e5\u01e6\f\22\2"+
+		"\2\u01e6\u01e7\t\4\2\2\u01e7\u01f8\5\f\7\23\u01e8\u01e9\f\21\2\2\u01e9"+
+		"\u01ea\t\5\2\2\u01ea\u01f8\5\f\7\22\u01eb\u01ec\f\20\2\2\u01ec\u01ed\t"+
+		"\3\2\2\u01ed\u01f8\5\f\7\21\u01ee\u01ef\f\17\2\2\u01ef\u01f0\t\6\2\2\u01f0"+
+		"\u01f8\5\f\7\20\u01f1\u01f2\f\r\2\2\u01f2\u01f3\t\7\2\2\u01f3\u01f8\5"+
+		"\f\7\16\u01f4\u01f5\f\f\2\2\u01f5\u01f6\t\b\2\2\u01f6\u01f8\5\f\7\r\u01f7"+
+		"\u01df\3\2\2\2\u01f7\u01e2\3\2\2\2\u01f7\u01e5\3\2\2\2\u01f7\u01e8\3\2"+
+		"\2\2\u01f7\u01eb\3\2\2\2\u01f7\u01ee\3\2\2\2\u01f7\u01f1\3\2\2\2\u01f7"+
+		"\u01f4\3\2\2\2\u01f8\u01fb\3\2\2\2\u01f9\u01f7\3\2\2\2\u01f9\u01fa\3\2"+
+		"\2\2\u01fa\r\3\2\2\2\u01fb\u01f9\3\2\2\2\u01fc\u01fd\5\26\f\2\u01fd\u01fe"+
+		"\7;\2\2\u01fe\17\3\2\2\2\u01ff\u0200\7;\2\2\u0200\u0202\7\t\2\2\u0201"+
+		"\u01ff\3\2\2\2\u0201\u0202\3\2\2\2\u0202\u0203\3\2\2\2\u0203\u0204\5\f"+
+		"\7\2\u0204\21\3\2\2\2\u0205\u0206\7;\2\2\u0206\u0207\7\t\2\2\u0207\u0208"+
+		"\5\f\7\2\u0208\23\3\2\2\2\u0209\u020a\7;\2\2\u020a\u020b\7\t\2\2\u020b"+
+		"\u020c\7B\2\2\u020c\25\3\2\2\2\u020d\u0214\5\30\r\2\u020e\u020f\5\32\16"+
+		"\2\u020f\u0210\7\f\2\2\u0210\u0211\5\30\r\2\u0211\u0212\7\r\2\2\u0212"+
+		"\u0214\3\2\2\2\u0213\u020d\3\2\2\2\u0213\u020e\3\2\2\2\u0214\27\3\2\2"+
+		"\2\u0215\u0216\t\t\2\2\u0216\31\3\2\2\2\u0217\u0218\7;\2\2\u0218\33\3"+
+		"\2\2\2I\36 .8>GJPYehn|\u0085\u0090\u0098\u009d\u00a1\u00a8\u00b0\u00b5"+
+		"\u00b9\u00bb\u00c6\u00ce\u00d6\u00db\u00df\u00ea\u00f2\u00fa\u00ff\u0103"+
+		"\u010d\u0115\u011a\u011e\u0120\u012d\u0131\u013c\u013f\u0149\u014c\u014f"+
+		"\u0156\u015b\u0162\u016e\u0171\u017b\u017e\u0181\u018b\u018e\u0194\u0197"+
+		"\u019e\u01a0\u01a6\u01a8\u01ae\u01bc\u01bf\u01c5\u01d2\u01dd\u01f7\u01f9"+
+		"\u0201\u0213";
+	public static final ATN _ATN =
+		new ATNDeserializer().deserialize(_serializedATN.toCharArray());
+	static {
+		_decisionToDFA = new DFA[_ATN.getNumberOfDecisions()];
+		for (int i = 0; i < _ATN.getNumberOfDecisions(); i++) {
+			_decisionToDFA[i] = new DFA(_ATN.getDecisionState(i), i);
+		}
+	}
+}
\ No newline at end of file
@@ -80,7 +80,7 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 		if( k <= 1 ) //SINGLE-THREADED
 		{
 			sum = ( !inputs.get(0).isInSparseFormat() ) ?
-				executeDenseAndAgg(inputs.get(0).getDenseBlock(), b, scalars, n, m, 0, m) :
+				executeDenseAndAgg(inputs.get(0).getDenseBlockValues(), b, scalars, n, m, 0, m) :
 				executeSparseAndAgg(inputs.get(0).getSparseBlock(), b, scalars, n, m, 0, m);
 		}
 		else  //MULTI-THREADED
@@ -133,7 +133,7 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 		out.reset(inputs.get(0).getNumRows(), _type == CellType.NO_AGG ? 
 				inputs.get(0).getNumColumns() : 1, false);
 		out.allocateDenseBlock();
-		double[] c = out.getDenseBlock();
+		double[] c = out.getDenseBlockValues();
 		
 		//input preparation
 		double[][] b = prepInputMatrices(inputs);
@@ -147,7 +147,7 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 		if( k <= 1 ) //SINGLE-THREADED
 		{
 			lnnz = (!inputs.get(0).isInSparseFormat()) ?
-				executeDense(inputs.get(0).getDenseBlock(), b, scalars, c, n, m, 0, m) :
+				executeDense(inputs.get(0).getDenseBlockValues(), b, scalars, c, n, m, 0, m) :
 				executeSparse(inputs.get(0).getSparseBlock(), b, scalars, c, n, m, 0, m);
 		}
 		else  //MULTI-THREADED
@@ -393,7 +393,7 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 		@Override
 		public Double call() throws DMLRuntimeException {
 			return ( !_a.isInSparseFormat()) ?
-				executeDenseAndAgg(_a.getDenseBlock(), _b, _scalars, _clen, _rlen, _rl, _ru) :
+				executeDenseAndAgg(_a.getDenseBlockValues(), _b, _scalars, _clen, _rlen, _rl, _ru) :
 				executeSparseAndAgg(_a.getSparseBlock(), _b, _scalars, _clen, _rlen, _rl, _ru);
 		}
 	}
@@ -423,7 +423,7 @@ public abstract class SpoofCellwise extends SpoofOperator implements Serializabl
 		@Override
 		public Long call() throws DMLRuntimeException {
 			return (!_a.isInSparseFormat()) ?
-					executeDense(_a.getDenseBlock(), _b, _scalars, _c, _clen, _rlen, _rl, _ru) :
+					executeDense(_a.getDenseBlockValues(), _b, _scalars, _c, _clen, _rlen, _rl, _ru) :
 					executeSparse(_a.getSparseBlock(), _b, _scalars,  _c, _clen, _rlen, _rl, _ru);
 		}
 	}
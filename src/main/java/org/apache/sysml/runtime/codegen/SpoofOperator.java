@@ -74,7 +74,7 @@ public abstract class SpoofOperator implements Serializable
 			}
 			//use existing dense block
 			else {
-				b[i-offset] = inputs.get(i).getDenseBlock();
+				b[i-offset] = inputs.get(i).getDenseBlockValues();
 			}
 		}
 		return b;
@@ -86,10 +86,10 @@ public abstract class SpoofOuterProduct extends SpoofOperator
 		out.allocateDenseBlock();
 		
 		if(!a.isInSparseFormat())
-			executeCellwiseDense(a.getDenseBlock(), u.getDenseBlock(), v.getDenseBlock(), b, scalars, out.getDenseBlock(), n, m, k, _outerProductType, 0, m, 0, n);
+			executeCellwiseDense(a.getDenseBlockValues(), u.getDenseBlockValues(), v.getDenseBlockValues(), b, scalars, out.getDenseBlockValues(), n, m, k, _outerProductType, 0, m, 0, n);
 		else
-			executeCellwiseSparse(a.getSparseBlock(), u.getDenseBlock(), v.getDenseBlock(), b, scalars, out, n, m, k, (int) a.getNonZeros(), _outerProductType, 0, m, 0, n);
-		return new DoubleObject(out.getDenseBlock()[0]);
+			executeCellwiseSparse(a.getSparseBlock(), u.getDenseBlockValues(), v.getDenseBlockValues(), b, scalars, out, n, m, k, (int) a.getNonZeros(), _outerProductType, 0, m, 0, n);
+		return new DoubleObject(out.getDenseBlockValues()[0]);
 	}
 	
 	@Override
@@ -118,7 +118,7 @@ public abstract class SpoofOuterProduct extends SpoofOperator
 			//for wdivmm-right, parallelization over rows; both ensure disjoint results)
 			int blklen = (int)(Math.ceil((double)m/numThreads));
 			for( int i=0; i<numThreads & i*blklen<m; i++ )
-				tasks.add(new ParOuterProdAggTask(inputs.get(0), inputs.get(1).getDenseBlock(), inputs.get(2).getDenseBlock(), b, scalars, n, m, k, _outerProductType, i*blklen, Math.min((i+1)*blklen,m), 0, n));
+				tasks.add(new ParOuterProdAggTask(inputs.get(0), inputs.get(1).getDenseBlockValues(), inputs.get(2).getDenseBlockValues(), b, scalars, n, m, k, _outerProductType, i*blklen, Math.min((i+1)*blklen,m), 0, n));
 			//execute tasks
 			List<Future<Double>> taskret = pool.invokeAll(tasks);
 			pool.shutdown();
@@ -180,16 +180,16 @@ public abstract class SpoofOuterProduct extends SpoofOperator
 			case LEFT_OUTER_PRODUCT:	
 			case RIGHT_OUTER_PRODUCT:
 				if( !a.isInSparseFormat() )
-					executeDense(a.getDenseBlock(), u.getDenseBlock(), v.getDenseBlock(), b, scalars, out.getDenseBlock(), n, m, k, _outerProductType, 0, m, 0, n);
+					executeDense(a.getDenseBlockValues(), u.getDenseBlockValues(), v.getDenseBlockValues(), b, scalars, out.getDenseBlockValues(), n, m, k, _outerProductType, 0, m, 0, n);
 				else
-					executeSparse(a.getSparseBlock(), u.getDenseBlock(), v.getDenseBlock(), b, scalars, out.getDenseBlock(), n, m, k, (int) a.getNonZeros(), _outerProductType, 0, m, 0, n);
+					executeSparse(a.getSparseBlock(), u.getDenseBlockValues(), v.getDenseBlockValues(), b, scalars, out.getDenseBlockValues(), n, m, k, (int) a.getNonZeros(), _outerProductType, 0, m, 0, n);
 				break;
 				
 			case CELLWISE_OUTER_PRODUCT:
 				if( !a.isInSparseFormat() )
-					executeCellwiseDense(a.getDenseBlock(), u.getDenseBlock(), v.getDenseBlock(), b, scalars, out.getDenseBlock(), n, m, k, _outerProductType, 0, m, 0, n);
+					executeCellwiseDense(a.getDenseBlockValues(), u.getDenseBlockValues(), v.getDenseBlockValues(), b, scalars, out.getDenseBlockValues(), n, m, k, _outerProductType, 0, m, 0, n);
 				else 
-					executeCellwiseSparse(a.getSparseBlock(), u.getDenseBlock(), v.getDenseBlock(), b, scalars, out, n, m, k, (int) a.getNonZeros(), _outerProductType, 0, m, 0, n);
+					executeCellwiseSparse(a.getSparseBlock(), u.getDenseBlockValues(), v.getDenseBlockValues(), b, scalars, out, n, m, k, (int) a.getNonZeros(), _outerProductType, 0, m, 0, n);
 				break;
 	
 			case AGG_OUTER_PRODUCT:
@@ -254,12 +254,12 @@ public abstract class SpoofOuterProduct extends SpoofOperator
 			if( _outerProductType == OutProdType.LEFT_OUTER_PRODUCT ) {
 				int blklen = (int)(Math.ceil((double)n/numThreads));
 				for( int j=0; j<numThreads & j*blklen<n; j++ )
-					tasks.add(new ParExecTask(inputs.get(0), inputs.get(1).getDenseBlock(), inputs.get(2).getDenseBlock(), b, scalars, out, n, m, k, _outerProductType,  0, m, j*blklen, Math.min((j+1)*blklen, n)));
+					tasks.add(new ParExecTask(inputs.get(0), inputs.get(1).getDenseBlockValues(), inputs.get(2).getDenseBlockValues(), b, scalars, out, n, m, k, _outerProductType,  0, m, j*blklen, Math.min((j+1)*blklen, n)));
 			}
 			else { ///right // cellwise
 				int blklen = (int)(Math.ceil((double)m/numThreads));
 				for( int i=0; i<numThreads & i*blklen<m; i++ )
-					tasks.add(new ParExecTask(inputs.get(0), inputs.get(1).getDenseBlock(), inputs.get(2).getDenseBlock(), b, scalars, out, n, m, k, _outerProductType, i*blklen, Math.min((i+1)*blklen,m), 0, n));
+					tasks.add(new ParExecTask(inputs.get(0), inputs.get(1).getDenseBlockValues(), inputs.get(2).getDenseBlockValues(), b, scalars, out, n, m, k, _outerProductType, i*blklen, Math.min((i+1)*blklen,m), 0, n));
 			}
 			List<Future<Long>> taskret = pool.invokeAll(tasks);
 			pool.shutdown();
@@ -376,7 +376,7 @@ public abstract class SpoofOuterProduct extends SpoofOperator
 		
 		if( !out.isInSparseFormat() ) //DENSE
 		{
-			double[] c = out.getDenseBlock();
+			double[] c = out.getDenseBlockValues();
 			for( int bi=rl; bi<ru; bi+=blocksizeIJ ) {
 				int bimin = Math.min(ru, bi+blocksizeIJ);
 				//prepare starting indexes for block row
@@ -475,13 +475,13 @@ public abstract class SpoofOuterProduct extends SpoofOperator
 				case LEFT_OUTER_PRODUCT:	
 				case RIGHT_OUTER_PRODUCT:
 					if( !_a.isInSparseFormat() )
-						executeDense(_a.getDenseBlock(), _u, _v, _b, _scalars, _c.getDenseBlock(), _clen, _rlen, _k, _type, _rl, _ru, _cl, _cu);
+						executeDense(_a.getDenseBlockValues(), _u, _v, _b, _scalars, _c.getDenseBlockValues(), _clen, _rlen, _k, _type, _rl, _ru, _cl, _cu);
 					else
-						executeSparse(_a.getSparseBlock(), _u, _v, _b, _scalars, _c.getDenseBlock(), _clen, _rlen, _k, (int) _a.getNonZeros(), _type,  _rl, _ru, _cl, _cu);
+						executeSparse(_a.getSparseBlock(), _u, _v, _b, _scalars, _c.getDenseBlockValues(), _clen, _rlen, _k, (int) _a.getNonZeros(), _type,  _rl, _ru, _cl, _cu);
 					break;
 				case CELLWISE_OUTER_PRODUCT:
 					if( !_c.isInSparseFormat() )
-						executeCellwiseDense(_a.getDenseBlock(), _u, _v, _b, _scalars, _c.getDenseBlock(), _clen, _rlen, _k, _type, _rl, _ru, _cl, _cu);
+						executeCellwiseDense(_a.getDenseBlockValues(), _u, _v, _b, _scalars, _c.getDenseBlockValues(), _clen, _rlen, _k, _type, _rl, _ru, _cl, _cu);
 					else 
 						executeCellwiseSparse(_a.getSparseBlock(), _u, _v, _b, _scalars, _c, _clen, _rlen, _k, (int) _a.getNonZeros(), _type,  _rl, _ru, _cl, _cu);
 					break;			
@@ -532,10 +532,10 @@ public abstract class SpoofOuterProduct extends SpoofOperator
 			MatrixBlock out = new MatrixBlock(1, 1, false);
 			out.allocateDenseBlock();
 			if(!_a.isInSparseFormat())
-				executeCellwiseDense(_a.getDenseBlock(), _u, _v, _b, _scalars, out.getDenseBlock(), _clen, _rlen, _k, _type, _rl, _ru, _cl, _cu);
+				executeCellwiseDense(_a.getDenseBlockValues(), _u, _v, _b, _scalars, out.getDenseBlockValues(), _clen, _rlen, _k, _type, _rl, _ru, _cl, _cu);
 			else
 				executeCellwiseSparse(_a.getSparseBlock(), _u, _v, _b, _scalars, out, _clen, _rlen, _k, _a.getNonZeros(), _type, _rl, _ru, _cl, _cu);
-			return out.getDenseBlock()[0];
+			return out.getDenseBlockValues()[0];
 		}
 	}
 }
@@ -57,7 +57,7 @@ public abstract class SpoofRowAggregate extends SpoofOperator
 		out.reset(_colVector ? inputs.get(0).getNumColumns() : 1, 
 			_colVector ? 1 : inputs.get(0).getNumColumns(), false);
 		out.allocateDenseBlock();
-		double[] c = out.getDenseBlock();
+		double[] c = out.getDenseBlockValues();
 		
 		//input preparation
 		double[][] b = prepInputMatrices(inputs);
@@ -67,7 +67,7 @@ public abstract class SpoofRowAggregate extends SpoofOperator
 		final int m = inputs.get(0).getNumRows();
 		final int n = inputs.get(0).getNumColumns();		
 		if( !inputs.get(0).isInSparseFormat() )
-			executeDense(inputs.get(0).getDenseBlock(), b, scalars, c, n, 0, m);
+			executeDense(inputs.get(0).getDenseBlockValues(), b, scalars, c, n, 0, m);
 		else
 			executeSparse(inputs.get(0).getSparseBlock(), b, scalars, c, n, 0, m);
 	
@@ -113,7 +113,7 @@ public abstract class SpoofRowAggregate extends SpoofOperator
 			pool.shutdown();
 			//aggregate partial results
 			for( Future<double[]> task : taskret )
-				LibMatrixMult.vectAdd(task.get(), out.getDenseBlock(), 0, 0, n);
+				LibMatrixMult.vectAdd(task.get(), out.getDenseBlockValues(), 0, 0, n);
 		}
 		catch(Exception ex) {
 			throw new DMLRuntimeException(ex);
@@ -178,7 +178,7 @@ public abstract class SpoofRowAggregate extends SpoofOperator
 		public double[] call() throws DMLRuntimeException {
 			double[] c = new double[_clen];
 			if( !_a.isInSparseFormat() )
-				executeDense(_a.getDenseBlock(), _b, _scalars, c, _clen, _rl, _ru);
+				executeDense(_a.getDenseBlockValues(), _b, _scalars, c, _clen, _rl, _ru);
 			else
 				executeSparse(_a.getSparseBlock(), _b, _scalars, c, _clen, _rl, _ru);
 				
@@ -28,7 +28,9 @@ import java.util.List;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 
 /**
  * Class that stores information about a column group within a compressed matrix
@@ -244,6 +246,34 @@ public abstract class ColGroup implements Serializable
 	public abstract void leftMultByRowVector(MatrixBlock vector,
 			MatrixBlock result) throws DMLRuntimeException;
 
+	/**
+	 * Multiply the slice of the matrix that this column group represents by a
+	 * dense matrix on the right.
+	 * 
+	 * @param b dense rhs matrix in row-major layout (clen x bclen), where clen
+	 *            is the number of columns of the entire compressed matrix
+	 * @param bclen number of columns of the rhs matrix
+	 * @param result accumulator for holding the dense result (nrow x bclen)
+	 * @param rl row lower
+	 * @param ru row upper
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public abstract void rightMultByMatrix(double[] b, int bclen, 
+			MatrixBlock result, int rl, int ru) throws DMLRuntimeException;
+	
+	/**
+	 * Multiply the slice of the matrix that this column group represents by a
+	 * dense matrix on the left. The lhs matrix is assumed to be transposed already,
+	 * i.e., its size is nrow x alen, which allows for a single scan over the rows.
+	 * 
+	 * @param at dense transposed lhs matrix in row-major layout (nrow x alen)
+	 * @param alen number of rows of the lhs matrix
+	 * @param result accumulator for holding the dense result (alen x clen)
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public abstract void leftMultByMatrix(double[] at, int alen, 
+			MatrixBlock result) throws DMLRuntimeException;
+
 	/**
 	 * Perform the specified scalar operation directly on the compressed column
 	 * group, without decompressing individual cells if possible.
@@ -255,6 +285,33 @@ public abstract class ColGroup implements Serializable
 	 */
 	public abstract ColGroup scalarOperation(ScalarOperator op)
 			throws DMLRuntimeException;
+	
+	/**
+	 * Perform the specified cellwise unary operation directly on the compressed
+	 * column group, without decompressing individual cells if possible.
+	 * 
+	 * @param op
+	 *            operation to perform
+	 * @return version of this column group with the operation applied
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public abstract ColGroup unaryOperation(UnaryOperator op)
+			throws DMLRuntimeException;
+	
+	/**
+	 * Perform the specified binary operation with a row vector on the right 
+	 * (i.e., X op v) directly on the compressed column group, without 
+	 * decompressing individual cells if possible.
+	 * 
+	 * @param op
+	 *            operation to perform
+	 * @param v
+	 *            dense row vector over all columns of the parent block
+	 * @return version of this column group with the operation applied
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public abstract ColGroup binaryRowOperation(BinaryOperator op, double[] v)
+			throws DMLRuntimeException;
 
 	public abstract void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock result)
 		throws DMLRuntimeException;
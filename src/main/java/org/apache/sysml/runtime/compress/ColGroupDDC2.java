@@ -26,11 +26,14 @@ import java.util.Arrays;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.compress.utils.ConverterUtils;
+import org.apache.sysml.runtime.compress.utils.LinearAlgebraUtils;
 import org.apache.sysml.runtime.functionobjects.KahanFunction;
 import org.apache.sysml.runtime.functionobjects.KahanPlus;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 
 /**
  * Class to encapsulate information about a column group that is encoded with
@@ -189,7 +192,7 @@ public class ColGroupDDC2 extends ColGroupDDC
 	@Override
 	public void rightMultByVector(MatrixBlock vector, MatrixBlock result, int rl, int ru) throws DMLRuntimeException {
 		double[] b = ConverterUtils.getDenseVector(vector);
-		double[] c = result.getDenseBlock();
+		double[] c = result.getDenseBlockValues();
 		final int numCols = getNumCols();
 		final int numVals = getNumValues();
 
@@ -212,7 +215,7 @@ public class ColGroupDDC2 extends ColGroupDDC
 		throws DMLRuntimeException 
 	{
 		double[] a = ConverterUtils.getDenseVector(vector);
-		double[] c = result.getDenseBlock();
+		double[] c = result.getDenseBlockValues();
 		final int nrow = getNumRows();
 		final int ncol = getNumCols();
 		final int numVals = getNumValues();
@@ -252,6 +255,36 @@ public class ColGroupDDC2 extends ColGroupDDC
 		}
 	}
 	
+	@Override
+	public void rightMultByMatrix(double[] b, int bclen, MatrixBlock result, int rl, int ru) 
+		throws DMLRuntimeException 
+	{
+		double[] c = result.getDenseBlockValues();
+		
+		//pre-aggregate all distinct values against the rhs
+		double[] vals = preaggValues(getNumValues(), b, bclen);
+		
+		//iterative over codes and add pre-aggregated rows to output
+		for( int i=rl, cix=rl*bclen; i<ru; i++, cix+=bclen )
+			LinearAlgebraUtils.vectAdd(vals, c, _data[i]*bclen, cix, bclen);
+	}
+	
+	@Override
+	public void leftMultByMatrix(double[] at, int alen, MatrixBlock result) 
+		throws DMLRuntimeException 
+	{
+		double[] c = result.getDenseBlockValues();
+		final int nrow = getNumRows();
+		
+		//iterative over codes and pre-aggregate lhs rows per code
+		double[] vals = new double[getNumValues() * alen];
+		for( int i=0, aix=0; i<nrow; i++, aix+=alen )
+			LinearAlgebraUtils.vectAdd(at, vals, aix, _data[i]*alen, alen);
+		
+		//post-scaling of pre-aggregates with distinct values
+		postScaling(vals, alen, c, result.getNumColumns());
+	}
+	
 	@Override
 	protected void computeSum(MatrixBlock result, KahanFunction kplus) {
 		final int nrow = getNumRows();
@@ -288,7 +321,7 @@ public class ColGroupDDC2 extends ColGroupDDC
 	protected void computeRowSums(MatrixBlock result, KahanFunction kplus, int rl, int ru) {
 		KahanObject kbuff = new KahanObject(0, 0);
 		KahanPlus kplus2 = KahanPlus.getKahanPlusFnObject();
-		double[] c = result.getDenseBlock();
+		double[] c = result.getDenseBlockValues();
 		
 		//pre-aggregate nnz per value tuple
 		double[] vals = sumAllValues(kplus, kbuff);
@@ -309,4 +342,16 @@ public class ColGroupDDC2 extends ColGroupDDC
 		//as zero are represented, it is sufficient to simply apply the scalar op
 		return new ColGroupDDC2(_colIndexes, _numRows, applyScalarOp(op), _data);
 	}
+	
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op) throws DMLRuntimeException {
+		//zero values are represented, so apply the unary op to all values
+		return new ColGroupDDC2(_colIndexes, _numRows, applyUnaryOp(op), _data);
+	}
+	
+	@Override
+	public ColGroup binaryRowOperation(BinaryOperator op, double[] v) throws DMLRuntimeException {
+		//zero values are represented, so apply the binary op to all value tuples
+		return new ColGroupDDC2(_colIndexes, _numRows, applyBinaryRowOp(op.fn, v), _data);
+	}
 }
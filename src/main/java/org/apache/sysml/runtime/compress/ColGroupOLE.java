@@ -32,7 +32,6 @@ import org.apache.sysml.runtime.functionobjects.KahanFunction;
 import org.apache.sysml.runtime.functionobjects.KahanPlus;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
-import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
 
 /**
  * Class to encapsulate information about a column group that is encoded with
@@ -207,7 +206,7 @@ public class ColGroupOLE extends ColGroupOffset
 			final int numCols = getNumCols();
 			final int numVals = getNumValues();
 			final int n = getNumRows();
-			double[] c = target.getDenseBlock();
+			double[] c = target.getDenseBlockValues();
 			
 			//cache blocking config and position array
 			int[] apos = new int[numVals];					
@@ -239,36 +238,13 @@ public class ColGroupOLE extends ColGroupOffset
 	}
 	
 	@Override
-	public ColGroup scalarOperation(ScalarOperator op)
-		throws DMLRuntimeException 
-	{
-		double val0 = op.executeScalar(0);
-		
-		//fast path: sparse-safe operations
-		// Note that bitmaps don't change and are shallow-copied
-		if( op.sparseSafe || val0==0 ) {
-			return new ColGroupOLE(_colIndexes, _numRows, _zeros, 
-					applyScalarOp(op), _data, _ptr);
-		}
-		
-		//slow path: sparse-unsafe operations (potentially create new bitmap)
-		//note: for efficiency, we currently don't drop values that become 0
-		boolean[] lind = computeZeroIndicatorVector();
-		int[] loff = computeOffsets(lind);
-		if( loff.length==0 ) { //empty offset list: go back to fast path
-			return new ColGroupOLE(_colIndexes, _numRows, true,
-					applyScalarOp(op), _data, _ptr);
-		}
-		
-		double[] rvalues = applyScalarOp(op, val0, getNumCols());		
-		char[] lbitmap = BitmapEncoder.genOffsetBitmap(loff, loff.length);
-		char[] rbitmaps = Arrays.copyOf(_data, _data.length+lbitmap.length);
-		System.arraycopy(lbitmap, 0, rbitmaps, _data.length, lbitmap.length);
-		int[] rbitmapOffs = Arrays.copyOf(_ptr, _ptr.length+1);
-		rbitmapOffs[rbitmapOffs.length-1] = rbitmaps.length; 
-		
-		return new ColGroupOLE(_colIndexes, _numRows, loff.length<_numRows,
-				rvalues, rbitmaps, rbitmapOffs);
+	protected ColGroupOffset create(boolean zeros, double[] values, char[] bitmaps, int[] bitmapOffs) {
+		return new ColGroupOLE(_colIndexes, _numRows, zeros, values, bitmaps, bitmapOffs);
+	}
+	
+	@Override
+	protected char[] genOffsetBitmap(int[] offsets) {
+		return BitmapEncoder.genOffsetBitmap(offsets, offsets.length);
 	}
 
 	@Override
@@ -276,7 +252,7 @@ public class ColGroupOLE extends ColGroupOffset
 			throws DMLRuntimeException 
 	{
 		double[] b = ConverterUtils.getDenseVector(vector);
-		double[] c = result.getDenseBlock();
+		double[] c = result.getDenseBlockValues();
 		final int blksz = BitmapEncoder.BITMAP_BLOCK_SZ;
 		final int numCols = getNumCols();
 		final int numVals = getNumValues();
@@ -366,7 +342,7 @@ public class ColGroupOLE extends ColGroupOffset
 		throws DMLRuntimeException 
 	{
 		double[] a = ConverterUtils.getDenseVector(vector);
-		double[] c = result.getDenseBlock();
+		double[] c = result.getDenseBlockValues();
 		final int blksz = BitmapEncoder.BITMAP_BLOCK_SZ;
 		final int numCols = getNumCols();
 		final int numVals = getNumValues();
@@ -435,6 +411,65 @@ public class ColGroupOLE extends ColGroupOffset
 		}
 	}
 
+	@Override
+	public void rightMultByMatrix(double[] b, int bclen, MatrixBlock result, int rl, int ru)
+		throws DMLRuntimeException 
+	{
+		double[] c = result.getDenseBlockValues();
+		final int blksz = BitmapEncoder.BITMAP_BLOCK_SZ;
+		final int numVals = getNumValues();
+		
+		//step 1: prepare position and pre-aggregated value arrays
+		//(one output row per distinct value tuple, computed once)
+		int[] apos = skipScan(numVals, rl);
+		double[] aval = preaggValues(numVals, b, bclen);
+		
+		//step 2: cache conscious matrix-matrix via horizontal segment scans
+		for( int bi=rl; bi<ru; bi+=blksz ) {
+			for (int k = 0; k < numVals; k++) {
+				int boff = _ptr[k];
+				int blen = len(k);
+				int bix = apos[k];
+				if( bix >= blen )
+					continue;
+				
+				//scatter pre-aggregated row to all offsets of the segment
+				int slen = _data[boff+bix];
+				for (int blckIx = 1; blckIx <= slen; blckIx++) {
+					int rix = bi + _data[boff+bix + blckIx];
+					LinearAlgebraUtils.vectAdd(aval, c, k*bclen, rix*bclen, bclen);
+				}
+				apos[k] = bix + slen + 1;
+			}
+		}
+	}
+	
+	@Override
+	public void leftMultByMatrix(double[] at, int alen, MatrixBlock result)
+		throws DMLRuntimeException 
+	{
+		double[] c = result.getDenseBlockValues();
+		final int blksz = BitmapEncoder.BITMAP_BLOCK_SZ;
+		final int numVals = getNumValues();
+		
+		//iterate over all values and their bitmaps and pre-aggregate lhs rows
+		double[] cvals = new double[numVals * alen];
+		for (int k = 0; k < numVals; k++) {
+			int boff = _ptr[k];
+			int blen = len(k);
+			for (int bix=0, off=0, slen=0; bix < blen; bix+=slen+1, off+=blksz) {
+				slen = _data[boff+bix];
+				for (int blckIx = 1; blckIx <= slen; blckIx++) {
+					int rix = off + _data[boff+bix + blckIx];
+					LinearAlgebraUtils.vectAdd(at, cvals, rix*alen, k*alen, alen);
+				}
+			}
+		}
+		
+		//scale partial results by values and write to global output
+		postScaling(cvals, alen, c, result.getNumColumns());
+	}
+
 	@Override
 	protected final void computeSum(MatrixBlock result, KahanFunction kplus)
 	{
@@ -472,7 +507,7 @@ public class ColGroupOLE extends ColGroupOffset
 		
 		final int blksz = BitmapEncoder.BITMAP_BLOCK_SZ;
 		final int numVals = getNumValues();
-		double[] c = result.getDenseBlock();
+		double[] c = result.getDenseBlockValues();
 		
 		if( ALLOW_CACHE_CONSCIOUS_ROWSUMS &&
 			LOW_LEVEL_OPT && numVals > 1 && _numRows > blksz )
@@ -579,7 +614,7 @@ public class ColGroupOLE extends ColGroupOffset
 		//NOTE: zeros handled once for all column groups outside
 		final int blksz = BitmapEncoder.BITMAP_BLOCK_SZ;
 		final int numVals = getNumValues();
-		double[] c = result.getDenseBlock();
+		double[] c = result.getDenseBlockValues();
 		
 		//iterate over all values and their bitmaps
 		for (int k = 0; k < numVals; k++) 
@@ -608,7 +643,8 @@ public class ColGroupOLE extends ColGroupOffset
 	 * @return zero indicator vector
 	 * @throws DMLRuntimeException if DMLRuntimeException occurs
 	 */
-	private boolean[] computeZeroIndicatorVector()
+	@Override
+	protected boolean[] computeZeroIndicatorVector()
 		throws DMLRuntimeException 
 	{
 		boolean[] ret = new boolean[_numRows];
@@ -31,12 +31,16 @@ import org.apache.sysml.runtime.functionobjects.Builtin;
 import org.apache.sysml.runtime.functionobjects.KahanFunction;
 import org.apache.sysml.runtime.functionobjects.KahanPlus;
 import org.apache.sysml.runtime.functionobjects.KahanPlusSq;
+import org.apache.sysml.runtime.functionobjects.Multiply;
 import org.apache.sysml.runtime.functionobjects.ReduceAll;
 import org.apache.sysml.runtime.functionobjects.ReduceCol;
 import org.apache.sysml.runtime.functionobjects.ReduceRow;
 import org.apache.sysml.runtime.functionobjects.Builtin.BuiltinCode;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 
 
 /**
@@ -296,6 +300,117 @@ public abstract class ColGroupOffset extends ColGroupValue
 		
 		return ret;
 	}
+	
+	/**
+	 * Utility function of sparse-unsafe operations.
+	 * 
+	 * @return row indicator vector of rows with zero value tuples
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	protected abstract boolean[] computeZeroIndicatorVector()
+		throws DMLRuntimeException;
+	
+	/**
+	 * Encodes the given sorted row offsets as bitmap of this group's format.
+	 * 
+	 * @param offsets sorted row offsets
+	 * @return encoded bitmap
+	 */
+	protected abstract char[] genOffsetBitmap(int[] offsets);
+	
+	/**
+	 * Creates a new column group of the same type and columns.
+	 * 
+	 * @param zeros indicator if column group contains zero values
+	 * @param values linearized value tuples
+	 * @param bitmaps linearized bitmaps
+	 * @param bitmapOffs bitmap offsets per value tuple
+	 * @return new column group
+	 */
+	protected abstract ColGroupOffset create(boolean zeros, double[] values, char[] bitmaps, int[] bitmapOffs);
+	
+	@Override
+	public ColGroup scalarOperation(ScalarOperator op)
+		throws DMLRuntimeException 
+	{
+		double val0 = op.executeScalar(0);
+		return applyValueOperation(applyScalarOp(op), 
+			op.sparseSafe ? null : createTuple(val0));
+	}
+	
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op)
+		throws DMLRuntimeException 
+	{
+		double val0 = op.fn.execute(0);
+		return applyValueOperation(applyUnaryOp(op), 
+			op.sparseSafe ? null : createTuple(val0));
+	}
+	
+	@Override
+	public ColGroup binaryRowOperation(BinaryOperator op, double[] v)
+		throws DMLRuntimeException 
+	{
+		//zero rows map to (0 op v), except for multiply, which is
+		//sparse-safe w.r.t. the row vector (consistent w/ uncompressed ops)
+		double[] rzero = null;
+		if( !(op.fn instanceof Multiply) ) {
+			rzero = new double[getNumCols()];
+			for( int j=0; j<rzero.length; j++ )
+				rzero[j] = op.fn.execute(0, v[_colIndexes[j]]);
+		}
+		return applyValueOperation(applyBinaryRowOp(op.fn, v), rzero);
+	}
+	
+	/**
+	 * Creates a new column group from transformed value tuples, where rows of 
+	 * zero value tuples map to the given transformed zero tuple. Bitmaps are 
+	 * shallow-copied if zero rows remain zero, otherwise the transformed zero 
+	 * tuple is appended as new value with a bitmap of all zero rows. 
+	 * 
+	 * @param rvalues transformed value tuples
+	 * @param rzero transformed zero tuple, or null if zeros remain zero
+	 * @return new column group
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	protected ColGroup applyValueOperation(double[] rvalues, double[] rzero)
+		throws DMLRuntimeException 
+	{
+		//fast path: zero rows remain zero (sparse-safe operations)
+		// Note that bitmaps don't change and are shallow-copied
+		if( !_zeros || rzero == null || isAllZeros(rzero) )
+			return create(_zeros, rvalues, _data, _ptr);
+		
+		//slow path: sparse-unsafe operations (potentially create new bitmap)
+		//note: for efficiency, we currently don't drop values that become 0
+		int[] loff = computeOffsets(computeZeroIndicatorVector());
+		if( loff.length==0 ) //empty offset list: go back to fast path
+			return create(false, rvalues, _data, _ptr);
+		
+		double[] rvalues2 = Arrays.copyOf(rvalues, rvalues.length+rzero.length);
+		System.arraycopy(rzero, 0, rvalues2, rvalues.length, rzero.length);
+		char[] lbitmap = genOffsetBitmap(loff);
+		char[] rbitmaps = Arrays.copyOf(_data, _data.length+lbitmap.length);
+		System.arraycopy(lbitmap, 0, rbitmaps, _data.length, lbitmap.length);
+		int[] rbitmapOffs = Arrays.copyOf(_ptr, _ptr.length+1);
+		rbitmapOffs[rbitmapOffs.length-1] = rbitmaps.length; 
+		
+		//all former zero rows are now covered by the new bitmap
+		return create(false, rvalues2, rbitmaps, rbitmapOffs);
+	}
+	
+	private double[] createTuple(double val) {
+		double[] ret = new double[getNumCols()];
+		Arrays.fill(ret, val);
+		return ret;
+	}
+	
+	private static boolean isAllZeros(double[] tuple) {
+		for( int j=0; j<tuple.length; j++ )
+			if( tuple[j] != 0 )
+				return false;
+		return true;
+	}
 
 	@Override
 	public void readFields(DataInput in) 
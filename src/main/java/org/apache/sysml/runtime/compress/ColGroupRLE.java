@@ -33,7 +33,6 @@ import org.apache.sysml.runtime.functionobjects.KahanPlus;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.Pair;
-import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
 
 
 /** A group of columns compressed with a single run-length encoded bitmap. */
@@ -198,7 +197,7 @@ public class ColGroupRLE extends ColGroupOffset
 			final int numCols = getNumCols();
 			final int numVals = getNumValues();
 			final int n = getNumRows();
-			double[] c = target.getDenseBlock();
+			double[] c = target.getDenseBlockValues();
 			
 			//position and start offset arrays
 			int[] apos = new int[numVals];
@@ -240,7 +239,7 @@ public class ColGroupRLE extends ColGroupOffset
 			throws DMLRuntimeException 
 	{
 		double[] b = ConverterUtils.getDenseVector(vector);
-		double[] c = result.getDenseBlock();
+		double[] c = result.getDenseBlockValues();
 		final int numCols = getNumCols();
 		final int numVals = getNumValues();
 		
@@ -336,7 +335,7 @@ public class ColGroupRLE extends ColGroupOffset
 			throws DMLRuntimeException 
 	{		
 		double[] a = ConverterUtils.getDenseVector(vector);
-		double[] c = result.getDenseBlock();
+		double[] c = result.getDenseBlockValues();
 		final int numCols = getNumCols();
 		final int numVals = getNumValues();
 		final int n = getNumRows();
@@ -410,36 +409,68 @@ public class ColGroupRLE extends ColGroupOffset
 	}
 
 	@Override
-	public ColGroup scalarOperation(ScalarOperator op)
-			throws DMLRuntimeException 
+	protected ColGroupOffset create(boolean zeros, double[] values, char[] bitmaps, int[] bitmapOffs) {
+		return new ColGroupRLE(_colIndexes, _numRows, zeros, values, bitmaps, bitmapOffs);
+	}
+	
+	@Override
+	protected char[] genOffsetBitmap(int[] offsets) {
+		return BitmapEncoder.genRLEBitmap(offsets, offsets.length);
+	}
+
+	@Override
+	public void rightMultByMatrix(double[] b, int bclen, MatrixBlock result, int rl, int ru)
+		throws DMLRuntimeException 
 	{
-		double val0 = op.executeScalar(0);
+		double[] c = result.getDenseBlockValues();
+		final int numVals = getNumValues();
 		
-		//fast path: sparse-safe operations
-		// Note that bitmaps don't change and are shallow-copied
-		if( op.sparseSafe || val0==0 ) {
-			return new ColGroupRLE(_colIndexes, _numRows, _zeros,
-					applyScalarOp(op), _data, _ptr);
-		}
+		//pre-aggregate all distinct values against the rhs
+		double[] aval = preaggValues(numVals, b, bclen);
 		
-		//slow path: sparse-unsafe operations (potentially create new bitmap)
-		//note: for efficiency, we currently don't drop values that become 0
-		boolean[] lind = computeZeroIndicatorVector();
-		int[] loff = computeOffsets(lind);
-		if( loff.length==0 ) { //empty offset list: go back to fast path
-			return new ColGroupRLE(_colIndexes, _numRows, true,
-					applyScalarOp(op), _data, _ptr);
+		for (int k = 0; k < numVals; k++) {
+			int boff = _ptr[k];
+			int blen = len(k);
+			Pair<Integer,Integer> tmp = skipScanVal(k, rl);
+			int bix = tmp.getKey();
+			int start = tmp.getValue();
+			
+			//scatter pre-aggregated row to all rows of the runs, not aligned
+			for( ; bix<blen; bix+=2 ) {
+				int lstart = start + _data[boff + bix];
+				int lend = lstart + _data[boff + bix + 1];
+				for( int rix=Math.max(rl, lstart); rix<Math.min(lend, ru); rix++ )
+					LinearAlgebraUtils.vectAdd(aval, c, k*bclen, rix*bclen, bclen);
+				if( lend >= ru )
+					break;
+				start = lend;
+			}
 		}
+	}
+	
+	@Override
+	public void leftMultByMatrix(double[] at, int alen, MatrixBlock result)
+		throws DMLRuntimeException 
+	{
+		double[] c = result.getDenseBlockValues();
+		final int numVals = getNumValues();
 		
-		double[] rvalues = applyScalarOp(op, val0, getNumCols());		
-		char[] lbitmap = BitmapEncoder.genRLEBitmap(loff, loff.length);
-		char[] rbitmaps = Arrays.copyOf(_data, _data.length+lbitmap.length);
-		System.arraycopy(lbitmap, 0, rbitmaps, _data.length, lbitmap.length);
-		int[] rbitmapOffs = Arrays.copyOf(_ptr, _ptr.length+1);
-		rbitmapOffs[rbitmapOffs.length-1] = rbitmaps.length; 
+		//iterate over all values and their runs and pre-aggregate lhs rows
+		double[] cvals = new double[numVals * alen];
+		for (int k = 0; k < numVals; k++) {
+			int boff = _ptr[k];
+			int blen = len(k);
+			int curRunEnd = 0;
+			for ( int bix = 0; bix < blen; bix+=2 ) {
+				int curRunStartOff = curRunEnd + _data[boff+bix];
+				curRunEnd = curRunStartOff + _data[boff+bix+1];
+				for( int rix=curRunStartOff; rix<curRunEnd; rix++ )
+					LinearAlgebraUtils.vectAdd(at, cvals, rix*alen, k*alen, alen);
+			}
+		}
 		
-		return new ColGroupRLE(_colIndexes, _numRows, loff.length<_numRows,
-				rvalues, rbitmaps, rbitmapOffs);
+		//scale partial results by values and write to global output
+		postScaling(cvals, alen, c, result.getNumColumns());
 	}
 
 	@Override
@@ -478,7 +509,7 @@ public class ColGroupRLE extends ColGroupOffset
 		KahanPlus kplus2 = KahanPlus.getKahanPlusFnObject();
 		
 		final int numVals = getNumValues();
-		double[] c = result.getDenseBlock();
+		double[] c = result.getDenseBlockValues();
 		
 		if( ALLOW_CACHE_CONSCIOUS_ROWSUMS 
 			&& LOW_LEVEL_OPT && numVals > 1 
@@ -591,7 +622,7 @@ public class ColGroupRLE extends ColGroupOffset
 	{
 		//NOTE: zeros handled once for all column groups outside
 		final int numVals = getNumValues();
-		double[] c = result.getDenseBlock();
+		double[] c = result.getDenseBlockValues();
 		
 		for (int k = 0; k < numVals; k++) {
 			int boff = _ptr[k];
@@ -611,6 +642,7 @@ public class ColGroupRLE extends ColGroupOffset
 		}
 	}
 	
+	@Override
 	public boolean[] computeZeroIndicatorVector()
 		throws DMLRuntimeException 
 	{	
@@ -28,13 +28,17 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.utils.LinearAlgebraUtils;
 import org.apache.sysml.runtime.functionobjects.ReduceRow;
 import org.apache.sysml.runtime.matrix.data.LibMatrixAgg;
 import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
 import org.apache.sysml.runtime.matrix.data.SparseBlock.Type;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 import org.apache.sysml.runtime.util.SortUtils;
 
 
@@ -276,7 +280,7 @@ public class ColGroupUncompressed extends ColGroup
 		
 		MatrixBlock shortVector = new MatrixBlock(clen, 1, false);
 		shortVector.allocateDenseBlock();
-		double[] b = shortVector.getDenseBlock();
+		double[] b = shortVector.getDenseBlockValues();
 		for (int colIx = 0; colIx < clen; colIx++)
 			b[colIx] = vector.quickGetValue(_colIndexes[colIx], 0);
 		shortVector.recomputeNonZeros();
@@ -293,7 +297,7 @@ public class ColGroupUncompressed extends ColGroup
 		
 		MatrixBlock shortVector = new MatrixBlock(clen, 1, false);
 		shortVector.allocateDenseBlock();
-		double[] b = shortVector.getDenseBlock();
+		double[] b = shortVector.getDenseBlockValues();
 		for (int colIx = 0; colIx < clen; colIx++)
 			b[colIx] = vector.quickGetValue(_colIndexes[colIx], 0);
 		shortVector.recomputeNonZeros();
@@ -311,7 +315,7 @@ public class ColGroupUncompressed extends ColGroup
 		
 		// copying partialResult to the proper indices of the result
 		if( !pret.isEmptyBlock(false) ) {
-			double[] rsltArr = result.getDenseBlock();
+			double[] rsltArr = result.getDenseBlockValues();
 			for (int colIx = 0; colIx < _colIndexes.length; colIx++)
 				rsltArr[_colIndexes[colIx]] = pret.quickGetValue(0, colIx);
 			result.recomputeNonZeros();
@@ -326,13 +330,86 @@ public class ColGroupUncompressed extends ColGroup
 		
 		// copying partialResult to the proper indices of the result
 		if( !pret.isEmptyBlock(false) ) {
-			double[] rsltArr = result.getDenseBlock();
+			double[] rsltArr = result.getDenseBlockValues();
 			for (int colIx = 0; colIx < _colIndexes.length; colIx++)
 				rsltArr[_colIndexes[colIx]] = pret.quickGetValue(0, colIx);
 			result.recomputeNonZeros();
 		}
 	}
 
+	@Override
+	public void rightMultByMatrix(double[] b, int bclen, MatrixBlock result, int rl, int ru)
+			throws DMLRuntimeException 
+	{
+		if( _data.isEmptyBlock(false) )
+			return;
+		
+		// Add the selected columns times the relevant rows of the rhs matrix
+		// (accumulates into the output, hence independent of group order)
+		double[] c = result.getDenseBlockValues();
+		if( _data.isInSparseFormat() ) {
+			SparseBlock a = _data.getSparseBlock();
+			for( int i=rl; i<ru; i++ ) {
+				if( a.isEmpty(i) ) continue;
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				for( int k=apos; k<apos+alen; k++ )
+					LinearAlgebraUtils.vectMultiplyAdd(avals[k], b, c, 
+						_colIndexes[aix[k]]*bclen, i*bclen, bclen);
+			}
+		}
+		else {
+			double[] a = _data.getDenseBlockValues();
+			final int ncol = _colIndexes.length;
+			for( int i=rl, aix=rl*ncol; i<ru; i++, aix+=ncol )
+				for( int j=0; j<ncol; j++ )
+					if( a[aix+j] != 0 )
+						LinearAlgebraUtils.vectMultiplyAdd(a[aix+j], b, c, 
+							_colIndexes[j]*bclen, i*bclen, bclen);
+		}
+	}
+	
+	@Override
+	public void leftMultByMatrix(double[] at, int alen, MatrixBlock result)
+			throws DMLRuntimeException 
+	{
+		if( _data.isEmptyBlock(false) )
+			return;
+		
+		// Compute partial results in transposed layout (ncol x alen)
+		final int ncol = _colIndexes.length;
+		final int nrow = _data.getNumRows();
+		double[] tmp = new double[ncol * alen];
+		if( _data.isInSparseFormat() ) {
+			SparseBlock a = _data.getSparseBlock();
+			for( int i=0; i<nrow; i++ ) {
+				if( a.isEmpty(i) ) continue;
+				int apos = a.pos(i);
+				int len = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				for( int k=apos; k<apos+len; k++ )
+					LinearAlgebraUtils.vectMultiplyAdd(avals[k], at, tmp, i*alen, aix[k]*alen, alen);
+			}
+		}
+		else {
+			double[] a = _data.getDenseBlockValues();
+			for( int i=0, aix=0; i<nrow; i++, aix+=ncol )
+				for( int j=0; j<ncol; j++ )
+					if( a[aix+j] != 0 )
+						LinearAlgebraUtils.vectMultiplyAdd(a[aix+j], at, tmp, i*alen, j*alen, alen);
+		}
+		
+		// Copy partial results to the proper indices of the result
+		double[] c = result.getDenseBlockValues();
+		final int clen = result.getNumColumns();
+		for( int j=0; j<ncol; j++ )
+			for( int i=0, cix=_colIndexes[j]; i<alen; i++, cix+=clen )
+				c[cix] += tmp[j*alen+i];
+	}
+
 	@Override
 	public ColGroup scalarOperation(ScalarOperator op)
 			throws DMLRuntimeException 
@@ -345,6 +422,35 @@ public class ColGroupUncompressed extends ColGroup
 		return new ColGroupUncompressed(getColIndices(), _data.getNumRows(), retContent);
 	}
 	
+	@Override
+	public ColGroup unaryOperation(UnaryOperator op)
+			throws DMLRuntimeException 
+	{
+		//execute unary operations
+		MatrixBlock retContent = (MatrixBlock) _data
+				.unaryOperations(op, new MatrixBlock());
+
+		//construct new uncompressed column group
+		return new ColGroupUncompressed(getColIndices(), _data.getNumRows(), retContent);
+	}
+	
+	@Override
+	public ColGroup binaryRowOperation(BinaryOperator op, double[] v)
+			throws DMLRuntimeException 
+	{
+		//slice row vector to the columns of this group
+		MatrixBlock vslice = new MatrixBlock(1, _colIndexes.length, false);
+		for( int j=0; j<_colIndexes.length; j++ )
+			vslice.appendValue(0, j, v[_colIndexes[j]]);
+		
+		//execute binary operations
+		MatrixBlock retContent = (MatrixBlock) _data
+				.binaryOperations(op, vslice, new MatrixBlock());
+
+		//construct new uncompressed column group
+		return new ColGroupUncompressed(getColIndices(), _data.getNumRows(), retContent);
+	}
+	
 	@Override
 	public void unaryAggregateOperations(AggregateUnaryOperator op, MatrixBlock ret)
 		throws DMLRuntimeException 
@@ -22,14 +22,17 @@ package org.apache.sysml.runtime.compress;
 import java.util.Arrays;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.utils.LinearAlgebraUtils;
 import org.apache.sysml.runtime.functionobjects.Builtin;
 import org.apache.sysml.runtime.functionobjects.Builtin.BuiltinCode;
 import org.apache.sysml.runtime.functionobjects.KahanFunction;
 import org.apache.sysml.runtime.functionobjects.KahanPlus;
+import org.apache.sysml.runtime.functionobjects.ValueFunction;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
 
 
 /**
@@ -191,6 +194,50 @@ public abstract class ColGroupValue extends ColGroup
 		return ret;
 	}
 	
+	/**
+	 * Pre-aggregates all distinct value tuples against the relevant rows of 
+	 * a dense rhs matrix, i.e., computes one output row per value tuple.
+	 * 
+	 * @param numVals number of values
+	 * @param b dense rhs matrix (clen x bclen)
+	 * @param bclen number of columns of the rhs matrix
+	 * @return linearized pre-aggregates (numVals x bclen)
+	 */
+	protected final double[] preaggValues(int numVals, double[] b, int bclen) {
+		final int numCols = getNumCols();
+		double[] ret = new double[numVals * bclen];
+		for( int k=0, valOff=0; k<numVals; k++, valOff+=numCols )
+			for( int j=0; j<numCols; j++ ) {
+				double val = _values[valOff+j];
+				if( val != 0 )
+					LinearAlgebraUtils.vectMultiplyAdd(val, b, ret, 
+						_colIndexes[j]*bclen, k*bclen, bclen);
+			}
+		
+		return ret;
+	}
+	
+	/**
+	 * Scales the per-value pre-aggregates of a left matrix multiplication by
+	 * all distinct value tuples and adds the results to the output.
+	 * 
+	 * @param agg linearized pre-aggregates (numVals x alen)
+	 * @param alen number of rows of the lhs matrix
+	 * @param c dense output (alen x clen)
+	 * @param clen number of columns of the output
+	 */
+	protected final void postScaling(double[] agg, int alen, double[] c, int clen) {
+		final int numVals = getNumValues();
+		final int numCols = getNumCols();
+		for( int k=0, valOff=0; k<numVals; k++, valOff+=numCols )
+			for( int i=0, aix=k*alen; i<alen; i++, aix++ ) {
+				double aval = agg[aix];
+				if( aval != 0 )
+					for( int j=0, cix=i*clen; j<numCols; j++ )
+						c[cix+_colIndexes[j]] += aval * _values[valOff+j];
+			}
+	}
+	
 	/**
 	 * NOTE: Shared across OLE/RLE/DDC because value-only computation. 
 	 * 
@@ -268,17 +315,50 @@ public abstract class ColGroupValue extends ColGroup
 		return ret;
 	}
 
-	protected double[] applyScalarOp(ScalarOperator op, double newVal, int numCols)
+	/**
+	 * Method for use by subclasses. Applies a cellwise unary operation to the 
+	 * value metadata stored in the superclass.
+	 * 
+	 * @param op
+	 *            unary operation to perform
+	 * @return transformed copy of value metadata for this column group
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	protected double[] applyUnaryOp(UnaryOperator op)
 		throws DMLRuntimeException 
 	{
 		//scan over linearized values
-		double[] ret = new double[_values.length + numCols];
-		for( int i = 0; i < _values.length; i++ ) {
-			ret[i] = op.executeScalar(_values[i]);
+		double[] ret = new double[_values.length];
+		for (int i = 0; i < _values.length; i++) {
+			ret[i] = op.fn.execute(_values[i]);
 		}
+
+		return ret;
+	}
+	
+	/**
+	 * Method for use by subclasses. Applies a binary operation with a row 
+	 * vector to the value metadata stored in the superclass, where each 
+	 * value tuple is combined with the vector entries of the group columns.
+	 * 
+	 * @param fn
+	 *            binary function to apply
+	 * @param v
+	 *            dense row vector over all columns of the parent block
+	 * @return transformed copy of value metadata for this column group
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	protected double[] applyBinaryRowOp(ValueFunction fn, double[] v)
+		throws DMLRuntimeException 
+	{
+		final int numVals = getNumValues();
+		final int numCols = getNumCols();
 		
-		//add new value to the end
-		Arrays.fill(ret, _values.length, _values.length+numCols, newVal);
+		//scan over value tuples and columns
+		double[] ret = new double[_values.length];
+		for( int k=0, off=0; k<numVals; k++, off+=numCols )
+			for( int j=0; j<numCols; j++ )
+				ret[off+j] = fn.execute(_values[off+j], v[_colIndexes[j]]);
 		
 		return ret;
 	}
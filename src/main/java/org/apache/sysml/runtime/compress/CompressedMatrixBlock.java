@@ -67,6 +67,7 @@ import org.apache.sysml.runtime.instructions.cp.CM_COV_Object;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.instructions.cp.ScalarObject;
 import org.apache.sysml.runtime.matrix.data.CTableMap;
+import org.apache.sysml.runtime.matrix.data.LibMatrixAgg;
 import org.apache.sysml.runtime.matrix.data.LibMatrixBincell;
 import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
@@ -87,6 +88,7 @@ import org.apache.sysml.runtime.matrix.operators.QuaternaryOperator;
 import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
 import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysml.runtime.util.DataConverter;
 import org.apache.sysml.runtime.util.IndexRange;
 
 /**
@@ -156,6 +158,21 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		nonZeros = mb.getNonZeros();
 	}
 
+	/**
+	 * Constructor for building a compressed block from existing column
+	 * groups, e.g., for partitioned writes and reads of compressed blocks.
+	 *
+	 * @param rl number of rows in the block
+	 * @param cl number of columns
+	 * @param nnz number of non-zeros
+	 * @param colGroups column groups (shallow copy)
+	 */
+	public CompressedMatrixBlock(int rl, int cl, long nnz, ArrayList<ColGroup> colGroups) {
+		super(rl, cl, evalSparseFormatInMemory(rl, cl, nnz));
+		nonZeros = nnz;
+		_colGroups = colGroups;
+	}
+
 	/**
 	 * Obtain the column groups.
 	 * 
@@ -689,8 +706,12 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	@Override
 	public long getExactSizeOnDisk() 
 	{
-		//header information
-		long ret = 12;
+		//compression flag and uncompressed block
+		if( !isCompressed() )
+			return 1 + super.getExactSizeOnDisk();
+		
+		//header information (flag, dims, nnz, num groups)
+		long ret = 21;
 		
 		for( ColGroup grp : _colGroups ) {
 			ret += 1; //type info
@@ -700,6 +721,43 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		return ret;
 	}
 	
+	@Override
+	public void recomputeNonZeros() {
+		if( !isCompressed() ) {
+			super.recomputeNonZeros();
+			return;
+		}
+		
+		//count non-zeros per row over all column groups, in 
+		//blocks of rows to bound the size of the temporary counts
+		final int blksz = BitmapEncoder.BITMAP_BLOCK_SZ;
+		int[] rnnz = new int[Math.min(rlen, blksz)];
+		long nnz = 0;
+		for( int rl=0; rl<rlen; rl+=blksz ) {
+			int ru = Math.min(rl+blksz, rlen);
+			Arrays.fill(rnnz, 0);
+			for( ColGroup grp : _colGroups )
+				grp.countNonZerosPerRow(rnnz, rl, ru);
+			for( int i=0; i<ru-rl; i++ )
+				nnz += rnnz[i];
+		}
+		nonZeros = nnz;
+	}
+	
+	@Override
+	public long getInMemorySize() {
+		//size of column groups if compressed, otherwise default block
+		return isCompressed() ? 
+			estimateCompressedSizeInMemory() : super.getInMemorySize();
+	}
+	
+	@Override
+	public boolean isShallowSerialize() {
+		//compressed blocks are never modified in-place and hence
+		//can be kept by reference in the buffer pool
+		return isCompressed() || super.isShallowSerialize();
+	}
+	
 	@Override
 	public void readFields(DataInput in) 
 		throws IOException 
@@ -826,10 +884,146 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			newColGroups.add(grp.scalarOperation(sop));
 		}
 		ret._colGroups = newColGroups;
-		ret.setNonZeros(rlen*clen);
+		ret.recomputeNonZeros();
+		
+		return ret;
+	}
+	
+	@Override
+	public MatrixValue unaryOperations(UnaryOperator op, MatrixValue result) 
+		throws DMLRuntimeException
+	{
+		//call uncompressed matrix unary if necessary
+		if( !isCompressed() ) {
+			return super.unaryOperations(op, result);
+		}
+		
+		//decompress for cumulative aggregates (row dependencies)
+		if( LibMatrixAgg.isSupportedUnaryOperator(op) ) {
+			printDecompressWarning("unaryOperations");
+			return decompress().unaryOperations(op, result);
+		}
+		
+		//allocate the output matrix block
+		CompressedMatrixBlock ret = null;
+		if( result==null || !(result instanceof CompressedMatrixBlock) )
+			ret = new CompressedMatrixBlock(getNumRows(), getNumColumns(), sparse);
+		else {
+			ret = (CompressedMatrixBlock) result;
+			ret.reset(rlen, clen);
+		}
+		
+		// Apply the cellwise operation to the values of each column group.
+		ret._colGroups = unaryOperations(_colGroups, op);
+		ret.recomputeNonZeros();
+		
+		return ret;
+	}
+	
+	@Override
+	public void unaryOperationsInPlace(UnaryOperator op) 
+		throws DMLRuntimeException
+	{
+		if( !isCompressed() ) {
+			super.unaryOperationsInPlace(op);
+			return;
+		}
+		if( LibMatrixAgg.isSupportedUnaryOperator(op) ) {
+			printDecompressWarning("unaryOperationsInPlace");
+			MatrixBlock tmp = decompress();
+			tmp.unaryOperationsInPlace(op);
+			replaceWithUncompressed(tmp);
+			return;
+		}
+		
+		//replace column groups (bitmaps potentially shared)
+		_colGroups = unaryOperations(_colGroups, op);
+		recomputeNonZeros();
+	}
+	
+	@Override
+	public MatrixValue binaryOperations(BinaryOperator op, MatrixValue thatValue, MatrixValue result) 
+		throws DMLRuntimeException
+	{
+		//call uncompressed matrix binary for unsupported access types
+		MatrixBlock that = (MatrixBlock) thatValue;
+		if( !isCompressed() ) {
+			return super.binaryOperations(op, getUncompressed(that), result);
+		}
+		if( !isNativeBinaryOp(that) ) {
+			printDecompressWarning("binaryOperations", that);
+			return decompress().binaryOperations(op, getUncompressed(that), result);
+		}
+		
+		//allocate the output matrix block
+		CompressedMatrixBlock ret = null;
+		if( result==null || !(result instanceof CompressedMatrixBlock) )
+			ret = new CompressedMatrixBlock(getNumRows(), getNumColumns(), sparse);
+		else {
+			ret = (CompressedMatrixBlock) result;
+			ret.reset(rlen, clen);
+		}
+		
+		// Apply the row vector operation to the values of each column group.
+		ret._colGroups = binaryRowOperations(_colGroups, op, that);
+		ret.recomputeNonZeros();
 		
 		return ret;
 	}
+	
+	@Override
+	public void binaryOperationsInPlace(BinaryOperator op, MatrixValue thatValue) 
+		throws DMLRuntimeException
+	{
+		MatrixBlock that = (MatrixBlock) thatValue;
+		if( !isCompressed() ) {
+			super.binaryOperationsInPlace(op, getUncompressed(that));
+			return;
+		}
+		if( !isNativeBinaryOp(that) ) {
+			printDecompressWarning("binaryOperationsInPlace", that);
+			MatrixBlock tmp = decompress();
+			tmp.binaryOperationsInPlace(op, getUncompressed(that));
+			replaceWithUncompressed(tmp);
+			return;
+		}
+		
+		//replace column groups (bitmaps potentially shared)
+		_colGroups = binaryRowOperations(_colGroups, op, that);
+		recomputeNonZeros();
+	}
+	
+	private void replaceWithUncompressed(MatrixBlock mb) {
+		//drop column groups and take over the uncompressed content
+		_colGroups = null;
+		super.copy(mb);
+	}
+	
+	private boolean isNativeBinaryOp(MatrixBlock that) {
+		//row vector broadcasts (incl 1-row matrices) over uncompressed rhs,
+		//other broadcasts require cell-specific values and hence decompression
+		return !isCompressed(that) && that.getNumRows() == 1 
+			&& that.getNumColumns() == clen;
+	}
+	
+	private static ArrayList<ColGroup> unaryOperations(ArrayList<ColGroup> groups, UnaryOperator op) 
+		throws DMLRuntimeException
+	{
+		ArrayList<ColGroup> ret = new ArrayList<ColGroup>();
+		for (ColGroup grp : groups)
+			ret.add(grp.unaryOperation(op));
+		return ret;
+	}
+	
+	private static ArrayList<ColGroup> binaryRowOperations(ArrayList<ColGroup> groups, BinaryOperator op, MatrixBlock that) 
+		throws DMLRuntimeException
+	{
+		double[] v = DataConverter.convertToDoubleVector(that);
+		ArrayList<ColGroup> ret = new ArrayList<ColGroup>();
+		for (ColGroup grp : groups)
+			ret.add(grp.binaryRowOperation(op, v));
+		return ret;
+	}
 
 	@Override
 	public MatrixBlock appendOperations(MatrixBlock that, MatrixBlock ret) 
@@ -989,7 +1183,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			ret.reset(rl, cl, false, rl*cl);
 		
 		//compute matrix mult
-		if( mv1.getNumRows()>1 && mv2.getNumColumns()==1 ) { //MV right
+		if( this==mv1 && mv2.getNumColumns()==1 ) { //MV right
 			CompressedMatrixBlock cmb = (CompressedMatrixBlock)mv1;
 			MatrixBlock mb = (MatrixBlock) mv2;
 			if( op.getNumThreads()>1 )
@@ -997,17 +1191,20 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			else
 				cmb.rightMultByVector(mb, ret);
 		}
-		else if( mv1.getNumRows()==1 && mv2.getNumColumns()>1 ) { //MV left
+		else if( this==mv2 && mv1.getNumRows()==1 ) { //MV left
 			MatrixBlock mb = (MatrixBlock) mv1;
 			if( op.getNumThreads()>1 )
 				leftMultByVectorTranspose(_colGroups, mb, ret, false, op.getNumThreads());
 			else
 				leftMultByVectorTranspose(_colGroups, mb, ret, false);
 		}
-		else {
-			//NOTE: we could decompress and invoke super.aggregateBinary but for now
-			//we want to have an eager fail if this happens
-			throw new DMLRuntimeException("Unsupported matrix-matrix multiplication over compressed matrix block.");
+		else if( this==mv1 ) { //MM right
+			MatrixBlock mb = getUncompressed(mv2);
+			rightMultByMatrix(mb, ret, op.getNumThreads());
+		}
+		else { //MM left
+			MatrixBlock mb = getUncompressed(mv1);
+			leftMultByMatrix(_colGroups, mb, ret, op.getNumThreads());
 		}
 		
 		if( LOG.isDebugEnabled() )
@@ -1059,10 +1256,11 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		MatrixBlock ret = (MatrixBlock) result;
 		ret.allocateDenseBlock();
 		
-		//special handling init value for rowmins/rowmax
-		if( op.indexFn instanceof ReduceCol && op.aggOp.increOp.fn instanceof Builtin ) {
+		//special handling init value for rowmins/rowmax and min/max
+		if( (op.indexFn instanceof ReduceCol || op.indexFn instanceof ReduceAll) 
+			&& op.aggOp.increOp.fn instanceof Builtin ) {
 			double val = Double.MAX_VALUE * ((((Builtin)op.aggOp.increOp.fn).getBuiltinCode()==BuiltinCode.MAX)?-1:1);
-			Arrays.fill(ret.getDenseBlock(), val);
+			Arrays.fill(ret.getDenseBlockValues(), val);
 		}
 		
 		//core unary aggregate
@@ -1473,6 +1671,112 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		result.recomputeNonZeros();
 	}
 
+	/**
+	 * Multiply this matrix block by a dense or sparse matrix on the right. 
+	 * All column groups pre-aggregate their distinct value tuples against 
+	 * the rhs once and scatter the resulting rows to their offsets.
+	 * 
+	 * @param that right-hand operand of the multiplication
+	 * @param result buffer to hold the result
+	 * @param k number of threads
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private void rightMultByMatrix(MatrixBlock that, MatrixBlock result, int k)
+		throws DMLRuntimeException 
+	{
+		// initialize and allocate the result
+		result.allocateDenseBlock();
+		
+		// prepare dense rhs, shared across all groups and threads
+		double[] b = DataConverter.convertToDoubleVector(that);
+		final int bclen = that.getNumColumns();
+		
+		if( k <= 1 ) {
+			rightMultByMatrix(_colGroups, b, bclen, result, 0, rlen);
+			result.recomputeNonZeros();
+			return;
+		}
+		
+		//multi-threaded execution of all groups over aligned row partitions
+		try {
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			int seqsz = BitmapEncoder.BITMAP_BLOCK_SZ;
+			int blklen = (int)(Math.ceil((double)rlen/k));
+			blklen += (blklen%seqsz != 0)?seqsz-blklen%seqsz:0;
+			ArrayList<RightMatrixMatrixMultTask> tasks = new ArrayList<RightMatrixMatrixMultTask>();
+			for( int i=0; i<k & i*blklen<rlen; i++ )
+				tasks.add(new RightMatrixMatrixMultTask(_colGroups, b, bclen, result, i*blklen, Math.min((i+1)*blklen,rlen)));
+			List<Future<Long>> ret = pool.invokeAll(tasks);	
+			pool.shutdown();
+			
+			//error handling and nnz aggregation
+			long lnnz = 0;
+			for( Future<Long> tmp : ret )
+				lnnz += tmp.get(); 
+			result.setNonZeros(lnnz);
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private static void rightMultByMatrix(ArrayList<ColGroup> groups, double[] b, int bclen, MatrixBlock ret, int rl, int ru) 
+		throws DMLRuntimeException 
+	{
+		//all groups add to the output (incl uncompressed group)
+		for( ColGroup grp : groups )
+			grp.rightMultByMatrix(b, bclen, ret, rl, ru);
+	}
+	
+	/**
+	 * Multiply this matrix block by a dense or sparse matrix on the left. 
+	 * The lhs is transposed once such that all column groups pre-aggregate
+	 * lhs rows per distinct value tuple in a single scan over their offsets.
+	 * 
+	 * @param colGroups list of column groups
+	 * @param that left-hand operand of the multiplication
+	 * @param result buffer to hold the result
+	 * @param k number of threads
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static void leftMultByMatrix(List<ColGroup> colGroups, MatrixBlock that, MatrixBlock result, int k) 
+		throws DMLRuntimeException 
+	{
+		// initialize and allocate the result
+		result.reset();
+		result.allocateDenseBlock();
+		
+		// prepare dense transposed lhs, shared across all groups and threads
+		final int alen = that.getNumRows();
+		MatrixBlock tmp = LibMatrixReorg.transpose(that, 
+			new MatrixBlock(that.getNumColumns(), alen, false));
+		double[] at = DataConverter.convertToDoubleVector(tmp);
+		
+		if( k <= 1 || colGroups.size() <= 1 ) {
+			for( ColGroup grp : colGroups )
+				grp.leftMultByMatrix(at, alen, result);
+		}
+		else {
+			//multi-threaded execution over column groups (disjoint output columns)
+			try {
+				ExecutorService pool = Executors.newFixedThreadPool( Math.min(colGroups.size(), k) );
+				ArrayList<LeftMatrixMatrixMultTask> tasks = new ArrayList<LeftMatrixMatrixMultTask>();
+				for( ColGroup grp : colGroups )
+					tasks.add(new LeftMatrixMatrixMultTask(grp, at, alen, result));
+				List<Future<Object>> ret = pool.invokeAll(tasks);	
+				pool.shutdown();
+				for( Future<Object> rtask : ret )
+					rtask.get(); //error handling
+			}
+			catch(Exception ex) {
+				throw new DMLRuntimeException(ex);
+			}
+		}
+		
+		// post-processing
+		result.recomputeNonZeros();
+	}
+
 	private static void leftMultByTransposeSelf(ArrayList<ColGroup> groups, MatrixBlock result, int gl, int gu)
 		throws DMLRuntimeException 
 	{
@@ -1588,6 +1892,52 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		}
 	}
 	
+	private static class RightMatrixMatrixMultTask implements Callable<Long> 
+	{
+		private final ArrayList<ColGroup> _groups;
+		private final double[] _b;
+		private final int _bclen;
+		private final MatrixBlock _ret;
+		private final int _rl;
+		private final int _ru;
+		
+		protected RightMatrixMatrixMultTask( ArrayList<ColGroup> groups, double[] b, int bclen, MatrixBlock ret, int rl, int ru)  {
+			_groups = groups;
+			_b = b;
+			_bclen = bclen;
+			_ret = ret;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() throws DMLRuntimeException {
+			rightMultByMatrix(_groups, _b, _bclen, _ret, _rl, _ru);
+			return _ret.recomputeNonZeros(_rl, _ru-1, 0, _bclen-1);
+		}
+	}
+	
+	private static class LeftMatrixMatrixMultTask implements Callable<Object> 
+	{
+		private final ColGroup _group;
+		private final double[] _at;
+		private final int _alen;
+		private final MatrixBlock _ret;
+		
+		protected LeftMatrixMatrixMultTask( ColGroup group, double[] at, int alen, MatrixBlock ret)  {
+			_group = group;
+			_at = at;
+			_alen = alen;
+			_ret = ret;
+		}
+		
+		@Override
+		public Object call() throws DMLRuntimeException {
+			_group.leftMultByMatrix(_at, _alen, _ret);
+			return null;
+		}
+	}
+	
 	private static class MatrixMultTransposeTask implements Callable<Object> 
 	{
 		private final ArrayList<ColGroup> _groups;
@@ -1627,7 +1977,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 				_ret = new MatrixBlock(ret.getNumRows(), ret.getNumColumns(), false);
 				_ret.allocateDenseBlock();
 				if( _op.aggOp.increOp.fn instanceof Builtin )
-					System.arraycopy(ret.getDenseBlock(), 0, _ret.getDenseBlock(), 0, ret.getNumRows()*ret.getNumColumns());
+					System.arraycopy(ret.getDenseBlockValues(), 0, _ret.getDenseBlockValues(), 0, ret.getNumRows()*ret.getNumColumns());
 			}
 			else { //colSums
 				_ret = ret;
@@ -1723,40 +2073,6 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	//////////////////////////////////////////
 	// Graceful fallback to uncompressed linear algebra
 	
-	@Override
-	public MatrixValue unaryOperations(UnaryOperator op, MatrixValue result) 
-			throws DMLRuntimeException {
-		printDecompressWarning("unaryOperations");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
-		return tmp.unaryOperations(op, result);
-	}
-
-	@Override
-	public void unaryOperationsInPlace(UnaryOperator op) 
-			throws DMLRuntimeException {
-		printDecompressWarning("unaryOperationsInPlace");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
-		tmp.unaryOperationsInPlace(op);
-	}
-
-	@Override
-	public MatrixValue binaryOperations(BinaryOperator op, MatrixValue thatValue, MatrixValue result) 
-			throws DMLRuntimeException {
-		printDecompressWarning("binaryOperations", (MatrixBlock)thatValue);
-		MatrixBlock left = isCompressed() ? decompress() : this;
-		MatrixBlock right = getUncompressed(thatValue);
-		return left.binaryOperations(op, right, result);
-	}
-
-	@Override
-	public void binaryOperationsInPlace(BinaryOperator op, MatrixValue thatValue) 
-			throws DMLRuntimeException {
-		printDecompressWarning("binaryOperationsInPlace", (MatrixBlock)thatValue);
-		MatrixBlock left = isCompressed() ? decompress() : this;
-		MatrixBlock right = getUncompressed(thatValue);
-		left.binaryOperationsInPlace(op, right);
-	}
-
 	@Override
 	public void incrementalAggregate(AggregateOperator aggOp, MatrixValue correction, MatrixValue newWithCorrection)
 			throws DMLRuntimeException {
@@ -1773,7 +2089,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	public MatrixValue reorgOperations(ReorgOperator op, MatrixValue ret, int startRow, int startColumn, int length)
 			throws DMLRuntimeException {
 		printDecompressWarning("reorgOperations");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
+		MatrixBlock tmp = isCompressed() ? decompress() : getUncompressedBlock();
 		return tmp.reorgOperations(op, ret, startRow, startColumn, length);
 	}
 
@@ -1783,7 +2099,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 		if( cbind ) //use supported operation
 			return appendOperations(that, ret);			
 		printDecompressWarning("appendOperations-rbind", that);
-		MatrixBlock left = isCompressed() ? decompress() : this;
+		MatrixBlock left = isCompressed() ? decompress() : getUncompressedBlock();
 		MatrixBlock right = getUncompressed(that);
 		return left.appendOperations(right, ret, cbind);
 	}
@@ -1794,7 +2110,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			int blockColFactor, boolean cbind, boolean m2IsLast, int nextNCol)
 			throws DMLRuntimeException {
 		printDecompressWarning("appendOperations", (MatrixBlock)v2);
-		MatrixBlock left = isCompressed() ? decompress() : this;
+		MatrixBlock left = isCompressed() ? decompress() : getUncompressedBlock();
 		MatrixBlock right = getUncompressed(v2);
 		left.appendOperations(right, outlist, blockRowFactor, blockColFactor, cbind, m2IsLast, nextNCol);
 	}
@@ -1809,7 +2125,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	public void permutationMatrixMultOperations(MatrixValue m2Val, MatrixValue out1Val, MatrixValue out2Val, int k)
 			throws DMLRuntimeException {
 		printDecompressWarning("permutationMatrixMultOperations", (MatrixBlock)m2Val);
-		MatrixBlock left = isCompressed() ? decompress() : this;
+		MatrixBlock left = isCompressed() ? decompress() : getUncompressedBlock();
 		MatrixBlock right = getUncompressed(m2Val);
 		left.permutationMatrixMultOperations(right, out1Val, out2Val, k);
 	}
@@ -1818,7 +2134,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	public MatrixBlock leftIndexingOperations(MatrixBlock rhsMatrix, int rl, int ru, int cl, int cu, MatrixBlock ret, UpdateType update)
 			throws DMLRuntimeException {
 		printDecompressWarning("leftIndexingOperations");
-		MatrixBlock left = isCompressed() ? decompress() : this;
+		MatrixBlock left = isCompressed() ? decompress() : getUncompressedBlock();
 		MatrixBlock right = getUncompressed(rhsMatrix);
 		return left.leftIndexingOperations(right, rl, ru, cl, cu, ret, update);
 	}
@@ -1827,7 +2143,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	public MatrixBlock leftIndexingOperations(ScalarObject scalar, int rl, int cl, MatrixBlock ret, UpdateType update)
 			throws DMLRuntimeException {
 		printDecompressWarning("leftIndexingOperations");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
+		MatrixBlock tmp = isCompressed() ? decompress() : getUncompressedBlock();
 		return tmp.leftIndexingOperations(scalar, rl, cl, ret, update);
 	}
 
@@ -1835,7 +2151,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	public MatrixBlock sliceOperations(int rl, int ru, int cl, int cu, CacheBlock ret) 
 			throws DMLRuntimeException {
 		printDecompressWarning("sliceOperations");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
+		MatrixBlock tmp = isCompressed() ? decompress() : getUncompressedBlock();
 		return tmp.sliceOperations(rl, ru, cl, cu, ret);
 	}
 
@@ -1845,7 +2161,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			int normalBlockColFactor, int boundaryRlen, int boundaryClen) {
 		printDecompressWarning("sliceOperations");
 		try {
-			MatrixBlock tmp = isCompressed() ? decompress() : this;
+			MatrixBlock tmp = isCompressed() ? decompress() : getUncompressedBlock();
 			tmp.sliceOperations(outlist, range, rowCut, colCut, normalBlockRowFactor,
 					normalBlockColFactor, boundaryRlen, boundaryClen);
 		}
@@ -1858,14 +2174,14 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	public MatrixValue zeroOutOperations(MatrixValue result, IndexRange range, boolean complementary) 
 			throws DMLRuntimeException {
 		printDecompressWarning("zeroOutOperations");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
+		MatrixBlock tmp = isCompressed() ? decompress() : getUncompressedBlock();
 		return tmp.zeroOutOperations(result, range, complementary);
 	}
 
 	@Override
 	public CM_COV_Object cmOperations(CMOperator op) throws DMLRuntimeException {
 		printDecompressWarning("cmOperations");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
+		MatrixBlock tmp = isCompressed() ? decompress() : getUncompressedBlock();
 		return tmp.cmOperations(op);
 	}
 
@@ -1873,7 +2189,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	public CM_COV_Object cmOperations(CMOperator op, MatrixBlock weights)
 			throws DMLRuntimeException {
 		printDecompressWarning("cmOperations");
-		MatrixBlock left = isCompressed() ? decompress() : this;
+		MatrixBlock left = isCompressed() ? decompress() : getUncompressedBlock();
 		MatrixBlock right = getUncompressed(weights);
 		return left.cmOperations(op, right);
 	}
@@ -1882,7 +2198,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	public CM_COV_Object covOperations(COVOperator op, MatrixBlock that)
 			throws DMLRuntimeException {
 		printDecompressWarning("covOperations");
-		MatrixBlock left = isCompressed() ? decompress() : this;
+		MatrixBlock left = isCompressed() ? decompress() : getUncompressedBlock();
 		MatrixBlock right = getUncompressed(that);
 		return left.covOperations(op, right);
 	}
@@ -1891,7 +2207,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	public CM_COV_Object covOperations(COVOperator op, MatrixBlock that, MatrixBlock weights) 
 			throws DMLRuntimeException {
 		printDecompressWarning("covOperations");
-		MatrixBlock left = isCompressed() ? decompress() : this;
+		MatrixBlock left = isCompressed() ? decompress() : getUncompressedBlock();
 		MatrixBlock right1 = getUncompressed(that);
 		MatrixBlock right2 = getUncompressed(weights);
 		return left.covOperations(op, right1, right2);
@@ -1901,7 +2217,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	public MatrixValue sortOperations(MatrixValue weights, MatrixValue result)
 			throws DMLRuntimeException {
 		printDecompressWarning("sortOperations");
-		MatrixBlock left = isCompressed() ? decompress() : this;
+		MatrixBlock left = isCompressed() ? decompress() : getUncompressedBlock();
 		MatrixBlock right = getUncompressed(weights);
 		return left.sortOperations(right, result);
 	}
@@ -1912,7 +2228,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			MatrixValue result, AggregateBinaryOperator op)
 			throws DMLRuntimeException {
 		printDecompressWarning("aggregateBinaryOperations");
-		MatrixBlock left = isCompressed() ? decompress() : this;
+		MatrixBlock left = isCompressed() ? decompress() : getUncompressedBlock();
 		MatrixBlock right = getUncompressed(m2Value);
 		return left.aggregateBinaryOperations(m1Index, left, m2Index, right, result, op);
 	}
@@ -1921,7 +2237,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	public MatrixBlock aggregateTernaryOperations(MatrixBlock m1, MatrixBlock m2, MatrixBlock m3, MatrixBlock ret, AggregateTernaryOperator op, boolean inCP)
 			throws DMLRuntimeException {
 		printDecompressWarning("aggregateTernaryOperations");
-		MatrixBlock left = isCompressed() ? decompress() : this;
+		MatrixBlock left = isCompressed() ? decompress() : getUncompressedBlock();
 		MatrixBlock right1 = getUncompressed(m2);
 		MatrixBlock right2 = getUncompressed(m3);
 		return left.aggregateTernaryOperations(left, right1, right2, ret, op, inCP);
@@ -1932,7 +2248,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			MatrixBlock mbOut, BinaryOperator bOp, AggregateUnaryOperator uaggOp) 
 			throws DMLRuntimeException {
 		printDecompressWarning("uaggouterchainOperations");
-		MatrixBlock left = isCompressed() ? decompress() : this;
+		MatrixBlock left = isCompressed() ? decompress() : getUncompressedBlock();
 		MatrixBlock right = getUncompressed(mbRight);
 		return left.uaggouterchainOperations(left, right, mbOut, bOp, uaggOp);
 	}
@@ -1948,7 +2264,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			MatrixValue ret, int ngroups, Operator op, int k)
 			throws DMLRuntimeException {
 		printDecompressWarning("groupedAggOperations");
-		MatrixBlock left = isCompressed() ? decompress() : this;
+		MatrixBlock left = isCompressed() ? decompress() : getUncompressedBlock();
 		MatrixBlock right = getUncompressed(wghts);
 		return left.groupedAggOperations(left, right, ret, ngroups, op, k);
 	}
@@ -1957,15 +2273,23 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	public MatrixBlock removeEmptyOperations(MatrixBlock ret, boolean rows, MatrixBlock select) 
 			throws DMLRuntimeException {
 		printDecompressWarning("removeEmptyOperations");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
+		MatrixBlock tmp = isCompressed() ? decompress() : getUncompressedBlock();
 		return tmp.removeEmptyOperations(ret, rows, select);
 	}
 
+	@Override
+	public MatrixBlock removeEmptyOperations(MatrixBlock ret, boolean rows, MatrixBlock select, int k) 
+			throws DMLRuntimeException {
+		printDecompressWarning("removeEmptyOperations");
+		MatrixBlock tmp = isCompressed() ? decompress(k) : getUncompressedBlock();
+		return tmp.removeEmptyOperations(ret, rows, select, k);
+	}
+
 	@Override
 	public MatrixBlock removeEmptyOperations(MatrixBlock ret, boolean rows)
 			throws DMLRuntimeException {
 		printDecompressWarning("removeEmptyOperations");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
+		MatrixBlock tmp = isCompressed() ? decompress() : getUncompressedBlock();
 		return tmp.removeEmptyOperations(ret, rows);
 	}
 
@@ -1974,15 +2298,24 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			boolean rows, boolean cast, boolean ignore)
 			throws DMLRuntimeException {
 		printDecompressWarning("rexpandOperations");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
+		MatrixBlock tmp = isCompressed() ? decompress() : getUncompressedBlock();
 		return tmp.rexpandOperations(ret, max, rows, cast, ignore);
 	}
 
+	@Override
+	public MatrixBlock rexpandOperations(MatrixBlock ret, double max,
+			boolean rows, boolean cast, boolean ignore, int k)
+			throws DMLRuntimeException {
+		printDecompressWarning("rexpandOperations");
+		MatrixBlock tmp = isCompressed() ? decompress(k) : getUncompressedBlock();
+		return tmp.rexpandOperations(ret, max, rows, cast, ignore, k);
+	}
+
 	@Override
 	public MatrixValue replaceOperations(MatrixValue result, double pattern, double replacement) 
 			throws DMLRuntimeException {
 		printDecompressWarning("replaceOperations");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
+		MatrixBlock tmp = isCompressed() ? decompress() : getUncompressedBlock();
 		return tmp.replaceOperations(result, pattern, replacement);
 	}
 
@@ -1991,7 +2324,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			MatrixValue that, CTableMap resultMap, MatrixBlock resultBlock)
 			throws DMLRuntimeException {
 		printDecompressWarning("ternaryOperations");
-		MatrixBlock left = isCompressed() ? decompress() : this;
+		MatrixBlock left = isCompressed() ? decompress() : getUncompressedBlock();
 		MatrixBlock right = getUncompressed(that);
 		left.ternaryOperations(op, scalar, right, resultMap, resultBlock);
 	}
@@ -2001,7 +2334,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			double scalar2, CTableMap resultMap, MatrixBlock resultBlock)
 			throws DMLRuntimeException {
 		printDecompressWarning("ternaryOperations");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
+		MatrixBlock tmp = isCompressed() ? decompress() : getUncompressedBlock();
 		tmp.ternaryOperations(op, scalar, scalar2, resultMap, resultBlock);
 	}
 
@@ -2010,7 +2343,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			double scalar, boolean left, int brlen, CTableMap resultMap,
 			MatrixBlock resultBlock) throws DMLRuntimeException {
 		printDecompressWarning("ternaryOperations");
-		MatrixBlock tmp = isCompressed() ? decompress() : this;
+		MatrixBlock tmp = isCompressed() ? decompress() : getUncompressedBlock();
 		tmp.ternaryOperations(op, ix1, scalar, left, brlen, resultMap, resultBlock);
 	}
 
@@ -2019,7 +2352,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			double scalar, boolean ignoreZeros, CTableMap resultMap,
 			MatrixBlock resultBlock) throws DMLRuntimeException {
 		printDecompressWarning("ternaryOperations");
-		MatrixBlock left = isCompressed() ? decompress() : this;
+		MatrixBlock left = isCompressed() ? decompress() : getUncompressedBlock();
 		MatrixBlock right = getUncompressed(that);
 		left.ternaryOperations(op, right, scalar, ignoreZeros, resultMap, resultBlock);
 	}
@@ -2028,7 +2361,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 	public void ternaryOperations(Operator op, MatrixValue that, double scalar, MatrixBlock resultBlock)
 			throws DMLRuntimeException {
 		printDecompressWarning("ternaryOperations");
-		MatrixBlock left = isCompressed() ? decompress() : this;
+		MatrixBlock left = isCompressed() ? decompress() : getUncompressedBlock();
 		MatrixBlock right = getUncompressed(that);
 		left.ternaryOperations(op, right, scalar, resultBlock);
 	}
@@ -2038,7 +2371,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			MatrixValue that2, CTableMap resultMap)
 			throws DMLRuntimeException {
 		printDecompressWarning("ternaryOperations");
-		MatrixBlock left = isCompressed() ? decompress() : this;
+		MatrixBlock left = isCompressed() ? decompress() : getUncompressedBlock();
 		MatrixBlock right1 = getUncompressed(that);
 		MatrixBlock right2 = getUncompressed(that2);
 		left.ternaryOperations(op, right1, right2, resultMap);
@@ -2049,7 +2382,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			MatrixValue that2, CTableMap resultMap, MatrixBlock resultBlock)
 			throws DMLRuntimeException {
 		printDecompressWarning("ternaryOperations");
-		MatrixBlock left = isCompressed() ? decompress() : this;
+		MatrixBlock left = isCompressed() ? decompress() : getUncompressedBlock();
 		MatrixBlock right1 = getUncompressed(that);
 		MatrixBlock right2 = getUncompressed(that2);
 		left.ternaryOperations(op, right1, right2, resultMap, resultBlock);
@@ -2067,7 +2400,7 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 			MatrixValue vm, MatrixValue wm, MatrixValue out, int k) 
 			throws DMLRuntimeException {
 		printDecompressWarning("quaternaryOperations");
-		MatrixBlock left = isCompressed() ? decompress() : this;
+		MatrixBlock left = isCompressed() ? decompress() : getUncompressedBlock();
 		MatrixBlock right1 = getUncompressed(um);
 		MatrixBlock right2 = getUncompressed(vm);
 		MatrixBlock right3 = getUncompressed(wm);
@@ -2106,6 +2439,25 @@ public class CompressedMatrixBlock extends MatrixBlock implements Externalizable
 				(MatrixBlock)mVal;
 	}
 
+	/**
+	 * Obtain an uncompressed block for operations without compressed support.
+	 * Not yet compressed blocks return a shallow copy of their uncompressed data
+	 * because calling the operation on this block would recurse into the same
+	 * fallback.
+	 * 
+	 * @return uncompressed matrix block
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private MatrixBlock getUncompressedBlock() 
+			throws DMLRuntimeException {
+		if( isCompressed() )
+			return decompress();
+		if( !isAllocated() )
+			return new MatrixBlock(rlen, clen, sparse);
+		return sparse ? new MatrixBlock(rlen, clen, nonZeros, sparseBlock) :
+			new MatrixBlock(rlen, clen, denseBlock);
+	}
+
 	private void printDecompressWarning(String operation) {
 		if( isCompressed() ) {
 			LOG.warn("Operation '"+operation+"' not supported yet - decompressing for ULA operations.");
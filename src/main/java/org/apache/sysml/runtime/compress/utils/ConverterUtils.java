@@ -69,7 +69,7 @@ public class ConverterUtils
 		if( vector.isInSparseFormat() )
 			return DataConverter.convertToDoubleVector(vector);
 		else 
-			return vector.getDenseBlock();
+			return vector.getDenseBlockValues();
 	}
 
 	public static MatrixBlock getUncompressedColBlock( ColGroup group )
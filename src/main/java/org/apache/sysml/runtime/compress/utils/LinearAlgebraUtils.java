@@ -149,7 +149,7 @@ public class LinearAlgebraUtils
 
 	public static void copyUpperToLowerTriangle( MatrixBlock ret )
 	{
-		double[] c = ret.getDenseBlock();
+		double[] c = ret.getDenseBlockValues();
 		final int m = ret.getNumRows();
 		final int n = ret.getNumColumns();
 		
@@ -130,8 +130,9 @@ public class ForProgramBlock extends ProgramBlock
 		// execute for loop
 		try 
 		{
-			// prepare update in-place variables
+			// prepare update in-place and read-only variables
 			UpdateType[] flags = prepareUpdateInPlaceVariables(ec, _tid);
+			boolean[] roflags = prepareReadOnlyVariables(ec);
 			
 			// run for loop body for each instance of predicate sequence 
 			SequenceIterator seqIter = new SequenceIterator(iterVarName, from, to, incr);
@@ -147,8 +148,9 @@ public class ForProgramBlock extends ProgramBlock
 				}				
 			}
 			
-			// reset update-in-place variables
+			// reset update-in-place and read-only variables
 			resetUpdateInPlaceVariableFlags(ec, flags);
+			resetReadOnlyVariableFlags(ec, roflags);
 		}
 		catch (DMLScriptException e) {
 			//propagate stop call
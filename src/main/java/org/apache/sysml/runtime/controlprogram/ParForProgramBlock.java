@@ -598,9 +598,12 @@ public class ParForProgramBlock extends ForProgramBlock
 		{		
 			switch( _execMode )
 			{
-				case LOCAL: //create parworkers as local threads
+				case LOCAL: { //create parworkers as local threads
+					boolean[] roflags = prepareReadOnlyVariables(ec);
 					executeLocalParFor(ec, iterVar, from, to, incr);
+					resetReadOnlyVariableFlags(ec, roflags);
 					break;
+				}
 					
 				case REMOTE_MR: // create parworkers as MR tasks (one job per parfor)
 					executeRemoteMRParFor(ec, iterVar, from, to, incr);
@@ -371,6 +371,40 @@ public class ProgramBlock
 			}
 	}
 
+	protected boolean[] prepareReadOnlyVariables(ExecutionContext ec) 
+		throws DMLRuntimeException
+	{
+		if( _sb == null || _sb.getReadOnlyVars().isEmpty() )
+			return null;
+		
+		//mark loop-invariant variables as read-only
+		ArrayList<String> varnames = _sb.getReadOnlyVars();
+		boolean[] flags = new boolean[varnames.size()];
+		for( int i=0; i<flags.length; i++ )
+			if( ec.getVariable(varnames.get(i)) instanceof MatrixObject ) {
+				MatrixObject mo = ec.getMatrixObject(varnames.get(i));
+				flags[i] = mo.isReadOnly();
+				mo.setReadOnly(true);
+			}
+		
+		return flags;
+	}
+
+	protected void resetReadOnlyVariableFlags(ExecutionContext ec, boolean[] flags) 
+		throws DMLRuntimeException
+	{
+		if( flags == null )
+			return;
+		
+		//reset read-only flag to pre-loop status
+		ArrayList<String> varnames = _sb.getReadOnlyVars();
+		for( int i=0; i<varnames.size(); i++ )
+			if( ec.getVariable(varnames.get(i)) instanceof MatrixObject ) {
+				MatrixObject mo = ec.getMatrixObject(varnames.get(i));
+				mo.setReadOnly(flags[i]);
+			}
+	}
+
 	private boolean isRemoveVariableInstruction(Instruction inst)
 	{
 		return ( inst instanceof VariableCPInstruction && ((VariableCPInstruction)inst).isRemoveVariable() );
@@ -153,8 +153,9 @@ public class WhileProgramBlock extends ProgramBlock
 		//execute while loop
 		try 
 		{
-			// prepare update in-place variables
+			// prepare update in-place and read-only variables
 			UpdateType[] flags = prepareUpdateInPlaceVariables(ec, _tid);
+			boolean[] roflags = prepareReadOnlyVariables(ec);
 			
 			//run loop body until predicate becomes false
 			while( executePredicate(ec).getBooleanValue() )
@@ -166,8 +167,9 @@ public class WhileProgramBlock extends ProgramBlock
 				}
 			}
 			
-			// reset update-in-place variables
+			// reset update-in-place and read-only variables
 			resetUpdateInPlaceVariableFlags(ec, flags);
+			resetReadOnlyVariableFlags(ec, roflags);
 		}
 		catch (DMLScriptException e) {
 			//propagate stop call
@@ -25,8 +25,6 @@ import java.io.DataInputStream;
 import java.io.DataOutput;
 import java.io.IOException;
 
-import org.apache.sysml.runtime.matrix.data.FrameBlock;
-import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.util.LocalFileUtils;
 
 /**
@@ -38,7 +36,7 @@ public class ByteBuffer
 {
 	private volatile boolean _serialized;	
 	private volatile boolean _shallow;
-	private volatile boolean _matrix;
+	private volatile int _code;
 	private final long _size;
 	
 	protected byte[]     _bdata = null; //sparse matrix
@@ -53,7 +51,7 @@ public class ByteBuffer
 		throws IOException
 	{	
 		_shallow = cb.isShallowSerialize();
-		_matrix = (cb instanceof MatrixBlock);
+		_code = CacheBlockFactory.getCode(cb);
 		
 		try
 		{
@@ -86,9 +84,9 @@ public class ByteBuffer
 		CacheBlock ret = null;
 		
 		if( !_shallow ) { //sparse matrix / string frame
-			DataInput din = _matrix ? new CacheDataInput(_bdata) :
+			DataInput din = (_code != 1) ? new CacheDataInput(_bdata) :
 				new DataInputStream(new ByteArrayInputStream(_bdata));
-			ret = _matrix ? new MatrixBlock() : new FrameBlock();
+			ret = CacheBlockFactory.newInstance(_code);
 			ret.readFields(din);
 		}
 		else { //dense matrix/frame
@@ -21,6 +21,7 @@ package org.apache.sysml.runtime.controlprogram.caching;
 
 import java.util.ArrayList;
 
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
@@ -37,12 +38,15 @@ public class CacheBlockFactory
 		switch( code ) {
 			case 0: return new MatrixBlock();
 			case 1: return new FrameBlock();
+			case 2: return new CompressedMatrixBlock();
 		}
 		throw new RuntimeException("Unsupported cache block type: "+code);
 	}
 
 	public static int getCode(CacheBlock block) {
-		if( block instanceof MatrixBlock )
+		if( block instanceof CompressedMatrixBlock )
+			return 2;
+		else if( block instanceof MatrixBlock )
 			return 0;
 		else if( block instanceof FrameBlock )
 			return 1;
@@ -52,7 +56,8 @@ public class CacheBlockFactory
 	public static ArrayList<?> getPairList(CacheBlock block) {
 		int code = getCode(block);
 		switch( code ) {
-			case 0: return new ArrayList<Pair<MatrixIndexes,MatrixBlock>>();
+			case 0: 
+			case 2: return new ArrayList<Pair<MatrixIndexes,MatrixBlock>>();
 			case 1: return new ArrayList<Pair<Long,FrameBlock>>();
 		}
 		throw new RuntimeException("Unsupported cache block type: "+code);
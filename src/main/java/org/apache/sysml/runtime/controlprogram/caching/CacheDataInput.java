@@ -87,7 +87,11 @@ public class CacheDataInput implements DataInput, MatrixBlockDataInput
 
 	@Override
 	public char readChar() throws IOException {
-		throw new IOException("Not supported.");
+		char ret = (char)(((_buff[_count] & 0xFF) << 8) 
+			| (_buff[_count+1] & 0xFF));
+		_count += 2;
+		
+		return ret;
 	}
 
 	@Override
@@ -112,7 +116,7 @@ public class CacheDataInput implements DataInput, MatrixBlockDataInput
 
 	@Override
 	public float readFloat() throws IOException {
-		throw new IOException("Not supported.");
+		return Float.intBitsToFloat(readInt());
 	}
 
 	@Override
@@ -91,7 +91,8 @@ public class CacheDataOutput implements DataOutput, MatrixBlockDataOutput
 
 	@Override
 	public void writeChar(int v) throws IOException {
-		throw new IOException("Not supported.");
+		shortToBa(v, _buff, _count);
+		_count += 2;
 	}
 
 	@Override
@@ -101,7 +102,7 @@ public class CacheDataOutput implements DataOutput, MatrixBlockDataOutput
 	
 	@Override
 	public void writeFloat(float v) throws IOException {
-		throw new IOException("Not supported.");
+		writeInt(Float.floatToRawIntBits(v));
 	}
 
 	@Override
@@ -61,6 +61,9 @@ public class CacheStatistics
 	private static AtomicLong _numWritesFS     = null;
 	private static AtomicLong _numWritesHDFS   = null;
 	
+	//conversion statistics (read-only blocks)
+	private static AtomicLong _numSparseConv   = null;
+	
 	//time statistics caching
 	private static AtomicLong _ctimeAcquireR   = null; //in nano sec
 	private static AtomicLong _ctimeAcquireM   = null; //in nano sec
@@ -83,6 +86,8 @@ public class CacheStatistics
 		_numWritesFS = new AtomicLong(0);
 		_numWritesHDFS = new AtomicLong(0);
 		
+		_numSparseConv = new AtomicLong(0);
+		
 		_ctimeAcquireR = new AtomicLong(0);
 		_ctimeAcquireM = new AtomicLong(0);
 		_ctimeRelease = new AtomicLong(0);
@@ -194,6 +199,16 @@ public class CacheStatistics
 		return _numWritesHDFS.get();
 	}
 	
+	public static void incrementSparseConversions()
+	{
+		_numSparseConv.incrementAndGet();
+	}
+	
+	public static long getSparseConversions()
+	{
+		return _numSparseConv.get();
+	}
+	
 	public static void incrementAcquireRTime(long delta)
 	{
 		_ctimeAcquireR.addAndGet(delta);
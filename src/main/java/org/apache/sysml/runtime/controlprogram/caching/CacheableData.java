@@ -38,12 +38,14 @@ import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
 import org.apache.sysml.runtime.instructions.cp.Data;
 import org.apache.sysml.runtime.instructions.spark.data.BroadcastObject;
 import org.apache.sysml.runtime.instructions.spark.data.RDDObject;
+import org.apache.sysml.runtime.io.WriterBinaryBlockCompressed;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
 import org.apache.sysml.runtime.matrix.MatrixDimensionsMetaData;
 import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
 import org.apache.sysml.runtime.matrix.MetaData;
 import org.apache.sysml.runtime.matrix.data.FileFormatProperties;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.NumItemsByEachReducerMetaData;
 import org.apache.sysml.runtime.matrix.data.OutputInfo;
 import org.apache.sysml.runtime.util.LocalFileUtils;
@@ -75,6 +77,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	public static final String  CACHING_COUNTER_GROUP_NAME    = "SystemML Caching Counters";
 	public static final String  CACHING_EVICTION_FILEEXTENSION = ".dat";
 	public static final boolean CACHING_ASYNC_FILECLEANUP = true;
+	public static final boolean CACHING_ASYNC_SPARSE_CONVERSION = true;
     
 	/**
 	 * Defines all possible cache status types for a data blob.
@@ -440,7 +443,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			CacheStatistics.incrementAcquireRTime(t1-t0);
 		}
 		
-		return _data;
+		return getReadData(_data);
 	}
 
 	/**
@@ -486,6 +489,10 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			}
 		}
 
+		//materialize cache block for in-place modifications
+		if( _data != null )
+			_data = getModifyData(_data);
+		
 		//cache status maintenance
 		acquire( true, _data==null );
 		updateStatusPinned(true);
@@ -582,6 +589,10 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		release(_isAcquireFromEmpty && !_requiresLocalWrite);
 		updateStatusPinned(false);
 		
+		//conversion of unpinned read-only data (before caching)
+		if( isCached(true) )
+			convertReadOnlyData(_data, _isAcquireFromEmpty);
+		
 		if(    isCachingActive() //only if caching is enabled (otherwise keep everything in mem)
 			&& isCached(true)    //not empty and not read/modify
 			&& !isBelowCachingThreshold() ) //min size for caching
@@ -616,6 +627,38 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	
 	protected void clearReusableData() {}
 	
+	/**
+	 * Hook for (potentially asynchronous) conversion of unpinned data that is 
+	 * not modified anymore into a read-optimized representation.
+	 * 
+	 * @param data cache block
+	 * @param persistentRead true if the data was read from HDFS/RDD
+	 */
+	protected void convertReadOnlyData(T data, boolean persistentRead) {}
+	
+	/**
+	 * Obtains the cache block handed out on acquire read, which by default
+	 * is the cached block itself. Handed out blocks must not change the size 
+	 * of the cached block, because its buffer pool entry is not updated.
+	 * 
+	 * @param data cache block
+	 * @return cache block for read access
+	 */
+	protected T getReadData(T data) {
+		return data;
+	}
+	
+	/**
+	 * Obtains the cache block for in-place modifications on acquire modify,
+	 * which by default is the cached block itself.
+	 * 
+	 * @param data cache block
+	 * @return cache block for write access
+	 */
+	protected T getModifyData(T data) {
+		return data;
+	}
+	
 	/**
 	 * Sets the cache block reference to <code>null</code>, abandons the old block.
 	 * Makes the "envelope" empty.  Run it to finalize the object (otherwise the
@@ -956,9 +999,11 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 				mc = new MatrixCharacteristics(mc.getRows(), mc.getCols(), ConfigurationManager.getBlocksize(), ConfigurationManager.getBlocksize(), mc.getNonZeros());
 			}
 			
-			//write the actual meta data file
+			//write the actual meta data file (incl compressed flag)
+			boolean compressed = _data instanceof MatrixBlock
+				&& WriterBinaryBlockCompressed.isApplicable((MatrixBlock)_data, oinfo);
 			MapReduceTool.writeMetaDataFile (filePathAndName + ".mtd", valueType, 
-					getSchema(), dataType, mc, oinfo, formatProperties);
+					getSchema(), dataType, mc, oinfo, formatProperties, compressed);
 		}
 	}
 
@@ -20,11 +20,15 @@
 package org.apache.sysml.runtime.controlprogram.caching;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
@@ -50,6 +54,13 @@ public class LazyWriteBuffer
 	//file cleaner for synchronous or asynchronous delete of evicted files
 	private static FileCleaner _fClean;
 	
+	//block converter for asynchronous conversion of read-only blocks
+	private static BlockConverter _bConvert;
+	
+	//file names of compressed matrix blocks, required for deserialization 
+	//after eviction because local files do not carry type information
+	private static Set<String> _compressed;
+	
 	static {
 		//obtain the logical buffer size in bytes
 		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
@@ -61,6 +72,19 @@ public class LazyWriteBuffer
 	{	
 		//obtain basic meta data of cache block
 		long lSize = cb.getExactSerializedSize();  
+		trackBlockType(fname, cb);
+		
+		//remove outdated entry of a rewritten block (e.g., after acquire modify)
+		ByteBuffer ldata = null;
+		synchronized( _mQueue ) {
+			ldata = _mQueue.remove(fname);
+			if( ldata != null )
+				_size -= ldata.getSize();
+		}
+		if( ldata != null ) {
+			ldata.checkSerialized();
+			ldata.freeMemory();
+		}
 		boolean requiresWrite = (   lSize > _limit  //global buffer limit
 			|| !ByteBuffer.isValidCapacity(lSize, cb) ); //local buffer limit
 	
@@ -116,6 +140,58 @@ public class LazyWriteBuffer
 		}	
 	}
 
+	/**
+	 * Replaces the buffer pool entry of an existing cache block with a shallow
+	 * reference to the given content-equivalent cache block (e.g., after its 
+	 * conversion into a read-optimized representation) and updates the buffer 
+	 * pool size accordingly. If the entry does not exist (e.g., already evicted), 
+	 * or the given block does not allow shallow serialization, this call has 
+	 * no effect.
+	 * 
+	 * @param fname file name of buffer pool entry
+	 * @param cb cache block
+	 * @throws IOException if IOException occurs
+	 */
+	public static void updateBlock( String fname, CacheBlock cb ) 
+		throws IOException
+	{
+		if( _mQueue == null || !cb.isShallowSerialize() )
+			return;
+		
+		long lSize = cb.getExactSerializedSize();
+		ByteBuffer ldata = null;
+		
+		synchronized( _mQueue )
+		{
+			ldata = _mQueue.get(fname);
+			if( ldata == null )
+				return;
+			
+			//wait for pending serialization
+			ldata.checkSerialized();
+			
+			//replace entry in place (retains position in eviction queue)
+			ByteBuffer bbuff = new ByteBuffer( lSize );
+			bbuff.serializeBlock(cb);
+			_mQueue.put(fname, bbuff);
+			_size += lSize - ldata.getSize();
+		}
+		
+		//cleanup old buffer (outside synchronized critical path)
+		ldata.freeMemory();
+	}
+	
+	/**
+	 * Submits the given block conversion for asynchronous execution. 
+	 * 
+	 * @param task block conversion task
+	 * @return true if the task was submitted
+	 */
+	public static boolean convertBlock( Runnable task ) {
+		return (_bConvert != null) 
+			&& _bConvert.convertBlock(task);
+	}
+	
 	public static void deleteBlock( String fname )
 	{
 		boolean requiresDelete = true;
@@ -131,6 +207,8 @@ public class LazyWriteBuffer
 			}
 		}
 		
+		_compressed.remove(fname);
+		
 		//delete from FS if required
 		if( requiresDelete )
 			_fClean.deleteFile(fname);
@@ -166,7 +244,8 @@ public class LazyWriteBuffer
 		}
 		else
 		{
-			cb = LocalFileUtils.readCacheBlockFromLocal(fname, matrix); 
+			int code = !matrix ? 1 : _compressed.contains(fname) ? 2 : 0;
+			cb = LocalFileUtils.readCacheBlockFromLocal(fname, code); 
 			if( DMLScript.STATISTICS )
 				CacheStatistics.incrementFSHits();
 		}
@@ -177,6 +256,8 @@ public class LazyWriteBuffer
 	public static void init() {
 		_mQueue = new EvictionQueue();
 		_fClean = new FileCleaner();
+		_bConvert = new BlockConverter();
+		_compressed = Collections.synchronizedSet(new HashSet<String>());
 		_size = 0;
 		if( CacheableData.CACHING_BUFFER_PAGECACHE )
 			PageCache.init();
@@ -187,10 +268,21 @@ public class LazyWriteBuffer
 			_mQueue.clear();
 		if( _fClean != null )
 			_fClean.close();
+		if( _bConvert != null )
+			_bConvert.close();
+		if( _compressed != null )
+			_compressed.clear();
 		if( CacheableData.CACHING_BUFFER_PAGECACHE )
 			PageCache.clear();
 	}
 
+	private static void trackBlockType( String fname, CacheBlock cb ) {
+		if( CacheBlockFactory.getCode(cb) == 2 )
+			_compressed.add(fname);
+		else
+			_compressed.remove(fname);
+	}
+
 	public static long getWriteBufferSize() {
 		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
 		return (long)(CacheableData.CACHING_BUFFER_SIZE * maxMem);
@@ -321,4 +413,38 @@ public class LazyWriteBuffer
 			}			
 		}
 	}
+	
+	/**
+	 * Block conversion service for asynchronous conversion of read-only cache 
+	 * blocks into read-optimized representations (e.g., MCSR to CSR). Since these 
+	 * conversions are pure optimizations, pending tasks are discarded on close.
+	 */
+	private static class BlockConverter
+	{
+		private ExecutorService _pool = null;
+		
+		public BlockConverter() {
+			//create new threadpool for async conversion
+			if( CacheableData.CACHING_ASYNC_SPARSE_CONVERSION )
+				_pool = Executors.newCachedThreadPool();
+		}
+		
+		public boolean convertBlock(Runnable task) {
+			if( _pool == null || _pool.isShutdown() )
+				return false;
+			try {
+				_pool.submit(task);
+				return true;
+			}
+			catch(RejectedExecutionException ex) {
+				return false; //concurrent close
+			}
+		}
+		
+		public void close() {
+			//discard pending tasks and shutdown pool
+			if( _pool != null )
+				_pool.shutdownNow();
+		}
+	}
 }
@@ -42,6 +42,9 @@ import org.apache.sysml.runtime.matrix.data.FileFormatProperties;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockFactory;
+import org.apache.sysml.runtime.matrix.data.SparseBlockMCSR;
 import org.apache.sysml.runtime.util.DataConverter;
 import org.apache.sysml.runtime.util.IndexRange;
 import org.apache.sysml.runtime.util.MapReduceTool;
@@ -72,6 +75,8 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 	
 	//additional matrix-specific flags
 	private UpdateType _updateType = UpdateType.COPY; 
+	private boolean _readOnly = false; //e.g., loop-invariant inputs
+	private boolean _convertPending = false; //async sparse block conversion
 	
 	//information relevant to partitioned matrices.
 	private boolean _partitioned = false; //indicates if obj partitioned
@@ -134,6 +139,21 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 		return _updateType;
 	}
 	
+	/**
+	 * Marks this matrix as read-only (e.g., for loop-invariant inputs), 
+	 * which allows the conversion of its sparse block into a read-optimized 
+	 * representation on release.
+	 * 
+	 * @param flag true if read-only
+	 */
+	public void setReadOnly(boolean flag) {
+		_readOnly = flag;
+	}
+	
+	public boolean isReadOnly() {
+		return _readOnly;
+	}
+	
 	@Override
 	public void updateMatrixCharacteristics (MatrixCharacteristics mc) {
 		((MatrixDimensionsMetaData)_metaData).setMatrixCharacteristics( mc );
@@ -401,6 +421,69 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 			|| getUpdateType() == UpdateType.INPLACE_PINNED;
 	}
 	
+	@Override
+	protected void convertReadOnlyData(MatrixBlock mb, boolean persistentRead) {
+		//asynchronous conversion of unpinned, read-only MCSR blocks into CSR, 
+		//CSR16, or DCSR, which are smaller and faster to scan (for persistent 
+		//reads and vars marked read-only by the compiler, but never for update 
+		//in-place)
+		if( CACHING_ASYNC_SPARSE_CONVERSION && (_readOnly || persistentRead)
+			&& !_convertPending && !_updateType.isInPlace() && mb != null 
+			&& mb.isInSparseFormat() && mb.getSparseBlock() instanceof SparseBlockMCSR
+			&& !isBelowCachingThreshold() )
+		{
+			_convertPending = LazyWriteBuffer.convertBlock(
+				new SparseBlockConversionTask(this, mb));
+		}
+	}
+	
+	@Override
+	protected MatrixBlock getReadData(MatrixBlock mb) {
+		//hand out shallow copies of compact dense and sparse blocks, which 
+		//widen on access without changing the size of the cached block
+		//(but never for update in-place, which relies on the same block)
+		return (mb != null && !_updateType.isInPlace()) ? 
+			mb.copyShallowCompact() : mb;
+	}
+	
+	@Override
+	protected MatrixBlock getModifyData(MatrixBlock mb) {
+		//materialize compact dense and sparse blocks into a new widened 
+		//block, which is written to the buffer pool with its size on release
+		if( mb.isSparseCompact() ) //copy via widened shallow copy
+			return new MatrixBlock(mb.copyShallowCompact(), MatrixBlock.DEFAULT_SPARSEBLOCK, true);
+		if( !mb.isDenseCompact() )
+			return mb;
+		MatrixBlock ret = mb.copyShallowCompact();
+		ret.getDenseBlockValues();
+		return ret;
+	}
+	
+	private synchronized void swapSparseBlock(MatrixBlock mb, SparseBlock sblock, SparseBlock csr) {
+		_convertPending = false;
+		
+		//swap only if unpinned, still owned, and unchanged 
+		//(otherwise the converted block is simply discarded)
+		if( csr == null || !isCached(true) || _updateType.isInPlace() 
+			|| (_data != mb && (_cache == null || _cache.get() != mb))
+			|| mb.getSparseBlock() != sblock || csr.size() != mb.getNonZeros() )
+			return;
+		mb.setSparseBlock(csr);
+		
+		//replace existing buffer pool entry by shallow reference
+		if( isCachingActive() ) {
+			try {
+				LazyWriteBuffer.updateBlock(getCacheFilePathAndName(), mb);
+			}
+			catch(IOException ex) {
+				LOG.warn("Failed to update buffer pool entry of "+getVarName()+".", ex);
+			}
+		}
+		
+		if( DMLScript.STATISTICS )
+			CacheStatistics.incrementSparseConversions();
+	}
+	
 	@Override
 	protected MatrixBlock readBlobFromCache(String fname) throws IOException {
 		return (MatrixBlock)LazyWriteBuffer.readBlock(fname, true);
@@ -558,4 +641,37 @@ public class MatrixObject extends CacheableData<MatrixBlock>
 		long newnnz = SparkExecutionContext.writeRDDtoHDFS(rdd, fname, oinfo);	
 		((MatrixDimensionsMetaData) _metaData).getMatrixCharacteristics().setNonZeros(newnnz);
 	}
+	
+	/**
+	 * Asynchronous conversion of a read-only MCSR block into the compressed
+	 * sparse block type selected by {@link SparseBlockFactory}, where the
+	 * conversion itself runs outside the lock of the matrix object.
+	 */
+	private static class SparseBlockConversionTask implements Runnable
+	{
+		private final MatrixObject _mo;
+		private final MatrixBlock _mb;
+		
+		public SparseBlockConversionTask(MatrixObject mo, MatrixBlock mb) {
+			_mo = mo;
+			_mb = mb;
+		}
+		
+		@Override
+		public void run() {
+			SparseBlock sblock = _mb.getSparseBlock();
+			SparseBlock csr = null;
+			try {
+				if( sblock instanceof SparseBlockMCSR ) {
+					SparseBlock.Type stype = SparseBlockFactory
+						.getCompressedSparseBlockType(sblock, _mb.getNumColumns());
+					csr = SparseBlockFactory.copySparseBlock(stype, sblock, true);
+				}
+			}
+			catch(Exception ex) {
+				LOG.warn("Failed to convert sparse block of "+_mo.getVarName()+".", ex);
+			}
+			_mo.swapSparseBlock(_mb, sblock, csr);
+		}
+	}
 }
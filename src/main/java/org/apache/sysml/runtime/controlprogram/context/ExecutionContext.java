@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 
 import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.debug.DMLFrame;
 import org.apache.sysml.debug.DMLProgramCounter;
 import org.apache.sysml.debug.DebugState;
@@ -386,6 +387,12 @@ public class ExecutionContext
 			throws DMLRuntimeException 
 	{
 		MatrixObject mo = getMatrixObject(varName);
+		
+		//narrow dense outputs to single precision if configured
+		//(via copy because outputs might be shared with other variables)
+		if( ConfigurationManager.isSinglePrecision() && !mo.getUpdateType().isInPlace() )
+			outputData = outputData.copyToSinglePrecision();
+		
 		mo.acquireModify(outputData);
 	    mo.release();
 	    setVariable(varName, mo);
@@ -637,6 +637,7 @@ public class ProgramConverter
 				ret.setUpdatedVariables( sb.variablesUpdated() );
 				ret.setReadVariables( sb.variablesRead() );
 				ret.setUpdateInPlaceVars( sb.getUpdateInPlaceVars() );
+				ret.setReadOnlyVars( sb.getReadOnlyVars() );
 				
 				//shallow copy child statements
 				ret.setStatements( sb.getStatements() );
@@ -683,6 +684,7 @@ public class ProgramConverter
 				ret.setUpdatedVariables( sb.variablesUpdated() );
 				ret.setReadVariables( sb.variablesRead() );
 				ret.setUpdateInPlaceVars( sb.getUpdateInPlaceVars() );
+				ret.setReadOnlyVars( sb.getReadOnlyVars() );
 				
 				//shallow copy child statements
 				ret.setStatements( sb.getStatements() );
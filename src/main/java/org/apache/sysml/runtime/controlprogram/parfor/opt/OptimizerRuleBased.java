@@ -1349,8 +1349,9 @@ public class OptimizerRuleBased extends Optimizer
 						&& h instanceof MultiThreadedHop //abop, datagenop, qop, paramop
 						&& !( h instanceof ParameterizedBuiltinOp //only paramop-grpagg
 							 && ((ParameterizedBuiltinOp)h).getOp()!=ParamBuiltinOp.GROUPEDAGG)
-						&& !( h instanceof UnaryOp //only unaryop-cumulativeagg
-							 && !((UnaryOp)h).isCumulativeUnaryOperation() )
+						&& !( h instanceof UnaryOp //only unaryop-cumulativeagg/decomposition
+							 && !((UnaryOp)h).isCumulativeUnaryOperation()
+							 && !((UnaryOp)h).isDecompositionUnaryOperation() )
 						&& !( h instanceof ReorgOp //only reorgop-transpose
 							 && ((ReorgOp)h).getOp() != ReOrgOp.TRANSPOSE ))
 					{
@@ -1367,6 +1368,19 @@ public class OptimizerRuleBased extends Optimizer
 						c.setK(1); //set optnode k (for explain)
 					}
 				}
+				else if( c.getNodeType() == NodeType.FUNCCALL 
+					&& OptTreeConverter.getAbstractPlanMapping().getMappedHop(c.getID()) instanceof FunctionOp
+					&& ((FunctionOp)OptTreeConverter.getAbstractPlanMapping().getMappedHop(c.getID()))
+						.isMultiThreadedBuiltinFunction() )
+				{
+					//set degree of parallelism for multi-threaded builtin functions (qr, lu, eigen)
+					FunctionOp fop = (FunctionOp)OptTreeConverter.getAbstractPlanMapping().getMappedHop(c.getID());
+					int k = ConfigurationManager.isParallelMatrixOperations() ? opsK : 1;
+					fop.setMaxNumThreads(k); //set max constraint in hop
+					c.setK(k); //set optnode k (for explain)
+					//need to recompile SB, if changed constraint
+					recompileSB = true;
+				}
 				else
 					rAssignRemainingParallelism(c, parforK, opsK);
 			}
@@ -476,6 +476,13 @@ public class InstructionUtils
 		return aggun;
 	}
 
+	public static BinaryOperator parseBinaryOperator(String opcode, int k) 
+		throws DMLRuntimeException
+	{
+		BinaryOperator bop = parseBinaryOperator(opcode);
+		return (k > 1) ? new BinaryOperator(bop.fn, k) : bop;
+	}
+	
 	public static BinaryOperator parseBinaryOperator(String opcode) 
 		throws DMLRuntimeException
 	{
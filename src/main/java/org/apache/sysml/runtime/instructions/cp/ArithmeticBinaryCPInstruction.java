@@ -45,7 +45,7 @@ public abstract class ArithmeticBinaryCPInstruction extends BinaryCPInstruction
 		
 		Operator operator = (in1.getDataType() != in2.getDataType()) ?
 					InstructionUtils.parseScalarBinaryOperator(opcode, (in1.getDataType() == DataType.SCALAR)) : 
-					InstructionUtils.parseBinaryOperator(opcode);
+					InstructionUtils.parseBinaryOperator(opcode, parseNumThreads(str));
 		
 		if( in1.getDataType() == DataType.SCALAR && in2.getDataType() == DataType.SCALAR ) 
 			return new ScalarScalarArithmeticCPInstruction(operator, in1, in2, out, opcode, str);
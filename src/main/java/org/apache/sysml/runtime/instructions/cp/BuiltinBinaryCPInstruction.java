@@ -58,7 +58,7 @@ public abstract class BuiltinBinaryCPInstruction extends BinaryCPInstruction
 		if ( in1.getDataType() == DataType.SCALAR && in2.getDataType() == DataType.SCALAR )
 			return new ScalarScalarBuiltinCPInstruction(new BinaryOperator(func), in1, in2, out, opcode, str);
 		else if ( in1.getDataType() == DataType.MATRIX && in2.getDataType() == DataType.MATRIX )
-			return new MatrixMatrixBuiltinCPInstruction(new BinaryOperator(func), in1, in2, out, opcode, str);	
+			return new MatrixMatrixBuiltinCPInstruction(new BinaryOperator(func, parseNumThreads(str)), in1, in2, out, opcode, str);	
 		else 
 			return new MatrixScalarBuiltinCPInstruction(new RightScalarOperator(func, 0), in1, in2, out, opcode, str);
 	}
@@ -53,9 +53,15 @@ public class CompressionCPInstruction extends UnaryCPInstruction
 		//get matrix block input
 		MatrixBlock in = ec.getMatrixInput(input1.getName());
 		
-		//compress the matrix block
-		CompressedMatrixBlock cmb = new CompressedMatrixBlock(in);
-		cmb.compress(OptimizerUtils.getConstrainedNumThreads(-1));
+		//compress the matrix block (unless already compressed, e.g., 
+		//if read from compressed binary block, to avoid redundant planning)
+		CompressedMatrixBlock cmb = null;
+		if( in instanceof CompressedMatrixBlock && ((CompressedMatrixBlock)in).isCompressed() )
+			cmb = (CompressedMatrixBlock) in;
+		else {
+			cmb = new CompressedMatrixBlock(in);
+			cmb.compress(OptimizerUtils.getConstrainedNumThreads(-1));
+		}
 		
 		//set output and release input
 		ec.releaseMatrixInput(input1.getName());
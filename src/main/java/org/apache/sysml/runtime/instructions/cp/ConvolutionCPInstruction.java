@@ -303,7 +303,7 @@ public class ConvolutionCPInstruction extends UnaryCPInstruction
 			else {
 				outputBlock = getDenseOutputBlock(N, C*P*Q);
 				if(instOpcode.equalsIgnoreCase("maxpooling"))
-					Arrays.fill(outputBlock.getDenseBlock(), -Double.MAX_VALUE);
+					Arrays.fill(outputBlock.getDenseBlockValues(), -Double.MAX_VALUE);
 				LibMatrixDNN.maxpooling(matBlock, outputBlock, params);
 			}
 		}
@@ -32,6 +32,10 @@ public class MatrixBuiltinCPInstruction extends BuiltinUnaryCPInstruction
 	public MatrixBuiltinCPInstruction(Operator op, CPOperand in, CPOperand out, String opcode, String instr){
 		super(op, in, out, 1, opcode, instr);
 	}
+	
+	public int getNumThreads() {
+		return ((UnaryOperator)_optr).getNumThreads();
+	}
 
 	@Override 
 	public void processInstruction(ExecutionContext ec) 
@@ -42,7 +46,8 @@ public class MatrixBuiltinCPInstruction extends BuiltinUnaryCPInstruction
 		
 		String opcode = getOpcode();
 		if(LibCommonsMath.isSupportedUnaryOperation(opcode)) {
-			MatrixBlock retBlock = LibCommonsMath.unaryOperations(ec.getMatrixObject(input1.getName()),getOpcode());
+			MatrixBlock retBlock = LibCommonsMath.unaryOperations(ec.getMatrixObject(input1.getName()),getOpcode(),
+				u_op.getNumThreads());
 			ec.setMatrixOutput(output_name, retBlock);
 		}
 		else {
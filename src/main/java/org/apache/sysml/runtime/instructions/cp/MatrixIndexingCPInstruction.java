@@ -33,12 +33,21 @@ import org.apache.sysml.utils.Statistics;
 
 public final class MatrixIndexingCPInstruction extends IndexingCPInstruction
 {	
+	//read-only output, which allows zero-copy row range views
+	private final boolean _view;
+	
 	public MatrixIndexingCPInstruction(Operator op, CPOperand in, CPOperand rl, CPOperand ru, CPOperand cl, CPOperand cu, CPOperand out, String opcode, String istr){
+		this(op, in, rl, ru, cl, cu, out, opcode, istr, false);
+	}
+	
+	public MatrixIndexingCPInstruction(Operator op, CPOperand in, CPOperand rl, CPOperand ru, CPOperand cl, CPOperand cu, CPOperand out, String opcode, String istr, boolean view){
 		super(op, in, rl, ru, cl, cu, out, opcode, istr);
+		_view = view;
 	}
 	
 	public MatrixIndexingCPInstruction(Operator op, CPOperand lhsInput, CPOperand rhsInput, CPOperand rl, CPOperand ru, CPOperand cl, CPOperand cu, CPOperand out, String opcode, String istr){
 		super(op, lhsInput, rhsInput, rl, ru, cl, cu, out, opcode, istr);
+		_view = false;
 	}
 	
 	@Override
@@ -60,9 +69,13 @@ public final class MatrixIndexingCPInstruction extends IndexingCPInstruction
 				resultBlock = mo.readMatrixPartition(ixrange.add(1));
 			else //via slicing the in-memory matrix
 			{
-				//execute right indexing operation
+				//execute right indexing operation (view of read-only row ranges, 
+				//unless the input itself is updated in place)
 				MatrixBlock matBlock = ec.getMatrixInput(input1.getName());
-				resultBlock = matBlock.sliceOperations(ixrange, new MatrixBlock());	
+				boolean view = _view && !mo.getUpdateType().isInPlace();
+				resultBlock = matBlock.sliceOperations(ixrange, new MatrixBlock(), view);
+				if( DMLScript.STATISTICS && resultBlock.isView() )
+					Statistics.incrementTotalRixView();
 				
 				//unpin rhs input
 				ec.releaseMatrixInput(input1.getName());
@@ -40,6 +40,10 @@ public class MatrixMatrixBuiltinCPInstruction extends BuiltinBinaryCPInstruction
 		super(op, in1, in2, out, 2, opcode, istr);
 	}
 	
+	public int getNumThreads() {
+		return ((BinaryOperator)_optr).getNumThreads();
+	}
+	
 	@Override
 	public void processInstruction(ExecutionContext ec) 
 		throws DMLRuntimeException
@@ -47,7 +51,7 @@ public class MatrixMatrixBuiltinCPInstruction extends BuiltinBinaryCPInstruction
 		String opcode = getOpcode();
         
         if ( LibCommonsMath.isSupportedMatrixMatrixOperation(opcode) ) {
-        	MatrixBlock solution = LibCommonsMath.matrixMatrixOperations(ec.getMatrixObject(input1.getName()), (MatrixObject)ec.getVariable(input2.getName()), opcode);
+        	MatrixBlock solution = LibCommonsMath.matrixMatrixOperations(ec.getMatrixObject(input1.getName()), (MatrixObject)ec.getVariable(input2.getName()), opcode, getNumThreads());
     		ec.setMatrixOutput(output.getName(), solution);
         	return;
         }
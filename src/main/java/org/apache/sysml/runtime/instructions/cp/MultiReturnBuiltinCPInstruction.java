@@ -37,12 +37,19 @@ public class MultiReturnBuiltinCPInstruction extends ComputationCPInstruction
 	
 	int arity;
 	protected ArrayList<CPOperand> _outputs;
+	private int _numThreads = 1;
 	
 	public MultiReturnBuiltinCPInstruction(Operator op, CPOperand input1, ArrayList<CPOperand> outputs, String opcode, String istr )
+	{
+		this(op, input1, outputs, opcode, istr, 1);
+	}
+	
+	public MultiReturnBuiltinCPInstruction(Operator op, CPOperand input1, ArrayList<CPOperand> outputs, String opcode, String istr, int k )
 	{
 		super(op, input1, null, outputs.get(0), opcode, istr);
 		_cptype = CPINSTRUCTION_TYPE.MultiReturnBuiltin;
 		_outputs = outputs;
+		_numThreads = k;
 	}
 
 	public int getArity() {
@@ -54,6 +61,10 @@ public class MultiReturnBuiltinCPInstruction extends ComputationCPInstruction
 		return _outputs.get(i);
 	}
 	
+	public int getNumThreads() {
+		return _numThreads;
+	}
+	
 	public static MultiReturnBuiltinCPInstruction parseInstruction ( String str ) 
 		throws DMLRuntimeException 
 	{
@@ -67,8 +78,9 @@ public class MultiReturnBuiltinCPInstruction extends ComputationCPInstruction
 			CPOperand in1 = new CPOperand(parts[1]);
 			outputs.add ( new CPOperand(parts[2], ValueType.DOUBLE, DataType.MATRIX) );
 			outputs.add ( new CPOperand(parts[3], ValueType.DOUBLE, DataType.MATRIX) );
+			int k = (parts.length == 5) ? Integer.parseInt(parts[4]) : 1;
 			
-			return new MultiReturnBuiltinCPInstruction(null, in1, outputs, opcode, str);
+			return new MultiReturnBuiltinCPInstruction(null, in1, outputs, opcode, str, k);
 		}
 		else if ( opcode.equalsIgnoreCase("lu") ) {
 			CPOperand in1 = new CPOperand(parts[1]);
@@ -77,8 +89,9 @@ public class MultiReturnBuiltinCPInstruction extends ComputationCPInstruction
 			outputs.add ( new CPOperand(parts[2], ValueType.DOUBLE, DataType.MATRIX) );
 			outputs.add ( new CPOperand(parts[3], ValueType.DOUBLE, DataType.MATRIX) );
 			outputs.add ( new CPOperand(parts[4], ValueType.DOUBLE, DataType.MATRIX) );
+			int k = (parts.length == 6) ? Integer.parseInt(parts[5]) : 1;
 			
-			return new MultiReturnBuiltinCPInstruction(null, in1, outputs, opcode, str);
+			return new MultiReturnBuiltinCPInstruction(null, in1, outputs, opcode, str, k);
 			
 		}
 		else if ( opcode.equalsIgnoreCase("eigen") ) {
@@ -86,8 +99,9 @@ public class MultiReturnBuiltinCPInstruction extends ComputationCPInstruction
 			CPOperand in1 = new CPOperand(parts[1]);
 			outputs.add ( new CPOperand(parts[2], ValueType.DOUBLE, DataType.MATRIX) );
 			outputs.add ( new CPOperand(parts[3], ValueType.DOUBLE, DataType.MATRIX) );
+			int k = (parts.length == 5) ? Integer.parseInt(parts[4]) : 1;
 			
-			return new MultiReturnBuiltinCPInstruction(null, in1, outputs, opcode, str);
+			return new MultiReturnBuiltinCPInstruction(null, in1, outputs, opcode, str, k);
 			
 		}
 		else {
@@ -105,7 +119,7 @@ public class MultiReturnBuiltinCPInstruction extends ComputationCPInstruction
 		MatrixBlock[] out = null;
 		
 		if(LibCommonsMath.isSupportedMultiReturnOperation(opcode))
-			out = LibCommonsMath.multiReturnOperations(mo, opcode);
+			out = LibCommonsMath.multiReturnOperations(mo, opcode, _numThreads);
 		else 
 			throw new DMLRuntimeException("Invalid opcode in MultiReturnBuiltin instruction: " + opcode);
 
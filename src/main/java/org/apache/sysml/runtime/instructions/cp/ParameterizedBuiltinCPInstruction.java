@@ -212,11 +212,12 @@ public class ParameterizedBuiltinCPInstruction extends ComputationCPInstruction
 			
 			// compute the result
 			String margin = params.get("margin");
+			int k = params.containsKey("k") ? Integer.parseInt(params.get("k")) : 1; //num threads
 			MatrixBlock soresBlock = null;
 			if( margin.equals("rows") )
-				soresBlock = target.removeEmptyOperations(new MatrixBlock(), true, select);
+				soresBlock = target.removeEmptyOperations(new MatrixBlock(), true, select, k);
 			else if( margin.equals("cols") ) 
-				soresBlock = target.removeEmptyOperations(new MatrixBlock(), false, select);
+				soresBlock = target.removeEmptyOperations(new MatrixBlock(), false, select, k);
 			else
 				throw new DMLRuntimeException("Unspupported margin identifier '"+margin+"'.");
 			
@@ -248,7 +249,8 @@ public class ParameterizedBuiltinCPInstruction extends ComputationCPInstruction
 			boolean dirVal = params.get("dir").equals("rows");
 			boolean cast = Boolean.parseBoolean(params.get("cast"));
 			boolean ignore = Boolean.parseBoolean(params.get("ignore"));
-			MatrixBlock ret = (MatrixBlock) target.rexpandOperations(new MatrixBlock(), maxVal, dirVal, cast, ignore);
+			int k = params.containsKey("k") ? Integer.parseInt(params.get("k")) : 1; //num threads
+			MatrixBlock ret = (MatrixBlock) target.rexpandOperations(new MatrixBlock(), maxVal, dirVal, cast, ignore, k);
 			
 			//release locks
 			ec.setMatrixOutput(output.getName(), ret);
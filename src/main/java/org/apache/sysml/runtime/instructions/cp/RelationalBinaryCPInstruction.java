@@ -34,7 +34,6 @@ public abstract class RelationalBinaryCPInstruction extends BinaryCPInstruction
 	}
 	
 	public static RelationalBinaryCPInstruction parseInstruction ( String str ) throws DMLRuntimeException {
-		InstructionUtils.checkNumFields (str, 3);
 		CPOperand in1 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		CPOperand in2 = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		CPOperand out = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
@@ -44,7 +43,7 @@ public abstract class RelationalBinaryCPInstruction extends BinaryCPInstruction
 		
 		Operator operator = (in1.getDataType() != in2.getDataType()) ?
 					InstructionUtils.parseScalarBinaryOperator(opcode, (in1.getDataType() == DataType.SCALAR)) : 
-					InstructionUtils.parseBinaryOperator(opcode);
+					InstructionUtils.parseBinaryOperator(opcode, parseNumThreads(str));
 		
 		if ( in1.getDataType() == DataType.SCALAR && in2.getDataType() == DataType.SCALAR )
 			return new ScalarScalarRelationalCPInstruction(operator, in1, in2, out, opcode, str);
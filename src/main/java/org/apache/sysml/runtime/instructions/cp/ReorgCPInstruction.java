@@ -19,9 +19,11 @@
 
 package org.apache.sysml.runtime.instructions.cp;
 
+import org.apache.sysml.api.DMLScript;
 import org.apache.sysml.parser.Expression.DataType;
 import org.apache.sysml.parser.Expression.ValueType;
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.functionobjects.DiagIndex;
 import org.apache.sysml.runtime.functionobjects.RevIndex;
@@ -31,6 +33,7 @@ import org.apache.sysml.runtime.instructions.InstructionUtils;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.Operator;
 import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
+import org.apache.sysml.utils.Statistics;
 
 
 public class ReorgCPInstruction extends UnaryCPInstruction
@@ -98,13 +101,14 @@ public class ReorgCPInstruction extends UnaryCPInstruction
 			return new ReorgCPInstruction(new ReorgOperator(DiagIndex.getDiagIndexFnObject()), in, out, opcode, str);
 		} 
 		else if ( opcode.equalsIgnoreCase("rsort") ) {
-			InstructionUtils.checkNumFields(parts, 5);
+			InstructionUtils.checkNumFields(parts, 5, 6);
 			in.split(parts[1]);
 			out.split(parts[5]);
 			CPOperand col = new CPOperand(parts[2]);
 			CPOperand desc = new CPOperand(parts[3]);
 			CPOperand ixret = new CPOperand(parts[4]);
-			return new ReorgCPInstruction(new ReorgOperator(SortIndex.getSortIndexFnObject(1,false,false)), 
+			int k = (parts.length == 7) ? Integer.parseInt(parts[6]) : 1;
+			return new ReorgCPInstruction(new ReorgOperator(SortIndex.getSortIndexFnObject(1,false,false), k), 
 					                      in, col, desc, ixret, out, opcode, str);
 		}
 		else {
@@ -127,8 +131,13 @@ public class ReorgCPInstruction extends UnaryCPInstruction
 			r_op.fn = SortIndex.getSortIndexFnObject(col, desc, ixret);
 		}
 		
-		//execute operation
-		MatrixBlock soresBlock = (MatrixBlock) (matBlock.reorgOperations(r_op, new MatrixBlock(), 0, 0, 0));
+		//execute operation (lazy transpose view, unless the input 
+		//itself is updated in place)
+		MatrixObject mo = ec.getMatrixObject(input1.getName());
+		boolean view = !mo.getUpdateType().isInPlace();
+		MatrixBlock soresBlock = matBlock.reorgOperations(r_op, new MatrixBlock(), view);
+		if( DMLScript.STATISTICS && soresBlock.isTransposeView() )
+			Statistics.incrementTotalTransposeView();
         
 		//release inputs/outputs
 		ec.releaseMatrixInput(input1.getName());
@@ -27,6 +27,7 @@ import org.apache.sysml.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysml.runtime.instructions.Instruction;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
 import org.apache.sysml.runtime.matrix.data.CTableMap;
+import org.apache.sysml.runtime.matrix.data.LibMatrixCTable;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.operators.Operator;
 import org.apache.sysml.runtime.matrix.operators.SimpleOperator;
@@ -42,10 +43,18 @@ public class TernaryCPInstruction extends ComputationCPInstruction
 	private boolean _dim2Literal;
 	private boolean _isExpand;
 	private boolean _ignoreZeros;
+	private int _numThreads;
 	
 	public TernaryCPInstruction(Operator op, CPOperand in1, CPOperand in2, CPOperand in3, CPOperand out, 
 							 String outputDim1, boolean dim1Literal,String outputDim2, boolean dim2Literal, 
 							 boolean isExpand, boolean ignoreZeros, String opcode, String istr )
+	{
+		this(op, in1, in2, in3, out, outputDim1, dim1Literal, outputDim2, dim2Literal, isExpand, ignoreZeros, 1, opcode, istr);
+	}
+	
+	public TernaryCPInstruction(Operator op, CPOperand in1, CPOperand in2, CPOperand in3, CPOperand out, 
+							 String outputDim1, boolean dim1Literal,String outputDim2, boolean dim2Literal, 
+							 boolean isExpand, boolean ignoreZeros, int k, String opcode, String istr )
 	{
 		super(op, in1, in2, in3, out, opcode, istr);
 		_outDim1 = outputDim1;
@@ -54,13 +63,14 @@ public class TernaryCPInstruction extends ComputationCPInstruction
 		_dim2Literal = dim2Literal;
 		_isExpand = isExpand;
 		_ignoreZeros = ignoreZeros;
+		_numThreads = k;
 	}
 
 	public static TernaryCPInstruction parseInstruction(String inst) 
 		throws DMLRuntimeException
 	{
 		String[] parts = InstructionUtils.getInstructionPartsWithValueType(inst);
-		InstructionUtils.checkNumFields ( parts, 7 );
+		InstructionUtils.checkNumFields ( parts, 7, 8 );
 		
 		String opcode = parts[0];
 		
@@ -81,9 +91,10 @@ public class TernaryCPInstruction extends ComputationCPInstruction
 
 		CPOperand out = new CPOperand(parts[6]);
 		boolean ignoreZeros = Boolean.parseBoolean(parts[7]);
+		int k = (parts.length > 8) ? Integer.parseInt(parts[8]) : 1;
 		
 		// ctable does not require any operator, so we simply pass-in a dummy operator with null functionobject
-		return new TernaryCPInstruction(new SimpleOperator(null), in1, in2, in3, out, dim1Fields[0], Boolean.parseBoolean(dim1Fields[1]), dim2Fields[0], Boolean.parseBoolean(dim2Fields[1]), isExpand, ignoreZeros, opcode, inst);
+		return new TernaryCPInstruction(new SimpleOperator(null), in1, in2, in3, out, dim1Fields[0], Boolean.parseBoolean(dim1Fields[1]), dim2Fields[0], Boolean.parseBoolean(dim2Fields[1]), isExpand, ignoreZeros, k, opcode, inst);
 	}
 
 	private Ternary.OperationTypes findCtableOperation() {
@@ -110,6 +121,13 @@ public class TernaryCPInstruction extends ComputationCPInstruction
 		long outputDim2 = (_dim2Literal ? (long) Double.parseDouble(_outDim2) : (ec.getScalarInput(_outDim2, ValueType.DOUBLE, false)).getLongValue());
 		
 		boolean outputDimsKnown = (outputDim1 != -1 && outputDim2 != -1);
+		
+		//multi-threaded ctable w/ partitioned primitive hash maps and direct output
+		if( !_isExpand && LibMatrixCTable.isParallelCTable(matBlock1, _numThreads) ) {
+			processParallelCTable(ec, matBlock1, ctableOp, outputDimsKnown, outputDim1, outputDim2);
+			return;
+		}
+		
 		if ( outputDimsKnown ) {
 			int inputRows = matBlock1.getNumRows();
 			int inputCols = matBlock1.getNumColumns();
@@ -179,5 +197,35 @@ public class TernaryCPInstruction extends ComputationCPInstruction
 			resultBlock.examSparsity();
 		
 		ec.setMatrixOutput(output.getName(), resultBlock);
-	}	
+	}
+	
+	private void processParallelCTable(ExecutionContext ec, MatrixBlock matBlock1, Ternary.OperationTypes ctableOp, 
+			boolean outputDimsKnown, long outputDim1, long outputDim2) 
+		throws DMLRuntimeException 
+	{
+		//obtain matrix or scalar inputs B and W
+		MatrixBlock matBlock2 = null, wtBlock = null;
+		double cst1 = 0, cst2 = 0;
+		if( input2.getDataType() == DataType.MATRIX )
+			matBlock2 = ec.getMatrixInput(input2.getName());
+		else
+			cst1 = ec.getScalarInput(input2.getName(), input2.getValueType(), input2.isLiteral()).getDoubleValue();
+		if( input3.getDataType() == DataType.MATRIX )
+			wtBlock = ec.getMatrixInput(input3.getName());
+		else
+			cst2 = ec.getScalarInput(input3.getName(), input3.getValueType(), input3.isLiteral()).getDoubleValue();
+		
+		//core multi-threaded ctable
+		MatrixBlock resultBlock = LibMatrixCTable.ctable(matBlock1, matBlock2, cst1, wtBlock, cst2, 
+			_ignoreZeros && ctableOp == Ternary.OperationTypes.CTABLE_TRANSFORM_SCALAR_WEIGHT, 
+			outputDimsKnown ? outputDim1 : -1, outputDimsKnown ? outputDim2 : -1, _numThreads);
+		
+		//release inputs and set output
+		ec.releaseMatrixInput(input1.getName());
+		if( input2.getDataType() == DataType.MATRIX )
+			ec.releaseMatrixInput(input2.getName());
+		if( input3.getDataType() == DataType.MATRIX )
+			ec.releaseMatrixInput(input3.getName());
+		ec.setMatrixOutput(output.getName(), resultBlock);
+	}
 }
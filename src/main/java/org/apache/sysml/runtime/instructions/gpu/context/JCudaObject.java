@@ -44,6 +44,9 @@ import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
 import org.apache.sysml.runtime.matrix.data.SparseBlockCOO;
 import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR16;
+import org.apache.sysml.runtime.matrix.data.SparseBlockDCSR;
+import org.apache.sysml.runtime.matrix.data.SparseBlockDiag;
 import org.apache.sysml.runtime.matrix.data.SparseBlockMCSR;
 import org.apache.sysml.utils.Statistics;
 
@@ -787,6 +790,12 @@ public class JCudaObject extends GPUObject {
 					csrBlock = new SparseBlockCSR(toIntExact(mat.getNumRows()), cooBlock.rowIndexes(), cooBlock.indexes(), cooBlock.values());
 					Statistics.cudaSparseConversionTime.addAndGet(System.nanoTime() - t0);
 					Statistics.cudaSparseConversionCount.incrementAndGet();
+				} else if (block instanceof SparseBlockDCSR || block instanceof SparseBlockCSR16
+						|| block instanceof SparseBlockDiag) {
+					long t0 = System.nanoTime();
+					csrBlock = new SparseBlockCSR(block);
+					Statistics.cudaSparseConversionTime.addAndGet(System.nanoTime() - t0);
+					Statistics.cudaSparseConversionCount.incrementAndGet();
 				} else if (block instanceof SparseBlockMCSR) {
 					long t0 = System.nanoTime();
 					SparseBlockMCSR mcsrBlock = (SparseBlockMCSR)block;
@@ -811,7 +820,7 @@ public class JCudaObject extends GPUObject {
 			// tmp.sparseToDense();
 		}
 		else {
-			double[] data = tmp.getDenseBlock();
+			double[] data = tmp.getDenseBlockValues();
 			
 			if( data == null && tmp.getSparseBlock() != null )
 				throw new DMLRuntimeException("Incorrect sparsity calculation");
@@ -852,7 +861,7 @@ public class JCudaObject extends GPUObject {
 			long start = System.nanoTime();
 			MatrixBlock tmp = new MatrixBlock(toIntExact(mat.getNumRows()), toIntExact(mat.getNumColumns()), false);
 			tmp.allocateDenseBlock();
-			double [] data = tmp.getDenseBlock();
+			double [] data = tmp.getDenseBlockValues();
 			
 			cudaMemcpy(Pointer.to(data), jcudaDenseMatrixPtr, getDoubleSizeOf(data.length), cudaMemcpyDeviceToHost);
 			
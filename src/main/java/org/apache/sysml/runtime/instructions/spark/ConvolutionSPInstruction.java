@@ -359,7 +359,7 @@ public class ConvolutionSPInstruction extends UnarySPInstruction {
 				else {
 					outputBlock = getDenseOutputBlock(params.N, params.C*params.P*params.Q);
 					if(instOpcode.equalsIgnoreCase("maxpooling"))
-						Arrays.fill(outputBlock.getDenseBlock(), -Double.MAX_VALUE);
+						Arrays.fill(outputBlock.getDenseBlockValues(), -Double.MAX_VALUE);
 					LibMatrixDNN.maxpooling(matBlock, outputBlock, params);
 				}
 			}
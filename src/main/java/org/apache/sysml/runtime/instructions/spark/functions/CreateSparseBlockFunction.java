@@ -22,6 +22,7 @@ import org.apache.spark.api.java.function.Function;
 import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockFactory;
 
 /**
  * General purpose copy function for binary block values. This function can be used in
@@ -45,8 +46,13 @@ public class CreateSparseBlockFunction implements Function<MatrixBlock,MatrixBlo
 	{
 		//convert given block to CSR representation if in sparse format
 		//but allow shallow pass-through if already in CSR representation. 
-		if( arg0.isInSparseFormat() && !(arg0 instanceof CompressedMatrixBlock) )
-			return new MatrixBlock(arg0, _stype, false);
+		//Ultra-sparse blocks with mostly empty rows are converted to DCSR, and
+		//blocks with at most 64K columns to CSR with compact column indexes.
+		if( arg0.isInSparseFormat() && !(arg0 instanceof CompressedMatrixBlock) ) {
+			SparseBlock.Type stype = (_stype == SparseBlock.Type.CSR) ?
+				SparseBlockFactory.getCompressedSparseBlockType(arg0.getSparseBlock(), arg0.getNumColumns()) : _stype;
+			return new MatrixBlock(arg0, stype, false);
+		}
 		else //pass through dense
 			return arg0;	
 	}
@@ -19,6 +19,8 @@
 
 package org.apache.sysml.runtime.io;
 
+import java.io.IOException;
+
 import org.apache.sysml.conf.CompilerConfig.ConfigType;
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.runtime.DMLRuntimeException;
@@ -90,7 +92,9 @@ public class MatrixReaderFactory
 		else if( iinfo == InputInfo.BinaryCellInputInfo ) 
 			reader = new ReaderBinaryCell();
 		else if( iinfo == InputInfo.BinaryBlockInputInfo ) {
-			if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_BINARYFORMATS) && MatrixBlock.DEFAULT_SPARSEBLOCK == SparseBlock.Type.MCSR )
+			if( isCompressedBinaryBlock(props) )
+				reader = new ReaderBinaryBlockCompressed( props.localFS );
+			else if( ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_BINARYFORMATS) && MatrixBlock.DEFAULT_SPARSEBLOCK == SparseBlock.Type.MCSR )
 				reader = new ReaderBinaryBlockParallel( props.localFS );
 			else
 				reader = new ReaderBinaryBlock( props.localFS );
@@ -102,4 +106,16 @@ public class MatrixReaderFactory
 		
 		return reader;
 	}
+
+	private static boolean isCompressedBinaryBlock( ReadProperties props ) 
+		throws DMLRuntimeException
+	{
+		try {
+			return props.path != null 
+				&& ReaderBinaryBlockCompressed.isCompressedBinaryBlock(props.path, props.localFS);
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException("Failed to probe binary block input "+props.path+".", ex);
+		}
+	}
 }
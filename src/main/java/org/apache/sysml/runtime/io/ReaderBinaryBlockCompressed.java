@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysml.conf.CompilerConfig.ConfigType;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.ColGroup;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+
+/**
+ * Reader for the compressed binary block format written by 
+ * {@link WriterBinaryBlockCompressed}. All part files are read in parallel
+ * and their column groups are concatenated into a single compressed block,
+ * which avoids decompression and recompression of the read matrix.
+ * 
+ */
+public class ReaderBinaryBlockCompressed extends MatrixReader 
+{
+	private boolean _localFS = false;
+	private int _numThreads = 1;
+	
+	public ReaderBinaryBlockCompressed( boolean localFS ) {
+		_localFS = localFS;
+		_numThreads = ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_READ_BINARYFORMATS) ?
+			OptimizerUtils.getParallelBinaryReadParallelism() : 1;
+	}
+	
+	/**
+	 * Indicates if the given file (or directory of part files) is in compressed 
+	 * binary block format, which is determined by the value class of its sequence files.
+	 * 
+	 * @param fname file name
+	 * @param localFS true if read from local file system
+	 * @return true if compressed binary block format
+	 * @throws IOException if IOException occurs
+	 */
+	@SuppressWarnings("deprecation")
+	public static boolean isCompressedBinaryBlock( String fname, boolean localFS ) 
+		throws IOException
+	{
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());	
+		FileSystem fs = localFS ? FileSystem.getLocal(job) : FileSystem.get(job);
+		Path path = new Path( (localFS ? "file:///" : "") + fname); 
+		if( !fs.exists(path) )
+			return false;
+		
+		//probe the header of the first part file
+		Path[] files = getSequenceFilePaths(fs, path);
+		if( files.length == 0 || fs.isDirectory(files[0]) )
+			return false;
+		SequenceFile.Reader reader = new SequenceFile.Reader(fs, files[0], job);
+		try {
+			return CompressedMatrixBlock.class.getName().equals(reader.getValueClassName());
+		}
+		finally {
+			IOUtilFunctions.closeSilently(reader);
+		}
+	}
+	
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int brlen, int bclen, long estnnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());	
+		FileSystem fs = _localFS ? FileSystem.getLocal(job) : FileSystem.get(job);
+		Path path = new Path( (_localFS ? "file:///" : "") + fname); 
+		
+		//check existence and non-empty file
+		checkValidInputFile(fs, path); 
+		
+		//core read of all part files
+		List<CompressedMatrixBlock> parts = readCompressedBlocksFromHDFS(path, job, fs);
+		
+		//concatenate column groups of all parts
+		ArrayList<ColGroup> colGroups = new ArrayList<ColGroup>();
+		long nnz = -1;
+		for( CompressedMatrixBlock part : parts ) {
+			if( !part.isCompressed() )
+				throw new IOException("Invalid uncompressed block in compressed binary block file "+fname+".");
+			if( part.getNumRows() != rlen || part.getNumColumns() != clen )
+				throw new IOException("Compressed block ["+part.getNumRows()+"x"+part.getNumColumns()+"] " +
+					"does not match overall matrix dimensions ["+rlen+"x"+clen+"].");
+			colGroups.addAll(part.getColGroups());
+			nnz = part.getNonZeros();
+		}
+		
+		//sanity check for complete column coverage
+		long ncols = 0;
+		for( ColGroup grp : colGroups )
+			ncols += grp.getNumCols();
+		if( ncols != clen )
+			throw new IOException("Column groups of compressed block cover "+ncols+" instead of "+clen+" columns.");
+		
+		return new CompressedMatrixBlock((int)rlen, (int)clen, nnz, colGroups);
+	}
+	
+	private List<CompressedMatrixBlock> readCompressedBlocksFromHDFS( Path path, JobConf job, FileSystem fs ) 
+		throws IOException
+	{
+		Path[] files = getSequenceFilePaths(fs, path);
+		
+		//create read tasks for all files
+		ArrayList<ReadFileTask> tasks = new ArrayList<ReadFileTask>();
+		for( Path lpath : files )
+			tasks.add(new ReadFileTask(lpath, job, fs));
+		
+		List<CompressedMatrixBlock> ret = new ArrayList<CompressedMatrixBlock>();
+		try 
+		{
+			//sequential read of single file (or if dop is 1)
+			int numThreads = Math.min(_numThreads, tasks.size());
+			if( numThreads <= 1 ) {
+				for( ReadFileTask task : tasks )
+					ret.addAll(task.call());
+				return ret;
+			}
+			
+			//parallel read of all part files
+			ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+			List<Future<List<CompressedMatrixBlock>>> rt = pool.invokeAll(tasks);	
+			pool.shutdown();
+			
+			//check for exceptions and collect blocks in file order
+			for( Future<List<CompressedMatrixBlock>> task : rt )
+				ret.addAll(task.get());
+		} 
+		catch (Exception e) {
+			throw new IOException("Failed parallel read of compressed binary block input.", e);
+		}
+		
+		return ret;
+	}
+	
+	private static class ReadFileTask implements Callable<List<CompressedMatrixBlock>> 
+	{
+		private Path _path = null;
+		private JobConf _job = null;
+		private FileSystem _fs = null;
+		
+		public ReadFileTask(Path path, JobConf job, FileSystem fs) {
+			_path = path;
+			_fs = fs;
+			_job = job;
+		}
+
+		@Override
+		@SuppressWarnings({ "deprecation" })
+		public List<CompressedMatrixBlock> call() throws Exception 
+		{
+			List<CompressedMatrixBlock> ret = new ArrayList<CompressedMatrixBlock>();
+			MatrixIndexes key = new MatrixIndexes(); 
+			
+			//directly read from sequence file (individual part file)
+			SequenceFile.Reader reader = new SequenceFile.Reader(_fs,_path,_job);
+			try {
+				CompressedMatrixBlock value = new CompressedMatrixBlock();
+				while( reader.next(key, value) ) {
+					ret.add(value);
+					value = new CompressedMatrixBlock();
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+			
+			return ret;
+		}
+	}
+}
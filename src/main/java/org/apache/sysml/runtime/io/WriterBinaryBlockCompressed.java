@@ -0,0 +1,271 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.conf.CompilerConfig.ConfigType;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.hops.OptimizerUtils;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.compress.ColGroup;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.matrix.mapred.MRConfigurationNames;
+import org.apache.sysml.runtime.util.MapReduceTool;
+
+/**
+ * Writer for the compressed binary block format, which stores the column groups 
+ * of a compressed matrix block instead of its uncompressed blocks. The column 
+ * groups are partitioned into disjoint sets and written as one compressed block 
+ * (with full dimensions) per part file. This format is only readable in CP by 
+ * {@link ReaderBinaryBlockCompressed}.
+ * 
+ */
+public class WriterBinaryBlockCompressed extends MatrixWriter
+{
+	protected int _replication = -1;
+	protected int _numPartFiles = -1;
+	
+	public WriterBinaryBlockCompressed( int replication ) {
+		this(replication, -1);
+	}
+	
+	public WriterBinaryBlockCompressed( int replication, int numPartFiles ) {
+		_replication = replication;
+		_numPartFiles = numPartFiles;
+	}
+	
+	/**
+	 * Indicates if the given block is written in the compressed binary block format,
+	 * which requires an explicit opt-in (compressed.write), a compressed block, binary 
+	 * block output and singlenode execution (because distributed readers expect 
+	 * uncompressed blocks).
+	 * 
+	 * @param src matrix block
+	 * @param oinfo output info
+	 * @return true if the compressed binary block writer applies
+	 */
+	public static boolean isApplicable( MatrixBlock src, OutputInfo oinfo ) {
+		return oinfo == OutputInfo.BinaryBlockOutputInfo
+			&& DMLScript.rtplatform == RUNTIME_PLATFORM.SINGLE_NODE
+			&& ConfigurationManager.getDMLConfig().getBooleanValue(DMLConfig.COMPRESSED_WRITE)
+			&& src instanceof CompressedMatrixBlock 
+			&& ((CompressedMatrixBlock)src).isCompressed();
+	}
+
+	@Override
+	public void writeMatrixToHDFS(MatrixBlock src, String fname, long rlen, long clen, int brlen, int bclen, long nnz) 
+		throws IOException, DMLRuntimeException 
+	{
+		if( !(src instanceof CompressedMatrixBlock && ((CompressedMatrixBlock)src).isCompressed()) )
+			throw new DMLRuntimeException("Compressed binary block writer requires a compressed matrix block.");
+		CompressedMatrixBlock cmb = (CompressedMatrixBlock) src;
+		
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		FileSystem fs = FileSystem.get(job);
+		Path path = new Path( fname );
+
+		//if the file already exists on HDFS, remove it.
+		MapReduceTool.deleteFileIfExistOnHDFS( fname );
+		
+		//partition column groups into part files
+		List<ArrayList<ColGroup>> parts = partitionColGroups(
+			cmb.getColGroups(), getNumPartFiles(cmb));
+		
+		//sequential write of single file
+		if( parts.size() <= 1 ) {
+			writeCompressedBlockToSequenceFile(path, job, fs, cmb);
+			IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, path);
+			return;
+		}
+		
+		//create directory for concurrent tasks
+		MapReduceTool.createDirIfNotExistOnHDFS(path.toString(), DMLConfig.DEFAULT_SHARED_DIR_PERMISSION);
+		
+		//create and execute write tasks
+		try 
+		{
+			ExecutorService pool = Executors.newFixedThreadPool(parts.size());
+			ArrayList<WriteFileTask> tasks = new ArrayList<WriteFileTask>();
+			for( int i=0; i<parts.size(); i++ ) {
+				Path newPath = new Path(path, String.format("0-m-%05d",i));
+				CompressedMatrixBlock part = new CompressedMatrixBlock(
+					cmb.getNumRows(), cmb.getNumColumns(), cmb.getNonZeros(), parts.get(i));
+				tasks.add(new WriteFileTask(newPath, job, fs, part));
+			}
+
+			//wait until all tasks have been executed
+			List<Future<Object>> rt = pool.invokeAll(tasks);	
+			pool.shutdown();
+			
+			//check for exceptions 
+			for( Future<Object> task : rt )
+				task.get();
+		} 
+		catch (Exception e) {
+			throw new IOException("Failed parallel write of compressed binary block input.", e);
+		}
+		
+		// delete crc files if written to local file system
+		for( int i=0; i<parts.size(); i++ )
+			IOUtilFunctions.deleteCrcFilesFromLocalFileSystem(fs, 
+				new Path(path, String.format("0-m-%05d",i)));
+	}
+
+	@Override
+	public void writeEmptyMatrixToHDFS(String fname, long rlen, long clen, int brlen, int bclen) 
+		throws IOException, DMLRuntimeException 
+	{
+		//empty blocks are never compressed, write regular binary block
+		new WriterBinaryBlock(_replication)
+			.writeEmptyMatrixToHDFS(fname, rlen, clen, brlen, bclen);
+	}
+	
+	private int getNumPartFiles( CompressedMatrixBlock src ) {
+		if( _numPartFiles > 0 )
+			return _numPartFiles;
+		
+		//estimate number of output files (min 1)
+		int numPartFiles = (int)(src.getExactSizeOnDisk() / InfrastructureAnalyzer.getHDFSBlockSize());
+		numPartFiles = Math.max(numPartFiles, 1);
+		
+		//determine degree of parallelism
+		int numThreads = ConfigurationManager.getCompilerConfigFlag(ConfigType.PARALLEL_CP_WRITE_BINARYFORMATS) ?
+			OptimizerUtils.getParallelBinaryWriteParallelism() : 1;
+		return Math.min(numThreads, numPartFiles);
+	}
+	
+	/**
+	 * Partitions the given column groups into at most k disjoint sets of 
+	 * similar serialized size, via greedy assignment of groups (in decreasing
+	 * size) to the currently smallest set. 
+	 * 
+	 * @param groups list of column groups
+	 * @param k maximum number of partitions
+	 * @return list of non-empty partitions
+	 */
+	private static List<ArrayList<ColGroup>> partitionColGroups( List<ColGroup> groups, int k ) 
+	{
+		int numParts = Math.max(Math.min(k, groups.size()), 1);
+		List<ArrayList<ColGroup>> ret = new ArrayList<ArrayList<ColGroup>>();
+		for( int i=0; i<numParts; i++ )
+			ret.add(new ArrayList<ColGroup>());
+		if( numParts == 1 ) {
+			ret.get(0).addAll(groups);
+			return ret;
+		}
+		
+		//obtain serialized sizes and order of groups (largest first)
+		long[] sizes = new long[groups.size()];
+		Integer[] order = new Integer[groups.size()];
+		for( int i=0; i<groups.size(); i++ ) {
+			sizes[i] = groups.get(i).getExactSizeOnDisk();
+			order[i] = i;
+		}
+		final long[] fsizes = sizes;
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer o1, Integer o2) {
+				return fsizes[o1] > fsizes[o2] ? -1 : 
+					fsizes[o1] < fsizes[o2] ? 1 : o1.compareTo(o2);
+			}
+		});
+		
+		//greedy assignment to the smallest partition
+		long[] psizes = new long[numParts];
+		for( Integer ix : order ) {
+			int minPos = 0;
+			for( int j=1; j<numParts; j++ )
+				minPos = (psizes[j] < psizes[minPos]) ? j : minPos;
+			ret.get(minPos).add(groups.get(ix));
+			psizes[minPos] += sizes[ix];
+		}
+		
+		return ret;
+	}
+	
+	@SuppressWarnings("deprecation")
+	private void writeCompressedBlockToSequenceFile( Path path, JobConf job, FileSystem fs, CompressedMatrixBlock src ) 
+		throws IOException
+	{
+		//create sequence file writer, with right replication factor 
+		SequenceFile.Writer writer = null;
+		if( _replication > 0 ) { //if replication specified (otherwise default)
+			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, CompressedMatrixBlock.class, 
+				job.getInt(MRConfigurationNames.IO_FILE_BUFFER_SIZE, 4096), (short)_replication, 
+				fs.getDefaultBlockSize(), null, new SequenceFile.Metadata());	
+		}
+		else {
+			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, CompressedMatrixBlock.class);
+		}
+		
+		//write entire compressed block as a single entry
+		try {
+			writer.append(new MatrixIndexes(1, 1), src);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(writer);
+		}
+	}
+	
+	private class WriteFileTask implements Callable<Object> 
+	{
+		private Path _path = null;
+		private JobConf _job = null;
+		private FileSystem _fs = null;
+		private CompressedMatrixBlock _src = null;
+		
+		public WriteFileTask(Path path, JobConf job, FileSystem fs, CompressedMatrixBlock src) {
+			_path = path;
+			_fs = fs;
+			_job = job;
+			_src = src;
+		}
+	
+		@Override
+		public Object call() 
+			throws Exception 
+		{
+			writeCompressedBlockToSequenceFile(_path, _job, _fs, _src);
+			return null;
+		}
+	}
+}
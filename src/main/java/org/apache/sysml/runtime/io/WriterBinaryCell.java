@@ -20,7 +20,6 @@
 package org.apache.sysml.runtime.io;
 
 import java.io.IOException;
-import java.util.Iterator;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
@@ -28,7 +27,7 @@ import org.apache.hadoop.io.SequenceFile;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.runtime.DMLRuntimeException;
-import org.apache.sysml.runtime.matrix.data.IJV;
+import org.apache.sysml.runtime.matrix.data.BlockCursor;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixCell;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
@@ -79,7 +78,6 @@ public class WriterBinaryCell extends MatrixWriter
 	protected void writeBinaryCellMatrixToHDFS( Path path, JobConf job, MatrixBlock src, long rlen, long clen, int brlen, int bclen )
 		throws IOException
 	{
-		boolean sparse = src.isInSparseFormat();
 		boolean entriesWritten = false;
 		FileSystem fs = FileSystem.get(job);
 		SequenceFile.Writer writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixCell.class);
@@ -99,33 +97,14 @@ public class WriterBinaryCell extends MatrixWriter
 						              "out of overall matrix range [1:"+rlen+",1:"+clen+"].");
 			}
 		
-			if( sparse ) //SPARSE
+			//cursor-based write of sparse/dense non-zero cells
+			BlockCursor cur = src.getBlockCursor();
+			while( cur.next() )
 			{
-				
-				Iterator<IJV> iter = src.getSparseBlockIterator();
-				while( iter.hasNext() )
-				{
-					IJV lcell = iter.next();
-					indexes.setIndexes(lcell.getI()+1, lcell.getJ()+1);
-					cell.setValue(lcell.getV());
-					writer.append(indexes, cell);
-					entriesWritten = true;
-				}
-			}
-			else //DENSE
-			{
-				for( int i=0; i<rows; i++ )
-					for( int j=0; j<cols; j++ )
-					{
-						double lvalue  = src.getValueDenseUnsafe(i, j);
-						if( lvalue != 0 ) //for nnz
-						{
-							indexes.setIndexes(i+1, j+1);
-							cell.setValue(lvalue);
-							writer.append(indexes, cell);
-							entriesWritten = true;
-						}
-					}
+				indexes.setIndexes(cur.getRow()+1, cur.getCol()+1);
+				cell.setValue(cur.getValue());
+				writer.append(indexes, cell);
+				entriesWritten = true;
 			}
 	
 			//handle empty result
@@ -24,7 +24,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
-import java.util.Iterator;
 
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSDataOutputStream;
@@ -35,7 +34,6 @@ import org.apache.hadoop.io.IOUtils;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.runtime.DMLRuntimeException;
-import org.apache.sysml.runtime.matrix.data.IJV;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.util.MapReduceTool;
 
@@ -88,7 +86,6 @@ public class WriterMatrixMarket extends MatrixWriter
 	protected final void writeMatrixMarketMatrixToFile( Path path, JobConf job, FileSystem fs, MatrixBlock src, int rl, int ru )
 		throws IOException
 	{
-		boolean sparse = src.isInSparseFormat();
 		int rlen = src.getNumRows();
 		int clen = src.getNumColumns();
 		long nnz = src.getNonZeros();
@@ -110,46 +107,8 @@ public class WriterMatrixMarket extends MatrixWriter
 				sb.setLength(0);
 			}
 			 
-            // output matrix cell
-			if( sparse ) //SPARSE
-			{			   
-				Iterator<IJV> iter = src.getSparseBlockIterator(rl, ru);
-				while( iter.hasNext() )
-				{
-					IJV cell = iter.next();
-
-					sb.append(cell.getI()+1);
-					sb.append(' ');
-					sb.append(cell.getJ()+1);
-					sb.append(' ');
-					sb.append(cell.getV());
-					sb.append('\n');
-					br.write( sb.toString() ); //same as append
-					sb.setLength(0); 
-				}
-			}
-			else //DENSE
-			{
-				for( int i=rl; i<ru; i++ )
-				{
-					String rowIndex = Integer.toString(i+1);					
-					for( int j=0; j<clen; j++ )
-					{
-						double lvalue = src.getValueDenseUnsafe(i, j);
-						if( lvalue != 0 ) //for nnz
-						{
-							sb.append(rowIndex);
-							sb.append(' ');
-							sb.append(j+1);
-							sb.append(' ');
-							sb.append(lvalue);
-							sb.append('\n');
-							br.write( sb.toString() ); //same as append
-							sb.setLength(0); 
-						}
-					}
-				}
-			}
+            // output matrix cell (cursor-based write of sparse/dense non-zeros)
+			WriterTextCell.writeTextCellRows(br, sb, src.getBlockCursor(rl, ru));
 	
 			//handle empty result
 			if ( src.isEmptyBlock(false) && rl==0 ) {
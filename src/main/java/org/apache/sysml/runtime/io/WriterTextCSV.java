@@ -36,9 +36,9 @@ import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.CSVReblockMR;
+import org.apache.sysml.runtime.matrix.data.BlockCursor;
 import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
-import org.apache.sysml.runtime.matrix.data.SparseBlock;
 import org.apache.sysml.runtime.util.MapReduceTool;
 
 public class WriterTextCSV extends MatrixWriter
@@ -100,7 +100,6 @@ public class WriterTextCSV extends MatrixWriter
 	protected final void writeCSVMatrixToFile( Path path, JobConf job, FileSystem fs, MatrixBlock src, int rl, int ru, CSVFileFormatProperties props )
 		throws IOException
 	{
-		boolean sparse = src.isInSparseFormat();
 		int clen = src.getNumColumns();
 		
 		//create buffered writer
@@ -135,101 +134,74 @@ public class WriterTextCSV extends MatrixWriter
 	            sb.setLength(0);
 			}
 			
-			// Write data lines
-			if( sparse ) //SPARSE
-			{	
-				SparseBlock sblock = src.getSparseBlock();
-				for(int i=rl; i < ru; i++) 
-	            {
-					//write row chunk-wise to prevent OOM on large number of columns
-					int prev_jix = -1;
-					if(    sblock!=null && i<sblock.numRows() 
-						&& !sblock.isEmpty(i) )
-					{
-						int pos = sblock.pos(i);
-						int alen = sblock.size(i);
-						int[] aix = sblock.indexes(i);
-						double[] avals = sblock.values(i);
-						
-						for(int j=pos; j<pos+alen; j++) 
-						{
-							int jix = aix[j];
-							
-							// output empty fields, if needed
-							for( int j2=prev_jix; j2<jix-1; j2++ ) {
-								if( !csvsparse )
-									sb.append('0');
-								sb.append(delim);
-							
-								//flush buffered string
-					            if( j2%BLOCKSIZE_J==0 ){
-									br.write( sb.toString() );
-						            sb.setLength(0);
-					            }
-							}
-							
-							// output the value (non-zero)
-							sb.append( avals[j] );
-							if( jix < clen-1)
-								sb.append(delim);
-							br.write( sb.toString() );
-				            sb.setLength(0);
-				            
-				            //flush buffered string
-				            if( jix%BLOCKSIZE_J==0 ){
-								br.write( sb.toString() );
-					            sb.setLength(0);
-				            }
-				            
-							prev_jix = jix;
-						}
-					}
+			// Write data lines (cursor-based over sparse/dense row segments,
+			// where sparse cursors skip empty rows)
+			BlockCursor cur = src.getBlockCursor(rl, ru);
+			boolean hasRow = cur.nextRow();
+			for( int i=rl; i<ru; i++ ) 
+			{
+				int prev_jix = -1;
+				if( hasRow && cur.getRow()==i ) 
+				{
+					int[] aix = cur.getIndexes();
+					double[] avals = cur.getValues();
+					int apos = cur.getPos();
+					int alen = cur.getSize();
 					
-					// Output empty fields at the end of the row.
-					// In case of an empty row, output (clen-1) empty fields
-					for( int bj=prev_jix+1; bj<clen; bj+=BLOCKSIZE_J )
+					for( int j=apos; j<apos+alen; j++ ) 
 					{
-						for( int j = bj; j < Math.min(clen,bj+BLOCKSIZE_J); j++) {
+						int jix = (aix != null) ? aix[j] : j-apos;
+						
+						// output empty fields, if needed
+						for( int j2=prev_jix+1; j2<jix; j2++ ) {
 							if( !csvsparse )
 								sb.append('0');
-							if( j < clen-1 )
-								sb.append(delim);
+							sb.append(delim);
+							if( sb.length() > WriterTextCell.BUFFER_SIZE ) {
+								br.write( sb.toString() );
+								sb.setLength(0);
+							}
+						}
+						
+						// output the value
+						double lvalue = avals[j];
+						if( lvalue != 0 ) //for nnz
+							sb.append(lvalue);
+						else if( !csvsparse ) 
+							sb.append('0');
+						if( jix < clen-1 )
+							sb.append(delim);
+						prev_jix = jix;
+						
+						//flush buffered string (write row chunk-wise 
+						//to prevent OOM on large number of columns)
+						if( sb.length() > WriterTextCell.BUFFER_SIZE ) {
+							br.write( sb.toString() );
+							sb.setLength(0);
 						}
-						br.write( sb.toString() );
-			            sb.setLength(0);	
 					}
-
-					sb.append('\n');
-					br.write( sb.toString() ); 
-					sb.setLength(0); 
+					hasRow = cur.nextRow();
 				}
-			}
-			else //DENSE
-			{
-				for( int i=rl; i<ru; i++ ) 
+				
+				// Output empty fields at the end of the row.
+				// In case of an empty row, output (clen-1) empty fields
+				for( int bj=prev_jix+1; bj<clen; bj+=BLOCKSIZE_J )
 				{
-					//write row chunk-wise to prevent OOM on large number of columns
-					for( int bj=0; bj<clen; bj+=BLOCKSIZE_J )
-					{
-						for( int j=bj; j<Math.min(clen,bj+BLOCKSIZE_J); j++ )
-						{
-							double lvalue = src.getValueDenseUnsafe(i, j);
-							if( lvalue != 0 ) //for nnz
-								sb.append(lvalue);
-							else if( !csvsparse ) 
-								sb.append('0');
-							
-							if( j != clen-1 )
-								sb.append(delim);
-						}
+					for( int j = bj; j < Math.min(clen,bj+BLOCKSIZE_J); j++) {
+						if( !csvsparse )
+							sb.append('0');
+						if( j < clen-1 )
+							sb.append(delim);
+					}
+					if( sb.length() > WriterTextCell.BUFFER_SIZE ) {
 						br.write( sb.toString() );
-			            sb.setLength(0);
+						sb.setLength(0);
 					}
-					
-					sb.append('\n');
-					br.write( sb.toString() ); //same as append
-					sb.setLength(0); 
 				}
+				
+				sb.append('\n');
+				br.write( sb.toString() ); //one write per row
+				sb.setLength(0); 
 			}
 		}
 		finally {
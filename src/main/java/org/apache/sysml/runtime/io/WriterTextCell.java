@@ -22,7 +22,6 @@ package org.apache.sysml.runtime.io;
 import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
-import java.util.Iterator;
 
 import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileSystem;
@@ -30,12 +29,14 @@ import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysml.conf.ConfigurationManager;
 import org.apache.sysml.runtime.DMLRuntimeException;
-import org.apache.sysml.runtime.matrix.data.IJV;
+import org.apache.sysml.runtime.matrix.data.BlockCursor;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.util.MapReduceTool;
 
 public class WriterTextCell extends MatrixWriter
 {
+	public static final int BUFFER_SIZE = 8192; //chars per write for wide rows
+	
 	@Override
 	public final void writeMatrixToHDFS(MatrixBlock src, String fname, long rlen, long clen, int brlen, int bclen, long nnz) 
 		throws IOException, DMLRuntimeException 
@@ -83,9 +84,6 @@ public class WriterTextCell extends MatrixWriter
 	protected final void writeTextCellMatrixToFile( Path path, JobConf job, FileSystem fs, MatrixBlock src, int rl, int ru )
 		throws IOException
 	{
-		boolean sparse = src.isInSparseFormat();
-		int clen = src.getNumColumns();
-		
 		BufferedWriter br = new BufferedWriter(new OutputStreamWriter(fs.create(path,true)));		
 
 		try
@@ -93,46 +91,8 @@ public class WriterTextCell extends MatrixWriter
 			//for obj reuse and preventing repeated buffer re-allocations
 			StringBuilder sb = new StringBuilder();
 			
-			if( sparse ) //SPARSE
-			{			   
-				Iterator<IJV> iter = src.getSparseBlockIterator(rl, ru);
-				while( iter.hasNext() )
-				{
-					IJV cell = iter.next();
-
-					sb.append(cell.getI()+1);
-					sb.append(' ');
-					sb.append(cell.getJ()+1);
-					sb.append(' ');
-					sb.append(cell.getV());
-					sb.append('\n');
-					br.write( sb.toString() ); //same as append
-					sb.setLength(0); 
-				}
-			}
-			else //DENSE
-			{
-				for( int i=rl; i<ru; i++ )
-				{
-					String rowIndex = Integer.toString(i+1);					
-					for( int j=0; j<clen; j++ )
-					{
-						double lvalue = src.getValueDenseUnsafe(i, j);
-						if( lvalue != 0 ) //for nnz
-						{
-							sb.append(rowIndex);
-							sb.append(' ');
-							sb.append( j+1 );
-							sb.append(' ');
-							sb.append( lvalue );
-							sb.append('\n');
-							br.write( sb.toString() ); //same as append
-							sb.setLength(0); 
-						}
-						
-					}
-				}
-			}
+			//cursor-based write of sparse/dense non-zero cells
+			writeTextCellRows(br, sb, src.getBlockCursor(rl, ru));
 	
 			//handle empty result
 			if ( src.isEmptyBlock(false) && rl==0 ) {
@@ -143,4 +103,51 @@ public class WriterTextCell extends MatrixWriter
 			IOUtilFunctions.closeSilently(br);
 		}
 	}
+	
+	/**
+	 * Writes the non-zero cells of the given cursor in text cell format 
+	 * (1-based 'i j v' lines). The row index is formatted once per row 
+	 * and the cells of a row are handed to the writer in a single call.
+	 * 
+	 * @param br buffered writer
+	 * @param sb reused string builder
+	 * @param cur sparse or dense block cursor
+	 * @throws IOException if IOException occurs
+	 */
+	public static void writeTextCellRows( BufferedWriter br, StringBuilder sb, BlockCursor cur )
+		throws IOException
+	{
+		while( cur.nextRow() )
+		{
+			String rowIndex = Integer.toString(cur.getRow()+1);
+			int[] aix = cur.getIndexes();
+			double[] avals = cur.getValues();
+			int apos = cur.getPos();
+			int alen = cur.getSize();
+			
+			for( int j=apos; j<apos+alen; j++ )
+			{
+				double lvalue = avals[j];
+				if( aix == null && lvalue == 0 ) //skip dense zeros
+					continue;
+				sb.append(rowIndex);
+				sb.append(' ');
+				sb.append( ((aix != null) ? aix[j] : j-apos) + 1 );
+				sb.append(' ');
+				sb.append(lvalue);
+				sb.append('\n');
+				
+				//flush buffered string
+				if( sb.length() > BUFFER_SIZE ) {
+					br.write( sb.toString() );
+					sb.setLength(0);
+				}
+			}
+			
+			if( sb.length() > 0 ) {
+				br.write( sb.toString() ); //one write per row
+				sb.setLength(0);
+			}
+		}
+	}
 }
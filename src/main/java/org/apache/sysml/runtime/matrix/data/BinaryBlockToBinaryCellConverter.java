@@ -20,8 +20,6 @@
 
 package org.apache.sysml.runtime.matrix.data;
 
-import java.util.Iterator;
-
 import org.apache.sysml.runtime.util.UtilFunctions;
 
 
@@ -30,14 +28,10 @@ public class BinaryBlockToBinaryCellConverter implements
 Converter<MatrixIndexes, MatrixBlock, MatrixIndexes, MatrixCell>
 {
 	
-	private Iterator<IJV> sparseIterator=null;
-	private double[] denseArray=null;
-	private int denseArraySize=0;
-	private int nextInDenseArray=-1;
-	private boolean sparse=true;
-	private int thisBlockWidth=0;
+	private BlockCursor cursor=null;
 	private MatrixIndexes startIndexes=new MatrixIndexes();
 	private boolean hasValue=false;
+	private boolean advanced=false; //cursor positioned at next value
 	private int brow;
 	private int bcolumn;
 	
@@ -47,12 +41,9 @@ Converter<MatrixIndexes, MatrixBlock, MatrixIndexes, MatrixCell>
 	
 	private void reset()
 	{
-		sparseIterator=null;
-		denseArray=null;
-		denseArraySize=0;
-		nextInDenseArray=-1;
-		sparse=true;
-		thisBlockWidth=0;
+		cursor=null;
+		hasValue=false;
+		advanced=false;
 	}
 	
 	@Override
@@ -60,75 +51,28 @@ Converter<MatrixIndexes, MatrixBlock, MatrixIndexes, MatrixCell>
 		reset();
 		startIndexes.setIndexes(UtilFunctions.computeCellIndex(k1.getRowIndex(), brow,0), 
 				UtilFunctions.computeCellIndex(k1.getColumnIndex(),bcolumn,0));
-		sparse=v1.isInSparseFormat();
-		thisBlockWidth=v1.getNumColumns();
-		if(sparse)
-		{
-			sparseIterator=v1.getSparseBlockIterator();
-		}
-		else
-		{
-			if(v1.getDenseBlock()==null)
-				return;
-			denseArray=v1.getDenseBlock();
-			nextInDenseArray=0;
-			denseArraySize=v1.getNumRows()*v1.getNumColumns();
-		}
-		hasValue=(v1.getNonZeros()>0);
+		cursor=v1.getBlockCursor();
 	}
 
 	@Override
 	public boolean hasNext() {
-		if(sparse)
-		{
-			if(sparseIterator==null)
-				hasValue=false;
-			else
-				hasValue=sparseIterator.hasNext();
-		}else
-		{
-			if(denseArray==null)
-				hasValue=false;
-			else
-			{
-				while(nextInDenseArray<denseArraySize && denseArray[nextInDenseArray]==0)
-					nextInDenseArray++;
-				hasValue=(nextInDenseArray<denseArraySize);
-			}
+		if(cursor==null)
+			return false;
+		if(!advanced) {
+			hasValue=cursor.next();
+			advanced=true;
 		}
 		return hasValue;
 	}
 
 	@Override
 	public Pair<MatrixIndexes, MatrixCell> next() {
-		if(!hasValue)
+		if(!hasNext())
 			return null;
-		long i, j;
-		double v;
-		if(sparse)
-		{
-			if(sparseIterator==null)
-				return null;
-			else
-			{
-				IJV tmpcell = sparseIterator.next();
-				i = tmpcell.getI() + startIndexes.getRowIndex();
-				j = tmpcell.getJ() + startIndexes.getColumnIndex();
-				v = tmpcell.getV();
-			}
-				
-		}else
-		{
-			if(denseArray==null)
-				return null;
-			else
-			{
-				i=startIndexes.getRowIndex() + nextInDenseArray/thisBlockWidth;
-				j=startIndexes.getColumnIndex() + nextInDenseArray%thisBlockWidth;
-				v=denseArray[nextInDenseArray];
-				nextInDenseArray++;
-			}
-		}
+		advanced=false;
+		long i=cursor.getRow() + startIndexes.getRowIndex();
+		long j=cursor.getCol() + startIndexes.getColumnIndex();
+		double v=cursor.getValue();
 		returnIndexes.setIndexes(i,j);
 		cell.setValue(v);
 		return pair;
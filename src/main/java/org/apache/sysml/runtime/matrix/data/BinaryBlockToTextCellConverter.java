@@ -21,8 +21,6 @@
 package org.apache.sysml.runtime.matrix.data;
 
 
-import java.util.Iterator;
-
 import org.apache.hadoop.io.NullWritable;
 import org.apache.hadoop.io.Text;
 import org.apache.sysml.runtime.util.UtilFunctions;
@@ -32,14 +30,10 @@ import org.apache.sysml.runtime.util.UtilFunctions;
 public class BinaryBlockToTextCellConverter implements 
 Converter<MatrixIndexes, MatrixBlock, NullWritable, Text>
 {	
-	private Iterator<IJV> sparseIterator=null;
-	private double[] denseArray=null;
-	private int denseArraySize=0;
-	private int nextInDenseArray=-1;
-	private boolean sparse=true;
-	private int thisBlockWidth=0;
+	private BlockCursor cursor=null;
 	private MatrixIndexes startIndexes=new MatrixIndexes();
 	private boolean hasValue=false;
+	private boolean advanced=false; //cursor positioned at next value
 	private int brow;
 	private int bcolumn;
 	
@@ -48,12 +42,9 @@ Converter<MatrixIndexes, MatrixBlock, NullWritable, Text>
 	
 	private void reset()
 	{
-		sparseIterator=null;
-		denseArray=null;
-		denseArraySize=0;
-		nextInDenseArray=-1;
-		sparse=true;
-		thisBlockWidth=0;
+		cursor=null;
+		hasValue=false;
+		advanced=false;
 	}
 	
 	/**
@@ -64,75 +55,28 @@ Converter<MatrixIndexes, MatrixBlock, NullWritable, Text>
 		reset();
 		startIndexes.setIndexes(UtilFunctions.computeCellIndex(k1.getRowIndex(), brow,0), 
 				UtilFunctions.computeCellIndex(k1.getColumnIndex(),bcolumn,0));
-		sparse=v1.isInSparseFormat();
-		thisBlockWidth=v1.getNumColumns();
-		if(sparse)
-		{
-			sparseIterator=v1.getSparseBlockIterator();
-		}
-		else
-		{
-			if(v1.getDenseBlock()==null)
-				return;
-			denseArray=v1.getDenseBlock();
-			nextInDenseArray=0;
-			denseArraySize=v1.getNumRows()*v1.getNumColumns();
-		}
-		hasValue=(v1.getNonZeros()>0);
+		cursor=v1.getBlockCursor();
 	}
 
 	@Override
 	public boolean hasNext() {
-		if(sparse)
-		{
-			if(sparseIterator==null)
-				hasValue=false;
-			else
-				hasValue=sparseIterator.hasNext();
-		}else
-		{
-			if(denseArray==null)
-				hasValue=false;
-			else
-			{
-				while(nextInDenseArray<denseArraySize && denseArray[nextInDenseArray]==0)
-					nextInDenseArray++;
-				hasValue=(nextInDenseArray<denseArraySize);
-			}
+		if(cursor==null)
+			return false;
+		if(!advanced) {
+			hasValue=cursor.next();
+			advanced=true;
 		}
 		return hasValue;
 	}
 
 	@Override
 	public Pair<NullWritable, Text> next() {
-		if(!hasValue)
+		if(!hasNext())
 			return null;
-		long i, j;
-		double v;
-		if(sparse)
-		{
-			if(sparseIterator==null)
-				return null;
-			else
-			{
-				IJV cell = sparseIterator.next();
-				i = cell.getI() + startIndexes.getRowIndex();
-				j = cell.getJ() + startIndexes.getColumnIndex();
-				v = cell.getV();
-			}
-				
-		}else
-		{
-			if(denseArray==null)
-				return null;
-			else
-			{
-				i=startIndexes.getRowIndex() + nextInDenseArray/thisBlockWidth;
-				j=startIndexes.getColumnIndex() + nextInDenseArray%thisBlockWidth;
-				v=denseArray[nextInDenseArray];
-				nextInDenseArray++;
-			}
-		}
+		advanced=false;
+		long i=cursor.getRow() + startIndexes.getRowIndex();
+		long j=cursor.getCol() + startIndexes.getColumnIndex();
+		double v=cursor.getValue();
 		value.set(i+" "+j+" "+v);
 		return pair;
 	}
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.matrix.data;
+
+/**
+ * Allocation-free cursor over the non-zero cells of a sparse or dense 
+ * block, as a replacement of {@code Iterator<IJV>}. In contrast to 
+ * the iterator, the cursor exposes the current cell via primitive 
+ * accessors (no reused tuple object, no virtual dispatch per accessor) 
+ * and additionally allows bulk access to the current row segment, i.e., 
+ * the values in {@code getValues()[getPos()...getPos()+getSize())} and,
+ * for sparse blocks, the column indexes in {@code getIndexes()} at the 
+ * same positions.
+ * 
+ * Cursors can be advanced row-wise via {@link #nextRow()} or cell-wise
+ * via {@link #next()}, where the latter consumes the remaining cells of
+ * the current row segment before moving on to the next row. Sparse 
+ * cursors visit non-empty rows only, whereas dense cursors visit all rows
+ * and skip zero cells in cell-wise iteration.
+ * 
+ */
+public abstract class BlockCursor 
+{
+	protected final boolean _sparse;
+	protected final int _ru; //row upper bound (exclusive)
+	protected int _row;      //current row
+	
+	//current row segment
+	protected int[] _indexes = null; //column indexes, null if dense
+	protected double[] _values = null;
+	protected int _pos = 0;
+	protected int _end = 0;
+	
+	//current cell
+	protected int _ix = -1;
+	
+	protected BlockCursor(boolean sparse, int rl, int ru) {
+		_sparse = sparse;
+		_row = rl - 1;
+		_ru = ru;
+	}
+	
+	/**
+	 * Advances the cursor to the next row segment and positions 
+	 * the cell cursor before the first cell of this segment.
+	 * 
+	 * @return true if a next row exists, false otherwise
+	 */
+	public abstract boolean nextRow();
+	
+	/**
+	 * Advances the cursor to the next non-zero cell, which might 
+	 * be in the current row segment or subsequent rows.
+	 * 
+	 * @return true if a next non-zero cell exists, false otherwise
+	 */
+	public final boolean next() {
+		while( true ) {
+			//probe remaining cells of current row segment
+			while( ++_ix < _end ) {
+				if( _sparse || _values[_ix] != 0 )
+					return true;
+			}
+			//advance to next row segment
+			if( !nextRow() )
+				return false;
+		}
+	}
+	
+	/**
+	 * Indicates if the underlying block is in sparse format, i.e., if
+	 * the column indexes are given by {@link #getIndexes()}.
+	 * 
+	 * @return true if sparse
+	 */
+	public final boolean isSparse() {
+		return _sparse;
+	}
+	
+	/**
+	 * Gets the row index of the current row segment or cell.
+	 * 
+	 * @return row index starting at 0
+	 */
+	public final int getRow() {
+		return _row;
+	}
+	
+	/**
+	 * Gets the column index of the current cell.
+	 * 
+	 * @return column index starting at 0
+	 */
+	public final int getCol() {
+		return _sparse ? _indexes[_ix] : _ix - _pos;
+	}
+	
+	/**
+	 * Gets the value of the current cell.
+	 * 
+	 * @return cell value
+	 */
+	public final double getValue() {
+		return _values[_ix];
+	}
+	
+	/**
+	 * Gets the column indexes of the current row segment, or null
+	 * for dense blocks, where the column index is the offset from pos.
+	 * 
+	 * @return array of column indexes
+	 */
+	public final int[] getIndexes() {
+		return _indexes;
+	}
+	
+	/**
+	 * Gets the values of the current row segment. Note that the
+	 * returned array might be reused across rows and should not
+	 * be modified.
+	 * 
+	 * @return array of values
+	 */
+	public final double[] getValues() {
+		return _values;
+	}
+	
+	/**
+	 * Gets the start position of the current row segment
+	 * in the arrays of indexes and values.
+	 * 
+	 * @return start position
+	 */
+	public final int getPos() {
+		return _pos;
+	}
+	
+	/**
+	 * Gets the number of entries of the current row segment.
+	 * 
+	 * @return number of entries
+	 */
+	public final int getSize() {
+		return _end - _pos;
+	}
+	
+	protected final void setSegment(int[] indexes, double[] values, int pos, int len) {
+		_indexes = indexes;
+		_values = values;
+		_pos = pos;
+		_end = pos + len;
+		_ix = pos - 1; //before first cell
+	}
+}
@@ -0,0 +1,452 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.io.Serializable;
+
+/**
+ * This DenseBlock is an abstraction for different dense, row-major 
+ * matrix formats. For efficient dense operations, this API does not
+ * expose a row but a row-block abstraction, where a block can contain
+ * one or many contiguous rows. All rows are guaranteed to reside within
+ * a single block, i.e., the values of row r are available in the array 
+ * values(r) starting at position pos(r). Hot loops are supposed to obtain
+ * this array and offset once per row (or row block) and then directly 
+ * operate on the array in order to remain JIT-friendly.
+ * 
+ * Example dense formats are a single linearized array (DRB) for blocks 
+ * of up to 2^31 cells, and multiple row-block-partitioned arrays (LDRB) 
+ * for larger blocks.
+ * 
+ * Compact formats (single precision, boolean, symmetric, and constant)
+ * are read directly by aware kernels. Any access to the double values via
+ * values(r) or valuesAt(bix) widens such a block once and in place to a 
+ * full double array, after which it behaves like a DRB.
+ * 
+ */
+public abstract class DenseBlock implements Serializable
+{
+	private static final long serialVersionUID = 7517220490270237832L;
+
+	public enum Type {
+		DRB, //dense row block
+		LDRB, //large dense row block
+		FP32, //single-precision dense row block
+		BOOL, //boolean dense row block (bitset)
+		SYM, //symmetric dense row block (packed upper triangle)
+		CONST, //constant dense row block (single value)
+	}
+	
+	
+	////////////////////////
+	//basic allocation
+	
+	/**
+	 * Resets the dense block by setting the given value.
+	 * 
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param v value
+	 */
+	public abstract void reset(int rlen, int clen, double v);
+	
+	/**
+	 * Resets the dense block by deleting non-zero values. After this
+	 * call all countNonZeros() calls are guaranteed to return 0.
+	 */
+	public void reset() {
+		reset(numRows(), numCols(), 0);
+	}
+	
+	/**
+	 * Resets the dense block by deleting non-zero values. After this
+	 * call all countNonZeros() calls are guaranteed to return 0. If
+	 * the new dimensions exceed the current capacity, the underlying
+	 * storage is extended accordingly.
+	 * 
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 */
+	public void reset(int rlen, int clen) {
+		reset(rlen, clen, 0);
+	}
+	
+	
+	////////////////////////
+	//obtain basic meta data
+	
+	/**
+	 * Get the number of rows.
+	 * 
+	 * @return number of rows
+	 */
+	public abstract int numRows();
+	
+	/**
+	 * Get the number of columns.
+	 * 
+	 * @return number of columns
+	 */
+	public abstract int numCols();
+	
+	/**
+	 * Get the number of allocated blocks.
+	 * 
+	 * @return number of blocks
+	 */
+	public abstract int numBlocks();
+	
+	/**
+	 * Get the number of rows per block, except last one.
+	 * 
+	 * @return number of rows in block
+	 */
+	public abstract int blockSize();
+	
+	/**
+	 * Get the number of rows of the given block.
+	 * 
+	 * @param bix block index
+	 * @return number of rows in block
+	 */
+	public abstract int blockSize(int bix);
+	
+	/**
+	 * Indicates if the dense block uses a single
+	 * underlying block, i.e., one contiguous array.
+	 * 
+	 * @return true if single block
+	 */
+	public abstract boolean isContiguous();
+	
+	/**
+	 * Indicates if the dense block has a single
+	 * underlying block for the given row range.
+	 * 
+	 * @param rl row lower index
+	 * @param ru row upper index (inclusive)
+	 * @return true if single block in row range
+	 */
+	public abstract boolean isContiguous(int rl, int ru);
+	
+	/**
+	 * Get the length of the dense block as the product
+	 * of row and column dimensions.
+	 * 
+	 * @return length
+	 */
+	public long size() {
+		return (long)numRows() * numCols();
+	}
+	
+	/**
+	 * Get the length of the given block.
+	 * 
+	 * @param bix block index
+	 * @return length
+	 */
+	public int size(int bix) {
+		return blockSize(bix) * numCols();
+	}
+	
+	/**
+	 * Get the total length of allocated blocks.
+	 * 
+	 * @return capacity
+	 */
+	public abstract long capacity();
+	
+	/**
+	 * Indicates if the values are stored in single precision (floats).
+	 * 
+	 * @return true if values are stored as floats
+	 */
+	public boolean isSinglePrecision() {
+		return false;
+	}
+	
+	/**
+	 * Indicates if the values are stored as bitset of 0/1 values.
+	 * 
+	 * @return true if values are stored as bits
+	 */
+	public boolean isBoolean() {
+		return false;
+	}
+	
+	/**
+	 * Indicates if the values are stored as packed upper triangle 
+	 * of a symmetric matrix.
+	 * 
+	 * @return true if values are stored as packed triangle
+	 */
+	public boolean isSymmetric() {
+		return false;
+	}
+	
+	/**
+	 * Indicates if all values are represented by a single constant.
+	 * 
+	 * @return true if values are represented by a constant
+	 */
+	public boolean isConstant() {
+		return false;
+	}
+	
+	/**
+	 * Creates a shallow copy of a compact dense block, which shares the 
+	 * compact storage but widens independently of this block.
+	 * 
+	 * @return shallow copy, or this block if not compact
+	 */
+	public DenseBlock copyShallowCompact() {
+		return this;
+	}
+	
+	/**
+	 * Indicates if the values are referenced from a row range of another
+	 * dense block, in which case modifications and block-level access 
+	 * copy the referenced rows in place (copy-on-write).
+	 * 
+	 * @return true if values are shared with a parent block
+	 */
+	public boolean isView() {
+		return false;
+	}
+	
+	/**
+	 * Computes the number of non zero elements of the entire dense block.
+	 * 
+	 * @return number of non-zeros
+	 */
+	public abstract long countNonZeros();
+	
+	/**
+	 * Compute the number of non-zero values for the given row.
+	 * 
+	 * @param r row index
+	 * @return number of non-zeros
+	 */
+	public int countNonZeros(int r) {
+		double[] a = values(r);
+		int ix = pos(r);
+		int len = numCols();
+		int nnz = 0;
+		for( int j=ix; j<ix+len; j++ )
+			nnz += (a[j] != 0) ? 1 : 0;
+		return nnz;
+	}
+	
+	/**
+	 * Compute the number of non-zero values, which potentially 
+	 * makes a full pass over the underlying blocks.
+	 * 
+	 * @param rl row lower index
+	 * @param ru row upper index (exclusive)
+	 * @param cl column lower index 
+	 * @param cu column upper index (exclusive)
+	 * @return number of non-zeros
+	 */
+	public long countNonZeros(int rl, int ru, int cl, int cu) {
+		long nnz = 0;
+		for( int i=rl; i<ru; i++ ) {
+			double[] a = values(i);
+			int ix = pos(i);
+			for( int j=ix+cl; j<ix+cu; j++ )
+				nnz += (a[j] != 0) ? 1 : 0;
+		}
+		return nnz;
+	}
+	
+	
+	////////////////////////
+	//basic block access
+	
+	/**
+	 * Get the allocated blocks.
+	 * 
+	 * @return blocks
+	 */
+	public abstract double[][] values();
+	
+	/**
+	 * Get an allocated block.
+	 * 
+	 * @param bix block index
+	 * @return block
+	 */
+	public abstract double[] valuesAt(int bix);
+	
+	/**
+	 * Get the allocated block for the given row. This call
+	 * is equivalent to valuesAt(index(r)).
+	 * 
+	 * @param r row index
+	 * @return block
+	 */
+	public abstract double[] values(int r);
+	
+	/**
+	 * Get the block index for a given row.
+	 * 
+	 * @param r row index
+	 * @return block index
+	 */
+	public abstract int index(int r);
+	
+	/**
+	 * Get the position for a given row within
+	 * its associated block.
+	 * 
+	 * @param r row index
+	 * @return block position
+	 */
+	public abstract int pos(int r);
+	
+	/**
+	 * Get the position for a given row and column
+	 * within the associated block.
+	 * 
+	 * @param r row index
+	 * @param c column index
+	 * @return block position
+	 */
+	public abstract int pos(int r, int c);
+	
+	
+	////////////////////////
+	//basic value access
+	
+	/**
+	 * Set the given value for the entire dense block (fill).
+	 * 
+	 * @param v value
+	 * @return self
+	 */
+	public abstract DenseBlock set(double v);
+	
+	/**
+	 * Set the given value for a given row and column.
+	 * 
+	 * @param r row index
+	 * @param c column index
+	 * @param v value
+	 * @return self
+	 */
+	public abstract DenseBlock set(int r, int c, double v);
+	
+	/**
+	 * Copy the given vector into the given row.
+	 * 
+	 * @param r row index
+	 * @param v value vector
+	 * @return self
+	 */
+	public DenseBlock set(int r, double[] v) {
+		System.arraycopy(v, 0, values(r), pos(r), numCols());
+		return this;
+	}
+	
+	/**
+	 * Copy the given dense block, which is required to
+	 * have equal dimensions.
+	 * 
+	 * @param db dense block
+	 * @return self
+	 */
+	public DenseBlock set(DenseBlock db) {
+		int rlen = numRows();
+		int clen = numCols();
+		float[] fvals = (db instanceof DenseBlockFP32) ? 
+			((DenseBlockFP32)db).valuesFP32() : null;
+		if( db.isBoolean() ) {
+			//copy boolean values w/o widening the source
+			DenseBlockBool bdb = (DenseBlockBool) db;
+			for( int i=0; i<rlen; i++ )
+				bdb.getRow(i, values(i), pos(i));
+		}
+		else if( db.isConstant() ) {
+			//copy constant values w/o widening the source
+			DenseBlockConst cdb = (DenseBlockConst) db;
+			for( int i=0; i<rlen; i++ )
+				cdb.getRow(i, values(i), pos(i));
+		}
+		else if( db.isSymmetric() ) {
+			//copy symmetric values w/o widening the source
+			DenseBlockSym sdb = (DenseBlockSym) db;
+			for( int i=0; i<rlen; i++ )
+				sdb.getRow(i, values(i), pos(i));
+		}
+		else if( fvals != null && isContiguous() ) {
+			//copy single-precision values w/o widening the source 
+			double[] c = valuesAt(0);
+			for( int i=0; i<rlen*clen; i++ )
+				c[i] = fvals[i];
+		}
+		else if( isContiguous() && db.isContiguous() ) {
+			//row-level access of source to avoid copy-on-write of views
+			System.arraycopy(db.values(0), db.pos(0), valuesAt(0), 0, rlen*clen);
+		}
+		else {
+			for( int i=0; i<rlen; i++ )
+				System.arraycopy(db.values(i), db.pos(i), values(i), pos(i), clen);
+		}
+		return this;
+	}
+	
+	/**
+	 * Increments the given value for a given row and column.
+	 * 
+	 * @param r row index
+	 * @param c column index
+	 * @param delta increment value
+	 */
+	public void incr(int r, int c, double delta) {
+		values(r)[pos(r, c)] += delta;
+	}
+	
+	/**
+	 * Get the value for a given row and column.
+	 * 
+	 * @param r row index
+	 * @param c column index
+	 * @return value
+	 */
+	public abstract double get(int r, int c);
+	
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		int rlen = numRows();
+		int clen = numCols();
+		for( int i=0; i<rlen; i++ ) {
+			double[] a = values(i);
+			int ix = pos(i);
+			for( int j=0; j<clen; j++ ) {
+				sb.append(a[ix+j]);
+				sb.append("\t");
+			}
+			sb.append("\n");
+		}
+		return sb.toString();
+	}
+}
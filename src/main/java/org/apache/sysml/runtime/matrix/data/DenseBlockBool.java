@@ -0,0 +1,381 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.Arrays;
+
+/**
+ * Boolean dense row block (BOOL) with a single linearized bitset of 
+ * 64 cells per long, which reduces the memory footprint of 0/1 matrices
+ * such as the results of relational operations by 64x. Kernels that are 
+ * not aware of boolean storage access the values as doubles, which widens
+ * the block in place (once) to a double array. Setting values other than
+ * 0 and 1, and any reset also switch the block to double precision.
+ * 
+ * Note that updates of individual cells are not thread-safe because 
+ * neighboring cells share words of the bitset.
+ * 
+ */
+public class DenseBlockBool extends DenseBlock
+{
+	private static final long serialVersionUID = 3092512633209358117L;
+	
+	private long[] bits;
+	private volatile double[] data; //non-null after widening
+	private int rlen;
+	private int clen;
+	
+	public DenseBlockBool(int rlen, int clen) {
+		this.bits = new long[numWords(rlen, clen)];
+		this.rlen = rlen;
+		this.clen = clen;
+	}
+	
+	public DenseBlockBool(long[] bits, int rlen, int clen) {
+		this.bits = bits;
+		this.rlen = rlen;
+		this.clen = clen;
+	}
+	
+	/**
+	 * Creates a deep copy of the given boolean dense block, 
+	 * which is required to not be widened yet.
+	 * 
+	 * @param that boolean dense block
+	 */
+	public DenseBlockBool(DenseBlockBool that) {
+		this(Arrays.copyOf(that.bits, numWords(that.rlen, that.clen)), that.rlen, that.clen);
+	}
+	
+	/**
+	 * Get the number of 64bit words required to store a 
+	 * bitset of the given dimensions.
+	 * 
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @return number of words
+	 */
+	public static int numWords(int rlen, int clen) {
+		return (int)(((long)rlen * clen + 63) >>> 6);
+	}
+	
+	@Override
+	public void reset(int rlen, int clen, double v) {
+		//reset to double precision (output allocation)
+		int len = rlen * clen;
+		double[] ldata = data;
+		if( ldata == null || len > ldata.length ) {
+			ldata = new double[len];
+			if( v != 0 )
+				Arrays.fill(ldata, v);
+		}
+		else {
+			Arrays.fill(ldata, 0, len, v);
+		}
+		data = ldata;
+		bits = null;
+		this.rlen = rlen;
+		this.clen = clen;
+	}
+	
+	/**
+	 * Indicates if the values are still stored as bitset,
+	 * i.e., the block has not been widened to doubles yet.
+	 * 
+	 * @return true if values are stored as bits
+	 */
+	@Override
+	public boolean isBoolean() {
+		return (data == null);
+	}
+	
+	@Override
+	public DenseBlock copyShallowCompact() {
+		long[] lbits = bits;
+		return (data == null && lbits != null) ?
+			new DenseBlockBool(lbits, rlen, clen) : this;
+	}
+	
+	/**
+	 * Obtains the underlying bitset if the block has not been
+	 * widened to double precision yet. The cell (r,c) is stored 
+	 * at bit position r*clen+c, and bits beyond the last cell
+	 * are guaranteed to be zero.
+	 * 
+	 * @return array of 64bit words, or null if widened
+	 */
+	public long[] valuesBool() {
+		return bits;
+	}
+	
+	@Override
+	public int numRows() {
+		return rlen;
+	}
+	
+	@Override
+	public int numCols() {
+		return clen;
+	}
+
+	@Override
+	public int numBlocks() {
+		return 1;
+	}
+
+	@Override
+	public int blockSize() {
+		return rlen;
+	}
+
+	@Override
+	public int blockSize(int bix) {
+		return rlen;
+	}
+
+	@Override
+	public boolean isContiguous() {
+		return true;
+	}
+
+	@Override
+	public boolean isContiguous(int rl, int ru) {
+		return true;
+	}
+
+	@Override
+	public long capacity() {
+		double[] ldata = data;
+		return (ldata!=null) ? ldata.length : 
+			(bits!=null) ? (long)rlen * clen : -1;
+	}
+
+	@Override
+	public long countNonZeros() {
+		return countNonZeros(0, rlen, 0, clen);
+	}
+	
+	@Override
+	public int countNonZeros(int r) {
+		return (int) countNonZeros(r, r+1, 0, clen);
+	}
+	
+	@Override
+	public long countNonZeros(int rl, int ru, int cl, int cu) {
+		long[] lbits = bits;
+		if( data == null && lbits != null ) {
+			//count bits of entire row range or per row
+			if( cl == 0 && cu == clen )
+				return countBits(lbits, rl*clen, ru*clen);
+			long nnz = 0;
+			for( int i=rl, ix=rl*clen; i<ru; i++, ix+=clen )
+				nnz += countBits(lbits, ix+cl, ix+cu);
+			return nnz;
+		}
+		long nnz = 0;
+		double[] ldata = values(0);
+		for( int i=rl, ix=rl*clen; i<ru; i++, ix+=clen )
+			for( int j=ix+cl; j<ix+cu; j++ )
+				nnz += (ldata[j]!=0) ? 1 : 0;
+		return nnz;
+	}
+
+	@Override
+	public double[][] values() {
+		return new double[][]{values(0)};
+	}
+	
+	@Override
+	public double[] valuesAt(int bix) {
+		return values(0);
+	}
+
+	@Override
+	public double[] values(int r) {
+		double[] ldata = data;
+		return (ldata != null) ? ldata : widen();
+	}
+
+	@Override
+	public int index(int r) {
+		return 0;
+	}
+
+	@Override
+	public int pos(int r) {
+		return r * clen;
+	}
+
+	@Override
+	public int pos(int r, int c) {
+		return r * clen + c;
+	}
+	
+	/**
+	 * Copies the given row into the given output array w/o
+	 * widening the block to double precision.
+	 * 
+	 * @param r row index
+	 * @param c output array
+	 * @param cix output position
+	 */
+	public void getRow(int r, double[] c, int cix) {
+		long[] lbits = bits;
+		if( data == null && lbits != null ) {
+			for( int j=0, ix=pos(r); j<clen; j++, ix++ )
+				c[cix+j] = ((lbits[ix>>>6] & (1L<<ix)) != 0) ? 1 : 0;
+		}
+		else {
+			System.arraycopy(values(0), pos(r), c, cix, clen);
+		}
+	}
+
+	@Override
+	public DenseBlock set(double v) {
+		if( isBoolean() && isBit(v) ) {
+			Arrays.fill(bits, (v!=0) ? -1L : 0);
+			clearTail(bits, rlen * clen);
+		}
+		else
+			Arrays.fill(values(0), 0, rlen*clen, v);
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int r, int c, double v) {
+		if( isBoolean() && isBit(v) ) {
+			int ix = pos(r, c);
+			if( v != 0 )
+				bits[ix>>>6] |= (1L<<ix);
+			else
+				bits[ix>>>6] &= ~(1L<<ix);
+		}
+		else
+			values(0)[pos(r, c)] = v;
+		return this;
+	}
+	
+	@Override
+	public DenseBlock set(int r, double[] v) {
+		if( isBoolean() ) {
+			//check for boolean row before update
+			boolean bool = true;
+			for( int j=0; j<clen && bool; j++ )
+				bool &= isBit(v[j]);
+			if( bool ) {
+				for( int j=0; j<clen; j++ )
+					set(r, j, v[j]);
+				return this;
+			}
+		}
+		return super.set(r, v);
+	}
+	
+	@Override
+	public DenseBlock set(DenseBlock db) {
+		if( isBoolean() && db.isBoolean() ) {
+			long[] lbits = ((DenseBlockBool)db).valuesBool();
+			System.arraycopy(lbits, 0, bits, 0, numWords(rlen, clen));
+			return this;
+		}
+		return super.set(db);
+	}
+	
+	@Override
+	public void incr(int r, int c, double delta) {
+		values(0)[pos(r, c)] += delta;
+	}
+
+	@Override
+	public double get(int r, int c) {
+		double[] ldata = data;
+		long[] lbits = bits;
+		if( ldata == null && lbits != null ) {
+			int ix = pos(r, c);
+			return ((lbits[ix>>>6] & (1L<<ix)) != 0) ? 1 : 0;
+		}
+		return values(0)[pos(r, c)];
+	}
+	
+	/**
+	 * Counts the set bits in the given range of bit positions.
+	 * 
+	 * @param bits array of 64bit words
+	 * @param from lower bit position (inclusive)
+	 * @param to upper bit position (exclusive)
+	 * @return number of set bits
+	 */
+	public static int countBits(long[] bits, int from, int to) {
+		if( from >= to )
+			return 0;
+		int fw = from >>> 6;
+		int tw = (to-1) >>> 6;
+		long fmask = -1L << from;
+		long tmask = -1L >>> (63 - ((to-1) & 63));
+		if( fw == tw )
+			return Long.bitCount(bits[fw] & fmask & tmask);
+		int cnt = Long.bitCount(bits[fw] & fmask);
+		for( int i=fw+1; i<tw; i++ )
+			cnt += Long.bitCount(bits[i]);
+		return cnt + Long.bitCount(bits[tw] & tmask);
+	}
+	
+	/**
+	 * Clears all bits beyond the given number of cells in order to
+	 * maintain the invariant of zero bits after the last cell.
+	 * 
+	 * @param bits array of 64bit words
+	 * @param len number of cells
+	 */
+	public static void clearTail(long[] bits, int len) {
+		if( (len & 63) != 0 )
+			bits[len >>> 6] &= -1L >>> (64 - (len & 63));
+	}
+	
+	/**
+	 * Indicates if the given value can be represented as bit.
+	 * 
+	 * @param v value
+	 * @return true if 0 or 1
+	 */
+	public static boolean isBit(double v) {
+		return (v == 0 || v == 1);
+	}
+	
+	private synchronized double[] widen() {
+		//widen once (concurrent readers might request it simultaneously)
+		if( data == null ) {
+			final int len = rlen * clen;
+			double[] ldata = new double[len];
+			long[] lbits = bits;
+			for( int k=0; k<lbits.length; k++ ) {
+				long w = lbits[k];
+				while( w != 0 ) {
+					ldata[(k<<6) + Long.numberOfTrailingZeros(w)] = 1;
+					w &= w - 1;
+				}
+			}
+			data = ldata;
+			bits = null;
+		}
+		return data;
+	}
+}
@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.Arrays;
+
+/**
+ * Constant dense row block (CONST), which represents a matrix of equal
+ * values (e.g., outputs of matrix(7, rows, cols)) by a single double 
+ * instead of rlen*clen cells. Kernels that are aware of constant blocks
+ * operate on the value directly, while kernels that are not aware of it 
+ * access the values as doubles, which widens the block in place (once) 
+ * to a double array. Any update or reset also switches the block to
+ * a regular double array.
+ * 
+ */
+public class DenseBlockConst extends DenseBlock
+{
+	private static final long serialVersionUID = -2391784537320618342L;
+	
+	private double value;
+	private volatile double[] data; //non-null after widening
+	private int rlen;
+	private int clen;
+	
+	public DenseBlockConst(double v, int rlen, int clen) {
+		if( (long)rlen * clen > DenseBlockFactory.MAX_ALLOC )
+			throw new RuntimeException("Invalid constant block dimensions: "+rlen+"x"+clen+".");
+		this.value = v;
+		this.rlen = rlen;
+		this.clen = clen;
+	}
+	
+	/**
+	 * Creates a copy of the given constant dense block, 
+	 * which is required to not be widened yet.
+	 * 
+	 * @param that constant dense block
+	 */
+	public DenseBlockConst(DenseBlockConst that) {
+		this(that.value, that.rlen, that.clen);
+	}
+	
+	@Override
+	public void reset(int rlen, int clen, double v) {
+		//reset to double precision (output allocation)
+		int len = rlen * clen;
+		double[] ldata = data;
+		if( ldata == null || len > ldata.length ) {
+			ldata = new double[len];
+			if( v != 0 )
+				Arrays.fill(ldata, v);
+		}
+		else {
+			Arrays.fill(ldata, 0, len, v);
+		}
+		data = ldata;
+		this.rlen = rlen;
+		this.clen = clen;
+	}
+	
+	/**
+	 * Indicates if the values are still represented by a single
+	 * constant, i.e., the block has not been widened to doubles yet.
+	 * 
+	 * @return true if all values are equal to the constant
+	 */
+	@Override
+	public boolean isConstant() {
+		return (data == null);
+	}
+	
+	@Override
+	public DenseBlock copyShallowCompact() {
+		return (data == null) ? 
+			new DenseBlockConst(value, rlen, clen) : this;
+	}
+	
+	/**
+	 * Obtains the constant value of all cells, which is only
+	 * valid if the block has not been widened yet.
+	 * 
+	 * @return constant value
+	 */
+	public double getValue() {
+		return value;
+	}
+	
+	@Override
+	public int numRows() {
+		return rlen;
+	}
+	
+	@Override
+	public int numCols() {
+		return clen;
+	}
+
+	@Override
+	public int numBlocks() {
+		return 1;
+	}
+
+	@Override
+	public int blockSize() {
+		return rlen;
+	}
+
+	@Override
+	public int blockSize(int bix) {
+		return rlen;
+	}
+
+	@Override
+	public boolean isContiguous() {
+		return true;
+	}
+
+	@Override
+	public boolean isContiguous(int rl, int ru) {
+		return true;
+	}
+
+	@Override
+	public long capacity() {
+		double[] ldata = data;
+		return (ldata!=null) ? ldata.length : (long)rlen * clen;
+	}
+
+	@Override
+	public long countNonZeros() {
+		return countNonZeros(0, rlen, 0, clen);
+	}
+	
+	@Override
+	public int countNonZeros(int r) {
+		return (int) countNonZeros(r, r+1, 0, clen);
+	}
+	
+	@Override
+	public long countNonZeros(int rl, int ru, int cl, int cu) {
+		if( data == null )
+			return (value != 0) ? (long)(ru-rl) * (cu-cl) : 0;
+		long nnz = 0;
+		double[] ldata = values(0);
+		for( int i=rl, ix=rl*clen; i<ru; i++, ix+=clen )
+			for( int j=ix+cl; j<ix+cu; j++ )
+				nnz += (ldata[j]!=0) ? 1 : 0;
+		return nnz;
+	}
+
+	@Override
+	public double[][] values() {
+		return new double[][]{values(0)};
+	}
+	
+	@Override
+	public double[] valuesAt(int bix) {
+		return values(0);
+	}
+
+	@Override
+	public double[] values(int r) {
+		double[] ldata = data;
+		return (ldata != null) ? ldata : widen();
+	}
+
+	@Override
+	public int index(int r) {
+		return 0;
+	}
+
+	@Override
+	public int pos(int r) {
+		return r * clen;
+	}
+
+	@Override
+	public int pos(int r, int c) {
+		return r * clen + c;
+	}
+	
+	/**
+	 * Copies the given row into the given output array w/o
+	 * widening the block to double precision.
+	 * 
+	 * @param r row index
+	 * @param c output array
+	 * @param cix output position
+	 */
+	public void getRow(int r, double[] c, int cix) {
+		if( data == null )
+			Arrays.fill(c, cix, cix+clen, value);
+		else
+			System.arraycopy(values(0), pos(r), c, cix, clen);
+	}
+
+	@Override
+	public DenseBlock set(double v) {
+		if( isConstant() )
+			value = v;
+		else
+			Arrays.fill(values(0), 0, rlen*clen, v);
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int r, int c, double v) {
+		if( !isConstant() || v != value )
+			values(0)[pos(r, c)] = v;
+		return this;
+	}
+	
+	@Override
+	public void incr(int r, int c, double delta) {
+		if( delta != 0 )
+			values(0)[pos(r, c)] += delta;
+	}
+
+	@Override
+	public double get(int r, int c) {
+		double[] ldata = data;
+		return (ldata == null) ? value : ldata[pos(r, c)];
+	}
+	
+	private synchronized double[] widen() {
+		//widen once (concurrent readers might request it simultaneously)
+		if( data == null ) {
+			double[] ldata = new double[rlen * clen];
+			if( value != 0 )
+				Arrays.fill(ldata, value);
+			data = ldata;
+		}
+		return data;
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.matrix.data;
+
+/**
+ * Cursor over the rows and non-zero cells of a dense block in the row range 
+ * [rl, ru). Row segments directly reference the underlying double arrays,
+ * except for boolean, constant, symmetric and single-precision blocks, whose
+ * rows are unpacked into a reused row buffer without widening the block.
+ * 
+ */
+public final class DenseBlockCursor extends BlockCursor
+{
+	private final DenseBlock _dblock;
+	private final int _bclen; //physical number of columns
+	private final int _clen;  //logical number of columns
+	
+	//row buffer and source of packed representations
+	private final double[] _buff;
+	private final DenseBlockBool _bblock;
+	private final DenseBlockConst _cblock;
+	private final DenseBlockSym _sblock;
+	private final float[] _fvals;
+	
+	/**
+	 * Creates a cursor over the rows [rl, ru) of the given dense block.
+	 * 
+	 * @param dblock dense block, or null for an empty block
+	 * @param rl     inclusive lower row index starting at 0
+	 * @param ru     exclusive upper row index starting at 0
+	 */
+	public DenseBlockCursor(DenseBlock dblock, int rl, int ru) {
+		this(dblock, rl, ru, (dblock != null) ? dblock.numCols() : 0);
+	}
+	
+	/**
+	 * Creates a cursor over the rows [rl, ru) and columns [0, clen) of the 
+	 * given dense block, which might be wider than the logical matrix (e.g., 
+	 * after dropping correction columns of aggregates).
+	 * 
+	 * @param dblock dense block, or null for an empty block
+	 * @param rl     inclusive lower row index starting at 0
+	 * @param ru     exclusive upper row index starting at 0
+	 * @param clen   number of columns
+	 */
+	public DenseBlockCursor(DenseBlock dblock, int rl, int ru, int clen) {
+		super(false, rl, (dblock != null) ? Math.min(ru, dblock.numRows()) : rl);
+		_dblock = dblock;
+		_bclen = (dblock != null) ? dblock.numCols() : 0;
+		_clen = Math.min(clen, _bclen);
+		_bblock = (dblock != null && dblock.isBoolean()) ? (DenseBlockBool) dblock : null;
+		_cblock = (dblock != null && dblock.isConstant()) ? (DenseBlockConst) dblock : null;
+		_sblock = (dblock != null && dblock.isSymmetric()) ? (DenseBlockSym) dblock : null;
+		_fvals = (dblock instanceof DenseBlockFP32) ? ((DenseBlockFP32)dblock).valuesFP32() : null;
+		boolean packed = _bblock != null || _cblock != null || _sblock != null || _fvals != null;
+		_buff = packed ? new double[_bclen] : null;
+	}
+	
+	@Override
+	public boolean nextRow() {
+		if( ++_row >= _ru ) {
+			_row = _ru;
+			return false;
+		}
+		if( _buff == null )
+			setSegment(null, _dblock.values(_row), _dblock.pos(_row), _clen);
+		else {
+			if( _bblock != null )
+				_bblock.getRow(_row, _buff, 0);
+			else if( _cblock != null )
+				_cblock.getRow(_row, _buff, 0);
+			else if( _sblock != null )
+				_sblock.getRow(_row, _buff, 0);
+			else
+				for( int j=0, fix=_row*_bclen; j<_clen; j++ )
+					_buff[j] = _fvals[fix+j];
+			setSegment(null, _buff, 0, _clen);
+		}
+		return true;
+	}
+}
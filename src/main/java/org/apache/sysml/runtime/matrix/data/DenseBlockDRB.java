@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.Arrays;
+
+/**
+ * Dense row block (DRB) with a single linearized array of 
+ * up to 2^31 cells, which is the default dense representation.
+ * 
+ */
+public class DenseBlockDRB extends DenseBlock
+{
+	private static final long serialVersionUID = 8546237224412851617L;
+	
+	private double[] data;
+	private int rlen;
+	private int clen;
+	
+	public DenseBlockDRB(int rlen, int clen) {
+		reset(rlen, clen, 0);
+	}
+	
+	public DenseBlockDRB(double[] data, int rlen, int clen) {
+		this.data = data;
+		this.rlen = rlen;
+		this.clen = clen;
+	}
+	
+	@Override
+	public void reset(int rlen, int clen, double v) {
+		int len = rlen * clen;
+		if( len > capacity() ) {
+			data = new double[len];
+			if( v != 0 )
+				Arrays.fill(data, v);
+		}
+		else {
+			Arrays.fill(data, 0, len, v);
+		}
+		this.rlen = rlen;
+		this.clen = clen;
+	}
+
+	@Override
+	public int numRows() {
+		return rlen;
+	}
+	
+	@Override
+	public int numCols() {
+		return clen;
+	}
+
+	@Override
+	public int numBlocks() {
+		return 1;
+	}
+
+	@Override
+	public int blockSize() {
+		return rlen;
+	}
+
+	@Override
+	public int blockSize(int bix) {
+		return rlen;
+	}
+
+	@Override
+	public boolean isContiguous() {
+		return true;
+	}
+
+	@Override
+	public boolean isContiguous(int rl, int ru) {
+		return true;
+	}
+
+	@Override
+	public long capacity() {
+		return (data!=null) ? data.length : -1;
+	}
+
+	@Override
+	public long countNonZeros() {
+		final int len = rlen * clen;
+		int nnz = 0;
+		for( int i=0; i<len; i++ )
+			nnz += (data[i]!=0) ? 1 : 0;
+		return nnz;
+	}
+	
+	@Override
+	public int countNonZeros(int r) {
+		final int ix = r * clen;
+		int nnz = 0;
+		for( int j=ix; j<ix+clen; j++ )
+			nnz += (data[j]!=0) ? 1 : 0;
+		return nnz;
+	}
+
+	@Override
+	public double[][] values() {
+		return new double[][]{data};
+	}
+	
+	@Override
+	public double[] valuesAt(int bix) {
+		return data;
+	}
+
+	@Override
+	public double[] values(int r) {
+		return data;
+	}
+
+	@Override
+	public int index(int r) {
+		return 0;
+	}
+
+	@Override
+	public int pos(int r) {
+		return r * clen;
+	}
+
+	@Override
+	public int pos(int r, int c) {
+		return r * clen + c;
+	}
+
+	@Override
+	public DenseBlock set(double v) {
+		Arrays.fill(data, 0, rlen*clen, v);
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int r, int c, double v) {
+		data[pos(r, c)] = v;
+		return this;
+	}
+	
+	@Override
+	public void incr(int r, int c, double delta) {
+		data[pos(r, c)] += delta;
+	}
+
+	@Override
+	public double get(int r, int c) {
+		return data[pos(r, c)];
+	}
+}
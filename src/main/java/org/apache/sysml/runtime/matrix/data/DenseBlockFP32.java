@@ -0,0 +1,278 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.Arrays;
+
+/**
+ * Single-precision dense row block (FP32) with a single linearized 
+ * float array, which halves the memory footprint of dense blocks. 
+ * Kernels that are not aware of single-precision storage access the 
+ * values as doubles, which widens the block in place (once) to a 
+ * double array. Any reset also switches the block to double precision 
+ * because all kernels produce double-precision outputs.
+ * 
+ */
+public class DenseBlockFP32 extends DenseBlock
+{
+	private static final long serialVersionUID = -4012376952006079974L;
+	
+	private float[] fdata;
+	private volatile double[] data; //non-null after widening
+	private int rlen;
+	private int clen;
+	
+	public DenseBlockFP32(int rlen, int clen) {
+		if( (long)rlen * clen > DenseBlockFactory.MAX_ALLOC )
+			throw new RuntimeException("Invalid single-precision block allocation for "+rlen+"x"+clen+".");
+		this.fdata = new float[rlen * clen];
+		this.rlen = rlen;
+		this.clen = clen;
+	}
+	
+	public DenseBlockFP32(float[] fdata, int rlen, int clen) {
+		this.fdata = fdata;
+		this.rlen = rlen;
+		this.clen = clen;
+	}
+	
+	/**
+	 * Creates a single-precision dense block by narrowing 
+	 * the given double values to floats.
+	 * 
+	 * @param src double values in row-major order
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 */
+	public DenseBlockFP32(double[] src, int rlen, int clen) {
+		this(rlen, clen);
+		final int len = rlen * clen;
+		for( int i=0; i<len; i++ )
+			fdata[i] = (float) src[i];
+	}
+	
+	@Override
+	public void reset(int rlen, int clen, double v) {
+		//reset to double precision (output allocation)
+		int len = rlen * clen;
+		double[] ldata = data;
+		if( ldata == null || len > ldata.length ) {
+			ldata = new double[len];
+			if( v != 0 )
+				Arrays.fill(ldata, v);
+		}
+		else {
+			Arrays.fill(ldata, 0, len, v);
+		}
+		data = ldata;
+		fdata = null;
+		this.rlen = rlen;
+		this.clen = clen;
+	}
+	
+	/**
+	 * Indicates if the values are still stored in single precision,
+	 * i.e., the block has not been widened to double precision yet.
+	 * 
+	 * @return true if values are stored as floats
+	 */
+	@Override
+	public boolean isSinglePrecision() {
+		return (data == null);
+	}
+	
+	@Override
+	public DenseBlock copyShallowCompact() {
+		float[] lfdata = fdata;
+		return (data == null && lfdata != null) ?
+			new DenseBlockFP32(lfdata, rlen, clen) : this;
+	}
+	
+	/**
+	 * Obtains the underlying float array if the block has not 
+	 * been widened to double precision yet.
+	 * 
+	 * @return array of float values, or null if widened 
+	 */
+	public float[] valuesFP32() {
+		return fdata;
+	}
+
+	@Override
+	public int numRows() {
+		return rlen;
+	}
+	
+	@Override
+	public int numCols() {
+		return clen;
+	}
+
+	@Override
+	public int numBlocks() {
+		return 1;
+	}
+
+	@Override
+	public int blockSize() {
+		return rlen;
+	}
+
+	@Override
+	public int blockSize(int bix) {
+		return rlen;
+	}
+
+	@Override
+	public boolean isContiguous() {
+		return true;
+	}
+
+	@Override
+	public boolean isContiguous(int rl, int ru) {
+		return true;
+	}
+
+	@Override
+	public long capacity() {
+		double[] ldata = data;
+		return (ldata!=null) ? ldata.length : 
+			(fdata!=null) ? fdata.length : -1;
+	}
+
+	@Override
+	public long countNonZeros() {
+		return countNonZeros(0, rlen, 0, clen);
+	}
+	
+	@Override
+	public int countNonZeros(int r) {
+		return (int) countNonZeros(r, r+1, 0, clen);
+	}
+	
+	@Override
+	public long countNonZeros(int rl, int ru, int cl, int cu) {
+		long nnz = 0;
+		double[] ldata = data;
+		float[] lfdata = fdata;
+		if( ldata == null && lfdata != null ) {
+			for( int i=rl, ix=rl*clen; i<ru; i++, ix+=clen )
+				for( int j=ix+cl; j<ix+cu; j++ )
+					nnz += (lfdata[j]!=0) ? 1 : 0;
+		}
+		else {
+			ldata = values(0);
+			for( int i=rl, ix=rl*clen; i<ru; i++, ix+=clen )
+				for( int j=ix+cl; j<ix+cu; j++ )
+					nnz += (ldata[j]!=0) ? 1 : 0;
+		}
+		return nnz;
+	}
+
+	@Override
+	public double[][] values() {
+		return new double[][]{values(0)};
+	}
+	
+	@Override
+	public double[] valuesAt(int bix) {
+		return values(0);
+	}
+
+	@Override
+	public double[] values(int r) {
+		double[] ldata = data;
+		return (ldata != null) ? ldata : widen();
+	}
+
+	@Override
+	public int index(int r) {
+		return 0;
+	}
+
+	@Override
+	public int pos(int r) {
+		return r * clen;
+	}
+
+	@Override
+	public int pos(int r, int c) {
+		return r * clen + c;
+	}
+
+	@Override
+	public DenseBlock set(double v) {
+		if( isSinglePrecision() )
+			Arrays.fill(fdata, 0, rlen*clen, (float)v);
+		else
+			Arrays.fill(data, 0, rlen*clen, v);
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int r, int c, double v) {
+		if( isSinglePrecision() )
+			fdata[pos(r, c)] = (float) v;
+		else
+			data[pos(r, c)] = v;
+		return this;
+	}
+	
+	@Override
+	public DenseBlock set(int r, double[] v) {
+		if( isSinglePrecision() ) {
+			for( int j=0, ix=pos(r); j<clen; j++, ix++ )
+				fdata[ix] = (float) v[j];
+			return this;
+		}
+		return super.set(r, v);
+	}
+	
+	@Override
+	public void incr(int r, int c, double delta) {
+		if( isSinglePrecision() )
+			fdata[pos(r, c)] += delta;
+		else
+			data[pos(r, c)] += delta;
+	}
+
+	@Override
+	public double get(int r, int c) {
+		double[] ldata = data;
+		float[] lfdata = fdata;
+		if( ldata == null && lfdata != null )
+			return lfdata[pos(r, c)];
+		return values(0)[pos(r, c)];
+	}
+	
+	private synchronized double[] widen() {
+		//widen once (concurrent readers might request it simultaneously)
+		if( data == null ) {
+			final int len = fdata.length;
+			double[] ldata = new double[len];
+			for( int i=0; i<len; i++ )
+				ldata[i] = fdata[i];
+			data = ldata;
+			fdata = null;
+		}
+		return data;
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.matrix.data;
+
+public abstract class DenseBlockFactory
+{
+	//max array length (slightly below 2^31 for robustness across JVMs)
+	public static final int MAX_ALLOC = Integer.MAX_VALUE - 1024;
+	
+	public static DenseBlock createDenseBlock(int rlen, int clen) {
+		return createDenseBlock(getDenseBlockType(rlen, clen), rlen, clen);
+	}
+	
+	public static DenseBlock createDenseBlock(double[] data, int rlen, int clen) {
+		return new DenseBlockDRB(data, rlen, clen);
+	}
+	
+	public static DenseBlock createDenseBlock(DenseBlock.Type type, int rlen, int clen) {
+		switch( type ) {
+			case DRB: return new DenseBlockDRB(rlen, clen);
+			case LDRB: return new DenseBlockLDRB(rlen, clen);
+			case FP32: return new DenseBlockFP32(rlen, clen);
+			case BOOL: return new DenseBlockBool(rlen, clen);
+			case SYM: return new DenseBlockSym(rlen);
+			case CONST: return new DenseBlockConst(0, rlen, clen);
+			default:
+				throw new RuntimeException("Unexpected dense block type: "+type.name());
+		}
+	}
+	
+	public static boolean isDenseBlockType(DenseBlock dblock, DenseBlock.Type type) {
+		return (getDenseBlockType(dblock) == type);
+	}
+	
+	public static DenseBlock.Type getDenseBlockType(int rlen, int clen) {
+		return ((long)rlen * clen <= MAX_ALLOC) ? 
+			DenseBlock.Type.DRB : DenseBlock.Type.LDRB;
+	}
+	
+	public static DenseBlock.Type getDenseBlockType(DenseBlock dblock) {
+		return (dblock instanceof DenseBlockDRB) ? DenseBlock.Type.DRB :
+			(dblock instanceof DenseBlockLDRB) ? DenseBlock.Type.LDRB : 
+			(dblock instanceof DenseBlockFP32) ? DenseBlock.Type.FP32 : 
+			(dblock instanceof DenseBlockBool) ? DenseBlock.Type.BOOL : 
+			(dblock instanceof DenseBlockSym) ? DenseBlock.Type.SYM : 
+			(dblock instanceof DenseBlockConst) ? DenseBlock.Type.CONST : null;
+	}
+	
+	public static long estimateSizeDenseInMemory(long nrows, long ncols) {
+		//array header (32B) per row block of at most MAX_ALLOC cells, plus 
+		//8B per cell (robustness for long overflows)
+		double numBlocks = Math.ceil((double)nrows * ncols / MAX_ALLOC);
+		double size = 32 * Math.max(numBlocks, 1) + 8d * nrows * ncols;
+		return (long) Math.min(size, Long.MAX_VALUE);
+	}
+	
+	public static long estimateSizeDenseInMemory(long nrows, long ncols, boolean singlePrecision) {
+		//single-precision blocks are restricted to a single array 
+		//(larger blocks are kept in double precision)
+		return (!singlePrecision || (double)nrows * ncols > MAX_ALLOC) ?
+			estimateSizeDenseInMemory(nrows, ncols) :
+			(long) Math.min(32 + 4d * nrows * ncols, Long.MAX_VALUE);
+	}
+	
+	public static long estimateSizeSymmetricInMemory(long n) {
+		//single packed array of the upper triangle incl diagonal
+		return (long) Math.min(32 + 8d * n * (n+1) / 2, Long.MAX_VALUE);
+	}
+}
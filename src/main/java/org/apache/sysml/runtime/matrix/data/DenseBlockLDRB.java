@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.Arrays;
+
+/**
+ * Large dense row block (LDRB) with multiple row-block-partitioned 
+ * arrays, which allows dense blocks of more than 2^31 cells. Every
+ * array holds up to blockSize() complete rows, where the block size
+ * is chosen such that a single array does not exceed the max array 
+ * length supported by the JVM.
+ * 
+ */
+public class DenseBlockLDRB extends DenseBlock
+{
+	private static final long serialVersionUID = -7285459683402612969L;
+	
+	private double[][] data;
+	private int rlen;
+	private int clen;
+	private int blen;
+	
+	public DenseBlockLDRB(int rlen, int clen) {
+		this(rlen, clen, -1);
+	}
+	
+	/**
+	 * Creates a large dense row block with the given number
+	 * of rows per block.
+	 * 
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param blen number of rows per block, -1 for max rows per block
+	 */
+	public DenseBlockLDRB(int rlen, int clen, int blen) {
+		this.blen = (blen > 0) ? blen : getMaxBlockSize(clen);
+		reset(rlen, clen, 0);
+	}
+	
+	@Override
+	public void reset(int rlen, int clen, double v) {
+		//compute block size for new dimensions (keep configured block size if possible)
+		int lblen = ((long)blen * clen <= DenseBlockFactory.MAX_ALLOC) ? 
+			blen : getMaxBlockSize(clen);
+		int numBlocks = (int)Math.ceil((double)rlen / lblen);
+		
+		//reallocate blocks if the structure or capacity changed
+		boolean realloc = (data == null || lblen != blen || numBlocks > data.length);
+		for( int bi=0; bi<numBlocks && !realloc; bi++ )
+			realloc |= (data[bi].length < getBlockSize(rlen, lblen, bi) * clen);
+		
+		if( realloc ) {
+			data = new double[numBlocks][];
+			for( int bi=0; bi<numBlocks; bi++ ) {
+				data[bi] = new double[getBlockSize(rlen, lblen, bi) * clen];
+				if( v != 0 )
+					Arrays.fill(data[bi], v);
+			}
+		}
+		else {
+			for( int bi=0; bi<numBlocks; bi++ )
+				Arrays.fill(data[bi], 0, getBlockSize(rlen, lblen, bi) * clen, v);
+		}
+		
+		this.rlen = rlen;
+		this.clen = clen;
+		this.blen = lblen;
+	}
+
+	@Override
+	public int numRows() {
+		return rlen;
+	}
+	
+	@Override
+	public int numCols() {
+		return clen;
+	}
+
+	@Override
+	public int numBlocks() {
+		return (int)Math.ceil((double)rlen / blen);
+	}
+
+	@Override
+	public int blockSize() {
+		return blen;
+	}
+
+	@Override
+	public int blockSize(int bix) {
+		return getBlockSize(rlen, blen, bix);
+	}
+
+	@Override
+	public boolean isContiguous() {
+		return rlen <= blen;
+	}
+
+	@Override
+	public boolean isContiguous(int rl, int ru) {
+		return index(rl) == index(ru);
+	}
+
+	@Override
+	public long capacity() {
+		long len = 0;
+		for( int bi=0; data!=null && bi<data.length; bi++ )
+			len += data[bi].length;
+		return len;
+	}
+
+	@Override
+	public long countNonZeros() {
+		long nnz = 0;
+		for( int bi=0; bi<numBlocks(); bi++ ) {
+			double[] a = data[bi];
+			int len = blockSize(bi) * clen;
+			for( int i=0; i<len; i++ )
+				nnz += (a[i]!=0) ? 1 : 0;
+		}
+		return nnz;
+	}
+
+	@Override
+	public double[][] values() {
+		return data;
+	}
+	
+	@Override
+	public double[] valuesAt(int bix) {
+		return data[bix];
+	}
+
+	@Override
+	public double[] values(int r) {
+		return data[r / blen];
+	}
+
+	@Override
+	public int index(int r) {
+		return r / blen;
+	}
+
+	@Override
+	public int pos(int r) {
+		return (r % blen) * clen;
+	}
+
+	@Override
+	public int pos(int r, int c) {
+		return (r % blen) * clen + c;
+	}
+
+	@Override
+	public DenseBlock set(double v) {
+		for( int bi=0; bi<numBlocks(); bi++ )
+			Arrays.fill(data[bi], 0, blockSize(bi) * clen, v);
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int r, int c, double v) {
+		data[r / blen][pos(r, c)] = v;
+		return this;
+	}
+	
+	@Override
+	public void incr(int r, int c, double delta) {
+		data[r / blen][pos(r, c)] += delta;
+	}
+
+	@Override
+	public double get(int r, int c) {
+		return data[r / blen][pos(r, c)];
+	}
+	
+	private static int getBlockSize(int rlen, int blen, int bix) {
+		return Math.min(blen, rlen - bix * blen);
+	}
+	
+	private static int getMaxBlockSize(int clen) {
+		return Math.max(DenseBlockFactory.MAX_ALLOC / Math.max(clen, 1), 1);
+	}
+}
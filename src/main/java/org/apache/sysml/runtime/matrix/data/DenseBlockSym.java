@@ -0,0 +1,337 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.Arrays;
+
+/**
+ * Symmetric dense row block (SYM) of a square matrix, which stores only 
+ * the upper triangle (including the diagonal) in a single packed array, 
+ * i.e., row i holds the cells (i,i) to (i,n-1) starting at position 
+ * i*n - i*(i-1)/2. This roughly halves the memory footprint of outputs 
+ * such as t(X)%*%X. Kernels that are not aware of symmetric storage 
+ * access the values as doubles, which widens the block in place (once) 
+ * to a full double array. Setting non-diagonal cells and any reset also
+ * switch the block to the full representation.
+ * 
+ */
+public class DenseBlockSym extends DenseBlock
+{
+	private static final long serialVersionUID = -2469181312873415871L;
+	
+	private double[] packed;
+	private volatile double[] data; //non-null after widening
+	private int rlen;
+	private int clen;
+	
+	public DenseBlockSym(int n) {
+		this(new double[numCells(n)], n);
+	}
+	
+	public DenseBlockSym(double[] packed, int n) {
+		this.packed = packed;
+		this.rlen = n;
+		this.clen = n;
+	}
+	
+	/**
+	 * Creates a deep copy of the given symmetric dense block, 
+	 * which is required to not be widened yet.
+	 * 
+	 * @param that symmetric dense block
+	 */
+	public DenseBlockSym(DenseBlockSym that) {
+		this(Arrays.copyOf(that.packed, numCells(that.rlen)), that.rlen);
+	}
+	
+	/**
+	 * Get the number of cells of the packed upper triangle
+	 * of a symmetric n x n matrix.
+	 * 
+	 * @param n number of rows and columns
+	 * @return number of packed cells
+	 */
+	public static int numCells(int n) {
+		return (int)((long)n * (n+1) / 2);
+	}
+	
+	/**
+	 * Get the position of the diagonal cell (i,i) in the packed 
+	 * upper triangle, i.e., the start of row i.
+	 * 
+	 * @param i row index
+	 * @param n number of rows and columns
+	 * @return packed position
+	 */
+	public static int posPacked(int i, int n) {
+		return (int)((long)i * n - (long)i * (i-1) / 2);
+	}
+	
+	@Override
+	public void reset(int rlen, int clen, double v) {
+		//reset to full representation (output allocation)
+		int len = rlen * clen;
+		double[] ldata = data;
+		if( ldata == null || len > ldata.length ) {
+			ldata = new double[len];
+			if( v != 0 )
+				Arrays.fill(ldata, v);
+		}
+		else {
+			Arrays.fill(ldata, 0, len, v);
+		}
+		data = ldata;
+		packed = null;
+		this.rlen = rlen;
+		this.clen = clen;
+	}
+	
+	/**
+	 * Indicates if the values are still stored as packed upper
+	 * triangle, i.e., the block has not been widened yet.
+	 * 
+	 * @return true if values are stored as packed triangle
+	 */
+	@Override
+	public boolean isSymmetric() {
+		return (data == null);
+	}
+	
+	@Override
+	public DenseBlock copyShallowCompact() {
+		double[] lpacked = packed;
+		return (data == null && lpacked != null) ?
+			new DenseBlockSym(lpacked, rlen) : this;
+	}
+	
+	/**
+	 * Obtains the packed upper triangle if the block has not been 
+	 * widened yet, where row i starts at position posPacked(i, n).
+	 * 
+	 * @return packed array, or null if widened
+	 */
+	public double[] valuesSym() {
+		return packed;
+	}
+	
+	@Override
+	public int numRows() {
+		return rlen;
+	}
+	
+	@Override
+	public int numCols() {
+		return clen;
+	}
+
+	@Override
+	public int numBlocks() {
+		return 1;
+	}
+
+	@Override
+	public int blockSize() {
+		return rlen;
+	}
+
+	@Override
+	public int blockSize(int bix) {
+		return rlen;
+	}
+
+	@Override
+	public boolean isContiguous() {
+		return true;
+	}
+
+	@Override
+	public boolean isContiguous(int rl, int ru) {
+		return true;
+	}
+
+	@Override
+	public long capacity() {
+		double[] ldata = data;
+		return (ldata!=null) ? ldata.length : 
+			(packed!=null) ? (long)rlen * clen : -1;
+	}
+
+	@Override
+	public long countNonZeros() {
+		return countNonZeros(0, rlen, 0, clen);
+	}
+	
+	@Override
+	public int countNonZeros(int r) {
+		return (int) countNonZeros(r, r+1, 0, clen);
+	}
+	
+	@Override
+	public long countNonZeros(int rl, int ru, int cl, int cu) {
+		double[] lpacked = packed;
+		if( data == null && lpacked != null ) {
+			final int n = rlen;
+			long nnz = 0;
+			if( rl == 0 && ru == n && cl == 0 && cu == n ) {
+				//count diagonal once and off-diagonal cells twice
+				for( int i=0, ix=0; i<n; ix+=n-i, i++ ) {
+					nnz += (lpacked[ix]!=0) ? 1 : 0;
+					for( int j=ix+1; j<ix+n-i; j++ )
+						nnz += (lpacked[j]!=0) ? 2 : 0;
+				}
+			}
+			else {
+				for( int i=rl; i<ru; i++ )
+					for( int j=cl; j<cu; j++ )
+						nnz += (get(i, j)!=0) ? 1 : 0;
+			}
+			return nnz;
+		}
+		return super.countNonZeros(rl, ru, cl, cu);
+	}
+
+	@Override
+	public double[][] values() {
+		return new double[][]{values(0)};
+	}
+	
+	@Override
+	public double[] valuesAt(int bix) {
+		return values(0);
+	}
+
+	@Override
+	public double[] values(int r) {
+		double[] ldata = data;
+		return (ldata != null) ? ldata : widen();
+	}
+
+	@Override
+	public int index(int r) {
+		return 0;
+	}
+
+	@Override
+	public int pos(int r) {
+		return r * clen;
+	}
+
+	@Override
+	public int pos(int r, int c) {
+		return r * clen + c;
+	}
+	
+	/**
+	 * Copies the given row into the given output array w/o
+	 * widening the block to the full representation.
+	 * 
+	 * @param r row index
+	 * @param c output array
+	 * @param cix output position
+	 */
+	public void getRow(int r, double[] c, int cix) {
+		double[] lpacked = packed;
+		if( data == null && lpacked != null ) {
+			final int n = rlen;
+			//lower part from column r of the upper triangle
+			for( int j=0, ix=r; j<r; j++ ) {
+				c[cix+j] = lpacked[ix];
+				ix += n - j - 1;
+			}
+			System.arraycopy(lpacked, posPacked(r, n), c, cix+r, n-r);
+		}
+		else {
+			System.arraycopy(values(0), pos(r), c, cix, clen);
+		}
+	}
+	
+	/**
+	 * Copies the given row range [rl,ru) of a full n x n matrix (stored 
+	 * at position cix of the given array) into the packed upper triangle.
+	 * The lower triangle of the input is ignored.
+	 * 
+	 * @param c input array of full rows
+	 * @param cix input position of row rl
+	 * @param rl row lower index
+	 * @param ru row upper index (exclusive)
+	 */
+	public void setUpperRows(double[] c, int cix, int rl, int ru) {
+		final int n = rlen;
+		for( int i=rl, ix=cix; i<ru; i++, ix+=n )
+			System.arraycopy(c, ix+i, packed, posPacked(i, n), n-i);
+	}
+
+	@Override
+	public DenseBlock set(double v) {
+		if( isSymmetric() )
+			Arrays.fill(packed, v);
+		else
+			Arrays.fill(values(0), 0, rlen*clen, v);
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int r, int c, double v) {
+		if( isSymmetric() && r == c )
+			packed[posPacked(r, rlen)] = v;
+		else
+			values(0)[pos(r, c)] = v;
+		return this;
+	}
+	
+	@Override
+	public DenseBlock set(DenseBlock db) {
+		if( isSymmetric() && db.isSymmetric() ) {
+			double[] lpacked = ((DenseBlockSym)db).valuesSym();
+			System.arraycopy(lpacked, 0, packed, 0, numCells(rlen));
+			return this;
+		}
+		return super.set(db);
+	}
+	
+	@Override
+	public void incr(int r, int c, double delta) {
+		values(0)[pos(r, c)] += delta;
+	}
+
+	@Override
+	public double get(int r, int c) {
+		double[] ldata = data;
+		double[] lpacked = packed;
+		if( ldata == null && lpacked != null ) {
+			return (r <= c) ? lpacked[posPacked(r, rlen)+c-r] :
+				lpacked[posPacked(c, rlen)+r-c];
+		}
+		return values(0)[pos(r, c)];
+	}
+	
+	private synchronized double[] widen() {
+		//widen once (concurrent readers might request it simultaneously)
+		if( data == null ) {
+			double[] ldata = new double[rlen * clen];
+			for( int i=0; i<rlen; i++ )
+				getRow(i, ldata, i*clen);
+			data = ldata;
+			packed = null;
+		}
+		return data;
+	}
+}
@@ -0,0 +1,270 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+
+package org.apache.sysml.runtime.matrix.data;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+
+/**
+ * Lazy transpose of a dense matrix block, which records transposed access
+ * to the input block instead of materializing t(X). Kernels that support 
+ * transposed access (e.g., t(X) %*% y, colSums(t(X)), and t(X) * W) directly 
+ * operate on the input block (see MatrixBlock.getTransposeViewInput). Any 
+ * other access via the dense block API materializes the transpose (once) 
+ * into a private dense block, to which all operations are delegated and 
+ * which releases the reference to the input block. Hence, a view is only 
+ * valid as long as the input block is not modified.
+ * 
+ */
+public class DenseBlockTransposeView extends DenseBlock
+{
+	private static final long serialVersionUID = 2970925917347411329L;
+	
+	private volatile MatrixBlock _in;    //input block, null after materialization
+	private volatile DenseBlock _data;   //materialized transpose, null before
+	private final int _k;                //parallelism of materialization
+	private int _rlen;
+	private int _clen;
+	
+	/**
+	 * Creates a transpose view of the given dense matrix block.
+	 * 
+	 * @param in dense input matrix block
+	 * @param k maximum parallelism for materialization
+	 */
+	public DenseBlockTransposeView(MatrixBlock in, int k) {
+		if( in.isInSparseFormat() || in.getDenseBlock() == null )
+			throw new RuntimeException("Invalid dense transpose view of sparse or empty block.");
+		_in = in;
+		_k = k;
+		_rlen = in.getNumColumns();
+		_clen = in.getNumRows();
+	}
+	
+	/**
+	 * Get the input block of the transpose view, i.e., the block
+	 * X of t(X), or null if the transpose has been materialized.
+	 * 
+	 * @return input matrix block or null
+	 */
+	public MatrixBlock getInput() {
+		return _in;
+	}
+	
+	/**
+	 * Indicates if the transpose is still a view of the input 
+	 * block, i.e., it has not been materialized yet.
+	 * 
+	 * @return true if the transpose is not materialized
+	 */
+	public boolean isTransposeView() {
+		return _in != null;
+	}
+	
+	@Override
+	public void reset(int rlen, int clen, double v) {
+		//reset to a private block w/o materializing the transpose
+		DenseBlock ldata = _data;
+		if( ldata == null || (long)rlen*clen > ldata.capacity() )
+			ldata = DenseBlockFactory.createDenseBlock(rlen, clen);
+		ldata.reset(rlen, clen, v);
+		resetData(ldata);
+		_rlen = rlen;
+		_clen = clen;
+	}
+
+	@Override
+	public int numRows() {
+		return _rlen;
+	}
+
+	@Override
+	public int numCols() {
+		return _clen;
+	}
+
+	@Override
+	public int numBlocks() {
+		return isUnmaterializedSingleBlock() ? 1 : base().numBlocks();
+	}
+
+	@Override
+	public int blockSize() {
+		return isUnmaterializedSingleBlock() ? _rlen : base().blockSize();
+	}
+
+	@Override
+	public int blockSize(int bix) {
+		return isUnmaterializedSingleBlock() ? _rlen : base().blockSize(bix);
+	}
+
+	@Override
+	public boolean isContiguous() {
+		return isUnmaterializedSingleBlock() || base().isContiguous();
+	}
+
+	@Override
+	public boolean isContiguous(int rl, int ru) {
+		return isUnmaterializedSingleBlock() || base().isContiguous(rl, ru);
+	}
+
+	@Override
+	public long capacity() {
+		DenseBlock ldata = _data;
+		return (ldata != null) ? ldata.capacity() : (long)_rlen * _clen;
+	}
+
+	@Override
+	public long countNonZeros() {
+		DenseBlock ldata = _data;
+		MatrixBlock in = _in;
+		return (ldata != null || in == null) ? base().countNonZeros() : 
+			in.getDenseBlock().countNonZeros();
+	}
+	
+	@Override
+	public int countNonZeros(int r) {
+		//row r of the transpose is column r of the input
+		DenseBlock ldata = _data;
+		MatrixBlock in = _in;
+		if( ldata != null || in == null )
+			return base().countNonZeros(r);
+		DenseBlock a = in.getDenseBlock();
+		int nnz = 0;
+		for( int j=0; j<_clen; j++ )
+			nnz += (a.get(j, r) != 0) ? 1 : 0;
+		return nnz;
+	}
+	
+	@Override
+	public long countNonZeros(int rl, int ru, int cl, int cu) {
+		//rows [rl,ru) of the transpose are columns [rl,ru) of the input
+		DenseBlock ldata = _data;
+		MatrixBlock in = _in;
+		return (ldata != null || in == null) ? base().countNonZeros(rl, ru, cl, cu) :
+			in.getDenseBlock().countNonZeros(cl, cu, rl, ru);
+	}
+
+	@Override
+	public double[][] values() {
+		return base().values();
+	}
+
+	@Override
+	public double[] valuesAt(int bix) {
+		return base().valuesAt(bix);
+	}
+
+	@Override
+	public double[] values(int r) {
+		return base().values(r);
+	}
+
+	@Override
+	public int index(int r) {
+		return base().index(r);
+	}
+
+	@Override
+	public int pos(int r) {
+		return base().pos(r);
+	}
+
+	@Override
+	public int pos(int r, int c) {
+		return base().pos(r, c);
+	}
+
+	@Override
+	public DenseBlock set(double v) {
+		reset(_rlen, _clen, v);
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int r, int c, double v) {
+		base().set(r, c, v);
+		return this;
+	}
+	
+	@Override
+	public DenseBlock set(int r, double[] v) {
+		base().set(r, v);
+		return this;
+	}
+	
+	@Override
+	public DenseBlock set(DenseBlock db) {
+		base().set(db);
+		return this;
+	}
+	
+	@Override
+	public void incr(int r, int c, double delta) {
+		base().incr(r, c, delta);
+	}
+
+	@Override
+	public double get(int r, int c) {
+		//note: the input is released after the transpose is materialized
+		MatrixBlock in = _in;
+		return (in != null) ? in.getDenseBlock().get(c, r) : _data.get(r, c);
+	}
+	
+	/**
+	 * Materializes the transpose of the input block if necessary.
+	 * 
+	 * @return materialized dense block
+	 */
+	public DenseBlock materialize() {
+		return base();
+	}
+	
+	private boolean isUnmaterializedSingleBlock() {
+		return _data == null && (long)_rlen * _clen <= DenseBlockFactory.MAX_ALLOC;
+	}
+	
+	private DenseBlock base() {
+		DenseBlock ldata = _data;
+		return (ldata != null) ? ldata : materializeTranspose();
+	}
+	
+	private synchronized DenseBlock materializeTranspose() {
+		//materialize once (concurrent callers might request it simultaneously)
+		if( _data == null ) {
+			MatrixBlock tmp = new MatrixBlock(_rlen, _clen, false);
+			try {
+				LibMatrixReorg.transpose(_in, tmp, _k);
+			}
+			catch(DMLRuntimeException ex) {
+				throw new RuntimeException(ex);
+			}
+			resetData(tmp.getDenseBlock());
+		}
+		return _data;
+	}
+	
+	private synchronized void resetData(DenseBlock data) {
+		//publish the data before releasing the input (see get)
+		_data = data;
+		_in = null;
+	}
+}
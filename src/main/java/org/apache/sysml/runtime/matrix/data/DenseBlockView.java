@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.Arrays;
+
+/**
+ * Read-only view of a contiguous row range of a dense block, which references 
+ * the underlying array of the parent block (with a row offset) instead of copying 
+ * it. This allows zero-copy row slicing such as X[beg:end,] in mini-batch loops. 
+ * Kernels access the view through the row API values(r) and pos(r), which returns 
+ * the parent array and offset. Any modification as well as block-level access via 
+ * values() and valuesAt(bix), which callers expect to start at position 0, copy 
+ * the row range in place (once) to a private array (copy-on-write). Hence, a 
+ * view is only valid as long as the parent block is not modified.
+ * 
+ */
+public class DenseBlockView extends DenseBlock
+{
+	private static final long serialVersionUID = -4311253466358574185L;
+	
+	private volatile double[] data;
+	private volatile int off;        //cell offset of row 0
+	private volatile boolean shared; //true until copy-on-write
+	private int rlen;
+	private int clen;
+	
+	/**
+	 * Creates a view of the row range [rl,ru] of the given dense block, 
+	 * which is required to be contiguous in this row range.
+	 * 
+	 * @param parent dense block
+	 * @param rl row lower index
+	 * @param ru row upper index (inclusive)
+	 */
+	public DenseBlockView(DenseBlock parent, int rl, int ru) {
+		if( !parent.isContiguous(rl, ru) )
+			throw new RuntimeException("Invalid dense view of non-contiguous rows ["+rl+","+ru+"].");
+		this.data = parent.values(rl);
+		this.off = parent.pos(rl);
+		this.shared = true;
+		this.rlen = ru - rl + 1;
+		this.clen = parent.numCols();
+	}
+	
+	/**
+	 * Indicates if the given dense block allows row range views, i.e., 
+	 * if its values(r) and pos(r) directly expose the stored doubles.
+	 * 
+	 * @param dblock dense block
+	 * @return true if views are supported
+	 */
+	public static boolean isSupported(DenseBlock dblock) {
+		return dblock instanceof DenseBlockDRB || dblock instanceof DenseBlockLDRB
+			|| dblock instanceof DenseBlockView;
+	}
+	
+	@Override
+	public void reset(int rlen, int clen, double v) {
+		//reset to a private array w/o copying the referenced rows
+		int len = rlen * clen;
+		double[] ldata = data;
+		if( shared || len > ldata.length ) {
+			ldata = new double[len];
+			if( v != 0 )
+				Arrays.fill(ldata, v);
+		}
+		else {
+			Arrays.fill(ldata, 0, len, v);
+		}
+		data = ldata;
+		off = 0;
+		shared = false;
+		this.rlen = rlen;
+		this.clen = clen;
+	}
+	
+	/**
+	 * Indicates if the values are still referenced from the parent 
+	 * block, i.e., the view has not been copied on write yet.
+	 * 
+	 * @return true if values are shared with the parent block
+	 */
+	@Override
+	public boolean isView() {
+		return shared;
+	}
+	
+	@Override
+	public int numRows() {
+		return rlen;
+	}
+	
+	@Override
+	public int numCols() {
+		return clen;
+	}
+
+	@Override
+	public int numBlocks() {
+		return 1;
+	}
+
+	@Override
+	public int blockSize() {
+		return rlen;
+	}
+
+	@Override
+	public int blockSize(int bix) {
+		return rlen;
+	}
+
+	@Override
+	public boolean isContiguous() {
+		return true;
+	}
+
+	@Override
+	public boolean isContiguous(int rl, int ru) {
+		return true;
+	}
+
+	@Override
+	public long capacity() {
+		return shared ? (long)rlen * clen : data.length;
+	}
+
+	@Override
+	public long countNonZeros() {
+		final double[] a = data;
+		final int ix = off;
+		final int len = rlen * clen;
+		long nnz = 0;
+		for( int i=ix; i<ix+len; i++ )
+			nnz += (a[i]!=0) ? 1 : 0;
+		return nnz;
+	}
+
+	@Override
+	public double[][] values() {
+		return new double[][]{valuesAt(0)};
+	}
+	
+	@Override
+	public double[] valuesAt(int bix) {
+		//block-level access assumes row 0 at position 0
+		return shared ? copyOnWrite() : data;
+	}
+
+	@Override
+	public double[] values(int r) {
+		return data;
+	}
+
+	@Override
+	public int index(int r) {
+		return 0;
+	}
+
+	@Override
+	public int pos(int r) {
+		return off + r * clen;
+	}
+
+	@Override
+	public int pos(int r, int c) {
+		return off + r * clen + c;
+	}
+
+	@Override
+	public DenseBlock set(double v) {
+		Arrays.fill(valuesAt(0), 0, rlen*clen, v);
+		return this;
+	}
+
+	@Override
+	public DenseBlock set(int r, int c, double v) {
+		valuesAt(0)[r * clen + c] = v;
+		return this;
+	}
+	
+	@Override
+	public DenseBlock set(int r, double[] v) {
+		System.arraycopy(v, 0, valuesAt(0), r * clen, clen);
+		return this;
+	}
+	
+	@Override
+	public DenseBlock set(DenseBlock db) {
+		if( shared )
+			copyOnWrite();
+		return super.set(db);
+	}
+	
+	@Override
+	public void incr(int r, int c, double delta) {
+		valuesAt(0)[r * clen + c] += delta;
+	}
+
+	@Override
+	public double get(int r, int c) {
+		return data[pos(r, c)];
+	}
+	
+	/**
+	 * Returns the in-memory size of the referenced values, which includes 
+	 * the entire array of the parent block as long as the view is shared.
+	 * 
+	 * @return in-memory size in bytes
+	 */
+	public long getRetainedSizeInMemory() {
+		return 16 + 8L * data.length;
+	}
+	
+	/**
+	 * Copies the referenced row range into a private array if 
+	 * still shared, which is required before in-place updates.
+	 * 
+	 * @return private array of values, starting at position 0
+	 */
+	public synchronized double[] copyOnWrite() {
+		//copy once (concurrent callers might request it simultaneously)
+		if( shared ) {
+			int ix = off;
+			data = Arrays.copyOfRange(data, ix, ix + rlen * clen);
+			off = 0;
+			shared = false;
+		}
+		return data;
+	}
+}
@@ -20,22 +20,21 @@
 package org.apache.sysml.runtime.matrix.data;
 
 import org.apache.commons.math3.linear.Array2DRowRealMatrix;
-import org.apache.commons.math3.linear.CholeskyDecomposition;
-import org.apache.commons.math3.linear.DecompositionSolver;
 import org.apache.commons.math3.linear.EigenDecomposition;
-import org.apache.commons.math3.linear.LUDecomposition;
-import org.apache.commons.math3.linear.QRDecomposition;
 import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.commons.math3.util.Precision;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysml.runtime.util.DataConverter;
 
 /**
- * Library for matrix operations that need invocation of 
- * Apache Commons Math library. 
+ * Library for matrix operations that used to be computed via the Apache 
+ * Commons Math library. Except for the eigen decomposition of non-symmetric
+ * matrices, all operations are now dispatched to the native dense kernels
+ * of {@link LibMatrixDecomp}.
  * 
  * This library currently supports following operations:
- * matrix inverse, matrix decompositions (QR, LU, Eigen), solve 
+ * matrix inverse, matrix decompositions (QR, LU, Eigen, Cholesky), solve 
  */
 public class LibCommonsMath 
 {	
@@ -58,131 +57,94 @@ public class LibCommonsMath
 	public static MatrixBlock unaryOperations(MatrixObject inj, String opcode) 
 		throws DMLRuntimeException 
 	{
-		Array2DRowRealMatrix matrixInput = DataConverter.convertToArray2DRowRealMatrix(inj);
-		if(opcode.equals("inverse"))
-			return computeMatrixInverse(matrixInput);
-		else if (opcode.equals("cholesky"))
-			return computeCholesky(matrixInput);		
-		return null;
+		return unaryOperations(inj, opcode, 1);
 	}
 	
-	public static MatrixBlock[] multiReturnOperations(MatrixObject in, String opcode) 
+	public static MatrixBlock unaryOperations(MatrixObject inj, String opcode, int k) 
 		throws DMLRuntimeException 
 	{
-		if(opcode.equals("qr"))
-			return computeQR(in);
-		else if (opcode.equals("lu"))
-			return computeLU(in);
-		else if (opcode.equals("eigen"))
-			return computeEigen(in);
-		return null;
+		MatrixBlock in = inj.acquireRead();
+		try {
+			if(opcode.equals("inverse"))
+				return LibMatrixDecomp.computeInverse(in, k);
+			else if (opcode.equals("cholesky"))
+				return LibMatrixDecomp.computeCholesky(in, k);
+			return null;
+		}
+		finally {
+			inj.release();
+		}
 	}
 	
-	public static MatrixBlock matrixMatrixOperations(MatrixObject in1, MatrixObject in2, String opcode) 
+	public static MatrixBlock[] multiReturnOperations(MatrixObject in, String opcode) 
 		throws DMLRuntimeException 
 	{
-		if(opcode.equals("solve"))
-			return computeSolve(in1, in2);
-		return null;
+		return multiReturnOperations(in, opcode, 1);
 	}
 	
-	/**
-	 * Function to solve a given system of equations.
-	 * 
-	 * @param in1 matrix object 1
-	 * @param in2 matrix object 2
-	 * @return matrix block
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static MatrixBlock computeSolve(MatrixObject in1, MatrixObject in2) 
+	public static MatrixBlock[] multiReturnOperations(MatrixObject in, String opcode, int k) 
 		throws DMLRuntimeException 
 	{
-		Array2DRowRealMatrix matrixInput = DataConverter.convertToArray2DRowRealMatrix(in1);
-		Array2DRowRealMatrix vectorInput = DataConverter.convertToArray2DRowRealMatrix(in2);
-		
-		/*LUDecompositionImpl ludecompose = new LUDecompositionImpl(matrixInput);
-		DecompositionSolver lusolver = ludecompose.getSolver();
-		RealMatrix solutionMatrix = lusolver.solve(vectorInput);*/
-		
-		// Setup a solver based on QR Decomposition
-		QRDecomposition qrdecompose = new QRDecomposition(matrixInput);
-		DecompositionSolver solver = qrdecompose.getSolver();
-		// Invoke solve
-		RealMatrix solutionMatrix = solver.solve(vectorInput);
-		
-		return DataConverter.convertToMatrixBlock(solutionMatrix.getData());
+		MatrixBlock mb = in.acquireRead();
+		try {
+			if(opcode.equals("qr"))
+				return LibMatrixDecomp.computeQR(mb, k);
+			else if (opcode.equals("lu"))
+				return LibMatrixDecomp.computeLU(mb, k);
+			else if (opcode.equals("eigen"))
+				return computeEigen(mb, k);
+			return null;
+		}
+		finally {
+			in.release();
+		}
 	}
 	
-	/**
-	 * Function to perform QR decomposition on a given matrix.
-	 * 
-	 * @param in matrix object
-	 * @return array of matrix blocks
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static MatrixBlock[] computeQR(MatrixObject in) 
+	public static MatrixBlock matrixMatrixOperations(MatrixObject in1, MatrixObject in2, String opcode) 
 		throws DMLRuntimeException 
 	{
-		Array2DRowRealMatrix matrixInput = DataConverter.convertToArray2DRowRealMatrix(in);
-		
-		// Perform QR decomposition
-		QRDecomposition qrdecompose = new QRDecomposition(matrixInput);
-		RealMatrix H = qrdecompose.getH();
-		RealMatrix R = qrdecompose.getR();
-		
-		// Read the results into native format
-		MatrixBlock mbH = DataConverter.convertToMatrixBlock(H.getData());
-		MatrixBlock mbR = DataConverter.convertToMatrixBlock(R.getData());
-
-		return new MatrixBlock[] { mbH, mbR };
+		return matrixMatrixOperations(in1, in2, opcode, 1);
 	}
 	
-	/**
-	 * Function to perform LU decomposition on a given matrix.
-	 * 
-	 * @param in matrix object
-	 * @return array of matrix blocks
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static MatrixBlock[] computeLU(MatrixObject in) 
+	public static MatrixBlock matrixMatrixOperations(MatrixObject in1, MatrixObject in2, String opcode, int k) 
 		throws DMLRuntimeException 
 	{
-		if ( in.getNumRows() != in.getNumColumns() ) {
-			throw new DMLRuntimeException("LU Decomposition can only be done on a square matrix. Input matrix is rectangular (rows=" + in.getNumRows() + ", cols="+ in.getNumColumns() +")");
+		MatrixBlock mb1 = in1.acquireRead();
+		MatrixBlock mb2 = in2.acquireRead();
+		try {
+			if(opcode.equals("solve"))
+				return LibMatrixDecomp.computeSolve(mb1, mb2, k);
+			return null;
+		}
+		finally {
+			in1.release();
+			in2.release();
 		}
-		
-		Array2DRowRealMatrix matrixInput = DataConverter.convertToArray2DRowRealMatrix(in);
-		
-		// Perform LUP decomposition
-		LUDecomposition ludecompose = new LUDecomposition(matrixInput);
-		RealMatrix P = ludecompose.getP();
-		RealMatrix L = ludecompose.getL();
-		RealMatrix U = ludecompose.getU();
-		
-		// Read the results into native format
-		MatrixBlock mbP = DataConverter.convertToMatrixBlock(P.getData());
-		MatrixBlock mbL = DataConverter.convertToMatrixBlock(L.getData());
-		MatrixBlock mbU = DataConverter.convertToMatrixBlock(U.getData());
-
-		return new MatrixBlock[] { mbP, mbL, mbU };
 	}
 	
 	/**
 	 * Function to perform Eigen decomposition on a given matrix.
-	 * Input must be a symmetric matrix.
+	 * Input must be a symmetric matrix; non-symmetric inputs are
+	 * still handled via commons-math for backwards compatibility.
 	 * 
-	 * @param in matrix object
+	 * @param in matrix block
+	 * @param k number of threads
 	 * @return array of matrix blocks
 	 * @throws DMLRuntimeException if DMLRuntimeException occurs
 	 */
-	private static MatrixBlock[] computeEigen(MatrixObject in)
+	private static MatrixBlock[] computeEigen(MatrixBlock in, int k)
 		throws DMLRuntimeException 
 	{
 		if ( in.getNumRows() != in.getNumColumns() ) {
 			throw new DMLRuntimeException("Eigen Decomposition can only be done on a square matrix. Input matrix is rectangular (rows=" + in.getNumRows() + ", cols="+ in.getNumColumns() +")");
 		}
 		
-		Array2DRowRealMatrix matrixInput = DataConverter.convertToArray2DRowRealMatrix(in);
+		//native eigen decomposition for symmetric inputs (same symmetry check as commons-math)
+		double eps = 10 * in.getNumRows() * in.getNumColumns() * Precision.EPSILON;
+		if( LibMatrixDecomp.isSymmetric(in, eps) )
+			return LibMatrixDecomp.computeEigen(in, k);
+		
+		Array2DRowRealMatrix matrixInput = new Array2DRowRealMatrix(DataConverter.convertToDoubleMatrix(in), false);
 		
 		EigenDecomposition eigendecompose = new EigenDecomposition(matrixInput);
 		RealMatrix eVectorsMatrix = eigendecompose.getV();
@@ -192,21 +154,21 @@ public class LibCommonsMath
 		//Sort the eigen values (and vectors) in increasing order (to be compatible w/ LAPACK.DSYEVR())
 		int n = eValues.length;
 		for (int i = 0; i < n; i++) {
-		    int k = i;
+		    int pos = i;
 		    double p = eValues[i];
 		    for (int j = i + 1; j < n; j++) {
 		        if (eValues[j] < p) {
-		            k = j;
+		            pos = j;
 		            p = eValues[j];
 		        }
 		    }
-		    if (k != i) {
-		        eValues[k] = eValues[i];
+		    if (pos != i) {
+		        eValues[pos] = eValues[i];
 		        eValues[i] = p;
 		        for (int j = 0; j < n; j++) {
 		            p = eVectors[j][i];
-		            eVectors[j][i] = eVectors[j][k];
-		            eVectors[j][k] = p;
+		            eVectors[j][i] = eVectors[j][pos];
+		            eVectors[j][pos] = p;
 		        }
 		    }
 		}
@@ -216,44 +178,4 @@ public class LibCommonsMath
 
 		return new MatrixBlock[] { mbValues, mbVectors };
 	}
-	
-	/**
-	 * Function to compute matrix inverse via matrix decomposition.
-	 * 
-	 * @param in commons-math3 Array2DRowRealMatrix
-	 * @return matrix block
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static MatrixBlock computeMatrixInverse(Array2DRowRealMatrix in) 
-		throws DMLRuntimeException 
-	{	
-		if ( !in.isSquare() )
-			throw new DMLRuntimeException("Input to inv() must be square matrix -- given: a " + in.getRowDimension() + "x" + in.getColumnDimension() + " matrix.");
-		
-		QRDecomposition qrdecompose = new QRDecomposition(in);
-		DecompositionSolver solver = qrdecompose.getSolver();
-		RealMatrix inverseMatrix = solver.getInverse();
-
-		return DataConverter.convertToMatrixBlock(inverseMatrix.getData());
-	}
-
-	/**
-	 * Function to compute Cholesky decomposition of the given input matrix. 
-	 * The input must be a real symmetric positive-definite matrix.
-	 * 
-	 * @param in commons-math3 Array2DRowRealMatrix
-	 * @return matrix block
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static MatrixBlock computeCholesky(Array2DRowRealMatrix in) 
-		throws DMLRuntimeException 
-	{	
-		if ( !in.isSquare() )
-			throw new DMLRuntimeException("Input to cholesky() must be square matrix -- given: a " + in.getRowDimension() + "x" + in.getColumnDimension() + " matrix.");
-
-		CholeskyDecomposition cholesky = new CholeskyDecomposition(in);
-		RealMatrix rmL = cholesky.getL();
-		
-		return DataConverter.convertToMatrixBlock(rmL.getData());
-	}
 }
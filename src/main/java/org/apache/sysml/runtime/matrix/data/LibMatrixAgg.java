@@ -48,6 +48,7 @@ import org.apache.sysml.runtime.functionobjects.ValueFunction;
 import org.apache.sysml.runtime.instructions.InstructionUtils;
 import org.apache.sysml.runtime.instructions.cp.CM_COV_Object;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
+import org.apache.sysml.runtime.matrix.data.LibMatrixCellKernels.CellKernel;
 import org.apache.sysml.runtime.matrix.operators.AggregateOperator;
 import org.apache.sysml.runtime.matrix.operators.AggregateTernaryOperator;
 import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
@@ -193,6 +194,19 @@ public class LibMatrixAgg
 			return;
 		}	
 		
+		//aggregates over transpose views via the input (w/o materialization)
+		MatrixBlock tin = in.getTransposeViewInput();
+		if( tin != null && isTransposeAggregate(aggtype, uaop.indexFn) ) {
+			aggregateUnaryMatrixTranspose(tin, out, uaop, 1);
+			return;
+		}
+		
+		//aggregates over constant inputs via meta data (w/o widening)
+		if( in.isConstant() && isConstantAggregate(aggtype, uaop.indexFn) ) {
+			aggregateUnaryMatrixConstant(in, out, aggtype, uaop.indexFn);
+			return;
+		}
+		
 		//Timing time = new Timing(true);
 		
 		//allocate output arrays (if required)
@@ -234,6 +248,19 @@ public class LibMatrixAgg
 			return;
 		}	
 		
+		//aggregates over transpose views via the input (w/o materialization)
+		MatrixBlock tin = in.getTransposeViewInput();
+		if( tin != null && isTransposeAggregate(aggtype, uaop.indexFn) ) {
+			aggregateUnaryMatrixTranspose(tin, out, uaop, k);
+			return;
+		}
+		
+		//aggregates over constant inputs via meta data (w/o widening)
+		if( in.isConstant() && isConstantAggregate(aggtype, uaop.indexFn) ) {
+			aggregateUnaryMatrixConstant(in, out, aggtype, uaop.indexFn);
+			return;
+		}
+		
 		//Timing time = new Timing(true);
 		
 		//allocate output arrays (if required)
@@ -494,7 +521,7 @@ public class LibMatrixAgg
 	{
 		//fall back to sequential version if necessary
 		boolean rowVector = (target.getNumRows()==1 && target.getNumColumns()>1);
-		if( k <= 1 || (long)target.rlen*target.clen < PAR_NUMCELL_THRESHOLD || rowVector || target.clen==1) {
+		if( k <= 1 || (long)target.rlen*target.clen < PAR_NUMCELL_THRESHOLD || rowVector ) {
 			groupedAggregate(groups, target, weights, result, numGroups, op);
 			return;
 		}
@@ -508,23 +535,310 @@ public class LibMatrixAgg
 		result.allocateDenseBlock();
 		
 		//core multi-threaded grouped aggregate computation
-		//(currently: parallelization over columns to avoid additional memory requirements)
+		//(column vectors: parallelization over rows w/ thread-local partial aggregates 
+		//or sort-based for large numbers of groups, otherwise: parallelization over 
+		//columns to avoid additional memory requirements)
+		if( target.clen == 1 ) {
+			if( (long)numGroups * k > target.rlen )
+				groupedAggregateVecSortBased(groups, target, weights, result, numGroups, op, k);
+			else
+				groupedAggregateVecRowPartitioned(groups, target, weights, result, numGroups, op, k);
+		}
+		else {
+			try {
+				ExecutorService pool = Executors.newFixedThreadPool( k );
+				ArrayList<GrpAggTask> tasks = new ArrayList<GrpAggTask>();
+				int blklen = (int)(Math.ceil((double)target.clen/k));
+				for( int i=0; i<k & i*blklen<target.clen; i++ )
+					tasks.add( new GrpAggTask(groups, target, weights, result, numGroups, op, i*blklen, Math.min((i+1)*blklen, target.clen)) );
+				pool.invokeAll(tasks);	
+				pool.shutdown();
+			}
+			catch(Exception ex) {
+				throw new DMLRuntimeException(ex);
+			}
+		}
+		
+		//postprocessing
+		result.recomputeNonZeros();
+		result.examSparsity();
+	}
+
+	/**
+	 * Row-partitioned grouped aggregate for column vector targets. Every task 
+	 * computes thread-local partial aggregates per group (Kahan sums incl corrections
+	 * or central moment states) over a range of rows, which are subsequently merged 
+	 * in a parallel final step over disjoint ranges of groups.
+	 * 
+	 * @param groups matrix block groups
+	 * @param target matrix block target
+	 * @param weights matrix block weights
+	 * @param result matrix block result
+	 * @param numGroups number of groups
+	 * @param op operator
+	 * @param k number of threads
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static void groupedAggregateVecRowPartitioned( MatrixBlock groups, MatrixBlock target, MatrixBlock weights, MatrixBlock result, int numGroups, Operator op, int k ) 
+		throws DMLRuntimeException
+	{
+		int m = target.rlen;
+		
 		try {
 			ExecutorService pool = Executors.newFixedThreadPool( k );
-			ArrayList<GrpAggTask> tasks = new ArrayList<GrpAggTask>();
-			int blklen = (int)(Math.ceil((double)target.clen/k));
-			for( int i=0; i<k & i*blklen<target.clen; i++ )
-				tasks.add( new GrpAggTask(groups, target, weights, result, numGroups, op, i*blklen, Math.min((i+1)*blklen, target.clen)) );
-			pool.invokeAll(tasks);	
+			
+			//compute thread-local partial aggregates over row partitions
+			ArrayList<GrpAggVecTask> tasks = new ArrayList<GrpAggVecTask>();
+			int blklen = (int)(Math.ceil((double)m/k));
+			for( int i=0; i<k & i*blklen<m; i++ )
+				tasks.add( new GrpAggVecTask(groups, target, weights, null, numGroups, op, 
+						null, i*blklen, Math.min((i+1)*blklen, m), 0, numGroups) );
+			List<Future<Object>> rtasks = pool.invokeAll(tasks);
+			ArrayList<Object> partials = new ArrayList<Object>();
+			for( Future<Object> rtask : rtasks )
+				partials.add(rtask.get());
+			
+			//merge partial aggregates over disjoint group partitions
+			ArrayList<GrpAggMergeTask> mtasks = new ArrayList<GrpAggMergeTask>();
+			int blklen2 = (int)(Math.ceil((double)numGroups/k));
+			for( int i=0; i<k & i*blklen2<numGroups; i++ )
+				mtasks.add( new GrpAggMergeTask(partials, result, op, i*blklen2, Math.min((i+1)*blklen2, numGroups)) );
+			for( Future<Object> rtask : pool.invokeAll(mtasks) )
+				rtask.get(); //error handling
+			
 			pool.shutdown();
 		}
 		catch(Exception ex) {
 			throw new DMLRuntimeException(ex);
 		}
+	}
+	
+	/**
+	 * Sort-based grouped aggregate for column vector targets with large numbers
+	 * of groups, where thread-local partial aggregates would exceed the size of 
+	 * the input. We sort the row indexes by group via a stable counting sort and
+	 * assign disjoint ranges of groups (with balanced numbers of rows) to tasks, 
+	 * which aggregate their groups directly into the output. Since the rows of 
+	 * every group are processed in their original order, this variant also produces
+	 * the same results as the sequential grouped aggregate.
+	 * 
+	 * @param groups matrix block groups
+	 * @param target matrix block target
+	 * @param weights matrix block weights
+	 * @param result matrix block result
+	 * @param numGroups number of groups
+	 * @param op operator
+	 * @param k number of threads
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static void groupedAggregateVecSortBased( MatrixBlock groups, MatrixBlock target, MatrixBlock weights, MatrixBlock result, int numGroups, Operator op, int k ) 
+		throws DMLRuntimeException
+	{
+		int m = groups.rlen;
 		
-		//postprocessing
-		result.recomputeNonZeros();
-		result.examSparsity();
+		//count number of rows per group (ptr[g] is the start of group g+1)
+		int[] ptr = new int[numGroups+1];
+		for( int i=0; i<m; i++ ) {
+			int g = (int) groups.quickGetValue(i, 0);
+			if( g > numGroups )
+				continue;
+			ptr[g]++;
+		}
+		for( int g=1; g<=numGroups; g++ )
+			ptr[g] += ptr[g-1];
+		
+		//special case vector counts: directly obtained from group pointers
+		if( isVecCount(op, weights) ) {
+			double[] c = result.getDenseBlockValues();
+			for( int g=0; g<numGroups; g++ )
+				c[g] = ptr[g+1] - ptr[g];
+			return;
+		}
+		
+		//stable counting sort of row indexes by group
+		int[] rix = new int[ptr[numGroups]];
+		int[] pos = Arrays.copyOf(ptr, numGroups);
+		for( int i=0; i<m; i++ ) {
+			int g = (int) groups.quickGetValue(i, 0);
+			if( g > numGroups )
+				continue;
+			rix[pos[g-1]++] = i;
+		}
+		pos = null;
+		
+		try {
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			
+			//create tasks over disjoint group ranges with balanced numbers of rows
+			ArrayList<GrpAggVecTask> tasks = new ArrayList<GrpAggVecTask>();
+			int blklen = (int)(Math.ceil((double)rix.length/k));
+			for( int i=0, gl=0; i<k & gl<numGroups; i++ ) {
+				int gu = (i < k-1) ? gl + 1 : numGroups;
+				while( gu < numGroups && ptr[gu] < (i+1)*blklen )
+					gu++;
+				tasks.add( new GrpAggVecTask(groups, target, weights, result, numGroups, 
+						op, rix, ptr[gl], ptr[gu], gl, gu) );
+				gl = gu;
+			}
+			for( Future<Object> rtask : pool.invokeAll(tasks) )
+				rtask.get(); //error handling
+			
+			pool.shutdown();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	/**
+	 * Grouped aggregate of a column vector target over the rows rl to ru (or
+	 * the rows rix[rl] to rix[ru-1] if row indexes are given) into group buffers
+	 * for the groups gl to gu. Buffers are KahanObjects for sums, CM_COV_Objects 
+	 * for central moments, and int counters for unweighted counts. 
+	 * 
+	 * @param groups matrix block groups
+	 * @param target matrix block target
+	 * @param weights matrix block weights
+	 * @param numGroups number of groups
+	 * @param op operator
+	 * @param rix row indexes or null
+	 * @param rl row lower index
+	 * @param ru row upper index
+	 * @param gl group lower index
+	 * @param gu group upper index
+	 * @return group buffers
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static Object groupedAggregateVec( MatrixBlock groups, MatrixBlock target, MatrixBlock weights, int numGroups, Operator op, int[] rix, int rl, int ru, int gl, int gu ) 
+		throws DMLRuntimeException
+	{
+		int len = gu - gl;
+		boolean sparse = target.sparse;
+		double[] a = target.getDenseBlockValues();
+		SparseBlock sa = target.sparseBlock;
+		double w = 1; //default weight
+		
+		if( isVecCount(op, weights) ) //COUNT
+		{
+			int[] cnt = new int[len];
+			for( int p=rl; p<ru; p++ ) {
+				int i = (rix != null) ? rix[p] : p;
+				int g = (int) groups.quickGetValue(i, 0);
+				if( g > numGroups )
+					continue;
+				cnt[g-1-gl]++;
+			}
+			return cnt;
+		}
+		else if( op instanceof CMOperator ) //CM
+		{
+			CM cmFn = CM.getCMFnObject(((CMOperator) op).getAggOpType());
+			CM_COV_Object[] buff = new CM_COV_Object[len];
+			for( int j=0; j<len; j++ )
+				buff[j] = new CM_COV_Object();
+			for( int p=rl; p<ru; p++ ) {
+				int i = (rix != null) ? rix[p] : p;
+				int g = (int) groups.quickGetValue(i, 0);
+				if( g > numGroups )
+					continue;
+				//note: sparse-unsafe for dense, consistent w/ sequential sparse
+				if( sparse && (sa==null || sa.isEmpty(i)) )
+					continue;
+				double d = sparse ? sa.values(i)[sa.pos(i)] : (a!=null) ? a[i] : 0;
+				if( weights != null )
+					w = weights.quickGetValue(i, 0);
+				cmFn.execute(buff[g-1-gl], d, w);
+			}
+			return buff;
+		}
+		else //SUM
+		{
+			AggregateOperator aggop = (AggregateOperator) op;
+			KahanObject[] buff = new KahanObject[len];
+			for( int j=0; j<len; j++ )
+				buff[j] = new KahanObject(aggop.initialValue, 0);
+			if( sparse ? sa==null : a==null )
+				return buff;
+			for( int p=rl; p<ru; p++ ) {
+				int i = (rix != null) ? rix[p] : p;
+				double d = sparse ? (sa.isEmpty(i) ? 0 : sa.values(i)[sa.pos(i)]) : a[i];
+				if( d == 0 ) //sparse-safe
+					continue;
+				int g = (int) groups.quickGetValue(i, 0);
+				if( g > numGroups )
+					continue;
+				if( weights != null )
+					w = weights.quickGetValue(i, 0);
+				aggop.increOp.fn.execute(buff[g-1-gl], d*w);
+			}
+			return buff;
+		}
+	}
+	
+	private static void groupedAggregateVecMerge( List<Object> partials, MatrixBlock result, Operator op, int gl, int gu ) 
+		throws DMLRuntimeException
+	{
+		double[] c = result.getDenseBlockValues();
+		int len = partials.size();
+		
+		if( partials.get(0) instanceof int[] ) //COUNT
+		{
+			for( int g=gl; g<gu; g++ ) {
+				int cnt = 0;
+				for( int t=0; t<len; t++ )
+					cnt += ((int[])partials.get(t))[g];
+				c[g] = cnt;
+			}
+		}
+		else if( op instanceof CMOperator ) //CM
+		{
+			CMOperator cmOp = (CMOperator) op;
+			CM cmFn = CM.getCMFnObject(cmOp.getAggOpType());
+			for( int g=gl; g<gu; g++ ) {
+				CM_COV_Object cbuff = ((CM_COV_Object[])partials.get(0))[g];
+				for( int t=1; t<len; t++ )
+					cmFn.execute(cbuff, ((CM_COV_Object[])partials.get(t))[g]);
+				c[g] = cbuff.getRequiredResult(cmOp);
+			}
+		}
+		else //SUM
+		{
+			AggregateOperator aggop = (AggregateOperator) op;
+			for( int g=gl; g<gu; g++ ) {
+				KahanObject kbuff = ((KahanObject[])partials.get(0))[g];
+				for( int t=1; t<len; t++ ) {
+					KahanObject tmp = ((KahanObject[])partials.get(t))[g];
+					aggop.increOp.fn.execute(kbuff, tmp._sum, tmp._correction);
+				}
+				c[g] = kbuff._sum;
+			}
+		}
+	}
+	
+	private static void copyGroupBuffers( Object buff, MatrixBlock result, Operator op, int gl, int gu ) 
+		throws DMLRuntimeException
+	{
+		double[] c = result.getDenseBlockValues();
+		if( buff instanceof int[] ) {
+			int[] cnt = (int[]) buff;
+			for( int g=gl; g<gu; g++ )
+				c[g] = cnt[g-gl];
+		}
+		else if( buff instanceof CM_COV_Object[] ) {
+			CM_COV_Object[] cbuff = (CM_COV_Object[]) buff;
+			for( int g=gl; g<gu; g++ )
+				c[g] = cbuff[g-gl].getRequiredResult(op);
+		}
+		else {
+			KahanObject[] kbuff = (KahanObject[]) buff;
+			for( int g=gl; g<gu; g++ )
+				c[g] = kbuff[g-gl]._sum;
+		}
+	}
+	
+	private static boolean isVecCount( Operator op, MatrixBlock weights ) {
+		return op instanceof CMOperator && weights == null
+			&& ((CMOperator)op).getAggOpType()==AggregateOperationTypes.COUNT;
 	}
 
 	public static boolean isSupportedUnaryAggregateOperator( AggregateUnaryOperator op )
@@ -555,7 +869,7 @@ public class LibMatrixAgg
 		if( (type == AggType.MAX_INDEX || type == AggType.MIN_INDEX) && ix.getColumnIndex()!=1 ) //MAXINDEX or MININDEX
 		{
 			int m = out.rlen;
-			double[] c = out.getDenseBlock();
+			double[] c = out.getDenseBlockValues();
 			for( int i=0, cix=0; i<m; i++, cix+=2 )
 				c[cix] = UtilFunctions.computeCellIndex(ix.getColumnIndex(), bclen, (int)c[cix]-1);
 		}
@@ -662,9 +976,9 @@ public class LibMatrixAgg
 		KahanObject kbuff = new KahanObject(0, 0);
 		KahanPlus kplus = KahanPlus.getKahanPlusFnObject();
 		
-		double[] a = in1.denseBlock;
-		double[] b1 = in2.denseBlock;
-		double[] b2 = (in3!=null) ? in3.denseBlock : null; //if null, literal 1
+		double[] a = in1.getDenseBlockValues();
+		double[] b1 = in2.getDenseBlockValues();
+		double[] b2 = (in3!=null) ? in3.getDenseBlockValues() : null; //if null, literal 1
 		final int n = in1.clen;
 		
 		if( ixFn instanceof ReduceAll ) //tak+*
@@ -680,7 +994,7 @@ public class LibMatrixAgg
 		}
 		else //tack+*
 		{
-			double[] c = ret.getDenseBlock();
+			double[] c = ret.getDenseBlockValues();
 			for( int i=rl, ix=rl*n; i<ru; i++ )
 				for( int j=0; j<n; j++, ix++ ) {
 					double b2val = (b2 != null) ? b2[ix] : 1;
@@ -740,7 +1054,7 @@ public class LibMatrixAgg
 		}
 		else //tack+*
 		{
-			double[] c = ret.getDenseBlock();
+			double[] c = ret.getDenseBlockValues();
 			for( int i=rl; i<ru; i++ )
 				if( !a.isEmpty(i) ) {
 					int apos = a.pos(i);
@@ -825,7 +1139,7 @@ public class LibMatrixAgg
 			else //DENSE target
 			{
 				for ( int i=0; i < target.getNumColumns(); i++ ) {
-					double d = target.denseBlock[ i ];
+					double d = target.getDenseBlockValues()[ i ];
 					if( d != 0 ) //sparse-safe
 					{
 						int g = (int) groups.quickGetValue(i, 0);		
@@ -863,7 +1177,7 @@ public class LibMatrixAgg
 						for( ; j<pos+len && aix[j]<cu; j++ ) //for each nnz
 						{
 							if ( weights != null )
-								w = weights.quickGetValue(aix[j],0);
+								w = weights.quickGetValue(i,0);
 							aggop.increOp.fn.execute(buffer[g-1][aix[j]-cl], avals[j]*w);						
 						}
 					}
@@ -871,7 +1185,7 @@ public class LibMatrixAgg
 			}
 			else //DENSE target
 			{
-				double[] a = target.denseBlock;
+				double[] a = target.getDenseBlockValues();
 				
 				for( int i=0, aix=0; i < groups.getNumRows(); i++, aix+=numCols ) 
 				{
@@ -943,7 +1257,7 @@ public class LibMatrixAgg
 		}
 		else //DENSE target
 		{
-			double[] a = target.denseBlock;
+			double[] a = target.getDenseBlockValues();
 			
 			for( int i=0, aix=0; i < groups.getNumRows(); i++, aix+=target.clen ) 
 			{
@@ -965,7 +1279,7 @@ public class LibMatrixAgg
 		for( int i=0; i < numGroups; i++ ) 
 			for( int j=0; j < numCols2; j++ ) {
 				// result is 0-indexed, so is cmValues
-				result.appendValue(i, j, cmValues[i][j+cl].getRequiredResult(cmOp));
+				result.appendValue(i, j+cl, cmValues[i][j].getRequiredResult(cmOp));
 			}			
 	}
 
@@ -976,7 +1290,7 @@ public class LibMatrixAgg
 		if( groups.isInSparseFormat() || groups.isEmptyBlock(false) )
 			throw new DMLRuntimeException("Unsupported sparse input for aggregate-count on group vector.");
 		
-		double[] a = groups.denseBlock;
+		double[] a = groups.getDenseBlockValues();
 		int[] tmp = new int[numGroups];
 		int m = groups.rlen;
 		
@@ -1004,9 +1318,9 @@ public class LibMatrixAgg
 		aggVal.allocateDenseBlock(); //should always stay in dense
 		aggCorr.allocateDenseBlock(); //should always stay in dense
 		
-		double[] a = in.getDenseBlock();
-		double[] c = aggVal.getDenseBlock();
-		double[] cc = aggCorr.getDenseBlock();
+		double[] a = in.getDenseBlockValues();
+		double[] c = aggVal.getDenseBlockValues();
+		double[] cc = aggCorr.getDenseBlockValues();
 		
 		KahanObject buffer1 = new KahanObject(0, 0);
 		KahanPlus akplus = KahanPlus.getKahanPlusFnObject();
@@ -1042,8 +1356,8 @@ public class LibMatrixAgg
 		aggCorr.allocateDenseBlock(); //should always stay in dense
 		
 		SparseBlock a = in.getSparseBlock();
-		double[] c = aggVal.getDenseBlock();
-		double[] cc = aggCorr.getDenseBlock();
+		double[] c = aggVal.getDenseBlockValues();
+		double[] cc = aggCorr.getDenseBlockValues();
 		
 		KahanObject buffer1 = new KahanObject(0, 0);
 		KahanPlus akplus = KahanPlus.getKahanPlusFnObject();
@@ -1126,7 +1440,7 @@ public class LibMatrixAgg
 		final int m = in.rlen;
 		final int n = in.clen;
 		
-		double[] a = in.getDenseBlock();
+		double[] a = in.getDenseBlockValues();
 		
 		KahanObject buffer = new KahanObject(0, 0);
 		KahanPlus akplus = KahanPlus.getKahanPlusFnObject();
@@ -1157,7 +1471,7 @@ public class LibMatrixAgg
 		final int n = in.clen;
 		final int cix = (m-1)*n;
 		
-		double[] a = in.getDenseBlock();
+		double[] a = in.getDenseBlockValues();
 		
 		KahanObject buffer = new KahanObject(0, 0);
 		KahanPlus akplus = KahanPlus.getKahanPlusFnObject();
@@ -1227,7 +1541,7 @@ public class LibMatrixAgg
 		final int m = in.rlen;
 		final int n = in.clen;
 		
-		double[] a = in.getDenseBlock();
+		double[] a = in.getDenseBlockValues();
 		
 		KahanObject buffer = new KahanObject(0, 0);
 		KahanPlus akplus = KahanPlus.getKahanPlusFnObject();
@@ -1292,11 +1606,26 @@ public class LibMatrixAgg
 	private static void aggregateUnaryMatrixDense(MatrixBlock in, MatrixBlock out, AggType optype, ValueFunction vFn, IndexFunction ixFn, int rl, int ru) 
 			throws DMLRuntimeException
 	{
+		//large dense blocks of multiple row blocks (per-row-block access),
+		//and row range views (per-row access w/o copy of the shared rows)
+		if( in.isDenseMultiBlock() || (in.isView() && isDenseMBAggregate(optype, ixFn)) ) {
+			aggregateUnaryMatrixDenseMB(in, out, optype, vFn, ixFn, rl, ru);
+			return;
+		}
+		
+		//boolean dense blocks (sum/sumsq over bitset w/o widening)
+		long[] abits = in.getDenseBlockValuesBool();
+		if( abits != null && (optype==AggType.KAHAN_SUM || optype==AggType.KAHAN_SUM_SQ)
+			&& !(ixFn instanceof ReduceDiag) ) {
+			aggregateUnaryMatrixBool(abits, out, ixFn, in.clen, rl, ru);
+			return;
+		}
+		
 		final int m = in.rlen;
 		final int n = in.clen;
 		
-		double[] a = in.getDenseBlock();
-		double[] c = out.getDenseBlock();		
+		double[] a = in.getDenseBlockValues();
+		double[] c = out.getDenseBlockValues();		
 		
 		switch( optype )
 		{
@@ -1411,6 +1740,272 @@ public class LibMatrixAgg
 		}
 	}
 
+	/**
+	 * Unary aggregates over large dense blocks with multiple row blocks (more 
+	 * than 2^31 cells), where every row is accessed via its row block array and 
+	 * position. The aggregation order per output cell is the same as in the
+	 * single-array kernels, which allows for a seamless use of partial results. 
+	 * 
+	 * @param in input matrix
+	 * @param out output matrix
+	 * @param optype aggregation type
+	 * @param vFn value function
+	 * @param ixFn index function
+	 * @param rl row lower index
+	 * @param ru row upper index
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	/**
+	 * SUM/SUM_SQ, ROWSUM/ROWSUM_SQ, and COLSUM/COLSUM_SQ over boolean dense 
+	 * inputs (bitset), where the sum and sum of squares are both given by 
+	 * the number of set bits, and all Kahan corrections are zero.
+	 * 
+	 * @param a bitset of input matrix
+	 * @param out output matrix
+	 * @param ixFn index function
+	 * @param n number of columns
+	 * @param rl row lower index
+	 * @param ru row upper index
+	 */
+	private static void aggregateUnaryMatrixBool(long[] a, MatrixBlock out, IndexFunction ixFn, int n, int rl, int ru) 
+	{
+		double[] c = out.getDenseBlockValues();
+		
+		if( ixFn instanceof ReduceAll ) { //SUM/SUM_SQ
+			c[0] = DenseBlockBool.countBits(a, rl*n, ru*n);
+			c[1] = 0;
+		}
+		else if( ixFn instanceof ReduceCol ) { //ROWSUM/ROWSUM_SQ
+			for( int i=rl, aix=rl*n, cix=rl*2; i<ru; i++, aix+=n, cix+=2 ) {
+				c[cix+0] = DenseBlockBool.countBits(a, aix, aix+n);
+				c[cix+1] = 0;
+			}
+		}
+		else if( ixFn instanceof ReduceRow ) { //COLSUM/COLSUM_SQ
+			for( int i=rl, aix=rl*n; i<ru; i++, aix+=n )
+				for( int j=0, ix=aix; j<n; j++, ix++ )
+					c[j] += (a[ix>>>6] >>> ix) & 1;
+		}
+	}
+	
+	private static boolean isConstantAggregate(AggType optype, IndexFunction ixFn) {
+		return (optype==AggType.KAHAN_SUM || optype==AggType.KAHAN_SUM_SQ 
+				|| optype==AggType.MIN || optype==AggType.MAX || optype==AggType.MEAN)
+			&& (ixFn instanceof ReduceAll || ixFn instanceof ReduceCol 
+				|| ixFn instanceof ReduceRow || ixFn instanceof ReduceDiag);
+	}
+	
+	/**
+	 * Unary aggregates over a constant block of value v, which are computed
+	 * from the number of aggregated cells n per output cell (e.g., v*n for sum).
+	 * Similar to empty blocks, this only sets the value and the count of means,
+	 * while all correction terms remain zero.
+	 * 
+	 * @param in constant input matrix
+	 * @param out output matrix
+	 * @param optype aggregate type
+	 * @param ixFn index function
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static void aggregateUnaryMatrixConstant(MatrixBlock in, MatrixBlock out, AggType optype, IndexFunction ixFn) 
+		throws DMLRuntimeException
+	{
+		final double v = in.getConstantValue();
+		final boolean rowAgg = (ixFn instanceof ReduceCol);
+		final boolean colAgg = (ixFn instanceof ReduceRow);
+		
+		//number of aggregated cells per output cell
+		long cnt = rowAgg ? in.clen : (colAgg || ixFn instanceof ReduceDiag) ? 
+			in.rlen : (long)in.rlen * in.clen;
+		double val = (optype==AggType.KAHAN_SUM) ? v * cnt : 
+			(optype==AggType.KAHAN_SUM_SQ) ? v * v * cnt : v;
+		
+		//write values (and counts) of rows or columns
+		out.reset(out.rlen, out.clen, false); //always dense
+		out.allocateDenseBlock();
+		int len = rowAgg ? in.rlen : colAgg ? in.clen : 1;
+		for( int i=0; i<len; i++ ) {
+			out.quickSetValue(colAgg?0:i, colAgg?i:0, val);
+			if( optype==AggType.MEAN )
+				out.quickSetValue(colAgg?1:i, colAgg?i:1, cnt);
+		}
+		out.recomputeNonZeros();
+		out.examSparsity();
+	}
+	
+	private static boolean isTransposeAggregate(AggType optype, IndexFunction ixFn) {
+		//note: index aggregates (e.g., rowIndexMax) have no column counterpart
+		return (optype==AggType.KAHAN_SUM || optype==AggType.KAHAN_SUM_SQ || optype==AggType.MIN 
+				|| optype==AggType.MAX || optype==AggType.MEAN || optype==AggType.VAR || optype==AggType.PROD)
+			&& (ixFn instanceof ReduceAll || ixFn instanceof ReduceCol 
+				|| ixFn instanceof ReduceRow || ixFn instanceof ReduceDiag);
+	}
+	
+	/**
+	 * Unary aggregates over a transpose view t(X), which are computed over X. 
+	 * Full and diagonal aggregates are invariant to transposition, while row 
+	 * aggregates of t(X) are the transposed column aggregates of X and vice versa. 
+	 * Since the correction rows of column aggregates become correction columns 
+	 * of row aggregates, we simply transpose the (small) partial output.
+	 * 
+	 * @param tin input X of transpose view t(X)
+	 * @param out output matrix block
+	 * @param uaop aggregate unary operator
+	 * @param k maximum parallelism
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static void aggregateUnaryMatrixTranspose(MatrixBlock tin, MatrixBlock out, AggregateUnaryOperator uaop, int k) 
+		throws DMLRuntimeException
+	{
+		IndexFunction ixFn = uaop.indexFn;
+		if( ixFn instanceof ReduceAll || ixFn instanceof ReduceDiag ) {
+			if( k > 1 )
+				aggregateUnaryMatrix(tin, out, uaop, k);
+			else
+				aggregateUnaryMatrix(tin, out, uaop);
+			return;
+		}
+		
+		//swap row and column aggregates, incl correction location
+		AggregateOperator aop = uaop.aggOp;
+		AggregateUnaryOperator tuaop = new AggregateUnaryOperator(
+			new AggregateOperator(aop.initialValue, aop.increOp.fn, 
+				aop.correctionExists, getTransposeCorrectionLocation(aop.correctionLocation)),
+			(ixFn instanceof ReduceCol) ? ReduceRow.getReduceRowFnObject() : 
+				ReduceCol.getReduceColFnObject(), k);
+		MatrixBlock tmp = new MatrixBlock(out.clen, out.rlen, false);
+		if( k > 1 )
+			aggregateUnaryMatrix(tin, tmp, tuaop, k);
+		else
+			aggregateUnaryMatrix(tin, tmp, tuaop);
+		
+		//transpose partial output (incl corrections)
+		out.reset(out.rlen, out.clen, false);
+		LibMatrixReorg.transpose(tmp, out);
+		out.recomputeNonZeros();
+		out.examSparsity();
+	}
+	
+	private static CorrectionLocationType getTransposeCorrectionLocation(CorrectionLocationType cloc) {
+		switch( cloc ) {
+			case LASTROW:         return CorrectionLocationType.LASTCOLUMN;
+			case LASTCOLUMN:      return CorrectionLocationType.LASTROW;
+			case LASTTWOROWS:     return CorrectionLocationType.LASTTWOCOLUMNS;
+			case LASTTWOCOLUMNS:  return CorrectionLocationType.LASTTWOROWS;
+			case LASTFOURROWS:    return CorrectionLocationType.LASTFOURCOLUMNS;
+			case LASTFOURCOLUMNS: return CorrectionLocationType.LASTFOURROWS;
+			default:              return cloc;
+		}
+	}
+	
+	private static boolean isDenseMBAggregate(AggType optype, IndexFunction ixFn) {
+		return (optype==AggType.KAHAN_SUM || optype==AggType.KAHAN_SUM_SQ || optype==AggType.MIN 
+				|| optype==AggType.MAX || optype==AggType.MEAN)
+			&& (ixFn instanceof ReduceAll || ixFn instanceof ReduceCol || ixFn instanceof ReduceRow);
+	}
+	
+	private static void aggregateUnaryMatrixDenseMB(MatrixBlock in, MatrixBlock out, AggType optype, ValueFunction vFn, IndexFunction ixFn, int rl, int ru) 
+			throws DMLRuntimeException
+	{
+		final int n = in.clen;
+		
+		DenseBlock a = in.getDenseBlock();
+		double[] c = out.getDenseBlockValues();
+		
+		switch( optype )
+		{
+			case KAHAN_SUM: //SUM via k+
+			case KAHAN_SUM_SQ: //SUM_SQ via k+
+			{
+				KahanObject kbuff = new KahanObject(0, 0);
+				KahanFunction kfn = (KahanFunction)vFn;
+				
+				if( ixFn instanceof ReduceAll ) { //SUM/SUM_SQ
+					for( int i=rl; i<ru; i++ )
+						sumWithFn(a.values(i), a.pos(i), n, kbuff, kfn);
+					c[0] = kbuff._sum;
+					c[1] = kbuff._correction;
+				}
+				else if( ixFn instanceof ReduceCol ) { //ROWSUM/ROWSUM_SQ
+					for( int i=rl, cix=rl*2; i<ru; i++, cix+=2 ) {
+						kbuff.set(0, 0); //reset buffer
+						sumWithFn(a.values(i), a.pos(i), n, kbuff, kfn);
+						c[cix+0] = kbuff._sum;
+						c[cix+1] = kbuff._correction;
+					}
+				}
+				else if( ixFn instanceof ReduceRow ) { //COLSUM/COLSUM_SQ
+					for( int i=rl; i<ru; i++ )
+						sumAggWithFn(a.values(i), c, a.pos(i), 0, n, kbuff, kfn);
+				}
+				else
+					throw new DMLRuntimeException("Unsupported index function over large dense blocks: "+ixFn.getClass().getSimpleName());
+				break;
+			}
+			case MIN: 
+			case MAX: //MAX/MIN
+			{
+				double init = Double.MAX_VALUE * ((optype==AggType.MAX)?-1:1);
+				Builtin builtin = (Builtin)vFn;
+				
+				if( ixFn instanceof ReduceAll ) { //MIN/MAX
+					double val = init;
+					for( int i=rl; i<ru; i++ )
+						val = builtin(a.values(i), a.pos(i), val, n, builtin);
+					c[0] = val;
+				}
+				else if( ixFn instanceof ReduceCol ) { //ROWMIN/ROWMAX
+					for( int i=rl; i<ru; i++ )
+						c[i] = builtin(a.values(i), a.pos(i), init, n, builtin);
+				}
+				else if( ixFn instanceof ReduceRow ) { //COLMIN/COLMAX
+					Arrays.fill(c, init);
+					for( int i=rl; i<ru; i++ )
+						builtinAgg(a.values(i), c, a.pos(i), n, builtin);
+				}
+				else
+					throw new DMLRuntimeException("Unsupported index function over large dense blocks: "+ixFn.getClass().getSimpleName());
+				break;
+			}
+			case MEAN: //MEAN
+			{
+				KahanObject kbuff = new KahanObject(0, 0);
+				Mean kmean = (Mean)vFn;
+				
+				if( ixFn instanceof ReduceAll ) { //MEAN
+					long count = 0;
+					for( int i=rl; i<ru; i++ ) {
+						double[] avals = a.values(i);
+						for( int j=0, aix=a.pos(i); j<n; j++ )
+							kmean.execute2(kbuff, avals[aix+j], ++count);
+					}
+					c[0] = kbuff._sum;
+					c[1] = count;
+					c[2] = kbuff._correction;
+				}
+				else if( ixFn instanceof ReduceCol ) { //ROWMEAN
+					for( int i=rl, cix=rl*3; i<ru; i++, cix+=3 ) {
+						kbuff.set(0, 0); //reset buffer
+						mean(a.values(i), a.pos(i), n, 0, kbuff, kmean);
+						c[cix+0] = kbuff._sum;
+						c[cix+1] = n;
+						c[cix+2] = kbuff._correction;
+					}
+				}
+				else if( ixFn instanceof ReduceRow ) { //COLMEAN
+					for( int i=rl; i<ru; i++ )
+						meanAgg(a.values(i), c, a.pos(i), 0, n, kbuff, kmean);
+				}
+				else
+					throw new DMLRuntimeException("Unsupported index function over large dense blocks: "+ixFn.getClass().getSimpleName());
+				break;
+			}
+			
+			default:
+				throw new DMLRuntimeException("Unsupported aggregation type over large dense blocks: "+optype);
+		}
+	}
+
 	private static void aggregateUnaryMatrixSparse(MatrixBlock in, MatrixBlock out, AggType optype, ValueFunction vFn, IndexFunction ixFn, int rl, int ru) 
 			throws DMLRuntimeException
 	{
@@ -1418,7 +2013,7 @@ public class LibMatrixAgg
 		final int n = in.clen;
 		
 		SparseBlock a = in.getSparseBlock();
-		double[] c = out.getDenseBlock();
+		double[] c = out.getDenseBlockValues();
 		
 		switch( optype )
 		{
@@ -1538,8 +2133,8 @@ public class LibMatrixAgg
 		final int m = in.rlen;
 		final int n = in.clen;
 		
-		double[] a = in.getDenseBlock();
-		double[] c = out.getDenseBlock();		
+		double[] a = in.getDenseBlockValues();
+		double[] c = out.getDenseBlockValues();		
 		
 		switch( optype )
 		{
@@ -1575,7 +2170,7 @@ public class LibMatrixAgg
 		final int n = in.clen;
 		
 		SparseBlock a = in.getSparseBlock();
-		double[] c = out.getDenseBlock();
+		double[] c = out.getDenseBlockValues();
 		
 		switch( optype )
 		{
@@ -2219,14 +2814,13 @@ public class LibMatrixAgg
 	 */
 	private static void s_uarkp( SparseBlock a, double[] c, int m, int n, KahanObject kbuff, KahanPlus kplus, int rl, int ru ) 
 	{
-		//compute row aggregates
-		for( int i=rl, cix=rl*2; i<ru; i++, cix+=2 )
-			if( !a.isEmpty(i) ) {
-				kbuff.set(0, 0); //reset buffer
-				sum( a.values(i), a.pos(i), a.size(i), kbuff, kplus );
-				c[cix+0] = kbuff._sum;
-				c[cix+1] = kbuff._correction;			
-			}
+		//compute row aggregates (over non-empty rows only)
+		for( int i=a.nextNonEmptyRow(rl, ru); i<ru; i=a.nextNonEmptyRow(i+1, ru) ) {
+			kbuff.set(0, 0); //reset buffer
+			sum( a.values(i), a.pos(i), a.size(i), kbuff, kplus );
+			c[2*i+0] = kbuff._sum;
+			c[2*i+1] = kbuff._correction;			
+		}
 	}
 	
 	/**
@@ -2244,7 +2838,11 @@ public class LibMatrixAgg
 	private static void s_uackp( SparseBlock a, double[] c, int m, int n, KahanObject kbuff, KahanPlus kplus, int rl, int ru ) 
 	{
 		//compute column aggregates
-		if( a.isContiguous() ) {
+		char[] aix16 = SparseBlockCSR16.indexesCompact(a);
+		if( aix16 != null ) { //CSR16 w/o widening
+			sumAggWithFn( a.values(rl), c, aix16, a.pos(rl), (int)a.size(rl, ru), n, kbuff, kplus );
+		}
+		else if( a.isContiguous() ) {
 			sumAgg( a.values(rl), c, a.indexes(rl), a.pos(rl), (int)a.size(rl, ru), n, kbuff, kplus );
 		}
 		else {
@@ -2305,14 +2903,12 @@ public class LibMatrixAgg
 	private static void s_uarsqkp(SparseBlock a, double[] c, int m, int n, KahanObject kbuff,
 	                              KahanPlusSq kplusSq, int rl, int ru )
 	{
-		//compute row aggregates
-		for (int i=rl, cix=rl*2; i<ru; i++, cix+=2) {
-			if (!a.isEmpty(i)) {
-				kbuff.set(0, 0); //reset buffer
-				sumSq(a.values(i), a.pos(i), a.size(i), kbuff, kplusSq);
-				c[cix+0] = kbuff._sum;
-				c[cix+1] = kbuff._correction;
-			}
+		//compute row aggregates (over non-empty rows only)
+		for (int i=a.nextNonEmptyRow(rl, ru); i<ru; i=a.nextNonEmptyRow(i+1, ru)) {
+			kbuff.set(0, 0); //reset buffer
+			sumSq(a.values(i), a.pos(i), a.size(i), kbuff, kplusSq);
+			c[2*i+0] = kbuff._sum;
+			c[2*i+1] = kbuff._correction;
 		}
 	}
 
@@ -2336,7 +2932,11 @@ public class LibMatrixAgg
 	                              KahanPlusSq kplusSq, int rl, int ru )
 	{
 		//compute column aggregates
-		if( a.isContiguous() ) {
+		char[] aix16 = SparseBlockCSR16.indexesCompact(a);
+		if( aix16 != null ) { //CSR16 w/o widening
+			sumAggWithFn(a.values(rl), c, aix16, a.pos(rl), (int)a.size(rl, ru), n, kbuff, kplusSq);
+		}
+		else if( a.isContiguous() ) {
 			sumSqAgg(a.values(rl), c, a.indexes(rl), a.pos(rl), (int)a.size(rl, ru), n, kbuff, kplusSq);
 		}
 		else {
@@ -2482,10 +3082,8 @@ public class LibMatrixAgg
 	 */
 	private static void s_uakptrace( SparseBlock a, double[] c, int m, int n, KahanObject kbuff, KahanPlus kplus, int rl, int ru ) 
 	{
-		for( int i=rl; i<ru; i++ ) {
-			if( !a.isEmpty(i) ) 
-				kplus.execute2(kbuff, a.get(i,i));
-		}
+		for( int i=a.nextNonEmptyRow(rl, ru); i<ru; i=a.nextNonEmptyRow(i+1, ru) )
+			kplus.execute2(kbuff, a.get(i,i));
 		c[0] = kbuff._sum;
 		c[1] = kbuff._correction;	
 	}
@@ -2956,7 +3554,7 @@ public class LibMatrixAgg
 		{
 			if( !a.isEmpty(i) ) {
 				int alen = a.size(i);
-				ret *= product(a.values(i), 0, alen);
+				ret *= product(a.values(i), a.pos(i), alen);
 				ret *= (alen<n) ? 0 : 1;
 			}
 			
@@ -3150,6 +3748,19 @@ public class LibMatrixAgg
 			c[aix[i]+n] = kbuff._correction;
 		}
 	}
+	
+	private static void sumAggWithFn(double[] a, double[] c, char[] aix, int ai, final int len, final int n,
+	                                 KahanObject kbuff, KahanFunction kfunc)
+	{
+		//see above, but over compact column indexes of CSR16
+		for (int i=ai; i<ai+len; i++) {
+			kbuff._sum = c[aix[i]];
+			kbuff._correction = c[aix[i]+n];
+			kfunc.execute2(kbuff, a[i]);
+			c[aix[i]] = kbuff._sum;
+			c[aix[i]+n] = kbuff._correction;
+		}
+	}
 
 	private static double product( double[] a, int ai, final int len )
 	{
@@ -3334,6 +3945,11 @@ public class LibMatrixAgg
 	 */
 	private static double builtin( double[] a, int ai, final double init, final int len, Builtin aggop ) 
 	{
+		//specialized min/max kernels w/o megamorphic function calls
+		CellKernel kernel = LibMatrixCellKernels.getKernel(aggop);
+		if( kernel != null )
+			return LibMatrixCellKernels.vectMinMaxAgg(kernel, a, ai, init, len);
+		
 		double val = init;
 		for( int i=0; i<len; i++, ai++ )
 			val = aggop.execute2( val, a[ ai ] );
@@ -3343,12 +3959,22 @@ public class LibMatrixAgg
 
 	private static void builtinAgg( double[] a, double[] c, int ai, final int len, Builtin aggop ) 
 	{
+		CellKernel kernel = LibMatrixCellKernels.getKernel(aggop);
+		if( kernel != null ) {
+			LibMatrixCellKernels.vectMinMaxAgg(kernel, a, c, ai, len);
+			return;
+		}
 		for( int i=0; i<len; i++, ai++ )
 			c[ i ] = aggop.execute2( c[ i ], a[ ai ] );
 	}
 
 	private static void builtinAgg( double[] a, double[] c, int[] aix, int ai, final int len, Builtin aggop ) 
 	{
+		CellKernel kernel = LibMatrixCellKernels.getKernel(aggop);
+		if( kernel != null ) {
+			LibMatrixCellKernels.vectMinMaxAgg(kernel, a, c, aix, ai, len);
+			return;
+		}
 		for( int i=ai; i<ai+len; i++ )
 			c[ aix[i] ] = aggop.execute2( c[ aix[i] ], a[ i ] );
 	}
@@ -3623,4 +4249,73 @@ public class LibMatrixAgg
 			return null;
 		}
 	}
+
+	private static class GrpAggVecTask extends AggTask 
+	{
+		private MatrixBlock _groups  = null;
+		private MatrixBlock _target  = null;
+		private MatrixBlock _weights  = null;
+		private MatrixBlock _ret  = null;
+		private int _numGroups = -1;
+		private Operator _op = null;
+		private int[] _rix = null;
+		private int _rl = -1;
+		private int _ru = -1;
+		private int _gl = -1;
+		private int _gu = -1;
+
+		protected GrpAggVecTask( MatrixBlock groups, MatrixBlock target, MatrixBlock weights, MatrixBlock ret, int numGroups, Operator op, int[] rix, int rl, int ru, int gl, int gu ) 
+		{
+			_groups = groups;
+			_target = target;
+			_weights = weights;
+			_ret = ret;
+			_numGroups = numGroups;
+			_op = op;
+			_rix = rix;
+			_rl = rl;
+			_ru = ru;
+			_gl = gl;
+			_gu = gu;
+		}
+		
+		@Override
+		public Object call() throws DMLRuntimeException
+		{
+			//compute partial aggregates for groups gl to gu
+			Object buff = groupedAggregateVec(_groups, _target, _weights, _numGroups, _op, _rix, _rl, _ru, _gl, _gu);
+			
+			//copy final results if groups are disjoint across tasks
+			if( _ret != null ) {
+				copyGroupBuffers(buff, _ret, _op, _gl, _gu);
+				return null;
+			}
+			return buff;
+		}
+	}
+	
+	private static class GrpAggMergeTask extends AggTask 
+	{
+		private List<Object> _partials = null;
+		private MatrixBlock _ret  = null;
+		private Operator _op = null;
+		private int _gl = -1;
+		private int _gu = -1;
+
+		protected GrpAggMergeTask( List<Object> partials, MatrixBlock ret, Operator op, int gl, int gu ) 
+		{
+			_partials = partials;
+			_ret = ret;
+			_op = op;
+			_gl = gl;
+			_gu = gu;
+		}
+		
+		@Override
+		public Object call() throws DMLRuntimeException
+		{
+			groupedAggregateVecMerge(_partials, _ret, _op, _gl, _gu);
+			return null;
+		}
+	}
 }
@@ -19,9 +19,18 @@
 
 package org.apache.sysml.runtime.matrix.data;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.functionobjects.And;
+import org.apache.sysml.runtime.functionobjects.Builtin;
+import org.apache.sysml.runtime.functionobjects.Builtin.BuiltinCode;
 import org.apache.sysml.runtime.functionobjects.Divide;
 import org.apache.sysml.runtime.functionobjects.Equals;
 import org.apache.sysml.runtime.functionobjects.GreaterThan;
@@ -37,8 +46,12 @@ import org.apache.sysml.runtime.functionobjects.Or;
 import org.apache.sysml.runtime.functionobjects.Plus;
 import org.apache.sysml.runtime.functionobjects.PlusMultiply;
 import org.apache.sysml.runtime.functionobjects.Power2;
+import org.apache.sysml.runtime.functionobjects.ValueComparisonFunction;
 import org.apache.sysml.runtime.functionobjects.ValueFunction;
+import org.apache.sysml.runtime.matrix.data.LibMatrixCellKernels.CellKernel;
 import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.LeftScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.RightScalarOperator;
 import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
 import org.apache.sysml.runtime.util.DataConverter;
 import org.apache.sysml.runtime.util.SortUtils;
@@ -57,6 +70,8 @@ import org.apache.sysml.runtime.util.SortUtils;
  */
 public class LibMatrixBincell 
 {
+	//internal configuration parameters
+	private static final long PAR_NUMCELL_THRESHOLD = 1024*1024; //Min 1M elements
 
 	public enum BinaryAccessType {
 		MATRIX_MATRIX,
@@ -85,6 +100,39 @@ public class LibMatrixBincell
 	public static void bincellOp(MatrixBlock m1, MatrixBlock ret, ScalarOperator op) 
 		throws DMLRuntimeException
 	{
+		//operations over constant inputs w/ constant output (single value)
+		if( m1.isConstant() ) {
+			ret.reset(m1.rlen, m1.clen, false);
+			ret.allocateConstantBlock(op.executeScalar(m1.getConstantValue()));
+			if( ret.isEmptyBlock(false) )
+				ret.examSparsity();
+			return;
+		}
+		
+		//sparse-safe operations over diagonal inputs w/ diagonal output
+		if( ret.sparse && op.sparseSafe && m1.isDiagonal() ) {
+			diagonalBinaryScalar(m1, ret, op);
+			if( ret.isEmptyBlock(false) )
+				ret.examSparsity();
+			return;
+		}
+		
+		//relational operations and operations over boolean inputs (bitset)
+		if( !ret.sparse && (isBooleanOutput(ret, op.fn) || m1.isBoolean()) ) {
+			booleanBinaryScalar(m1, ret, op);
+			if( ret.isEmptyBlock(false) )
+				ret.examSparsity();
+			return;
+		}
+		
+		//operations over symmetric inputs w/ symmetric output (packed triangle)
+		if( !ret.sparse && m1.isSymmetric() ) {
+			symmetricBinaryScalar(m1, ret, op);
+			if( ret.isEmptyBlock(false) )
+				ret.examSparsity();
+			return;
+		}
+		
 		//check internal assumptions 
 		if(   (op.sparseSafe && m1.isInSparseFormat()!=ret.isInSparseFormat())
 			||(!op.sparseSafe && ret.isInSparseFormat()) ) {
@@ -116,7 +164,19 @@ public class LibMatrixBincell
 		throws DMLRuntimeException
 	{
 		//execute binary cell operations
-		if(op.sparseSafe || isSparseSafeDivide(op, m2))
+		if( isConstantOp(m1, m2) )
+			constantBinary(m1, m2, ret, op);
+		else if( isDiagonalOp(m1, m2, ret, op) )
+			diagonalBinary(m1, m2, ret, op);
+		else if( isBooleanOp(m1, m2, ret, op) )
+			booleanBinary(m1, m2, ret, op);
+		else if( isSymmetricOp(m1, m2, ret) )
+			symmetricBinary(m1, m2, ret, op);
+		else if( isTransposedOp(m1, m2, ret) )
+			transposedBinary(m1, m2, ret, op);
+		else if( isDenseMultiBlockOp(m1, m2, ret) )
+			bincellOpDenseMultiBlock(m1, m2, ret, op);
+		else if(op.sparseSafe || isSparseSafeDivide(op, m2))
 			safeBinary(m1, m2, ret, op);
 		else
 			unsafeBinary(m1, m2, ret, op);
@@ -139,7 +199,11 @@ public class LibMatrixBincell
 		throws DMLRuntimeException
 	{
 		//execute binary cell operations
-		if(op.sparseSafe || isSparseSafeDivide(op, m2))
+		if( isSymmetricOp(m1ret, m2, m1ret) && m1ret.isSymmetric() )
+			symmetricBinary(m1ret, m2, m1ret, op);
+		else if( isDenseMultiBlockOp(m1ret, m2, m1ret) )
+			bincellOpDenseMultiBlock(m1ret, m2, m1ret, op);
+		else if(op.sparseSafe || isSparseSafeDivide(op, m2))
 			safeBinaryInPlace(m1ret, m2, op);
 		else
 			unsafeBinaryInPlace(m1ret, m2, op);
@@ -150,6 +214,84 @@ public class LibMatrixBincell
 			m1ret.examSparsity();
 	}
 
+	/**
+	 * Multi-threaded matrix-matrix binary operations, MM, MV. The output rows are
+	 * partitioned into disjoint row ranges, where each task maintains the number of
+	 * non-zeros of its range. Outer vector operations and small inputs fall back
+	 * to the sequential implementation.
+	 *
+	 * @param m1 input matrix 1
+	 * @param m2 input matrix 2
+	 * @param ret result matrix
+	 * @param op binary operator
+	 * @param k degree of parallelism
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static void bincellOp(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int k)
+		throws DMLRuntimeException
+	{
+		//fall back to sequential version if necessary
+		//(incl boolean outputs, whose rows might share words of the bitset,
+		//symmetric outputs, which are computed over the packed triangle, and
+		//constant or diagonal inputs, which are computed w/o expansion)
+		if( !satisfiesMultiThreadingConstraints(m1, m2, ret, k) 
+			|| isBooleanOp(m1, m2, ret, op) || isSymmetricOp(m1, m2, ret)
+			|| isConstantOp(m1, m2) || isDiagonalOp(m1, m2, ret, op) ) {
+			bincellOp(m1, m2, ret, op);
+			return;
+		}
+
+		//skip empty blocks (since sparse-safe, see safeBinary)
+		boolean skipEmpty = (op.fn instanceof Multiply || isSparseSafeDivide(op, m2));
+		boolean safe = (op.sparseSafe || isSparseSafeDivide(op, m2));
+		if( safe && (m1.isEmptyBlock(false) && m2.isEmptyBlock(false)
+			|| skipEmpty && (m1.isEmptyBlock(false) || m2.isEmptyBlock(false))) ) {
+			ret.examSparsity();
+			return;
+		}
+
+		//allocate output once, all rows are written by disjoint tasks
+		ret.allocateDenseOrSparseBlock();
+
+		//core multi-threaded binary cell operation
+		ret.nonZeros = bincellOpParallel(m1, m2, ret, op, k);
+
+		//ensure empty results sparse representation
+		//(no additional memory requirements)
+		if( ret.isEmptyBlock(false) )
+			ret.examSparsity();
+	}
+
+	/**
+	 * Multi-threaded in-place binary operations, where the result overwrites the
+	 * first input in its existing representation.
+	 *
+	 * @param m1ret result matrix
+	 * @param m2 matrix block
+	 * @param op binary operator
+	 * @param k degree of parallelism
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static void bincellOpInPlace(MatrixBlock m1ret, MatrixBlock m2, BinaryOperator op, int k)
+		throws DMLRuntimeException
+	{
+		//fall back to sequential version if necessary
+		//(incl empty inputs, which are handled via early abort or copy)
+		if( !satisfiesMultiThreadingConstraints(m1ret, m2, m1ret, k)
+			|| m1ret.isEmptyBlock(false) || m1ret.isSymmetric() ) {
+			bincellOpInPlace(m1ret, m2, op);
+			return;
+		}
+
+		//core multi-threaded binary cell operation
+		m1ret.nonZeros = bincellOpParallel(m1ret, m2, m1ret, op, k);
+
+		//ensure empty results sparse representation
+		//(no additional memory requirements)
+		if( m1ret.isEmptyBlock(false) )
+			m1ret.examSparsity();
+	}
+
 	public static BinaryAccessType getBinaryAccessType(MatrixBlock m1, MatrixBlock m2)
 	{
 		int rlen1 = m1.rlen;
@@ -315,13 +457,13 @@ public class LibMatrixBincell
 				ret.allocateDenseBlock();
 				final int m = ret.rlen;
 				final int n = ret.clen;
-				double[] c = ret.denseBlock;
+				double[] c = ret.getDenseBlockValues();
 				
 				//1) process left input: assignment
 				
 				if( m1.sparse ) //SPARSE left
 				{
-					Arrays.fill(ret.denseBlock, 0, ret.denseBlock.length, 0); 
+					Arrays.fill(ret.getDenseBlockValues(), 0, ret.getDenseBlockValues().length, 0); 
 					
 					if( m1.sparseBlock != null )
 					{
@@ -343,9 +485,9 @@ public class LibMatrixBincell
 				else //DENSE left
 				{
 					if( !m1.isEmptyBlock(false) ) 
-						System.arraycopy(m1.denseBlock, 0, c, 0, m*n);
+						System.arraycopy(m1.getDenseBlockValues(), 0, c, 0, m*n);
 					else
-						Arrays.fill(ret.denseBlock, 0, m*n, 0); 
+						Arrays.fill(ret.getDenseBlockValues(), 0, m*n, 0); 
 				}
 				
 				//2) process right input: op.fn (+,-,*), * only if dense
@@ -371,9 +513,9 @@ public class LibMatrixBincell
 				{
 					if( !m2.isEmptyBlock(false) )
 						for( int i=0; i<m*n; i++ )
-							c[i] = op.fn.execute(c[i], m2.denseBlock[i]);
+							c[i] = op.fn.execute(c[i], m2.getDenseBlockValues()[i]);
 					else if(op.fn instanceof Multiply)
-						Arrays.fill(ret.denseBlock, 0, m*n, 0); 
+						Arrays.fill(ret.getDenseBlockValues(), 0, m*n, 0); 
 				}
 	
 				//3) recompute nnz
@@ -385,16 +527,21 @@ public class LibMatrixBincell
 				ret.allocateDenseBlock();
 				final int m = ret.rlen;
 				final int n = ret.clen;
-				double[] a = m1.denseBlock;
-				double[] b = m2.denseBlock;
-				double[] c = ret.denseBlock;
+				double[] a = m1.getDenseBlockValues();
+				double[] b = m2.getDenseBlockValues();
+				double[] c = ret.getDenseBlockValues();
 				ValueFunction fn = op.fn;
 				
 				//compute dense-dense binary, maintain nnz on-the-fly
-				int nnz = 0;
-				for( int i=0; i<m*n; i++ ) {
-					c[i] = fn.execute(a[i], b[i]);
-					nnz += (c[i]!=0)? 1 : 0;
+				CellKernel kernel = LibMatrixCellKernels.getKernel(fn);
+				long nnz = 0;
+				if( kernel != null )
+					nnz = LibMatrixCellKernels.vectOp(kernel, a, 0, b, 0, c, 0, m*n);
+				else {
+					for( int i=0; i<m*n; i++ ) {
+						c[i] = fn.execute(a[i], b[i]);
+						nnz += (c[i]!=0)? 1 : 0;
+					}
 				}
 				ret.nonZeros = nnz;
 			}
@@ -452,10 +599,11 @@ public class LibMatrixBincell
 			return; // skip entire empty block
 		
 		ret.allocateDenseBlock();
-		double[] a = m1.denseBlock;
-		double[] b = m2.denseBlock;
-		double[] c = ret.denseBlock;
-		int nnz = 0;
+		double[] a = m1.getDenseBlockValues();
+		double[] b = m2.getDenseBlockValues();
+		double[] c = ret.getDenseBlockValues();
+		CellKernel kernel = LibMatrixCellKernels.getKernel(op.fn);
+		long nnz = 0;
 		
 		if( atype == BinaryAccessType.MATRIX_COL_VECTOR )
 		{
@@ -472,7 +620,9 @@ public class LibMatrixBincell
 					nnz += m1.recomputeNonZeros(i, i, 0, clen-1);
 				}
 				else { //GENERAL CASE
-					if( a != null )
+					if( a != null && kernel != null )
+						nnz += LibMatrixCellKernels.vectOp(kernel, a, ix, v2, c, ix, clen);
+					else if( a != null )
 						for( int j=0; j<clen; j++ ) {
 							c[ix+j] = op.fn.execute( a[ix+j], v2 );	
 							nnz += (c[ix+j] != 0) ? 1 : 0;
@@ -503,6 +653,11 @@ public class LibMatrixBincell
 				for( int i=1, ix=clen; i<rlen; i++, ix+=clen )
 					System.arraycopy(c, 0, c, ix, clen);
 			}
+			else if( b!=null && kernel!=null ) //default case w/ specialized kernel
+			{
+				for( int i=0, ix=0; i<rlen; i++, ix+=clen )
+					nnz += LibMatrixCellKernels.vectOp(kernel, a, ix, b, 0, c, ix, clen);
+			}
 			else //default case (incl right empty) 
 			{
 				for( int i=0, ix=0; i<rlen; i++, ix+=clen )
@@ -525,6 +680,7 @@ public class LibMatrixBincell
 		int rlen = m1.rlen;
 		int clen = m1.clen;
 		SparseBlock a = m1.sparseBlock;
+		char[] aix16 = SparseBlockCSR16.indexesCompact(a);
 		BinaryAccessType atype = getBinaryAccessType(m1, m2);
 		
 		//early abort on skip and empty
@@ -559,19 +715,20 @@ public class LibMatrixBincell
 					{
 						int apos = a.pos(i);
 						int alen = a.size(i);
-						int[] aix = a.indexes(i);
+						int[] aix = (aix16 == null) ? a.indexes(i) : null;
 						double[] avals = a.values(i);
 						for( int j=apos; j<apos+alen; j++ )
 						{
+							int aixj = (aix16 != null) ? aix16[j] : aix[j];
 							//empty left
-							for( int k = lastIx+1; k<aix[j]; k++ ){
+							for( int k = lastIx+1; k<aixj; k++ ){
 								double v = op.fn.execute( 0, v2 );
 								ret.appendValue(i, k, v);
 							}
 							//actual value
 							double v = op.fn.execute( avals[j], v2 );
-							ret.appendValue(i, aix[j], v);	
-							lastIx = aix[j];
+							ret.appendValue(i, aixj, v);	
+							lastIx = aixj;
 						}
 					}
 					
@@ -595,21 +752,22 @@ public class LibMatrixBincell
 				{
 					int apos = a.pos(i);
 					int alen = a.size(i);
-					int[] aix = a.indexes(i);
+					int[] aix = (aix16 == null) ? a.indexes(i) : null;
 					double[] avals = a.values(i);
 					for( int j=apos; j<apos+alen; j++ )
 					{
+						int aixj = (aix16 != null) ? aix16[j] : aix[j];
 						//empty left
-						for( int k=lastIx+1; !skipEmpty&&k<aix[j]; k++ ){
+						for( int k=lastIx+1; !skipEmpty&&k<aixj; k++ ){
 							double v2 = m2.quickGetValue(0, k);
 							double v = op.fn.execute( 0, v2 );
 							ret.appendValue(i, k, v);
 						}
 						//actual value
-						double v2 = m2.quickGetValue(0, aix[j]);
+						double v2 = m2.quickGetValue(0, aixj);
 						double v = op.fn.execute( avals[j], v2 );
-						ret.appendValue(i, aix[j], v);	
-						lastIx = aix[j];
+						ret.appendValue(i, aixj, v);	
+						lastIx = aixj;
 					}
 				}
 				
@@ -792,12 +950,12 @@ public class LibMatrixBincell
 				if(bOp.fn instanceof LessThan || bOp.fn instanceof GreaterThanEquals 
 						|| bOp.fn instanceof GreaterThan || bOp.fn instanceof LessThanEquals 
 						|| bOp.fn instanceof Equals)	{
-					Arrays.fill(mbOut.getDenseBlock(), iOffSet+iStartPos, iOffSet+iEndPos, 1.0);
+					Arrays.fill(mbOut.getDenseBlockValues(), iOffSet+iStartPos, iOffSet+iEndPos, 1.0);
 					lNNZ += (iEndPos-iStartPos);
 				}
 				else if (bOp.fn instanceof NotEquals) {
-					Arrays.fill(mbOut.getDenseBlock(), iOffSet, iOffSet+iStartPos, 1.0);
-					Arrays.fill(mbOut.getDenseBlock(), iOffSet+iEndPos, iOffSet+bv.length, 1.0);
+					Arrays.fill(mbOut.getDenseBlockValues(), iOffSet, iOffSet+iStartPos, 1.0);
+					Arrays.fill(mbOut.getDenseBlockValues(), iOffSet+iEndPos, iOffSet+bv.length, 1.0);
 					lNNZ += (iStartPos+(bv.length-iEndPos));
 				}
 			}
@@ -867,13 +1025,18 @@ public class LibMatrixBincell
 				&& !m2.sparse && !m2.isEmptyBlock(false)  )
 			{
 				ret.allocateDenseBlock();
-				double[] a = m1.denseBlock;
-				double[] b = m2.denseBlock;
-				double[] c = ret.denseBlock;
-				for( int i=0; i<rlen; i++ ) {
-					c[i] = op.fn.execute( a[i], b[i] );
-					if( c[i] != 0 ) 
-						ret.nonZeros++;
+				double[] a = m1.getDenseBlockValues();
+				double[] b = m2.getDenseBlockValues();
+				double[] c = ret.getDenseBlockValues();
+				CellKernel kernel = LibMatrixCellKernels.getKernel(op.fn);
+				if( kernel != null )
+					ret.nonZeros = LibMatrixCellKernels.vectOp(kernel, a, 0, b, 0, c, 0, rlen);
+				else {
+					for( int i=0; i<rlen; i++ ) {
+						c[i] = op.fn.execute( a[i], b[i] );
+						if( c[i] != 0 ) 
+							ret.nonZeros++;
+					}
 				}
 			}
 			//general case
@@ -912,6 +1075,7 @@ public class LibMatrixBincell
 			SparseBlock a = m1.sparseBlock;
 			SparseBlock c = ret.sparseBlock;
 			int rlen = Math.min(m1.rlen, a.numRows());
+			char[] aix16 = SparseBlockCSR16.indexesCompact(a);
 			
 			long nnz = 0;
 			for(int r=0; r<rlen; r++) {
@@ -919,7 +1083,7 @@ public class LibMatrixBincell
 				
 				int apos = a.pos(r);
 				int alen = a.size(r);
-				int[] aix = a.indexes(r);
+				int[] aix = (aix16 == null) ? a.indexes(r) : null;
 				double[] avals = a.values(r);
 				
 				if( copyOnes ) { //SPECIAL CASE: e.g., (X != 0) 
@@ -928,7 +1092,13 @@ public class LibMatrixBincell
 					crow.setSize(alen);
 					
 					//memcopy/memset of indexes/values (sparseblock guarantees absence of 0s) 
-					System.arraycopy(aix, apos, crow.indexes(), 0, alen);
+					if( aix16 != null ) {
+						int[] cix = crow.indexes();
+						for( int j=0; j<alen; j++ )
+							cix[j] = aix16[apos+j];
+					}
+					else
+						System.arraycopy(aix, apos, crow.indexes(), 0, alen);
 					Arrays.fill(crow.values(), 0, alen, 1);
 					c.set(r, crow, false);
 					nnz += alen;
@@ -942,7 +1112,7 @@ public class LibMatrixBincell
 					
 					for(int j=apos; j<apos+alen; j++) {
 						double val = op.executeScalar(avals[j]);
-						c.append(r, aix[j], val);
+						c.append(r, (aix16 != null) ? aix16[j] : aix[j], val);
 						nnz += (val != 0) ? 1 : 0; 
 					}
 				}
@@ -983,22 +1153,24 @@ public class LibMatrixBincell
 			ret.allocateDenseBlock();
 			
 			SparseBlock a = m1.sparseBlock;
-			double[] c = ret.denseBlock;			
+			DenseBlock dc = ret.getDenseBlock();
 			int m = m1.rlen;
 			int n = m1.clen;
 			
 			//init dense result with unsafe 0-value
 			double cval0 = op.executeScalar(0);
-			Arrays.fill(c, cval0);
+			dc.set(cval0);
 			
 			//compute non-zero input values
-			int nnz = m*n;
-			for(int i=0, cix=0; i<m; i++, cix+=n) {
+			long nnz = (long)m*n;
+			for(int i=0; i<m; i++) {
 				if( !a.isEmpty(i) ) {
 					int apos = a.pos(i);
 					int alen = a.size(i);
 					int[] aix = a.indexes(i);
 					double[] avals = a.values(i);
+					double[] c = dc.values(i);
+					int cix = dc.pos(i);
 					for(int j=apos; j<apos+alen; j++) {
 						double val = op.executeScalar(avals[j]);
 						c[ cix+aix[j] ] = val;
@@ -1019,15 +1191,41 @@ public class LibMatrixBincell
 		//allocate dense block (if necessary), incl clear nnz
 		ret.allocateDenseBlock(true);
 		
-		double[] a = m1.denseBlock;
-		double[] c = ret.denseBlock;
+		DenseBlock da = m1.getDenseBlock();
+		DenseBlock dc = ret.getDenseBlock();
 		
 		//compute scalar operation, incl nnz maintenance
-		int limit = m1.rlen*m1.clen;
-		int nnz = 0;
-		for( int i=0; i<limit; i++ ) {
-			c[i] = op.executeScalar( a[i] );
-			nnz += (c[i] != 0) ? 1 : 0;
+		CellKernel kernel = LibMatrixCellKernels.getKernel(op);
+		long nnz = 0;
+		if( da.isContiguous() && dc.isContiguous() ) {
+			double[] a = da.valuesAt(0);
+			double[] c = dc.valuesAt(0);
+			int limit = m1.rlen*m1.clen;
+			if( kernel != null )
+				nnz = LibMatrixCellKernels.vectOp(kernel, op, a, 0, c, 0, limit);
+			else {
+				for( int i=0; i<limit; i++ ) {
+					c[i] = op.executeScalar( a[i] );
+					nnz += (c[i] != 0) ? 1 : 0;
+				}
+			}
+		}
+		else { //large dense blocks (per row)
+			final int m = m1.rlen;
+			final int n = m1.clen;
+			for( int i=0; i<m; i++ ) {
+				double[] a = da.values(i);
+				double[] c = dc.values(i);
+				int aix = da.pos(i), cix = dc.pos(i);
+				if( kernel != null ) {
+					nnz += LibMatrixCellKernels.vectOp(kernel, op, a, aix, c, cix, n);
+					continue;
+				}
+				for( int j=0; j<n; j++ ) {
+					c[cix+j] = op.executeScalar( a[aix+j] );
+					nnz += (c[cix+j] != 0) ? 1 : 0;
+				}
+			}
 		}
 		ret.nonZeros = nnz;
 	}
@@ -1190,6 +1388,819 @@ public class LibMatrixBincell
 		}
 	}
 	
+	//////////////////////////////////////////////////////
+	// private multi-threaded implementations
+	///////////////////////////////////
+
+	private static boolean satisfiesMultiThreadingConstraints(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, int k)
+	{
+		//note: outer vector operations are excluded because the output
+		//is not aligned with the rows of both inputs
+		BinaryAccessType atype = getBinaryAccessType(m1, m2);
+		long work = ret.sparse ? m1.nonZeros + m2.nonZeros : (long)m1.rlen * m1.clen;
+		return k > 1 && m1.rlen > k/2 && work >= PAR_NUMCELL_THRESHOLD
+			&& (atype == BinaryAccessType.MATRIX_MATRIX
+				|| atype == BinaryAccessType.MATRIX_COL_VECTOR
+				|| atype == BinaryAccessType.MATRIX_ROW_VECTOR)
+			&& ret.isThreadSafe();
+	}
+
+	private static long bincellOpParallel(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, int k)
+		throws DMLRuntimeException
+	{
+		//materialize rhs vector once (shared read-only by all tasks)
+		BinaryAccessType atype = getBinaryAccessType(m1, m2);
+		double[] bvect = (atype != BinaryAccessType.MATRIX_MATRIX) ?
+			DataConverter.convertToDoubleVector(m2) : null;
+
+		long nnz = 0;
+		try {
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ArrayList<BincellTask> tasks = new ArrayList<BincellTask>();
+			int m = ret.rlen;
+			int blklen = (int)(Math.ceil((double)m/k));
+			for( int i=0; i<k & i*blklen<m; i++ )
+				tasks.add(new BincellTask(m1, m2, ret, op, atype, bvect, i*blklen, Math.min((i+1)*blklen, m)));
+			List<Future<Long>> rtasks = pool.invokeAll(tasks);
+			pool.shutdown();
+			for( Future<Long> rtask : rtasks )
+				nnz += rtask.get();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+
+		return nnz;
+	}
+
+	/**
+	 * Computes the rows [rl,ru) of a MM or MV binary operation. The output is expected
+	 * to be allocated, where sparse outputs require thread-safe (MCSR) sparse blocks. If
+	 * the output is the first input (in-place), every row is read before it is overwritten.
+	 *
+	 * @param m1 input matrix 1
+	 * @param m2 input matrix 2
+	 * @param ret result matrix (potentially equal to m1)
+	 * @param op binary operator
+	 * @param atype binary access type
+	 * @param bvect materialized rhs vector for MV, otherwise null
+	 * @param rl row lower bound, inclusive
+	 * @param ru row upper bound, exclusive
+	 * @return number of non-zeros in the output row range
+	 */
+	private static long bincellOpRowRange(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op,
+		BinaryAccessType atype, double[] bvect, int rl, int ru)
+		throws DMLRuntimeException
+	{
+		ValueFunction fn = op.fn;
+		CellKernel kernel = LibMatrixCellKernels.getKernel(fn);
+		final int n = m1.clen;
+		final boolean inplace = (m1 == ret);
+		final boolean isMM = (atype == BinaryAccessType.MATRIX_MATRIX);
+		final boolean isMVc = (atype == BinaryAccessType.MATRIX_COL_VECTOR);
+		final boolean safe = (op.sparseSafe || isSparseSafeDivide(op, m2));
+		SparseBlock a = m1.sparse ? m1.sparseBlock : null;
+		SparseBlock b = (isMM && m2.sparse) ? m2.sparseBlock : null;
+		double[] tmpa = (m1.sparse || m1.denseBlock==null || m1.isBoolean()) ? new double[n] : null;
+		double[] tmpb = (isMM && (m2.sparse || m2.denseBlock==null || m2.isBoolean())) ? new double[n] : null;
+		long nnz = 0;
+		
+		//dense operations over transpose views (transposed access w/o materialization)
+		if( isTransposedOp(m1, m2, ret) )
+			return transposedBinaryRowRange(m1, m2, ret, op, atype, bvect, rl, ru);
+
+		for( int i=rl; i<ru; i++ ) {
+			boolean aempty = (m1.sparse && (a==null || a.isEmpty(i)));
+			boolean bempty = (isMM && m2.sparse && (b==null || b.isEmpty(i)));
+			double v2 = isMVc ? bvect[i] : 0;
+
+			if( ret.sparse ) {
+				SparseBlock c = ret.sparseBlock;
+
+				//skip rows that remain empty under sparse-safe operations
+				if( safe && aempty && (bempty || isMVc && v2==0) )
+					continue;
+
+				//SPECIAL CASE: sparse-sparse merge
+				if( isMM && m1.sparse && m2.sparse && safe ) {
+					int apos = 0, alen = 0, bpos = 0, blen = 0;
+					int[] aix = null, bix = null;
+					double[] avals = null, bvals = null;
+					if( !aempty ) {
+						apos = a.pos(i); alen = a.size(i);
+						aix = a.indexes(i); avals = a.values(i);
+					}
+					if( !bempty ) {
+						bpos = b.pos(i); blen = b.size(i);
+						bix = b.indexes(i); bvals = b.values(i);
+					}
+					if( inplace ) //detach current row before overwrite
+						c.set(i, new SparseRow(Math.min(alen+blen, n), n), false);
+					else
+						c.allocate(i, Math.min(alen+blen, n), n);
+					mergeRowForSparseBinary(fn, avals, aix, apos, alen, bvals, bix, bpos, blen, i, c);
+				}
+				//SPECIAL CASE: sparse-safe multiply driven by lhs non-zeros
+				else if( m1.sparse && !inplace && fn instanceof Multiply && !(isMM && m2.sparse) ) {
+					if( aempty || isMVc && v2==0 )
+						continue;
+					int apos = a.pos(i);
+					int alen = a.size(i);
+					int[] aix = a.indexes(i);
+					double[] avals = a.values(i);
+					double[] bvals = isMM ? getDenseRow(m2, i, null) : bvect;
+					int bix = isMM ? getDenseRowPos(m2, i, bvals, null) : 0;
+					c.allocate(i, alen, n);
+					for( int j=apos; j<apos+alen; j++ ) {
+						double bval = isMVc ? v2 : (bvals!=null) ? bvals[bix+aix[j]] : 0;
+						double val = fn.execute(avals[j], bval);
+						if( val != 0 )
+							c.append(i, aix[j], val);
+					}
+				}
+				//GENERAL CASE: dense row buffers
+				else {
+					double[] avals = getDenseRow(m1, i, tmpa);
+					int aix = getDenseRowPos(m1, i, avals, tmpa);
+					double[] bvals = isMM ? getDenseRow(m2, i, tmpb) : bvect;
+					int bix = isMM ? getDenseRowPos(m2, i, bvals, tmpb) : 0;
+					if( !c.isEmpty(i) )
+						c.reset(i, c.size(i), n);
+					for( int j=0; j<n; j++ ) {
+						double val = fn.execute(avals[aix+j], isMVc ? v2 : bvals[bix+j]);
+						if( val != 0 )
+							c.append(i, j, val);
+					}
+				}
+
+				nnz += c.isEmpty(i) ? 0 : c.size(i);
+			}
+			else {
+				double[] c = ret.denseBlock.values(i);
+				int cix = ret.denseBlock.pos(i);
+				double[] avals = getDenseRow(m1, i, tmpa);
+				int aix = getDenseRowPos(m1, i, avals, tmpa);
+				if( isMVc && kernel != null )
+					nnz += LibMatrixCellKernels.vectOp(kernel, avals, aix, v2, c, cix, n);
+				else if( isMVc ) {
+					for( int j=0; j<n; j++ ) {
+						c[cix+j] = fn.execute(avals[aix+j], v2);
+						nnz += (c[cix+j] != 0) ? 1 : 0;
+					}
+				}
+				else {
+					double[] bvals = isMM ? getDenseRow(m2, i, tmpb) : bvect;
+					int bix = isMM ? getDenseRowPos(m2, i, bvals, tmpb) : 0;
+					if( kernel != null ) {
+						nnz += LibMatrixCellKernels.vectOp(kernel, avals, aix, bvals, bix, c, cix, n);
+						continue;
+					}
+					for( int j=0; j<n; j++ ) {
+						c[cix+j] = fn.execute(avals[aix+j], bvals[bix+j]);
+						nnz += (c[cix+j] != 0) ? 1 : 0;
+					}
+				}
+			}
+		}
+
+		return nnz;
+	}
+
+	/**
+	 * Returns the dense row block array of a dense input, or the given row 
+	 * buffer filled with the i-th row of a sparse or empty input.
+	 *
+	 * @param in input matrix
+	 * @param i row index
+	 * @param tmp row buffer of length in.clen
+	 * @return dense row block or row buffer
+	 */
+	private static double[] getDenseRow(MatrixBlock in, int i, double[] tmp)
+	{
+		//unpack rows of boolean inputs w/o widening
+		if( !in.sparse && in.denseBlock instanceof DenseBlockBool && tmp != null ) {
+			((DenseBlockBool)in.denseBlock).getRow(i, tmp, 0);
+			return tmp;
+		}
+		if( !in.sparse && in.denseBlock != null )
+			return in.denseBlock.values(i);
+		if( tmp == null )
+			return null;
+
+		Arrays.fill(tmp, 0);
+		SparseBlock a = in.sparseBlock;
+		if( in.sparse && a != null && !a.isEmpty(i) ) {
+			int apos = a.pos(i);
+			int alen = a.size(i);
+			int[] aix = a.indexes(i);
+			double[] avals = a.values(i);
+			for( int j=apos; j<apos+alen; j++ )
+				tmp[aix[j]] = avals[j];
+		}
+		return tmp;
+	}
+
+	private static int getDenseRowPos(MatrixBlock in, int i, double[] row, double[] tmp) {
+		return (row==null || row==tmp) ? 0 : in.denseBlock.pos(i);
+	}
+
+	/**
+	 * Indicates if the given operation produces a boolean (bitset) output,
+	 * i.e., a relational operation with dense output of at most 2^31 cells.
+	 * 
+	 * @param ret result matrix
+	 * @param fn value function
+	 * @return true if boolean output
+	 */
+	private static boolean isBooleanOutput(MatrixBlock ret, ValueFunction fn) {
+		return fn instanceof ValueComparisonFunction && !ret.sparse 
+			&& (long)ret.rlen * ret.clen <= DenseBlockFactory.MAX_ALLOC;
+	}
+	
+	private static boolean isBooleanOp(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) {
+		BinaryAccessType atype = getBinaryAccessType(m1, m2);
+		if( atype == BinaryAccessType.OUTER_VECTOR_VECTOR )
+			return false;
+		//relational operations w/ boolean output
+		if( isBooleanOutput(ret, op.fn) )
+			return true;
+		//logical operations over boolean inputs
+		boolean bool1 = m1.isBoolean(), bool2 = m2.isBoolean();
+		if( atype == BinaryAccessType.MATRIX_MATRIX && bool1 && bool2 && !ret.sparse )
+			return isBitwiseOperation(op.fn);
+		//masking of a non-boolean input (e.g., X * (X > 0))
+		return atype == BinaryAccessType.MATRIX_MATRIX && op.fn instanceof Multiply
+			&& (bool1 ^ bool2) && !(bool1 ? m2 : m1).isDenseMultiBlock();
+	}
+	
+	/**
+	 * Indicates if a matrix-matrix operation preserves symmetry, i.e., if both 
+	 * inputs are symmetric, or one input is symmetric and the other one is a 
+	 * diagonal matrix (e.g., A + diag(lambda)), and the output is dense.
+	 * 
+	 * @param m1 input matrix 1
+	 * @param m2 input matrix 2
+	 * @param ret result matrix
+	 * @return true if symmetric output
+	 */
+	private static boolean isSymmetricOp(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret) {
+		if( ret.sparse || m1.rlen != m2.rlen || m1.clen != m2.clen )
+			return false;
+		return (m1.isSymmetric() && (m2.isSymmetric() || isDiagonal(m2)))
+			|| (m2.isSymmetric() && isDiagonal(m1));
+	}
+	
+	private static boolean isDiagonal(MatrixBlock mb) {
+		//empty or sparse diagonal matrices, checked in O(nnz)
+		if( mb.isEmptyBlock(false) || mb.isDiagonal() )
+			return true;
+		if( !mb.sparse || mb.nonZeros > mb.rlen )
+			return false;
+		SparseBlock a = mb.sparseBlock;
+		for( int i=0; i<mb.rlen; i++ )
+			if( !a.isEmpty(i) && (a.size(i) > 1 || a.indexes(i)[a.pos(i)] != i) )
+				return false;
+		return true;
+	}
+	
+	private static boolean isBitwiseOperation(ValueFunction fn) {
+		return fn instanceof Multiply || fn instanceof And || fn instanceof Or
+			|| (fn instanceof Builtin && (((Builtin)fn).getBuiltinCode()==BuiltinCode.MIN 
+				|| ((Builtin)fn).getBuiltinCode()==BuiltinCode.MAX));
+	}
+	
+	/**
+	 * Matrix-scalar operations over a symmetric input (packed upper triangle),
+	 * which produce a symmetric output by applying the operation once per
+	 * cell of the packed triangle.
+	 * 
+	 * @param m1 input matrix
+	 * @param ret result matrix
+	 * @param op scalar operator
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static void symmetricBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op) 
+		throws DMLRuntimeException
+	{
+		//obtain input before output allocation (robustness for m1==ret)
+		final int n = m1.rlen;
+		double[] a = m1.getDenseBlockValuesSym();
+		double[] c = ret.allocateSymmetricBlock().valuesSym();
+		
+		//diagonal cells once, off-diagonal cells twice
+		long nnz = 0;
+		for( int i=0, ix=0; i<n; ix+=n-i, i++ ) {
+			c[ix] = op.executeScalar(a[ix]);
+			nnz += (c[ix] != 0) ? 1 : 0;
+			for( int j=ix+1; j<ix+n-i; j++ ) {
+				c[j] = op.executeScalar(a[j]);
+				nnz += (c[j] != 0) ? 2 : 0;
+			}
+		}
+		ret.nonZeros = nnz;
+	}
+	
+	/**
+	 * Matrix-matrix operations that preserve symmetry (see isSymmetricOp), 
+	 * which are computed over the packed upper triangle of symmetric inputs 
+	 * and the diagonal of diagonal inputs.
+	 * 
+	 * @param m1 input matrix 1
+	 * @param m2 input matrix 2
+	 * @param ret result matrix
+	 * @param op binary operator
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static void symmetricBinary(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) 
+		throws DMLRuntimeException
+	{
+		//obtain inputs before output allocation (robustness for m1==ret)
+		final int n = m1.rlen;
+		ValueFunction fn = op.fn;
+		double[] a = m1.getDenseBlockValuesSym();
+		double[] b = m2.getDenseBlockValuesSym();
+		double[] da = (a == null) ? getDiagonal(m1) : null;
+		double[] db = (b == null) ? getDiagonal(m2) : null;
+		double[] c = ret.allocateSymmetricBlock().valuesSym();
+		
+		//diagonal cells once, off-diagonal cells twice
+		long nnz = 0;
+		for( int i=0, ix=0; i<n; ix+=n-i, i++ ) {
+			c[ix] = fn.execute((a!=null) ? a[ix] : da[i], (b!=null) ? b[ix] : db[i]);
+			nnz += (c[ix] != 0) ? 1 : 0;
+			int cu = ix+n-i;
+			if( a != null && b != null ) {
+				for( int j=ix+1; j<cu; j++ ) {
+					c[j] = fn.execute(a[j], b[j]);
+					nnz += (c[j] != 0) ? 2 : 0;
+				}
+			}
+			else if( a != null ) {
+				for( int j=ix+1; j<cu; j++ ) {
+					c[j] = fn.execute(a[j], 0);
+					nnz += (c[j] != 0) ? 2 : 0;
+				}
+			}
+			else {
+				for( int j=ix+1; j<cu; j++ ) {
+					c[j] = fn.execute(0, b[j]);
+					nnz += (c[j] != 0) ? 2 : 0;
+				}
+			}
+		}
+		ret.nonZeros = nnz;
+	}
+	
+	private static double[] getDiagonal(MatrixBlock mb) {
+		double[] ret = new double[mb.rlen];
+		if( mb.isEmptyBlock(false) )
+			return ret;
+		SparseBlock a = mb.sparseBlock;
+		for( int i=0; i<mb.rlen; i++ )
+			if( !a.isEmpty(i) )
+				ret[i] = a.values(i)[a.pos(i)];
+		return ret;
+	}
+	
+	/**
+	 * Matrix-scalar operations that either produce a boolean (bitset) output,
+	 * or consume a boolean input. Relational operations directly write the 
+	 * bits, while operations over boolean inputs only evaluate the operation
+	 * for 0 and 1, and are computed via bitwise operations if the output is
+	 * boolean as well (e.g., 1-M) or via a scan of the set bits otherwise.
+	 * 
+	 * @param m1 input matrix
+	 * @param ret result matrix
+	 * @param op scalar operator
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static void booleanBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op) 
+		throws DMLRuntimeException
+	{
+		final int m = m1.rlen;
+		final int n = m1.clen;
+		final int len = m * n;
+		
+		//obtain inputs before output allocation (robustness for m1==ret)
+		long[] a = m1.getDenseBlockValuesBool();
+		DenseBlock da = !m1.sparse ? m1.denseBlock : null;
+		SparseBlock sa = m1.sparse ? m1.sparseBlock : null;
+		
+		if( a != null ) //BOOLEAN input
+		{
+			double f0 = op.executeScalar(0);
+			double f1 = op.executeScalar(1);
+			int nnz1 = DenseBlockBool.countBits(a, 0, len);
+			if( DenseBlockBool.isBit(f0) && DenseBlockBool.isBit(f1) ) {
+				//boolean output via bitwise operations (e.g., 1-M, M==0)
+				long[] c = ret.allocateBooleanBlock().valuesBool();
+				long t = (f1 != 0) ? -1L : 0, f = (f0 != 0) ? -1L : 0;
+				for( int i=0; i<c.length; i++ )
+					c[i] = (a[i] & t) | (~a[i] & f);
+				DenseBlockBool.clearTail(c, len);
+			}
+			else {
+				//double output w/o widening the boolean input (e.g., 7*M)
+				ret.allocateDenseBlock();
+				double[] c = ret.getDenseBlockValues();
+				Arrays.fill(c, 0, len, f0);
+				for( int k=0; k<a.length; k++ ) {
+					long w = a[k];
+					while( w != 0 ) {
+						c[(k<<6) + Long.numberOfTrailingZeros(w)] = f1;
+						w &= w - 1;
+					}
+				}
+			}
+			ret.nonZeros = ((f1 != 0) ? nnz1 : 0) + ((f0 != 0) ? len - nnz1 : 0);
+			return;
+		}
+		
+		//relational operation w/ boolean output
+		DenseBlockBool dc = ret.allocateBooleanBlock();
+		long[] c = dc.valuesBool();
+		if( da == null ) //SPARSE/EMPTY input
+		{
+			//init boolean result with unsafe 0-value
+			if( op.executeScalar(0) != 0 )
+				dc.set(1);
+			if( sa != null ) {
+				char[] aix16 = SparseBlockCSR16.indexesCompact(sa);
+				for( int i=0; i<m; i++ ) {
+					if( sa.isEmpty(i) ) continue;
+					int apos = sa.pos(i);
+					int alen = sa.size(i);
+					int[] aix = (aix16 == null) ? sa.indexes(i) : null;
+					double[] avals = sa.values(i);
+					for( int j=apos; j<apos+alen; j++ ) {
+						int ix = i * n + ((aix16 != null) ? aix16[j] : aix[j]);
+						if( op.executeScalar(avals[j]) != 0 )
+							c[ix>>>6] |= (1L<<ix);
+						else
+							c[ix>>>6] &= ~(1L<<ix);
+					}
+				}
+			}
+		}
+		else //DENSE input
+		{
+			//symmetric inputs are unpacked per row w/o widening
+			double[] buff = da.isSymmetric() ? new double[n] : null;
+			for( int i=0, ix=0; i<m; i++ ) {
+				if( buff != null )
+					((DenseBlockSym)da).getRow(i, buff, 0);
+				double[] avals = (buff != null) ? buff : da.values(i);
+				int aix = (buff != null) ? 0 : da.pos(i);
+				for( int j=0; j<n; j++, ix++ )
+					if( op.executeScalar(avals[aix+j]) != 0 )
+						c[ix>>>6] |= (1L<<ix);
+			}
+		}
+		ret.nonZeros = dc.countNonZeros();
+	}
+	
+	/**
+	 * Matrix-matrix and matrix-vector operations that either produce a boolean 
+	 * (bitset) output, or consume boolean inputs. Relational operations directly
+	 * write the bits, logical operations over two boolean inputs are computed via
+	 * bitwise operations, and masking (multiply with a boolean input) only scans
+	 * the set bits or the non-zeros of the other input.
+	 * 
+	 * @param m1 input matrix 1
+	 * @param m2 input matrix 2
+	 * @param ret result matrix
+	 * @param op binary operator
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static void booleanBinary(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) 
+		throws DMLRuntimeException
+	{
+		final int m = m1.rlen;
+		final int n = m1.clen;
+		final int len = m * n;
+		ValueFunction fn = op.fn;
+		long[] a = m1.getDenseBlockValuesBool();
+		long[] b = m2.getDenseBlockValuesBool();
+		
+		if( a != null && b != null && !(fn instanceof ValueComparisonFunction) ) 
+		{
+			//logical operations via bitwise and/or
+			long[] c = ret.allocateBooleanBlock().valuesBool();
+			boolean and = !(fn instanceof Or || (fn instanceof Builtin 
+				&& ((Builtin)fn).getBuiltinCode()==BuiltinCode.MAX));
+			for( int i=0; i<c.length; i++ )
+				c[i] = and ? (a[i] & b[i]) : (a[i] | b[i]);
+			ret.nonZeros = DenseBlockBool.countBits(c, 0, len);
+		}
+		else if( fn instanceof Multiply && ((a != null) ^ (b != null)) ) 
+		{
+			//masking of non-boolean input, w/ dense or sparse output
+			long[] mask = (a != null) ? a : b;
+			MatrixBlock in = (a != null) ? m2 : m1;
+			if( in.isEmptyBlock(false) )
+				return;
+			ret.allocateDenseOrSparseBlock();
+			if( in.sparse ) {
+				SparseBlock sa = in.sparseBlock;
+				char[] aix16 = SparseBlockCSR16.indexesCompact(sa);
+				for( int i=0; i<m; i++ ) {
+					if( sa.isEmpty(i) ) continue;
+					int apos = sa.pos(i);
+					int alen = sa.size(i);
+					int[] aix = (aix16 == null) ? sa.indexes(i) : null;
+					double[] avals = sa.values(i);
+					for( int j=apos; j<apos+alen; j++ ) {
+						int aixj = (aix16 != null) ? aix16[j] : aix[j];
+						int ix = i * n + aixj;
+						if( (mask[ix>>>6] & (1L<<ix)) != 0 )
+							ret.appendValue(i, aixj, avals[j]);
+					}
+				}
+			}
+			else {
+				double[] avals = in.getDenseBlockValues();
+				double[] c = ret.sparse ? null : ret.getDenseBlockValues();
+				long nnz = 0;
+				for( int k=0; k<mask.length; k++ ) {
+					long w = mask[k];
+					while( w != 0 ) {
+						int ix = (k<<6) + Long.numberOfTrailingZeros(w);
+						if( c != null ) {
+							c[ix] = avals[ix];
+							nnz += (avals[ix] != 0) ? 1 : 0;
+						}
+						else
+							ret.appendValue(ix / n, ix % n, avals[ix]);
+						w &= w - 1;
+					}
+				}
+				if( c != null )
+					ret.nonZeros = nnz;
+			}
+		}
+		else 
+		{
+			//relational operations w/ boolean output over row buffers
+			BinaryAccessType atype = getBinaryAccessType(m1, m2);
+			final boolean isMM = (atype == BinaryAccessType.MATRIX_MATRIX);
+			final boolean isMVc = (atype == BinaryAccessType.MATRIX_COL_VECTOR);
+			double[] bvect = !isMM ? DataConverter.convertToDoubleVector(m2) : null;
+			double[] tmpa = new double[n];
+			double[] tmpb = isMM ? new double[n] : null;
+			DenseBlockBool dc = ret.allocateBooleanBlock();
+			long[] c = dc.valuesBool();
+			for( int i=0, ix=0; i<m; i++ ) {
+				double[] avals = getDenseRow(m1, i, tmpa);
+				int aix = getDenseRowPos(m1, i, avals, tmpa);
+				if( isMVc ) {
+					double v2 = bvect[i];
+					for( int j=0; j<n; j++, ix++ )
+						if( fn.execute(avals[aix+j], v2) != 0 )
+							c[ix>>>6] |= (1L<<ix);
+				}
+				else {
+					double[] bvals = isMM ? getDenseRow(m2, i, tmpb) : bvect;
+					int bix = isMM ? getDenseRowPos(m2, i, bvals, tmpb) : 0;
+					for( int j=0; j<n; j++, ix++ )
+						if( fn.execute(avals[aix+j], bvals[bix+j]) != 0 )
+							c[ix>>>6] |= (1L<<ix);
+				}
+			}
+			ret.nonZeros = dc.countNonZeros();
+		}
+	}
+	
+	/**
+	 * Indicates if a MM or MV operation has a constant input that can be treated
+	 * as scalar, i.e., a constant right-hand-side of any shape or a constant 
+	 * left-hand-side of equal dimensions (X op C becomes X op c).
+	 * 
+	 * @param m1 input matrix 1
+	 * @param m2 input matrix 2
+	 * @return true if constant input
+	 */
+	private static boolean isConstantOp(MatrixBlock m1, MatrixBlock m2) {
+		if( !m1.isConstant() && !m2.isConstant() )
+			return false;
+		BinaryAccessType atype = getBinaryAccessType(m1, m2);
+		return (m2.isConstant() && atype != BinaryAccessType.OUTER_VECTOR_VECTOR
+			&& atype != BinaryAccessType.INVALID)
+			|| (m1.isConstant() && atype == BinaryAccessType.MATRIX_MATRIX);
+	}
+	
+	/**
+	 * Indicates if a sparse MM operation has a diagonal output, i.e., sparse-safe
+	 * operations over two diagonal inputs or multiply with a diagonal input.
+	 * 
+	 * @param m1 input matrix 1
+	 * @param m2 input matrix 2
+	 * @param ret result matrix
+	 * @param op binary operator
+	 * @return true if diagonal output
+	 */
+	private static boolean isDiagonalOp(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) {
+		if( !ret.sparse || m1.rlen != m2.rlen || m1.clen != m2.clen )
+			return false;
+		return (m1.isDiagonal() && m2.isDiagonal() && op.sparseSafe)
+			|| (op.fn instanceof Multiply && (m1.isDiagonal() || m2.isDiagonal()));
+	}
+	
+	private static void constantBinary(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) 
+		throws DMLRuntimeException
+	{
+		//constant-constant: constant output
+		if( m1.isConstant() && m2.isConstant() ) {
+			ret.reset(m1.rlen, m1.clen, false);
+			ret.allocateConstantBlock(op.fn.execute(
+				m1.getConstantValue(), m2.getConstantValue()));
+			return;
+		}
+		
+		//matrix-constant: scalar operation over the other input
+		ScalarOperator sop = m2.isConstant() ?
+			new RightScalarOperator(op.fn, m2.getConstantValue()) :
+			new LeftScalarOperator(op.fn, m1.getConstantValue());
+		MatrixBlock in = m2.isConstant() ? m1 : m2;
+		boolean sp = in.sparse && sop.sparseSafe && !(op.fn instanceof ValueComparisonFunction
+			&& MatrixBlock.evalBooleanFormatInMemory(in.rlen, in.clen, in.nonZeros));
+		ret.reset(in.rlen, in.clen, sp);
+		bincellOp(in, ret, sop);
+	}
+	
+	private static void diagonalBinary(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op) 
+		throws DMLRuntimeException
+	{
+		ValueFunction fn = op.fn;
+		int n = m1.rlen;
+		double[] c = new double[n];
+		if( m1.isDiagonal() && m2.isDiagonal() ) {
+			double[] a = m1.getDiagonalValues();
+			double[] b = m2.getDiagonalValues();
+			for( int i=0; i<n; i++ )
+				if( a[i] != 0 || b[i] != 0 )
+					c[i] = fn.execute(a[i], b[i]);
+		}
+		else if( m1.isDiagonal() ) {
+			double[] a = m1.getDiagonalValues();
+			for( int i=0; i<n; i++ )
+				if( a[i] != 0 )
+					c[i] = fn.execute(a[i], m2.quickGetValue(i, i));
+		}
+		else {
+			double[] b = m2.getDiagonalValues();
+			for( int i=0; i<n; i++ )
+				if( b[i] != 0 )
+					c[i] = fn.execute(m1.quickGetValue(i, i), b[i]);
+		}
+		ret.allocateDiagonalBlock(c);
+	}
+	
+	private static void diagonalBinaryScalar(MatrixBlock m1, MatrixBlock ret, ScalarOperator op) 
+		throws DMLRuntimeException
+	{
+		double[] a = m1.getDiagonalValues();
+		double[] c = new double[a.length];
+		for( int i=0; i<a.length; i++ )
+			if( a[i] != 0 )
+				c[i] = op.executeScalar(a[i]);
+		ret.allocateDiagonalBlock(c);
+	}
+	
+	/**
+	 * Indicates if a dense MM or MV operation has at least one dense input that is a
+	 * transpose view t(X), which allows transposed access to X w/o materialization.
+	 * 
+	 * @param m1 input matrix 1
+	 * @param m2 input matrix 2
+	 * @param ret result matrix
+	 * @return true if transposed access to dense inputs
+	 */
+	private static boolean isTransposedOp(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret) {
+		BinaryAccessType atype = getBinaryAccessType(m1, m2);
+		boolean isMM = (atype == BinaryAccessType.MATRIX_MATRIX);
+		return !ret.sparse && (isMM || atype == BinaryAccessType.MATRIX_COL_VECTOR 
+				|| atype == BinaryAccessType.MATRIX_ROW_VECTOR)
+			&& !m1.sparse && m1.denseBlock != null 
+			&& (!isMM || !m2.sparse && m2.denseBlock != null)
+			&& (m1.isTransposeView() || isMM && m2.isTransposeView());
+	}
+	
+	private static void transposedBinary(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op)
+		throws DMLRuntimeException
+	{
+		BinaryAccessType atype = getBinaryAccessType(m1, m2);
+		double[] bvect = (atype != BinaryAccessType.MATRIX_MATRIX) ?
+			DataConverter.convertToDoubleVector(m2) : null;
+		ret.allocateDenseBlock();
+		ret.nonZeros = transposedBinaryRowRange(m1, m2, ret, op, atype, bvect, 0, ret.rlen);
+	}
+	
+	/**
+	 * Computes the rows [rl,ru) of a dense MM or MV binary operation, where inputs 
+	 * that are transpose views t(X) are accessed column-wise in X. We use blocking 
+	 * over rows and columns of the output in order to reuse the cache lines of X.
+	 * 
+	 * @param m1 input matrix 1
+	 * @param m2 input matrix 2
+	 * @param ret result matrix (potentially equal to m1)
+	 * @param op binary operator
+	 * @param atype binary access type
+	 * @param bvect materialized rhs vector for MV, otherwise null
+	 * @param rl row lower bound, inclusive
+	 * @param ru row upper bound, exclusive
+	 * @return number of non-zeros in the output row range
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static long transposedBinaryRowRange(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op,
+		BinaryAccessType atype, double[] bvect, int rl, int ru)
+		throws DMLRuntimeException
+	{
+		ValueFunction fn = op.fn;
+		final int n = ret.clen;
+		final boolean isMM = (atype == BinaryAccessType.MATRIX_MATRIX);
+		final boolean isMVc = (atype == BinaryAccessType.MATRIX_COL_VECTOR);
+		
+		//obtain inputs of transpose views once (robustness for concurrent materialization)
+		MatrixBlock tin1 = m1.getTransposeViewInput();
+		MatrixBlock tin2 = isMM ? m2.getTransposeViewInput() : null;
+		DenseBlock a = (tin1 != null) ? tin1.getDenseBlock() : m1.getDenseBlock();
+		DenseBlock b = !isMM ? null : (tin2 != null) ? tin2.getDenseBlock() : m2.getDenseBlock();
+		final boolean t1 = (tin1 != null);
+		final boolean t2 = (tin2 != null);
+		DenseBlock c = ret.getDenseBlock();
+		
+		//blocking according to typical L2 cache sizes 
+		final int blocksizeI = 128;
+		final int blocksizeJ = 128;
+		
+		long nnz = 0;
+		for( int bi=rl; bi<ru; bi+=blocksizeI ) {
+			int bimin = Math.min(ru, bi+blocksizeI);
+			for( int bj=0; bj<n; bj+=blocksizeJ ) {
+				int bjmin = Math.min(n, bj+blocksizeJ);
+				for( int i=bi; i<bimin; i++ ) {
+					double[] cvals = c.values(i);
+					int cix = c.pos(i);
+					for( int j=bj; j<bjmin; j++ ) {
+						double in1 = t1 ? a.get(j, i) : a.get(i, j);
+						double in2 = !isMM ? (isMVc ? bvect[i] : bvect[j]) :
+							t2 ? b.get(j, i) : b.get(i, j);
+						double val = fn.execute(in1, in2);
+						cvals[cix+j] = val;
+						nnz += (val != 0) ? 1 : 0;
+					}
+				}
+			}
+		}
+		return nnz;
+	}
+	
+	private static boolean isDenseMultiBlockOp(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret) {
+		//note: outer vector operations never exceed 2^31 cells in their inputs
+		//note: dense row range views use the same row-wise kernels (w/o copy)
+		return (m1.isDenseMultiBlock() || m2.isDenseMultiBlock() || ret.isDenseMultiBlock()
+			|| (!m1.sparse && m1.isView()) || (!m2.sparse && m2.isView()))
+			&& getBinaryAccessType(m1, m2) != BinaryAccessType.OUTER_VECTOR_VECTOR;
+	}
+
+	/**
+	 * Binary operations over large dense blocks with multiple row blocks, 
+	 * which reuse the row-range kernel of multi-threaded operations for
+	 * per-row-block access of inputs and output.
+	 * 
+	 * @param m1 input matrix 1
+	 * @param m2 input matrix 2
+	 * @param ret result matrix (potentially equal to m1)
+	 * @param op binary operator
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static void bincellOpDenseMultiBlock(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op)
+		throws DMLRuntimeException
+	{
+		BinaryAccessType atype = getBinaryAccessType(m1, m2);
+		double[] bvect = (atype != BinaryAccessType.MATRIX_MATRIX) ?
+			DataConverter.convertToDoubleVector(m2) : null;
+		if( ret != m1 )
+			ret.allocateDenseOrSparseBlock();
+		ret.nonZeros = bincellOpRowRange(m1, m2, ret, op, atype, bvect, 0, ret.rlen);
+	}
+
+	private static void mergeRowForSparseBinary(ValueFunction fn, double[] values1, int[] cols1, int pos1, int size1,
+		double[] values2, int[] cols2, int pos2, int size2, int resultRow, SparseBlock c)
+		throws DMLRuntimeException
+	{
+		int p1 = pos1, p2 = pos2;
+		while( p1<pos1+size1 || p2<pos2+size2 ) {
+			int c1 = (p1<pos1+size1) ? cols1[p1] : Integer.MAX_VALUE;
+			int c2 = (p2<pos2+size2) ? cols2[p2] : Integer.MAX_VALUE;
+			double value = (c1<c2) ? fn.execute(values1[p1++], 0) :
+				(c1>c2) ? fn.execute(0, values2[p2++]) :
+				fn.execute(values1[p1++], values2[p2++]);
+			if( value != 0 )
+				c.append(resultRow, Math.min(c1, c2), value);
+		}
+	}
+
 	/**
 	 * like a merge sort
 	 * 
@@ -1257,5 +2268,33 @@ public class LibMatrixBincell
 		}
 	}
 	
-}
+	private static class BincellTask implements Callable<Long>
+	{
+		private final MatrixBlock _m1;
+		private final MatrixBlock _m2;
+		private final MatrixBlock _ret;
+		private final BinaryOperator _op;
+		private final BinaryAccessType _atype;
+		private final double[] _bvect;
+		private final int _rl;
+		private final int _ru;
 
+		protected BincellTask( MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op,
+			BinaryAccessType atype, double[] bvect, int rl, int ru )
+		{
+			_m1 = m1;
+			_m2 = m2;
+			_ret = ret;
+			_op = op;
+			_atype = atype;
+			_bvect = bvect;
+			_rl = rl;
+			_ru = ru;
+		}
+
+		@Override
+		public Long call() throws DMLRuntimeException {
+			return bincellOpRowRange(_m1, _m2, _ret, _op, _atype, _bvect, _rl, _ru);
+		}
+	}
+}
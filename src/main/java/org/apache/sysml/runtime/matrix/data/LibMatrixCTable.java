@@ -0,0 +1,394 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.util.LongLongDoubleOpenHashMap;
+import org.apache.sysml.runtime.util.UtilFunctions;
+
+/**
+ * Library for multi-threaded contingency table (ctable) operations, i.e., 
+ * hash group-by aggregation of (row, col, weight) triples given by the cells of 
+ * F = ctable(A, B, W) with matrices or scalars B and W.
+ * 
+ * The computation consists of the following phases: (1) thread-local aggregation
+ * over row partitions of the inputs, where every task hash-partitions its keys by 
+ * output row into k primitive open-addressing hash maps, (2) merge of these partial 
+ * maps over disjoint key partitions, and (3) direct output of the merged maps into 
+ * dense or sparse CSR output blocks without intermediate entry objects. Since keys
+ * are partitioned by output row, every output row is owned by exactly one partition,
+ * which allows to construct the CSR row pointers and contents without synchronization.
+ */
+public class LibMatrixCTable 
+{
+	private static final long PAR_NUMCELL_THRESHOLD = 1024*1024; //Min 1M elements
+	
+	private LibMatrixCTable() {
+		//prevent instantiation via private constructor
+	}
+	
+	/**
+	 * Indicates if a multi-threaded ctable is applicable and beneficial for the given input.
+	 * 
+	 * @param in1 input matrix A
+	 * @param k degree of parallelism
+	 * @return true if multi-threaded ctable should be used
+	 */
+	public static boolean isParallelCTable(MatrixBlock in1, int k) {
+		return k > 1 && (long)in1.rlen * in1.clen >= PAR_NUMCELL_THRESHOLD;
+	}
+	
+	/**
+	 * Multi-threaded ctable F = ctable(A,B,W), where B and W are either matrices
+	 * of the same dimensions as A, or scalars. If output dimensions are given,
+	 * cells outside these dimensions are ignored; otherwise the output dimensions 
+	 * are determined by the maximum row and column indexes.
+	 * 
+	 * @param in1 input matrix A
+	 * @param in2 input matrix B, or null if scalar
+	 * @param scalar2 scalar B (only used if in2 is null)
+	 * @param in3 input matrix W, or null if scalar
+	 * @param scalar3 scalar W (only used if in3 is null)
+	 * @param ignoreZeros ignore (0,0) pairs
+	 * @param rlen number of output rows, or -1 if unknown
+	 * @param clen number of output columns, or -1 if unknown
+	 * @param k degree of parallelism
+	 * @return output matrix block
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static MatrixBlock ctable(MatrixBlock in1, MatrixBlock in2, double scalar2, MatrixBlock in3, double scalar3, 
+			boolean ignoreZeros, long rlen, long clen, int k) 
+		throws DMLRuntimeException
+	{
+		int m = in1.rlen;
+		boolean dimsKnown = (rlen >= 0 && clen >= 0);
+		MatrixBlock ret = null;
+		
+		try
+		{
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			
+			//phase 1: thread-local aggregation over row partitions
+			ArrayList<CTableAggTask> tasks = new ArrayList<CTableAggTask>();
+			int blklen = (int)(Math.ceil((double)m/k));
+			for( int i=0; i<k & i*blklen<m; i++ )
+				tasks.add(new CTableAggTask(in1, in2, scalar2, in3, scalar3, ignoreZeros, 
+					dimsKnown, rlen, clen, k, i*blklen, Math.min((i+1)*blklen, m)));
+			long maxRow = 0, maxCol = 0;
+			for( Future<Object> task : pool.invokeAll(tasks) )
+				task.get(); //error handling
+			for( CTableAggTask task : tasks ) {
+				maxRow = Math.max(maxRow, task.getMaxRow());
+				maxCol = Math.max(maxCol, task.getMaxColumn());
+			}
+			
+			//phase 2: merge partial maps over disjoint key partitions
+			ArrayList<CTableMergeTask> mtasks = new ArrayList<CTableMergeTask>();
+			for( int p=0; p<k; p++ ) {
+				LongLongDoubleOpenHashMap[] maps = new LongLongDoubleOpenHashMap[tasks.size()];
+				for( int i=0; i<tasks.size(); i++ )
+					maps[i] = tasks.get(i).getMaps()[p];
+				mtasks.add(new CTableMergeTask(maps));
+			}
+			long nnz = 0;
+			for( Future<Long> task : pool.invokeAll(mtasks) )
+				nnz += task.get();
+			tasks = null; //free partial maps
+			
+			//phase 3: output of merged maps into dense or sparse output
+			int rows = (int) (dimsKnown ? rlen : maxRow);
+			int cols = (int) (dimsKnown ? clen : maxCol);
+			boolean sparse = MatrixBlock.evalSparseFormatInMemory(rows, cols, nnz);
+			ret = new MatrixBlock(rows, cols, sparse, nnz);
+			if( nnz > 0 ) {
+				if( sparse )
+					ret.sparseBlock = createSparseOutput(mtasks, rows, (int)nnz, pool, k);
+				else
+					createDenseOutput(ret, mtasks, pool);
+				ret.nonZeros = nnz;
+			}
+			
+			pool.shutdown();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		//post-processing (representation already chosen by nnz)
+		ret.examSparsity();
+		
+		return ret;
+	}
+	
+	private static void createDenseOutput(MatrixBlock ret, ArrayList<CTableMergeTask> mtasks, ExecutorService pool) 
+		throws Exception
+	{
+		ret.allocateDenseBlock();
+		ArrayList<CTableOutputTask> tasks = new ArrayList<CTableOutputTask>();
+		for( CTableMergeTask mtask : mtasks )
+			tasks.add(new CTableOutputTask(mtask.getMap(), ret.getDenseBlockValues(), ret.clen, null, null, null, false));
+		for( Future<Object> task : pool.invokeAll(tasks) )
+			task.get(); //error handling
+	}
+	
+	private static SparseBlock createSparseOutput(ArrayList<CTableMergeTask> mtasks, int rows, int nnz, ExecutorService pool, int k) 
+		throws Exception
+	{
+		int[] ptr = new int[rows+1];
+		int[] indexes = new int[nnz];
+		double[] values = new double[nnz];
+		
+		//count non-zeros per row (rows disjoint across partitions)
+		ArrayList<CTableOutputTask> tasks = new ArrayList<CTableOutputTask>();
+		for( CTableMergeTask mtask : mtasks )
+			tasks.add(new CTableOutputTask(mtask.getMap(), null, -1, ptr, null, null, true));
+		for( Future<Object> task : pool.invokeAll(tasks) )
+			task.get(); //error handling
+		
+		//compute row end positions (pointers to start after scatter)
+		for( int i=1; i<rows; i++ )
+			ptr[i] += ptr[i-1];
+		ptr[rows] = nnz;
+		
+		//scatter entries into csr arrays (decrementing row pointers)
+		tasks.clear();
+		for( CTableMergeTask mtask : mtasks )
+			tasks.add(new CTableOutputTask(mtask.getMap(), null, -1, ptr, indexes, values, false));
+		for( Future<Object> task : pool.invokeAll(tasks) )
+			task.get(); //error handling
+		
+		//sort rows by column indexes over row partitions
+		SparseBlockCSR sblock = new SparseBlockCSR(ptr, indexes, values, nnz);
+		ArrayList<CTableSortTask> stasks = new ArrayList<CTableSortTask>();
+		int blklen = (int)(Math.ceil((double)rows/k));
+		for( int i=0; i<k & i*blklen<rows; i++ )
+			stasks.add(new CTableSortTask(sblock, i*blklen, Math.min((i+1)*blklen, rows)));
+		for( Future<Object> task : pool.invokeAll(stasks) )
+			task.get(); //error handling
+		
+		return sblock;
+	}
+	
+	private static int getPartition(long row, int k) {
+		//fibonacci hashing of output rows to partitions
+		return (int)(((row * 0x9E3779B97F4A7C15L) >>> 33) % k);
+	}
+	
+	private static double getValue(MatrixBlock in, double scalar, int i, int j) {
+		return (in != null) ? in.quickGetValue(i, j) : scalar;
+	}
+	
+	private static class CTableAggTask implements Callable<Object> 
+	{
+		private final MatrixBlock _in1;
+		private final MatrixBlock _in2;
+		private final double _scalar2;
+		private final MatrixBlock _in3;
+		private final double _scalar3;
+		private final boolean _ignoreZeros;
+		private final boolean _dimsKnown;
+		private final long _rlen;
+		private final long _clen;
+		private final int _rl;
+		private final int _ru;
+		private final LongLongDoubleOpenHashMap[] _maps;
+		private long _maxRow = 0;
+		private long _maxCol = 0;
+		
+		protected CTableAggTask(MatrixBlock in1, MatrixBlock in2, double scalar2, MatrixBlock in3, double scalar3, 
+				boolean ignoreZeros, boolean dimsKnown, long rlen, long clen, int k, int rl, int ru) {
+			_in1 = in1;
+			_in2 = in2;
+			_scalar2 = scalar2;
+			_in3 = in3;
+			_scalar3 = scalar3;
+			_ignoreZeros = ignoreZeros;
+			_dimsKnown = dimsKnown;
+			_rlen = rlen;
+			_clen = clen;
+			_rl = rl;
+			_ru = ru;
+			_maps = new LongLongDoubleOpenHashMap[k];
+			for( int p=0; p<k; p++ )
+				_maps[p] = new LongLongDoubleOpenHashMap();
+		}
+		
+		public LongLongDoubleOpenHashMap[] getMaps() {
+			return _maps;
+		}
+		
+		public long getMaxRow() {
+			return _maxRow;
+		}
+		
+		public long getMaxColumn() {
+			return _maxCol;
+		}
+		
+		@Override
+		public Object call() throws DMLRuntimeException 
+		{
+			int n = _in1.clen;
+			int k = _maps.length;
+			
+			//sparse-unsafe ctable execution
+			//(because input values of 0 are invalid and have to result in errors) 
+			for( int i=_rl; i<_ru; i++ )
+				for( int j=0; j<n; j++ )
+				{
+					double v1 = _in1.quickGetValue(i, j);
+					double v2 = getValue(_in2, _scalar2, i, j);
+					double w = getValue(_in3, _scalar3, i, j);
+					
+					//skip tuples with missing values
+					if( Double.isNaN(v1) || Double.isNaN(v2) || Double.isNaN(w) )
+						continue;
+					
+					//safe casts to long for consistent behavior with indexing
+					long row = UtilFunctions.toLong( v1 );
+					long col = UtilFunctions.toLong( v2 );
+					if( _ignoreZeros && row == 0 && col == 0 )
+						continue;
+					if( row <= 0 || col <= 0 ) {
+						throw new DMLRuntimeException("Erroneous input while computing the "
+							+ "contingency table (one of the value <= zero): "+v1+" "+v2);
+					}
+					
+					//skip cells outside the specified output dimensions
+					if( _dimsKnown && (row > _rlen || col > _clen) )
+						continue;
+					
+					//thread-local hash group-by, partitioned by row
+					_maps[getPartition(row, k)].addValue(row, col, w);
+					_maxRow = Math.max(_maxRow, row);
+					_maxCol = Math.max(_maxCol, col);
+				}
+			
+			return null;
+		}
+	}
+	
+	private static class CTableMergeTask implements Callable<Long> 
+	{
+		private final LongLongDoubleOpenHashMap[] _maps;
+		private LongLongDoubleOpenHashMap _map = null;
+		
+		protected CTableMergeTask(LongLongDoubleOpenHashMap[] maps) {
+			_maps = maps;
+		}
+		
+		public LongLongDoubleOpenHashMap getMap() {
+			return _map;
+		}
+		
+		@Override
+		public Long call() 
+		{
+			//merge into largest partial map
+			_map = _maps[0];
+			for( int i=1; i<_maps.length; i++ )
+				if( _maps[i].size() > _map.size() )
+					_map = _maps[i];
+			for( LongLongDoubleOpenHashMap map : _maps )
+				if( map != _map )
+					_map.addAll(map);
+			
+			//count non-zeros (entries w/ zero weight are not output)
+			long nnz = 0;
+			for( int ix=0; ix<_map.getCapacity(); ix++ )
+				if( _map.isValid(ix) && _map.getValue(ix) != 0 )
+					nnz++;
+			return nnz;
+		}
+	}
+	
+	private static class CTableOutputTask implements Callable<Object> 
+	{
+		private final LongLongDoubleOpenHashMap _map;
+		private final double[] _c;
+		private final int _n;
+		private final int[] _ptr;
+		private final int[] _indexes;
+		private final double[] _values;
+		private final boolean _count;
+		
+		protected CTableOutputTask(LongLongDoubleOpenHashMap map, double[] c, int n, 
+				int[] ptr, int[] indexes, double[] values, boolean count) {
+			_map = map;
+			_c = c;
+			_n = n;
+			_ptr = ptr;
+			_indexes = indexes;
+			_values = values;
+			_count = count;
+		}
+		
+		@Override
+		public Object call() 
+		{
+			LongLongDoubleOpenHashMap map = _map;
+			for( int ix=0; ix<map.getCapacity(); ix++ ) {
+				double val = map.getValue(ix);
+				if( !map.isValid(ix) || val == 0 )
+					continue;
+				int r = (int) map.getKey1(ix) - 1;
+				int c = (int) map.getKey2(ix) - 1;
+				if( _c != null ) //DENSE
+					_c[r * _n + c] = val;
+				else if( _count ) //SPARSE, count
+					_ptr[r]++;
+				else { //SPARSE, scatter
+					int pos = --_ptr[r];
+					_indexes[pos] = c;
+					_values[pos] = val;
+				}
+			}
+			return null;
+		}
+	}
+	
+	private static class CTableSortTask implements Callable<Object> 
+	{
+		private final SparseBlockCSR _sblock;
+		private final int _rl;
+		private final int _ru;
+		
+		protected CTableSortTask(SparseBlockCSR sblock, int rl, int ru) {
+			_sblock = sblock;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() {
+			for( int i=_rl; i<_ru; i++ )
+				if( _sblock.size(i) > 1 )
+					_sblock.sort(i);
+			return null;
+		}
+	}
+}
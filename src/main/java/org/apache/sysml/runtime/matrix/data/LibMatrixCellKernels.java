@@ -0,0 +1,382 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.matrix.data;
+
+import org.apache.sysml.runtime.functionobjects.Builtin;
+import org.apache.sysml.runtime.functionobjects.Divide;
+import org.apache.sysml.runtime.functionobjects.Minus;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.functionobjects.ValueFunction;
+import org.apache.sysml.runtime.matrix.operators.LeftScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+
+/**
+ * Library of monomorphic cell kernels for the most common value functions. 
+ * Generic cell loops call ValueFunction.execute through a megamorphic call site,
+ * which prevents the JIT compiler from inlining the function and unrolling or
+ * vectorizing the loop. Instead, these kernels dispatch once per row (or chunk 
+ * of cells) to a loop that is specialized for the operator and access type. 
+ * Uncommon value functions are not supported (i.e., there is no kernel type)
+ * and remain handled by the generic code paths.
+ * 
+ */
+public class LibMatrixCellKernels 
+{
+	//number of cells per chunk for large contiguous cell loops,
+	//which keeps the output chunk in L1 cache for nnz maintenance
+	private static final int CHUNK_SIZE = 1024;
+	
+	public enum CellKernel {
+		PLUS,
+		MINUS,
+		MULT,
+		DIV,
+		MIN,
+		MAX,
+	}
+	
+	private LibMatrixCellKernels() {
+		//prevent instantiation via private constructor
+	}
+	
+	/**
+	 * Obtains the specialized kernel type of the given value function. 
+	 * 
+	 * @param fn value function
+	 * @return kernel type, or null if not supported
+	 */
+	public static CellKernel getKernel(ValueFunction fn) {
+		if( fn instanceof Plus )
+			return CellKernel.PLUS;
+		else if( fn instanceof Minus )
+			return CellKernel.MINUS;
+		else if( fn instanceof Multiply )
+			return CellKernel.MULT;
+		else if( fn instanceof Divide )
+			return CellKernel.DIV;
+		else if( fn instanceof Builtin ) {
+			switch( ((Builtin)fn).getBuiltinCode() ) {
+				case MIN: return CellKernel.MIN;
+				case MAX: return CellKernel.MAX;
+				default: return null;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Obtains the specialized kernel type of the given scalar operator,
+	 * which is either a left or right scalar operator.
+	 * 
+	 * @param op scalar operator
+	 * @return kernel type, or null if not supported
+	 */
+	public static CellKernel getKernel(ScalarOperator op) {
+		return (op instanceof RightScalarOperator || op instanceof LeftScalarOperator) ?
+			getKernel(op.fn) : null;
+	}
+	
+	/**
+	 * Computes c = a op b over the given cell ranges.
+	 * 
+	 * @param kernel kernel type
+	 * @param a lhs values
+	 * @param ai lhs offset
+	 * @param b rhs values
+	 * @param bi rhs offset
+	 * @param c output values (potentially equal to a or b)
+	 * @param ci output offset
+	 * @param len number of cells
+	 * @return number of non-zeros in the output range
+	 */
+	public static long vectOp(CellKernel kernel, double[] a, int ai, double[] b, int bi, double[] c, int ci, final int len) {
+		long nnz = 0;
+		for( int k=0; k<len; k+=CHUNK_SIZE ) {
+			int klen = Math.min(CHUNK_SIZE, len-k);
+			switch( kernel ) {
+				case PLUS:  vectPlus(a, ai+k, b, bi+k, c, ci+k, klen); break;
+				case MINUS: vectMinus(a, ai+k, b, bi+k, c, ci+k, klen); break;
+				case MULT:  vectMult(a, ai+k, b, bi+k, c, ci+k, klen); break;
+				case DIV:   vectDiv(a, ai+k, b, bi+k, c, ci+k, klen); break;
+				case MIN:   vectMin(a, ai+k, b, bi+k, c, ci+k, klen); break;
+				case MAX:   vectMax(a, ai+k, b, bi+k, c, ci+k, klen); break;
+			}
+			nnz += countNonZeros(c, ci+k, klen);
+		}
+		return nnz;
+	}
+	
+	/**
+	 * Computes c = a op bval over the given cell ranges.
+	 * 
+	 * @param kernel kernel type
+	 * @param a lhs values
+	 * @param ai lhs offset
+	 * @param bval rhs scalar
+	 * @param c output values (potentially equal to a)
+	 * @param ci output offset
+	 * @param len number of cells
+	 * @return number of non-zeros in the output range
+	 */
+	public static long vectOp(CellKernel kernel, double[] a, int ai, final double bval, double[] c, int ci, final int len) {
+		long nnz = 0;
+		for( int k=0; k<len; k+=CHUNK_SIZE ) {
+			int klen = Math.min(CHUNK_SIZE, len-k);
+			switch( kernel ) {
+				case PLUS:  vectPlus(a, ai+k, bval, c, ci+k, klen); break;
+				case MINUS: vectMinus(a, ai+k, bval, c, ci+k, klen); break;
+				case MULT:  vectMult(a, ai+k, bval, c, ci+k, klen); break;
+				case DIV:   vectDiv(a, ai+k, bval, c, ci+k, klen); break;
+				case MIN:   vectMin(a, ai+k, bval, c, ci+k, klen); break;
+				case MAX:   vectMax(a, ai+k, bval, c, ci+k, klen); break;
+			}
+			nnz += countNonZeros(c, ci+k, klen);
+		}
+		return nnz;
+	}
+	
+	/**
+	 * Computes c = aval op b over the given cell ranges.
+	 * 
+	 * @param kernel kernel type
+	 * @param aval lhs scalar
+	 * @param b rhs values
+	 * @param bi rhs offset
+	 * @param c output values (potentially equal to b)
+	 * @param ci output offset
+	 * @param len number of cells
+	 * @return number of non-zeros in the output range
+	 */
+	public static long vectOp(CellKernel kernel, final double aval, double[] b, int bi, double[] c, int ci, final int len) {
+		long nnz = 0;
+		for( int k=0; k<len; k+=CHUNK_SIZE ) {
+			int klen = Math.min(CHUNK_SIZE, len-k);
+			switch( kernel ) {
+				case PLUS:  vectPlus(b, bi+k, aval, c, ci+k, klen); break;
+				case MINUS: vectMinus(aval, b, bi+k, c, ci+k, klen); break;
+				case MULT:  vectMult(b, bi+k, aval, c, ci+k, klen); break;
+				case DIV:   vectDiv(aval, b, bi+k, c, ci+k, klen); break;
+				case MIN:   vectMin(aval, b, bi+k, c, ci+k, klen); break;
+				case MAX:   vectMax(aval, b, bi+k, c, ci+k, klen); break;
+			}
+			nnz += countNonZeros(c, ci+k, klen);
+		}
+		return nnz;
+	}
+	
+	/**
+	 * Computes c = a op s for right scalar operators, or c = s op a for left
+	 * scalar operators over the given cell ranges.
+	 * 
+	 * @param kernel kernel type of the scalar operator
+	 * @param op left or right scalar operator
+	 * @param a input values
+	 * @param ai input offset
+	 * @param c output values (potentially equal to a)
+	 * @param ci output offset
+	 * @param len number of cells
+	 * @return number of non-zeros in the output range
+	 */
+	public static long vectOp(CellKernel kernel, ScalarOperator op, double[] a, int ai, double[] c, int ci, final int len) {
+		return (op instanceof LeftScalarOperator) ?
+			vectOp(kernel, op.getConstant(), a, ai, c, ci, len) :
+			vectOp(kernel, a, ai, op.getConstant(), c, ci, len);
+	}
+	
+	/**
+	 * Computes the min or max aggregate of the given initial value and cells,
+	 * with the same semantics as Builtin.execute2 (in1 op in2 ? in1 : in2).
+	 * 
+	 * @param kernel kernel type MIN or MAX
+	 * @param a input values
+	 * @param ai input offset
+	 * @param init initial value
+	 * @param len number of cells
+	 * @return aggregate value
+	 */
+	public static double vectMinMaxAgg(CellKernel kernel, double[] a, int ai, final double init, final int len) {
+		double val = init;
+		if( kernel == CellKernel.MAX ) {
+			for( int j=ai; j<ai+len; j++ )
+				val = (val >= a[j]) ? val : a[j];
+		}
+		else {
+			for( int j=ai; j<ai+len; j++ )
+				val = (val <= a[j]) ? val : a[j];
+		}
+		return val;
+	}
+	
+	/**
+	 * Computes the column-wise min or max aggregate c = c op a. 
+	 * 
+	 * @param kernel kernel type MIN or MAX
+	 * @param a input values
+	 * @param c aggregates
+	 * @param ai input offset
+	 * @param len number of cells
+	 */
+	public static void vectMinMaxAgg(CellKernel kernel, double[] a, double[] c, int ai, final int len) {
+		if( kernel == CellKernel.MAX )
+			vectMax(c, 0, a, ai, c, 0, len);
+		else
+			vectMin(c, 0, a, ai, c, 0, len);
+	}
+	
+	/**
+	 * Computes the column-wise min or max aggregate c[aix] = c[aix] op a
+	 * for sparse input rows. 
+	 * 
+	 * @param kernel kernel type MIN or MAX
+	 * @param a input values
+	 * @param c aggregates
+	 * @param aix input column indexes
+	 * @param ai input offset
+	 * @param len number of non-zeros
+	 */
+	public static void vectMinMaxAgg(CellKernel kernel, double[] a, double[] c, int[] aix, int ai, final int len) {
+		if( kernel == CellKernel.MAX ) {
+			for( int j=ai; j<ai+len; j++ ) {
+				double cval = c[aix[j]];
+				c[aix[j]] = (cval >= a[j]) ? cval : a[j];
+			}
+		}
+		else {
+			for( int j=ai; j<ai+len; j++ ) {
+				double cval = c[aix[j]];
+				c[aix[j]] = (cval <= a[j]) ? cval : a[j];
+			}
+		}
+	}
+	
+	/**
+	 * Counts the number of non-zeros in the given cell range.
+	 * 
+	 * @param a values
+	 * @param ai offset
+	 * @param len number of cells
+	 * @return number of non-zeros
+	 */
+	public static int countNonZeros(double[] a, int ai, final int len) {
+		int nnz = 0;
+		for( int j=ai; j<ai+len; j++ )
+			nnz += (a[j] != 0) ? 1 : 0;
+		return nnz;
+	}
+	
+	//////////////////////////////////////////
+	// Monomorphic vector primitives
+	//////////////////////////////////////////
+	
+	private static void vectPlus(double[] a, int ai, double[] b, int bi, double[] c, int ci, final int len) {
+		for( int j=0; j<len; j++ )
+			c[ci+j] = a[ai+j] + b[bi+j];
+	}
+	
+	private static void vectMinus(double[] a, int ai, double[] b, int bi, double[] c, int ci, final int len) {
+		for( int j=0; j<len; j++ )
+			c[ci+j] = a[ai+j] - b[bi+j];
+	}
+	
+	private static void vectMult(double[] a, int ai, double[] b, int bi, double[] c, int ci, final int len) {
+		for( int j=0; j<len; j++ )
+			c[ci+j] = a[ai+j] * b[bi+j];
+	}
+	
+	private static void vectDiv(double[] a, int ai, double[] b, int bi, double[] c, int ci, final int len) {
+		for( int j=0; j<len; j++ )
+			c[ci+j] = a[ai+j] / b[bi+j];
+	}
+	
+	private static void vectMin(double[] a, int ai, double[] b, int bi, double[] c, int ci, final int len) {
+		for( int j=0; j<len; j++ ) {
+			double aval = a[ai+j], bval = b[bi+j];
+			c[ci+j] = (aval <= bval) ? aval : bval;
+		}
+	}
+	
+	private static void vectMax(double[] a, int ai, double[] b, int bi, double[] c, int ci, final int len) {
+		for( int j=0; j<len; j++ ) {
+			double aval = a[ai+j], bval = b[bi+j];
+			c[ci+j] = (aval >= bval) ? aval : bval;
+		}
+	}
+	
+	private static void vectPlus(double[] a, int ai, final double bval, double[] c, int ci, final int len) {
+		for( int j=0; j<len; j++ )
+			c[ci+j] = a[ai+j] + bval;
+	}
+	
+	private static void vectMinus(double[] a, int ai, final double bval, double[] c, int ci, final int len) {
+		for( int j=0; j<len; j++ )
+			c[ci+j] = a[ai+j] - bval;
+	}
+	
+	private static void vectMult(double[] a, int ai, final double bval, double[] c, int ci, final int len) {
+		for( int j=0; j<len; j++ )
+			c[ci+j] = a[ai+j] * bval;
+	}
+	
+	private static void vectDiv(double[] a, int ai, final double bval, double[] c, int ci, final int len) {
+		for( int j=0; j<len; j++ )
+			c[ci+j] = a[ai+j] / bval;
+	}
+	
+	private static void vectMin(double[] a, int ai, final double bval, double[] c, int ci, final int len) {
+		for( int j=0; j<len; j++ ) {
+			double aval = a[ai+j];
+			c[ci+j] = (aval <= bval) ? aval : bval;
+		}
+	}
+	
+	private static void vectMax(double[] a, int ai, final double bval, double[] c, int ci, final int len) {
+		for( int j=0; j<len; j++ ) {
+			double aval = a[ai+j];
+			c[ci+j] = (aval >= bval) ? aval : bval;
+		}
+	}
+	
+	private static void vectMinus(final double aval, double[] b, int bi, double[] c, int ci, final int len) {
+		for( int j=0; j<len; j++ )
+			c[ci+j] = aval - b[bi+j];
+	}
+	
+	private static void vectDiv(final double aval, double[] b, int bi, double[] c, int ci, final int len) {
+		for( int j=0; j<len; j++ )
+			c[ci+j] = aval / b[bi+j];
+	}
+	
+	private static void vectMin(final double aval, double[] b, int bi, double[] c, int ci, final int len) {
+		for( int j=0; j<len; j++ ) {
+			double bval = b[bi+j];
+			c[ci+j] = (aval <= bval) ? aval : bval;
+		}
+	}
+	
+	private static void vectMax(final double aval, double[] b, int bi, double[] c, int ci, final int len) {
+		for( int j=0; j<len; j++ ) {
+			double bval = b[bi+j];
+			c[ci+j] = (aval >= bval) ? aval : bval;
+		}
+	}
+}
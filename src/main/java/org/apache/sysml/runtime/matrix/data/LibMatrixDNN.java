@@ -213,7 +213,7 @@ public class LibMatrixDNN {
 		}
 		if(!ret.isInSparseFormat() && !elem.isInSparseFormat()) {
 			for(int i = 0; i < ret.getNumRows()*ret.getNumColumns(); i++) {
-				ret.denseBlock[i] += elem.denseBlock[i];
+				ret.getDenseBlockValues()[i] += elem.getDenseBlockValues()[i];
 			}
 		}
 		else if(!ret.isInSparseFormat() && elem.isInSparseFormat()) {
@@ -223,7 +223,7 @@ public class LibMatrixDNN {
 				while(iter.hasNext()) {
 					IJV ijv = iter.next();
 					int index = ijv.getI()*numCol + ijv.getJ();
-					ret.denseBlock[index] += ijv.getV(); 
+					ret.getDenseBlockValues()[index] += ijv.getV(); 
 				}
 			}
 		}
@@ -256,9 +256,9 @@ public class LibMatrixDNN {
 				
 		//Step 1: aggregate partial blocks without transpose
 		MatrixBlock tmpAgg = elem[0]; 
-		double[] tmp = tmpAgg.denseBlock;
+		double[] tmp = tmpAgg.getDenseBlockValues();
 		for( int k=1; k<elem.length; k++ ) {
-			double[] tmp2 = elem[k].denseBlock;
+			double[] tmp2 = elem[k].getDenseBlockValues();
 			for( int i=0; i<tmp.length; i++ )
 				tmp[i] += tmp2[i];
 		}
@@ -272,7 +272,7 @@ public class LibMatrixDNN {
 	private static void doLoopedIm2ColConv2dBwdData(int n, MatrixBlock dout_reshaped, ConvolutionParameters params) throws DMLRuntimeException {
 		MatrixBlock filter = params.input1;
 		MatrixBlock dout = params.input2;
-		doRotate180(n, 0, dout, dout_reshaped.denseBlock, params, true);
+		doRotate180(n, 0, dout, dout_reshaped.getDenseBlockValues(), params, true);
 		dout_reshaped.recomputeNonZeros();
 		
 		MatrixBlock temp = new MatrixBlock(params.P*params.Q, params.C*params.R*params.S, false);
@@ -295,7 +295,7 @@ public class LibMatrixDNN {
 		im2ColOutBlock.recomputeNonZeros();
 		long t2 = DMLScript.STATISTICS && DISPLAY_STATISTICS ? System.nanoTime() : 0 ;
 		
-		doRotate180(n, 0, params.input2, dout_reshaped.denseBlock, params, true);
+		doRotate180(n, 0, params.input2, dout_reshaped.getDenseBlockValues(), params, true);
 		dout_reshaped.recomputeNonZeros();
 		
 		MatrixBlock temp = new MatrixBlock(params.C*params.R*params.S, params.K, false);
@@ -381,11 +381,11 @@ public class LibMatrixDNN {
 					int k = ijv.getI();
 					int p = ijv.getJ() / params.Q;
 					int q = ijv.getJ() % params.Q;
-					params.output.denseBlock[outOffset + k*params.P*params.Q + p*params.Q + q] = ijv.getV();
+					params.output.getDenseBlockValues()[outOffset + k*params.P*params.Q + p*params.Q + q] = ijv.getV();
 				}
 			}
 			else
-				System.arraycopy(matMultOutBlock.denseBlock, 0, params.output.denseBlock, destPos, length);
+				System.arraycopy(matMultOutBlock.getDenseBlockValues(), 0, params.output.getDenseBlockValues(), destPos, length);
 		}
 		// -----------------------------------------------------------------------------
 		
@@ -459,13 +459,13 @@ public class LibMatrixDNN {
 	private static void doPoolingBackward(int n, ConvolutionParameters params) throws DMLRuntimeException {
 		double [] inputArray = null;
 		if (!params.input1.isInSparseFormat())
-			inputArray = params.input1.getDenseBlock();
+			inputArray = params.input1.getDenseBlockValues();
 		double [] doutArray = null;
 		if (!params.input2.isInSparseFormat())
-			doutArray = params.input2.getDenseBlock();
+			doutArray = params.input2.getDenseBlockValues();
 		double [] outputArray = null;
 		if (!params.output.isInSparseFormat())
-			outputArray = params.output.getDenseBlock();
+			outputArray = params.output.getDenseBlockValues();
 		else
 			throw new DMLRuntimeException("Only dense output supported for pooling_backward");
 			
@@ -643,12 +643,12 @@ public class LibMatrixDNN {
 	
 	private static long doReluBackward(ConvolutionParameters params, int rl, int ru) throws DMLRuntimeException {
 		// (X > 0) * dout
-		double [] outputArray = params.output.getDenseBlock();
+		double [] outputArray = params.output.getDenseBlockValues();
 		int numOutCols = params.input1.getNumColumns();
 		
 		if(!params.input1.isInSparseFormat() && !params.input2.isInSparseFormat()) {
-			double [] inputArr = params.input1.getDenseBlock();
-			double [] doutArr = params.input2.getDenseBlock();
+			double [] inputArr = params.input1.getDenseBlockValues();
+			double [] doutArr = params.input2.getDenseBlockValues();
 			for(int i = rl*numOutCols; i < ru*numOutCols; i++) {
 				outputArray[i] = inputArr[i] > 0 ? doutArr[i] : 0;
 			}
@@ -665,7 +665,7 @@ public class LibMatrixDNN {
 				}
 			}
 			else {
-				double [] inputArr = params.input1.getDenseBlock();
+				double [] inputArr = params.input1.getDenseBlockValues();
 				for(int i = rl*numOutCols; i < ru*numOutCols; i++) {
 					outputArray[i] = inputArr[i] > 0 ? 1 : 0;
 				}
@@ -681,7 +681,7 @@ public class LibMatrixDNN {
 				}
 			}
 			else {
-				double [] doutArr = params.input2.getDenseBlock();
+				double [] doutArr = params.input2.getDenseBlockValues();
 				for(int i = rl*numOutCols; i < ru*numOutCols; i++) {
 					outputArray[i] *= doutArr[i];
 				}
@@ -727,7 +727,7 @@ public class LibMatrixDNN {
 		}
 		
 		if(input.isEmptyBlock()) {
-			double [] outputArray = outputBlock.getDenseBlock();
+			double [] outputArray = outputBlock.getDenseBlockValues();
 			for(int n = 0;  n < N; n++) 
 				fillBias(bias, outputArray, n, n+1, N, K, PQ);
 		}
@@ -740,13 +740,13 @@ public class LibMatrixDNN {
 	}
 	
 	private static void doBiasAdd(ConvolutionParameters params, int rl, int ru) throws DMLRuntimeException {
-		double [] outputArray = params.output.getDenseBlock();
+		double [] outputArray = params.output.getDenseBlockValues();
 		int PQ = params.C;
 		int numOutCols = params.input1.getNumColumns();
 		
 		if(!params.input1.isInSparseFormat() && !params.input2.isInSparseFormat()) {
-			double [] inputArr = params.input1.getDenseBlock();
-			double [] biasArr = params.input2.getDenseBlock();
+			double [] inputArr = params.input1.getDenseBlockValues();
+			double [] biasArr = params.input2.getDenseBlockValues();
 			int K = params.K;
 			int index = rl*K*PQ;
 			for(int n = rl; n < ru; n++) {
@@ -769,7 +769,7 @@ public class LibMatrixDNN {
 				}
 			}
 			else {
-				double [] inputArr = params.input1.getDenseBlock();
+				double [] inputArr = params.input1.getDenseBlockValues();
 				for(int i = rl*numOutCols; i < ru*numOutCols; i++) {
 					outputArray[i] += inputArr[i];
 				}
@@ -792,7 +792,7 @@ public class LibMatrixDNN {
 			}
 		}
 		else {
-			double [] biasArr = bias.getDenseBlock();
+			double [] biasArr = bias.getDenseBlockValues();
 			for(int n = n1; n < n2; n++) {
 				for(int k = 0; k < K; k++) {
 					int fromIndex = n*K*PQ + k*PQ;
@@ -821,10 +821,10 @@ public class LibMatrixDNN {
 	private static void doPooling(int n, ConvolutionParameters params) throws DMLRuntimeException {
 		double [] inputArray = null;
 		if (!params.input1.isInSparseFormat())
-			inputArray = params.input1.getDenseBlock();
+			inputArray = params.input1.getDenseBlockValues();
 		double [] outputArray = null;
 		if (!params.output.isInSparseFormat())
-			outputArray = params.output.getDenseBlock();
+			outputArray = params.output.getDenseBlockValues();
 		else
 			throw new DMLRuntimeException("Expected the output to be allocated in dense format");
 		
@@ -868,7 +868,7 @@ public class LibMatrixDNN {
 			double [] outputArray,  ConvolutionParameters params, boolean zeroOutSparseOutput) throws DMLRuntimeException {
 		double [] inputArray = null;
 		if (!input.isInSparseFormat())
-			inputArray = input.getDenseBlock();
+			inputArray = input.getDenseBlockValues();
 		if(outputArray == null)
 			throw new DMLRuntimeException("Sparse output is not supported for rotate180");
 		
@@ -1061,9 +1061,9 @@ public class LibMatrixDNN {
 	private static void addBias(ConvolutionParameters params, int rl, int ru) {
 		int PQ = params.P*params.Q;
 		int K = params.K;
-		double [] outputArr = params.output.getDenseBlock();
+		double [] outputArr = params.output.getDenseBlockValues();
 		if(!params.bias.isInSparseFormat()) {
-			double [] biasArr = params.bias.getDenseBlock();
+			double [] biasArr = params.bias.getDenseBlockValues();
 			int index = rl*K*PQ;
 			for(int n = rl; n < ru; n++) {
 				for(int k = 0; k < K; k++) {
@@ -1097,13 +1097,13 @@ public class LibMatrixDNN {
 		
 		double [] outputArray = null;
 		if (!params.output.isInSparseFormat())
-			outputArray = params.output.getDenseBlock();
+			outputArray = params.output.getDenseBlockValues();
 		else {
 			throw new DMLRuntimeException("Only dense output is implemented");
 		}
 		
 		if(!input.isInSparseFormat()) {
-			double [] inputArray = input.getDenseBlock();
+			double [] inputArray = input.getDenseBlockValues();
 			doCol2IMDenseInput(0, outputN, inputArray, outputArray, params);
 		}
 		else {
@@ -1247,15 +1247,27 @@ public class LibMatrixDNN {
 	}
 	
 	private static void doIm2col(int n, MatrixBlock output, ConvolutionParameters params) throws DMLRuntimeException {
-		double [] inputArray = null;
-		if (!params.input1.isInSparseFormat())
-			inputArray = params.input1.getDenseBlock();
 		double [] outputArray = null;
 		if(!output.isInSparseFormat())
-			outputArray = output.getDenseBlock();
+			outputArray = output.getDenseBlockValues();
 		else 
 			throw new DMLRuntimeException("Sparse output is not supported for im2col");
 		
+		//single-precision input: widen only the current image (instead of the entire input)
+		float [] finputArray = params.input1.getDenseBlockValuesFP32();
+		if( finputArray != null ) {
+			final int CHW = params.C*params.H*params.W;
+			double [] inputArray = new double[CHW];
+			for( int i=0, ix=n*CHW; i<CHW; i++, ix++ )
+				inputArray[i] = finputArray[ix];
+			doIm2colDense(0, inputArray, outputArray, params);
+			return;
+		}
+		
+		double [] inputArray = null;
+		if (!params.input1.isInSparseFormat())
+			inputArray = params.input1.getDenseBlockValues();
+		
 		if(inputArray != null)
 			doIm2colDense(n, inputArray, outputArray, params);
 		else
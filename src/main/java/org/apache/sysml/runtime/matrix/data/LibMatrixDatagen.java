@@ -38,12 +38,16 @@ import org.apache.sysml.runtime.controlprogram.parfor.util.IDSequence;
 import org.apache.sysml.runtime.util.NormalPRNGenerator;
 import org.apache.sysml.runtime.util.PRNGenerator;
 import org.apache.sysml.runtime.util.PoissonPRNGenerator;
+import org.apache.sysml.runtime.util.SortUtils;
+import org.apache.sysml.runtime.util.SplittablePRNGenerator;
 import org.apache.sysml.runtime.util.UniformPRNGenerator;
 
 public class LibMatrixDatagen 
 {
 	private static final Log LOG = LogFactory.getLog(LibMatrixDatagen.class.getName());
 	private static final long PAR_NUMCELL_THRESHOLD = 512*1024; //Min 500k elements
+	private static final int SAMPLE_BLOCKSIZE = 64*1024; //fixed blocks w/ independent seeds
+	private static final double SAMPLE_RANDKEYS_RATIO = 0.125; //min size/range for random keys
 	public static final String RAND_PDF_UNIFORM = "uniform";
 	public static final String RAND_PDF_NORMAL = "normal";
 	public static final String RAND_PDF_POISSON = "poisson";
@@ -264,7 +268,7 @@ public class LibMatrixDatagen
 			else if( !out.sparse && sparsity==1.0d && (min == max  //equal values, dense
 					|| (Double.isNaN(min) && Double.isNaN(max))) ) //min == max == NaN
 			{
-				out.reset(out.rlen, out.clen, min); 
+				generateConstantMatrix(out, min);
 				return;
 			}
 		}
@@ -352,7 +356,7 @@ public class LibMatrixDatagen
 				return;
 			} 
 			else if( !out.sparse && sparsity==1.0d && min == max ) { //equal values
-				out.reset(out.rlen, out.clen, min); 
+				generateConstantMatrix(out, min);
 				return;
 			}
 		}
@@ -424,6 +428,23 @@ public class LibMatrixDatagen
 	 */
 	public static void generateSequence(MatrixBlock out, double from, double to, double incr) 
 		throws DMLRuntimeException 
+	{
+		generateSequence(out, from, to, incr, 1);
+	}
+	
+	/**
+	 * Multi-threaded version of generating a sequence according to the given 
+	 * parameters, where all threads fill disjoint ranges of the output. 
+	 * 
+	 * @param out output matrix block
+	 * @param from lower end point
+	 * @param to upper end point
+	 * @param incr increment value
+	 * @param k degree of parallelism
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static void generateSequence(MatrixBlock out, double from, double to, double incr, int k) 
+		throws DMLRuntimeException 
 	{
 		//check valid increment value
 		if( (from > to && incr > 0) || incr == 0 )
@@ -436,15 +457,28 @@ public class LibMatrixDatagen
 		out.allocateDenseBlock();
 	
 		//compute sequence data
-		double[] c = out.denseBlock; 		
-		double cur = from;
-		for(int i=0; i < rows; i++) {
-			c[i] = cur;
-			cur += incr;
+		double[] c = out.getDenseBlockValues();
+		if( k <= 1 || rows < PAR_NUMCELL_THRESHOLD ) {
+			generateSequence(c, from, incr, 0, rows);
+		}
+		else {
+			ArrayList<SeqTask> tasks = new ArrayList<SeqTask>();
+			int blklen = (int)(Math.ceil((double)rows/k));
+			for( int i=0; i<k & i*blklen<rows; i++ )
+				tasks.add(new SeqTask(c, from, incr, i*blklen, Math.min((i+1)*blklen, rows)));
+			executeTasks(tasks, k);
 		}
 		
 		out.recomputeNonZeros();
 	}
+	
+	private static void generateSequence(double[] c, double from, double incr, int rl, int ru) {
+		//note: values computed from the index instead of cumulative increments
+		//in order to obtain results independent of the partitioning (and 
+		//to avoid the accumulation of rounding errors over long sequences)
+		for( int i=rl; i<ru; i++ )
+			c[i] = from + i * incr;
+	}
 
 	
 		
@@ -462,50 +496,202 @@ public class LibMatrixDatagen
 	public static void generateSample(MatrixBlock out, long range, int size, boolean replace, long seed)
 		throws DMLRuntimeException 
 	{
+		generateSample(out, range, size, replace, seed, 1);
+	}
+	
+	/**
+	 * Multi-threaded version of generating a sample of size <code>size</code> from a range 
+	 * of values [1,range]. All variants draw from independently seeded blocks of fixed size 
+	 * via a splittable PRNG, which makes the results reproducible for a given seed regardless
+	 * of the degree of parallelism.
+	 * 
+	 * <ul>
+	 * <li>With replacement: blocks of output values are generated in parallel.</li>
+	 * <li>Without replacement, large sample fraction: every value of the range is assigned
+	 *   a random key, and the sample is given by the values with the <code>size</code> smallest
+	 *   keys, in ascending order of keys (i.e., a uniformly random ordered sample). Keys are 
+	 *   generated in parallel and filtered by a conservative threshold before sorting.</li>
+	 * <li>Without replacement, small sample fraction: candidates are drawn with replacement
+	 *   in parallel, and the sample is given by the first occurrences of the first 
+	 *   <code>size</code> distinct candidates, where duplicates are detected in parallel over 
+	 *   disjoint value ranges.</li>
+	 * </ul>
+	 * 
+	 * @param out output matrix block
+	 * @param range range upper bound
+	 * @param size sample size
+	 * @param replace if true, sample with replacement
+	 * @param seed seed for random generator
+	 * @param k degree of parallelism
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static void generateSample(MatrixBlock out, long range, int size, boolean replace, long seed, int k)
+		throws DMLRuntimeException 
+	{
+		//generate pseudo-random seed (because not specified)
+		seed = (seed == DataGenOp.UNSPECIFIED_SEED ? DataGenOp.generateRandomSeed() : seed);
+
 		//set meta data and allocate dense block
 		out.reset(size, 1, false);
 		out.allocateDenseBlock();
-		seed = (seed == -1 ? System.nanoTime() : seed);
+		double[] c = out.getDenseBlockValues();
+
+		if( replace ) {
+			k = (size < PAR_NUMCELL_THRESHOLD) ? 1 : k;
+			generateSampleReplace(c, range, size, seed, k);
+		}
+		else if( size >= SAMPLE_RANDKEYS_RATIO * range ) {
+			k = (range < PAR_NUMCELL_THRESHOLD) ? 1 : k;
+			generateSampleRandKeys(c, range, size, seed, k);
+		}
+		else {
+			k = (size < PAR_NUMCELL_THRESHOLD) ? 1 : k;
+			generateSampleDedup(c, range, size, seed, k);
+		}
 		
-		if ( !replace ) 
-		{
-			// reservoir sampling
+		out.recomputeNonZeros();
+		out.examSparsity();
+	}
+	
+	private static void generateSampleReplace(double[] c, long range, int size, long seed, int k) 
+		throws DMLRuntimeException
+	{
+		int nblk = (int)Math.ceil((double)size/SAMPLE_BLOCKSIZE);
+		ArrayList<SampleTask> tasks = new ArrayList<SampleTask>();
+		int blklen = (int)(Math.ceil((double)nblk/k));
+		for( int i=0; i<k & i*blklen<nblk; i++ )
+			tasks.add(new SampleTask(c, size, range, seed, i*blklen, Math.min((i+1)*blklen, nblk)));
+		executeTasks(tasks, k);
+	}
+	
+	private static void generateSampleRandKeys(double[] c, long range, int size, long seed, int k) 
+		throws DMLRuntimeException
+	{
+		int nblk = (int)Math.ceil((double)range/SAMPLE_BLOCKSIZE);
+		int blklen = (int)(Math.ceil((double)nblk/k));
+		
+		//threshold w/ safety margin of >4 standard deviations of the number of 
+		//selected keys (retried w/ larger threshold if insufficient)
+		double threshold = Math.min(1, (size + 4*Math.sqrt(size) + 16) / range);
+		ArrayList<SampleKeysTask> tasks = new ArrayList<SampleKeysTask>();
+		int len = 0;
+		while( len < size ) {
+			tasks.clear();
+			for( int i=0; i<k & i*blklen<nblk; i++ )
+				tasks.add(new SampleKeysTask(range, seed, threshold, i*blklen, Math.min((i+1)*blklen, nblk)));
+			executeTasks(tasks, k);
+			len = 0;
+			for( SampleKeysTask task : tasks )
+				len += task.getLength();
+			threshold = Math.min(1, 2 * threshold);
+		}
+		
+		//collect candidates in block order and sort by keys
+		double[] keys = new double[len];
+		long[] vals = new long[len];
+		int[] ix = new int[len];
+		for( int i=0, pos=0; i<tasks.size(); i++ ) {
+			SampleKeysTask task = tasks.get(i);
+			System.arraycopy(task.getKeys(), 0, keys, pos, task.getLength());
+			System.arraycopy(task.getValues(), 0, vals, pos, task.getLength());
+			pos += task.getLength();
+		}
+		for( int i=0; i<len; i++ )
+			ix[i] = i;
+		SortUtils.sortByValue(0, len, keys, ix);
+		
+		//output values of the smallest keys
+		for( int i=0; i<size; i++ )
+			c[i] = vals[ix[i]];
+	}
+	
+	private static void generateSampleDedup(double[] c, long range, int size, long seed, int k) 
+		throws DMLRuntimeException
+	{
+		//number of candidates w/ margin for the expected number of duplicates (<size/16)
+		long m = size + (long)Math.ceil((double)size*size/range) + 64;
+		int len = 0;
+		while( len < size ) {
+			//draw candidates with replacement (same blocks as sample w/ replacement)
+			int mi = (int)Math.min(m, Integer.MAX_VALUE);
+			double[] cand = new double[mi];
+			generateSampleReplace(cand, range, mi, seed, k);
 			
-			for(int i=1; i <= size; i++) 
-				out.setValueDenseUnsafe(i-1, 0, i );
+			//detect duplicates in parallel over disjoint value ranges
+			boolean[] dups = findDuplicates(cand, range, k);
 			
-			Random rand = new Random(seed);
-			for(int i=size+1; i <= range; i++) 
-			{
-				if(rand.nextInt(i) < size)
-					out.setValueDenseUnsafe( rand.nextInt(size), 0, i );
+			//compact first occurrences in draw order
+			len = 0;
+			for( int i=0; i<mi && len<size; i++ )
+				if( !dups[i] )
+					c[len++] = cand[i];
+			m = 2 * m;
+		}
+	}
+	
+	private static boolean[] findDuplicates(double[] cand, long range, int k) 
+		throws DMLRuntimeException
+	{
+		int m = cand.length;
+		boolean[] dups = new boolean[m];
+		
+		//partition candidate positions by value ranges
+		int[] ptr = new int[k+1];
+		for( int i=0; i<m; i++ )
+			ptr[getValuePartition(cand[i], range, k)+1]++;
+		for( int p=0; p<k; p++ )
+			ptr[p+1] += ptr[p];
+		int[] pos = Arrays.copyOf(ptr, k);
+		int[] ix = new int[m];
+		for( int i=0; i<m; i++ )
+			ix[pos[getValuePartition(cand[i], range, k)]++] = i;
+		
+		//mark all but the first occurrence of each value
+		ArrayList<SampleDedupTask> tasks = new ArrayList<SampleDedupTask>();
+		for( int p=0; p<k; p++ )
+			if( ptr[p+1] > ptr[p] )
+				tasks.add(new SampleDedupTask(cand, ix, dups, ptr[p], ptr[p+1]));
+		executeTasks(tasks, k);
+		
+		return dups;
+	}
+	
+	private static int getValuePartition(double val, long range, int k) {
+		return (int)((val-1) * k / range);
+	}
+	
+	private static void executeTasks(List<? extends Callable<Object>> tasks, int k) 
+		throws DMLRuntimeException
+	{
+		try {
+			if( k <= 1 || tasks.size() <= 1 ) {
+				for( Callable<Object> task : tasks )
+					task.call();
 			}
-			
-			// randomize the sample (Algorithm P from Knuth's ACP)
-			// -- needed especially when the differnce between range and size is small)
-			double tmp;
-			int idx;
-			for(int i=size-1; i >= 1; i--) 
-			{
-				idx = rand.nextInt(i);
-				// swap i^th and idx^th entries
-				tmp = out.getValueDenseUnsafe(idx, 0);
-				out.setValueDenseUnsafe(idx, 0, out.getValueDenseUnsafe(i, 0));
-				out.setValueDenseUnsafe(i, 0, tmp);
+			else {
+				ExecutorService pool = Executors.newFixedThreadPool(k);
+				List<Future<Object>> ret = pool.invokeAll(tasks);
+				pool.shutdown();
+				
+				//exception propagation in case not all tasks successful
+				for(Future<Object> rc : ret) 
+					rc.get();
 			}
-	
-		}
-		else 
-		{
-			Random r = new Random(seed);
-			for(int i=0; i < size; i++) 
-				out.setValueDenseUnsafe(i, 0, 1+nextLong(r, range) );
+		} 
+		catch (Exception e) {
+			throw new DMLRuntimeException(e);
 		}
-		
-		out.recomputeNonZeros();
-		out.examSparsity();
 	}
 
+	private static void generateConstantMatrix(MatrixBlock out, double val) {
+		//represent equal values as constant block w/o materializing the cells
+		//(except for blocks that exceed a single dense array)
+		if( (long)out.rlen * out.clen <= DenseBlockFactory.MAX_ALLOC )
+			out.allocateConstantBlock(val);
+		else
+			out.reset(out.rlen, out.clen, val);
+	}
+	
 	private static long[] generateSeedsForCP(Well1024a bigrand, int nrb, int ncb)
 	{
 		int numBlocks = nrb * ncb;
@@ -609,7 +795,7 @@ public class LibMatrixDatagen
 				}
 				else {
 					if (sparsity == 1.0) {
-						double[] c = out.denseBlock;
+						double[] c = out.getDenseBlockValues();
 						int cix = rowoffset*cols + coloffset;
 						for(int ii = 0; ii < blockrows; ii++, cix+=cols)
 							for(int jj = 0; jj < blockcols; jj++)
@@ -637,7 +823,7 @@ public class LibMatrixDatagen
 							}
 						}
 						else {
-							double[] c = out.denseBlock;
+							double[] c = out.getDenseBlockValues();
 							int cix = rowoffset*cols + coloffset;
 							for(int ii = 0; ii < blockrows; ii++, cix+=cols)
 								for(int jj = 0; jj < blockcols; jj++)
@@ -657,22 +843,6 @@ public class LibMatrixDatagen
 			throw new DMLRuntimeException("Invalid matrix characteristics: "+rows+"x"+cols+", "+sp);
 	}
 	
-	// modified version of java.util.nextInt
-    private static long nextLong(Random r, long n) {
-        if (n <= 0)
-            throw new IllegalArgumentException("n must be positive");
-
-        //if ((n & -n) == n)  // i.e., n is a power of 2
-        //    return ((n * (long)r.nextLong()) >> 31);
-
-        long bits, val;
-        do {
-            bits = (r.nextLong() << 1) >>> 1;
-            val = bits % n;
-        } while (bits - val + (n-1) < 0L);
-        return val;
-    }
-
 	private static class RandTask implements Callable<Object> 
 	{
 		private int _rl = -1;
@@ -706,4 +876,156 @@ public class LibMatrixDatagen
 			return null;
 		}
 	}
+
+	private static class SeqTask implements Callable<Object> 
+	{
+		private final double[] _c;
+		private final double _from;
+		private final double _incr;
+		private final int _rl;
+		private final int _ru;
+		
+		public SeqTask(double[] c, double from, double incr, int rl, int ru) {
+			_c = c;
+			_from = from;
+			_incr = incr;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() {
+			generateSequence(_c, _from, _incr, _rl, _ru);
+			return null;
+		}
+	}
+	
+	private static class SampleTask implements Callable<Object> 
+	{
+		private final double[] _c;
+		private final int _size;
+		private final long _range;
+		private final long _seed;
+		private final int _bl;
+		private final int _bu;
+		
+		public SampleTask(double[] c, int size, long range, long seed, int bl, int bu) {
+			_c = c;
+			_size = size;
+			_range = range;
+			_seed = seed;
+			_bl = bl;
+			_bu = bu;
+		}
+		
+		@Override
+		public Object call() {
+			SplittablePRNGenerator rng = new SplittablePRNGenerator();
+			for( int b=_bl; b<_bu; b++ ) {
+				rng.setSeed(SplittablePRNGenerator.getBlockSeed(_seed, b));
+				int ru = (int)Math.min((long)(b+1)*SAMPLE_BLOCKSIZE, _size);
+				for( int i=b*SAMPLE_BLOCKSIZE; i<ru; i++ )
+					_c[i] = 1 + rng.nextLong(_range);
+			}
+			return null;
+		}
+	}
+	
+	private static class SampleKeysTask implements Callable<Object> 
+	{
+		private final long _range;
+		private final long _seed;
+		private final double _threshold;
+		private final int _bl;
+		private final int _bu;
+		private double[] _keys = null;
+		private long[] _vals = null;
+		private int _len = 0;
+		
+		public SampleKeysTask(long range, long seed, double threshold, int bl, int bu) {
+			_range = range;
+			_seed = seed;
+			_threshold = threshold;
+			_bl = bl;
+			_bu = bu;
+		}
+		
+		public double[] getKeys() {
+			return _keys;
+		}
+		
+		public long[] getValues() {
+			return _vals;
+		}
+		
+		public int getLength() {
+			return _len;
+		}
+		
+		@Override
+		public Object call() {
+			long rl = (long)_bl*SAMPLE_BLOCKSIZE;
+			long ru = Math.min((long)_bu*SAMPLE_BLOCKSIZE, _range);
+			int estlen = (int)Math.min(Integer.MAX_VALUE, (long)(1.1*_threshold*(ru-rl)) + 16);
+			_keys = new double[estlen];
+			_vals = new long[estlen];
+			
+			SplittablePRNGenerator rng = new SplittablePRNGenerator();
+			for( int b=_bl; b<_bu; b++ ) {
+				rng.setSeed(SplittablePRNGenerator.getBlockSeed(_seed, b));
+				long bu = Math.min((long)(b+1)*SAMPLE_BLOCKSIZE, _range);
+				for( long i=(long)b*SAMPLE_BLOCKSIZE; i<bu; i++ ) {
+					double key = rng.nextDouble();
+					if( key >= _threshold )
+						continue;
+					if( _len == _keys.length ) {
+						_keys = Arrays.copyOf(_keys, 2*_len);
+						_vals = Arrays.copyOf(_vals, 2*_len);
+					}
+					_keys[_len] = key;
+					_vals[_len++] = i + 1;
+				}
+			}
+			return null;
+		}
+	}
+	
+	private static class SampleDedupTask implements Callable<Object> 
+	{
+		private final double[] _cand;
+		private final int[] _ix;
+		private final boolean[] _dups;
+		private final int _rl;
+		private final int _ru;
+		
+		public SampleDedupTask(double[] cand, int[] ix, boolean[] dups, int rl, int ru) {
+			_cand = cand;
+			_ix = ix;
+			_dups = dups;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() {
+			//sort positions of the partition by value 
+			int len = _ru - _rl;
+			double[] vals = new double[len];
+			int[] ix = Arrays.copyOfRange(_ix, _rl, _ru);
+			for( int i=0; i<len; i++ )
+				vals[i] = _cand[ix[i]];
+			SortUtils.sortByValue(0, len, vals, ix);
+			
+			//mark all but the first position of each run of equal values
+			for( int i=0; i<len; ) {
+				int j = i, first = ix[i];
+				while( j+1 < len && vals[j+1] == vals[i] )
+					first = Math.min(first, ix[++j]);
+				for( int l=i; l<=j; l++ )
+					_dups[ix[l]] = (ix[l] != first);
+				i = j + 1;
+			}
+			return null;
+		}
+	}
 }
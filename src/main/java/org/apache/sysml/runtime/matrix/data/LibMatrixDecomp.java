@@ -0,0 +1,1239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.util.DataConverter;
+
+/**
+ * Library for native dense matrix decompositions and solvers, which operate 
+ * directly on row-major double arrays instead of commons-math matrix copies.
+ * 
+ * This library currently supports the following operations:
+ *  - LU decomposition (blocked, right-looking, partial pivoting)
+ *  - QR decomposition (blocked Householder, compact WY representation)
+ *  - Cholesky decomposition (blocked, right-looking)
+ *  - Eigen decomposition of symmetric matrices (Householder tridiagonalization
+ *    and implicit QL iterations)
+ *  - solve and inverse (via LU for square, via QR for rectangular inputs)
+ * 
+ * All trailing matrix updates are partitioned into independent row or column 
+ * ranges, which are processed in a multi-threaded manner for large inputs. 
+ * The results are compatible with the previously used commons-math 
+ * decompositions (e.g., Householder vectors and R of QR, permutation of LU).
+ */
+public class LibMatrixDecomp 
+{
+	//internal configuration
+	public static final int BLOCKSIZE = 32;                      //panel width
+	public static final int BLOCKSIZE_J = 1024;                  //column block for trailing updates
+	public static final long PAR_NUMCELL_THRESHOLD = 64*1024;    //Min 64K trailing cells
+	private static final double SYMMETRY_THRESHOLD = 1e-15;      //relative (cholesky)
+	private static final double POSITIVITY_THRESHOLD = 1e-10;    //absolute (cholesky)
+	private static final double SINGULARITY_THRESHOLD = 1e-11;   //absolute (lu)
+	private static final double EPSILON = Math.pow(2, -52);      //machine precision
+	private static final int MAX_QL_ITERATIONS = 30;             //per eigenvalue
+	
+	private LibMatrixDecomp() {
+		//prevent instantiation via private constructor
+	}
+	
+	/**
+	 * LU decomposition with partial pivoting of a square matrix A such that 
+	 * P %*% A = L %*% U, where L is unit lower triangular.
+	 * 
+	 * @param in square input matrix
+	 * @param k number of threads
+	 * @return array of matrix blocks P, L, and U
+	 * @throws DMLRuntimeException if the input is rectangular or singular
+	 */
+	public static MatrixBlock[] computeLU(MatrixBlock in, int k) 
+		throws DMLRuntimeException 
+	{
+		if( in.getNumRows() != in.getNumColumns() ) {
+			throw new DMLRuntimeException("LU Decomposition can only be done on a square matrix. Input matrix is rectangular (rows=" + in.getNumRows() + ", cols="+ in.getNumColumns() +")");
+		}
+		
+		//in-place lu decomposition on dense copy of input
+		final int n = in.getNumRows();
+		double[] a = DataConverter.convertToDoubleVector(in);
+		int[] piv = new int[n];
+		ExecutorService pool = createThreadPool(n, n, k);
+		try {
+			decomposeLU(a, n, piv, SINGULARITY_THRESHOLD, pool, k);
+		}
+		finally {
+			if( pool != null )
+				pool.shutdown();
+		}
+		
+		//extract permutation, unit lower and upper triangular matrices
+		double[] p = new double[n*n];
+		double[] l = new double[n*n];
+		for( int i=0, ix=0; i<n; i++, ix+=n ) {
+			p[ix+piv[i]] = 1;
+			System.arraycopy(a, ix, l, ix, i);
+			l[ix+i] = 1;
+			Arrays.fill(a, ix, ix+i, 0);
+		}
+		
+		return new MatrixBlock[] { createMatrixBlock(p, n, n), 
+			createMatrixBlock(l, n, n), createMatrixBlock(a, n, n) };
+	}
+	
+	/**
+	 * Householder QR decomposition of a matrix A, returning the lower 
+	 * trapezoidal matrix H of Householder vectors and the upper triangular R.
+	 * 
+	 * @param in input matrix
+	 * @param k number of threads
+	 * @return array of matrix blocks H and R
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static MatrixBlock[] computeQR(MatrixBlock in, int k) 
+		throws DMLRuntimeException 
+	{
+		//in-place qr decomposition on transposed dense copy of input
+		final int m = in.getNumRows();
+		final int n = in.getNumColumns();
+		double[] at = transposeToDoubleVector(in);
+		double[] rdiag = new double[Math.min(m, n)];
+		ExecutorService pool = createThreadPool(m, n, k);
+		try {
+			decomposeQR(at, m, n, rdiag, pool, k);
+		}
+		finally {
+			if( pool != null )
+				pool.shutdown();
+		}
+		
+		//extract normalized householder vectors and upper triangular matrix
+		double[] h = new double[m*n];
+		double[] r = new double[m*n];
+		for( int j=0; j<rdiag.length; j++ ) {
+			for( int i=j, jx=j*m; i<m; i++ )
+				h[i*n+j] = at[jx+i] / -rdiag[j];
+			r[j*n+j] = rdiag[j];
+			for( int c=j+1; c<n; c++ )
+				r[j*n+c] = at[c*m+j];
+		}
+		
+		return new MatrixBlock[] { createMatrixBlock(h, m, n), createMatrixBlock(r, m, n) };
+	}
+	
+	/**
+	 * Cholesky decomposition of a symmetric positive definite matrix A 
+	 * such that A = L %*% t(L), where L is lower triangular.
+	 * 
+	 * @param in square, symmetric, positive definite input matrix
+	 * @param k number of threads
+	 * @return lower triangular matrix block L
+	 * @throws DMLRuntimeException if the input is not square, symmetric or positive definite
+	 */
+	public static MatrixBlock computeCholesky(MatrixBlock in, int k) 
+		throws DMLRuntimeException 
+	{
+		if( in.getNumRows() != in.getNumColumns() )
+			throw new DMLRuntimeException("Input to cholesky() must be square matrix -- given: a " + in.getNumRows() + "x" + in.getNumColumns() + " matrix.");
+		
+		//symmetric blocks (e.g., outputs of tsmm) are symmetric by construction
+		final int n = in.getNumRows();
+		double[] a = DataConverter.convertToDoubleVector(in);
+		if( !in.isSymmetric() && !isSymmetric(a, n, SYMMETRY_THRESHOLD) )
+			throw new DMLRuntimeException("Input to cholesky() must be a symmetric matrix.");
+		
+		//in-place cholesky decomposition (lower triangular part)
+		ExecutorService pool = createThreadPool(n, n, k);
+		try {
+			if( !decomposeCholesky(a, n, pool, k) )
+				throw new DMLRuntimeException("Input to cholesky() must be a positive definite matrix.");
+		}
+		finally {
+			if( pool != null )
+				pool.shutdown();
+		}
+		
+		//clear upper triangular part
+		for( int i=0, ix=0; i<n; i++, ix+=n )
+			Arrays.fill(a, ix+i+1, ix+n, 0);
+		
+		return createMatrixBlock(a, n, n);
+	}
+	
+	/**
+	 * Eigen decomposition of a symmetric matrix A, returning the eigen values 
+	 * in increasing order (column vector) and the corresponding eigen vectors
+	 * (columns), which is compatible with LAPACK DSYEVR.
+	 * 
+	 * @param in square, symmetric input matrix
+	 * @param k number of threads
+	 * @return array of matrix blocks eigen values and eigen vectors
+	 * @throws DMLRuntimeException if the input is not square or the iterations do not converge
+	 */
+	public static MatrixBlock[] computeEigen(MatrixBlock in, int k) 
+		throws DMLRuntimeException 
+	{
+		if( in.getNumRows() != in.getNumColumns() ) {
+			throw new DMLRuntimeException("Eigen Decomposition can only be done on a square matrix. Input matrix is rectangular (rows=" + in.getNumRows() + ", cols="+ in.getNumColumns() +")");
+		}
+		
+		final int n = in.getNumRows();
+		double[] a = DataConverter.convertToDoubleVector(in);
+		double[] d = new double[n];
+		double[] e = new double[n];
+		double[] v = null;
+		ExecutorService pool = createThreadPool(n, n, k);
+		try {
+			//reduce to symmetric tridiagonal form and accumulate transformations
+			v = tridiagonalize(a, n, d, e, pool, k);
+			a = null;
+			
+			//implicit QL iterations on tridiagonal matrix
+			tridiagonalQL(d, e, v, n, pool, k);
+		}
+		finally {
+			if( pool != null )
+				pool.shutdown();
+		}
+		
+		//sort eigen values (and vectors) in increasing order
+		for( int i=0; i<n-1; i++ ) {
+			int pos = i;
+			double p = d[i];
+			for( int j=i+1; j<n; j++ )
+				if( d[j] < p ) {
+					pos = j;
+					p = d[j];
+				}
+			if( pos != i ) {
+				d[pos] = d[i];
+				d[i] = p;
+				for( int j=0, jx=0; j<n; j++, jx+=n ) {
+					p = v[jx+i];
+					v[jx+i] = v[jx+pos];
+					v[jx+pos] = p;
+				}
+			}
+		}
+		
+		return new MatrixBlock[] { createMatrixBlock(d, n, 1), createMatrixBlock(v, n, n) };
+	}
+	
+	/**
+	 * Solves the system of equations A %*% X = B via LU decomposition 
+	 * for square A, and via QR decomposition (least squares) otherwise.
+	 * For symmetric blocks A (e.g., t(X)%*%X of normal equations), we 
+	 * first try the cheaper Cholesky decomposition and fall back to LU 
+	 * if A is not positive definite.
+	 * 
+	 * @param in1 matrix A
+	 * @param in2 matrix B
+	 * @param k number of threads
+	 * @return matrix block X
+	 * @throws DMLRuntimeException if A is singular or the dimensions mismatch
+	 */
+	public static MatrixBlock computeSolve(MatrixBlock in1, MatrixBlock in2, int k) 
+		throws DMLRuntimeException 
+	{
+		final int m = in1.getNumRows();
+		final int n = in1.getNumColumns();
+		final int c = in2.getNumColumns();
+		if( in2.getNumRows() != m )
+			throw new DMLRuntimeException("Dimension mismatch in solve(): A is " 
+				+ m + "x" + n + " but b is " + in2.getNumRows() + "x" + c + ".");
+		
+		double[] b = DataConverter.convertToDoubleVector(in2);
+		ExecutorService pool = createThreadPool(m, n, k);
+		try {
+			if( m == n && in1.isSymmetric() ) {
+				double[] a = DataConverter.convertToDoubleVector(in1);
+				if( decomposeCholesky(a, n, pool, k) ) {
+					solveCholesky(a, n, b, c);
+					return createMatrixBlock(b, n, c);
+				}
+			}
+			if( m == n ) {
+				double[] a = DataConverter.convertToDoubleVector(in1);
+				int[] piv = new int[n];
+				decomposeLU(a, n, piv, 0, pool, k);
+				double[] x = permuteRows(b, piv, c);
+				solveLU(a, n, x, c, pool, k);
+				return createMatrixBlock(x, n, c);
+			}
+			else {
+				double[] at = transposeToDoubleVector(in1);
+				double[] rdiag = new double[Math.min(m, n)];
+				decomposeQR(at, m, n, rdiag, pool, k);
+				return createMatrixBlock(solveQR(at, m, n, rdiag, b, c), n, c);
+			}
+		}
+		finally {
+			if( pool != null )
+				pool.shutdown();
+		}
+	}
+	
+	/**
+	 * Computes the inverse of a square matrix via LU decomposition.
+	 * 
+	 * @param in square input matrix
+	 * @param k number of threads
+	 * @return matrix block of the inverse
+	 * @throws DMLRuntimeException if the input is rectangular or singular
+	 */
+	public static MatrixBlock computeInverse(MatrixBlock in, int k) 
+		throws DMLRuntimeException 
+	{
+		if( in.getNumRows() != in.getNumColumns() )
+			throw new DMLRuntimeException("Input to inv() must be square matrix -- given: a " + in.getNumRows() + "x" + in.getNumColumns() + " matrix.");
+		
+		final int n = in.getNumRows();
+		double[] a = DataConverter.convertToDoubleVector(in);
+		int[] piv = new int[n];
+		ExecutorService pool = createThreadPool(n, n, k);
+		try {
+			decomposeLU(a, n, piv, 0, pool, k);
+			
+			//solve for permuted identity matrix
+			double[] x = new double[n*n];
+			for( int i=0; i<n; i++ )
+				x[i*n+piv[i]] = 1;
+			solveLU(a, n, x, n, pool, k);
+			return createMatrixBlock(x, n, n);
+		}
+		finally {
+			if( pool != null )
+				pool.shutdown();
+		}
+	}
+	
+	/**
+	 * Indicates if the given matrix is symmetric, where the relative threshold
+	 * is used to compare a(i,j) and a(j,i).
+	 * 
+	 * @param in input matrix
+	 * @param eps relative threshold
+	 * @return true if symmetric
+	 */
+	public static boolean isSymmetric(MatrixBlock in, double eps) {
+		if( in.getNumRows() != in.getNumColumns() )
+			return false;
+		if( in.isEmptyBlock(false) || in.isSymmetric() )
+			return true;
+		double[] a = in.isInSparseFormat() ? 
+			DataConverter.convertToDoubleVector(in) : in.getDenseBlockValues();
+		return isSymmetric(a, in.getNumRows(), eps);
+	}
+	
+	///////////////////////////////
+	// LU decomposition
+	///////////////////////////////
+	
+	private static void decomposeLU(double[] a, int n, int[] piv, double threshold, ExecutorService pool, int k) 
+		throws DMLRuntimeException 
+	{
+		for( int i=0; i<n; i++ )
+			piv[i] = i;
+		
+		for( int bi=0; bi<n; bi+=BLOCKSIZE ) {
+			int be = Math.min(bi+BLOCKSIZE, n);
+			
+			//panel factorization with partial pivoting (row swaps over all columns)
+			for( int j=bi; j<be; j++ ) {
+				int p = j;
+				double max = Math.abs(a[j*n+j]);
+				for( int i=j+1, ix=(j+1)*n+j; i<n; i++, ix+=n )
+					if( Math.abs(a[ix]) > max ) {
+						max = Math.abs(a[ix]);
+						p = i;
+					}
+				if( !(max > threshold) )
+					throw new DMLRuntimeException("Matrix is singular (pivot "+max+" in column "+(j+1)+").");
+				if( p != j ) {
+					swapRows(a, n, p, j);
+					int tmp = piv[p]; piv[p] = piv[j]; piv[j] = tmp;
+				}
+				
+				double pv = a[j*n+j];
+				for( int i=j+1, ix=(j+1)*n, jx=j*n; i<n; i++, ix+=n ) {
+					double lij = (a[ix+j] /= pv);
+					if( lij != 0 )
+						for( int c=j+1; c<be; c++ )
+							a[ix+c] -= lij * a[jx+c];
+				}
+			}
+			
+			if( be < n ) {
+				//compute U12 = inv(L11) %*% A12
+				for( int i=bi+1; i<be; i++ )
+					updateTrailingLU(a, n, bi, i, be, i, i+1);
+				
+				//update A22 = A22 - L21 %*% U12 (row partitions)
+				ArrayList<LUUpdateTask> tasks = new ArrayList<LUUpdateTask>();
+				int len = n - be;
+				int nk = getNumTasks(pool, (long)len*len, k, len);
+				int blklen = (int)(Math.ceil((double)len/nk));
+				for( int i=0; i<nk & i*blklen<len; i++ )
+					tasks.add(new LUUpdateTask(a, n, bi, be, be+i*blklen, be+Math.min((i+1)*blklen, len)));
+				executeTasks(pool, tasks);
+			}
+		}
+	}
+	
+	private static void updateTrailingLU(double[] a, int n, int bi, int be, int cl, int rl, int ru) {
+		//cache-conscious column blocks of trailing matrix, shared rows of U12 
+		for( int bj=cl; bj<n; bj+=BLOCKSIZE_J ) {
+			int bje = Math.min(bj+BLOCKSIZE_J, n);
+			for( int i=rl, ix=rl*n; i<ru; i++, ix+=n )
+				for( int r=bi, rx=bi*n; r<be; r++, rx+=n ) {
+					double lir = a[ix+r];
+					if( lir != 0 )
+						for( int j=bj; j<bje; j++ )
+							a[ix+j] -= lir * a[rx+j];
+				}
+		}
+	}
+	
+	private static void solveLU(double[] a, int n, double[] x, int c, ExecutorService pool, int k) 
+		throws DMLRuntimeException 
+	{
+		//forward/backward substitution on independent column partitions of x
+		ArrayList<LUSolveTask> tasks = new ArrayList<LUSolveTask>();
+		int nk = getNumTasks(pool, (long)n*c, k, c);
+		int blklen = (int)(Math.ceil((double)c/nk));
+		for( int i=0; i<nk & i*blklen<c; i++ )
+			tasks.add(new LUSolveTask(a, n, x, c, i*blklen, Math.min((i+1)*blklen, c)));
+		executeTasks(pool, tasks);
+	}
+	
+	private static void solveLU(double[] a, int n, double[] x, int c, int cl, int cu) {
+		//forward substitution with unit lower triangular L
+		for( int i=1, ix=n; i<n; i++, ix+=n ) {
+			int xix = i*c;
+			for( int j=0; j<i; j++ ) {
+				double lij = a[ix+j];
+				if( lij != 0 )
+					for( int q=cl, xjx=j*c; q<cu; q++ )
+						x[xix+q] -= lij * x[xjx+q];
+			}
+		}
+		
+		//backward substitution with upper triangular U
+		for( int i=n-1, ix=(n-1)*n; i>=0; i--, ix-=n ) {
+			int xix = i*c;
+			for( int j=i+1; j<n; j++ ) {
+				double uij = a[ix+j];
+				if( uij != 0 )
+					for( int q=cl, xjx=j*c; q<cu; q++ )
+						x[xix+q] -= uij * x[xjx+q];
+			}
+			double uii = a[ix+i];
+			for( int q=cl; q<cu; q++ )
+				x[xix+q] /= uii;
+		}
+	}
+	
+	///////////////////////////////
+	// QR decomposition
+	///////////////////////////////
+	
+	private static void decomposeQR(double[] at, int m, int n, double[] rdiag, ExecutorService pool, int k) 
+		throws DMLRuntimeException 
+	{
+		//note: columns of A are contiguous rows of at, Householder
+		//vectors v_j are stored in-place at at[j, j:m]
+		final int minmn = Math.min(m, n);
+		for( int bi=0; bi<minmn; bi+=BLOCKSIZE ) {
+			int be = Math.min(bi+BLOCKSIZE, minmn);
+			
+			//panel factorization (unblocked Householder reflections)
+			for( int j=bi; j<be; j++ ) {
+				int jx = j*m;
+				double xnorm = 0;
+				for( int r=j; r<m; r++ )
+					xnorm += at[jx+r] * at[jx+r];
+				double a = (at[jx+j] > 0) ? -Math.sqrt(xnorm) : Math.sqrt(xnorm);
+				rdiag[j] = a;
+				if( a != 0 ) {
+					at[jx+j] -= a; //now |v|^2 = -2a*v_j
+					for( int c=j+1; c<be; c++ )
+						applyReflectorQR(at, m, j, a, c);
+				}
+			}
+			
+			//apply block reflector t(I - V T t(V)) to trailing columns
+			if( be < n ) {
+				double[] T = computeBlockReflectorQR(at, m, rdiag, bi, be);
+				double[] V = Arrays.copyOfRange(at, bi*m, be*m);
+				ArrayList<QRUpdateTask> tasks = new ArrayList<QRUpdateTask>();
+				int len = n - be;
+				int nk = getNumTasks(pool, (long)len*(m-bi), k, len);
+				int blklen = (int)(Math.ceil((double)len/nk));
+				for( int i=0; i<nk & i*blklen<len; i++ )
+					tasks.add(new QRUpdateTask(at, m, V, T, bi, be, be+i*blklen, be+Math.min((i+1)*blklen, len)));
+				executeTasks(pool, tasks);
+			}
+		}
+	}
+	
+	private static void applyReflectorQR(double[] at, int m, int j, double a, int c) {
+		int jx = j*m, cx = c*m;
+		double alpha = 0;
+		for( int r=j; r<m; r++ )
+			alpha -= at[cx+r] * at[jx+r];
+		alpha /= a * at[jx+j];
+		for( int r=j; r<m; r++ )
+			at[cx+r] -= alpha * at[jx+r];
+	}
+	
+	private static double[] computeBlockReflectorQR(double[] at, int m, double[] rdiag, int bi, int be) {
+		//upper triangular T such that P_bi ... P_be-1 = I - V T t(V)
+		final int nb = be - bi;
+		double[] T = new double[nb*nb];
+		double[] tmp = new double[nb];
+		for( int j=0; j<nb; j++ ) {
+			int jx = (bi+j)*m;
+			double beta = (rdiag[bi+j] != 0) ? -1 / (rdiag[bi+j] * at[jx+bi+j]) : 0;
+			T[j*nb+j] = beta;
+			if( beta == 0 )
+				continue;
+			//tmp = t(V[,1:j-1]) %*% v_j
+			for( int l=0; l<j; l++ ) {
+				double sum = 0;
+				for( int r=bi+j, lx=(bi+l)*m; r<m; r++ )
+					sum += at[lx+r] * at[jx+r];
+				tmp[l] = sum;
+			}
+			//T[1:j-1,j] = -beta * T[1:j-1,1:j-1] %*% tmp
+			for( int i=0; i<j; i++ ) {
+				double sum = 0;
+				for( int l=i; l<j; l++ )
+					sum += T[i*nb+l] * tmp[l];
+				T[i*nb+j] = -beta * sum;
+			}
+		}
+		return T;
+	}
+	
+	private static void applyBlockReflectorQR(double[] at, int m, double[] V, double[] T, int bi, int be, int cl, int cu) {
+		final int nb = be - bi;
+		final int bn = 4; //columns per block
+		double[] w = new double[nb*bn];
+		for( int c=cl; c<cu; c+=bn ) {
+			int len = Math.min(bn, cu-c);
+			//w = t(V) %*% A[,c:c+len], with shared scan of v_l over all columns
+			for( int l=0; l<nb; l++ ) {
+				int lx = l*m;
+				if( len == 4 ) {
+					int c0 = c*m, c1 = c0+m, c2 = c1+m, c3 = c2+m;
+					double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+					for( int r=bi+l; r<m; r++ ) {
+						double v = V[lx+r];
+						s0 += v * at[c0+r];
+						s1 += v * at[c1+r];
+						s2 += v * at[c2+r];
+						s3 += v * at[c3+r];
+					}
+					w[l] = s0; w[nb+l] = s1; w[2*nb+l] = s2; w[3*nb+l] = s3;
+				}
+				else
+					for( int q=0; q<len; q++ )
+						w[q*nb+l] = dot(V, at, lx+bi+l, (c+q)*m+bi+l, m-bi-l);
+			}
+			//w = t(T) %*% w (in-place from back to front)
+			for( int q=0, qx=0; q<len; q++, qx+=nb )
+				for( int j=nb-1; j>=0; j-- ) {
+					double sum = 0;
+					for( int i=0; i<=j; i++ )
+						sum += T[i*nb+j] * w[qx+i];
+					w[qx+j] = sum;
+				}
+			//A[,c:c+len] = A[,c:c+len] - V %*% w
+			for( int l=0; l<nb; l++ ) {
+				int lx = l*m;
+				if( len == 4 ) {
+					int c0 = c*m, c1 = c0+m, c2 = c1+m, c3 = c2+m;
+					double w0 = w[l], w1 = w[nb+l], w2 = w[2*nb+l], w3 = w[3*nb+l];
+					for( int r=bi+l; r<m; r++ ) {
+						double v = V[lx+r];
+						at[c0+r] -= w0 * v;
+						at[c1+r] -= w1 * v;
+						at[c2+r] -= w2 * v;
+						at[c3+r] -= w3 * v;
+					}
+				}
+				else
+					for( int q=0; q<len; q++ ) {
+						double wl = w[q*nb+l];
+						if( wl != 0 )
+							for( int r=bi+l, cx=(c+q)*m; r<m; r++ )
+								at[cx+r] -= wl * V[lx+r];
+					}
+			}
+		}
+	}
+	
+	private static double[] solveQR(double[] at, int m, int n, double[] rdiag, double[] b, int c) 
+		throws DMLRuntimeException 
+	{
+		final int minmn = rdiag.length;
+		for( int j=0; j<minmn; j++ )
+			if( rdiag[j] == 0 )
+				throw new DMLRuntimeException("Matrix is singular (zero diagonal of R in column "+(j+1)+").");
+		
+		//apply Householder reflections, y = t(Q) %*% b
+		double[] alpha = new double[c];
+		for( int j=0, jx=0; j<minmn; j++, jx+=m ) {
+			double factor = 1.0 / (rdiag[j] * at[jx+j]);
+			Arrays.fill(alpha, 0);
+			for( int r=j; r<m; r++ ) {
+				double d = at[jx+r];
+				for( int q=0, rx=r*c; q<c; q++ )
+					alpha[q] += d * b[rx+q];
+			}
+			for( int q=0; q<c; q++ )
+				alpha[q] *= factor;
+			for( int r=j; r<m; r++ ) {
+				double d = at[jx+r];
+				for( int q=0, rx=r*c; q<c; q++ )
+					b[rx+q] += alpha[q] * d;
+			}
+		}
+		
+		//backward substitution, R %*% x = y
+		double[] x = new double[n*c];
+		for( int j=minmn-1; j>=0; j-- ) {
+			int jx = j*m, bjx = j*c;
+			for( int q=0; q<c; q++ ) {
+				b[bjx+q] /= rdiag[j];
+				x[bjx+q] = b[bjx+q];
+			}
+			for( int i=0; i<j; i++ ) {
+				double rij = at[jx+i];
+				for( int q=0, bix=i*c; q<c; q++ )
+					b[bix+q] -= b[bjx+q] * rij;
+			}
+		}
+		return x;
+	}
+	
+	///////////////////////////////
+	// Cholesky decomposition
+	///////////////////////////////
+	
+	private static boolean decomposeCholesky(double[] a, int n, ExecutorService pool, int k) 
+		throws DMLRuntimeException 
+	{
+		for( int bi=0; bi<n; bi+=BLOCKSIZE ) {
+			int be = Math.min(bi+BLOCKSIZE, n);
+			
+			//factor diagonal block L11 (left-looking within block)
+			for( int j=bi, jx=bi*n; j<be; j++, jx+=n ) {
+				double s = a[jx+j];
+				for( int l=bi; l<j; l++ )
+					s -= a[jx+l] * a[jx+l];
+				if( s <= POSITIVITY_THRESHOLD )
+					return false; //not positive definite
+				a[jx+j] = Math.sqrt(s);
+				for( int i=j+1, ix=(j+1)*n; i<be; i++, ix+=n )
+					a[ix+j] = (a[ix+j] - dot(a, a, ix+bi, jx+bi, j-bi)) / a[jx+j];
+			}
+			
+			if( be < n ) {
+				//compute L21 = A21 %*% inv(t(L11)) (row partitions)
+				int len = n - be;
+				int nk = getNumTasks(pool, (long)len*len, k, len);
+				int blklen = (int)(Math.ceil((double)len/nk));
+				ArrayList<CholeskyTask> tasks = new ArrayList<CholeskyTask>();
+				for( int i=0; i<nk & i*blklen<len; i++ )
+					tasks.add(new CholeskyTask(a, n, bi, be, be+i*blklen, be+Math.min((i+1)*blklen, len), false));
+				executeTasks(pool, tasks);
+				
+				//update lower triangle A22 = A22 - L21 %*% t(L21) (balanced row 
+				//partitions, where the work per row increases linearly)
+				tasks.clear();
+				for( int i=0, rl=be; i<nk & rl<n; i++ ) {
+					int ru = (i==nk-1) ? n : be + (int)Math.ceil(len * Math.sqrt((double)(i+1)/nk));
+					tasks.add(new CholeskyTask(a, n, bi, be, rl, Math.min(ru, n), true));
+					rl = ru;
+				}
+				executeTasks(pool, tasks);
+			}
+		}
+		return true;
+	}
+	
+	private static void solveCholesky(double[] a, int n, double[] x, int c) {
+		//forward substitution with lower triangular L
+		for( int i=0, ix=0; i<n; i++, ix+=n ) {
+			int xix = i*c;
+			for( int j=0; j<i; j++ ) {
+				double lij = a[ix+j];
+				if( lij != 0 )
+					for( int q=0, xjx=j*c; q<c; q++ )
+						x[xix+q] -= lij * x[xjx+q];
+			}
+			double lii = a[ix+i];
+			for( int q=0; q<c; q++ )
+				x[xix+q] /= lii;
+		}
+		
+		//backward substitution with upper triangular t(L), 
+		//column-oriented in order to scan rows of L
+		for( int i=n-1, ix=(n-1)*n; i>=0; i--, ix-=n ) {
+			int xix = i*c;
+			double lii = a[ix+i];
+			for( int q=0; q<c; q++ )
+				x[xix+q] /= lii;
+			for( int j=0; j<i; j++ ) {
+				double lij = a[ix+j];
+				if( lij != 0 )
+					for( int q=0, xjx=j*c; q<c; q++ )
+						x[xjx+q] -= lij * x[xix+q];
+			}
+		}
+	}
+	
+	private static void solvePanelCholesky(double[] a, int n, int bi, int be, int rl, int ru) {
+		for( int i=rl, ix=rl*n; i<ru; i++, ix+=n )
+			for( int j=bi, jx=bi*n; j<be; j++, jx+=n )
+				a[ix+j] = (a[ix+j] - dot(a, a, ix+bi, jx+bi, j-bi)) / a[jx+j];
+	}
+	
+	private static void updateTrailingCholesky(double[] a, int n, int bi, int be, int rl, int ru) {
+		final int nb = be - bi;
+		for( int i=rl, ix=rl*n; i<ru; i++, ix+=n )
+			for( int j=be, jx=be*n; j<=i; j++, jx+=n )
+				a[ix+j] -= dot(a, a, ix+bi, jx+bi, nb);
+	}
+	
+	///////////////////////////////
+	// Symmetric eigen decomposition
+	///////////////////////////////
+	
+	private static double[] tridiagonalize(double[] a, int n, double[] d, double[] e, ExecutorService pool, int k) 
+		throws DMLRuntimeException 
+	{
+		//Householder reduction A = Q T t(Q), where v_j is stored in-place at a[j, j+1:n]
+		double[] beta = new double[n];
+		double[] p = new double[n];
+		for( int j=0; j<n-2; j++ ) {
+			int jx = j*n;
+			d[j] = a[jx+j];
+			double xnorm = 0;
+			for( int c=j+1; c<n; c++ )
+				xnorm += a[jx+c] * a[jx+c];
+			double alpha = (a[jx+j+1] > 0) ? -Math.sqrt(xnorm) : Math.sqrt(xnorm);
+			e[j] = alpha;
+			if( alpha == 0 )
+				continue;
+			a[jx+j+1] -= alpha;
+			beta[j] = -1 / (alpha * a[jx+j+1]);
+			
+			//p = beta * S %*% v, for trailing submatrix S (row partitions)
+			int len = n - j - 1;
+			int nk = getNumTasks(pool, (long)len*len, k, len);
+			int blklen = (int)(Math.ceil((double)len/nk));
+			ArrayList<TridiagTask> tasks = new ArrayList<TridiagTask>();
+			for( int i=0; i<nk & i*blklen<len; i++ )
+				tasks.add(new TridiagTask(a, n, j, beta[j], p, j+1+i*blklen, j+1+Math.min((i+1)*blklen, len), false));
+			executeTasks(pool, tasks);
+			
+			//w = p - (beta/2 * t(v) %*% p) * v
+			double K = beta[j] / 2 * dot(a, p, jx+j+1, j+1, len);
+			for( int c=j+1; c<n; c++ )
+				p[c] -= K * a[jx+c];
+			
+			//S = S - v %*% t(w) - w %*% t(v)
+			for( TridiagTask task : tasks )
+				task.setUpdate();
+			executeTasks(pool, tasks);
+		}
+		if( n >= 2 ) {
+			d[n-2] = a[(n-2)*n+n-2];
+			e[n-2] = a[(n-1)*n+n-2];
+		}
+		d[n-1] = a[n*n-1];
+		e[n-1] = 0;
+		
+		//backward accumulation of Q = H_0 ... H_n-3 (column partitions)
+		double[] q = new double[n*n];
+		for( int i=0; i<n; i++ )
+			q[i*n+i] = 1;
+		for( int j=n-3; j>=0; j-- ) {
+			if( beta[j] == 0 )
+				continue;
+			int len = n - j - 1;
+			int nk = getNumTasks(pool, (long)len*len, k, len);
+			int blklen = (int)(Math.ceil((double)len/nk));
+			ArrayList<EigenAccumTask> tasks = new ArrayList<EigenAccumTask>();
+			for( int i=0; i<nk & i*blklen<len; i++ )
+				tasks.add(new EigenAccumTask(a, q, n, j, beta[j], j+1+i*blklen, j+1+Math.min((i+1)*blklen, len)));
+			executeTasks(pool, tasks);
+		}
+		
+		return q;
+	}
+	
+	private static void multiplyTrailingTridiag(double[] a, int n, int j, double beta, double[] p, int rl, int ru) {
+		int len = n - j - 1;
+		for( int i=rl, ix=rl*n; i<ru; i++, ix+=n )
+			p[i] = beta * dot(a, a, ix+j+1, j*n+j+1, len);
+	}
+	
+	private static void updateTrailingTridiag(double[] a, int n, int j, double[] w, int rl, int ru) {
+		int jx = j*n;
+		for( int i=rl, ix=rl*n; i<ru; i++, ix+=n ) {
+			double vi = a[jx+i];
+			double wi = w[i];
+			for( int c=j+1; c<n; c++ )
+				a[ix+c] -= vi * w[c] + wi * a[jx+c];
+		}
+	}
+	
+	private static void accumulateTridiag(double[] a, double[] q, int n, int j, double beta, int cl, int cu) {
+		int jx = j*n;
+		double[] z = new double[cu-cl];
+		for( int r=j+1, rx=(j+1)*n; r<n; r++, rx+=n ) {
+			double vr = a[jx+r];
+			if( vr != 0 )
+				for( int c=cl; c<cu; c++ )
+					z[c-cl] += vr * q[rx+c];
+		}
+		for( int r=j+1, rx=(j+1)*n; r<n; r++, rx+=n ) {
+			double vr = beta * a[jx+r];
+			if( vr != 0 )
+				for( int c=cl; c<cu; c++ )
+					q[rx+c] -= vr * z[c-cl];
+		}
+	}
+	
+	private static void tridiagonalQL(double[] d, double[] e, double[] v, int n, ExecutorService pool, int k) 
+		throws DMLRuntimeException 
+	{
+		//implicit QL iterations with Wilkinson shifts (see EISPACK tql2),
+		//where each sweep's rotations are recorded and applied to row partitions
+		double[] cs = new double[n];
+		double[] sn = new double[n];
+		double f = 0;
+		double tst1 = 0;
+		for( int l=0; l<n; l++ ) {
+			//find small subdiagonal element
+			tst1 = Math.max(tst1, Math.abs(d[l]) + Math.abs(e[l]));
+			int m = l;
+			while( m < n-1 && Math.abs(e[m]) > EPSILON*tst1 )
+				m++;
+			
+			//if m == l, d[l] is an eigenvalue, otherwise iterate
+			if( m > l ) {
+				int iter = 0;
+				do {
+					if( ++iter > MAX_QL_ITERATIONS )
+						throw new DMLRuntimeException("Eigen decomposition did not converge after "
+							+ MAX_QL_ITERATIONS + " iterations for eigen value "+(l+1)+".");
+					
+					//compute implicit shift
+					double g = d[l];
+					double p = (d[l+1] - g) / (2 * e[l]);
+					double r = hypot(p, 1);
+					if( p < 0 )
+						r = -r;
+					d[l] = e[l] / (p + r);
+					d[l+1] = e[l] * (p + r);
+					double dl1 = d[l+1];
+					double h = g - d[l];
+					for( int i=l+2; i<n; i++ )
+						d[i] -= h;
+					f += h;
+					
+					//implicit QL transformation
+					p = d[m];
+					double c = 1, c2 = 1, c3 = 1;
+					double el1 = e[l+1];
+					double s = 0, s2 = 0;
+					for( int i=m-1; i>=l; i-- ) {
+						c3 = c2;
+						c2 = c;
+						s2 = s;
+						g = c * e[i];
+						h = c * p;
+						r = hypot(p, e[i]);
+						e[i+1] = s * r;
+						s = e[i] / r;
+						c = p / r;
+						p = c * d[i] - s * g;
+						d[i+1] = h + s * (c * g + s * d[i]);
+						cs[i] = c;
+						sn[i] = s;
+					}
+					
+					//accumulate transformation (row partitions)
+					int nk = getNumTasks(pool, (long)n*(m-l), k, n);
+					int blklen = (int)(Math.ceil((double)n/nk));
+					ArrayList<EigenRotateTask> tasks = new ArrayList<EigenRotateTask>();
+					for( int i=0; i<nk & i*blklen<n; i++ )
+						tasks.add(new EigenRotateTask(v, n, cs, sn, l, m, i*blklen, Math.min((i+1)*blklen, n)));
+					executeTasks(pool, tasks);
+					
+					p = -s * s2 * c3 * el1 * e[l] / dl1;
+					e[l] = s * p;
+					d[l] = c * p;
+				}
+				while( Math.abs(e[l]) > EPSILON*tst1 );
+			}
+			d[l] = d[l] + f;
+			e[l] = 0;
+		}
+	}
+	
+	private static void applyRotations(double[] v, int n, double[] cs, double[] sn, int l, int m, int rl, int ru) {
+		for( int k=rl, kx=rl*n; k<ru; k++, kx+=n )
+			for( int i=m-1; i>=l; i-- ) {
+				double h = v[kx+i+1];
+				v[kx+i+1] = sn[i] * v[kx+i] + cs[i] * h;
+				v[kx+i] = cs[i] * v[kx+i] - sn[i] * h;
+			}
+	}
+	
+	///////////////////////////////
+	// Utility functions
+	///////////////////////////////
+	
+	private static ExecutorService createThreadPool(int m, int n, int k) {
+		return (k > 1 && (long)m*n >= PAR_NUMCELL_THRESHOLD) ?
+			Executors.newFixedThreadPool(k) : null;
+	}
+	
+	private static int getNumTasks(ExecutorService pool, long cells, int k, int len) {
+		return (pool != null && cells >= PAR_NUMCELL_THRESHOLD) ? 
+			Math.max(Math.min(k, len), 1) : 1;
+	}
+	
+	private static void executeTasks(ExecutorService pool, ArrayList<? extends Callable<Object>> tasks) 
+		throws DMLRuntimeException 
+	{
+		try {
+			if( tasks.size() == 1 )
+				tasks.get(0).call();
+			else
+				for( Future<Object> task : pool.invokeAll(tasks) )
+					task.get();
+		}
+		catch(DMLRuntimeException ex) {
+			throw ex;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private static MatrixBlock createMatrixBlock(double[] data, int m, int n) 
+		throws DMLRuntimeException 
+	{
+		MatrixBlock ret = new MatrixBlock(m, n, false);
+		ret.denseBlock = DenseBlockFactory.createDenseBlock(data, m, n);
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		return ret;
+	}
+	
+	private static double[] transposeToDoubleVector(MatrixBlock in) {
+		final int m = in.getNumRows();
+		final int n = in.getNumColumns();
+		double[] ret = new double[m*n];
+		if( in.isEmptyBlock(false) )
+			return ret;
+		if( in.sparse ) {
+			SparseBlock a = in.sparseBlock;
+			for( int i=0; i<m; i++ ) {
+				if( a.isEmpty(i) ) continue;
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				for( int j=apos; j<apos+alen; j++ )
+					ret[aix[j]*m+i] = avals[j];
+			}
+		}
+		else {
+			double[] a = in.getDenseBlockValues();
+			for( int i=0, aix=0; i<m; i++ )
+				for( int j=0; j<n; j++, aix++ )
+					ret[j*m+i] = a[aix];
+		}
+		return ret;
+	}
+	
+	private static double[] permuteRows(double[] b, int[] piv, int c) {
+		double[] ret = new double[b.length];
+		for( int i=0; i<piv.length; i++ )
+			System.arraycopy(b, piv[i]*c, ret, i*c, c);
+		return ret;
+	}
+	
+	private static void swapRows(double[] a, int n, int r1, int r2) {
+		for( int j=0, r1x=r1*n, r2x=r2*n; j<n; j++ ) {
+			double tmp = a[r1x+j];
+			a[r1x+j] = a[r2x+j];
+			a[r2x+j] = tmp;
+		}
+	}
+	
+	private static boolean isSymmetric(double[] a, int n, double eps) {
+		for( int i=0; i<n; i++ )
+			for( int j=i+1; j<n; j++ ) {
+				double aij = a[i*n+j];
+				double aji = a[j*n+i];
+				if( Math.abs(aij - aji) > Math.max(Math.abs(aij), Math.abs(aji)) * eps )
+					return false;
+			}
+		return true;
+	}
+	
+	private static double dot(double[] a, double[] b, int ai, int bi, int len) {
+		double val = 0;
+		for( int i=0; i<len; i++ )
+			val += a[ai+i] * b[bi+i];
+		return val;
+	}
+	
+	private static double hypot(double a, double b) {
+		//robust sqrt(a^2 + b^2) without over- or underflow
+		double aa = Math.abs(a), ab = Math.abs(b);
+		if( aa > ab ) {
+			double r = ab / aa;
+			return aa * Math.sqrt(1 + r * r);
+		}
+		else if( ab != 0 ) {
+			double r = aa / ab;
+			return ab * Math.sqrt(1 + r * r);
+		}
+		return 0;
+	}
+	
+	private static class LUUpdateTask implements Callable<Object>
+	{
+		private double[] _a = null;
+		private int _n = -1;
+		private int _bi = -1;
+		private int _be = -1;
+		private int _rl = -1;
+		private int _ru = -1;
+		
+		protected LUUpdateTask(double[] a, int n, int bi, int be, int rl, int ru) {
+			_a = a;
+			_n = n;
+			_bi = bi;
+			_be = be;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() {
+			updateTrailingLU(_a, _n, _bi, _be, _be, _rl, _ru);
+			return null;
+		}
+	}
+	
+	private static class LUSolveTask implements Callable<Object>
+	{
+		private double[] _a = null;
+		private int _n = -1;
+		private double[] _x = null;
+		private int _c = -1;
+		private int _cl = -1;
+		private int _cu = -1;
+		
+		protected LUSolveTask(double[] a, int n, double[] x, int c, int cl, int cu) {
+			_a = a;
+			_n = n;
+			_x = x;
+			_c = c;
+			_cl = cl;
+			_cu = cu;
+		}
+		
+		@Override
+		public Object call() {
+			solveLU(_a, _n, _x, _c, _cl, _cu);
+			return null;
+		}
+	}
+	
+	private static class QRUpdateTask implements Callable<Object>
+	{
+		private double[] _at = null;
+		private int _m = -1;
+		private double[] _V = null;
+		private double[] _T = null;
+		private int _bi = -1;
+		private int _be = -1;
+		private int _cl = -1;
+		private int _cu = -1;
+		
+		protected QRUpdateTask(double[] at, int m, double[] V, double[] T, int bi, int be, int cl, int cu) {
+			_at = at;
+			_m = m;
+			_V = V;
+			_T = T;
+			_bi = bi;
+			_be = be;
+			_cl = cl;
+			_cu = cu;
+		}
+		
+		@Override
+		public Object call() {
+			applyBlockReflectorQR(_at, _m, _V, _T, _bi, _be, _cl, _cu);
+			return null;
+		}
+	}
+	
+	private static class CholeskyTask implements Callable<Object>
+	{
+		private double[] _a = null;
+		private int _n = -1;
+		private int _bi = -1;
+		private int _be = -1;
+		private int _rl = -1;
+		private int _ru = -1;
+		private boolean _update = false;
+		
+		protected CholeskyTask(double[] a, int n, int bi, int be, int rl, int ru, boolean update) {
+			_a = a;
+			_n = n;
+			_bi = bi;
+			_be = be;
+			_rl = rl;
+			_ru = ru;
+			_update = update;
+		}
+		
+		@Override
+		public Object call() {
+			if( _update )
+				updateTrailingCholesky(_a, _n, _bi, _be, _rl, _ru);
+			else
+				solvePanelCholesky(_a, _n, _bi, _be, _rl, _ru);
+			return null;
+		}
+	}
+	
+	private static class TridiagTask implements Callable<Object>
+	{
+		private double[] _a = null;
+		private int _n = -1;
+		private int _j = -1;
+		private double _beta = -1;
+		private double[] _p = null;
+		private int _rl = -1;
+		private int _ru = -1;
+		private boolean _update = false;
+		
+		protected TridiagTask(double[] a, int n, int j, double beta, double[] p, int rl, int ru, boolean update) {
+			_a = a;
+			_n = n;
+			_j = j;
+			_beta = beta;
+			_p = p;
+			_rl = rl;
+			_ru = ru;
+			_update = update;
+		}
+		
+		public void setUpdate() {
+			_update = true;
+		}
+		
+		@Override
+		public Object call() {
+			if( _update )
+				updateTrailingTridiag(_a, _n, _j, _p, _rl, _ru);
+			else
+				multiplyTrailingTridiag(_a, _n, _j, _beta, _p, _rl, _ru);
+			return null;
+		}
+	}
+	
+	private static class EigenAccumTask implements Callable<Object>
+	{
+		private double[] _a = null;
+		private double[] _q = null;
+		private int _n = -1;
+		private int _j = -1;
+		private double _beta = -1;
+		private int _cl = -1;
+		private int _cu = -1;
+		
+		protected EigenAccumTask(double[] a, double[] q, int n, int j, double beta, int cl, int cu) {
+			_a = a;
+			_q = q;
+			_n = n;
+			_j = j;
+			_beta = beta;
+			_cl = cl;
+			_cu = cu;
+		}
+		
+		@Override
+		public Object call() {
+			accumulateTridiag(_a, _q, _n, _j, _beta, _cl, _cu);
+			return null;
+		}
+	}
+	
+	private static class EigenRotateTask implements Callable<Object>
+	{
+		private double[] _v = null;
+		private int _n = -1;
+		private double[] _cs = null;
+		private double[] _sn = null;
+		private int _l = -1;
+		private int _m = -1;
+		private int _rl = -1;
+		private int _ru = -1;
+		
+		protected EigenRotateTask(double[] v, int n, double[] cs, double[] sn, int l, int m, int rl, int ru) {
+			_v = v;
+			_n = n;
+			_cs = cs;
+			_sn = sn;
+			_l = l;
+			_m = m;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() {
+			applyRotations(_v, _n, _cs, _sn, _l, _m, _rl, _ru);
+			return null;
+		}
+	}
+}
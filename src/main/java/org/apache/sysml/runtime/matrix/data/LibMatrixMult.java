@@ -40,6 +40,7 @@ import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.functionobjects.SwapIndex;
 import org.apache.sysml.runtime.functionobjects.ValueFunction;
 import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
+import org.apache.sysml.runtime.util.DataConverter;
 import org.apache.sysml.runtime.util.UtilFunctions;
 
 /**
@@ -73,6 +74,24 @@ public class LibMatrixMult
 	private static final long PAR_MINFLOP_THRESHOLD = 2L*1024*1024; //MIN 2 MFLOP
 	private static final int L2_CACHESIZE = 256 *1024; //256KB (common size)
 	
+	//configuration of tsmm w/ symmetric output (packed upper triangle), which is 
+	//computed in row panels of a temporary buffer of at most 8MB (but >=32 rows)
+	private static final boolean TSMM_SYMMETRIC_OUTPUT = true;
+	private static final int TSMM_PANEL_SIZE = 1024 * 1024;
+	
+	//configuration of packed dense-dense matrix mult (block sizes and min sparsity);
+	//note: PACK_KC must be a multiple of 24 in order to preserve the summation order
+	//(blocks of 24, groups of 4) of the default dense-dense matrix mult kernel
+	private static final int PACK_MC = 64;   //64x240 a panel: 120KB (L2)
+	private static final int PACK_KC = 240;  //240x512 b panel: 960KB (L2/L3)
+	private static final int PACK_NC = 512;  //4KB c row segment (L1)
+	private static final int PACK_MR = 4;    //4 rows of a/c per register tile
+	private static final double PACK_MIN_SPARSITY = 0.9;
+	
+	//max number of output columns for dense row accumulators in sparse-sparse 
+	//matrix mult w/ sparse output (12B per column, otherwise hash accumulators)
+	private static final int SPGEMM_MAX_DENSE_ACC = 256 * 1024;
+	
 	private LibMatrixMult() {
 		//prevent instantiation via private constructor
 	}
@@ -135,6 +154,39 @@ public class LibMatrixMult
 		
 		//Timing time = new Timing(true);
 		
+		//symmetric matrix-vector mult over packed upper triangle (w/o widening)
+		if( rl == 0 && ru == m1.rlen && checkSymmetricMatrixVectorMult(m1, m2) ) {
+			matrixMultSymmetricVector(m1, m2, ret);
+			if(examSparsity)
+				ret.examSparsity();
+			return;
+		}
+		
+		//matrix mult w/ diagonal or constant inputs (w/o expansion)
+		if( rl == 0 && ru == m1.rlen && checkStructuredMatrixMult(m1, m2) ) {
+			matrixMultStructured(m1, m2, ret);
+			if(examSparsity)
+				ret.examSparsity();
+			return;
+		}
+		
+		//transposed-left matrix mult t(X)%*%Y over transpose views (w/o materialization)
+		MatrixBlock mX = (rl == 0 && ru == m1.rlen) ? m1.getTransposeViewInput() : null;
+		if( mX != null && checkTransposeLeftMatrixMult(mX, m2) ) {
+			matrixMultTransposeLeft(mX, m2, ret, 1);
+			if(examSparsity)
+				ret.examSparsity();
+			return;
+		}
+		
+		//sparse-sparse matrix mult w/ sparse output (symbolic and numeric phase)
+		if( rl == 0 && ru == m1.rlen && checkSparseOutputMatrixMult(m1, m2) ) {
+			matrixMultSparseSparseCSR(m1, m2, ret, 1);
+			if(examSparsity)
+				ret.examSparsity();
+			return;
+		}
+		
 		//pre-processing: output allocation
 		boolean tm2 = checkPrepMatrixMultRightInput(m1,m2);
 		m2 = prepMatrixMultRightInput(m1, m2);
@@ -191,8 +243,11 @@ public class LibMatrixMult
 		
 		//check too high additional vector-matrix memory requirements (fallback to sequential)
 		//check too small workload in terms of flops (fallback to sequential too)
+		//check symmetric matrix-vector mult (memory-bound, sequential too)
+		//check diagonal or constant inputs (memory-bound, sequential too)
 		if( m1.rlen == 1 && (8L * m2.clen * k > MEM_OVERHEAD_THRESHOLD || !LOW_LEVEL_OPTIMIZATION || m2.clen==1 || m1.isUltraSparse() || m2.isUltraSparse()) 
-			|| 2L * m1.rlen * m1.clen * m2.clen < PAR_MINFLOP_THRESHOLD ) 
+			|| 2L * m1.rlen * m1.clen * m2.clen < PAR_MINFLOP_THRESHOLD 
+			|| checkSymmetricMatrixVectorMult(m1, m2) || checkStructuredMatrixMult(m1, m2) ) 
 		{ 
 			matrixMult(m1, m2, ret);
 			return;
@@ -200,6 +255,21 @@ public class LibMatrixMult
 		
 		//Timing time = new Timing(true);
 		
+		//transposed-left matrix mult t(X)%*%Y over transpose views (w/o materialization)
+		MatrixBlock mX = m1.getTransposeViewInput();
+		if( mX != null && checkTransposeLeftMatrixMult(mX, m2) ) {
+			matrixMultTransposeLeft(mX, m2, ret, k);
+			ret.examSparsity();
+			return;
+		}
+		
+		//sparse-sparse matrix mult w/ sparse output (symbolic and numeric phase)
+		if( checkSparseOutputMatrixMult(m1, m2) ) {
+			matrixMultSparseSparseCSR(m1, m2, ret, k);
+			ret.examSparsity();
+			return;
+		}
+		
 		//pre-processing: output allocation (in contrast to single-threaded,
 		//we need to allocate sparse as well in order to prevent synchronization)
 		boolean tm2 = checkPrepMatrixMultRightInput(m1,m2);
@@ -218,17 +288,34 @@ public class LibMatrixMult
 		//prepare row-upper for special cases of vector-matrix / matrix-matrix
 		boolean pm2r = checkParMatrixMultRightInputRows(m1, m2, k);
 		boolean pm2c = checkParMatrixMultRightInputCols(m1, m2, k, pm2r);
+		boolean pm2p = !tm2 && !pm2r && !pm2c && checkPackedMatrixMult(m1, m2);
 		int num = pm2r ? m2.rlen : pm2c ? m2.clen : m1.rlen; 
 		
 		//core multi-threaded matrix mult computation
-		//(currently: always parallelization over number of rows)
+		//(parallelization over rows, or rows and columns for packed dense-dense)
 		try {
 			ExecutorService pool = Executors.newFixedThreadPool( k );
 			ArrayList<MatrixMultTask> tasks = new ArrayList<MatrixMultTask>();
-			int nk = (pm2r||pm2c) ? k : UtilFunctions.roundToNext(Math.min(8*k,num/32), k);
-			ArrayList<Integer> blklens = getBalancedBlockSizes(num, nk);
-			for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
-				tasks.add(new MatrixMultTask(m1, m2, ret, tm2, pm2r, pm2c, lb, lb+blklens.get(i)));
+			if( pm2p ) {
+				//2D partitioning over rows and cols (one task per thread, in order
+				//to allocate the packing buffers once per thread)
+				int[] grid = getPackedGridSize(ret.rlen, ret.clen, k);
+				ArrayList<Integer> rblklens = getAlignedBlockSizes(ret.rlen, grid[0], PACK_MR);
+				ArrayList<Integer> cblklens = getAlignedBlockSizes(ret.clen, grid[1], 8);
+				for( int i=0, rl=0; i<rblklens.size(); rl+=rblklens.get(i), i++ )
+					for( int j=0, cl=0; j<cblklens.size(); cl+=cblklens.get(j), j++ )
+						tasks.add(new MatrixMultTask(m1, m2, ret, tm2, false, 
+							rl, rl+rblklens.get(i), cl, cl+cblklens.get(j)));
+			}
+			else {
+				int nk = (pm2r||pm2c) ? k : UtilFunctions.roundToNext(Math.min(8*k,num/32), k);
+				ArrayList<Integer> blklens = getBalancedBlockSizes(num, nk);
+				for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ ) {
+					int ub = lb + blklens.get(i);
+					tasks.add(new MatrixMultTask(m1, m2, ret, tm2, pm2r, pm2c ? 0 : lb, 
+						pm2c ? m1.rlen : ub, pm2c ? lb : 0, pm2c ? ub : ret.clen));
+				}
+			}
 			//execute tasks
 			List<Future<Object>> taskret = pool.invokeAll(tasks);	
 			pool.shutdown();
@@ -236,7 +323,7 @@ public class LibMatrixMult
 			ret.nonZeros = 0; //reset after execute
 			for( Future<Object> task : taskret ) {
 				if( pm2r )
-					vectAdd((double[])task.get(), ret.denseBlock, 0, 0, ret.rlen*ret.clen);
+					vectAdd((double[])task.get(), ret.getDenseBlockValues(), 0, 0, ret.rlen*ret.clen);
 				else
 					ret.nonZeros += (Long)task.get();
 			}
@@ -349,7 +436,7 @@ public class LibMatrixMult
 			pool.shutdown();
 			//aggregate partial results
 			for( Future<double[]> task : taskret )
-				vectAdd(task.get(), ret.denseBlock, 0, 0, mX.clen);
+				vectAdd(task.get(), ret.getDenseBlockValues(), 0, 0, mX.clen);
 		}
 		catch(Exception ex) {
 			throw new DMLRuntimeException(ex);
@@ -377,15 +464,22 @@ public class LibMatrixMult
 		//pre-processing
 		m1 = prepMatrixMultTransposeSelfInput(m1, leftTranspose);
 		ret.sparse = false;
-		ret.allocateDenseBlock();
-
-		if( m1.sparse )
-			matrixMultTransposeSelfSparse(m1, ret, leftTranspose, 0, ret.rlen);
-		else 
-			matrixMultTransposeSelfDense(m1, ret, leftTranspose, 0, ret.rlen );
+		
+		if( isSymmetricOutput(ret) ) {
+			//compute upper triangle into packed symmetric block
+			DenseBlockSym c = ret.allocateSymmetricBlock();
+			matrixMultTransposeSelfSym(m1, c, leftTranspose, 0, ret.rlen);
+		}
+		else {
+			ret.allocateDenseBlock();
+			if( m1.sparse )
+				matrixMultTransposeSelfSparse(m1, ret.getDenseBlockValues(), leftTranspose, 0, ret.rlen, 0);
+			else 
+				matrixMultTransposeSelfDense(m1, ret.getDenseBlockValues(), leftTranspose, 0, ret.rlen, 0);
+			copyUpperToLowerTriangle( ret );
+		}
 
 		//post-processing
-		copyUpperToLowerTriangle( ret );		
 		ret.recomputeNonZeros();
 		ret.examSparsity();	
 		
@@ -415,8 +509,12 @@ public class LibMatrixMult
 		
 		//pre-processing (no need to check isThreadSafe)
 		m1 = prepMatrixMultTransposeSelfInput(m1, leftTranspose);
-		ret.sparse = false;	
-		ret.allocateDenseBlock();
+		ret.sparse = false;
+		boolean sym = isSymmetricOutput(ret);
+		if( sym )
+			ret.allocateSymmetricBlock();
+		else
+			ret.allocateDenseBlock();
 	
 		//core multi-threaded matrix mult computation
 		try {
@@ -436,7 +534,8 @@ public class LibMatrixMult
 		}
 		
 		//post-processing
-		copyUpperToLowerTriangle( ret );		
+		if( !sym )
+			copyUpperToLowerTriangle( ret );
 		ret.recomputeNonZeros();
 		ret.examSparsity();	
 		
@@ -937,10 +1036,28 @@ public class LibMatrixMult
 
 	private static void matrixMultDenseDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, boolean tm2, boolean pm2, int rl, int ru, int cl, int cu) 
 		throws DMLRuntimeException
-	{			
-		double[] a = m1.denseBlock;
-		double[] b = m2.denseBlock;
-		double[] c = ret.denseBlock;
+	{
+		//single-precision inputs (computed w/o widening the inputs, 
+		//while mixed inputs are widened on first double access)
+		float[] fa = m1.getDenseBlockValuesFP32();
+		float[] fb = m2.getDenseBlockValuesFP32();
+		if( fa != null && fb != null && !tm2 ) {
+			matrixMultDenseDenseFP32(fa, fb, ret.getDenseBlockValues(), 
+				m1.rlen, m1.clen, m2.clen, pm2, rl, ru, cl, cu);
+			return;
+		}
+		
+		//large dense blocks of multiple row blocks (per-row-block access),
+		//and row range views (per-row access w/o copy of the shared rows)
+		if( !m1.denseBlock.isContiguous() || !m2.denseBlock.isContiguous() || !ret.denseBlock.isContiguous()
+			|| m1.isView() || m2.isView() ) {
+			matrixMultDenseDenseMB(m1.getDenseBlock(), m2.getDenseBlock(), ret.getDenseBlock(), tm2, pm2, rl, ru, cl, cu);
+			return;
+		}
+		
+		double[] a = m1.getDenseBlockValues();
+		double[] b = m2.getDenseBlockValues();
+		double[] c = ret.getDenseBlockValues();
 		final int m = m1.rlen;
 		final int n = m2.clen;
 		final int cd = m1.clen;
@@ -1038,6 +1155,10 @@ public class LibMatrixMult
 					for( int j=0, bix=0; j<n2; j++, bix+=cd )
 						c[cix+j] = dotProduct(a, b, aix, bix, cd);
 			}
+			else if( checkPackedMatrixMult(m1, m2) ) //MATRIX-MATRIX (packed)
+			{
+				matrixMultDenseDensePacked(m1.getDenseBlock(), m2.getDenseBlock(), ret.getDenseBlock(), n, cd, rl, ru, cl, cu);
+			}
 			else                          //MATRIX-MATRIX
 			{	
 				//1) Unrolled inner loop (for better instruction-level parallelism)
@@ -1102,11 +1223,219 @@ public class LibMatrixMult
 		
 	}
 
+	/**
+	 * Dense-dense matrix multiplication for dense blocks with multiple row blocks 
+	 * (i.e., more than 2^31 cells), where all inputs and the output are accessed via 
+	 * the array and position of individual rows. Matrix-vector products compute a 
+	 * dot product per row, while the general case uses the packed kernel because 
+	 * its panels are copied row-by-row anyway.
+	 * 
+	 * @param a dense block of left input
+	 * @param b dense block of right input
+	 * @param c dense block of output
+	 * @param tm2 transposed right input
+	 * @param pm2 parallelization over rows of right input
+	 * @param rl row lower bound
+	 * @param ru row upper bound
+	 * @param cl column lower bound
+	 * @param cu column upper bound
+	 */
+	private static void matrixMultDenseDenseMB(DenseBlock a, DenseBlock b, DenseBlock c, boolean tm2, boolean pm2, int rl, int ru, int cl, int cu) 
+	{
+		final int m = a.numRows();
+		final int cd = a.numCols();
+		final int n = c.numCols();
+		
+		if( pm2 ) //VECTOR-MATRIX / MATRIX-MATRIX (short lhs)
+		{
+			//parallelization over rows in rhs matrix
+			for( int k=rl; k<ru; k++ ) {
+				double[] bvals = b.values(k);
+				int bix = b.pos(k);
+				for( int i=0; i<m; i++ ) {
+					double aval = a.get(i, k);
+					if( aval != 0 )
+						vectMultiplyAdd(aval, bvals, c.values(i), bix, c.pos(i), n);
+				}
+			}
+		}
+		else if( tm2 ) //MATRIX-MATRIX (skinny rhs)
+		{
+			//note: transposed rhs with one row per output column
+			for( int i=rl; i<ru; i++ ) {
+				double[] avals = a.values(i);
+				double[] cvals = c.values(i);
+				int aix = a.pos(i), cix = c.pos(i);
+				for( int j=0; j<n; j++ )
+					cvals[cix+j] = dotProduct(avals, b.values(j), aix, b.pos(j), cd);
+			}
+		}
+		else if( n==1 && b.isContiguous() ) //MATRIX-VECTOR
+		{
+			double[] bvals = b.valuesAt(0);
+			for( int i=rl; i<ru; i++ )
+				c.values(i)[c.pos(i)] = dotProduct(a.values(i), bvals, a.pos(i), 0, cd);
+		}
+		else //MATRIX-MATRIX
+		{
+			matrixMultDenseDensePacked(a, b, c, n, cd, rl, ru, cl, cu);
+		}
+	}
+
+	/**
+	 * Packed, register-tiled dense-dense matrix multiplication (GotoBLAS-style) for
+	 * the output range [rl,ru) x [cl,cu). Panels of B (PACK_KC x PACK_NC) and A 
+	 * (PACK_MC x PACK_KC) are copied into contiguous buffers, which are allocated
+	 * once per call and reused for all panels. The inner kernel computes tiles of 
+	 * 4 rows at a time in order to reuse each loaded value of B for 4 rows of C. 
+	 * 
+	 * For dense inputs w/o zeros, the result is bit-identical to the default dense-dense
+	 * kernel because every output cell is aggregated in the same order (blocks of 24, 
+	 * rest first, groups of 4), independent of the partitioning over rows and columns.
+	 * 
+	 * @param a dense block of left input
+	 * @param b dense block of right input
+	 * @param c dense block of output
+	 * @param n number of columns in right input / output
+	 * @param cd common dimension
+	 * @param rl row lower bound
+	 * @param ru row upper bound
+	 * @param cl column lower bound
+	 * @param cu column upper bound
+	 */
+	private static void matrixMultDenseDensePacked(DenseBlock a, DenseBlock b, DenseBlock c, final int n, final int cd, int rl, int ru, int cl, int cu) 
+	{
+		//thread-local packing buffers (reused for all panels)
+		final int mclen = Math.min(PACK_MC, ru-rl);
+		final int kclen = Math.min(PACK_KC, cd);
+		final int nclen = Math.min(PACK_NC, cu-cl);
+		double[] pa = new double[ mclen * kclen ];
+		double[] pb = new double[ kclen * nclen ];
+		
+		//blocked execution over JKI panels
+		for( int jc = cl; jc < cu; jc += PACK_NC ) {
+			final int nc = Math.min(PACK_NC, cu-jc);
+			for( int pc = 0; pc < cd; pc += PACK_KC ) {
+				final int kc = Math.min(PACK_KC, cd-pc);
+				
+				//pack kc x nc panel of b (row-major, contiguous)
+				for( int p=0, pix=0; p<kc; p++, pix+=nc )
+					System.arraycopy(b.values(pc+p), b.pos(pc+p)+jc, pb, pix, nc);
+				
+				for( int ic = rl; ic < ru; ic += PACK_MC ) {
+					final int mc = Math.min(PACK_MC, ru-ic);
+					
+					//pack mc x kc panel of a (row-major, contiguous)
+					for( int i=0, pix=0; i<mc; i++, pix+=kc )
+						System.arraycopy(a.values(ic+i), a.pos(ic+i)+pc, pa, pix, kc);
+					
+					//core packed matrix mult over tiles of 4 rows
+					//(tiles of rows in different row blocks processed row by row)
+					for( int i=0; i<mc; ) {
+						final int mr = (i+PACK_MR <= mc && c.isContiguous(ic+i, ic+i+PACK_MR-1)) ? PACK_MR : 1;
+						matrixMultPackedPanel(pa, pb, c.values(ic+i), i*kc, c.pos(ic+i)+jc, n, kc, nc, mr);
+						i += mr;
+					}
+				}
+			}
+		}
+	}
+
+	private static void matrixMultPackedPanel(double[] pa, double[] pb, double[] c, final int aix, final int cix, final int n, final int kc, final int nc, final int mr) 
+	{
+		//blocks of 24 (consistent w/ default dense-dense kernel)
+		for( int bk = 0; bk < kc; bk += 24 ) {
+			final int bklen = Math.min(24, kc-bk);
+			final int bn = bklen % 4;
+			
+			//rest not aligned to blocks of 4 rows in b
+			for( int i=0, ai=aix+bk, ci=cix; i<mr; i++, ai+=kc, ci+=n ) {
+				final int bi = bk*nc;
+				switch( bn ){
+					case 1: vectMultiplyAdd(pa[ai], pb, c, bi, ci, nc); break;
+					case 2: vectMultiplyAdd2(pa[ai],pa[ai+1], pb, c, bi, bi+nc, ci, nc); break;
+					case 3: vectMultiplyAdd3(pa[ai],pa[ai+1],pa[ai+2], pb, c, bi, bi+nc, bi+2*nc, ci, nc); break;
+				}
+			}
+			
+			//compute blocks of 4 rows in b (core inner loop)
+			for( int k = bk+bn, bi = (bk+bn)*nc; k < bk+bklen; k+=4, bi+=4*nc ) {
+				if( mr == PACK_MR ) //4x4 register tile
+					vectMultiplyAdd4x4(pa, pb, c, aix+k, kc, bi, nc, cix, n, nc);
+				else
+					vectMultiplyAdd4(pa[aix+k], pa[aix+k+1], pa[aix+k+2], pa[aix+k+3], 
+						pb, c, bi, bi+nc, bi+2*nc, bi+3*nc, cix, nc);
+			}
+		}
+	}
+
+	/**
+	 * Dense-dense matrix multiplication over single-precision inputs with
+	 * double-precision accumulation into the (always double) output. 
+	 * 
+	 * @param a single-precision values of m1 (m x cd)
+	 * @param b single-precision values of m2 (cd x n)
+	 * @param c double-precision output values (m x n)
+	 * @param m number of rows in m1
+	 * @param cd common dimension
+	 * @param n number of columns in m2
+	 * @param pm2 if true, row range refers to rows of m2
+	 * @param rl row lower bound
+	 * @param ru row upper bound
+	 * @param cl column lower bound
+	 * @param cu column upper bound
+	 */
+	private static void matrixMultDenseDenseFP32(float[] a, float[] b, double[] c, int m, int cd, int n, boolean pm2, int rl, int ru, int cl, int cu) 
+	{
+		if( pm2 ) //VECTOR-MATRIX w/ parallelization over rows of m2
+		{
+			for( int i=0, aix=0, cix=0; i<m; i++, aix+=cd, cix+=n )
+				for( int k=rl, bix=rl*n; k<ru; k++, bix+=n ) {
+					double val = a[aix+k];
+					if( val != 0 )
+						vectMultiplyAddFP32(val, b, c, bix+cl, cix+cl, cu-cl);
+				}
+		}
+		else if( n==1 && cd>1 ) //MATRIX-VECTOR
+		{
+			for( int i=rl, aix=rl*cd; i<ru; i++, aix+=cd ) {
+				double val = 0;
+				for( int k=0; k<cd; k++ )
+					val += (double)a[aix+k] * b[k];
+				c[i] = val;
+			}
+		}
+		else //MATRIX-MATRIX
+		{
+			//1) Unrolled inner loop (for better instruction-level parallelism)
+			//2) Blocked execution (for less cache trashing in parallel exec) 	
+			final int blocksizeI = 32;
+			final int blocksizeK = 24; 
+			final int blocksizeJ = 1024; 
+			
+			for( int bi = rl; bi < ru; bi+=blocksizeI ) {
+				int bimin = Math.min(ru, bi+blocksizeI);
+				for( int bk = 0; bk < cd; bk+=blocksizeK ) {
+					int bkmin = Math.min(cd, bk+blocksizeK);
+					for( int bj = cl; bj < cu; bj+=blocksizeJ ) {
+						int bjlen = Math.min(cu, bj+blocksizeJ)-bj;
+						for( int i=bi, aix=bi*cd, cix=bi*n+bj; i<bimin; i++, aix+=cd, cix+=n )
+							for( int k=bk, bix=bk*n+bj; k<bkmin; k++, bix+=n ) {
+								double val = a[aix+k];
+								if( val != 0 )
+									vectMultiplyAddFP32(val, b, c, bix, cix, bjlen);
+							}
+					}
+				}
+			}
+		}
+	}
+	
 	private static void matrixMultDenseSparse(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, boolean pm2, int rl, int ru) 
 		throws DMLRuntimeException 
 	{	
-		double[] a = m1.denseBlock;
-		double[] c = ret.denseBlock;
+		double[] a = m1.getDenseBlockValues();
+		double[] c = ret.getDenseBlockValues();
 		int m = m1.rlen;
 		int cd = m1.clen;
 		int n = m2.clen;
@@ -1179,14 +1508,26 @@ public class LibMatrixMult
 	private static void matrixMultSparseDense(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, boolean pm2, int rl, int ru) 
 		throws DMLRuntimeException
 	{	
-		double[] b = m2.denseBlock;
-		double[] c = ret.denseBlock;
+		double[] b = m2.getDenseBlockValues();
+		double[] c = ret.getDenseBlockValues();
 		final int m = m1.rlen;
 		final int n = m2.clen;
 		final int cd = m2.rlen;
 		final long xsp = (long)m*cd/m1.nonZeros;
+		final char[] aix16 = SparseBlockCSR16.indexesCompact(m1.sparseBlock);
 
-		if( LOW_LEVEL_OPTIMIZATION )
+		if( LOW_LEVEL_OPTIMIZATION && !pm2 && m1.sparseBlock instanceof SparseBlockDCSR )
+		{
+			//ULTRA-SPARSE DCSR (iterate over non-empty rows only)
+			matrixMultSparseDenseDCSR((SparseBlockDCSR)m1.sparseBlock, b, c, n, rl, ru);
+		}
+		else if( LOW_LEVEL_OPTIMIZATION && !pm2 && aix16 != null )
+		{
+			//SPARSE CSR16 (compact column indexes, w/o widening)
+			SparseBlockCSR16 a = (SparseBlockCSR16)m1.sparseBlock;
+			matrixMultSparseDenseCSR16(a.rowPointers(), aix16, a.values(), b, c, n, cd, rl, ru);
+		}
+		else if( LOW_LEVEL_OPTIMIZATION )
 		{
 			SparseBlock a = m1.sparseBlock;
 			
@@ -1362,12 +1703,126 @@ public class LibMatrixMult
 		}
 	}
 
+	/**
+	 * Sparse-dense matrix multiplication for ultra-sparse left-hand-side inputs
+	 * in DCSR, which iterates over the non-empty rows in the row range [rl,ru) 
+	 * via the raw DCSR arrays, i.e., without probing empty rows.
+	 * 
+	 * @param a left-hand-side sparse block in DCSR
+	 * @param b right-hand-side dense block
+	 * @param c output dense block
+	 * @param n number of columns of the right-hand-side
+	 * @param rl row lower bound
+	 * @param ru row upper bound
+	 */
+	private static void matrixMultSparseDenseDCSR(SparseBlockDCSR a, double[] b, double[] c, int n, int rl, int ru) 
+	{
+		final int nnzr = a.numNonEmptyRows();
+		int[] rix = a.rowIndexes();
+		int[] rptr = a.rowPointers();
+		int[] aix = a.indexes();
+		double[] avals = a.values();
+		
+		for( int k=a.posRowIndexGTE(rl); k<nnzr && rix[k]<ru; k++ ) {
+			final int apos = rptr[k];
+			final int alen = rptr[k+1] - apos;
+			if( n == 1 ) { //MATRIX-VECTOR
+				c[rix[k]] = dotProduct(avals, b, aix, apos, 0, alen);
+				continue;
+			}
+			//MATRIX-MATRIX (no blocking since only few rows)
+			final int cix = rix[k]*n;
+			//rest not aligned to blocks of 4 rows
+			final int bn = alen%4;
+			for( int j=apos; j<apos+bn; j++ )
+				vectMultiplyAdd(avals[j], b, c, aix[j]*n, cix, n); 
+			//compute blocks of 4 rows (core inner loop)
+			for( int j=apos+bn; j<apos+alen; j+=4 )
+				vectMultiplyAdd4( avals[j], avals[j+1], avals[j+2], avals[j+3], b, c, 
+					aix[j]*n, aix[j+1]*n, aix[j+2]*n, aix[j+3]*n, cix, n );
+		}
+	}
+
+	/**
+	 * Sparse-dense matrix multiplication for left-hand-side inputs in CSR16, which
+	 * directly operates over the compact 16-bit column indexes (i.e., w/o widening)
+	 * for better cache density of the sparse input.
+	 * 
+	 * @param aptr row pointers of left-hand-side
+	 * @param aix compact column indexes of left-hand-side
+	 * @param avals values of left-hand-side
+	 * @param b right-hand-side dense block
+	 * @param c output dense block
+	 * @param n number of columns of the right-hand-side
+	 * @param cd common dimension
+	 * @param rl row lower bound
+	 * @param ru row upper bound
+	 */
+	private static void matrixMultSparseDenseCSR16(int[] aptr, char[] aix, double[] avals, 
+		double[] b, double[] c, int n, int cd, int rl, int ru) 
+	{
+		if( n==1 )                    //MATRIX-VECTOR
+		{
+			for( int i=rl; i<ru; i++ )
+				if( aptr[i+1] > aptr[i] )
+					c[i] = dotProduct(avals, b, aix, aptr[i], 0, aptr[i+1]-aptr[i]);
+		}
+		else if( n<=64 )              //MATRIX-MATRIX (skinny rhs)
+		{
+			//no blocking since b and c fit into cache anyway
+			for( int i=rl, cix=rl*n; i<ru; i++, cix+=n ) {
+				int apos = aptr[i];
+				int alen = aptr[i+1] - apos;
+				//rest not aligned to blocks of 4 rows
+				int bn = alen%4;
+				for( int k=apos; k<apos+bn; k++ )
+					vectMultiplyAdd(avals[k], b, c, aix[k]*n, cix, n); 
+				//compute blocks of 4 rows (core inner loop)
+				for( int k=apos+bn; k<apos+alen; k+=4 )
+					vectMultiplyAdd4( avals[k], avals[k+1], avals[k+2], avals[k+3], b, c, 
+						aix[k]*n, aix[k+1]*n, aix[k+2]*n, aix[k+3]*n, cix, n );
+			}
+		}
+		else                          //MATRIX-MATRIX
+		{
+			//see matrixMultSparseDense for the choice of block sizes
+			final int blocksizeI = 32;
+			final int blocksizeK = 24; 
+			final int blocksizeJ = 1024; 
+			
+			//temporary array of current sparse positions
+			int[] curk = new int[blocksizeI];
+			
+			//blocked execution over IKJ 
+			for( int bi = rl; bi < ru; bi+=blocksizeI ) {
+				Arrays.fill(curk, 0); //reset positions
+				for( int bk = 0, bimin = Math.min(ru, bi+blocksizeI); bk < cd; bk+=blocksizeK ) {
+					for( int bj = 0, bkmin = Math.min(cd, bk+blocksizeK); bj < n; bj+=blocksizeJ ) {
+						int bjlen = Math.min(n, bj+blocksizeJ)-bj;
+						
+						//core sub block matrix multiplication
+						for( int i=bi, cix=bi*n+bj; i<bimin; i++, cix+=n ) {
+							int apos = aptr[i];
+							int alen = aptr[i+1] - apos;
+							int k = curk[i-bi] + apos;
+							for( ; k<apos+alen && aix[k]<bkmin; k++ )
+								vectMultiplyAdd(avals[k], b, c, aix[k]*n+bj, cix, bjlen); 
+							//update positions on last bj block
+							if( bj+bjlen==n )
+								curk[i-bi] = k - apos;
+						}
+					}
+				}
+			}
+		}
+	}
+
 	private static void matrixMultSparseSparse(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, boolean pm2, int rl, int ru) 
 		throws DMLRuntimeException
 	{	
 		SparseBlock a = m1.sparseBlock;
 		SparseBlock b = m2.sparseBlock;
-		double[] c = ret.denseBlock;
+		double[] c = ret.getDenseBlockValues();
 		int m = m1.rlen;
 		int cd = m1.clen;
 		int n = m2.clen;
@@ -1396,6 +1851,26 @@ public class LibMatrixMult
 						}			
 				}
 			}	
+			else if( a instanceof SparseBlockDCSR ) //MATRIX-MATRIX (ultra-sparse DCSR)
+			{
+				//iterate over non-empty rows only (no blocking since only few rows)
+				for( int i=a.nextNonEmptyRow(rl, ru); i<ru; i=a.nextNonEmptyRow(i+1, ru) ) {
+					final int apos = a.pos(i);
+					final int alen = a.size(i);
+					int[] aix = a.indexes(i);
+					double[] avals = a.values(i);
+					for( int k=apos, cix=i*n; k<apos+alen; k++ )
+						if( !b.isEmpty(aix[k]) )
+							vectMultiplyAdd(avals[k], b.values(aix[k]), c, 
+								b.indexes(aix[k]), b.pos(aix[k]), cix, b.size(aix[k]));
+				}
+			}
+			else if( SparseBlockCSR16.indexesCompact(a) != null 
+				|| SparseBlockCSR16.indexesCompact(b) != null )
+			{
+				//MATRIX-MATRIX (compact column indexes, w/o widening)
+				matrixMultSparseSparseCSR16(a, b, c, n, rl, ru);
+			}
 			else                       //MATRIX-MATRIX
 			{
 				//block sizes for best-effort blocking w/ sufficient row reuse in B yet small overhead
@@ -1462,6 +1937,225 @@ public class LibMatrixMult
 		}
 	}
 
+	/**
+	 * Sparse-sparse matrix multiplication w/ dense output for inputs in CSR16, 
+	 * which directly operates over the compact 16-bit column indexes of the
+	 * left- and/or right-hand-side (i.e., w/o widening). Since the row accesses 
+	 * into the right-hand-side are data-dependent, we use no blocking.
+	 * 
+	 * @param a left-hand-side sparse block
+	 * @param b right-hand-side sparse block
+	 * @param c output dense block
+	 * @param n number of columns of the right-hand-side
+	 * @param rl row lower bound
+	 * @param ru row upper bound
+	 */
+	private static void matrixMultSparseSparseCSR16(SparseBlock a, SparseBlock b, double[] c, int n, int rl, int ru) 
+	{
+		//obtain compact indexes once (null if not CSR16 or already widened)
+		final char[] aix16 = SparseBlockCSR16.indexesCompact(a);
+		final char[] bix16 = SparseBlockCSR16.indexesCompact(b);
+		
+		for( int i=rl, cix=rl*n; i<ru; i++, cix+=n ) {
+			if( a.isEmpty(i) ) continue;
+			final int apos = a.pos(i);
+			final int alen = a.size(i);
+			int[] aix = (aix16 == null) ? a.indexes(i) : null;
+			double[] avals = a.values(i);
+			for( int k=apos; k<apos+alen; k++ ) {
+				int bi = (aix16 != null) ? aix16[k] : aix[k];
+				if( b.isEmpty(bi) ) continue;
+				if( bix16 != null )
+					vectMultiplyAdd(avals[k], b.values(bi), c, bix16, b.pos(bi), cix, b.size(bi));
+				else
+					vectMultiplyAdd(avals[k], b.values(bi), c, b.indexes(bi), b.pos(bi), cix, b.size(bi));
+			}
+		}
+	}
+	
+	/**
+	 * Gustavson-style sparse-sparse matrix multiplication w/ sparse output. In a first,
+	 * symbolic phase, we compute the exact number of non-zeros per output row, which 
+	 * allows to preallocate the output in CSR. In a second, numeric phase, we compute
+	 * the output rows via thread-local dense or hash row accumulators and write them 
+	 * directly into the CSR arrays. Both phases are parallelized over row ranges, 
+	 * which are balanced by the number of flops and output non-zeros, respectively.
+	 * 
+	 * @param m1 first matrix (sparse)
+	 * @param m2 second matrix (sparse)
+	 * @param ret result matrix
+	 * @param k maximum parallelism
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static void matrixMultSparseSparseCSR(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, int k) 
+		throws DMLRuntimeException
+	{
+		SparseBlock a = m1.sparseBlock;
+		SparseBlock b = m2.sparseBlock;
+		final int m = m1.rlen;
+		final int n = m2.clen;
+		final char[] aix16 = SparseBlockCSR16.indexesCompact(a);
+		
+		//compute flops per row (prefix sums) for load balancing
+		long[] flops = new long[m+1];
+		for( int i=0; i<m; i++ ) {
+			long lflops = 0;
+			if( !a.isEmpty(i) ) {
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = (aix16 == null) ? a.indexes(i) : null;
+				for( int j=apos; j<apos+alen; j++ ) {
+					int bi = (aix16 != null) ? aix16[j] : aix[j];
+					lflops += b.isEmpty(bi) ? 0 : b.size(bi);
+				}
+			}
+			flops[i+1] = flops[i] + lflops;
+		}
+		
+		//symbolic phase: exact nnz per output row (stored as ptr[i+1])
+		int[] ptr = new int[m+1];
+		int[] rbnd = getBalancedRowRanges(flops, k);
+		executeSpGEMMTasks(m1, m2, ptr, null, null, rbnd, true, k);
+		
+		//prefix sums over row nnz and output allocation
+		long lnnz = 0;
+		for( int i=0; i<m; i++ ) {
+			lnnz += ptr[i+1];
+			if( lnnz > Integer.MAX_VALUE )
+				throw new DMLRuntimeException("SparseBlockCSR supports nnz<=Integer.MAX_VALUE but got "+lnnz);
+			ptr[i+1] = (int)lnnz;
+		}
+		int[] indexes = new int[(int)lnnz];
+		double[] values = new double[(int)lnnz];
+		
+		//numeric phase: compute output rows into preallocated csr arrays
+		long[] rnnz = new long[m+1];
+		for( int i=0; i<=m; i++ )
+			rnnz[i] = ptr[i];
+		rbnd = getBalancedRowRanges(rnnz, k);
+		long nzeros = executeSpGEMMTasks(m1, m2, ptr, indexes, values, rbnd, false, k);
+		
+		//compact zeros due to cancellation (rare)
+		if( nzeros > 0 ) {
+			int pos = 0;
+			for( int i=0, lpos=0; i<m; i++ ) {
+				for( int j=lpos; j<ptr[i+1]; j++ )
+					if( values[j] != 0 ) {
+						indexes[pos] = indexes[j];
+						values[pos++] = values[j];
+					}
+				lpos = ptr[i+1];
+				ptr[i+1] = pos;
+			}
+			lnnz = pos;
+		}
+		
+		//set output (in csr, w/ exact nnz)
+		ret.sparse = true;
+		ret.denseBlock = null;
+		ret.sparseBlock = new SparseBlockCSR(ptr, indexes, values, (int)lnnz);
+		ret.nonZeros = lnnz;
+	}
+	
+	private static long executeSpGEMMTasks(MatrixBlock m1, MatrixBlock m2, int[] ptr, int[] indexes, 
+			double[] values, int[] rbnd, boolean symbolic, int k) 
+		throws DMLRuntimeException
+	{
+		//sequential execution w/o thread pool
+		if( rbnd.length <= 2 )
+			return matrixMultSparseSparseCSR(m1, m2, ptr, indexes, values, symbolic, 0, m1.rlen);
+		
+		//parallel execution over balanced row ranges
+		try {
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			ArrayList<MatrixMultSpGEMMTask> tasks = new ArrayList<MatrixMultSpGEMMTask>();
+			for( int i=0; i<rbnd.length-1; i++ )
+				if( rbnd[i] < rbnd[i+1] )
+					tasks.add(new MatrixMultSpGEMMTask(m1, m2, ptr, indexes, values, symbolic, rbnd[i], rbnd[i+1]));
+			List<Future<Long>> taskret = pool.invokeAll(tasks);
+			pool.shutdown();
+			long ret = 0;
+			for( Future<Long> task : taskret )
+				ret += task.get();
+			return ret;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private static long matrixMultSparseSparseCSR(MatrixBlock m1, MatrixBlock m2, int[] ptr, int[] indexes, 
+			double[] values, boolean symbolic, int rl, int ru)
+	{
+		SparseBlock a = m1.sparseBlock;
+		SparseBlock b = m2.sparseBlock;
+		final int n = m2.clen;
+		long nzeros = 0;
+		
+		//compact column indexes of CSR16 inputs (w/o widening)
+		final char[] aix16 = SparseBlockCSR16.indexesCompact(a);
+		final char[] bix16 = SparseBlockCSR16.indexesCompact(b);
+		
+		//determine max row nnz of output (upper bound in symbolic phase)
+		int maxlen = 0;
+		for( int i=rl; i<ru; i++ ) {
+			if( symbolic ) {
+				if( a.isEmpty(i) ) continue;
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = (aix16 == null) ? a.indexes(i) : null;
+				long lflops = 0;
+				for( int j=apos; j<apos+alen; j++ ) {
+					int bi = (aix16 != null) ? aix16[j] : aix[j];
+					lflops += b.isEmpty(bi) ? 0 : b.size(bi);
+				}
+				maxlen = (int)Math.max(maxlen, Math.min(lflops, n));
+			}
+			else
+				maxlen = Math.max(maxlen, ptr[i+1]-ptr[i]);
+		}
+		
+		//thread-local row accumulator (dense or hash)
+		SpGEMMRowAccumulator acc = (n <= SPGEMM_MAX_DENSE_ACC || n <= 4*maxlen) ?
+			new SpGEMMDenseAccumulator(n, maxlen) : new SpGEMMHashAccumulator(maxlen);
+		
+		for( int i=rl; i<ru; i++ ) {
+			if( a.isEmpty(i) ) continue;
+			int apos = a.pos(i);
+			int alen = a.size(i);
+			int[] aix = (aix16 == null) ? a.indexes(i) : null;
+			double[] avals = a.values(i);
+			
+			//accumulate row i of output: sum_k a[i,k] * b[k,]
+			for( int k=apos; k<apos+alen; k++ ) {
+				int bi = (aix16 != null) ? aix16[k] : aix[k];
+				if( b.isEmpty(bi) ) continue;
+				final double aval = avals[k];
+				int bpos = b.pos(bi);
+				int blen = b.size(bi);
+				double[] bvals = b.values(bi);
+				if( bix16 != null ) {
+					for( int j=bpos; j<bpos+blen; j++ )
+						acc.add(bix16[j], aval * bvals[j]);
+				}
+				else {
+					int[] bix = b.indexes(bi);
+					for( int j=bpos; j<bpos+blen; j++ )
+						acc.add(bix[j], aval * bvals[j]);
+				}
+			}
+			
+			//symbolic: nnz per row, numeric: sorted output row
+			if( symbolic )
+				ptr[i+1] = acc.size();
+			else
+				nzeros += acc.write(indexes, values, ptr[i]);
+			acc.reset();
+		}
+		
+		return nzeros;
+	}
+	
 	/**
 	 * This implementation applies to any combination of dense/sparse if at least one
 	 * input is ultrasparse (sparse and very few nnz). In that case, most importantly,
@@ -1492,44 +2186,42 @@ public class LibMatrixMult
 			SparseBlock a = m1.sparseBlock;
 			boolean rightSparse = m2.sparse;
 			
-			for( int i=rl; i<ru; i++ )
+			//iterate over non-empty rows only
+			for( int i=a.nextNonEmptyRow(rl, ru); i<ru; i=a.nextNonEmptyRow(i+1, ru) )
 			{
-				if( !a.isEmpty(i) ) 
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aixs = a.indexes(i);
+				double[] avals = a.values(i);
+				
+				if( alen==1 && avals[apos]==1 ) //ROW SELECTION (no aggregation)
 				{
-					int apos = a.pos(i);
-					int alen = a.size(i);
-					int[] aixs = a.indexes(i);
-					double[] avals = a.values(i);
-					
-					if( alen==1 && avals[apos]==1 ) //ROW SELECTION (no aggregation)
-					{
-						int aix = aixs[apos];
-						if( rightSparse ) { //sparse right matrix (full row copy)
-							if( !m2.sparseBlock.isEmpty(aix) ) {
-								ret.rlen=m;
-								ret.allocateSparseRowsBlock(false); //allocation on demand
-								ret.sparseBlock.set(i, m2.sparseBlock.get(aix), true); 
-								ret.nonZeros += ret.sparseBlock.size(i);
-							}
-						}
-						else { //dense right matrix (append all values)
-							for( int j=0; j<n; j++ )
-								ret.appendValue(i, j, m2.quickGetValue(aix, j));
+					int aix = aixs[apos];
+					if( rightSparse ) { //sparse right matrix (full row copy)
+						if( !m2.sparseBlock.isEmpty(aix) ) {
+							ret.rlen=m;
+							ret.allocateSparseRowsBlock(false); //allocation on demand
+							ret.sparseBlock.set(i, m2.sparseBlock.get(aix), true); 
+							ret.nonZeros += ret.sparseBlock.size(i);
 						}
 					}
-					else //GENERAL CASE
+					else { //dense right matrix (append all values)
+						for( int j=0; j<n; j++ )
+							ret.appendValue(i, j, m2.quickGetValue(aix, j));
+					}
+				}
+				else //GENERAL CASE
+				{
+					for( int k=apos; k<apos+alen; k++ )
 					{
-						for( int k=apos; k<apos+alen; k++ )
+						double aval = avals[k];
+						int aix = aixs[k];
+						for( int j=0; j<n; j++ )
 						{
-							double aval = avals[k];
-							int aix = aixs[k];
-							for( int j=0; j<n; j++ )
-							{
-								double cval = ret.quickGetValue(i, j);
-								double cvald = aval*m2.quickGetValue(aix, j);
-								if( cvald != 0 )
-									ret.quickSetValue(i, j, cval+cvald);
-							}
+							double cval = ret.quickGetValue(i, j);
+							double cvald = aval*m2.quickGetValue(aix, j);
+							if( cvald != 0 )
+								ret.quickSetValue(i, j, cval+cvald);
 						}
 					}
 				}
@@ -1568,10 +2260,10 @@ public class LibMatrixMult
 
 	private static void matrixMultChainDense(MatrixBlock mX, MatrixBlock mV, MatrixBlock mW, MatrixBlock ret, ChainType ct, int rl, int ru) 
 	{
-		double[] a = mX.denseBlock;
-		double[] b = mV.denseBlock;
-		double[] w = (mW!=null) ? mW.denseBlock : null;
-		double[] c = ret.denseBlock;
+		double[] a = mX.getDenseBlockValues();
+		double[] b = mV.getDenseBlockValues();
+		double[] w = (mW!=null) ? mW.getDenseBlockValues() : null;
+		double[] c = ret.getDenseBlockValues();
 		final int cd = mX.clen; //features in X
 		boolean weights = (ct == ChainType.XtwXv);
 		boolean weights2 = (ct == ChainType.XtXvy);
@@ -1612,9 +2304,9 @@ public class LibMatrixMult
 	private static void matrixMultChainSparse(MatrixBlock mX, MatrixBlock mV, MatrixBlock mW, MatrixBlock ret, ChainType ct, int rl, int ru) 
 	{
 		SparseBlock a = mX.sparseBlock;
-		double[] b = mV.denseBlock;
-		double[] w = (mW!=null) ? mW.denseBlock : null;
-		double[] c = ret.denseBlock;
+		double[] b = mV.getDenseBlockValues();
+		double[] w = (mW!=null) ? mW.getDenseBlockValues() : null;
+		double[] c = ret.getDenseBlockValues();
 		boolean weights = (ct == ChainType.XtwXv);
 		boolean weights2 = (ct == ChainType.XtXvy);
 		
@@ -1657,13 +2349,13 @@ public class LibMatrixMult
 		}
 	}
 
-	private static void matrixMultTransposeSelfDense( MatrixBlock m1, MatrixBlock ret, boolean leftTranspose, int rl, int ru ) 
+	private static void matrixMultTransposeSelfDense( MatrixBlock m1, double[] c, boolean leftTranspose, int rl, int ru, int coff ) 
 		throws DMLRuntimeException
 	{
 		//2) transpose self matrix multiply dense
-		// (compute only upper-triangular matrix due to symmetry)
-		double[] a = m1.denseBlock;
-		double[] c = ret.denseBlock;
+		// (compute only upper-triangular matrix due to symmetry, where 
+		// the output cell (i,j) is at position i*n+j-coff of c)
+		double[] a = m1.getDenseBlockValues();
 		int m = m1.rlen;
 		int n = m1.clen;
 		
@@ -1705,7 +2397,7 @@ public class LibMatrixMult
 					    		for( int i = bi; i < bimin; i++) 
 					    		{
 					    			int aixi = bk*n +i; //start index on a (logical t(X))
-					    			int cixj = i * nx + bj; //scan index on c
+					    			int cixj = i * nx + bj - coff; //scan index on c
 					    			
 					    			//determine nnz of a (for sparsity-aware skipping of rows)
 					    			int knnz = copyNonZeroElements(a, aixi, bk, bj, n, nx, ta, tbi, bklen);
@@ -1730,7 +2422,7 @@ public class LibMatrixMult
 			else
 			{	
 				for(int k = 0, ix1 = 0; k < m; k++, ix1+=n)
-					for(int i = rl, ix3 = 0; i < ru; i++, ix3+=n) 
+					for(int i = rl, ix3 = rl*n-coff; i < ru; i++, ix3+=n) 
 					{
 						double val = a[ ix1+i ];
 						if( val != 0 )
@@ -1766,7 +2458,7 @@ public class LibMatrixMult
 							for( int bj = bi, bklen = Math.min(blocksizeK, n-bk); bj<m; bj+=blocksizeIJ ) {
 								//core tsmm block operation (15x15 vectors of length 1K elements)
 								int bjmin = Math.min(m, bj+blocksizeIJ);	
-								for(int i=bi, ix1=bi*n+bk, ix3=bi*m; i<bimin; i++, ix1+=n, ix3+=m) {
+								for(int i=bi, ix1=bi*n+bk, ix3=bi*m-coff; i<bimin; i++, ix1+=n, ix3+=m) {
 									final int bjmax = Math.max(i,bj); //from i due to symmetry
 									for(int j=bjmax, ix2=bjmax*n+bk; j <bjmin; j++, ix2+=n) 
 										c[ ix3+j ] += dotProduct(a, a, ix1, ix2, bklen);	
@@ -1776,7 +2468,7 @@ public class LibMatrixMult
 			}
 			else
 			{
-				for(int i = rl, ix1 = 0, ix3 = 0; i < ru; i++, ix1+=n, ix3+=m)
+				for(int i = rl, ix1 = rl*n, ix3 = rl*m-coff; i < ru; i++, ix1+=n, ix3+=m)
 					for(int j = i, ix2 = i*n; j < m; j++, ix2+=n) //from i due to symmetry
 					{
 						double val = 0;
@@ -1788,13 +2480,13 @@ public class LibMatrixMult
 		}
 	}
 
-	private static void matrixMultTransposeSelfSparse( MatrixBlock m1, MatrixBlock ret, boolean leftTranspose, int rl, int ru ) 
+	private static void matrixMultTransposeSelfSparse( MatrixBlock m1, double[] c, boolean leftTranspose, int rl, int ru, int coff ) 
 		throws DMLRuntimeException
 	{
 		//2) transpose self matrix multiply sparse
-		// (compute only upper-triangular matrix due to symmetry)		
+		// (compute only upper-triangular matrix due to symmetry, where 
+		// the output cell (i,j) is at position i*n+j-coff of c)
 		SparseBlock a = m1.sparseBlock;
-		double[] c = ret.denseBlock;
 		int m = m1.rlen;
 		int n = m1.clen;
 
@@ -1819,8 +2511,8 @@ public class LibMatrixMult
 						{
 							double val = avals[i];
 							if( val != 0 ) {
-								int ix2 = aix[i]*n;
-								vectMultiplyAdd(val, avals, c, aix, i, ix2, alen-i);
+								int ix2 = aix[i]*n-coff;
+								vectMultiplyAdd(val, avals, c, aix, i, ix2, apos+alen-i);
 							}
 						}
 					}
@@ -1841,7 +2533,7 @@ public class LibMatrixMult
 						{
 							double val = avals[i];
 							if( val != 0 )
-								for(int j = i, ix2 = aix[i]*n; j < apos+alen; j++)
+								for(int j = i, ix2 = aix[i]*n-coff; j < apos+alen; j++)
 									c[ix2+aix[j]] += val * avals[j];
 						}
 					}
@@ -1883,8 +2575,8 @@ public class LibMatrixMult
 							{
 								double val = avals[i];
 								if( val != 0 ) {
-									int ix2 = aix[i]*m;
-									vectMultiplyAdd(val, avals, c, aix, i, ix2, alen-i);
+									int ix2 = aix[i]*m-coff;
+									vectMultiplyAdd(val, avals, c, aix, i, ix2, apos+alen-i);
 								}
 							}
 						}
@@ -1905,7 +2597,7 @@ public class LibMatrixMult
 							{
 								double val = avals[i];
 								if( val != 0 )
-									for(int j = i, ix2 = aix[i]*m; j < alen; j++)
+									for(int j = i, ix2 = aix[i]*m-coff; j < apos+alen; j++)
 										c[ix2+aix[j]] += val * avals[j];
 							}
 						}
@@ -1917,9 +2609,9 @@ public class LibMatrixMult
 	private static void matrixMultPermuteDense(MatrixBlock pm1, MatrixBlock m2, MatrixBlock ret1, MatrixBlock ret2, int rl, int ru) 
 		throws DMLRuntimeException
 	{
-		double[] a = pm1.denseBlock;
-		double[] b = m2.denseBlock;
-		double[] c = ret1.denseBlock;
+		double[] a = pm1.getDenseBlockValues();
+		double[] b = m2.getDenseBlockValues();
+		double[] c = ret1.getDenseBlockValues();
 
 		final int n = m2.clen;
 		final int brlen = ret1.getNumRows();
@@ -1940,7 +2632,7 @@ public class LibMatrixMult
 				if( lastblk!=-1 && lastblk<blk ){ 
 					ret2.sparse = false;
 					ret2.allocateDenseBlock();
-					c = ret2.denseBlock;		
+					c = ret2.getDenseBlockValues();		
 				}
 		
 				//memcopy entire dense row into target position
@@ -1952,8 +2644,8 @@ public class LibMatrixMult
 
 	private static void matrixMultPermuteDenseSparse( MatrixBlock pm1, MatrixBlock m2, MatrixBlock ret1, MatrixBlock ret2, int rl, int ru)
 	{
-		double[] a = pm1.denseBlock;
-		double[] b = m2.denseBlock;
+		double[] a = pm1.getDenseBlockValues();
+		double[] b = m2.getDenseBlockValues();
 		SparseBlock c = ret1.sparseBlock;
 
 		final int n = m2.clen;
@@ -1989,7 +2681,7 @@ public class LibMatrixMult
 
 	private static void matrixMultPermuteSparse( MatrixBlock pm1, MatrixBlock m2, MatrixBlock ret1, MatrixBlock ret2, int rl, int ru)
 	{
-		double[] a = pm1.denseBlock;
+		double[] a = pm1.getDenseBlockValues();
 		SparseBlock b = m2.sparseBlock;
 		SparseBlock c = ret1.sparseBlock;
 
@@ -2023,10 +2715,10 @@ public class LibMatrixMult
 
 	private static void matrixMultWSLossDense(MatrixBlock mX, MatrixBlock mU, MatrixBlock mV, MatrixBlock mW, MatrixBlock ret, WeightsType wt, int rl, int ru)
 	{
-		double[] x = mX.denseBlock;
-		double[] u = mU.denseBlock;
-		double[] v = mV.denseBlock;
-		double[] w = (mW!=null)? mW.denseBlock : null;
+		double[] x = mX.getDenseBlockValues();
+		double[] u = mU.getDenseBlockValues();
+		double[] v = mV.getDenseBlockValues();
+		double[] w = (mW!=null)? mW.getDenseBlockValues() : null;
 		final int n = mX.clen;
 		final int cd = mU.clen;
 		double wsloss = 0;
@@ -2098,8 +2790,8 @@ public class LibMatrixMult
 	{
 		SparseBlock x = mX.sparseBlock;
 		SparseBlock w = (mW!=null)? mW.sparseBlock : null;
-		double[] u = mU.denseBlock;
-		double[] v = mV.denseBlock;
+		double[] u = mU.getDenseBlockValues();
+		double[] v = mV.getDenseBlockValues();
 		final int n = mX.clen; 
 		final int cd = mU.clen;
 		double wsloss = 0; 
@@ -2251,7 +2943,7 @@ public class LibMatrixMult
 			}
 			else //DENSE
 			{
-				double[] w = mW.denseBlock;
+				double[] w = mW.getDenseBlockValues();
 				
 				for( int i=rl, wix=rl*n; i<ru; i++, wix+=n )
 					for( int j=0; j<n; j++)
@@ -2284,7 +2976,7 @@ public class LibMatrixMult
 			}
 			else //DENSE
 			{
-				double[] x = mX.denseBlock;
+				double[] x = mX.getDenseBlockValues();
 				
 				for( int i=rl, xix=rl*n; i<ru; i++, xix+=n )
 					for( int j=0; j<n; j++)
@@ -2328,10 +3020,10 @@ public class LibMatrixMult
 	private static void matrixMultWSigmoidDense(MatrixBlock mW, MatrixBlock mU, MatrixBlock mV, MatrixBlock ret, WSigmoidType wt, int rl, int ru) 
 		throws DMLRuntimeException 
 	{	
-		double[] w = mW.denseBlock;
-		double[] c = ret.denseBlock;
-		double[] u = mU.denseBlock;
-		double[] v = mV.denseBlock;
+		double[] w = mW.getDenseBlockValues();
+		double[] c = ret.getDenseBlockValues();
+		double[] u = mU.getDenseBlockValues();
+		double[] v = mV.getDenseBlockValues();
 		final int n = mW.clen;
 		final int cd = mU.clen;
 		
@@ -2368,8 +3060,8 @@ public class LibMatrixMult
 	{
 		SparseBlock w = mW.sparseBlock;
 		SparseBlock c = ret.sparseBlock;
-		double[] u = mU.denseBlock;
-		double[] v = mV.denseBlock;
+		double[] u = mU.getDenseBlockValues();
+		double[] v = mV.getDenseBlockValues();
 		final int cd = mU.clen;
 		
 		boolean flagminus = (wt==WSigmoidType.MINUS || wt==WSigmoidType.LOG_MINUS); 
@@ -2424,8 +3116,8 @@ public class LibMatrixMult
 		else //DENSE
 		{
 			//w and c always in same representation
-			double[] w = mW.denseBlock;
-			double[] c = ret.denseBlock;
+			double[] w = mW.getDenseBlockValues();
+			double[] c = ret.getDenseBlockValues();
 		
 			for( int i=rl, ix=rl*n; i<ru; i++ )
 				for( int j=0; j<n; j++, ix++) {
@@ -2450,11 +3142,11 @@ public class LibMatrixMult
 		final int n = mW.clen;
 		final int cd = mU.clen;
 		
-		double[] w = mW.denseBlock;
-		double[] u = mU.denseBlock;
-		double[] v = mV.denseBlock;
-		double[] x = (mX==null) ? null : mX.denseBlock;
-		double[] c = ret.denseBlock;
+		double[] w = mW.getDenseBlockValues();
+		double[] u = mU.getDenseBlockValues();
+		double[] v = mV.getDenseBlockValues();
+		double[] x = (mX==null) ? null : mX.getDenseBlockValues();
+		double[] c = ret.getDenseBlockValues();
 		
 		//approach: iterate over non-zeros of w, selective mm computation
 		//cache-conscious blocking: due to blocksize constraint (default 1000),
@@ -2498,9 +3190,9 @@ public class LibMatrixMult
 		final int cd = mU.clen;
 		
 		SparseBlock w = mW.sparseBlock;
-		double[] u = mU.denseBlock;
-		double[] v = mV.denseBlock;
-		double[] c = ret.denseBlock;
+		double[] u = mU.getDenseBlockValues();
+		double[] v = mV.getDenseBlockValues();
+		double[] c = ret.getDenseBlockValues();
 		SparseBlock x = (mX==null) ? null : mX.sparseBlock;
 		
 		//approach: iterate over non-zeros of w, selective mm computation
@@ -2587,7 +3279,7 @@ public class LibMatrixMult
 		final int cd = mU.clen;
 
 		//output always in dense representation
-		double[] c = ret.denseBlock;
+		double[] c = ret.getDenseBlockValues();
 		
 		//approach: iterate over non-zeros of w, selective mm computation
 		if( mW.sparse ) //SPARSE
@@ -2620,7 +3312,7 @@ public class LibMatrixMult
 		}
 		else //DENSE
 		{
-			double[] w = mW.denseBlock;
+			double[] w = mW.getDenseBlockValues();
 		
 			for( int i=rl, ix=rl*n; i<ru; i++, ix+=n )
 				for( int j=cl; j<cu; j++)
@@ -2641,9 +3333,9 @@ public class LibMatrixMult
 
 	private static void matrixMultWCeMMDense(MatrixBlock mW, MatrixBlock mU, MatrixBlock mV, double eps, MatrixBlock ret, WCeMMType wt, int rl, int ru)
 	{
-		double[] w = mW.denseBlock;
-		double[] u = mU.denseBlock;
-		double[] v = mV.denseBlock;
+		double[] w = mW.getDenseBlockValues();
+		double[] u = mU.getDenseBlockValues();
+		double[] v = mV.getDenseBlockValues();
 		final int n = mW.clen;
 		final int cd = mU.clen;
 		double wceval = 0;
@@ -2675,8 +3367,8 @@ public class LibMatrixMult
 	private static void matrixMultWCeMMSparseDense(MatrixBlock mW, MatrixBlock mU, MatrixBlock mV, double eps, MatrixBlock ret, WCeMMType wt, int rl, int ru)
 	{
 		SparseBlock w = mW.sparseBlock;
-		double[] u = mU.denseBlock;
-		double[] v = mV.denseBlock;
+		double[] u = mU.getDenseBlockValues();
+		double[] v = mV.getDenseBlockValues();
 		final int n = mW.clen;
 		final int cd = mU.clen;
 		double wceval = 0; 
@@ -2738,7 +3430,7 @@ public class LibMatrixMult
 		}
 		else //DENSE
 		{
-			double[] w = mW.denseBlock;
+			double[] w = mW.getDenseBlockValues();
 		
 			for( int i=rl, ix=rl*n; i<ru; i++ )
 				for( int j=0; j<n; j++, ix++) {
@@ -2757,10 +3449,10 @@ public class LibMatrixMult
 	private static void matrixMultWuMMDense(MatrixBlock mW, MatrixBlock mU, MatrixBlock mV, MatrixBlock ret, WUMMType wt, ValueFunction fn, int rl, int ru) 
 		throws DMLRuntimeException 
 	{	
-		double[] w = mW.denseBlock;
-		double[] c = ret.denseBlock;
-		double[] u = mU.denseBlock;
-		double[] v = mV.denseBlock;
+		double[] w = mW.getDenseBlockValues();
+		double[] c = ret.getDenseBlockValues();
+		double[] u = mU.getDenseBlockValues();
+		double[] v = mV.getDenseBlockValues();
 		final int n = mW.clen;
 		final int cd = mU.clen;
 		
@@ -2796,8 +3488,8 @@ public class LibMatrixMult
 	{
 		SparseBlock w = mW.sparseBlock;
 		SparseBlock c = ret.sparseBlock;
-		double[] u = mU.denseBlock;
-		double[] v = mV.denseBlock;
+		double[] u = mU.getDenseBlockValues();
+		double[] v = mV.getDenseBlockValues();
 		final int cd = mU.clen;
 		
 		boolean flagmult = (wt==WUMMType.MULT); 
@@ -2850,8 +3542,8 @@ public class LibMatrixMult
 		else //DENSE
 		{
 			//w and c always in same representation
-			double[] w = mW.denseBlock;
-			double[] c = ret.denseBlock;
+			double[] w = mW.getDenseBlockValues();
+			double[] c = ret.getDenseBlockValues();
 		
 			for( int i=rl, ix=rl*n; i<ru; i++ )
 				for( int j=0; j<n; j++, ix++) {
@@ -2964,8 +3656,37 @@ public class LibMatrixMult
 		return val; 
 	}
 
-	//note: public for use by codegen for consistency
-	public static void vectMultiplyAdd( final double aval, double[] b, double[] c, int bi, int ci, final int len )
+	private static double dotProduct( double[] a, double[] b, char[] aix, int ai, final int bi, final int len )
+	{
+		double val = 0;
+		final int bn = len%8;
+				
+		//compute rest
+		for( int i = ai; i < ai+bn; i++ )
+			val += a[ i ] * b[ bi+aix[i] ];
+		
+		//unrolled 8-block (for better instruction-level parallelism)
+		for( int i = ai+bn; i < ai+len; i+=8 )
+		{
+			//read 64B cacheline of a
+			//read 64B of b via 'gather' w/ compact indexes
+			//compute cval' = sum(a * b) + cval
+			val += a[ i+0 ] * b[ bi+aix[i+0] ]
+			     + a[ i+1 ] * b[ bi+aix[i+1] ]
+			     + a[ i+2 ] * b[ bi+aix[i+2] ]
+			     + a[ i+3 ] * b[ bi+aix[i+3] ]
+			     + a[ i+4 ] * b[ bi+aix[i+4] ]
+			     + a[ i+5 ] * b[ bi+aix[i+5] ]
+			     + a[ i+6 ] * b[ bi+aix[i+6] ]
+			     + a[ i+7 ] * b[ bi+aix[i+7] ];
+		}
+		
+		//scalar result
+		return val; 
+	}
+
+	//note: public for use by codegen for consistency
+	public static void vectMultiplyAdd( final double aval, double[] b, double[] c, int bi, int ci, final int len )
 	{
 		final int bn = len%8;
 		
@@ -3065,7 +3786,49 @@ public class LibMatrixMult
 		}
 	}
 
-	@SuppressWarnings("unused")
+	private static void vectMultiplyAdd4x4( double[] a, double[] b, double[] c, int ai, final int alen, final int bi, final int blen, final int ci, final int clen, final int len )
+	{
+		//read 4x4 values of a (4 rows, 4 consecutive columns)
+		final double a00 = a[ai], a01 = a[ai+1], a02 = a[ai+2], a03 = a[ai+3]; ai += alen;
+		final double a10 = a[ai], a11 = a[ai+1], a12 = a[ai+2], a13 = a[ai+3]; ai += alen;
+		final double a20 = a[ai], a21 = a[ai+1], a22 = a[ai+2], a23 = a[ai+3]; ai += alen;
+		final double a30 = a[ai], a31 = a[ai+1], a32 = a[ai+2], a33 = a[ai+3];
+		final int bi1 = bi+blen, bi2 = bi+2*blen, bi3 = bi+3*blen;
+		final int ci1 = ci+clen, ci2 = ci+2*clen, ci3 = ci+3*clen;
+		
+		//read 4 values of b once, and compute 4 rows of c
+		//(same order of operations per cell as vectMultiplyAdd4)
+		for( int j = 0; j < len; j++ ) {
+			final double b0 = b[ bi+j ], b1 = b[ bi1+j ], b2 = b[ bi2+j ], b3 = b[ bi3+j ];
+			c[ ci+j ]  += a00 * b0 + a01 * b1 + a02 * b2 + a03 * b3;
+			c[ ci1+j ] += a10 * b0 + a11 * b1 + a12 * b2 + a13 * b3;
+			c[ ci2+j ] += a20 * b0 + a21 * b1 + a22 * b2 + a23 * b3;
+			c[ ci3+j ] += a30 * b0 + a31 * b1 + a32 * b2 + a33 * b3;
+		}
+	}
+
+	private static void vectMultiplyAddFP32( final double aval, float[] b, double[] c, int bi, int ci, final int len )
+	{
+		final int bn = len%8;
+		
+		//rest, not aligned to 8-blocks
+		for( int j = 0; j < bn; j++, bi++, ci++)
+			c[ ci ] += aval * b[ bi ];
+		
+		//unrolled 8-block (for better instruction-level parallelism)
+		for( int j = bn; j < len; j+=8, bi+=8, ci+=8) 
+		{
+			c[ ci+0 ] += aval * b[ bi+0 ];
+			c[ ci+1 ] += aval * b[ bi+1 ];
+			c[ ci+2 ] += aval * b[ bi+2 ];
+			c[ ci+3 ] += aval * b[ bi+3 ];
+			c[ ci+4 ] += aval * b[ bi+4 ];
+			c[ ci+5 ] += aval * b[ bi+5 ];
+			c[ ci+6 ] += aval * b[ bi+6 ];
+			c[ ci+7 ] += aval * b[ bi+7 ];
+		}
+	}
+	
 	private static void vectMultiplyAdd( final double aval, double[] b, double[] c, int[] bix, final int ci, final int len )
 	{
 		final int bn = len%8;
@@ -3119,6 +3882,32 @@ public class LibMatrixMult
 		}
 	}
 
+	private static void vectMultiplyAdd( final double aval, double[] b, double[] c, char[] bix, final int bi, final int ci, final int len )
+	{
+		final int bn = len%8;
+		
+		//rest, not aligned to 8-blocks
+		for( int j = bi; j < bi+bn; j++ )
+			c[ ci + bix[j] ] += aval * b[ j ];
+		
+		//unrolled 8-block (for better instruction-level parallelism)
+		for( int j = bi+bn; j < bi+len; j+=8 )
+		{
+			//read 64B cacheline of b
+			//read 64B of c via 'gather' w/ compact indexes
+			//compute c' = aval * b + c
+			//write back 64B of c = c' via 'scatter'
+			c[ ci+bix[j+0] ] += aval * b[ j+0 ];
+			c[ ci+bix[j+1] ] += aval * b[ j+1 ];
+			c[ ci+bix[j+2] ] += aval * b[ j+2 ];
+			c[ ci+bix[j+3] ] += aval * b[ j+3 ];
+			c[ ci+bix[j+4] ] += aval * b[ j+4 ];
+			c[ ci+bix[j+5] ] += aval * b[ j+5 ];
+			c[ ci+bix[j+6] ] += aval * b[ j+6 ];
+			c[ ci+bix[j+7] ] += aval * b[ j+7 ];
+		}
+	}
+
 	//note: public for use by codegen for consistency
 	public static void vectMultiplyWrite( final double aval, double[] b, double[] c, int bi, int ci, final int len )
 	{
@@ -3416,7 +4205,7 @@ public class LibMatrixMult
 	 */
 	private static void copyUpperToLowerTriangle( MatrixBlock ret )
 	{
-		double[] c = ret.denseBlock;
+		double[] c = ret.getDenseBlockValues();
 		final int m = ret.rlen;
 		final int n = ret.clen;
 		
@@ -3426,6 +4215,389 @@ public class LibMatrixMult
 				c[ lix ] = c[ uix+j ];
 	}
 
+	/**
+	 * Used for all versions of TSMM with symmetric output, where we compute 
+	 * the upper triangular matrix in row panels of a small temporary buffer
+	 * and pack the rows of each panel into the symmetric block, which avoids
+	 * allocating and copying the full (square) output.
+	 * 
+	 * @param m1 input matrix (after preprocessing)
+	 * @param c symmetric output block
+	 * @param leftTranspose true if t(X)%*%X
+	 * @param rl row lower index
+	 * @param ru row upper index (exclusive)
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static void matrixMultTransposeSelfSym( MatrixBlock m1, DenseBlockSym c, boolean leftTranspose, int rl, int ru ) 
+		throws DMLRuntimeException
+	{
+		final int n = c.numCols();
+		final int blen = Math.min(ru-rl, Math.max(32, TSMM_PANEL_SIZE/n/32*32));
+		double[] tmp = new double[blen * n];
+		
+		for( int bi=rl; bi<ru; bi+=blen ) {
+			int bimin = Math.min(ru, bi+blen);
+			if( bi > rl ) //reset buffer
+				Arrays.fill(tmp, 0, (bimin-bi)*n, 0);
+			if( m1.sparse )
+				matrixMultTransposeSelfSparse(m1, tmp, leftTranspose, bi, bimin, bi*n);
+			else
+				matrixMultTransposeSelfDense(m1, tmp, leftTranspose, bi, bimin, bi*n);
+			c.setUpperRows(tmp, 0, bi, bimin);
+		}
+	}
+	
+	private static boolean isSymmetricOutput( MatrixBlock ret ) {
+		//packed symmetric output for non-trivial squares of at most 2^31 cells
+		return TSMM_SYMMETRIC_OUTPUT && ret.rlen > 1 && ret.rlen == ret.clen 
+			&& (long)ret.rlen * ret.clen <= DenseBlockFactory.MAX_ALLOC;
+	}
+
+	/**
+	 * Matrix-vector and vector-matrix multiplication with a symmetric matrix
+	 * in packed upper-triangular representation (e.g., outputs of tsmm), 
+	 * where t(v)%*%A = t(A%*%v) and every off-diagonal cell a_ij contributes 
+	 * to both c_i and c_j. This scans the packed triangle once w/o widening.
+	 * 
+	 * @param m1 symmetric matrix or row vector
+	 * @param m2 column vector or symmetric matrix
+	 * @param ret result vector
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static void matrixMultSymmetricVector( MatrixBlock m1, MatrixBlock m2, MatrixBlock ret ) 
+		throws DMLRuntimeException
+	{
+		boolean left = m1.isSymmetric();
+		double[] a = (left ? m1 : m2).getDenseBlockValuesSym();
+		double[] b = DataConverter.convertToDoubleVector(left ? m2 : m1);
+		final int n = b.length;
+		
+		ret.sparse = false;
+		ret.allocateDenseBlock();
+		double[] c = ret.getDenseBlockValues();
+		for( int i=0, ix=0; i<n; ix+=n-i, i++ ) {
+			c[i] += a[ix] * b[i] + dotProduct(a, b, ix+1, i+1, n-i-1);
+			vectMultiplyAdd(b[i], a, c, ix+1, i+1, n-i-1);
+		}
+		ret.recomputeNonZeros();
+	}
+
+	/**
+	 * Matrix multiplication over diagonal or constant inputs w/o expanding them:
+	 * X %*% diag(d) scales the columns of X, diag(d) %*% X scales the rows of X,
+	 * and matrix multiplications with a constant block reduce to scaled column 
+	 * sums (constant left) or row sums (constant right) of the other input.
+	 * 
+	 * @param m1 first matrix
+	 * @param m2 second matrix
+	 * @param ret result matrix
+	 */
+	private static void matrixMultStructured( MatrixBlock m1, MatrixBlock m2, MatrixBlock ret ) {
+		final int m = m1.rlen;
+		final int cd = m1.clen;
+		final int n = m2.clen;
+		
+		if( m1.isDiagonal() && m2.isDiagonal() ) { //DIAG-DIAG
+			double[] a = m1.getDiagonalValues();
+			double[] b = m2.getDiagonalValues();
+			double[] c = new double[n];
+			for( int i=0; i<n; i++ )
+				c[i] = a[i] * b[i];
+			ret.reset(m, n, true);
+			ret.allocateDiagonalBlock(c);
+		}
+		else if( m2.isDiagonal() ) { //X %*% DIAG
+			matrixMultDiagRight(m1, m2.getDiagonalValues(), ret);
+		}
+		else if( m1.isDiagonal() ) { //DIAG %*% X
+			matrixMultDiagLeft(m1.getDiagonalValues(), m2, ret);
+		}
+		else if( m1.isConstant() && m2.isConstant() 
+			&& (long)m * n <= DenseBlockFactory.MAX_ALLOC ) { //CONST-CONST
+			ret.reset(m, n, false);
+			ret.allocateConstantBlock(m1.getConstantValue() * m2.getConstantValue() * cd);
+		}
+		else if( m1.isConstant() ) { //CONST %*% X: replicated column sums
+			double[] b = new double[n];
+			colSums(m2, b);
+			vectMultiplyRows(m1.getConstantValue(), b, ret, m, n, false);
+		}
+		else { //X %*% CONST: replicated row sums
+			double[] a = new double[m];
+			rowSums(m1, a);
+			vectMultiplyRows(m2.getConstantValue(), a, ret, m, n, true);
+		}
+	}
+	
+	private static void matrixMultDiagRight( MatrixBlock m1, double[] d, MatrixBlock ret ) {
+		final int m = m1.rlen;
+		final int n = m1.clen;
+		ret.reset(m, n, m1.sparse);
+		
+		if( m1.sparse ) { //SPARSE-DIAG (sparse output)
+			SparseBlock a = m1.sparseBlock;
+			ret.allocateSparseRowsBlock();
+			SparseBlock c = ret.sparseBlock;
+			for( int i=0; i<m; i++ ) {
+				if( a.isEmpty(i) )
+					continue;
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				c.allocate(i, alen);
+				for( int k=apos; k<apos+alen; k++ )
+					c.append(i, aix[k], avals[k] * d[aix[k]]);
+			}
+		}
+		else { //DENSE-DIAG (incl constant)
+			ret.allocateDenseBlock();
+			DenseBlock c = ret.getDenseBlock();
+			double cval = m1.getConstantValue();
+			boolean cnst = m1.isConstant();
+			DenseBlock a = m1.getDenseBlock();
+			for( int i=0; i<m; i++ ) {
+				double[] cvals = c.values(i);
+				int cix = c.pos(i);
+				if( cnst )
+					vectMultiplyWrite(cval, d, cvals, 0, cix, n);
+				else
+					vectMultiplyWrite(a.values(i), d, cvals, a.pos(i), 0, cix, n);
+			}
+		}
+		ret.recomputeNonZeros();
+	}
+	
+	private static void matrixMultDiagLeft( double[] d, MatrixBlock m2, MatrixBlock ret ) {
+		final int m = m2.rlen;
+		final int n = m2.clen;
+		ret.reset(m, n, m2.sparse);
+		
+		if( m2.sparse ) { //DIAG-SPARSE (sparse output)
+			SparseBlock b = m2.sparseBlock;
+			ret.allocateSparseRowsBlock();
+			SparseBlock c = ret.sparseBlock;
+			for( int i=0; i<m; i++ ) {
+				if( b.isEmpty(i) || d[i] == 0 )
+					continue;
+				int bpos = b.pos(i);
+				int blen = b.size(i);
+				int[] bix = b.indexes(i);
+				double[] bvals = b.values(i);
+				c.allocate(i, blen);
+				for( int k=bpos; k<bpos+blen; k++ )
+					c.append(i, bix[k], d[i] * bvals[k]);
+			}
+		}
+		else { //DIAG-DENSE (incl constant)
+			ret.allocateDenseBlock();
+			DenseBlock c = ret.getDenseBlock();
+			double cval = m2.getConstantValue();
+			boolean cnst = m2.isConstant();
+			DenseBlock b = m2.getDenseBlock();
+			for( int i=0; i<m; i++ ) {
+				if( d[i] == 0 )
+					continue;
+				double[] cvals = c.values(i);
+				int cix = c.pos(i);
+				if( cnst )
+					Arrays.fill(cvals, cix, cix+n, d[i] * cval);
+				else
+					vectMultiplyWrite(d[i], b.values(i), cvals, b.pos(i), cix, n);
+			}
+		}
+		ret.recomputeNonZeros();
+	}
+	
+	private static void vectMultiplyRows( double cval, double[] v, MatrixBlock ret, int m, int n, boolean rowwise ) {
+		ret.reset(m, n, false);
+		ret.allocateDenseBlock();
+		DenseBlock c = ret.getDenseBlock();
+		for( int i=0; i<m; i++ ) {
+			double[] cvals = c.values(i);
+			int cix = c.pos(i);
+			if( rowwise ) //row i filled with cval * v[i]
+				Arrays.fill(cvals, cix, cix+n, cval * v[i]);
+			else //row i equals cval * v
+				vectMultiplyWrite(cval, v, cvals, 0, cix, n);
+		}
+		ret.recomputeNonZeros();
+	}
+	
+	private static void rowSums( MatrixBlock in, double[] c ) {
+		if( in.sparse ) {
+			SparseBlock a = in.sparseBlock;
+			for( int i=0; i<in.rlen; i++ )
+				if( !a.isEmpty(i) )
+					c[i] = sum(a.values(i), a.pos(i), a.size(i));
+		}
+		else {
+			DenseBlock a = in.getDenseBlock();
+			for( int i=0; i<in.rlen; i++ )
+				c[i] = sum(a.values(i), a.pos(i), in.clen);
+		}
+	}
+	
+	private static void colSums( MatrixBlock in, double[] c ) {
+		if( in.sparse ) {
+			SparseBlock a = in.sparseBlock;
+			for( int i=0; i<in.rlen; i++ )
+				if( !a.isEmpty(i) )
+					vectMultiplyAdd(1, a.values(i), c, a.indexes(i), a.pos(i), 0, a.size(i));
+		}
+		else {
+			DenseBlock a = in.getDenseBlock();
+			for( int i=0; i<in.rlen; i++ )
+				vectAdd(a.values(i), c, a.pos(i), 0, in.clen);
+		}
+	}
+	
+	private static double sum( double[] a, int ai, final int len ) {
+		double val = 0;
+		for( int i=ai; i<ai+len; i++ )
+			val += a[i];
+		return val;
+	}
+
+	/**
+	 * Matrix multiplication t(X)%*%Y over a transpose view of X, which computes
+	 * the output rows (i.e., columns of X) from the rows of X and Y, where every 
+	 * non-zero x_ij contributes x_ij * y_i to output row j. This avoids the 
+	 * materialization of t(X), while the output is always dense. For t(X)%*%X 
+	 * we directly use tsmm over the input of the view.
+	 * 
+	 * @param mX input of the transpose view
+	 * @param m2 second matrix
+	 * @param ret result matrix
+	 * @param k maximum parallelism
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static void matrixMultTransposeLeft( MatrixBlock mX, MatrixBlock m2, MatrixBlock ret, int k ) 
+		throws DMLRuntimeException
+	{
+		//special case: t(X)%*%X (symmetric output)
+		if( mX == m2 ) {
+			if( k > 1 )
+				matrixMultTransposeSelf(mX, ret, true, k);
+			else
+				matrixMultTransposeSelf(mX, ret, true);
+			return;
+		}
+		
+		ret.sparse = false;
+		ret.allocateDenseBlock();
+		
+		//core matrix mult computation, multi-threaded over disjoint output rows
+		if( k <= 1 || ret.rlen < 2 || 2L * mX.rlen * mX.clen * m2.clen < PAR_MINFLOP_THRESHOLD ) {
+			matrixMultTransposeLeft(mX, m2, ret, 0, ret.rlen);
+		}
+		else {
+			try {
+				ExecutorService pool = Executors.newFixedThreadPool( k );
+				ArrayList<MatrixMultTransposeLeftTask> tasks = new ArrayList<MatrixMultTransposeLeftTask>();
+				ArrayList<Integer> blklens = getBalancedBlockSizes(ret.rlen, k);
+				for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
+					tasks.add(new MatrixMultTransposeLeftTask(mX, m2, ret, lb, lb+blklens.get(i)));
+				List<Future<Object>> taskret = pool.invokeAll(tasks);
+				pool.shutdown();
+				for( Future<Object> task : taskret )
+					task.get(); //error handling
+			}
+			catch(Exception ex) {
+				throw new DMLRuntimeException(ex);
+			}
+		}
+		
+		ret.recomputeNonZeros();
+	}
+	
+	private static void matrixMultTransposeLeft( MatrixBlock mX, MatrixBlock m2, MatrixBlock ret, int rl, int ru ) {
+		final int m = mX.rlen;
+		final int cd = m2.clen;
+		DenseBlock c = ret.getDenseBlock();
+		
+		if( mX.sparse ) //SPARSE-DENSE
+		{
+			SparseBlock a = mX.sparseBlock;
+			DenseBlock b = m2.getDenseBlock();
+			for( int i=0; i<m; i++ ) {
+				if( a.isEmpty(i) )
+					continue;
+				int apos = a.pos(i);
+				int alen = a.size(i);
+				int[] aix = a.indexes(i);
+				double[] avals = a.values(i);
+				double[] bvals = b.values(i);
+				int bix = b.pos(i);
+				int k1 = (rl==0) ? apos : a.posFIndexGTE(i, rl);
+				k1 = (k1>=0) ? k1 : apos+alen;
+				for( int k=k1; k<apos+alen && aix[k]<ru; k++ )
+					vectMultiplyAdd(avals[k], bvals, c.values(aix[k]), bix, c.pos(aix[k]), cd);
+			}
+		}
+		else
+		{
+			//blocking over output rows, which are reused across all rows of X
+			DenseBlock a = mX.getDenseBlock();
+			final int blocksizeJ = Math.max(8, L2_CACHESIZE / 8 / cd);
+			for( int bj=rl; bj<ru; bj+=blocksizeJ ) {
+				int bjmin = Math.min(ru, bj+blocksizeJ);
+				for( int i=0; i<m; i++ ) {
+					double[] avals = a.values(i);
+					int aix = a.pos(i);
+					if( !m2.sparse && cd == 1 ) { //DENSE-DENSE (vector)
+						//output vector is the weighted sum of rows of X
+						double bval = m2.denseBlock.get(i, 0);
+						if( bval != 0 )
+							vectMultiplyAdd(bval, avals, c.values(0), aix+bj, bj, bjmin-bj);
+					}
+					else if( !m2.sparse ) { //DENSE-DENSE
+						DenseBlock b = m2.getDenseBlock();
+						double[] bvals = b.values(i);
+						int bix = b.pos(i);
+						for( int j=bj; j<bjmin; j++ ) {
+							double aval = avals[aix+j];
+							if( aval != 0 )
+								vectMultiplyAdd(aval, bvals, c.values(j), bix, c.pos(j), cd);
+						}
+					}
+					else { //DENSE-SPARSE
+						SparseBlock b = m2.sparseBlock;
+						if( b.isEmpty(i) )
+							continue;
+						int bpos = b.pos(i);
+						int blen = b.size(i);
+						int[] bix = b.indexes(i);
+						double[] bvals = b.values(i);
+						for( int j=bj; j<bjmin; j++ ) {
+							double aval = avals[aix+j];
+							if( aval != 0 )
+								vectMultiplyAdd(aval, bvals, c.values(j), bix, bpos, c.pos(j), blen);
+						}
+					}
+				}
+			}
+		}
+	}
+	
+	private static boolean checkTransposeLeftMatrixMult( MatrixBlock mX, MatrixBlock m2 ) {
+		//transposed access to X for t(X)%*%X (tsmm) or if at least one input is dense
+		//(sparse-sparse w/ dense output materializes the transpose and uses existing kernels)
+		return LOW_LEVEL_OPTIMIZATION && (mX == m2 
+			|| !mX.sparse && mX.denseBlock != null && (!m2.sparse || m2.sparseBlock != null)
+			|| mX.sparse && mX.sparseBlock != null && !m2.sparse && m2.denseBlock != null);
+	}
+
+	private static boolean checkStructuredMatrixMult( MatrixBlock m1, MatrixBlock m2 ) {
+		return m1.isDiagonal() || m2.isDiagonal() 
+			|| m1.isConstant() || m2.isConstant();
+	}
+
+	private static boolean checkSymmetricMatrixVectorMult( MatrixBlock m1, MatrixBlock m2 ) {
+		return (m1.isSymmetric() && m2.clen == 1)
+			|| (m2.isSymmetric() && m1.rlen == 1);
+	}
+
 	private static MatrixBlock prepMatrixMultTransposeSelfInput( MatrixBlock m1, boolean leftTranspose ) 
 		throws DMLRuntimeException
 	{
@@ -3445,9 +4617,11 @@ public class LibMatrixMult
 	private static boolean checkPrepMatrixMultRightInput( MatrixBlock m1, MatrixBlock m2 )
 	{
 		//transpose if dense-dense, skinny rhs matrix (not vector), and memory guarded by output 
+		//(but not for single-precision inputs in order to avoid unnecessary widening)
 		return (LOW_LEVEL_OPTIMIZATION && !m1.sparse && !m2.sparse 
 				&& m1.rlen > m2.clen && m2.rlen > 64 && m2.clen > 1 && m2.clen < 64
-				&& 8*m2.rlen*m2.clen < 256*1024 ); //rhs fits in L2 cache
+				&& 8*m2.rlen*m2.clen < 256*1024  //rhs fits in L2 cache
+				&& !(m1.isSinglePrecision() && m2.isSinglePrecision()) );
 	}
 
 	private static boolean checkParMatrixMultRightInputRows( MatrixBlock m1, MatrixBlock m2, int k ) {
@@ -3465,6 +4639,26 @@ public class LibMatrixMult
 				&& 8*m1.rlen*m1.clen < 256*1024 ); //lhs fits in L2 cache
 	}
 
+	private static boolean checkSparseOutputMatrixMult( MatrixBlock m1, MatrixBlock m2 ) {
+		//use sparse-sparse matrix mult w/ sparse output if both inputs are sparse, 
+		//not vectors, and the estimated output sparsity is below the sparse turn point
+		if( !(LOW_LEVEL_OPTIMIZATION && m1.sparse && m2.sparse && m1.sparseBlock != null 
+			&& m2.sparseBlock != null && m1.rlen > 1 && m2.clen > 1) )
+			return false;
+		double sp1 = (double)m1.nonZeros/m1.rlen/m1.clen;
+		double sp2 = (double)m2.nonZeros/m2.rlen/m2.clen;
+		double sp = 1 - Math.pow(1 - sp1*sp2, m1.clen);
+		return MatrixBlock.evalSparseFormatInMemory(m1.rlen, m2.clen, (long)(sp*m1.rlen*m2.clen));
+	}
+
+	private static boolean checkPackedMatrixMult( MatrixBlock m1, MatrixBlock m2 ) {
+		//use packed kernel if dense-dense, sufficiently large in all dimensions, and 
+		//lhs almost dense (otherwise skipping of zeros in lhs is more efficient)
+		return (LOW_LEVEL_OPTIMIZATION && !m1.sparse && !m2.sparse
+				&& m1.rlen >= 8*PACK_MR && m1.clen >= 32 && m2.clen >= 32
+				&& m1.nonZeros >= PACK_MIN_SPARSITY * m1.rlen * m1.clen );
+	}
+
 	private static MatrixBlock prepMatrixMultRightInput( MatrixBlock m1, MatrixBlock m2 ) 
 		throws DMLRuntimeException
 	{
@@ -3548,6 +4742,44 @@ public class LibMatrixMult
 		}	
 		return ret; 
 	}
+
+	private static ArrayList<Integer> getAlignedBlockSizes(int len, int k, int align) {
+		//balanced block sizes in multiples of align (except the last block)
+		ArrayList<Integer> ret = getBalancedBlockSizes((len+align-1)/align, k);
+		for( int i=0, rem=len; i<ret.size(); i++ ) {
+			int val = Math.min(ret.get(i) * align, rem);
+			ret.set(i, val);
+			rem -= val;
+		}
+		return ret;
+	}
+
+	private static int[] getPackedGridSize(int m, int n, int k) {
+		//determine row/col partitions (pr x pc <= k) that minimize the redundant packing
+		//of a and b, i.e., cd*(m*pc + n*pr), which is the case for m*pc = n*pr
+		int pc = (int)Math.round(Math.sqrt((double)k * n / m));
+		pc = Math.max(1, Math.min(Math.min(k, pc), n/32));
+		int pr = Math.max(1, Math.min(k / pc, m/(8*PACK_MR)));
+		return new int[]{pr, pc};
+	}
+	
+	private static int[] getBalancedRowRanges(long[] prefix, int k) {
+		//row range boundaries w/ balanced workload according to the given
+		//prefix sums, i.e., boundary i is the first row w/ prefix >= i*total/k
+		int m = prefix.length-1;
+		int nk = (int)Math.max(1, Math.min(k, m));
+		int[] ret = new int[nk+1];
+		for( int i=1; i<nk; i++ ) {
+			long target = (long)Math.ceil((double)prefix[m] * i / nk);
+			int pos = Arrays.binarySearch(prefix, ret[i-1], m+1, target);
+			pos = (pos < 0) ? Math.abs(pos+1) : pos;
+			while( pos > ret[i-1] && prefix[pos-1] == target )
+				pos--; //first row with equal prefix
+			ret[i] = Math.min(Math.max(pos, ret[i-1]), m);
+		}
+		ret[nk] = m;
+		return ret;
+	}
 	
 	/////////////////////////////////////////////////////////
 	// Task Implementations for Multi-Threaded Operations  //
@@ -3560,21 +4792,23 @@ public class LibMatrixMult
 		private MatrixBlock _ret = null;
 		private boolean _tm2 = false; //transposed m2
 		private boolean _pm2r = false; //par over m2 rows
-		private boolean _pm2c = false; //par over m2 rows
 		
 		private int _rl = -1;
 		private int _ru = -1;
+		private int _cl = -1;
+		private int _cu = -1;
 
 		protected MatrixMultTask( MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, 
-				boolean tm2, boolean pm2r, boolean pm2c, int rl, int ru )
+				boolean tm2, boolean pm2r, int rl, int ru, int cl, int cu )
 		{
 			_m1 = m1;
 			_m2 = m2;
 			_tm2 = tm2;
 			_pm2r = pm2r;
-			_pm2c = pm2c;
 			_rl = rl;
 			_ru = ru;
+			_cl = cl;
+			_cu = cu;
 			
 			if( pm2r ) { //vector-matrix / matrix-matrix
 				//allocate local result for partial aggregation
@@ -3589,10 +4823,8 @@ public class LibMatrixMult
 		public Object call() throws DMLRuntimeException
 		{
 			//setup target index ranges
-			int rl = _pm2c ? 0 : _rl;
-			int ru = _pm2c ? _m1.rlen : _ru;
-			int cl = _pm2c ? _rl : 0;
-			int cu = _pm2c ? _ru : _ret.clen;
+			int rl = _rl, ru = _ru;
+			int cl = _cl, cu = _cu;
 			
 			//thread-local allocation
 			if( _pm2r )
@@ -3614,7 +4846,172 @@ public class LibMatrixMult
 			if( !_pm2r )
 				return _ret.recomputeNonZeros(rl, ru-1, cl, cu-1);
 			else
-				return _ret.getDenseBlock();
+				return _ret.getDenseBlockValues();
+		}
+	}
+
+	private static class MatrixMultSpGEMMTask implements Callable<Long> 
+	{
+		private final MatrixBlock _m1;
+		private final MatrixBlock _m2;
+		private final int[] _ptr;
+		private final int[] _indexes;
+		private final double[] _values;
+		private final boolean _symbolic;
+		private final int _rl;
+		private final int _ru;
+
+		protected MatrixMultSpGEMMTask( MatrixBlock m1, MatrixBlock m2, int[] ptr, int[] indexes, 
+				double[] values, boolean symbolic, int rl, int ru )
+		{
+			_m1 = m1;
+			_m2 = m2;
+			_ptr = ptr;
+			_indexes = indexes;
+			_values = values;
+			_symbolic = symbolic;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() throws DMLRuntimeException {
+			return matrixMultSparseSparseCSR(_m1, _m2, _ptr, _indexes, _values, _symbolic, _rl, _ru);
+		}
+	}
+	
+	/**
+	 * Thread-local accumulator of a single output row in sparse-sparse
+	 * matrix multiplication with sparse output.
+	 */
+	private static abstract class SpGEMMRowAccumulator 
+	{
+		protected int[] _cix = null; //column indexes of current row
+		protected int _len = 0;      //number of distinct columns
+		
+		protected SpGEMMRowAccumulator(int maxlen) {
+			_cix = new int[Math.max(maxlen, 1)];
+		}
+		
+		public int size() {
+			return _len;
+		}
+		
+		public abstract void add(int j, double v);
+		
+		public abstract double get(int j);
+		
+		public abstract void reset();
+		
+		/**
+		 * Writes the current row in sorted order of column indexes into 
+		 * the given csr arrays, starting at the given position.
+		 * 
+		 * @param indexes column index array
+		 * @param values value array
+		 * @param pos start position
+		 * @return number of zero values (due to cancellation)
+		 */
+		public int write(int[] indexes, double[] values, int pos) {
+			Arrays.sort(_cix, 0, _len);
+			int nzeros = 0;
+			for( int j=0; j<_len; j++ ) {
+				double val = get(_cix[j]);
+				indexes[pos+j] = _cix[j];
+				values[pos+j] = val;
+				nzeros += (val == 0) ? 1 : 0;
+			}
+			return nzeros;
+		}
+	}
+	
+	private static class SpGEMMDenseAccumulator extends SpGEMMRowAccumulator
+	{
+		private final double[] _vals; //dense row values
+		private final boolean[] _flags; //dense row flags
+		
+		protected SpGEMMDenseAccumulator(int n, int maxlen) {
+			super(maxlen);
+			_vals = new double[n];
+			_flags = new boolean[n];
+		}
+		
+		@Override
+		public void add(int j, double v) {
+			if( !_flags[j] ) {
+				_flags[j] = true;
+				_cix[_len++] = j;
+			}
+			_vals[j] += v;
+		}
+		
+		@Override
+		public double get(int j) {
+			return _vals[j];
+		}
+		
+		@Override
+		public void reset() {
+			for( int j=0; j<_len; j++ ) {
+				_vals[_cix[j]] = 0;
+				_flags[_cix[j]] = false;
+			}
+			_len = 0;
+		}
+	}
+	
+	private static class SpGEMMHashAccumulator extends SpGEMMRowAccumulator
+	{
+		private final int[] _keys; //open addressing w/ linear probing
+		private final double[] _vals;
+		private final int _mask;
+		
+		protected SpGEMMHashAccumulator(int maxlen) {
+			super(maxlen);
+			int size = UtilFunctions.nextIntPow2(Math.max(2*maxlen, 16));
+			_keys = new int[size];
+			_vals = new double[size];
+			_mask = size - 1;
+			Arrays.fill(_keys, -1);
+		}
+		
+		@Override
+		public void add(int j, double v) {
+			int ix = hash(j);
+			while( _keys[ix] != j && _keys[ix] != -1 )
+				ix = (ix + 1) & _mask;
+			if( _keys[ix] == -1 ) {
+				_keys[ix] = j;
+				_cix[_len++] = j;
+			}
+			_vals[ix] += v;
+		}
+		
+		@Override
+		public double get(int j) {
+			int ix = hash(j);
+			while( _keys[ix] != j )
+				ix = (ix + 1) & _mask;
+			return _vals[ix];
+		}
+		
+		@Override
+		public void reset() {
+			for( int j=0; j<_len; j++ ) {
+				int ix = hash(_cix[j]);
+				while( _keys[ix] != -1 ) {
+					_keys[ix] = -1;
+					_vals[ix] = 0;
+					ix = (ix + 1) & _mask;
+				}
+			}
+			_len = 0;
+		}
+		
+		private int hash(int j) {
+			//multiplicative hashing (golden ratio)
+			int h = j * 0x9E3779B9;
+			return (h ^ (h >>> 16)) & _mask;
 		}
 	}
 
@@ -3654,7 +5051,7 @@ public class LibMatrixMult
 			//to prevent synchronization (sequential aggregation led to better 
 			//performance after JIT)
 			
-			return ret.getDenseBlock();
+			return ret.getDenseBlockValues();
 		}
 	}
 
@@ -3678,15 +5075,42 @@ public class LibMatrixMult
 		@Override
 		public Object call() throws DMLRuntimeException
 		{
-			if( _m1.sparse )
-				matrixMultTransposeSelfSparse(_m1, _ret, _left, _rl, _ru);
+			if( _ret.isSymmetric() )
+				matrixMultTransposeSelfSym(_m1, (DenseBlockSym)_ret.getDenseBlock(), _left, _rl, _ru);
+			else if( _m1.sparse )
+				matrixMultTransposeSelfSparse(_m1, _ret.getDenseBlockValues(), _left, _rl, _ru, 0);
 			else
-				matrixMultTransposeSelfDense(_m1, _ret, _left, _rl, _ru);
+				matrixMultTransposeSelfDense(_m1, _ret.getDenseBlockValues(), _left, _rl, _ru, 0);
 			
 			return null;
 		}
 	}
 
+	private static class MatrixMultTransposeLeftTask implements Callable<Object> 
+	{
+		private final MatrixBlock _mX;
+		private final MatrixBlock _m2;
+		private final MatrixBlock _ret;
+		private final int _rl;
+		private final int _ru;
+
+		protected MatrixMultTransposeLeftTask( MatrixBlock mX, MatrixBlock m2, MatrixBlock ret, int rl, int ru )
+		{
+			_mX = mX;
+			_m2 = m2;
+			_ret = ret;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() throws DMLRuntimeException
+		{
+			matrixMultTransposeLeft(_mX, _m2, _ret, _rl, _ru);
+			return null;
+		}
+	}
+
 	private static class MatrixMultPermuteTask implements Callable<Object> 
 	{
 		private MatrixBlock _pm1  = null;
@@ -19,7 +19,13 @@
 
 package org.apache.sysml.runtime.matrix.data;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.functionobjects.Builtin;
@@ -50,6 +56,17 @@ import org.apache.sysml.runtime.util.SortUtils;
 public class LibMatrixOuterAgg 
 {
 
+	//internal configuration parameters
+	private static final long PAR_NUMCELL_THRESHOLD = 64*1024; //min num vector entries
+	
+	//count types (value op bv[j])
+	private static final int CNT_EQ = 0;
+	private static final int CNT_NE = 1;
+	private static final int CNT_LT = 2;
+	private static final int CNT_LE = 3;
+	private static final int CNT_GT = 4;
+	private static final int CNT_GE = 5;
+	
 	private LibMatrixOuterAgg() {
 		//prevent instantiation via private constructor
 	}
@@ -304,799 +321,242 @@ public class LibMatrixOuterAgg
 
 	public static void aggregateMatrix(MatrixBlock in1Val, MatrixBlock outVal, double[] bv, int[] bvi, BinaryOperator bOp, AggregateUnaryOperator uaggOp) 
 			throws DMLRuntimeException
-	{		
-		// compute unary aggregate outer chain
-		if(isRowIndexMax(uaggOp)) 
-		{
-			if(bOp.fn instanceof LessThan) {
-				uaRIMLt(in1Val, outVal, bv, bvi, bOp);
-			} else if(bOp.fn instanceof LessThanEquals) {
-				uaRIMLe(in1Val, outVal, bv, bvi, bOp);
-			} else if(bOp.fn instanceof GreaterThan) { 
-				uaRIMGt(in1Val, outVal, bv, bvi, bOp);
-			} else if(bOp.fn instanceof GreaterThanEquals) {
-				uaRIMGe(in1Val, outVal, bv, bvi, bOp);
-			} else if(bOp.fn instanceof Equals){ 
-				uaRIMEq(in1Val, outVal, bv, bvi, bOp);	
-			} else if (bOp.fn instanceof NotEquals) {
-				uaRIMNe(in1Val, outVal, bv, bvi, bOp);
-			}
-		} else if(isRowIndexMin(uaggOp)) 
-		{
-				if(bOp.fn instanceof LessThan) {
-					uaRIMinLt(in1Val, outVal, bv, bvi, bOp);
-				} else if(bOp.fn instanceof LessThanEquals) {
-					uaRIMinLe(in1Val, outVal, bv, bvi, bOp);
-				} else if(bOp.fn instanceof GreaterThan) { 
-					uaRIMinGt(in1Val, outVal, bv, bvi, bOp);
-				} else if(bOp.fn instanceof GreaterThanEquals) {
-					uaRIMinGe(in1Val, outVal, bv, bvi, bOp);
-				} else if(bOp.fn instanceof Equals){ 
-					uaRIMinEq(in1Val, outVal, bv, bvi, bOp);	
-				} else if (bOp.fn instanceof NotEquals) {
-					uaRIMinNe(in1Val, outVal, bv, bvi, bOp);
-				}
-		} else if(uaggOp.indexFn instanceof ReduceCol) {
-			if(bOp.fn instanceof LessThan || bOp.fn instanceof GreaterThanEquals) {
-				uaRowSumLtGe(in1Val, outVal, bv, bOp);
-			} else if(bOp.fn instanceof GreaterThan || bOp.fn instanceof LessThanEquals) {
-				uaRowSumGtLe(in1Val, outVal, bv, bOp);
-			} else if(bOp.fn instanceof Equals || bOp.fn instanceof NotEquals) {
-				uaRowSumEqNe(in1Val, outVal, bv, bOp);
-			}
-		} else if(uaggOp.indexFn instanceof ReduceRow) {
-			if(bOp.fn instanceof LessThan || bOp.fn instanceof GreaterThanEquals) {
-				uaColSumLtGe(in1Val, outVal, bv, bOp);
-			} else if(bOp.fn instanceof GreaterThan || bOp.fn instanceof LessThanEquals) {
-				uaColSumGtLe(in1Val, outVal, bv, bOp);
-			} else if(bOp.fn instanceof Equals || bOp.fn instanceof NotEquals) {
-				uaColSumEqNe(in1Val, outVal, bv, bOp);
-			}
-		} else if(uaggOp.indexFn instanceof ReduceAll) {
-			if(bOp.fn instanceof LessThan || bOp.fn instanceof GreaterThanEquals) {
-				uaSumLtGe(in1Val, outVal, bv, bOp);
-			} else if(bOp.fn instanceof GreaterThan || bOp.fn instanceof LessThanEquals) {
-				uaSumGtLe(in1Val, outVal, bv, bOp);
-			} else if(bOp.fn instanceof Equals || bOp.fn instanceof NotEquals) {
-				uaSumEqNe(in1Val, outVal, bv, bOp);
-			}
-		}
-	}
-	
-	/**
-	 * UAgg rowSums for LessThan and GreaterThanEqual operator
-	 * 
-	 * @param in input matrix block
-	 * @param out output matrix block
-	 * @param bv ?
-	 * @param bOp binary operator
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static void uaRowSumLtGe(MatrixBlock in, MatrixBlock out, double[] bv, BinaryOperator bOp) 
-			throws DMLRuntimeException
-	{		
-		int agg0 = sumRowSumLtGeColSumGtLe(0.0, bv, bOp);
-		int m = in.rlen;
-		
-		for( int i=0; i<m; i++ ) {
-			double ai = in.quickGetValue(i, 0);
-			int cnt = (ai == 0) ? agg0: sumRowSumLtGeColSumGtLe(ai, bv, bOp);
-			out.quickSetValue(i, 0, cnt);
-		}
-	}
-	
-	/**
-	 * UAgg rowSums for GreaterThan and LessThanEqual operator
-	 * 
-	 * @param in input matrix block
-	 * @param out output matrix block
-	 * @param bv ?
-	 * @param bOp binary operator
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static void uaRowSumGtLe(MatrixBlock in, MatrixBlock out, double[] bv, BinaryOperator bOp) 
-			throws DMLRuntimeException
-	{		
-		int agg0 = sumRowSumGtLeColSumLtGe(0.0, bv, bOp);
-		int m = in.rlen;
-		
-		for( int i=0; i<m; i++ ) {
-			double ai = in.quickGetValue(i, 0);
-			int cnt = (ai == 0) ? agg0: sumRowSumGtLeColSumLtGe(ai, bv, bOp);
-			out.quickSetValue(i, 0, cnt);
-		}
-	}
-	
-	
-	/**
-	 * UAgg rowSums for Equal and NotEqual operator
-	 * 
-	 * @param in input matrix block
-	 * @param out output matrix block
-	 * @param bv ?
-	 * @param bOp binary operator
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static void uaRowSumEqNe(MatrixBlock in, MatrixBlock out, double[] bv, BinaryOperator bOp) 
-			throws DMLRuntimeException
-	{		
-		int agg0 = sumEqNe(0.0, bv, bOp);
-		int m = in.rlen;
-		
-		for( int i=0; i<m; i++ ) {
-			double ai = in.quickGetValue(i, 0);
-			int cnt = (ai == 0) ? agg0: sumEqNe(ai, bv, bOp);
-			out.quickSetValue(i, 0, cnt);
-		}
-	}
-
-	/**
-	 * UAgg colSums for LessThan and GreaterThanEqual operator
-	 * 
-	 * @param in input matrix block
-	 * @param out output matrix block
-	 * @param bv ?
-	 * @param bOp binary operator
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static void uaColSumLtGe(MatrixBlock in1Val, MatrixBlock outVal, double[] bv, BinaryOperator bOp) 
-			throws DMLRuntimeException
-	{		
-		if (in1Val.isInSparseFormat())
-			s_uaColSumLtGe(in1Val, outVal, bv, bOp);
-		else
-			d_uaColSumLtGe(in1Val, outVal, bv, bOp);
-	}
-
-	/**
-	 * UAgg colSums for GreaterThan and LessThanEqual operator
-	 * 
-	 * @param in input matrix block
-	 * @param out output matrix block
-	 * @param bv ?
-	 * @param bOp binary operator
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static void uaColSumGtLe(MatrixBlock in1Val, MatrixBlock outVal, double[] bv, BinaryOperator bOp) 
-			throws DMLRuntimeException
-	{		
-		if (in1Val.isInSparseFormat())
-			s_uaColSumGtLe(in1Val, outVal, bv, bOp);
-		else
-			d_uaColSumGtLe(in1Val, outVal, bv, bOp);
-	}
-
-	
-	/**
-	 * UAgg colSums for Equal and NotEqual operator
-	 * 
-	 * @param in input matrix block
-	 * @param out output matrix block
-	 * @param bv ?
-	 * @param bOp binary operator
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static void uaColSumEqNe(MatrixBlock in1Val, MatrixBlock outVal, double[] bv, BinaryOperator bOp) 
-			throws DMLRuntimeException
-	{		
-		if (in1Val.isInSparseFormat())
-			s_uaColSumEqNe(in1Val, outVal, bv, bOp);
-		else
-			d_uaColSumEqNe(in1Val, outVal, bv, bOp);
-	}
-
-	
-	/**
-	 * UAgg sums for LessThan and GreaterThanEqual operator
-	 * 
-	 * @param in input matrix block
-	 * @param out output matrix block
-	 * @param bv ?
-	 * @param bOp binary operator
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static void uaSumLtGe(MatrixBlock in, MatrixBlock out, double[] bv, BinaryOperator bOp) 
-			throws DMLRuntimeException
-	{		
-		int agg0 = sumRowSumLtGeColSumGtLe(0.0, bv, bOp);
-		int m = in.rlen;
-		
-		for( int i=0; i<m; i++ ) {
-			double ai = in.quickGetValue(i, 0);
-			int cnt = (ai == 0) ? agg0: sumRowSumLtGeColSumGtLe(ai, bv, bOp);
-			cnt += (int)out.quickGetValue(0, 0);
-			out.quickSetValue(0, 0, cnt);
-		}
-	}
-	
-	/**
-	 * UAgg sums for GreaterThan and LessThanEqual operator
-	 * 
-	 * @param in input matrix block
-	 * @param out output matrix block
-	 * @param bv ?
-	 * @param bOp binary operator
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static void uaSumGtLe(MatrixBlock in, MatrixBlock out, double[] bv, BinaryOperator bOp) 
-			throws DMLRuntimeException
-	{		
-		int agg0 = sumRowSumGtLeColSumLtGe(0.0, bv, bOp);
-		int m = in.rlen;
-		
-		for( int i=0; i<m; i++ ) {
-			double ai = in.quickGetValue(i, 0);
-			int cnt = (ai == 0) ? agg0: sumRowSumGtLeColSumLtGe(ai, bv, bOp);
-			cnt += (int)out.quickGetValue(0, 0);
-			out.quickSetValue(0, 0, cnt);
-		}
-	}
-	
-	
-	/**
-	 * UAgg sums for Equal and NotEqual operator
-	 * 
-	 * @param in input matrix block
-	 * @param out output matrix block
-	 * @param bv ?
-	 * @param bOp binary operator
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static void uaSumEqNe(MatrixBlock in, MatrixBlock out, double[] bv, BinaryOperator bOp) 
-			throws DMLRuntimeException
-	{		
-		int agg0 = sumEqNe(0.0, bv, bOp);
-		int m = in.rlen;
-		
-		for( int i=0; i<m; i++ ) {
-			double ai = in.quickGetValue(i, 0);
-			int cnt = (ai == 0) ? agg0: sumEqNe(ai, bv, bOp);
-			cnt += (int)out.quickGetValue(0, 0);
-			out.quickSetValue(0, 0, cnt);
-		}
-	}
-
-	
-	/**
-	 * UAgg rowIndexMax for LessThan operator
-	 * 
-	 * @param in input matrix block
-	 * @param out output matrix block
-	 * @param bv ?
-	 * @param bOp binary operator
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static void uaRIMLt(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp) 
-			throws DMLRuntimeException
-	{		
-		int ind0 = uarimaxLt(0.0, bv, bvi, bOp);
-		int m = in.rlen;
-		
-		for( int i=0; i<m; i++ ) {
-			double ai = in.quickGetValue(i, 0);
-			int ind = (ai == 0) ? ind0: uarimaxLt(ai, bv, bvi, bOp);
-			out.quickSetValue(i, 0, ind);
-		}
-	}
-	
-	/**
-	 * UAgg rowIndexMax for LessThanEquals operator
-	 * 
-	 * @param in input matrix block
-	 * @param out output matrix block
-	 * @param bv ?
-	 * @param bOp binary operator
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static void uaRIMLe(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp) 
-			throws DMLRuntimeException
-	{		
-		int ind0 = uarimaxLe(0.0, bv, bvi, bOp);
-		int m = in.rlen;
-		
-		for( int i=0; i<m; i++ ) {
-			double ai = in.quickGetValue(i, 0);
-			int ind = (ai == 0) ? ind0: uarimaxLe(ai, bv, bvi, bOp);
-			out.quickSetValue(i, 0, ind);
-		}
-	}
-	
-	/**
-	 * UAgg rowIndexMax for GreaterThan operator
-	 * 
-	 * @param in input matrix block
-	 * @param out output matrix block
-	 * @param bv ?
-	 * @param bOp binary operator
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static void uaRIMGt(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp) 
-			throws DMLRuntimeException
-	{		
-		int ind0 = uarimaxGt(0.0, bv, bvi, bOp);
-		int m = in.rlen;
-		
-		for( int i=0; i<m; i++ ) {
-			double ai = in.quickGetValue(i, 0);
-			int ind = (ai == 0) ? ind0: uarimaxGt(ai, bv, bvi, bOp);
-			out.quickSetValue(i, 0, ind);
-		}
+	{
+		aggregateMatrix(in1Val, outVal, bv, bvi, bOp, uaggOp, 1);
 	}
 	
-	
 	/**
-	 * UAgg rowIndexMax for GreaterThanEqual operator
-	 * 
-	 * @param in input matrix block
-	 * @param out output matrix block
-	 * @param bv ?
+	 * Computes the unary aggregate outer chain over the given vector and the sorted 
+	 * vector bv (and for rowIndexMax/rowIndexMin the prepared indices bvi). The sorted 
+	 * vector is prepared once per operation and shared read-only across all threads, 
+	 * where the position of the lower and upper bound of a value directly gives the 
+	 * number of smaller and smaller-or-equal entries. Multi-threaded execution uses 
+	 * disjoint ranges of the input vector and hence disjoint output cells, except for 
+	 * sum which aggregates partial counts per thread.
+	 * 
+	 * @param in1Val input vector (column vector for rowSums/sum/rowIndexMax/rowIndexMin, row vector for colSums)
+	 * @param outVal output matrix block, incl correction
+	 * @param bv sorted vector
+	 * @param bvi prepared row indices for rowIndexMax/rowIndexMin, otherwise null
 	 * @param bOp binary operator
+	 * @param uaggOp aggregate unary operator
+	 * @param k degree of parallelism
 	 * @throws DMLRuntimeException if DMLRuntimeException occurs
 	 */
-	private static void uaRIMGe(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp) 
+	public static void aggregateMatrix(MatrixBlock in1Val, MatrixBlock outVal, double[] bv, int[] bvi, BinaryOperator bOp, AggregateUnaryOperator uaggOp, int k) 
 			throws DMLRuntimeException
-	{		
-		int ind0 = uarimaxGe(0.0, bv, bvi, bOp);
-		int m = in.rlen;
+	{
+		//note: for colSums, the input is the right-hand-side of the outer operation 
+		boolean colAgg = (uaggOp.indexFn instanceof ReduceRow) && !isRowIndexMax(uaggOp) && !isRowIndexMin(uaggOp);
+		boolean fullAgg = (uaggOp.indexFn instanceof ReduceAll);
+		int len = colAgg ? in1Val.getNumColumns() : in1Val.getNumRows();
 		
-		for( int i=0; i<m; i++ ) {
-			double ai = in.quickGetValue(i, 0);
-			int ind = (ai == 0) ? ind0: uarimaxGe(ai, bv, bvi, bOp);
-			out.quickSetValue(i, 0, ind);
+		//prepare dense output (for row/col aggregates)
+		double[] c = null;
+		if( !fullAgg ) {
+			outVal.allocateDenseBlock();
+			c = outVal.getDenseBlockValues();
 		}
-	}
-	
-	
-	/**
-	 * UAgg rowIndexMax for Equal operator
-	 * 
-	 * @param in input matrix block
-	 * @param out output matrix block
-	 * @param bv ?
-	 * @param bOp binary operator
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static void uaRIMEq(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp) 
-			throws DMLRuntimeException
-	{		
-		int ind0 = uarimaxEq(0.0, bv, bvi, bOp);
-		int m = in.rlen;
 		
-		for( int i=0; i<m; i++ ) {
-			double ai = in.quickGetValue(i, 0);
-			int ind = (ai == 0) ? ind0: uarimaxEq(ai, bv, bvi, bOp);
-			out.quickSetValue(i, 0, ind);
+		//compute unary aggregate outer chain
+		long sum = 0;
+		if( k <= 1 || len < PAR_NUMCELL_THRESHOLD ) {
+			sum = aggregateVector(in1Val, c, bv, bvi, bOp, uaggOp, 0, len);
 		}
-	}
-
-
-	
-	/**
-	 * UAgg rowIndexMax for NotEqual operator
-	 * 
-	 * @param in input matrix block
-	 * @param out output matrix block
-	 * @param bv ?
-	 * @param bOp binary operator
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static void uaRIMNe(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp) 
-			throws DMLRuntimeException
-	{		
-		int ind0 = uarimaxNe(0.0, bv, bvi, bOp);
-		int m = in.rlen;
-		
-		for( int i=0; i<m; i++ ) {
-			double ai = in.quickGetValue(i, 0);
-			int ind = (ai == 0) ? ind0: uarimaxNe(ai, bv, bvi, bOp);
-			out.quickSetValue(i, 0, ind);
+		else {
+			try {
+				ExecutorService pool = Executors.newFixedThreadPool(k);
+				ArrayList<OuterAggTask> tasks = new ArrayList<OuterAggTask>();
+				int blklen = (int)(Math.ceil((double)len/k));
+				for( int i=0; i<k & i*blklen<len; i++ )
+					tasks.add(new OuterAggTask(in1Val, c, bv, bvi, bOp, uaggOp, i*blklen, Math.min((i+1)*blklen, len)));
+				List<Future<Long>> ret = pool.invokeAll(tasks);
+				pool.shutdown();
+				for( Future<Long> rc : ret )
+					sum += rc.get();
+			}
+			catch(Exception ex) {
+				throw new DMLRuntimeException(ex);
+			}
 		}
-	}
-
-
-	/**
-	 * UAgg rowIndexMin for LessThan operator
-	 * 
-	 * @param in input matrix block
-	 * @param out output matrix block
-	 * @param bv ?
-	 * @param bOp binary operator
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static void uaRIMinLt(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp) 
-			throws DMLRuntimeException
-	{		
-		int ind0 = uariminLt(0.0, bv, bvi, bOp);
-		int m = in.rlen;
 		
-		for( int i=0; i<m; i++ ) {
-			double ai = in.quickGetValue(i, 0);
-			int ind = (ai == 0) ? ind0: uariminLt(ai, bv, bvi, bOp);
-			out.quickSetValue(i, 0, ind);
-		}
+		//set output (for sums, incl aggregation into existing partial results)
+		if( fullAgg )
+			outVal.quickSetValue(0, 0, outVal.quickGetValue(0, 0) + sum);
+		else
+			outVal.recomputeNonZeros();
 	}
 	
 	/**
-	 * UAgg rowIndexMin for LessThanEquals operator
+	 * Computes the unary aggregate outer chain for the range [rl,ru) of the input 
+	 * vector, where row/col aggregates are written into the dense output c.
 	 * 
-	 * @param in input matrix block
-	 * @param out output matrix block
-	 * @param bv ?
+	 * @param in input vector
+	 * @param c dense output array
+	 * @param bv sorted vector
+	 * @param bvi prepared row indices
 	 * @param bOp binary operator
+	 * @param uaggOp aggregate unary operator
+	 * @param rl row/col lower index
+	 * @param ru row/col upper index
+	 * @return sum of counts over the given range (for full aggregates)
 	 * @throws DMLRuntimeException if DMLRuntimeException occurs
 	 */
-	private static void uaRIMinLe(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp) 
+	private static long aggregateVector(MatrixBlock in, double[] c, double[] bv, int[] bvi, BinaryOperator bOp, AggregateUnaryOperator uaggOp, int rl, int ru) 
 			throws DMLRuntimeException
-	{		
-		int ind0 = uariminLe(0.0, bv, bvi, bOp);
-		int m = in.rlen;
+	{
+		boolean rowIndexMax = isRowIndexMax(uaggOp);
+		boolean rowIndexMin = isRowIndexMin(uaggOp);
+		boolean colAgg = (uaggOp.indexFn instanceof ReduceRow) && !rowIndexMax && !rowIndexMin;
+		boolean fullAgg = (uaggOp.indexFn instanceof ReduceAll);
+		double[] a = in.isInSparseFormat() ? null : in.getDenseBlockValues();
+		boolean empty = in.isEmptyBlock(false);
 		
-		for( int i=0; i<m; i++ ) {
-			double ai = in.quickGetValue(i, 0);
-			int ind = (ai == 0) ? ind0: uariminLe(ai, bv, bvi, bOp);
-			out.quickSetValue(i, 0, ind);
-		}
-	}
-	
-	/**
-	 * UAgg rowIndexMin for GreaterThan operator
-	 * 
-	 * @param in input matrix block
-	 * @param out output matrix block
-	 * @param bv ?
-	 * @param bOp binary operator
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static void uaRIMinGt(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp) 
-			throws DMLRuntimeException
-	{		
-		int ind0 = uariminGt(0.0, bv, bvi, bOp);
-		int m = in.rlen;
+		//prepare count type and number of non-NaN entries (NaNs sorted to the end)
+		int ctype = getCountType(bOp, !colAgg);
+		int n = bv.length;
+		while( n > 0 && Double.isNaN(bv[n-1]) ) n--;
 		
-		for( int i=0; i<m; i++ ) {
-			double ai = in.quickGetValue(i, 0);
-			int ind = (ai == 0) ? ind0: uariminGt(ai, bv, bvi, bOp);
-			out.quickSetValue(i, 0, ind);
+		long sum = 0;
+		for( int i=rl; i<ru; i++ ) {
+			double ai = empty ? 0 : (a != null) ? a[i] : 
+				colAgg ? in.quickGetValue(0, i) : in.quickGetValue(i, 0);
+			if( rowIndexMax )
+				c[2*i] = uarimax(ai, bv, bvi, bOp);
+			else if( rowIndexMin )
+				c[2*i] = uarimin(ai, bv, bvi, bOp);
+			else {
+				int cnt = count(ai, bv, n, ctype);
+				if( fullAgg )
+					sum += cnt;
+				else if( colAgg )
+					c[i] = cnt;
+				else
+					c[2*i] = cnt;
+			}
 		}
-	}
-	
-	
-	/**
-	 * UAgg rowIndexMin for GreaterThanEqual operator
-	 * 
-	 * @param in input matrix block
-	 * @param out output matrix block
-	 * @param bv ?
-	 * @param bOp binary operator
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static void uaRIMinGe(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp) 
-			throws DMLRuntimeException
-	{		
-		int ind0 = uariminGe(0.0, bv, bvi, bOp);
-		int m = in.rlen;
 		
-		for( int i=0; i<m; i++ ) {
-			double ai = in.quickGetValue(i, 0);
-			int ind = (ai == 0) ? ind0: uariminGe(ai, bv, bvi, bOp);
-			out.quickSetValue(i, 0, ind);
-		}
+		return sum;
 	}
 	
-	
 	/**
-	 * UAgg rowIndexMin for Equal operator
+	 * Determines the count type for a given comparison operator, normalized 
+	 * such that the value is always the left-hand-side operand.
 	 * 
-	 * @param in input matrix block
-	 * @param out output matrix block
-	 * @param bv ?
 	 * @param bOp binary operator
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 * @param left true if the value is the left-hand-side operand 
+	 * @return count type
 	 */
-	private static void uaRIMinEq(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp) 
-			throws DMLRuntimeException
-	{		
-		int ind0 = uariminEq(0.0, bv, bvi, bOp);
-		int m = in.rlen;
-		
-		for( int i=0; i<m; i++ ) {
-			double ai = in.quickGetValue(i, 0);
-			int ind = (ai == 0) ? ind0: uariminEq(ai, bv, bvi, bOp);
-			out.quickSetValue(i, 0, ind);
-		}
+	private static int getCountType(BinaryOperator bOp, boolean left) {
+		if( bOp.fn instanceof Equals )
+			return CNT_EQ;
+		else if( bOp.fn instanceof NotEquals )
+			return CNT_NE;
+		else if( bOp.fn instanceof LessThan )
+			return left ? CNT_LT : CNT_GT;
+		else if( bOp.fn instanceof LessThanEquals )
+			return left ? CNT_LE : CNT_GE;
+		else if( bOp.fn instanceof GreaterThan )
+			return left ? CNT_GT : CNT_LT;
+		else //GreaterThanEquals
+			return left ? CNT_GE : CNT_LE;
 	}
-
-
 	
 	/**
-	 * UAgg rowIndexMin for NotEqual operator
-	 * 
-	 * @param in input matrix block
-	 * @param out output matrix block
-	 * @param bv ?
-	 * @param bOp binary operator
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static void uaRIMinNe(MatrixBlock in, MatrixBlock out, double[] bv, int[] bvi, BinaryOperator bOp) 
-			throws DMLRuntimeException
-	{		
-		int ind0 = uariminNe(0.0, bv, bvi, bOp);
-		int m = in.rlen;
-		
-		for( int i=0; i<m; i++ ) {
-			double ai = in.quickGetValue(i, 0);
-			int ind = (ai == 0) ? ind0: uariminNe(ai, bv, bvi, bOp);
-			out.quickSetValue(i, 0, ind);
-		}
-	}
-
-
-	/**
-	 * UAgg colSums Dense Matrix for LessThan and GreaterThanEqual operator
-	 * 
-	 * @param in input matrix block
-	 * @param out output matrix block
-	 * @param bv ?
-	 * @param bOp binary operator
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 * Counts the number of entries in the sorted vector bv, for which 
+	 * (value op bv[j]) evaluates to true, via binary search for the lower 
+	 * and upper bound of the given value.
+	 * 
+	 * @param value value (left-hand-side operand)
+	 * @param bv sorted vector
+	 * @param n number of non-NaN entries in bv
+	 * @param ctype count type
+	 * @return number of matching entries
 	 */
-	private static void d_uaColSumLtGe(MatrixBlock in, MatrixBlock out, double[] bv, 
-			BinaryOperator bOp) 
-			throws DMLRuntimeException
+	private static int count(double value, double[] bv, int n, int ctype) 
 	{
-		int agg0 = sumRowSumGtLeColSumLtGe(0.0, bv, bOp);
-		int m = in.clen;
+		if( Double.isNaN(value) )
+			return (ctype == CNT_NE) ? bv.length : 0;
 		
-		for( int i=0; i<m; i++ ) {
-			double ai = in.quickGetValue(0, i);
-			int cnt = (ai == 0) ? agg0: sumRowSumGtLeColSumLtGe(ai, bv, bOp);
-			out.quickSetValue(0, i, cnt);
+		switch( ctype ) {
+			case CNT_EQ: return upperBound(bv, n, value) - lowerBound(bv, n, value);
+			case CNT_NE: return bv.length - upperBound(bv, n, value) + lowerBound(bv, n, value);
+			case CNT_LT: return n - upperBound(bv, n, value);
+			case CNT_LE: return n - lowerBound(bv, n, value);
+			case CNT_GT: return lowerBound(bv, n, value);
+			case CNT_GE: return upperBound(bv, n, value);
+			default: return 0;
 		}
 	}
-
-	/**
-	 * UAgg colSums Sparse Matrix for LessThan and GreaterThanEqual operator
-	 * 
-	 * @param in input matrix block
-	 * @param out output matrix block
-	 * @param bv ?
-	 * @param bOp binary operator
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static void s_uaColSumLtGe(MatrixBlock in, MatrixBlock out, double[] bv,	BinaryOperator bOp) 
-			throws DMLRuntimeException
-	{
-		int agg0 = sumRowSumGtLeColSumLtGe(0.0, bv, bOp);
-
-		//allocate and initialize output values (not indices) 
-		out.allocateDenseBlock(true);
-		Arrays.fill(out.getDenseBlock(), 0, out.getNumColumns(), agg0);
-		if(agg0 != 0.0)
-			out.setNonZeros(out.getNumColumns());
-		
-		if( in.isEmptyBlock(false) )
-			return;
-			
-		SparseBlock sblock = in.getSparseBlock();		
-		for( int j = 0; j < sblock.numRows(); j++)
-		if( !sblock.isEmpty(j) ) {
-			int apos = sblock.pos(j);
-			int alen = sblock.size(j);
-			int[] aix = sblock.indexes(j);
-			double [] avals = sblock.values(j);
-			
-			for (int i=apos; i < apos+alen; i++) {
-				int cnt = sumRowSumGtLeColSumLtGe(avals[i], bv, bOp);
-				out.quickSetValue(0, aix[i], cnt);
-			}
-		}		
-	}
-
-	/**
-	 * UAgg colSums Dense Matrix for GreaterThan and LessThanEqual operator
-	 * 
-	 * @param in input matrix block
-	 * @param out output matrix block
-	 * @param bv ?
-	 * @param bOp binary operator
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static void d_uaColSumGtLe(MatrixBlock in, MatrixBlock out, double[] bv, BinaryOperator bOp) 
-			throws DMLRuntimeException
-	{
-		int agg0 = sumRowSumLtGeColSumGtLe(0.0, bv, bOp);
-		int m = in.clen;
-		
-		for( int i=0; i<m; i++ ) {
-			double ai = in.quickGetValue(0, i);
-			int cnt = (ai == 0) ? agg0: sumRowSumLtGeColSumGtLe(ai, bv, bOp);
-			out.quickSetValue(0, i, cnt);
-		}
-	}
-
-	/**
-	 * UAgg colSums Sparse Matrix for GreaterThan and LessThanEqual operator
-	 * 
-	 * @param in input matrix block
-	 * @param out output matrix block
-	 * @param bv ?
-	 * @param bOp binary operator
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static void s_uaColSumGtLe(MatrixBlock in, MatrixBlock out, double[] bv, BinaryOperator bOp) 
-			throws DMLRuntimeException
-	{
-		int agg0 = sumRowSumLtGeColSumGtLe(0.0, bv, bOp);
-
-		//allocate and initialize output values (not indices) 
-		out.allocateDenseBlock(true);
-		Arrays.fill(out.getDenseBlock(), 0, out.getNumColumns(), agg0);
-		if(agg0 != 0.0)
-			out.setNonZeros(out.getNumColumns());
-		
-		if( in.isEmptyBlock(false) )
-			return;
-			
-		SparseBlock sblock = in.getSparseBlock();		
-		for (int j = 0; j < sblock.numRows(); j++)
-		if( !sblock.isEmpty(j) ) {
-			int apos = sblock.pos(j);
-			int alen = sblock.size(j);
-			int[] aix = sblock.indexes(j);
-			double [] avals = sblock.values(j);
-			
-			for (int i=apos; i < apos+alen; i++) {
-				int cnt = sumRowSumLtGeColSumGtLe(avals[i], bv, bOp);
-				out.quickSetValue(0, aix[i], cnt);
-			}
-		}		
-	}
-
+	
 	/**
-	 * UAgg colSums Dense Matrix for Equal and NotEqual operator 
+	 * Finds the first position in bv[0,n) with a value larger or equal than the given value.
 	 * 
-	 * @param in input matrix block
-	 * @param out output matrix block
-	 * @param bv ?
-	 * @param bOp binary operator
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 * @param bv sorted vector
+	 * @param n upper bound (exclusive)
+	 * @param value value
+	 * @return lower bound position
 	 */
-	private static void d_uaColSumEqNe(MatrixBlock in, MatrixBlock out, double[] bv, BinaryOperator bOp) 
-			throws DMLRuntimeException
-	{		
-		int agg0 = sumEqNe(0.0, bv, bOp);
-		int m = in.clen;
-		
-		for( int i=0; i<m; i++ ) {
-			double ai = in.quickGetValue(0, i);
-			int cnt = (ai == 0) ? agg0: sumEqNe(ai, bv, bOp);
-			out.quickSetValue(0, i, cnt);
+	private static int lowerBound(double[] bv, int n, double value) {
+		int lo = 0, hi = n;
+		while( lo < hi ) {
+			int mid = (lo + hi) >>> 1;
+			if( bv[mid] < value ) lo = mid + 1;
+			else hi = mid;
 		}
+		return lo;
 	}
-
-	/**
-	 * UAgg colSums Sparse Matrix for Equal and NotEqual operator 
-	 * 
-	 * @param in input matrix block
-	 * @param out output matrix block
-	 * @param bv ?
-	 * @param bOp binary operator
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static void s_uaColSumEqNe(MatrixBlock in, MatrixBlock out, double[] bv, BinaryOperator bOp) 
-			throws DMLRuntimeException
-	{		
-		int agg0 = sumEqNe(0.0, bv, bOp);
-
-		//allocate and initialize output values (not indices) 
-		out.allocateDenseBlock(true);
-		Arrays.fill(out.getDenseBlock(), 0, out.getNumColumns(), agg0);
-		if(agg0 != 0.0)
-			out.setNonZeros(out.getNumColumns());
-		
-		if( in.isEmptyBlock(false) )
-			return;
-			
-		SparseBlock sblock = in.getSparseBlock();		
-		for (int j = 0; j < sblock.numRows(); j++)
-		if( !sblock.isEmpty(j) ) {
-			int apos = sblock.pos(j);
-			int alen = sblock.size(j);
-			int[] aix = sblock.indexes(j);
-			double [] avals = sblock.values(j);
-			
-			for (int i=apos; i < apos+alen; i++) {
-				int cnt = sumEqNe(avals[i], bv, bOp);
-				out.quickSetValue(0, aix[i], cnt);
-			}
-		}		
-	}
-
 	
 	/**
-	 * Calculates the sum of number for rowSum of GreaterThan and LessThanEqual, and 
-	 * 									colSum of LessThan and GreaterThanEqual operators.
+	 * Finds the first position in bv[0,n) with a value larger than the given value.
 	 * 
-	 * @param value ?
-	 * @param bv ?
-	 * @param bOp binary operator
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 * @param bv sorted vector
+	 * @param n upper bound (exclusive)
+	 * @param value value
+	 * @return upper bound position
 	 */
-	private static int sumRowSumGtLeColSumLtGe(double value, double[] bv, BinaryOperator bOp) 
-			throws DMLRuntimeException
-	{
-		int ix = Arrays.binarySearch(bv, value);
-		int cnt = 0;
-		
-		if( ix >= 0 ){ //match, scan to next val
-			while( ix > 0 && value==bv[ix-1]) --ix;
-			ix++;	//Readjust index to match subsenquent index calculation.
+	private static int upperBound(double[] bv, int n, double value) {
+		int lo = 0, hi = n;
+		while( lo < hi ) {
+			int mid = (lo + hi) >>> 1;
+			if( bv[mid] <= value ) lo = mid + 1;
+			else hi = mid;
 		}
-
-		cnt = bv.length-Math.abs(ix)+1;
-
-		//cnt = Math.abs(ix) - 1;
-		if ((bOp.fn instanceof LessThan) || (bOp.fn instanceof GreaterThan))
-			cnt = bv.length - cnt;
-
-		return cnt;
+		return lo;
 	}
-
 	
-	/**
-	 * Calculates the sum of number for rowSum of LessThan and GreaterThanEqual, and 
-	 * 									colSum of GreaterThan and LessThanEqual operators.
-	 * 
-	 * @param value ?
-	 * @param bv ?
-	 * @param bOp binary operator
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static int sumRowSumLtGeColSumGtLe(double value, double[] bv, BinaryOperator bOp) 
+	private static int uarimax(double value, double[] bv, int[] bvi, BinaryOperator bOp) 
 			throws DMLRuntimeException
 	{
-		int ix = Arrays.binarySearch(bv, value);
-		int cnt = 0;
-		
-		if( ix >= 0 ){ //match, scan to next val
-			while( value==bv[ix++] && ix<bv.length );
-			ix += (value==bv[bv.length-1])?1:0;
-		}
-			
-		cnt = bv.length-Math.abs(ix)+1;
-		
-		if (bOp.fn instanceof LessThanEquals || bOp.fn instanceof GreaterThanEquals)
-			cnt = bv.length - cnt;		
-
-		return cnt;
+		if(bOp.fn instanceof LessThan)
+			return uarimaxLt(value, bv, bvi, bOp);
+		else if(bOp.fn instanceof LessThanEquals)
+			return uarimaxLe(value, bv, bvi, bOp);
+		else if(bOp.fn instanceof GreaterThan)
+			return uarimaxGt(value, bv, bvi, bOp);
+		else if(bOp.fn instanceof GreaterThanEquals)
+			return uarimaxGe(value, bv, bvi, bOp);
+		else if(bOp.fn instanceof Equals)
+			return uarimaxEq(value, bv, bvi, bOp);
+		else //NotEquals
+			return uarimaxNe(value, bv, bvi, bOp);
 	}
-
 	
-	/**
-	 * Calculates the sum of number for Equal and NotEqual operators 
-	 * 
-	 * @param value ?
-	 * @param bv ?
-	 * @param bOp binary operator
-	 * @throws DMLRuntimeException if DMLRuntimeException occurs
-	 */
-	private static int sumEqNe(double value, double[] bv, BinaryOperator bOp) 
+	private static int uarimin(double value, double[] bv, int[] bvi, BinaryOperator bOp) 
 			throws DMLRuntimeException
 	{
-		int ix = Arrays.binarySearch(bv, value);
-		int cnt = 0;
-		
-		if( ix >= 0 ){ //match, scan to next val
-			while( ix > 0 && value==bv[ix-1]) --ix;
-			while( ix<bv.length && value==bv[ix]) {
-				ix++; cnt++;
-			}
-		}
-			
-		if (bOp.fn instanceof NotEquals)
-			cnt = bv.length - cnt;
-
-		return cnt;
+		if(bOp.fn instanceof LessThan)
+			return uariminLt(value, bv, bvi, bOp);
+		else if(bOp.fn instanceof LessThanEquals)
+			return uariminLe(value, bv, bvi, bOp);
+		else if(bOp.fn instanceof GreaterThan)
+			return uariminGt(value, bv, bvi, bOp);
+		else if(bOp.fn instanceof GreaterThanEquals)
+			return uariminGe(value, bv, bvi, bOp);
+		else if(bOp.fn instanceof Equals)
+			return uariminEq(value, bv, bvi, bOp);
+		else //NotEquals
+			return uariminNe(value, bv, bvi, bOp);
 	}
 	
 	/**
@@ -1575,5 +1035,32 @@ public class LibMatrixOuterAgg
     		}
     	}
 	}
-
-}
\ No newline at end of file
+	
+	private static class OuterAggTask implements Callable<Long> 
+	{
+		private final MatrixBlock _in;
+		private final double[] _c;
+		private final double[] _bv;
+		private final int[] _bvi;
+		private final BinaryOperator _bOp;
+		private final AggregateUnaryOperator _uaggOp;
+		private final int _rl;
+		private final int _ru;
+		
+		protected OuterAggTask(MatrixBlock in, double[] c, double[] bv, int[] bvi, BinaryOperator bOp, AggregateUnaryOperator uaggOp, int rl, int ru) {
+			_in = in;
+			_c = c;
+			_bv = bv;
+			_bvi = bvi;
+			_bOp = bOp;
+			_uaggOp = uaggOp;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Long call() throws DMLRuntimeException {
+			return aggregateVector(_in, _c, _bv, _bvi, _bOp, _uaggOp, _rl, _ru);
+		}
+	}
+}
@@ -61,6 +61,10 @@ import org.apache.sysml.runtime.util.UtilFunctions;
 public class LibMatrixReorg 
 {
 	public static final long PAR_NUMCELL_THRESHOLD = 1024*1024;   //Min 1M elements
+	public static final int PAR_SORT_THRESHOLD = 128*1024;        //Min 128K rows
+	public static final int PAR_NUMROWS_THRESHOLD = 128*1024;     //Min 128K rows (rexpand)
+	private static final int SORT_RADIX_BITS = 8;
+	private static final int SORT_RADIX = 1 << SORT_RADIX_BITS;
 	public static final boolean SHALLOW_DENSE_VECTOR_TRANSPOSE = true;
 	public static final boolean SHALLOW_DENSE_ROWWISE_RESHAPE = true;
 	public static final boolean ALLOW_BLOCK_REUSE = false;
@@ -105,7 +109,7 @@ public class LibMatrixReorg
 				return diag(in, out); 
 			case SORT:      
 				SortIndex ix = (SortIndex) op.fn;
-				return sort(in, out, ix.getCol(), ix.getDecreasing(), ix.getIndexReturn());
+				return sort(in, out, ix.getCol(), ix.getDecreasing(), ix.getIndexReturn(), op.getNumThreads());
 			
 			default:        
 				throw new DMLRuntimeException("Unsupported reorg operator: "+op.fn);
@@ -122,12 +126,30 @@ public class LibMatrixReorg
 		//set basic meta data
 		out.nonZeros = in.nonZeros;
 		
+		//constant and diagonal transpose (w/o expansion)
+		if( in.isConstant() && !out.sparse ) {
+			out.allocateConstantBlock(in.getConstantValue());
+			return out;
+		}
+		if( in.isDiagonal() && out.sparse ) {
+			out.allocateDiagonalBlock(in.getDiagonalValues().clone());
+			return out;
+		}
+		
 		//shallow dense vector transpose (w/o result allocation)
 		//since the physical representation of dense vectors is always the same,
 		//we don't need to create a copy, given our copy on write semantics.
 		//however, note that with update in-place this would be an invalid optimization
-		if( SHALLOW_DENSE_VECTOR_TRANSPOSE && !in.sparse && !out.sparse && (in.rlen==1 || in.clen==1)  ) {
-			out.denseBlock = in.denseBlock;
+		if( SHALLOW_DENSE_VECTOR_TRANSPOSE && !in.sparse && !out.sparse && (in.rlen==1 || in.clen==1)
+			&& (in.denseBlock==null || in.denseBlock.isContiguous()) ) {
+			out.denseBlock = (in.denseBlock!=null) ? DenseBlockFactory
+				.createDenseBlock(in.getDenseBlockValues(), out.rlen, out.clen) : null;
+			return out;
+		}
+		
+		//symmetric transpose (copy of packed upper triangle)
+		if( in.isSymmetric() && !out.sparse ) {
+			out.denseBlock = new DenseBlockSym((DenseBlockSym)in.denseBlock);
 			return out;
 		}
 		
@@ -162,7 +184,8 @@ public class LibMatrixReorg
 		if( in.isEmptyBlock(false) || (in.rlen * in.clen < PAR_NUMCELL_THRESHOLD) || k == 1
 			|| (SHALLOW_DENSE_VECTOR_TRANSPOSE && !in.sparse && !out.sparse && (in.rlen==1 || in.clen==1) )
 			|| (in.sparse && !out.sparse && in.rlen==1) || (!in.sparse && out.sparse && in.rlen==1) 
-			|| (!in.sparse && out.sparse) || !out.isThreadSafe())
+			|| (!in.sparse && out.sparse) || !out.isThreadSafe() || in.isSymmetric()
+			|| in.isConstant() || in.isDiagonal() )
 		{
 			return transpose(in, out);
 		}
@@ -310,6 +333,27 @@ public class LibMatrixReorg
 
 	public static MatrixBlock sort(MatrixBlock in, MatrixBlock out, int by, boolean desc, boolean ixret) 
 		throws DMLRuntimeException
+	{
+		return sort(in, out, by, desc, ixret, 1);
+	}
+	
+	/**
+	 * CP sort operation (order), which sorts the rows of the input by the given column. 
+	 * Large inputs are sorted multi-threaded via a stable LSD radix sort or parallel merge 
+	 * sort over order-preserving long encodings of the values, where sparse inputs sort
+	 * only the non-zeros of the orderby column.
+	 * 
+	 * @param in input matrix
+	 * @param out output matrix
+	 * @param by orderby column (1-based)
+	 * @param desc if true, descending order
+	 * @param ixret if true, return the sorted index vector instead of the data
+	 * @param k degree of parallelism
+	 * @return output matrix
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static MatrixBlock sort(MatrixBlock in, MatrixBlock out, int by, boolean desc, boolean ixret, int k) 
+		throws DMLRuntimeException
 	{
 		//meta data gathering and preparation
 		boolean sparse = in.isInSparseFormat();
@@ -329,11 +373,17 @@ public class LibMatrixReorg
 				return out;
 			
 			if( !sparse && clen == 1 ) { //DENSE COLUMN VECTOR
-				//in-place quicksort, unstable (no indexes needed)
 				out.copy( in ); //dense
-				Arrays.sort(out.denseBlock);
-				if( desc )
-					sortReverseDense(out);
+				if( k > 1 && rlen >= PAR_SORT_THRESHOLD ) {
+					//multi-threaded sort of encoded values (no indexes needed)
+					sortDenseParallel(out.getDenseBlockValues(), rlen, desc, k);
+				}
+				else {
+					//in-place quicksort, unstable (no indexes needed)
+					Arrays.sort(out.getDenseBlockValues());
+					if( desc )
+						sortReverseDense(out);
+				}
 				return out;
 			}
 		}
@@ -348,36 +398,42 @@ public class LibMatrixReorg
 		}
 		
 		//step 3: index vector sorting
-		
-		//create index vector and extract values
-		int[] vix = new int[rlen];
-		double[] values = new double[rlen];
-		for( int i=0; i<rlen; i++ ) {
-			vix[i] = i;
-			values[i] = in.quickGetValue(i, by-1);
-		}
-		
-		//sort index vector on extracted data (unstable)
-		SortUtils.sortByValue(0, rlen, values, vix);
-
-		//flip order if descending requested (note that this needs to happen
-		//before we ensure stable outputs, hence we also flip values)
-		if(desc) {
-			sortReverseDense(vix);
-			sortReverseDense(values);
-		}
-		
-		//final pass to ensure stable output
-		for( int i=0; i<rlen-1; i++ ) {
-			double tmp = values[i];
-			//determine run of equal values
-			int len = 0;
-			while( i+len+1<rlen && tmp==values[i+len+1] )
-				len++;
-			//unstable sort of run indexes (equal value guaranteed)
-			if( len>0 ) {
-				Arrays.sort(vix, i, i+len+1);
-				i += len; //skip processed run
+		int[] vix = null;
+		if( k > 1 && rlen >= PAR_SORT_THRESHOLD ) {
+			//multi-threaded stable sort of index vector
+			vix = sortIndexesParallel(in, by, desc, k);
+		}
+		else {
+			//create index vector and extract values
+			vix = new int[rlen];
+			double[] values = new double[rlen];
+			for( int i=0; i<rlen; i++ ) {
+				vix[i] = i;
+				values[i] = in.quickGetValue(i, by-1);
+			}
+			
+			//sort index vector on extracted data (unstable)
+			SortUtils.sortByValue(0, rlen, values, vix);
+	
+			//flip order if descending requested (note that this needs to happen
+			//before we ensure stable outputs, hence we also flip values)
+			if(desc) {
+				sortReverseDense(vix);
+				sortReverseDense(values);
+			}
+			
+			//final pass to ensure stable output
+			for( int i=0; i<rlen-1; i++ ) {
+				double tmp = values[i];
+				//determine run of equal values
+				int len = 0;
+				while( i+len+1<rlen && tmp==values[i+len+1] )
+					len++;
+				//unstable sort of run indexes (equal value guaranteed)
+				if( len>0 ) {
+					Arrays.sort(vix, i, i+len+1);
+					i += len; //skip processed run
+				}
 			}
 		}
 
@@ -389,7 +445,7 @@ public class LibMatrixReorg
 			{
 				out.allocateDenseBlock(false);
 				for( int i=0; i<rlen; i++ ) {
-					System.arraycopy(in.denseBlock, vix[i]*clen, out.denseBlock, i*clen, clen);
+					System.arraycopy(in.getDenseBlockValues(), vix[i]*clen, out.getDenseBlockValues(), i*clen, clen);
 				}
 			}
 			else //SPARSE
@@ -521,6 +577,24 @@ public class LibMatrixReorg
 	 */
 	public static MatrixBlock rmempty(MatrixBlock in, MatrixBlock ret, boolean rows, MatrixBlock select) 
 		throws DMLRuntimeException
+	{
+		return rmempty(in, ret, rows, select, 1);
+	}
+
+	/**
+	 * CP rmempty operation (single input, single output matrix) with
+	 * multi-threaded scan and copy for large inputs.
+	 * 
+	 * @param in input matrix
+	 * @param ret output matrix
+	 * @param rows if true, remove empty rows, otherwise empty columns
+	 * @param select optional selection vector (or null)
+	 * @param k number of threads
+	 * @return matrix block
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static MatrixBlock rmempty(MatrixBlock in, MatrixBlock ret, boolean rows, MatrixBlock select, int k) 
+		throws DMLRuntimeException
 	{
 		//check for empty inputs 
 		//(the semantics of removeEmpty are that for an empty m-by-n matrix, the output 
@@ -533,10 +607,20 @@ public class LibMatrixReorg
 			return ret;
 		}
 		
+		//redirect small or empty inputs to sequential execution
+		if( k <= 1 || in.isEmptyBlock(false) 
+			|| (long)in.rlen * in.clen < PAR_NUMCELL_THRESHOLD ) 
+		{
+			if( rows )
+				return removeEmptyRows(in, ret, select);
+			else //cols
+				return removeEmptyColumns(in, ret, select);
+		}
+		
 		if( rows )
-			return removeEmptyRows(in, ret, select);
+			return removeEmptyRows(in, ret, select, k);
 		else //cols
-			return removeEmptyColumns(in, ret, select);
+			return removeEmptyColumns(in, ret, select, k);
 	}
 
 	/**
@@ -647,6 +731,26 @@ public class LibMatrixReorg
 	 */
 	public static MatrixBlock rexpand(MatrixBlock in, MatrixBlock ret, double max, boolean rows, boolean cast, boolean ignore) 
 		throws DMLRuntimeException
+	{
+		return rexpand(in, ret, max, rows, cast, ignore, 1);
+	}
+
+	/**
+	 * CP rexpand operation (single input, single output) with multi-threaded
+	 * construction of the output row structure for large inputs.
+	 * 
+	 * @param in input matrix
+	 * @param ret output matrix
+	 * @param max maximum expanded value
+	 * @param rows if true, expand along rows, otherwise along columns
+	 * @param cast if true, cast input values to long
+	 * @param ignore if true, ignore invalid input values
+	 * @param k number of threads
+	 * @return output matrix
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public static MatrixBlock rexpand(MatrixBlock in, MatrixBlock ret, double max, boolean rows, boolean cast, boolean ignore, int k) 
+		throws DMLRuntimeException
 	{
 		//prepare parameters
 		int lmax = (int)UtilFunctions.toLong(max);
@@ -666,6 +770,13 @@ public class LibMatrixReorg
 		}
 		
 		//execute rexpand operations
+		if( k > 1 && in.rlen >= PAR_NUMROWS_THRESHOLD ) {
+			if( rows )
+				return rexpandRows(in, ret, lmax, cast, ignore, k);
+			else //cols
+				return rexpandColumns(in, ret, lmax, cast, ignore, k);
+		}
+		
 		if( rows )
 			return rexpandRows(in, ret, lmax, cast, ignore);
 		else //cols
@@ -747,8 +858,14 @@ public class LibMatrixReorg
 		final int n = in.clen;
 		final int n2 = out.clen;
 		
-		double[] a = in.getDenseBlock();
-		double[] c = out.getDenseBlock();
+		//large dense blocks of multiple row blocks and row range views (per-row access)
+		if( in.isDenseMultiBlock() || out.isDenseMultiBlock() || in.isView() ) {
+			transposeDenseToDenseMB(in.getDenseBlock(), out.getDenseBlock(), rl, ru, cl, cu);
+			return;
+		}
+		
+		double[] a = in.getDenseBlockValues();
+		double[] c = out.getDenseBlockValues();
 		
 		if( m==1 || n==1 ) //VECTOR TRANSPOSE
 		{
@@ -779,6 +896,35 @@ public class LibMatrixReorg
 		}
 	}
 
+	private static void transposeDenseToDenseMB(DenseBlock a, DenseBlock c, int rl, int ru, int cl, int cu) 
+	{
+		final int n2 = c.numCols();
+		
+		//blocking according to typical L2 cache sizes 
+		final int blocksizeI = 128;
+		final int blocksizeJ = 128; 
+		
+		//blocked execution
+		for( int bi = rl; bi<ru; bi+=blocksizeI )
+			for( int bj = cl; bj<cu; bj+=blocksizeJ )
+			{
+				int bimin = Math.min(bi+blocksizeI, ru);
+				int bjmin = Math.min(bj+blocksizeJ, cu);
+				//core transpose operation (output rows within one or two row blocks)
+				boolean contiguous = c.isContiguous(bj, bjmin-1);
+				for( int i=bi; i<bimin; i++ )
+				{
+					double[] avals = a.values(i);
+					int aix = a.pos(i) + bj;
+					if( contiguous )
+						transposeRow(avals, c.values(bj), aix, c.pos(bj)+i, n2, bjmin-bj);
+					else
+						for( int j=bj; j<bjmin; j++, aix++ )
+							c.values(j)[c.pos(j)+i] = avals[aix];
+				}
+			}
+	}
+
 	private static void transposeDenseToSparse(MatrixBlock in, MatrixBlock out)
 	{
 		//NOTE: called only in sequential execution
@@ -789,7 +935,7 @@ public class LibMatrixReorg
 		final int n2 = out.clen;
 		final int ennz2 = (int) (in.nonZeros/m2); 
 		
-		double[] a = in.getDenseBlock();
+		double[] a = in.getDenseBlockValues();
 		SparseBlock c = out.getSparseBlock();
 		
 		if( out.rlen == 1 ) //VECTOR-VECTOR
@@ -891,7 +1037,7 @@ public class LibMatrixReorg
 		final int n2 = out.clen;
 		
 		SparseBlock a = in.getSparseBlock();
-		double[] c = out.getDenseBlock();
+		double[] c = out.getDenseBlockValues();
 		
 		if( m==1 ) //ROW VECTOR TRANSPOSE
 		{
@@ -996,8 +1142,8 @@ public class LibMatrixReorg
 		out.nonZeros = in.nonZeros;
 		out.allocateDenseBlock(false);
 		
-		double[] a = in.getDenseBlock();
-		double[] c = out.getDenseBlock();
+		double[] a = in.getDenseBlockValues();
+		double[] c = out.getDenseBlockValues();
 		
 		//copy all rows into target positions
 		if( n == 1 ) { //column vector
@@ -1043,6 +1189,19 @@ public class LibMatrixReorg
 	{
 		int rlen = in.rlen;
 		
+		//sparse output: diagonal block of the vector values w/o 
+		//per-row allocations (e.g., diag(lambda) in regularization)
+		if( out.sparse && rlen > 1 ) {
+			double[] c = new double[rlen];
+			if( in.isConstant() )
+				Arrays.fill(c, in.getConstantValue());
+			else
+				for( int i=0; i<rlen; i++ )
+					c[i] = in.quickGetValue(i, 0);
+			out.allocateDiagonalBlock(c);
+			return;
+		}
+		
 		//CASE column vector
 		for( int i=0; i<rlen; i++ )
 		{
@@ -1065,6 +1224,15 @@ public class LibMatrixReorg
 	{
 		int rlen = in.rlen;
 		
+		//symmetric input: scan diagonal of packed upper triangle
+		double[] a = in.getDenseBlockValuesSym();
+		if( a != null ) {
+			for( int i=0, ix=0; i<rlen; ix+=rlen-i, i++ )
+				if( a[ix] != 0 )
+					out.quickSetValue(i, 0, a[ix]);
+			return;
+		}
+		
 		for( int i=0; i<rlen; i++ )
 		{
 			double val = in.quickGetValue(i, i);
@@ -1084,11 +1252,12 @@ public class LibMatrixReorg
 			return;
 		
 		//shallow dense by-row reshape (w/o result allocation)
-		if( SHALLOW_DENSE_ROWWISE_RESHAPE && rowwise ) {
+		if( SHALLOW_DENSE_ROWWISE_RESHAPE && rowwise && in.denseBlock.isContiguous() ) {
 			//since the physical representation of dense matrices is always the same,
 			//we don't need to create a copy, given our copy on write semantics.
 			//however, note that with update in-place this would be an invalid optimization
-			out.denseBlock = in.denseBlock;
+			out.denseBlock = DenseBlockFactory.createDenseBlock(
+				in.getDenseBlockValues(), out.rlen, out.clen);
 			return;
 		}
 		
@@ -1096,8 +1265,8 @@ public class LibMatrixReorg
 		out.allocateDenseBlock(false);
 		
 		//dense reshape
-		double[] a = in.denseBlock;
-		double[] c = out.denseBlock;
+		double[] a = in.getDenseBlockValues();
+		double[] c = out.getDenseBlockValues();
 		
 		if( rowwise )
 		{
@@ -1265,7 +1434,7 @@ public class LibMatrixReorg
 		int estnnz = (int) (in.nonZeros/rows);
 		
 		//sparse reshape
-		double[] a = in.denseBlock;
+		double[] a = in.getDenseBlockValues();
 		SparseBlock c = out.sparseBlock;
 		
 		if( rowwise )
@@ -1336,7 +1505,7 @@ public class LibMatrixReorg
 		
 		//sparse/dense reshape
 		SparseBlock a = in.sparseBlock;
-		double[] c = out.denseBlock;
+		double[] c = out.getDenseBlockValues();
 		
 		if( rowwise )
 		{
@@ -1399,6 +1568,367 @@ public class LibMatrixReorg
 		}
 	}
 	
+	/**
+	 * Multi-threaded sort of a dense value array (w/o index vector), in-place.
+	 * 
+	 * @param a dense values
+	 * @param len number of values
+	 * @param desc if true, descending order
+	 * @param k degree of parallelism
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	static void sortDenseParallel(double[] a, int len, boolean desc, int k) 
+		throws DMLRuntimeException
+	{
+		//encode values into order-preserving keys (keep -0 vs 0 as in Arrays.sort)
+		long[] keys = new long[len];
+		for( int i=0; i<len; i++ )
+			keys[i] = encodeSortKey(a[i], desc);
+		
+		//stable multi-threaded sort and decode
+		sortKeysParallel(keys, null, len, k);
+		for( int i=0; i<len; i++ )
+			a[i] = decodeSortKey(keys[i], desc);
+	}
+	
+	/**
+	 * Multi-threaded stable sort of the row indexes of the given input by the values 
+	 * of the orderby column, where ties are ordered by ascending row index in both 
+	 * ascending and descending order. Sparse inputs sort only the non-zeros of the 
+	 * orderby column, and splice the rows with zero values in afterwards.
+	 * 
+	 * @param in input matrix
+	 * @param by orderby column (1-based)
+	 * @param desc if true, descending order
+	 * @param k degree of parallelism
+	 * @return sorted index vector (0-based)
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static int[] sortIndexesParallel(MatrixBlock in, int by, boolean desc, int k) 
+		throws DMLRuntimeException
+	{
+		final int rlen = in.rlen;
+		final int clen = in.clen;
+		int[] vix = new int[rlen];
+		
+		if( !in.sparse ) //DENSE
+		{
+			//extract keys of all rows (-0 normalized to 0 for equal ties)
+			long[] keys = new long[rlen];
+			double[] a = in.getDenseBlockValues();
+			for( int i=0, aix=by-1; i<rlen; i++, aix+=clen ) {
+				vix[i] = i;
+				keys[i] = encodeSortKey(a[aix]+0d, desc);
+			}
+			sortKeysParallel(keys, vix, rlen, k);
+		}
+		else //SPARSE
+		{
+			//extract keys of non-zeros, and collect zero rows in order
+			SparseBlock a = in.sparseBlock;
+			int nnz = 0, nzero = 0;
+			for( int i=0; i<rlen; i++ )
+				nnz += (a!=null && !a.isEmpty(i) && a.get(i, by-1)!=0) ? 1 : 0;
+			long[] keys = new long[nnz];
+			int[] kix = new int[nnz];
+			for( int i=0, pos=0; i<rlen; i++ ) {
+				double val = (a!=null && !a.isEmpty(i)) ? a.get(i, by-1) : 0;
+				if( val != 0 ) {
+					keys[pos] = encodeSortKey(val, desc);
+					kix[pos++] = i;
+				}
+				else
+					vix[nzero++] = i;
+			}
+			sortKeysParallel(keys, kix, nnz, k);
+			
+			//splice zero rows in between negative and positive values
+			int p = lowerBound(keys, 0, nnz, encodeSortKey(0, desc));
+			System.arraycopy(vix, 0, vix, p, nzero);
+			System.arraycopy(kix, 0, vix, 0, p);
+			System.arraycopy(kix, p, vix, p+nzero, nnz-p);
+		}
+		
+		return vix;
+	}
+	
+	/**
+	 * Encodes a double into a long, whose signed order equals the order of
+	 * the values as defined by Double.compare (or its reverse if desc).
+	 * 
+	 * @param val double value
+	 * @param desc if true, descending order
+	 * @return sort key
+	 */
+	private static long encodeSortKey(double val, boolean desc) {
+		long bits = Double.doubleToLongBits(val);
+		long key = bits ^ ((bits >> 63) & Long.MAX_VALUE);
+		return desc ? ~key : key;
+	}
+	
+	private static double decodeSortKey(long key, boolean desc) {
+		long bits = desc ? ~key : key;
+		return Double.longBitsToDouble(bits ^ ((bits >> 63) & Long.MAX_VALUE));
+	}
+	
+	/**
+	 * Multi-threaded stable sort of the given keys and (optional) index vector. 
+	 * We use an LSD radix sort over all non-constant 8-bit digits of the keys, if 
+	 * the number of passes is small compared to the log of the input size, and a 
+	 * parallel merge sort for nearly sorted inputs (few descents) or otherwise.
+	 * 
+	 * @param keys sort keys
+	 * @param ix index vector or null
+	 * @param len number of keys
+	 * @param k degree of parallelism
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	private static void sortKeysParallel(long[] keys, int[] ix, int len, int k) 
+		throws DMLRuntimeException
+	{
+		if( len <= 1 )
+			return;
+		
+		//determine non-constant radix digits and number of descents
+		long diff = 0;
+		int ndesc = 0;
+		for( int i=1; i<len; i++ ) {
+			diff |= keys[i] ^ keys[0];
+			ndesc += (keys[i] < keys[i-1]) ? 1 : 0;
+		}
+		int npass = 0;
+		for( int shift=0; shift<64; shift+=SORT_RADIX_BITS )
+			npass += ((diff >>> shift) & (SORT_RADIX-1)) != 0 ? 1 : 0;
+		boolean radix = (ndesc > len/1024)
+			&& (2 * npass <= 31 - Integer.numberOfLeadingZeros(len));
+		
+		try {
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			if( radix )
+				sortKeysRadix(keys, ix, len, diff, pool, k);
+			else
+				sortKeysMerge(keys, ix, len, pool, k);
+			pool.shutdown();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+	
+	private static void sortKeysRadix(long[] keys, int[] ix, int len, long diff, ExecutorService pool, int k) 
+		throws Exception
+	{
+		long[] src = keys, dst = new long[len];
+		int[] srcix = ix, dstix = (ix != null) ? new int[len] : null;
+		int blklen = (int)(Math.ceil((double)len/k));
+		
+		for( int shift=0; shift<64; shift+=SORT_RADIX_BITS ) {
+			if( ((diff >>> shift) & (SORT_RADIX-1)) == 0 )
+				continue; //skip constant digits
+			
+			//compute digit histograms per block
+			ArrayList<RadixCountTask> ctasks = new ArrayList<RadixCountTask>();
+			for( int i=0; i<k & i*blklen<len; i++ )
+				ctasks.add(new RadixCountTask(src, shift, i*blklen, Math.min((i+1)*blklen, len)));
+			List<Future<int[]>> rtasks = pool.invokeAll(ctasks);
+			int[][] offsets = new int[rtasks.size()][];
+			for( int i=0; i<offsets.length; i++ )
+				offsets[i] = rtasks.get(i).get();
+			
+			//compute output offsets in digit-block order (stable)
+			for( int d=0, pos=0; d<SORT_RADIX; d++ )
+				for( int i=0; i<offsets.length; i++ ) {
+					int cnt = offsets[i][d];
+					offsets[i][d] = pos;
+					pos += cnt;
+				}
+			
+			//scatter blocks into disjoint output positions
+			ArrayList<RadixScatterTask> stasks = new ArrayList<RadixScatterTask>();
+			for( int i=0; i<offsets.length; i++ )
+				stasks.add(new RadixScatterTask(src, srcix, dst, dstix, offsets[i],
+					shift, i*blklen, Math.min((i+1)*blklen, len)));
+			for( Future<Object> task : pool.invokeAll(stasks) )
+				task.get();
+			
+			//swap source and target buffers
+			long[] tmp = src; src = dst; dst = tmp;
+			int[] tmpix = srcix; srcix = dstix; dstix = tmpix;
+		}
+		
+		//copy result back if necessary
+		if( src != keys ) {
+			System.arraycopy(src, 0, keys, 0, len);
+			if( ix != null )
+				System.arraycopy(srcix, 0, ix, 0, len);
+		}
+	}
+	
+	private static void sortKeysMerge(long[] keys, int[] ix, int len, ExecutorService pool, int k) 
+		throws Exception
+	{
+		long[] src = keys, dst = new long[len];
+		int[] srcix = ix, dstix = (ix != null) ? new int[len] : null;
+		
+		//sort blocks independently (w/ target buffers as scratch space)
+		ArrayList<Integer> bounds = new ArrayList<Integer>();
+		ArrayList<MergeSortTask> btasks = new ArrayList<MergeSortTask>();
+		int blklen = (int)(Math.ceil((double)len/k));
+		for( int i=0; i<k & i*blklen<len; i++ ) {
+			bounds.add(i*blklen);
+			btasks.add(new MergeSortTask(src, srcix, dst, dstix, i*blklen, Math.min((i+1)*blklen, len)));
+		}
+		bounds.add(len);
+		for( Future<Object> task : pool.invokeAll(btasks) )
+			task.get();
+		
+		//merge pairs of sorted runs until a single run remains, where each pair 
+		//is split into independent segments to utilize all threads per round
+		while( bounds.size() > 2 ) {
+			int nruns = bounds.size() - 1;
+			int nseg = Math.max(k / (nruns/2), 1);
+			ArrayList<MergeRunsTask> mtasks = new ArrayList<MergeRunsTask>();
+			ArrayList<Integer> nbounds = new ArrayList<Integer>();
+			for( int r=0; r<nruns; r+=2 ) {
+				int s = bounds.get(r);
+				nbounds.add(s);
+				if( r+1 == nruns ) { //odd number of runs
+					System.arraycopy(src, s, dst, s, len-s);
+					if( srcix != null )
+						System.arraycopy(srcix, s, dstix, s, len-s);
+					continue;
+				}
+				int m = bounds.get(r+1), e = bounds.get(r+2);
+				int alen = m - s;
+				int pa = s, pb = m;
+				for( int j=1; j<=nseg; j++ ) {
+					int na = (j < nseg) ? s + (int)((long)j*alen/nseg) : m;
+					int nb = (j < nseg) ? lowerBound(src, m, e, src[na]) : e;
+					if( na > pa || nb > pb )
+						mtasks.add(new MergeRunsTask(src, srcix, pa, na, pb, nb, dst, dstix, pa+pb-m));
+					pa = na; pb = nb;
+				}
+			}
+			nbounds.add(len);
+			for( Future<Object> task : pool.invokeAll(mtasks) )
+				task.get();
+			bounds = nbounds;
+			
+			//swap source and target buffers
+			long[] tmp = src; src = dst; dst = tmp;
+			int[] tmpix = srcix; srcix = dstix; dstix = tmpix;
+		}
+		
+		//copy result back if necessary
+		if( src != keys ) {
+			System.arraycopy(src, 0, keys, 0, len);
+			if( ix != null )
+				System.arraycopy(srcix, 0, ix, 0, len);
+		}
+	}
+	
+	/**
+	 * Sequential stable merge sort of the range [rl,ru) of the given keys and 
+	 * (optional) index vector, using the same range of tkeys and tix as scratch.
+	 * 
+	 * @param keys sort keys
+	 * @param ix index vector or null
+	 * @param tkeys scratch keys
+	 * @param tix scratch index vector or null
+	 * @param rl lower bound, inclusive
+	 * @param ru upper bound, exclusive
+	 */
+	private static void mergeSortKeys(long[] keys, int[] ix, long[] tkeys, int[] tix, int rl, int ru)
+	{
+		//insertion sort for small ranges
+		if( ru - rl <= 32 ) {
+			for( int i=rl+1; i<ru; i++ ) {
+				long key = keys[i];
+				int ixval = (ix != null) ? ix[i] : 0;
+				int j = i;
+				for( ; j>rl && keys[j-1] > key; j-- ) {
+					keys[j] = keys[j-1];
+					if( ix != null )
+						ix[j] = ix[j-1];
+				}
+				keys[j] = key;
+				if( ix != null )
+					ix[j] = ixval;
+			}
+			return;
+		}
+		
+		//recursively sort both halves and merge if necessary
+		int mid = (rl + ru) >>> 1;
+		mergeSortKeys(keys, ix, tkeys, tix, rl, mid);
+		mergeSortKeys(keys, ix, tkeys, tix, mid, ru);
+		if( keys[mid-1] <= keys[mid] )
+			return; //already ordered
+		mergeRunsKeys(keys, ix, rl, mid, mid, ru, tkeys, tix, rl);
+		System.arraycopy(tkeys, rl, keys, rl, ru-rl);
+		if( ix != null )
+			System.arraycopy(tix, rl, ix, rl, ru-rl);
+	}
+	
+	/**
+	 * Stable merge of the sorted runs [a0,a1) and [b0,b1) into the target arrays
+	 * starting at position cpos, where ties are taken from the first run.
+	 * 
+	 * @param keys sort keys
+	 * @param ix index vector or null
+	 * @param a0 lower bound first run
+	 * @param a1 upper bound first run
+	 * @param b0 lower bound second run
+	 * @param b1 upper bound second run
+	 * @param ckeys target keys
+	 * @param cix target index vector or null
+	 * @param cpos target position
+	 */
+	private static void mergeRunsKeys(long[] keys, int[] ix, int a0, int a1, int b0, int b1, long[] ckeys, int[] cix, int cpos)
+	{
+		int pa = a0, pb = b0, pc = cpos;
+		while( pa < a1 && pb < b1 ) {
+			int pos = (keys[pb] < keys[pa]) ? pb++ : pa++;
+			ckeys[pc] = keys[pos];
+			if( ix != null )
+				cix[pc] = ix[pos];
+			pc++;
+		}
+		System.arraycopy(keys, pa, ckeys, pc, a1-pa);
+		System.arraycopy(keys, pb, ckeys, pc+a1-pa, b1-pb);
+		if( ix != null ) {
+			System.arraycopy(ix, pa, cix, pc, a1-pa);
+			System.arraycopy(ix, pb, cix, pc+a1-pa, b1-pb);
+		}
+	}
+	
+	/**
+	 * Returns the first position in [rl,ru) of the sorted keys with a key 
+	 * greater than or equal to the given key, or ru if no such key exists.
+	 * 
+	 * @param keys sorted keys
+	 * @param rl lower bound, inclusive
+	 * @param ru upper bound, exclusive
+	 * @param key search key
+	 * @return lower bound position
+	 */
+	private static int lowerBound(long[] keys, int rl, int ru, long key) {
+		int lo = rl, hi = ru;
+		while( lo < hi ) {
+			int mid = (lo + hi) >>> 1;
+			if( keys[mid] < key )
+				lo = mid + 1;
+			else
+				hi = mid;
+		}
+		return lo;
+	}
+	
+	private static int getRadixDigit(long key, int shift) {
+		//flip sign bit to map the signed order to unsigned digits
+		return (int)((key ^ Long.MIN_VALUE) >>> shift) & (SORT_RADIX-1);
+	}
+	
 	///////////////////////////////
 	// private MR implementation //
 	///////////////////////////////
@@ -1527,7 +2057,7 @@ public class LibMatrixReorg
 		
 		int rlen = in.rlen;
 		int clen = in.clen;
-		double[] a = in.denseBlock;
+		double[] a = in.getDenseBlockValues();
 		
 		//append all values to right blocks
 		MatrixIndexes ixtmp = new MatrixIndexes();
@@ -1683,7 +2213,7 @@ public class LibMatrixReorg
 			}
 			else //DENSE
 			{
-				double[] a = in.denseBlock;
+				double[] a = in.getDenseBlockValues();
 				
 				for(int i=0, aix=0; i<m; i++, aix+=n) {
 					for(int j=0; j<n; j++)
@@ -1721,8 +2251,8 @@ public class LibMatrixReorg
 		else if( !in.sparse && !ret.sparse )  //DENSE <- DENSE
 		{
 			ret.allocateDenseBlock();
-			double[] a = in.denseBlock;
-			double[] c = ret.denseBlock;
+			double[] a = in.getDenseBlockValues();
+			double[] c = ret.getDenseBlockValues();
 			
 			for( int i=0, aix=0, cix=0; i<m; i++, aix+=n )
 				if( flags[i] ) {
@@ -1733,7 +2263,7 @@ public class LibMatrixReorg
 		else //SPARSE <- DENSE
 		{
 			ret.allocateSparseRowsBlock();
-			double[] a = in.denseBlock;
+			double[] a = in.getDenseBlockValues();
 			
 			for( int i=0, aix=0, cix=0; i<m; i++, aix+=n )
 				if( flags[i] ) {
@@ -1778,7 +2308,7 @@ public class LibMatrixReorg
 			}
 			else //DENSE
 			{
-				double[] a = in.denseBlock;
+				double[] a = in.getDenseBlockValues();
 				
 				for(int i=0, aix=0; i<m; i++)
 					for(int j=0; j<n; j++, aix++)
@@ -1832,8 +2362,8 @@ public class LibMatrixReorg
 		else if( !in.sparse && !ret.sparse )  //DENSE <- DENSE
 		{
 			ret.allocateDenseBlock();
-			double[] a = in.denseBlock;
-			double[] c = ret.denseBlock;
+			double[] a = in.getDenseBlockValues();
+			double[] c = ret.getDenseBlockValues();
 			
 			for(int i=0, aix=0, lcix=0; i<m; i++, lcix+=clen2)
 				for(int j=0; j<n; j++, aix++)
@@ -1843,7 +2373,7 @@ public class LibMatrixReorg
 		else //SPARSE <- DENSE
 		{
 			ret.allocateSparseRowsBlock();
-			double[] a = in.denseBlock;
+			double[] a = in.getDenseBlockValues();
 			
 			for(int i=0, aix=0; i<m; i++)
 				for(int j=0; j<n; j++, aix++)
@@ -1897,7 +2427,7 @@ public class LibMatrixReorg
 					
 				//set expanded value if matching
 				if( val == Math.floor(val) && val >= 1 && val <= max )
-					ret.appendValue((int)(val-1), i+tmpi[j], 1);
+					ret.appendValue((int)(val-1), tmpi[j], 1);
 			}
 			
 		}
@@ -1936,53 +2466,489 @@ public class LibMatrixReorg
 		return ret;
 	}
 
-	private static void copyColVector( MatrixBlock in, int ixin, double[] tmp, int[] tmpi, int len)
+	private static MatrixBlock removeEmptyRows(MatrixBlock in, MatrixBlock ret, MatrixBlock select, int k) 
+		throws DMLRuntimeException 
 	{
-		//copy value array from input matrix
-		if( in.isEmptyBlock(false) ) {
-			Arrays.fill(tmp, 0, 0, len);
-		}
-		else if( in.sparse ){ //SPARSE
-			for( int i=0; i<len; i++ )
-				tmp[i] = in.quickGetValue(ixin+i, 0);
+		final int m = in.rlen;
+		final int n = in.clen;
+		boolean[] flags = (select != null) ? 
+			DataConverter.convertToBooleanVector(select) : new boolean[m];
+		
+		try {
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			int blklen = (int)(Math.ceil((double)m/k));
+			
+			//Step 1: scan row partitions and count non-empty rows
+			ArrayList<RmEmptyCountTask> ctasks = new ArrayList<RmEmptyCountTask>();
+			for( int i=0; i<k & i*blklen<m; i++ )
+				ctasks.add(new RmEmptyCountTask(in, flags, select==null, 
+					i*blklen, Math.min((i+1)*blklen, m)));
+			List<Future<Integer>> rctasks = pool.invokeAll(ctasks);
+			
+			//Step 2: compute output row offsets per partition (prefix sums)
+			int[] offsets = new int[rctasks.size()];
+			int rlen2 = 0;
+			for( int i=0; i<rctasks.size(); i++ ) {
+				offsets[i] = rlen2;
+				rlen2 += rctasks.get(i).get();
+			}
+			
+			//Step 3: reset and allocate result, copy partitions into disjoint output rows
+			//(dense/sparse output w/ thread-safe sparse rows, exact nnz per partition)
+			rlen2 = Math.max(rlen2, 1); //ensure valid output
+			boolean sp = MatrixBlock.evalSparseFormatInMemory(rlen2, n, in.nonZeros);
+			ret.reset(rlen2, n, sp);
+			if( ret.sparse )
+				ret.allocateSparseRowsBlock();
+			else
+				ret.allocateDenseBlock();
+			
+			ArrayList<RmEmptyCopyTask> tasks = new ArrayList<RmEmptyCopyTask>();
+			for( int i=0; i<offsets.length; i++ )
+				tasks.add(new RmEmptyCopyTask(in, ret, flags, null, 
+					i*blklen, Math.min((i+1)*blklen, m), offsets[i]));
+			long lnnz = 0;
+			for( Future<Long> task : pool.invokeAll(tasks) )
+				lnnz += task.get();
+			pool.shutdown();
+			
+			//check sparsity
+			ret.nonZeros = lnnz;
+			ret.examSparsity();
 		}
-		else { //DENSE
-			System.arraycopy(in.denseBlock, ixin, tmp, 0, len);
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
 		}
 		
-		//init index array
-		for( int i=0; i<len; i++ )
-			tmpi[i] = ixin + i;
-	}
-	
-
-	/**
-	 * Utility method for in-place transformation of an ascending sorted
-	 * order into a descending sorted order. This method assumes dense
-	 * column vectors as input.
-	 * 
-	 * @param m1 matrix
-	 */
-	private static void sortReverseDense( MatrixBlock m1 )
-	{
-		int rlen = m1.rlen;
-		double[] a = m1.denseBlock;
-		
-		for( int i=0; i<rlen/2; i++ ) {
-			double tmp = a[i];
-			a[i] = a[rlen - i -1];
-			a[rlen - i - 1] = tmp;
-		}
+		return ret;
 	}
 
-	private static void sortReverseDense( int[] a )
+	private static MatrixBlock removeEmptyColumns(MatrixBlock in, MatrixBlock ret, MatrixBlock select, int k) 
+		throws DMLRuntimeException 
 	{
-		int rlen = a.length;
+		final int m = in.rlen;
+		final int n = in.clen;
 		
-		for( int i=0; i<rlen/2; i++ ) {
-			int tmp = a[i];
-			a[i] = a[rlen - i -1];
-			a[rlen - i - 1] = tmp;
+		try {
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			int blklen = (int)(Math.ceil((double)m/k));
+			
+			//Step 1: scan row partitions and determine non-empty columns
+			//(partial flags per partition, merged via logical or)
+			boolean[] flags = null;
+			if( select == null ) {
+				ArrayList<RmEmptyColFlagsTask> ftasks = new ArrayList<RmEmptyColFlagsTask>();
+				for( int i=0; i<k & i*blklen<m; i++ )
+					ftasks.add(new RmEmptyColFlagsTask(in, i*blklen, Math.min((i+1)*blklen, m)));
+				for( Future<boolean[]> task : pool.invokeAll(ftasks) ) {
+					boolean[] lflags = task.get();
+					if( flags == null )
+						flags = lflags;
+					else
+						for( int j=0; j<n; j++ )
+							flags[j] |= lflags[j];
+				}
+			}
+			else {
+				flags = DataConverter.convertToBooleanVector(select);
+			}
+			
+			//Step 2: create mapping of flags to target indexes
+			int[] cix = new int[n];
+			int clen2 = 0;
+			for( int j=0; j<n; j++ )
+				if( flags[j] )
+					cix[j] = clen2++;
+			
+			//Step 3: reset and allocate result, copy row partitions
+			clen2 = Math.max(clen2, 1); //ensure valid output
+			boolean sp = MatrixBlock.evalSparseFormatInMemory(m, clen2, in.nonZeros);
+			ret.reset(m, clen2, sp);
+			if( ret.sparse )
+				ret.allocateSparseRowsBlock();
+			else
+				ret.allocateDenseBlock();
+			
+			ArrayList<RmEmptyCopyTask> tasks = new ArrayList<RmEmptyCopyTask>();
+			for( int i=0; i<k & i*blklen<m; i++ )
+				tasks.add(new RmEmptyCopyTask(in, ret, flags, cix, 
+					i*blklen, Math.min((i+1)*blklen, m), i*blklen));
+			long lnnz = 0;
+			for( Future<Long> task : pool.invokeAll(tasks) )
+				lnnz += task.get();
+			pool.shutdown();
+			
+			//check sparsity
+			ret.nonZeros = lnnz;
+			ret.examSparsity();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		return ret;
+	}
+
+	private static int countNonEmptyRows(MatrixBlock in, boolean[] flags, boolean scan, int rl, int ru)
+	{
+		final int n = in.clen;
+		int cnt = 0;
+		
+		if( !scan ) { //given select vector
+			for( int i=rl; i<ru; i++ )
+				cnt += flags[i] ? 1 : 0;
+		}
+		else if( in.sparse ) { //SPARSE
+			SparseBlock a = in.sparseBlock;
+			for( int i=rl; i<ru; i++ )
+				if( !a.isEmpty(i) ) {
+					flags[i] = true;
+					cnt++;
+				}
+		}
+		else { //DENSE
+			double[] a = in.getDenseBlockValues();
+			for( int i=rl, aix=rl*n; i<ru; i++, aix+=n )
+				for( int j=0; j<n; j++ )
+					if( a[aix+j] != 0 ) {
+						flags[i] = true;
+						cnt++;
+						break; //early abort for current row
+					}
+		}
+		
+		return cnt;
+	}
+
+	private static boolean[] findNonEmptyColumns(MatrixBlock in, int rl, int ru)
+	{
+		final int n = in.clen;
+		boolean[] flags = new boolean[n];
+		
+		if( in.sparse ) { //SPARSE
+			SparseBlock a = in.sparseBlock;
+			for( int i=rl; i<ru; i++ )
+				if( !a.isEmpty(i) ) {
+					int apos = a.pos(i);
+					int alen = a.size(i);
+					int[] aix = a.indexes(i);
+					for( int j=apos; j<apos+alen; j++ )
+						flags[ aix[j] ] = true;
+				}
+		}
+		else { //DENSE
+			double[] a = in.getDenseBlockValues();
+			for( int i=rl, aix=rl*n; i<ru; i++ )
+				for( int j=0; j<n; j++, aix++ )
+					if( a[aix] != 0 )
+						flags[j] = true;
+		}
+		
+		return flags;
+	}
+
+	private static long copyNonEmptyRows(MatrixBlock in, MatrixBlock ret, boolean[] flags, int rl, int ru, int cix)
+	{
+		final int n = in.clen;
+		long lnnz = 0;
+		
+		if( in.sparse ) //* <- SPARSE
+		{
+			SparseBlock a = in.sparseBlock;
+			for( int i=rl; i<ru; i++ ) {
+				if( !flags[i] )
+					continue;
+				if( !a.isEmpty(i) ) {
+					int apos = a.pos(i);
+					int alen = a.size(i);
+					int[] aix = a.indexes(i);
+					double[] avals = a.values(i);
+					if( ret.sparse ) {
+						SparseBlock c = ret.sparseBlock;
+						c.allocate(cix, alen);
+						for( int j=apos; j<apos+alen; j++ )
+							c.append(cix, aix[j], avals[j]);
+						lnnz += c.size(cix);
+					}
+					else {
+						double[] c = ret.getDenseBlockValues();
+						for( int j=apos, cpos=cix*n; j<apos+alen; j++ ) {
+							c[cpos+aix[j]] = avals[j];
+							lnnz += (avals[j]!=0) ? 1 : 0;
+						}
+					}
+				}
+				cix++;
+			}
+		}
+		else if( !ret.sparse ) //DENSE <- DENSE
+		{
+			double[] a = in.getDenseBlockValues();
+			double[] c = ret.getDenseBlockValues();
+			for( int i=rl, aix=rl*n, cpos=cix*n; i<ru; i++, aix+=n )
+				if( flags[i] ) {
+					System.arraycopy(a, aix, c, cpos, n);
+					for( int j=0; j<n; j++ )
+						lnnz += (a[aix+j]!=0) ? 1 : 0;
+					cpos += n;
+				}
+		}
+		else //SPARSE <- DENSE
+		{
+			double[] a = in.getDenseBlockValues();
+			SparseBlock c = ret.sparseBlock;
+			for( int i=rl, aix=rl*n; i<ru; i++, aix+=n )
+				if( flags[i] ) {
+					for( int j=0; j<n; j++ )
+						if( a[aix+j] != 0 ) {
+							c.append(cix, j, a[aix+j]);
+							lnnz++;
+						}
+					cix++;
+				}
+		}
+		
+		return lnnz;
+	}
+
+	private static long copyNonEmptyColumns(MatrixBlock in, MatrixBlock ret, boolean[] flags, int[] cix, int rl, int ru)
+	{
+		final int n = in.clen;
+		final int clen2 = ret.clen;
+		long lnnz = 0;
+		
+		if( in.sparse ) //* <- SPARSE
+		{
+			SparseBlock a = in.sparseBlock;
+			for( int i=rl; i<ru; i++ ) 
+				if( !a.isEmpty(i) ) {
+					int apos = a.pos(i);
+					int alen = a.size(i);
+					int[] aix = a.indexes(i);
+					double[] avals = a.values(i);
+					for( int j=apos; j<apos+alen; j++ )
+						if( flags[aix[j]] && avals[j] != 0 ) {
+							if( ret.sparse )
+								ret.sparseBlock.append(i, cix[aix[j]], avals[j]);
+							else
+								ret.getDenseBlockValues()[i*clen2+cix[aix[j]]] = avals[j];
+							lnnz++;
+						}
+				}
+		}
+		else //* <- DENSE
+		{
+			double[] a = in.getDenseBlockValues();
+			for( int i=rl, aix=rl*n; i<ru; i++ )
+				for( int j=0; j<n; j++, aix++ )
+					if( flags[j] && a[aix] != 0 ) {
+						if( ret.sparse )
+							ret.sparseBlock.append(i, cix[j], a[aix]);
+						else
+							ret.getDenseBlockValues()[i*clen2+cix[j]] = a[aix];
+						lnnz++;
+					}
+		}
+		
+		return lnnz;
+	}
+
+	private static MatrixBlock rexpandRows(MatrixBlock in, MatrixBlock ret, int max, boolean cast, boolean ignore, int k) 
+		throws DMLRuntimeException
+	{
+		//set meta data
+		final int rlen = max;
+		final int clen = in.rlen;
+		boolean sp = MatrixBlock.evalSparseFormatInMemory(rlen, clen, in.nonZeros);
+		ret.reset(rlen, clen, sp);
+		
+		try {
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			int blklen = (int)(Math.ceil((double)clen/k));
+			
+			//Step 1: compute target rows and per-partition row counts
+			int[] tix = new int[clen];
+			ArrayList<RexpandCountTask> ctasks = new ArrayList<RexpandCountTask>();
+			for( int i=0; i<k & i*blklen<clen; i++ )
+				ctasks.add(new RexpandCountTask(in, tix, max, cast, ignore, 
+					sp, i*blklen, Math.min((i+1)*blklen, clen)));
+			List<Future<int[]>> rctasks = pool.invokeAll(ctasks);
+			
+			if( sp ) {
+				//Step 2: compute exact csr row pointers and per-partition 
+				//write positions (prefix sums over rows and partitions)
+				int[] ptr = new int[rlen+1];
+				int[][] pos = new int[rctasks.size()][];
+				for( int t=0; t<pos.length; t++ )
+					pos[t] = rctasks.get(t).get();
+				for( int r=0, lnnz=0; r<rlen; r++ ) {
+					ptr[r] = lnnz;
+					for( int t=0; t<pos.length; t++ ) {
+						int cnt = pos[t][r];
+						pos[t][r] = lnnz;
+						lnnz += cnt;
+					}
+					ptr[r+1] = lnnz;
+				}
+				int nnz = ptr[rlen];
+				
+				//Step 3: scatter column indexes into disjoint positions
+				//(partitions in order of input rows, hence sorted column indexes)
+				int[] indexes = new int[nnz];
+				double[] values = new double[nnz];
+				Arrays.fill(values, 1);
+				ArrayList<RexpandScatterTask> tasks = new ArrayList<RexpandScatterTask>();
+				for( int t=0; t<pos.length; t++ )
+					tasks.add(new RexpandScatterTask(tix, indexes, pos[t], t*blklen, Math.min((t+1)*blklen, clen)));
+				for( Future<Object> task : pool.invokeAll(tasks) )
+					task.get();
+				
+				ret.sparseBlock = new SparseBlockCSR(ptr, indexes, values, nnz);
+				ret.nonZeros = nnz;
+			}
+			else {
+				//Step 2: set expanded values in dense output (disjoint cells)
+				long lnnz = 0;
+				for( Future<int[]> task : rctasks )
+					lnnz += task.get()[0];
+				ret.allocateDenseBlock();
+				ArrayList<RexpandFillTask> tasks = new ArrayList<RexpandFillTask>();
+				for( int t=0; t<rctasks.size(); t++ )
+					tasks.add(new RexpandFillTask(tix, null, null, ret.getDenseBlockValues(), 
+						clen, true, 0, t*blklen, Math.min((t+1)*blklen, clen)));
+				for( Future<Object> task : pool.invokeAll(tasks) )
+					task.get();
+				ret.nonZeros = lnnz;
+			}
+			pool.shutdown();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		return ret;
+	}
+
+	private static MatrixBlock rexpandColumns(MatrixBlock in, MatrixBlock ret, int max, boolean cast, boolean ignore, int k) 
+		throws DMLRuntimeException
+	{
+		//set meta data
+		final int rlen = in.rlen;
+		final int clen = max;
+		boolean sp = MatrixBlock.evalSparseFormatInMemory(rlen, clen, in.nonZeros);
+		ret.reset(rlen, clen, sp);
+		
+		try {
+			ExecutorService pool = Executors.newFixedThreadPool( k );
+			int blklen = (int)(Math.ceil((double)rlen/k));
+			
+			//Step 1: compute target columns and per-partition nnz
+			int[] tix = new int[rlen];
+			ArrayList<RexpandCountTask> ctasks = new ArrayList<RexpandCountTask>();
+			for( int i=0; i<k & i*blklen<rlen; i++ )
+				ctasks.add(new RexpandCountTask(in, tix, max, cast, ignore, 
+					false, i*blklen, Math.min((i+1)*blklen, rlen)));
+			List<Future<int[]>> rctasks = pool.invokeAll(ctasks);
+			
+			//Step 2: compute offsets per partition (prefix sums)
+			int[] offsets = new int[rctasks.size()];
+			int nnz = 0;
+			for( int t=0; t<offsets.length; t++ ) {
+				offsets[t] = nnz;
+				nnz += rctasks.get(t).get()[0];
+			}
+			
+			//Step 3: construct exact csr row structure or dense output
+			//(at most one non-zero per row, disjoint output ranges)
+			int[] ptr = sp ? new int[rlen+1] : null;
+			int[] indexes = sp ? new int[nnz] : null;
+			if( !sp )
+				ret.allocateDenseBlock();
+			ArrayList<RexpandFillTask> tasks = new ArrayList<RexpandFillTask>();
+			for( int t=0; t<offsets.length; t++ )
+				tasks.add(new RexpandFillTask(tix, ptr, indexes, sp ? null : ret.getDenseBlockValues(), 
+					clen, false, offsets[t], t*blklen, Math.min((t+1)*blklen, rlen)));
+			for( Future<Object> task : pool.invokeAll(tasks) )
+				task.get();
+			pool.shutdown();
+			
+			if( sp ) {
+				ptr[rlen] = nnz;
+				double[] values = new double[nnz];
+				Arrays.fill(values, 1);
+				ret.sparseBlock = new SparseBlockCSR(ptr, indexes, values, nnz);
+			}
+			ret.nonZeros = nnz;
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		
+		return ret;
+	}
+
+	private static int getRexpandIndex(double val, int max, boolean cast, boolean ignore) 
+		throws DMLRuntimeException
+	{
+		//cast if necessary (table)
+		if( cast )
+			val = UtilFunctions.toLong(val);
+		
+		//handle invalid values if not to be ignored
+		if( !ignore && val<=0 )
+			throw new DMLRuntimeException("Invalid input value <= 0 for ignore=false: "+val);
+		
+		//get expanded index if matching, otherwise -1
+		return (val == Math.floor(val) && val >= 1 && val <= max) ? (int)(val-1) : -1;
+	}
+
+	private static void copyColVector( MatrixBlock in, int ixin, double[] tmp, int[] tmpi, int len)
+	{
+		//copy value array from input matrix
+		if( in.isEmptyBlock(false) ) {
+			Arrays.fill(tmp, 0, 0, len);
+		}
+		else if( in.sparse ){ //SPARSE
+			for( int i=0; i<len; i++ )
+				tmp[i] = in.quickGetValue(ixin+i, 0);
+		}
+		else { //DENSE
+			System.arraycopy(in.getDenseBlockValues(), ixin, tmp, 0, len);
+		}
+		
+		//init index array
+		for( int i=0; i<len; i++ )
+			tmpi[i] = ixin + i;
+	}
+	
+
+	/**
+	 * Utility method for in-place transformation of an ascending sorted
+	 * order into a descending sorted order. This method assumes dense
+	 * column vectors as input.
+	 * 
+	 * @param m1 matrix
+	 */
+	private static void sortReverseDense( MatrixBlock m1 )
+	{
+		int rlen = m1.rlen;
+		double[] a = m1.getDenseBlockValues();
+		
+		for( int i=0; i<rlen/2; i++ ) {
+			double tmp = a[i];
+			a[i] = a[rlen - i -1];
+			a[rlen - i - 1] = tmp;
+		}
+	}
+
+	private static void sortReverseDense( int[] a )
+	{
+		int rlen = a.length;
+		
+		for( int i=0; i<rlen/2; i++ ) {
+			int tmp = a[i];
+			a[i] = a[rlen - i -1];
+			a[rlen - i - 1] = tmp;
 		}
 	}
 
@@ -2141,4 +3107,286 @@ public class LibMatrixReorg
 			return countNnzPerColumn(_in, _rl, _ru);
 		}
 	}
+	
+	private static class RadixCountTask implements Callable<int[]>
+	{
+		private long[] _keys = null;
+		private int _shift = -1;
+		private int _rl = -1;
+		private int _ru = -1;
+
+		protected RadixCountTask(long[] keys, int shift, int rl, int ru) {
+			_keys = keys;
+			_shift = shift;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public int[] call() {
+			int[] cnt = new int[SORT_RADIX];
+			for( int i=_rl; i<_ru; i++ )
+				cnt[getRadixDigit(_keys[i], _shift)]++;
+			return cnt;
+		}
+	}
+	
+	private static class RadixScatterTask implements Callable<Object>
+	{
+		private long[] _keys = null;
+		private int[] _ix = null;
+		private long[] _tkeys = null;
+		private int[] _tix = null;
+		private int[] _offsets = null;
+		private int _shift = -1;
+		private int _rl = -1;
+		private int _ru = -1;
+
+		protected RadixScatterTask(long[] keys, int[] ix, long[] tkeys, int[] tix, int[] offsets, int shift, int rl, int ru) {
+			_keys = keys;
+			_ix = ix;
+			_tkeys = tkeys;
+			_tix = tix;
+			_offsets = offsets;
+			_shift = shift;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() {
+			for( int i=_rl; i<_ru; i++ ) {
+				int pos = _offsets[getRadixDigit(_keys[i], _shift)]++;
+				_tkeys[pos] = _keys[i];
+				if( _ix != null )
+					_tix[pos] = _ix[i];
+			}
+			return null;
+		}
+	}
+	
+	private static class MergeSortTask implements Callable<Object>
+	{
+		private long[] _keys = null;
+		private int[] _ix = null;
+		private long[] _tkeys = null;
+		private int[] _tix = null;
+		private int _rl = -1;
+		private int _ru = -1;
+
+		protected MergeSortTask(long[] keys, int[] ix, long[] tkeys, int[] tix, int rl, int ru) {
+			_keys = keys;
+			_ix = ix;
+			_tkeys = tkeys;
+			_tix = tix;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() {
+			mergeSortKeys(_keys, _ix, _tkeys, _tix, _rl, _ru);
+			return null;
+		}
+	}
+	
+	private static class MergeRunsTask implements Callable<Object>
+	{
+		private long[] _keys = null;
+		private int[] _ix = null;
+		private int _a0 = -1, _a1 = -1;
+		private int _b0 = -1, _b1 = -1;
+		private long[] _ckeys = null;
+		private int[] _cix = null;
+		private int _cpos = -1;
+
+		protected MergeRunsTask(long[] keys, int[] ix, int a0, int a1, int b0, int b1, long[] ckeys, int[] cix, int cpos) {
+			_keys = keys;
+			_ix = ix;
+			_a0 = a0; _a1 = a1;
+			_b0 = b0; _b1 = b1;
+			_ckeys = ckeys;
+			_cix = cix;
+			_cpos = cpos;
+		}
+		
+		@Override
+		public Object call() {
+			mergeRunsKeys(_keys, _ix, _a0, _a1, _b0, _b1, _ckeys, _cix, _cpos);
+			return null;
+		}
+	}
+	
+	private static class RmEmptyCountTask implements Callable<Integer>
+	{
+		private MatrixBlock _in = null;
+		private boolean[] _flags = null;
+		private boolean _scan = false;
+		private int _rl = -1;
+		private int _ru = -1;
+
+		protected RmEmptyCountTask(MatrixBlock in, boolean[] flags, boolean scan, int rl, int ru) {
+			_in = in;
+			_flags = flags;
+			_scan = scan;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Integer call() {
+			return countNonEmptyRows(_in, _flags, _scan, _rl, _ru);
+		}
+	}
+	
+	private static class RmEmptyColFlagsTask implements Callable<boolean[]>
+	{
+		private MatrixBlock _in = null;
+		private int _rl = -1;
+		private int _ru = -1;
+
+		protected RmEmptyColFlagsTask(MatrixBlock in, int rl, int ru) {
+			_in = in;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public boolean[] call() {
+			return findNonEmptyColumns(_in, _rl, _ru);
+		}
+	}
+	
+	private static class RmEmptyCopyTask implements Callable<Long>
+	{
+		private MatrixBlock _in = null;
+		private MatrixBlock _ret = null;
+		private boolean[] _flags = null;
+		private int[] _cix = null;
+		private int _rl = -1;
+		private int _ru = -1;
+		private int _offset = -1;
+
+		protected RmEmptyCopyTask(MatrixBlock in, MatrixBlock ret, boolean[] flags, int[] cix, int rl, int ru, int offset) {
+			_in = in;
+			_ret = ret;
+			_flags = flags;
+			_cix = cix;
+			_rl = rl;
+			_ru = ru;
+			_offset = offset;
+		}
+		
+		@Override
+		public Long call() {
+			//remove empty rows (w/o column mapping) or columns
+			return (_cix == null) ?
+				copyNonEmptyRows(_in, _ret, _flags, _rl, _ru, _offset) :
+				copyNonEmptyColumns(_in, _ret, _flags, _cix, _rl, _ru);
+		}
+	}
+	
+	private static class RexpandCountTask implements Callable<int[]>
+	{
+		private MatrixBlock _in = null;
+		private int[] _tix = null;
+		private int _max = -1;
+		private boolean _cast = false;
+		private boolean _ignore = false;
+		private boolean _hist = false;
+		private int _rl = -1;
+		private int _ru = -1;
+
+		protected RexpandCountTask(MatrixBlock in, int[] tix, int max, boolean cast, boolean ignore, boolean hist, int rl, int ru) {
+			_in = in;
+			_tix = tix;
+			_max = max;
+			_cast = cast;
+			_ignore = ignore;
+			_hist = hist;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public int[] call() throws DMLRuntimeException {
+			//compute target indexes and either counts per target index or total count
+			int[] cnt = new int[_hist ? _max : 1];
+			for( int i=_rl; i<_ru; i++ ) {
+				int ix = getRexpandIndex(_in.quickGetValue(i, 0), _max, _cast, _ignore);
+				_tix[i] = ix;
+				if( ix >= 0 )
+					cnt[_hist ? ix : 0]++;
+			}
+			return cnt;
+		}
+	}
+	
+	private static class RexpandScatterTask implements Callable<Object>
+	{
+		private int[] _tix = null;
+		private int[] _indexes = null;
+		private int[] _pos = null;
+		private int _rl = -1;
+		private int _ru = -1;
+
+		protected RexpandScatterTask(int[] tix, int[] indexes, int[] pos, int rl, int ru) {
+			_tix = tix;
+			_indexes = indexes;
+			_pos = pos;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() {
+			for( int i=_rl; i<_ru; i++ )
+				if( _tix[i] >= 0 )
+					_indexes[_pos[_tix[i]]++] = i;
+			return null;
+		}
+	}
+	
+	private static class RexpandFillTask implements Callable<Object>
+	{
+		private int[] _tix = null;
+		private int[] _ptr = null;
+		private int[] _indexes = null;
+		private double[] _c = null;
+		private int _clen = -1;
+		private boolean _rows = false;
+		private int _offset = -1;
+		private int _rl = -1;
+		private int _ru = -1;
+
+		protected RexpandFillTask(int[] tix, int[] ptr, int[] indexes, double[] c, int clen, boolean rows, int offset, int rl, int ru) {
+			_tix = tix;
+			_ptr = ptr;
+			_indexes = indexes;
+			_c = c;
+			_clen = clen;
+			_rows = rows;
+			_offset = offset;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() {
+			if( _c != null ) { //DENSE
+				for( int i=_rl; i<_ru; i++ )
+					if( _tix[i] >= 0 )
+						_c[_rows ? _tix[i]*_clen+i : i*_clen+_tix[i]] = 1;
+			}
+			else { //SPARSE (csr, rexpand cols)
+				int pos = _offset;
+				for( int i=_rl; i<_ru; i++ ) {
+					_ptr[i] = pos;
+					if( _tix[i] >= 0 )
+						_indexes[pos++] = _tix[i];
+				}
+			}
+			return null;
+		}
+	}
 }
@@ -58,6 +58,7 @@ import org.apache.sysml.runtime.functionobjects.ReduceRow;
 import org.apache.sysml.runtime.functionobjects.RevIndex;
 import org.apache.sysml.runtime.functionobjects.SortIndex;
 import org.apache.sysml.runtime.functionobjects.SwapIndex;
+import org.apache.sysml.runtime.functionobjects.ValueComparisonFunction;
 import org.apache.sysml.runtime.instructions.cp.CM_COV_Object;
 import org.apache.sysml.runtime.instructions.cp.KahanObject;
 import org.apache.sysml.runtime.instructions.cp.ScalarObject;
@@ -106,6 +107,11 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		ULTRA_SPARSE_BLOCK, //ultra sparse representation, in-mem same as sparse
 		SPARSE_BLOCK, //sparse representation, see sparseRows 
 		DENSE_BLOCK, //dense representation, see denseBlock			
+		SPARSE_BLOCK_FP32, //sparse representation w/ single-precision values
+		DENSE_BLOCK_FP32, //dense representation w/ single-precision values
+		DENSE_BLOCK_BOOL, //dense representation w/ boolean values (bitset)
+		DENSE_BLOCK_SYM, //dense representation w/ packed upper triangle (symmetric)
+		DENSE_BLOCK_CONST, //dense representation w/ single constant value
 	}
 	
 	//matrix meta data
@@ -115,7 +121,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	protected long nonZeros   = 0;
 	
 	//matrix data (sparse or dense)
-	protected double[] denseBlock    = null;
+	protected DenseBlock denseBlock  = null;
 	protected SparseBlock sparseBlock = null;
 		
 	//sparse-block-specific attributes (allocation only)
@@ -164,7 +170,19 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		nonZeros = nnz;
 		sparseBlock = sblock;
 	}
-	
+
+	/**
+	 * Constructs a dense {@link MatrixBlock} with a given instance of a {@link DenseBlock}
+	 * @param rl number of rows
+	 * @param cl number of columns
+	 * @param dblock dense block
+	 */
+	public MatrixBlock(int rl, int cl, DenseBlock dblock) {
+		this(rl, cl, false, -1);
+		denseBlock = dblock;
+		recomputeNonZeros();
+	}
+
 	public MatrixBlock(MatrixBlock that, SparseBlock.Type stype, boolean deep) {
 		this(that.rlen, that.clen, that.sparse);
 		
@@ -251,14 +269,14 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	
 	private void resetDense(double val) {
 		//handle to dense block allocation
-		if( denseBlock != null && denseBlock.length<rlen*clen && val==0)
+		if( denseBlock != null && denseBlock.capacity()<(long)rlen*clen && val==0)
 			denseBlock = null;
 		else if( val != 0 )
 			allocateDenseBlock(false);
 			
 		//reset dense block to given value 
 		if( denseBlock != null )
-			Arrays.fill(denseBlock, 0, rlen*clen, val);
+			denseBlock.reset(rlen, clen, val);
 	}
 	
 	/**
@@ -282,8 +300,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		allocateDenseBlock();
 		
 		//copy and compute nnz
-		for(int i=0, ix=0; i < r; i++, ix+=clen) 
-			System.arraycopy(arr[i], 0, denseBlock, ix, arr[i].length);
+		for(int i=0; i < r; i++) 
+			System.arraycopy(arr[i], 0, denseBlock.values(i), denseBlock.pos(i), arr[i].length);
 		recomputeNonZeros();
 	}
 	
@@ -308,7 +326,11 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		allocateDenseBlock();
 		
 		//copy and compute nnz 
-		System.arraycopy(arr, 0, denseBlock, 0, arr.length);
+		if( denseBlock.isContiguous() )
+			System.arraycopy(arr, 0, denseBlock.valuesAt(0), 0, arr.length);
+		else
+			for(int i=0, ix=0; ix < arr.length; i++, ix+=clen)
+				System.arraycopy(arr, ix, denseBlock.values(i), denseBlock.pos(i), Math.min(clen, arr.length-ix));
 		recomputeNonZeros();
 	}
 
@@ -338,16 +360,14 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	{
 		long limit = (long)rlen * clen;
 		
-		//check max size constraint (16GB dense), since java arrays are limited to 2^(32-1) elements)
-		if( limit > Integer.MAX_VALUE ) {
-			String execType = OptimizerUtils.isSparkExecutionMode() ? "SPARK" : "MR";
-			throw new RuntimeException("Dense in-memory matrix block ("+rlen+"x"+clen+") exceeds supported size of "+Integer.MAX_VALUE+" elements (16GB). " +
-					                   "Please, report this issue and reduce the JVM heapsize to execute this operation in "+execType+".");
-		}
-		
 		//allocate block if non-existing or too small (guaranteed to be 0-initialized),
-		if(denseBlock == null || denseBlock.length < limit) {
-			denseBlock = new double[(int)limit];
+		//where blocks of more than 2^31 cells are partitioned into multiple row blocks
+		if(denseBlock == null || denseBlock.capacity() < limit) {
+			denseBlock = DenseBlockFactory.createDenseBlock(rlen, clen);
+		}
+		//reuse existing allocation with adjusted dimensions
+		else if( denseBlock.numRows() != rlen || denseBlock.numCols() != clen ) {
+			adjustDenseBlockDims();
 		}
 		
 		//clear nnz if necessary
@@ -356,6 +376,84 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		}
 		
 		sparse = false;
+		
+		//copy shared rows of views before writes
+		copyOnWriteView();
+	}
+
+	/**
+	 * Allocates a boolean (bitset) dense block of the current dimensions,
+	 * which requires that the block has at most 2^31 cells.
+	 * 
+	 * @return boolean dense block, guaranteed to be 0-initialized
+	 */
+	public DenseBlockBool allocateBooleanBlock() {
+		DenseBlockBool ret = new DenseBlockBool(rlen, clen);
+		denseBlock = ret;
+		nonZeros = 0;
+		sparse = false;
+		return ret;
+	}
+	
+	/**
+	 * Allocates a symmetric dense block of the current (square) dimensions, 
+	 * which stores the packed upper triangle and requires that the block has 
+	 * at most 2^31 cells.
+	 * 
+	 * @return symmetric dense block, guaranteed to be 0-initialized
+	 */
+	public DenseBlockSym allocateSymmetricBlock() {
+		if( rlen != clen )
+			throw new RuntimeException("Invalid symmetric block allocation for "+rlen+"x"+clen+".");
+		DenseBlockSym ret = new DenseBlockSym(rlen);
+		denseBlock = ret;
+		nonZeros = 0;
+		sparse = false;
+		return ret;
+	}
+	
+	/**
+	 * Allocates a constant dense block of the current dimensions, where
+	 * all cells are represented by the given value. This requires that
+	 * the block has at most 2^31 cells.
+	 * 
+	 * @param v constant value
+	 * @return constant dense block
+	 */
+	public DenseBlockConst allocateConstantBlock(double v) {
+		DenseBlockConst ret = new DenseBlockConst(v, rlen, clen);
+		denseBlock = ret;
+		nonZeros = ret.countNonZeros();
+		sparse = false;
+		return ret;
+	}
+	
+	/**
+	 * Allocates a diagonal sparse block of the given values, which
+	 * requires a square block of matching dimensions. The values are
+	 * not copied and thus should not be modified afterwards.
+	 * 
+	 * @param v diagonal values
+	 * @return diagonal sparse block
+	 */
+	public SparseBlockDiag allocateDiagonalBlock(double[] v) {
+		if( rlen != clen || rlen != v.length )
+			throw new RuntimeException("Invalid diagonal block allocation for "+rlen+"x"+clen+".");
+		SparseBlockDiag ret = new SparseBlockDiag(v);
+		sparseBlock = ret;
+		denseBlock = null;
+		nonZeros = ret.size();
+		sparse = true;
+		return ret;
+	}
+	
+	private void adjustDenseBlockDims() {
+		//single-array blocks are linearized and thus keep their values
+		//similar to a plain array, while multi-block layouts are reset 
+		if( denseBlock.isContiguous() && denseBlock.valuesAt(0).length >= (long)rlen*clen )
+			denseBlock = DenseBlockFactory.createDenseBlock(denseBlock.valuesAt(0), rlen, clen);
+		else
+			denseBlock.reset(rlen, clen);
 	}
 
 	public void allocateSparseRowsBlock() {
@@ -427,6 +525,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	 */
 	public void setNumRows(int r) {
 		rlen = r;
+		if( denseBlock != null && denseBlock.isContiguous() 
+			&& denseBlock.valuesAt(0).length >= (long)rlen*clen )
+			denseBlock = DenseBlockFactory.createDenseBlock(denseBlock.valuesAt(0), rlen, clen);
 	}
 	
 	public int getNumColumns() {
@@ -435,6 +536,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	
 	public void setNumColumns(int c) {
 		clen = c;
+		if( denseBlock != null && denseBlock.isContiguous() 
+			&& denseBlock.valuesAt(0).length >= (long)rlen*clen )
+			denseBlock = DenseBlockFactory.createDenseBlock(denseBlock.valuesAt(0), rlen, clen);
 	}
 	
 	public long getNonZeros() {
@@ -487,17 +591,288 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	////////
 	// Data handling
 	
-	public double[] getDenseBlock() {
+	public DenseBlock getDenseBlock() {
 		if( sparse )
 			return null;
 		return denseBlock;
 	}
 	
+	/**
+	 * Obtains the underlying array of a dense block with a single 
+	 * contiguous allocation. Large dense blocks of more than 2^31 cells
+	 * are partitioned into multiple row blocks, which need to be 
+	 * accessed via {@link #getDenseBlock()}.
+	 * 
+	 * @return array of dense values, or null if sparse or not allocated
+	 */
+	public double[] getDenseBlockValues() {
+		if( sparse || denseBlock == null )
+			return null;
+		if( denseBlock.numBlocks() > 1 )
+			throw new RuntimeException("Unsupported access to dense block with "
+				+ denseBlock.numBlocks()+" row blocks ("+rlen+"x"+clen+").");
+		return denseBlock.valuesAt(0);
+	}
+	
+	/**
+	 * Indicates if this block is in dense format with values stored in
+	 * single precision (see {@link DenseBlock} for the widening of compact
+	 * dense blocks on access via {@link #getDenseBlockValues()}).
+	 * 
+	 * @return true if dense block of single-precision values
+	 */
+	public boolean isSinglePrecision() {
+		return !sparse && denseBlock != null && denseBlock.isSinglePrecision();
+	}
+	
+	/**
+	 * Obtains the underlying float array of a single-precision dense block.
+	 * 
+	 * @return array of float values, or null if not single precision
+	 */
+	public float[] getDenseBlockValuesFP32() {
+		return isSinglePrecision() ? 
+			((DenseBlockFP32)denseBlock).valuesFP32() : null;
+	}
+	
+	/**
+	 * Indicates if this block is in dense format with values stored 
+	 * as bitset of 0/1 values (e.g., results of relational operations).
+	 * 
+	 * @return true if dense block of boolean values
+	 */
+	public boolean isBoolean() {
+		return !sparse && denseBlock != null && denseBlock.isBoolean();
+	}
+	
+	/**
+	 * Obtains the underlying bitset of a boolean dense block.
+	 * 
+	 * @return array of 64bit words, or null if not boolean
+	 */
+	public long[] getDenseBlockValuesBool() {
+		return isBoolean() ? 
+			((DenseBlockBool)denseBlock).valuesBool() : null;
+	}
+	
+	/**
+	 * Indicates if this block is in dense format with values stored as
+	 * packed upper triangle of a symmetric matrix (e.g., outputs of tsmm).
+	 * 
+	 * @return true if dense block of symmetric values
+	 */
+	public boolean isSymmetric() {
+		return !sparse && denseBlock != null && denseBlock.isSymmetric();
+	}
+	
+	/**
+	 * Obtains the packed upper triangle of a symmetric dense block, 
+	 * where row i starts at position {@link DenseBlockSym#posPacked(int, int)}.
+	 * 
+	 * @return packed array of values, or null if not symmetric
+	 */
+	public double[] getDenseBlockValuesSym() {
+		return isSymmetric() ? 
+			((DenseBlockSym)denseBlock).valuesSym() : null;
+	}
+	
+	/**
+	 * Indicates if this block is in dense format with all values represented
+	 * by a single constant (e.g., outputs of matrix(7, rows, cols)).
+	 * 
+	 * @return true if dense block of constant values
+	 */
+	public boolean isConstant() {
+		return !sparse && denseBlock != null && denseBlock.isConstant();
+	}
+	
+	/**
+	 * Obtains the value of a constant dense block.
+	 * 
+	 * @return constant value, or NaN if not constant
+	 */
+	public double getConstantValue() {
+		return isConstant() ? 
+			((DenseBlockConst)denseBlock).getValue() : Double.NaN;
+	}
+
+	/**
+	 * Indicates if this block is in dense format with a compact dense
+	 * block, i.e., single-precision, boolean, symmetric, or constant.
+	 *
+	 * @return true if compact dense block
+	 */
+	public boolean isDenseCompact() {
+		return isSinglePrecision() || isBoolean()
+			|| isSymmetric() || isConstant();
+	}
+
+	/**
+	 * Indicates if this block is in sparse format with compact 16-bit 
+	 * column indexes (CSR16), which have not been widened yet.
+	 *
+	 * @return true if compact sparse block
+	 */
+	public boolean isSparseCompact() {
+		return sparse && sparseBlock instanceof SparseBlockCSR16
+			&& ((SparseBlockCSR16)sparseBlock).isCompact();
+	}
+
+	/**
+	 * Creates a shallow copy of a block with compact dense block or compact
+	 * sparse block, which shares the compact storage but widens independently 
+	 * on double or int index access. This allows handing out compact blocks to 
+	 * read-only consumers without changing the size of the referenced block.
+	 *
+	 * @return shallow copy, or this block if no compact block
+	 */
+	public MatrixBlock copyShallowCompact() {
+		if( isSparseCompact() ) {
+			MatrixBlock ret = new MatrixBlock(rlen, clen, true);
+			ret.sparseBlock = ((SparseBlockCSR16)sparseBlock).copyShallow();
+			ret.nonZeros = nonZeros;
+			return ret;
+		}
+		if( !isDenseCompact() )
+			return this;
+		MatrixBlock ret = new MatrixBlock(rlen, clen, false);
+		ret.denseBlock = denseBlock.copyShallowCompact();
+		ret.nonZeros = nonZeros;
+		return ret;
+	}
+
+	/**
+	 * Indicates if this block is in sparse format with values stored
+	 * as diagonal (e.g., outputs of diag(v)), i.e., all non-zeros are 
+	 * guaranteed to reside on the diagonal. Note that, in contrast to 
+	 * {@link #isDiag()}, this refers to the physical representation.
+	 * 
+	 * @return true if diagonal sparse block
+	 */
+	public boolean isDiagonal() {
+		return sparse && sparseBlock instanceof SparseBlockDiag
+			&& ((SparseBlockDiag)sparseBlock).isDiagonal();
+	}
+	
+	/**
+	 * Obtains the values of a diagonal sparse block, where the
+	 * value of row i is stored at position i (including zeros).
+	 * 
+	 * @return array of diagonal values, or null if not diagonal
+	 */
+	public double[] getDiagonalValues() {
+		return isDiagonal() ? 
+			((SparseBlockDiag)sparseBlock).getDiagonalValues() : null;
+	}
+	
+	/**
+	 * Indicates if this block is a read-only row range view of another
+	 * dense or CSR block (see {@link #sliceOperations(IndexRange, MatrixBlock, boolean)}),
+	 * whose values are copied on the first modification.
+	 * 
+	 * @return true if values are shared with another block
+	 */
+	public boolean isView() {
+		return (!sparse && denseBlock != null && denseBlock.isView())
+			|| (sparse && sparseBlock instanceof SparseBlockView 
+				&& ((SparseBlockView)sparseBlock).isView());
+	}
+	
+	/**
+	 * Indicates if this block is a lazy transpose of another block
+	 * (see {@link #reorgOperations(ReorgOperator, MatrixBlock, boolean)}),
+	 * which has not been materialized yet.
+	 *
+	 * @return true if transposed access to another block
+	 */
+	public boolean isTransposeView() {
+		return getTransposeViewInput() != null;
+	}
+
+	/**
+	 * Get the input block X of a lazy transpose t(X), which allows kernels
+	 * with transposed access to directly operate on X. Since the transpose
+	 * might be materialized concurrently, callers should obtain the input
+	 * once and use it instead of this block.
+	 *
+	 * @return input block, or null if not a transpose view
+	 */
+	public MatrixBlock getTransposeViewInput() {
+		if( !sparse && denseBlock instanceof DenseBlockTransposeView )
+			return ((DenseBlockTransposeView)denseBlock).getInput();
+		if( sparse && sparseBlock instanceof SparseBlockTransposeView )
+			return ((SparseBlockTransposeView)sparseBlock).getInput();
+		return null;
+	}
+
+	private void copyOnWriteView() {
+		//in-place updates write directly into the rows of dense blocks
+		//(sparse views are copied on write via the sparse block API)
+		if( !sparse && denseBlock != null && denseBlock.isView() )
+			((DenseBlockView)denseBlock).copyOnWrite();
+	}
+	
+	/**
+	 * Converts a dense block (of a single array) in place into 
+	 * single precision, which halves its memory footprint but
+	 * rounds all values to the nearest float.
+	 * 
+	 * @return this matrix block
+	 */
+	public MatrixBlock toSinglePrecision() {
+		if( !sparse && DenseBlockFactory.isDenseBlockType(denseBlock, DenseBlock.Type.DRB) ) {
+			denseBlock = new DenseBlockFP32(denseBlock.valuesAt(0), rlen, clen);
+			nonZeros = denseBlock.countNonZeros(); //robustness for underflows
+		}
+		return this;
+	}
+	
+	/**
+	 * Creates a single-precision copy of a dense block (of a single array). 
+	 * In contrast to {@link #toSinglePrecision()}, this block remains 
+	 * unchanged, which allows narrowing blocks that might be shared.
+	 * 
+	 * @return single-precision copy, or this block if not applicable
+	 */
+	public MatrixBlock copyToSinglePrecision() {
+		if( sparse || !DenseBlockFactory.isDenseBlockType(denseBlock, DenseBlock.Type.DRB) )
+			return this;
+		return new MatrixBlock(rlen, clen, 
+			new DenseBlockFP32(denseBlock.valuesAt(0), rlen, clen));
+	}
+	
+	/**
+	 * Indicates if this block is in dense format with values partitioned
+	 * into multiple row blocks (i.e., more than 2^31 cells), which requires
+	 * per-row-block access via {@link #getDenseBlock()}.
+	 * 
+	 * @return true if dense block of multiple row blocks
+	 */
+	public boolean isDenseMultiBlock() {
+		if( sparse )
+			return false;
+		return (denseBlock != null) ? !denseBlock.isContiguous() :
+			(long)rlen * clen > DenseBlockFactory.MAX_ALLOC;
+	}
+	
 	public SparseBlock getSparseBlock() {
 		if( !sparse )
 			return null;
 		return sparseBlock;
 	}
+	
+	/**
+	 * Replaces the sparse block of this matrix block with a content-equivalent 
+	 * sparse block of a different type, e.g., a read-optimized CSR block.
+	 * 
+	 * @param sblock sparse block
+	 */
+	public void setSparseBlock(SparseBlock sblock) {
+		//check for valid format, should have been checked from outside
+		if( !sparse || sblock == null || sblock.numRows() < rlen )
+			throw new RuntimeException("Invalid sparse block replacement.");
+		sparseBlock = sblock;
+	}
 
 	public Iterator<IJV> getSparseBlockIterator() {
 		//check for valid format, should have been checked from outside
@@ -528,6 +903,33 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		return sparseBlock.getIterator(rl, ru);
 	}
 	
+	/**
+	 * Gets an allocation-free cursor over the non-zero cells of the
+	 * rows [rl, ru) of this block, for both sparse and dense blocks.
+	 * 
+	 * @param rl inclusive lower row index starting at 0
+	 * @param ru exclusive upper row index starting at 0
+	 * @return block cursor
+	 */
+	public BlockCursor getBlockCursor(int rl, int ru) {
+		return sparse ? getSparseBlockCursor(rl, ru) :
+			new DenseBlockCursor(denseBlock, rl, Math.min(ru, rlen), clen);
+	}
+	
+	public BlockCursor getBlockCursor() {
+		return getBlockCursor(0, rlen);
+	}
+	
+	public SparseBlockCursor getSparseBlockCursor(int rl, int ru) {
+		//check for valid format, should have been checked from outside
+		if( !sparse )
+			throw new RuntimeException("getSparseBlockCursor should not be called for dense format");
+		
+		//get cursor over sparse block (empty for non-existing block)
+		return (sparseBlock != null) ? sparseBlock.getCursor(rl, Math.min(ru, rlen)) :
+			new SparseBlockCursor(null, rl, ru);
+	}
+	
 	@Override
 	public double getValue(int r, int c) 
 	{
@@ -560,7 +962,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		{
 			if( denseBlock==null )
 				return 0;
-			return denseBlock[r*clen+c]; 
+			return denseBlock.get(r, c); 
 		}
 	}
 
@@ -590,10 +992,11 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			allocateDenseBlock(false);
 			
 			//set value and maintain nnz
-			int index=r*clen+c;
-			if( denseBlock[index]==0 )
+			double[] a = denseBlock.values(r);
+			int index = denseBlock.pos(r, c);
+			if( a[index]==0 )
 				nonZeros++;
-			denseBlock[index] = v;
+			a[index] = v;
 			if( v==0 )
 				nonZeros--;
 		}
@@ -603,7 +1006,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	{
 		if(denseBlock==null)
 			return 0;
-		return denseBlock[r*clen+c]; 
+		return denseBlock.get(r, c); 
 	}
 	
 
@@ -618,7 +1021,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	 */
 	public void setValueDenseUnsafe(int r, int c, double v) 
 	{
-		denseBlock[r*clen+c]=v;		
+		denseBlock.set(r, c, v);
 	}
 	
 	public double getValueSparseUnsafe(int r, int c) 
@@ -648,7 +1051,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			allocateDenseBlock(false);
 			
 			//set value and maintain nnz
-			denseBlock[r*clen+c] = v;
+			denseBlock.set(r, c, v);
 			nonZeros++;
 		}
 		else //SPARSE
@@ -719,12 +1122,14 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		}
 		else //SPARSE <- DENSE
 		{
+			DenseBlock b = that.denseBlock;
 			for( int i=0; i<that.rlen; i++ )
 			{
 				int aix = rowoffset+i;
-				for( int j=0, bix=i*that.clen; j<that.clen; j++ )
+				double[] bvals = b.values(i);
+				for( int j=0, bix=b.pos(i); j<that.clen; j++ )
 				{
-					double val = that.denseBlock[bix+j];
+					double val = bvals[bix+j];
 					if( val != 0 ) {
 						//create sparserow only if required
 						sparseBlock.allocate(aix, estimatedNNzsPerRow,clen);
@@ -970,6 +1375,15 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	{
 		//determine target representation
 		boolean sparseDst = evalSparseFormatInMemory(); 
+		
+		//keep boolean dense blocks unless the sparse representation is smaller
+		if( sparseDst && isBoolean() )
+			sparseDst = !evalBooleanFormatInMemory(rlen, clen, nonZeros);
+		
+		//keep symmetric dense blocks unless the sparse representation is smaller
+		if( sparseDst && isSymmetric() )
+			sparseDst = estimateSizeSparseInMemory(rlen, clen, OptimizerUtils.getSparsity(rlen, clen, 
+				nonZeros)) < estimateSizeSymmetricInMemory(rlen);
 				
 		//check for empty blocks (e.g., sparse-sparse)
 		if( isEmptyBlock(false) )
@@ -1008,6 +1422,25 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		return lsparse && (sizeSparse<sizeDense);
 	}
 	
+	/**
+	 * Evaluates if a matrix block of 0/1 values with the given characteristics should be 
+	 * in boolean dense format (bitset) in memory, instead of in sparse format.
+	 * 
+	 * @param nrows number of rows
+	 * @param ncols number of columns
+	 * @param nnz number of non-zeros
+	 * @return true if matrix block should be in boolean format in memory
+	 */
+	public static boolean evalBooleanFormatInMemory( final long nrows, final long ncols, final long nnz )
+	{
+		//boolean blocks are restricted to a single bitset 
+		if( nrows * ncols > DenseBlockFactory.MAX_ALLOC )
+			return false;
+		double sp = OptimizerUtils.getSparsity(nrows, ncols, nnz);
+		return estimateSizeBooleanInMemory(nrows, ncols) 
+			< estimateSizeSparseInMemory(nrows, ncols, sp);
+	}
+	
 	/**
 	 * Evaluates if a matrix block with the given characteristics should be in sparse format 
 	 * on disk (or in any other serialized representation).
@@ -1024,8 +1457,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		boolean lsparse = (lsparsity < SPARSITY_TURN_POINT);
 		
 		double sizeUltraSparse = estimateSizeUltraSparseOnDisk( nrows, ncols, nnz );
-		double sizeSparse = estimateSizeSparseOnDisk(nrows, ncols, nnz);
-		double sizeDense = estimateSizeDenseOnDisk(nrows, ncols);
+		double sizeSparse = estimateSizeSparseOnDisk(nrows, ncols, nnz, false);
+		double sizeDense = estimateSizeDenseOnDisk(nrows, ncols, false);
 		
 		return lsparse && (sizeSparse<sizeDense || sizeUltraSparse<sizeDense);		
 	}
@@ -1049,13 +1482,54 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		
 		//copy dense to sparse with (1) row pre-allocation to avoid repeated 
 		//allocation on append, and (2) nnz re-computation 
-		double[] a = denseBlock;
+		DenseBlock da = denseBlock;
 		SparseBlock c = sparseBlock;
 		final int m = rlen;
 		final int n = clen;
 		
+		//copy boolean dense block w/o widening
+		if( da.isBoolean() ) {
+			DenseBlockBool bda = (DenseBlockBool) da;
+			long[] a = bda.valuesBool();
+			for( int i=0, aix=0; i<m; i++, aix+=n ) {
+				int lnnz = DenseBlockBool.countBits(a, aix, aix+n);
+				if( lnnz <= 0 ) continue;
+				c.allocate(i, lnnz);
+				for( int j=0, ix=aix; j<n; j++, ix++ )
+					if( (a[ix>>>6] & (1L<<ix)) != 0 )
+						c.append(i, j, 1);
+			}
+			nonZeros = bda.countNonZeros();
+			denseBlock = null;
+			return;
+		}
+		
+		//copy symmetric dense block w/o widening
+		if( da.isSymmetric() ) {
+			DenseBlockSym sda = (DenseBlockSym) da;
+			double[] a = new double[n];
+			long nnz = 0;
+			for( int i=0; i<m; i++ ) {
+				sda.getRow(i, a, 0);
+				int lnnz = 0;
+				for( int j=0; j<n; j++ )
+					lnnz += (a[j]!=0) ? 1 : 0;
+				if( lnnz <= 0 ) continue;
+				c.allocate(i, lnnz);
+				for( int j=0; j<n; j++ )
+					if( a[j] != 0 )
+						c.append(i, j, a[j]);
+				nnz += lnnz;
+			}
+			nonZeros = nnz;
+			denseBlock = null;
+			return;
+		}
+		
 		long nnz = 0;
-		for( int i=0, aix=0; i<m; i++, aix+=n ) {
+		for( int i=0; i<m; i++ ) {
+			double[] a = da.values(i);
+			int aix = da.pos(i);
 			//recompute nnz per row (not via recomputeNonZeros as sparse allocated)
 			int lnnz = 0;
 			for(int j=0; j<n; j++)
@@ -1087,21 +1561,23 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		if(sparseBlock==null)
 			return;
 		
-		int limit=rlen*clen;
+		long limit = (long)rlen*clen;
 		if ( limit < 0 ) {
 			throw new DMLRuntimeException("Unexpected error in sparseToDense().. limit < 0: " + rlen + ", " + clen + ", " + limit);
 		}
 		
 		//allocate dense target block, but keep nnz (no need to maintain)
 		allocateDenseBlock(false);
-		Arrays.fill(denseBlock, 0, limit, 0);
+		denseBlock.reset();
 		
 		//copy sparse to dense
 		SparseBlock a = sparseBlock;
-		double[] c = denseBlock;
+		DenseBlock dc = denseBlock;
 		
-		for( int i=0, cix=0; i<rlen; i++, cix+=clen)
+		for( int i=0; i<rlen; i++ )
 			if( !a.isEmpty(i) ) {
+				double[] c = dc.values(i);
+				int cix = dc.pos(i);
 				int apos = a.pos(i);
 				int alen = a.size(i);
 				int[] aix = a.indexes(i);
@@ -1127,14 +1603,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			//note: rlen might be <= sparseBlock.numRows()
 			nonZeros = sparseBlock.size(0, rlen);
 		}
-		else if( !sparse && denseBlock!=null ) //DENSE (max int)
+		else if( !sparse && denseBlock!=null ) //DENSE (max long)
 		{
-			double[] a = denseBlock;
-			final int limit=rlen*clen;
-			int nnz = 0;
-			for(int i=0; i<limit; i++)
-				nnz += (a[i]!=0) ? 1 : 0;
-			nonZeros = nnz;
+			nonZeros = denseBlock.countNonZeros();
 		}
 	}
 	
@@ -1168,21 +1639,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			}
 			return nnz;
 		}
-		else if( !sparse && denseBlock!=null ) //DENSE (max int)
+		else if( !sparse && denseBlock!=null ) //DENSE (max long)
 		{
-			double[] a = denseBlock;
-			final int n = clen;
-			int nnz = 0;
-			if( cl==0 && cu==n-1 ) { //specific case: all cols
-				for( int i=rl*n; i<(ru+1)*n; i++ )
-					nnz += (a[i]!=0) ? 1 : 0;
-			}
-			else {
-				for( int i=rl, ix=rl*n; i<=ru; i++, ix+=n )
-					for( int j=cl; j<=cu; j++ )
-						nnz += (a[ix+j]!=0) ? 1 : 0;
-			}
-			return nnz;
+			return denseBlock.countNonZeros(rl, ru+1, cl, cu+1);
 		}
 		
 		return 0; //empty block
@@ -1261,6 +1720,12 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			resetSparse();
 			return;
 		}
+		
+		//copy diagonal sparse blocks w/o expansion
+		if( that.isDiagonal() && rlen == that.rlen ) {
+			sparseBlock = new SparseBlockDiag((SparseBlockDiag)that.sparseBlock);
+			return;
+		}
 	
 		allocateSparseRowsBlock(false);
 		for(int i=0; i<Math.min(that.sparseBlock.numRows(), rlen); i++)
@@ -1277,13 +1742,30 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	private void copyDenseToDense(MatrixBlock that)
 	{
 		nonZeros = that.nonZeros;
-		int limit = rlen*clen;
 		
 		//plain reset to 0 for empty input
 		if( that.isEmptyBlock(false) )
 		{
 			if(denseBlock!=null)
-				Arrays.fill(denseBlock, 0, limit, 0);
+				denseBlock.reset(rlen, clen);
+			return;
+		}
+		
+		//copy boolean dense blocks w/o widening
+		if( that.isBoolean() ) {
+			denseBlock = new DenseBlockBool((DenseBlockBool)that.denseBlock);
+			return;
+		}
+		
+		//copy symmetric dense blocks w/o widening
+		if( that.isSymmetric() ) {
+			denseBlock = new DenseBlockSym((DenseBlockSym)that.denseBlock);
+			return;
+		}
+		
+		//copy constant dense blocks w/o widening
+		if( that.isConstant() ) {
+			denseBlock = new DenseBlockConst((DenseBlockConst)that.denseBlock);
 			return;
 		}
 		
@@ -1291,7 +1773,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		allocateDenseBlock(false);
 		
 		//actual copy 
-		System.arraycopy(that.denseBlock, 0, denseBlock, 0, limit);
+		denseBlock.set(that.denseBlock);
 	}
 	
 	private void copySparseToDense(MatrixBlock that)
@@ -1300,15 +1782,14 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		if( that.isEmptyBlock(false) )
 		{
 			if(denseBlock!=null)
-				Arrays.fill(denseBlock, 0);
+				denseBlock.reset(rlen, clen);
 			return;
 		}
 		
 		//allocate and init dense block (w/o overwriting nnz)
 		allocateDenseBlock(false);
 		
-		int start=0;
-		for(int r=0; r<Math.min(that.sparseBlock.numRows(), rlen); r++, start+=clen)
+		for(int r=0; r<Math.min(that.sparseBlock.numRows(), rlen); r++)
 		{
 			if(that.sparseBlock.isEmpty(r)) 
 				continue;
@@ -1316,9 +1797,11 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			int len = that.sparseBlock.size(r);
 			int[] aix = that.sparseBlock.indexes(r);
 			double[] avals = that.sparseBlock.values(r);
+			double[] c = denseBlock.values(r);
+			int start = denseBlock.pos(r);
 			
 			for(int i=pos; i<pos+len; i++) {
-				denseBlock[start+aix[i]]=avals[i];
+				c[start+aix[i]]=avals[i];
 			}
 		}
 	}
@@ -1334,13 +1817,15 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		
 		allocateSparseRowsBlock(false);
 	
-		for(int i=0, ix=0; i<rlen; i++)
+		DenseBlock a = that.denseBlock;
+		for(int i=0; i<rlen; i++)
 		{			
 			sparseBlock.reset(i, estimatedNNzsPerRow, clen);
+			double[] avals = a.values(i);
 			
-			for(int j=0; j<clen; j++)
+			for(int j=0, ix=a.pos(i); j<clen; j++)
 			{
-				double val = that.denseBlock[ix++];
+				double val = avals[ix++];
 				if( val != 0 ) {
 					//create sparse row only if required
 					sparseBlock.allocate(i, estimatedNNzsPerRow, clen);
@@ -1371,6 +1856,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	public void copy(int rl, int ru, int cl, int cu, MatrixBlock src, boolean awareDestNZ ) 
 		throws DMLRuntimeException 
 	{	
+		copyOnWriteView();
+		
 		if(sparse && src.sparse)
 			copySparseToSparse(rl, ru, cl, cu, src, awareDestNZ);
 		else if(sparse && !src.sparse)
@@ -1465,7 +1952,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 
 		//copy values
 		SparseBlock a = src.sparseBlock;
-		for( int i=0, ix=rl*clen; i<src.rlen; i++, ix+=clen )
+		for( int i=0; i<src.rlen; i++ )
 		{	
 			if( !a.isEmpty(i) )
 			{
@@ -1473,9 +1960,11 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				int alen = a.size(i);
 				int[] aix = a.indexes(i);
 				double[] avals = a.values(i);
+				double[] c = denseBlock.values(rl+i);
+				int ix = denseBlock.pos(rl+i);
 				
 				for( int j=apos; j<apos+alen; j++ )
-					denseBlock[ix+cl+aix[j]] = avals[j];
+					c[ix+cl+aix[j]] = avals[j];
 				
 				if(awareDestNZ)
 					nonZeros += alen;
@@ -1498,22 +1987,25 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		
 		//copy values
 		SparseBlock a = sparseBlock;
-		for( int i=0, ix=0; i<src.rlen; i++, ix+=src.clen )
+		DenseBlock b = src.denseBlock;
+		for( int i=0; i<src.rlen; i++ )
 		{
 			int rix = rl + i;
+			double[] bvals = b.values(i);
+			int ix = b.pos(i);
 			if( a instanceof SparseBlockMCSR 
 				&& a.isEmpty(rix) ) //special case MCSR append
 			{
 				//count nnz per row (fits likely in L1 cache)
 				int lnnz = 0;
 				for( int j=0; j<src.clen; j++ )
-					lnnz += (src.denseBlock[ix+j]!=0) ? 1 : 0;
+					lnnz += (bvals[ix+j]!=0) ? 1 : 0;
 					
 				//allocate row once and copy values
 				if( lnnz > 0 ) {	
 					a.allocate(rix, lnnz);
 					for( int j=0; j<src.clen; j++ ) {
-						double val = src.denseBlock[ix+j];
+						double val = bvals[ix+j];
 						if( val != 0 )
 							a.append(rix, cl+j, val); 
 					}
@@ -1525,18 +2017,18 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			{
 				int lnnz = a.size(rix);
 				if( cl==cu ) {
-					double val = src.denseBlock[ix];
+					double val = bvals[ix];
 					a.set(rix, cl, val);
 				}
 				else {
-					a.setIndexRange(rix, cl, cu+1, src.denseBlock, ix, src.clen);
+					a.setIndexRange(rix, cl, cu+1, bvals, ix, src.clen);
 				}
 				nonZeros += (a.size(rix) - lnnz);
 			}	
 			else //general case (w/o awareness NNZ)
 			{
 				for( int j=0; j<src.clen; j++ ) {
-					double val = src.denseBlock[ix+j];
+					double val = bvals[ix+j];
 					if( val != 0 ) 
 						a.set(rix, cl+j, val);
 				}
@@ -1564,12 +2056,14 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			nonZeros = nonZeros - recomputeNonZeros(rl, ru, cl, cu) + src.nonZeros;
 		
 		//copy values
+		DenseBlock a = src.denseBlock;
+		DenseBlock c = denseBlock;
 		int rowLen = cu-cl+1;				
-		if(clen == src.clen) //optimization for equal width
-			System.arraycopy(src.denseBlock, 0, denseBlock, rl*clen+cl, src.rlen*src.clen);
+		if(clen == src.clen && a.isContiguous() && c.isContiguous(rl, ru)) //optimization for equal width
+			System.arraycopy(a.valuesAt(0), 0, c.values(rl), c.pos(rl)+cl, src.rlen*src.clen);
 		else
-			for( int i=0, ix1=0, ix2=rl*clen+cl; i<src.rlen; i++, ix1+=src.clen, ix2+=clen ) {
-				System.arraycopy(src.denseBlock, ix1, denseBlock, ix2, rowLen);
+			for( int i=0; i<src.rlen; i++ ) {
+				System.arraycopy(a.values(i), a.pos(i), c.values(rl+i), c.pos(rl+i)+cl, rowLen);
 			}
 	}
 	
@@ -1600,12 +2094,15 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	
 	private void copyEmptyToDense(int rl, int ru, int cl, int cu)
 	{
+		DenseBlock c = denseBlock;
 		int rowLen = cu-cl+1;				
-		if(clen == rowLen) //optimization for equal width
-			Arrays.fill(denseBlock, rl*clen+cl, ru*clen+cu+1, 0);
+		if(clen == rowLen && c.isContiguous(rl, ru)) //optimization for equal width
+			Arrays.fill(c.values(rl), c.pos(rl)+cl, c.pos(ru)+cu+1, 0);
 		else
-			for( int i=rl, ix2=rl*clen+cl; i<=ru; i++, ix2+=clen )
-				Arrays.fill(denseBlock, ix2, ix2+rowLen, 0);
+			for( int i=rl; i<=ru; i++ ) {
+				int ix2 = c.pos(i)+cl;
+				Arrays.fill(c.values(i), ix2, ix2+rowLen, 0);
+			}
 	}
 
 	public void merge(CacheBlock that, boolean appendOnly) 
@@ -1635,6 +2132,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		if( that == null || that.isEmptyBlock(false) )
 			return;
 		
+		copyOnWriteView();
+		
 		//check dimensions (before potentially copy to prevent implicit dimension change) 
 		//this also does a best effort check for disjoint input blocks via the number of non-zeros
 		if( rlen != that.rlen || clen != that.clen )
@@ -1663,14 +2162,15 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	{
 		if( that.sparse ) //DENSE <- SPARSE
 		{
-			double[] a = denseBlock;
+			DenseBlock da = denseBlock;
 			SparseBlock b = that.sparseBlock;
 			int m = rlen;
-			int n = clen;
 			
-			for( int i=0, aix=0; i<m; i++, aix+=n )
+			for( int i=0; i<m; i++ )
 				if( !b.isEmpty(i) )
 				{
+					double[] a = da.values(i);
+					int aix = da.pos(i);
 					int bpos = b.pos(i);
 					int blen = b.size(i);
 					int[] bix = b.indexes(i);
@@ -1682,12 +2182,19 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		}
 		else //DENSE <- DENSE
 		{
-			double[] a = denseBlock;
-			double[] b = that.denseBlock;
-			int len = rlen * clen;
+			DenseBlock da = denseBlock;
+			DenseBlock db = that.denseBlock;
+			int m = rlen;
+			int n = clen;
 			
-			for( int i=0; i<len; i++ )
-				a[i] = ( b[i] != 0 ) ? b[i] : a[i];
+			for( int i=0; i<m; i++ ) {
+				double[] a = da.values(i);
+				double[] b = db.values(i);
+				int aix = da.pos(i);
+				int bix = db.pos(i);
+				for( int j=0; j<n; j++ )
+					a[aix+j] = ( b[bix+j] != 0 ) ? b[bix+j] : a[aix+j];
+			}
 		}
 	}
 
@@ -1730,12 +2237,14 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		else //SPARSE <- DENSE
 		{
 			SparseBlock a = sparseBlock;
-			double[] b = that.denseBlock;
+			DenseBlock db = that.denseBlock;
 			int m = rlen;
 			int n = clen;
 			
-			for( int i=0, bix=0; i<m; i++, bix+=n )
+			for( int i=0; i<m; i++ )
 			{
+				double[] b = db.values(i);
+				int bix = db.pos(i);
 				boolean appended = false;
 				for( int j=0; j<n; j++ ) {
 					if( b[bix+j] != 0 ) {
@@ -1785,15 +2294,44 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 					sparse = evalSparseFormatInMemory(rlen, clen, nonZeros);
 					cleanupBlock(sparse, !sparse); 
 					if( sparse )
-						readSparseBlock(in);
+						readSparseBlock(in, false);
 					else
-						readSparseToDense(in);
+						readSparseToDense(in, false);
+					break;
+				case SPARSE_BLOCK_FP32:
+					nonZeros = readNnzInfo( in, false );
+					sparse = evalSparseFormatInMemory(rlen, clen, nonZeros);
+					cleanupBlock(sparse, !sparse); 
+					if( sparse )
+						readSparseBlock(in, true);
+					else
+						readSparseToDense(in, true);
 					break;
 				case DENSE_BLOCK:
 					sparse = false;
 					cleanupBlock(false, true); //reuse dense
 					readDenseBlock(in); //always dense in-mem if dense on disk
 					break;
+				case DENSE_BLOCK_FP32:
+					sparse = false;
+					cleanupBlock(false, true);
+					readDenseBlockFP32(in);
+					break;
+				case DENSE_BLOCK_BOOL:
+					sparse = false;
+					cleanupBlock(false, true);
+					readDenseBlockBool(in);
+					break;
+				case DENSE_BLOCK_SYM:
+					sparse = false;
+					cleanupBlock(false, true);
+					readDenseBlockSym(in);
+					break;
+				case DENSE_BLOCK_CONST:
+					sparse = false;
+					cleanupBlock(false, true);
+					readDenseBlockConst(in);
+					break;
 				case EMPTY_BLOCK:
 					sparse = true;
 					cleanupBlock(true, true); //clean all
@@ -1812,44 +2350,116 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	{
 		allocateDenseBlock(true); //allocate block, clear nnz
 		
-		int limit = rlen*clen;
+		//note: row blocks are linearized in row-major order and thus 
+		//read in sequence, which keeps the serialized format unchanged
+		DenseBlock a = denseBlock;
 		
 		if( in instanceof MatrixBlockDataInput ) //fast deserialize
 		{
 			MatrixBlockDataInput mbin = (MatrixBlockDataInput)in;
-			nonZeros = mbin.readDoubleArray(limit, denseBlock);
+			for( int bix=0; bix<a.numBlocks(); bix++ )
+				nonZeros += mbin.readDoubleArray(a.size(bix), a.valuesAt(bix));
 		}
 		else if( in instanceof DataInputBuffer && MRJobConfiguration.USE_BINARYBLOCK_SERIALIZATION ) 
 		{
 			//workaround because sequencefile.reader.next(key, value) does not yet support serialization framework
 			DataInputBuffer din = (DataInputBuffer)in;
 			MatrixBlockDataInput mbin = new FastBufferedDataInputStream(din);
-			nonZeros = mbin.readDoubleArray(limit, denseBlock);			
+			for( int bix=0; bix<a.numBlocks(); bix++ )
+				nonZeros += mbin.readDoubleArray(a.size(bix), a.valuesAt(bix));
 			((FastBufferedDataInputStream)mbin).close();
 		}
 		else //default deserialize
 		{
-			for( int i=0; i<limit; i++ )
-			{
-				denseBlock[i]=in.readDouble();
-				if(denseBlock[i]!=0)
-					nonZeros++;
+			for( int bix=0; bix<a.numBlocks(); bix++ ) {
+				double[] avals = a.valuesAt(bix);
+				int len = a.size(bix);
+				for( int i=0; i<len; i++ ) {
+					avals[i]=in.readDouble();
+					if(avals[i]!=0)
+						nonZeros++;
+				}
 			}
 		}
 	}
 
-	private void readSparseBlock(DataInput in) 
+	private void readDenseBlockBool(DataInput in) 
+		throws IOException 
+	{
+		//always keep boolean blocks as bitset in memory
+		DenseBlockBool a = allocateBooleanBlock();
+		long[] abits = a.valuesBool();
+		for( int i=0; i<abits.length; i++ )
+			abits[i] = in.readLong();
+		nonZeros = a.countNonZeros();
+	}
+	
+	private void readDenseBlockSym(DataInput in) 
+		throws IOException 
+	{
+		//always keep symmetric blocks as packed triangle in memory
+		DenseBlockSym a = allocateSymmetricBlock();
+		double[] avals = a.valuesSym();
+		int len = DenseBlockSym.numCells(rlen);
+		if( in instanceof MatrixBlockDataInput ) //fast deserialize
+			((MatrixBlockDataInput)in).readDoubleArray(len, avals);
+		else //default deserialize
+			for( int i=0; i<len; i++ )
+				avals[i] = in.readDouble();
+		nonZeros = a.countNonZeros();
+	}
+	
+	private void readDenseBlockConst(DataInput in) 
+		throws IOException 
+	{
+		//always keep constant blocks as single value in memory
+		allocateConstantBlock(in.readDouble());
+	}
+	
+	private void readDenseBlockFP32(DataInput in) 
+		throws IOException 
+	{
+		//keep single precision in memory if configured, otherwise widen
+		//(large blocks of more than 2^31 cells are always widened)
+		if( ConfigurationManager.isSinglePrecision() 
+			&& DenseBlockFactory.getDenseBlockType(rlen, clen) == DenseBlock.Type.DRB ) {
+			DenseBlockFP32 a = new DenseBlockFP32(rlen, clen);
+			float[] avals = a.valuesFP32();
+			int len = rlen * clen;
+			long lnnz = 0;
+			for( int i=0; i<len; i++ ) {
+				avals[i] = in.readFloat();
+				lnnz += (avals[i]!=0) ? 1 : 0;
+			}
+			denseBlock = a;
+			nonZeros = lnnz;
+		}
+		else {
+			allocateDenseBlock(true);
+			DenseBlock a = denseBlock;
+			for( int bix=0; bix<a.numBlocks(); bix++ ) {
+				double[] avals = a.valuesAt(bix);
+				int len = a.size(bix);
+				for( int i=0; i<len; i++ ) {
+					avals[i] = in.readFloat();
+					nonZeros += (avals[i]!=0) ? 1 : 0;
+				}
+			}
+		}
+	}
+	
+	private void readSparseBlock(DataInput in, boolean fp32) 
 		throws IOException 
 	{			
 		allocateSparseRowsBlock(false); 
 		resetSparse(); //reset all sparse rows
 		
-		if( in instanceof MatrixBlockDataInput ) //fast deserialize
+		if( in instanceof MatrixBlockDataInput && !fp32 ) //fast deserialize
 		{
 			MatrixBlockDataInput mbin = (MatrixBlockDataInput)in;
 			nonZeros = mbin.readSparseRows(rlen, sparseBlock);
 		}
-		else if( in instanceof DataInputBuffer  && MRJobConfiguration.USE_BINARYBLOCK_SERIALIZATION ) 
+		else if( in instanceof DataInputBuffer  && MRJobConfiguration.USE_BINARYBLOCK_SERIALIZATION && !fp32 ) 
 		{
 			//workaround because sequencefile.reader.next(key, value) does not yet support serialization framework
 			DataInputBuffer din = (DataInputBuffer)in;
@@ -1864,17 +2474,17 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				if( rnnz > 0 ) {
 					sparseBlock.reset(r, rnnz, clen);
 					for(int j=0; j<rnnz; j++) //col index/value pairs
-						sparseBlock.append(r, in.readInt(), in.readDouble());		
+						sparseBlock.append(r, in.readInt(), readValue(in, fp32));		
 				}
 			}
 		}
 	}
 
-	private void readSparseToDense(DataInput in) 
+	private void readSparseToDense(DataInput in, boolean fp32) 
 		throws IOException, DMLRuntimeException 
 	{
 		allocateDenseBlock(false); //allocate block
-		Arrays.fill(denseBlock, 0);
+		denseBlock.reset();
 		
 		for(int r=0; r<rlen; r++)
 		{
@@ -1882,11 +2492,17 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			for( int j=0; j<nr; j++ )
 			{
 				int c = in.readInt();
-				double val = in.readDouble(); 
-				denseBlock[r*clen+c] = val;
+				double val = readValue(in, fp32); 
+				denseBlock.set(r, c, val);
 			}
 		}
 	}
+	
+	private static double readValue(DataInput in, boolean fp32) 
+		throws IOException
+	{
+		return fp32 ? in.readFloat() : in.readDouble();
+	}
 
 	private void readUltraSparseBlock(DataInput in) 
 		throws IOException 
@@ -1921,7 +2537,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		throws IOException, DMLRuntimeException 
 	{	
 		allocateDenseBlock(false); //allocate block
-		Arrays.fill(denseBlock, 0);
+		denseBlock.reset();
 		
 		if( clen > 1 ) //ULTRA-SPARSE BLOCK
 		{ 
@@ -1930,7 +2546,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				int r = in.readInt();
 				int c = in.readInt();
 				double val = in.readDouble();			
-				denseBlock[r*clen+c] = val;
+				denseBlock.set(r, c, val);
 			}
 		}
 		else //ULTRA-SPARSE COL
@@ -1939,7 +2555,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			for(long i=0; i<nonZeros; i++) {
 				int r = in.readInt();
 				double val = in.readDouble();			
-				denseBlock[r] = val;
+				denseBlock.set(r, 0, val);
 			}
 		}
 	}
@@ -1951,6 +2567,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		//determine format
 		boolean sparseSrc = sparse;
 		boolean sparseDst = evalSparseFormatOnDisk();
+		boolean fp32 = isSinglePrecisionOnDisk();
 		
 		//write first part of header
 		out.writeInt(rlen);
@@ -1964,19 +2581,27 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			else if( nonZeros<rlen && sparseDst ) 
 				writeSparseToUltraSparse(out); 
 			else if( sparseDst ) 
-				writeSparseBlock(out);
+				writeSparseBlock(out, fp32);
 			else
-				writeSparseToDense(out);
+				writeSparseToDense(out, fp32);
 		}
 		else
 		{
 			//write dense to *
 			if( denseBlock==null || nonZeros==0 ) 
 				writeEmptyBlock(out);
+			else if( isBoolean() )
+				writeDenseBlockBool(out);
+			else if( isSymmetric() && !sparseDst )
+				writeDenseBlockSym(out);
+			else if( isConstant() )
+				writeDenseBlockConst(out);
 			else if( nonZeros<rlen && sparseDst )
 				writeDenseToUltraSparse(out);
 			else if( sparseDst )
-				writeDenseToSparse(out);
+				writeDenseToSparse(out, fp32);
+			else if( fp32 )
+				writeDenseBlockFP32(out);
 			else
 				writeDenseBlock(out);
 		}
@@ -1994,21 +2619,111 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	{
 		out.writeByte( BlockType.DENSE_BLOCK.ordinal() );
 		
-		int limit=rlen*clen;
-		if( out instanceof MatrixBlockDataOutput ) //fast serialize
-			((MatrixBlockDataOutput)out).writeDoubleArray(limit, denseBlock);
+		DenseBlock a = denseBlock;
+		if( a.isView() ) //row-wise w/o copy-on-write of views
+			for( int i=0; i<rlen; i++ ) {
+				double[] avals = a.values(i);
+				int aix = a.pos(i);
+				for( int j=0; j<clen; j++ )
+					out.writeDouble(avals[aix+j]);
+			}
+		else if( out instanceof MatrixBlockDataOutput ) //fast serialize
+			for( int bix=0; bix<a.numBlocks(); bix++ )
+				((MatrixBlockDataOutput)out).writeDoubleArray(a.size(bix), a.valuesAt(bix));
 		else //general case (if fast serialize not supported)
-			for(int i=0; i<limit; i++)
-				out.writeDouble(denseBlock[i]);
+			for( int bix=0; bix<a.numBlocks(); bix++ ) {
+				double[] avals = a.valuesAt(bix);
+				int len = a.size(bix);
+				for(int i=0; i<len; i++)
+					out.writeDouble(avals[i]);
+			}
 	}
 
-	private void writeSparseBlock(DataOutput out) 
+	private void writeDenseBlockBool(DataOutput out) 
 		throws IOException 
 	{
-		out.writeByte( BlockType.SPARSE_BLOCK.ordinal() );
-		writeNnzInfo( out, false );
+		out.writeByte( BlockType.DENSE_BLOCK_BOOL.ordinal() );
 		
+		//write bitset w/o widening (1 bit per cell)
+		long[] abits = getDenseBlockValuesBool();
+		int len = DenseBlockBool.numWords(rlen, clen);
+		for( int i=0; i<len; i++ )
+			out.writeLong(abits[i]);
+	}
+	
+	private void writeDenseBlockSym(DataOutput out) 
+		throws IOException 
+	{
+		out.writeByte( BlockType.DENSE_BLOCK_SYM.ordinal() );
+		
+		//write packed upper triangle w/o widening
+		double[] avals = getDenseBlockValuesSym();
+		int len = DenseBlockSym.numCells(rlen);
 		if( out instanceof MatrixBlockDataOutput ) //fast serialize
+			((MatrixBlockDataOutput)out).writeDoubleArray(len, avals);
+		else //general case (if fast serialize not supported)
+			for( int i=0; i<len; i++ )
+				out.writeDouble(avals[i]);
+	}
+	
+	private void writeDenseBlockConst(DataOutput out) 
+		throws IOException 
+	{
+		out.writeByte( BlockType.DENSE_BLOCK_CONST.ordinal() );
+		
+		//write constant value w/o widening
+		out.writeDouble(getConstantValue());
+	}
+	
+	private void writeDenseBlockFP32(DataOutput out) 
+		throws IOException 
+	{
+		out.writeByte( BlockType.DENSE_BLOCK_FP32.ordinal() );
+		
+		//write single-precision values w/o widening
+		float[] fvals = getDenseBlockValuesFP32();
+		if( fvals != null ) {
+			int len = rlen * clen;
+			for( int i=0; i<len; i++ )
+				out.writeFloat(fvals[i]);
+		}
+		//narrow double-precision values 
+		else {
+			DenseBlock a = denseBlock;
+			for( int bix=0; bix<a.numBlocks(); bix++ ) {
+				double[] avals = a.valuesAt(bix);
+				int len = a.size(bix);
+				for( int i=0; i<len; i++ )
+					out.writeFloat((float)avals[i]);
+			}
+		}
+	}
+	
+	private void writeSparseBlock(DataOutput out, boolean fp32) 
+		throws IOException 
+	{
+		out.writeByte( (fp32 ? BlockType.SPARSE_BLOCK_FP32 : BlockType.SPARSE_BLOCK).ordinal() );
+		writeNnzInfo( out, false );
+		
+		char[] cix = (sparseBlock instanceof SparseBlockCSR16) ? 
+			((SparseBlockCSR16)sparseBlock).indexesCompact() : null;
+		
+		if( cix != null ) //compact column indexes (w/o widening)
+		{
+			int[] ptr = ((SparseBlockCSR16)sparseBlock).rowPointers();
+			double[] values = ((SparseBlockCSR16)sparseBlock).values();
+			int r=0;
+			for(;r<Math.min(rlen, sparseBlock.numRows()); r++) {
+				out.writeInt(ptr[r+1]-ptr[r]);
+				for(int j=ptr[r]; j<ptr[r+1]; j++) {
+					out.writeInt(cix[j]);
+					writeValue(out, values[j], fp32);
+				}
+			}
+			for(;r<rlen; r++)
+				out.writeInt(0);
+		}
+		else if( out instanceof MatrixBlockDataOutput && !fp32 ) //fast serialize
 			((MatrixBlockDataOutput)out).writeSparseRows(rlen, sparseBlock);
 		else //general case (if fast serialize not supported)
 		{
@@ -2027,7 +2742,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 					out.writeInt(nr);
 					for(int j=pos; j<pos+nr; j++) {
 						out.writeInt(cols[j]);
-						out.writeDouble(values[j]);
+						writeValue(out, values[j], fp32);
 					}					
 				}	
 			}
@@ -2081,16 +2796,16 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		}
 	}
 
-	private void writeSparseToDense(DataOutput out) 
+	private void writeSparseToDense(DataOutput out, boolean fp32) 
 		throws IOException 
 	{
 		//write block type 'dense'
-		out.writeByte( BlockType.DENSE_BLOCK.ordinal() );
+		out.writeByte( (fp32 ? BlockType.DENSE_BLOCK_FP32 : BlockType.DENSE_BLOCK).ordinal() );
 		
 		//write data (from sparse to dense)
 		if( sparseBlock==null ) //empty block
 			for( int i=0; i<rlen*clen; i++ )
-				out.writeDouble(0);
+				writeValue(out, 0, fp32);
 		else //existing sparse block
 		{
 			SparseBlock a = sparseBlock;
@@ -2105,19 +2820,28 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 					//foreach non-zero value, fill with 0s if required
 					for( int j=0, j2=0; j2<alen; j++, j2++ ) {
 						for( ; j<aix[apos+j2]; j++ )
-							out.writeDouble( 0 );
-						out.writeDouble( avals[apos+j2] );
+							writeValue(out, 0, fp32);
+						writeValue(out, avals[apos+j2], fp32);
 					}					
 					//remaining 0 values in row
 					for( int j=aix[apos+alen-1]+1; j<clen; j++)
-						out.writeDouble( 0 );
+						writeValue(out, 0, fp32);
 				}
 				else //empty row
 					for( int j=0; j<clen; j++ )
-						out.writeDouble( 0 );	
+						writeValue(out, 0, fp32);	
 			}
 		}
 	}
+	
+	private static void writeValue(DataOutput out, double v, boolean fp32) 
+		throws IOException 
+	{
+		if( fp32 )
+			out.writeFloat((float)v);
+		else
+			out.writeDouble(v);
+	}
 
 	private void writeDenseToUltraSparse(DataOutput out) throws IOException 
 	{
@@ -2129,24 +2853,28 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		if( clen > 1 ) //ULTRA-SPARSE BLOCK
 		{
 			//block: write ijv-triples
-			for(int r=0, ix=0; r<rlen; r++)
-				for(int c=0; c<clen; c++, ix++)
-					if( denseBlock[ix]!=0 ) {
+			for(int r=0; r<rlen; r++) {
+				double[] a = denseBlock.values(r);
+				for(int c=0, ix=denseBlock.pos(r); c<clen; c++, ix++)
+					if( a[ix]!=0 ) {
 						out.writeInt(r);
 						out.writeInt(c);
-						out.writeDouble(denseBlock[ix]);
+						out.writeDouble(a[ix]);
 						wnnz++;
 					}
+			}
 		}
 		else //ULTRA-SPARSE COL
 		{
 			//col: write iv-pairs
-			for(int r=0; r<rlen; r++)
-				if( denseBlock[r]!=0 ) {
+			for(int r=0; r<rlen; r++) {
+				double val = denseBlock.get(r, 0);
+				if( val!=0 ) {
 					out.writeInt(r);
-					out.writeDouble(denseBlock[r]);
+					out.writeDouble(val);
 					wnnz++;
 				}
+			}
 		}
 		
 		//validity check (nnz must exactly match written nnz)
@@ -2155,27 +2883,26 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		}
 	}
 
-	private void writeDenseToSparse(DataOutput out) 
+	private void writeDenseToSparse(DataOutput out, boolean fp32) 
 		throws IOException 
 	{	
-		out.writeByte( BlockType.SPARSE_BLOCK.ordinal() ); //block type
+		out.writeByte( (fp32 ? BlockType.SPARSE_BLOCK_FP32 : BlockType.SPARSE_BLOCK).ordinal() ); //block type
 		writeNnzInfo( out, false );
 		
-		int start=0;
 		for(int r=0; r<rlen; r++)
 		{
+			double[] a = denseBlock.values(r);
+			int start = denseBlock.pos(r);
+			
 			//count nonzeros
-			int nr=0;
-			for(int i=start; i<start+clen; i++)
-				if(denseBlock[i]!=0.0)
-					nr++;
+			int nr = denseBlock.countNonZeros(r);
 			out.writeInt(nr);
 			for(int c=0; c<clen; c++)
 			{
-				if(denseBlock[start]!=0.0)
+				if(a[start]!=0.0)
 				{
 					out.writeInt(c);
-					out.writeDouble(denseBlock[start]);
+					writeValue(out, a[start], fp32);
 				}
 				start++;
 			}
@@ -2276,6 +3003,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		//determine format
 		boolean sparseSrc = sparse;
 		boolean sparseDst = evalSparseFormatOnDisk();
+		boolean fp32 = isSinglePrecisionOnDisk();
 		
 		long lrlen = (long) rlen;
 		long lclen = (long) clen;
@@ -2297,21 +3025,27 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			else if( lnonZeros<lrlen && sparseDst )
 				return estimateSizeUltraSparseOnDisk(lrlen, lclen, lnonZeros); //ultra sparse block
 			else if( sparseDst )
-				return estimateSizeSparseOnDisk(lrlen, lclen, lnonZeros); //sparse block
+				return estimateSizeSparseOnDisk(lrlen, lclen, lnonZeros, fp32); //sparse block
 			else 
-				return estimateSizeDenseOnDisk(lrlen, lclen); //dense block
+				return estimateSizeDenseOnDisk(lrlen, lclen, fp32); //dense block
 		}
 		else
 		{
 			//write dense to *
 			if(denseBlock==null || lnonZeros==0)
 				return HEADER_SIZE; //empty block
+			else if( isBoolean() )
+				return estimateSizeBooleanOnDisk(lrlen, lclen); //boolean block
+			else if( isSymmetric() && !sparseDst )
+				return HEADER_SIZE + 8L * DenseBlockSym.numCells((int)lrlen); //symmetric block
+			else if( isConstant() )
+				return HEADER_SIZE + 8; //constant block
 			else if( lnonZeros<lrlen && sparseDst )
 				return estimateSizeUltraSparseOnDisk(lrlen, lclen, lnonZeros); //ultra sparse block
 			else if( sparseDst )
-				return estimateSizeSparseOnDisk(lrlen, lclen, lnonZeros); //sparse block
+				return estimateSizeSparseOnDisk(lrlen, lclen, lnonZeros, fp32); //sparse block
 			else
-				return estimateSizeDenseOnDisk(lrlen, lclen); //dense block
+				return estimateSizeDenseOnDisk(lrlen, lclen, fp32); //dense block
 		}
 	}
 	
@@ -2344,10 +3078,34 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		// core dense matrix block (double array)
 		size += 8d * nrows * ncols;
 		
+		// additional array headers for large dense blocks of multiple row blocks
+		size += 32 * Math.max(Math.ceil((double)nrows * ncols / DenseBlockFactory.MAX_ALLOC) - 1, 0);
+		
 		// robustness for long overflows
 		return (long) Math.min(size, Long.MAX_VALUE);
 	}
+	
+	public static long estimateSizeDenseInMemory(long nrows, long ncols, boolean singlePrecision)
+	{
+		// core dense matrix block (float array), incl basic variables and references sizes
+		return !singlePrecision ? estimateSizeDenseInMemory(nrows, ncols) :
+			(long) Math.min(44 + 4d * nrows * ncols, Long.MAX_VALUE);
+	}
 
+	public static long estimateSizeBooleanInMemory(long nrows, long ncols)
+	{
+		// core dense matrix block (bitset of 64 cells per long), 
+		// incl basic variables and references sizes and array header
+		return (long) Math.min(44 + 32 + 8 * Math.ceil(nrows * ncols / 64d), Long.MAX_VALUE);
+	}
+	
+	public static long estimateSizeSymmetricInMemory(long n)
+	{
+		// core dense matrix block (packed upper triangle), 
+		// incl basic variables and references sizes and array header
+		return 44 + DenseBlockFactory.estimateSizeSymmetricInMemory(n);
+	}
+	
 	public static long estimateSizeSparseInMemory(long nrows, long ncols, double sparsity)
 	{
 		// basic variables and references sizes
@@ -2370,37 +3128,54 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	{
 		//determine sparse/dense representation
 		boolean sparse = evalSparseFormatOnDisk(nrows, ncols, nnz);
+		boolean fp32 = ConfigurationManager.isSinglePrecision();
 		
 		//estimate memory consumption for sparse/dense 
 		if( sparse && nnz<nrows )
 			return estimateSizeUltraSparseOnDisk(nrows, ncols, nnz);
 		else if( sparse )
-			return estimateSizeSparseOnDisk(nrows, ncols, nnz);
+			return estimateSizeSparseOnDisk(nrows, ncols, nnz, fp32);
 		else
-			return estimateSizeDenseOnDisk(nrows, ncols);
+			return estimateSizeDenseOnDisk(nrows, ncols, fp32);
 	}
 
-	private static long estimateSizeDenseOnDisk( long nrows, long ncols)
+	private static long estimateSizeDenseOnDisk( long nrows, long ncols, boolean fp32 )
 	{
 		//basic header (int rlen, int clen, byte type) 
 		long size = HEADER_SIZE;
-		//data (all cells double)
-		size += nrows * ncols * 8;
+		//data (all cells double or float)
+		size += nrows * ncols * (fp32 ? 4 : 8);
 
 		return size;
 	}
 
-	private static long estimateSizeSparseOnDisk( long nrows, long ncols, long nnz )
+	private static long estimateSizeBooleanOnDisk( long nrows, long ncols )
+	{
+		//basic header (int rlen, int clen, byte type) 
+		long size = HEADER_SIZE;
+		//data (bitset of 64 cells per long)
+		size += ((nrows * ncols + 63) / 64) * 8;
+		
+		return size;
+	}
+	
+	private static long estimateSizeSparseOnDisk( long nrows, long ncols, long nnz, boolean fp32 )
 	{
 		//basic header: (int rlen, int clen, byte type) 
 		long size = HEADER_SIZE;
 		//extended header (long nnz)
 		size += (nrows*ncols > Integer.MAX_VALUE) ? 8 : 4;
-		//data: (int num per row, int-double pair per non-zero value)
-		size += nrows * 4 + nnz * 12;	
+		//data: (int num per row, int-double/int-float pair per non-zero value)
+		size += nrows * 4 + nnz * (fp32 ? 8 : 12);	
 
 		return size;
 	}
+	
+	private boolean isSinglePrecisionOnDisk() {
+		//single-precision dense blocks are always written as such,
+		//while double-precision blocks are narrowed if configured
+		return isSinglePrecision() || ConfigurationManager.isSinglePrecision();
+	}
 
 	private static long estimateSizeUltraSparseOnDisk( long nrows, long ncols, long nnz )
 	{
@@ -2509,10 +3284,27 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		//in-memory size given by header if not allocated
 		if( !isAllocated() ) 
 			return 44;
+		//in-memory size of dense row range views, which retain the parent array
+		//(sparse views report the retained parent via their exact size below)
+		if( !sparse && denseBlock.isView() )
+			return 44 + 32 + ((DenseBlockView)denseBlock).getRetainedSizeInMemory();
+		//exact in-memory size of compact sparse blocks (e.g., CSR, DCSR, CSR16)
+		//whose size differs from the default sparse block estimate
+		if( sparse && !(sparseBlock instanceof SparseBlockMCSR) )
+			return 44 + sparseBlock.getExactSizeInMemory();
+		//in-memory size of boolean dense blocks (bitset)
+		if( isBoolean() )
+			return estimateSizeBooleanInMemory(rlen, clen);
+		//in-memory size of symmetric dense blocks (packed triangle)
+		if( isSymmetric() )
+			return estimateSizeSymmetricInMemory(rlen);
+		//in-memory size of constant dense blocks (single value)
+		if( isConstant() )
+			return 44 + 16 + 8 + 8 + 4 + 4;
 		//in-memory size of dense/sparse representation
 		double sp = OptimizerUtils.getSparsity(rlen, clen, nonZeros);
 		return sparse ? estimateSizeSparseInMemory(rlen, clen, sp) : 
-			estimateSizeDenseInMemory(rlen, clen);
+			estimateSizeDenseInMemory(rlen, clen, isSinglePrecision());
 	}
 	
 	@Override
@@ -2522,9 +3314,17 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	
 	@Override
 	public boolean isShallowSerialize() {
-		//shallow serialize if dense, dense in serialized form or already in CSR
+		//shallow serialize if dense, dense in serialized form or already in CSR/CSR16/DCSR
+		//(but not if double-precision dense blocks are to be narrowed to single precision)
+		if( ConfigurationManager.isSinglePrecision() && !isSinglePrecision() )
+			return false;
+		//deep serialize row range views to release the referenced parent block
+		if( isView() )
+			return false;
 		return !sparse || !evalSparseFormatOnDisk()
-			|| (sparse && sparseBlock instanceof SparseBlockCSR);
+			|| (sparse && (sparseBlock instanceof SparseBlockCSR 
+				|| sparseBlock instanceof SparseBlockCSR16
+				|| sparseBlock instanceof SparseBlockDCSR));
 	}
 	
 	@Override
@@ -2547,6 +3347,11 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		if (!op.sparseSafe)
 			sp = false; // if the operation is not sparse safe, then result will be in dense format
 		
+		//relational operations produce boolean dense outputs if smaller than sparse
+		if( sp && op.fn instanceof ValueComparisonFunction 
+			&& evalBooleanFormatInMemory(rlen, clen, nonZeros) )
+			sp = false;
+		
 		//allocate the output matrix block
 		if( ret==null )
 			ret = new MatrixBlock(rlen, clen, sp, this.nonZeros);
@@ -2659,8 +3464,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		{
 			//allocate dense output block
 			ret.allocateDenseBlock();						
-			double[] a = denseBlock;
-			double[] c = ret.denseBlock;
+			double[] a = getDenseBlockValues();
+			double[] c = ret.getDenseBlockValues();
 			int len = m * n;
 			
 			//unary op, incl nnz maintenance
@@ -2700,6 +3505,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	public void unaryOperationsInPlace(UnaryOperator op) 
 		throws DMLRuntimeException
 	{
+		copyOnWriteView();
+		
 		if(op.sparseSafe)
 			sparseUnaryOperationsInPlace(op);
 		else
@@ -2750,13 +3557,17 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		}
 		else
 		{
-			int limit=rlen*clen;
 			nonZeros=0;
-			for(int i=0; i<limit; i++)
+			for(int bix=0; bix<denseBlock.numBlocks(); bix++)
 			{
-				denseBlock[i]=op.fn.execute(denseBlock[i]);
-				if(denseBlock[i]!=0)
-					nonZeros++;
+				double[] a = denseBlock.valuesAt(bix);
+				int limit = denseBlock.size(bix);
+				for(int i=0; i<limit; i++)
+				{
+					a[i]=op.fn.execute(a[i]);
+					if(a[i]!=0)
+						nonZeros++;
+				}
 			}
 		}
 	}
@@ -2781,13 +3592,16 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				allocateDenseBlock();
 			
 			//compute values in-place and update nnz
-			final int limit = rlen*clen;
-			int lnnz = 0;
-			for( int i=0; i<limit; i++ ) {
-				denseBlock[i] = op.fn.execute(denseBlock[i]);	
-				if( denseBlock[i]!=0 )
-					lnnz++;
-			}		
+			long lnnz = 0;
+			for( int bix=0; bix<denseBlock.numBlocks(); bix++ ) {
+				double[] a = denseBlock.valuesAt(bix);
+				final int limit = denseBlock.size(bix);
+				for( int i=0; i<limit; i++ ) {
+					a[i] = op.fn.execute(a[i]);	
+					if( a[i]!=0 )
+						lnnz++;
+				}
+			}
 			nonZeros = lnnz;
 			
 			//IBM JVM bug (JDK6) causes crash for certain inputs (w/ infinities) 
@@ -2819,13 +3633,22 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		
 		//estimate output sparsity
 		SparsityEstimate resultSparse = estimateSparsityOnBinary(this, that, op);
+		
+		//relational operations produce boolean dense outputs if smaller than sparse
+		if( resultSparse.sparse && !outer && op.fn instanceof ValueComparisonFunction
+			&& evalBooleanFormatInMemory(rows, cols, resultSparse.estimatedNonZeros) )
+			resultSparse.sparse = false;
+		
 		if( ret == null )
 			ret = new MatrixBlock(rows, cols, resultSparse.sparse, resultSparse.estimatedNonZeros);
 		else
 			ret.reset(rows, cols, resultSparse.sparse, resultSparse.estimatedNonZeros);
 		
 		//core binary cell operation
-		LibMatrixBincell.bincellOp( this, that, ret, op );
+		if( op.getNumThreads() > 1 )
+			LibMatrixBincell.bincellOp( this, that, ret, op, op.getNumThreads() );
+		else
+			LibMatrixBincell.bincellOp( this, that, ret, op );
 		
 		return ret;
 	}
@@ -2845,9 +3668,13 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			denseToSparse();
 		else if(!resultSparse.sparse && this.sparse)
 			sparseToDense();
+		copyOnWriteView();
 				
 		//core binary cell operation
-		LibMatrixBincell.bincellOpInPlace(this, that, op);
+		if( op.getNumThreads() > 1 )
+			LibMatrixBincell.bincellOpInPlace(this, that, op, op.getNumThreads());
+		else
+			LibMatrixBincell.bincellOpInPlace(this, that, op);
 	}
 
 
@@ -3360,7 +4187,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				{
 					if( result.isInSparseFormat() ) //SPARSE<-DENSE
 					{
-						double[] a = denseBlock;
+						double[] a = getDenseBlockValues();
 						for( int i=0, aix=0; i<rlen; i++ )
 							for( int j=0; j<clen; j++, aix++ )
 							{
@@ -3372,9 +4199,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 					else //DENSE<-DENSE
 					{
 						result.allocateDenseBlock();
-						Arrays.fill(result.denseBlock, 0);
-						double[] a = denseBlock;
-						double[] c = result.denseBlock;
+						Arrays.fill(result.getDenseBlockValues(), 0);
+						double[] a = getDenseBlockValues();
+						double[] c = result.getDenseBlockValues();
 						int n = result.clen;
 						
 						for( int i=0, aix=0; i<rlen; i++ )
@@ -3392,6 +4219,57 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		
 		return result;
 	}
+	
+	/**
+	 * Method to perform reorg operations, which - if requested - returns a lazy
+	 * transpose view instead of a materialized transpose for dense and sparse 
+	 * matrices. The view records transposed access to this block, which kernels
+	 * with transposed access directly consume (e.g., t(X) %*% y), while any other
+	 * access materializes the transpose. Hence, the view is only valid as long as 
+	 * this block is not modified in place.
+	 * 
+	 * @param op reorg operator
+	 * @param ret output matrix block
+	 * @param view if true, return a transpose view if possible
+	 * @return matrix block
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public final MatrixBlock reorgOperations(ReorgOperator op, MatrixBlock ret, boolean view)
+		throws DMLRuntimeException 
+	{
+		if( view && op.fn instanceof SwapIndex && isTransposeViewable() )
+			return transposeView(ret, op.getNumThreads());
+		return (MatrixBlock) reorgOperations(op, ret, 0, 0, 0);
+	}
+	
+	private boolean isTransposeViewable() {
+		//vectors are transposed w/o copy, symmetric, constant, and diagonal blocks 
+		//w/o expansion, and the transpose of transpose views requires a copy of the input
+		if( rlen <= 1 || clen <= 1 || isEmptyBlock(false) || isTransposeView() 
+			|| isConstant() || isDiagonal() )
+			return false;
+		if( sparse != evalSparseFormatInMemory(clen, rlen, nonZeros) )
+			return false;
+		return sparse ? sparseBlock != null :
+			(denseBlock != null && !isSymmetric());
+	}
+	
+	private MatrixBlock transposeView(MatrixBlock ret, int k) {
+		MatrixBlock result = (ret != null) ? ret : new MatrixBlock();
+		result.rlen = clen;
+		result.clen = rlen;
+		result.sparse = sparse;
+		result.nonZeros = nonZeros;
+		if( sparse ) {
+			result.denseBlock = null;
+			result.sparseBlock = new SparseBlockTransposeView(this, k);
+		}
+		else {
+			result.sparseBlock = null;
+			result.denseBlock = new DenseBlockTransposeView(this, k);
+		}
+		return result;
+	}
 
 	public MatrixBlock appendOperations( MatrixBlock that, MatrixBlock ret ) 	
 		throws DMLRuntimeException 
@@ -3619,6 +4497,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				result.sparseToDense();
 			else if( !result.sparse && sp )
 				result.denseToSparse();	
+			result.copyOnWriteView();
 			
 			//ensure right sparse block representation to prevent serialization
 			if( result.sparse && update != UpdateType.INPLACE_PINNED ) {
@@ -3646,7 +4525,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				if( src.sparse )
 					sblock.setIndexRange(rl, ru+1, cl, cu+1, src.getSparseBlock());
 				else //dense
-					sblock.setIndexRange(rl, ru+1, cl, cu+1, src.getDenseBlock(), 0, src.getNumRows()*src.getNumColumns());
+					sblock.setIndexRange(rl, ru+1, cl, cu+1, src.getDenseBlockValues(), 0, src.getNumRows()*src.getNumColumns());
 				result.nonZeros = sblock.size();
 			}
 			//copy submatrix into result
@@ -3692,6 +4571,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		{
 			//use current block as in-place result
 			ret = this;
+			ret.copyOnWriteView();
 			
 			//ensure right sparse block representation to prevent serialization
 			if( ret.sparse && update != UpdateType.INPLACE_PINNED ) {
@@ -3710,6 +4590,55 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				(int)ixrange.colStart, (int)ixrange.colEnd, ret);
 	}
 	
+	/**
+	 * Method to perform rangeReIndex operation, which - if requested - returns
+	 * a read-only view instead of a copy for row ranges over all columns of dense 
+	 * blocks or CSR sparse blocks. The view references the values of this block
+	 * (zero-copy), copies them on the first modification, and is only valid as 
+	 * long as this block is not modified in place. Note: This operation is 0-based.
+	 * 
+	 * @param ixrange index range
+	 * @param ret output matrix block
+	 * @param view if true, return a view if possible
+	 * @return matrix block
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	public final MatrixBlock sliceOperations(IndexRange ixrange, MatrixBlock ret, boolean view) 
+		throws DMLRuntimeException 
+	{
+		int rl = (int)ixrange.rowStart;
+		int ru = (int)ixrange.rowEnd;
+		if( view && isRowRangeViewable(rl, ru, (int)ixrange.colStart, (int)ixrange.colEnd) )
+			return sliceRowsView(rl, ru, ret);
+		return sliceOperations(ixrange, ret);
+	}
+	
+	private boolean isRowRangeViewable(int rl, int ru, int cl, int cu) {
+		if( rl < 0 || ru >= rlen || ru < rl || cl != 0 || cu != clen-1 )
+			return false;
+		return sparse ? (sparseBlock != null && SparseBlockView.isSupported(sparseBlock)) :
+			(denseBlock != null && DenseBlockView.isSupported(denseBlock) 
+				&& denseBlock.isContiguous(rl, ru));
+	}
+	
+	private MatrixBlock sliceRowsView(int rl, int ru, MatrixBlock ret) {
+		MatrixBlock result = (ret != null) ? ret : new MatrixBlock();
+		result.rlen = ru - rl + 1;
+		result.clen = clen;
+		result.sparse = sparse;
+		if( sparse ) {
+			result.denseBlock = null;
+			result.sparseBlock = new SparseBlockView(sparseBlock, rl, ru);
+			result.nonZeros = result.sparseBlock.size();
+		}
+		else {
+			result.sparseBlock = null;
+			result.denseBlock = new DenseBlockView(denseBlock, rl, ru);
+			result.nonZeros = result.denseBlock.countNonZeros();
+		}
+		return result;
+	}
+	
 	/**
 	 * Method to perform rangeReIndex operation for a given lower and upper bounds in row and column dimensions.
 	 * Extracted submatrix is returned as "result". Note: This operation is now 0-based.
@@ -3774,7 +4703,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				if( !sparseBlock.isEmpty(i) ) {
 					double val = sparseBlock.get(i, cl);
 					if( val != 0 ) {
-						dest.denseBlock[i-rl] = val;
+						dest.denseBlock.set(i-rl, 0, val);
 						dest.nonZeros++;
 					}
 				}
@@ -3810,32 +4739,27 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			return;
 		dest.allocateDenseBlock();
 
+		DenseBlock a = denseBlock;
+		DenseBlock c = dest.denseBlock;
+		
 		//indexing operation
 		if( cl==cu ) //COLUMN INDEXING
 		{
-			if( clen==1 ) //vector -> vector
+			if( clen==1 && a.isContiguous(rl, ru) && c.isContiguous() ) //vector -> vector
 			{
-				System.arraycopy(denseBlock, rl, dest.denseBlock, 0, ru-rl+1);
+				System.arraycopy(a.values(rl), a.pos(rl), c.valuesAt(0), 0, ru-rl+1);
 			}
 			else //matrix -> vector
 			{
-				//IBM JVM bug (JDK7) causes crash for certain cl/cu values (e.g., divide by zero for 4) 
-				//for( int i=rl*clen+cl, ix=0; i<=ru*clen+cu; i+=clen, ix++ )
-				//	dest.denseBlock[ix] = denseBlock[i];
-				int len = clen;
-				for( int i=rl*len+cl, ix=0; i<=ru*len+cu; i+=len, ix++ )
-					dest.denseBlock[ix] = denseBlock[i];
+				for( int i=rl; i<=ru; i++ )
+					c.set(i-rl, 0, a.values(i)[a.pos(i)+cl]);
 			}
 		}
 		else // GENERAL RANGE INDEXING
 		{
-			//IBM JVM bug (JDK7) causes crash for certain cl/cu values (e.g., divide by zero for 4) 
-			//for(int i = rl, ix1 = rl*clen+cl, ix2=0; i <= ru; i++, ix1+=clen, ix2+=dest.clen) 
-			//	System.arraycopy(denseBlock, ix1, dest.denseBlock, ix2, dest.clen);
-			int len1 = clen;
 			int len2 = dest.clen;
-			for(int i = rl, ix1 = rl*len1+cl, ix2=0; i <= ru; i++, ix1+=len1, ix2+=len2) 
-				System.arraycopy(denseBlock, ix1, dest.denseBlock, ix2, len2);
+			for(int i = rl; i <= ru; i++) 
+				System.arraycopy(a.values(i), a.pos(i)+cl, c.values(i-rl), c.pos(i-rl), len2);
 		}
 		
 		//compute nnz of output (not maintained due to native calls)
@@ -3903,15 +4827,16 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		{
 			if(denseBlock!=null)
 			{
+				double[] a = getDenseBlockValues();
 				int i=((int)range.rowStart)*clen;
 				int r=(int) range.rowStart;
 				for(; r<Math.min(rowCut, range.rowEnd+1); r++)
 				{
 					int c=(int) range.colStart;
 					for(; c<Math.min(colCut, range.colEnd+1); c++)
-						topleft.appendValue(r+normalBlockRowFactor-rowCut, c+normalBlockColFactor-colCut, denseBlock[i+c]);
+						topleft.appendValue(r+normalBlockRowFactor-rowCut, c+normalBlockColFactor-colCut, a[i+c]);
 					for(; c<=range.colEnd; c++)
-						topright.appendValue(r+normalBlockRowFactor-rowCut, c-colCut, denseBlock[i+c]);
+						topright.appendValue(r+normalBlockRowFactor-rowCut, c-colCut, a[i+c]);
 					i+=clen;
 				}
 				
@@ -3919,9 +4844,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				{
 					int c=(int) range.colStart;
 					for(; c<Math.min(colCut, range.colEnd+1); c++)
-						bottomleft.appendValue(r-rowCut, c+normalBlockColFactor-colCut, denseBlock[i+c]);
+						bottomleft.appendValue(r-rowCut, c+normalBlockColFactor-colCut, a[i+c]);
 					for(; c<=range.colEnd; c++)
-						bottomright.appendValue(r-rowCut, c-colCut, denseBlock[i+c]);
+						bottomright.appendValue(r-rowCut, c-colCut, a[i+c]);
 					i+=clen;
 				}
 			}
@@ -4069,13 +4994,14 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		{
 			if(denseBlock!=null)
 			{
+				double[] a = getDenseBlockValues();
 				if(complementary)//if selection
 				{
 					int offset=((int)range.rowStart)*clen;
 					for(int r=(int) range.rowStart; r<=range.rowEnd; r++)
 					{
 						for(int c=(int) range.colStart; c<=range.colEnd; c++)
-							((MatrixBlock) result).appendValue(r, c, denseBlock[offset+c]);
+							((MatrixBlock) result).appendValue(r, c, a[offset+c]);
 						offset+=clen;
 					}
 				}else
@@ -4084,20 +5010,20 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 					int r=0;
 					for(; r<(int)range.rowStart; r++)
 						for(int c=0; c<clen; c++, offset++)
-							((MatrixBlock) result).appendValue(r, c, denseBlock[offset]);
+							((MatrixBlock) result).appendValue(r, c, a[offset]);
 					
 					for(; r<=(int)range.rowEnd; r++)
 					{
 						for(int c=0; c<(int)range.colStart; c++)
-							((MatrixBlock) result).appendValue(r, c, denseBlock[offset+c]);
+							((MatrixBlock) result).appendValue(r, c, a[offset+c]);
 						for(int c=(int)range.colEnd+1; c<clen; c++)
-							((MatrixBlock) result).appendValue(r, c, denseBlock[offset+c]);
+							((MatrixBlock) result).appendValue(r, c, a[offset+c]);
 						offset+=clen;
 					}
 					
 					for(; r<rlen; r++)
 						for(int c=0; c<clen; c++, offset++)
-							((MatrixBlock) result).appendValue(r, c, denseBlock[offset]);
+							((MatrixBlock) result).appendValue(r, c, a[offset]);
 				}
 				
 			}
@@ -4209,6 +5135,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		{
 			if(denseBlock!=null)
 			{
+				double[] a = getDenseBlockValues();
 				int limit=rlen*clen;
 				for(int i=0; i<limit; i++)
 				{
@@ -4216,7 +5143,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 					c=i%clen;
 					tempCellIndex.set(r, c);
 					op.indexFn.execute(tempCellIndex, tempCellIndex);
-					incrementalAggregateUnaryHelp(op.aggOp, result, tempCellIndex.row, tempCellIndex.column, denseBlock[i], buffer);
+					incrementalAggregateUnaryHelp(op.aggOp, result, tempCellIndex.row, tempCellIndex.column, a[i], buffer);
 				}
 			}
 		}
@@ -4359,9 +5286,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			else //DENSE
 			{
 				if(denseBlock!=null)
-					for(int i=(rlen-step)*clen; i<rlen*clen; i++)
-						if(denseBlock[i]!=0)
-							this.nonZeros--;
+					this.nonZeros -= recomputeNonZeros(rlen-step, rlen-1, 0, clen-1);
 			}
 			
 			//just need to shrink the dimension, the deleted rows won't be accessed
@@ -4396,12 +5321,13 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			{
 				if(this.denseBlock!=null)
 				{
+					double[] a = getDenseBlockValues();
 					//the first row doesn't need to be copied
 					int targetIndex=clen-step;
 					int sourceOffset=clen;
 					this.nonZeros=0;
 					for(int i=0; i<targetIndex; i++)
-						if(denseBlock[i]!=0)
+						if(a[i]!=0)
 							this.nonZeros++;
 					
 					//start from the 2nd row
@@ -4409,7 +5335,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 					{
 						for(int c=0; c<clen-step; c++)
 						{
-							if((denseBlock[targetIndex]=denseBlock[sourceOffset+c])!=0)
+							if((a[targetIndex]=a[sourceOffset+c])!=0)
 								this.nonZeros++;
 							targetIndex++;
 						}
@@ -4461,8 +5387,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		else if(denseBlock!=null)  //DENSE
 		{
 			//always vector (see check above)
+			double[] a = getDenseBlockValues();
 			for(int i=0; i<rlen; i++)
-				op.fn.execute(cmobj, denseBlock[i]);
+				op.fn.execute(cmobj, a[i]);
 		}
 
 		return cmobj;
@@ -4490,17 +5417,19 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		else if(denseBlock!=null) //DENSE
 		{
 			//always vectors (see check above)
+			double[] a = getDenseBlockValues();
 			if( !weights.sparse )
 			{
 				//both dense vectors (default case)
-				if(weights.denseBlock!=null)
+				double[] w = weights.getDenseBlockValues();
+				if(w!=null)
 					for( int i=0; i<rlen; i++ )
-						op.fn.execute(cmobj, denseBlock[i], weights.denseBlock[i]);
+						op.fn.execute(cmobj, a[i], w[i]);
 			}
 			else
 			{
 				for(int i=0; i<rlen; i++) 
-					op.fn.execute(cmobj, denseBlock[i], weights.quickGetValue(i,0) );
+					op.fn.execute(cmobj, a[i], weights.quickGetValue(i,0) );
 			}
 		}
 		
@@ -4529,17 +5458,19 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		else if(denseBlock!=null) //DENSE
 		{
 			//always vectors (see check above)
+			double[] a = getDenseBlockValues();
 			if( !that.sparse )
 			{
 				//both dense vectors (default case)
-				if(that.denseBlock!=null)
+				double[] b = that.getDenseBlockValues();
+				if(b!=null)
 					for( int i=0; i<rlen; i++ )
-						op.fn.execute(covobj, denseBlock[i], that.denseBlock[i]);
+						op.fn.execute(covobj, a[i], b[i]);
 			}
 			else
 			{
 				for(int i=0; i<rlen; i++)
-					op.fn.execute(covobj, denseBlock[i], that.quickGetValue(i,0));
+					op.fn.execute(covobj, a[i], that.quickGetValue(i,0));
 			}
 		}
 		
@@ -4573,17 +5504,20 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		else if(denseBlock!=null) //DENSE
 		{
 			//always vectors (see check above)
+			double[] a = getDenseBlockValues();
 			if( !that.sparse && !weights.sparse )
 			{
 				//all dense vectors (default case)
-				if(that.denseBlock!=null)
+				double[] b = that.getDenseBlockValues();
+				double[] w = weights.getDenseBlockValues();
+				if(b!=null)
 					for( int i=0; i<rlen; i++ )
-						op.fn.execute(covobj, denseBlock[i], that.denseBlock[i], weights.denseBlock[i]);
+						op.fn.execute(covobj, a[i], b[i], w[i]);
 			}
 			else
 			{
 				for(int i=0; i<rlen; i++)
-					op.fn.execute(covobj, denseBlock[i], that.quickGetValue(i,0), weights.quickGetValue(i,0));
+					op.fn.execute(covobj, a[i], that.quickGetValue(i,0), weights.quickGetValue(i,0));
 			}
 		}
 		
@@ -4916,6 +5850,12 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 
 	public MatrixBlock  uaggouterchainOperations(MatrixBlock mbLeft, MatrixBlock mbRight, MatrixBlock mbOut, BinaryOperator bOp, AggregateUnaryOperator uaggOp) 
 		throws DMLRuntimeException
+	{
+		return uaggouterchainOperations(mbLeft, mbRight, mbOut, bOp, uaggOp, 1);
+	}
+	
+	public MatrixBlock  uaggouterchainOperations(MatrixBlock mbLeft, MatrixBlock mbRight, MatrixBlock mbOut, BinaryOperator bOp, AggregateUnaryOperator uaggOp, int k) 
+		throws DMLRuntimeException
 	{
 		double bv[] = DataConverter.convertToDoubleVector(mbRight);
 		int bvi[] = null;
@@ -4926,6 +5866,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			if((LibMatrixOuterAgg.isRowIndexMax(uaggOp)) || (LibMatrixOuterAgg.isRowIndexMin(uaggOp))) 
 			{
 				bvi = LibMatrixOuterAgg.prepareRowIndices(bv.length, bv, bOp, uaggOp);
+			} else if( k > 1 && bv.length >= LibMatrixReorg.PAR_SORT_THRESHOLD ) {
+				LibMatrixReorg.sortDenseParallel(bv, bv.length, false, k);
 			} else {
 				Arrays.sort(bv);
 			}
@@ -4937,7 +5879,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			else
 				mbOut.reset(iRows, iCols, false);
 
-			LibMatrixOuterAgg.aggregateMatrix(mbLeft, mbOut, bv, bvi, bOp, uaggOp);
+			LibMatrixOuterAgg.aggregateMatrix(mbLeft, mbOut, bv, bvi, bOp, uaggOp, k);
 		} else
 			throw new DMLRuntimeException("Unsupported operator for unary aggregate operations.");
 		
@@ -5026,9 +5968,15 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 
 	public MatrixBlock removeEmptyOperations( MatrixBlock ret, boolean rows, MatrixBlock select )
 		throws DMLRuntimeException 
+	{	
+		return removeEmptyOperations(ret, rows, select, 1);
+	}
+
+	public MatrixBlock removeEmptyOperations( MatrixBlock ret, boolean rows, MatrixBlock select, int k )
+		throws DMLRuntimeException 
 	{	
 		MatrixBlock result = checkType(ret);
-		return LibMatrixReorg.rmempty(this, result, rows, select);
+		return LibMatrixReorg.rmempty(this, result, rows, select, k);
 	}
 
 	public MatrixBlock removeEmptyOperations( MatrixBlock ret, boolean rows)
@@ -5039,9 +5987,15 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 
 	public MatrixBlock rexpandOperations( MatrixBlock ret, double max, boolean rows, boolean cast, boolean ignore )
 		throws DMLRuntimeException 
+	{	
+		return rexpandOperations(ret, max, rows, cast, ignore, 1);
+	}
+
+	public MatrixBlock rexpandOperations( MatrixBlock ret, double max, boolean rows, boolean cast, boolean ignore, int k )
+		throws DMLRuntimeException 
 	{	
 		MatrixBlock result = checkType(ret);
-		return LibMatrixReorg.rexpand(this, result, max, rows, cast, ignore);
+		return LibMatrixReorg.rexpand(this, result, max, rows, cast, ignore, k);
 	}
 	
 	
@@ -5088,7 +6042,7 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				ret.sparse = false;
 				ret.allocateDenseBlock();	
 				SparseBlock a = sparseBlock;
-				double[] c = ret.denseBlock;
+				double[] c = ret.getDenseBlockValues();
 				
 				//initialize with replacement (since all 0 values, see SPARSITY_TURN_POINT)
 				Arrays.fill(c, replacement); 
@@ -5114,8 +6068,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		{
 			int mn = ret.rlen * ret.clen;
 			ret.allocateDenseBlock();
-			double[] a = denseBlock;
-			double[] c = ret.denseBlock;
+			double[] a = getDenseBlockValues();
+			double[] c = ret.getDenseBlockValues();
 			
 			for( int i=0; i<mn; i++ ) 
 			{
@@ -5673,9 +6627,15 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	 */
 	public static MatrixBlock seqOperations(double from, double to, double incr) 
 		throws DMLRuntimeException 
+	{
+		return seqOperations(from, to, incr, 1);
+	}
+	
+	public static MatrixBlock seqOperations(double from, double to, double incr, int k) 
+		throws DMLRuntimeException 
 	{
 		MatrixBlock out = new MatrixBlock();
-		LibMatrixDatagen.generateSequence( out, from, to, incr );
+		LibMatrixDatagen.generateSequence( out, from, to, incr, k );
 		
 		return out;
 	}
@@ -5690,9 +6650,15 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 
 	public static MatrixBlock sampleOperations(long range, int size, boolean replace, long seed) 
 		throws DMLRuntimeException 
+	{
+		return sampleOperations(range, size, replace, seed, 1);
+	}
+	
+	public static MatrixBlock sampleOperations(long range, int size, boolean replace, long seed, int k) 
+		throws DMLRuntimeException 
 	{
 		MatrixBlock out = new MatrixBlock();
-		LibMatrixDatagen.generateSample( out, range, size, replace, seed );
+		LibMatrixDatagen.generateSample( out, range, size, replace, seed, k );
 		
 		return out;
 	}
@@ -5787,9 +6753,10 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		else
 		{
 			if(denseBlock!=null) {
-				for(int i=0, ix=0; i<rlen; i++, ix+=clen) {
-					for(int j=0; j<clen; j++) {
-						sb.append(this.denseBlock[ix+j]);
+				for(int i=0; i<rlen; i++) {
+					double[] a = denseBlock.values(i);
+					for(int j=0, ix=denseBlock.pos(i); j<clen; j++) {
+						sb.append(a[ix+j]);
 						sb.append("\t");
 					}
 					sb.append("\n");
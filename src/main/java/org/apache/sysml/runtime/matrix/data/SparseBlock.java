@@ -47,6 +47,8 @@ public abstract class SparseBlock implements Serializable
 		MCSR,
 		CSR,
 		COO,
+		DCSR,
+		CSR16,
 	}
 	
 	
@@ -108,6 +110,14 @@ public abstract class SparseBlock implements Serializable
 	 */
 	public abstract boolean isContiguous();
 	
+	/**
+	 * Get the exact in-memory size of the sparse block, including
+	 * the overallocated capacity of its internal arrays.
+	 * 
+	 * @return in-memory size in bytes
+	 */
+	public abstract long getExactSizeInMemory();
+	
 
 	/**
 	 * Indicates if all non-zero values are aligned with the given
@@ -238,6 +248,23 @@ public abstract class SparseBlock implements Serializable
 	 */
 	public abstract boolean isEmpty(int r); 
 	
+	/**
+	 * Get the index of the first non-empty row in the row range [r,ru), or ru
+	 * if all rows in this range are empty. This allows operations to iterate
+	 * over non-empty rows only, which avoids probing empty rows for formats 
+	 * that do not materialize them (e.g., DCSR). The default implementation 
+	 * is a linear scan over rows; override if necessary.
+	 * 
+	 * @param r  row index starting at 0, inclusive
+	 * @param ru upper row index starting at 0, exclusive
+	 * @return row index of the next non-empty row or ru if none exists
+	 */
+	public int nextNonEmptyRow(int r, int ru) {
+		while( r < ru && isEmpty(r) )
+			r++;
+		return r;
+	}
+	
 	
 	////////////////////////
 	//obtain indexes/values/positions
@@ -453,6 +480,19 @@ public abstract class SparseBlock implements Serializable
 		return new SparseBlockIterator(rl, Math.min(ru,numRows()));
 	}
 	
+	/**
+	 * Get an allocation-free cursor over the non-empty rows and non-zero 
+	 * cells of the subblock [rl, ru). In contrast to the iterator, the 
+	 * cursor provides primitive accessors and bulk access to row segments.
+	 * 
+	 * @param rl   inclusive lower row index starting at 0
+	 * @param ru   exclusive upper row index starting at 0
+	 * @return sparse block cursor
+	 */
+	public SparseBlockCursor getCursor(int rl, int ru) {
+		return new SparseBlockCursor(this, rl, ru);
+	}
+	
 	@Override 
 	public abstract String toString();
 	
@@ -186,6 +186,13 @@ public class SparseBlockCOO extends SparseBlock
 		return true;
 	}
 	
+	@Override
+	public long getExactSizeInMemory() {
+		//see estimateMemory, but w/ actual array capacities
+		return 16 + 8 + 32 + 4L*_rindexes.length 
+			+ 32 + 4L*_cindexes.length + 32 + 8L*_values.length;
+	}
+	
 	@Override 
 	public void reset() {
 		_size = 0;
@@ -232,6 +232,13 @@ public class SparseBlockCSR extends SparseBlock
 		return true;
 	}
 	
+	@Override
+	public long getExactSizeInMemory() {
+		//see estimateMemory, but w/ actual array capacities
+		return 16 + 4 + 32 + 4L*_ptr.length 
+			+ 32 + 4L*_indexes.length + 32 + 8L*_values.length;
+	}
+	
 	@Override 
 	public void reset() {
 		_size = 0;
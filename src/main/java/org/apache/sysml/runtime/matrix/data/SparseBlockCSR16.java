@@ -0,0 +1,556 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * SparseBlock implementation that realizes a 'compressed sparse row' representation
+ * with compact 16-bit column indexes, which is applicable for blocks with up to 65536
+ * columns (e.g., all blocks of the default 1000x1000 blocksize). Compared to CSR, 
+ * this reduces the size per non-zero from 12B to 10B and improves the cache density
+ * of kernels that directly operate over the compact column indexes.
+ * 
+ * Since the sparse block abstraction exposes int column indexes, the compact indexes 
+ * are widened on the first call of indexes(r) or any update. Subsequently, this block 
+ * delegates all operations to a SparseBlockCSR, which shares the row pointer and value 
+ * arrays. Hence, this format is intended for read-mostly blocks such as checkpoints, 
+ * and hot kernels (e.g., matrix multiplications, column aggregates, and sparse-safe 
+ * scalar and matrix-vector operations) directly use {@link #indexesCompact()}.
+ * 
+ */
+public class SparseBlockCSR16 extends SparseBlock 
+{
+	private static final long serialVersionUID = 5264934520711519813L;
+	
+	//max number of columns that can be represented w/ 16-bit column indexes
+	public static final int MAX_COLUMNS = Character.MAX_VALUE + 1;
+	
+	private int[] _ptr = null;                //row pointer array (size: rlen+1)
+	private volatile char[] _indexes = null;  //compact column index array (size: >=nnz)
+	private double[] _values = null;          //value array (size: >=nnz)
+	private int _size = 0;                    //actual number of nnz
+	private volatile SparseBlockCSR _csr = null; //widened block (non-null after widening)
+	
+	public SparseBlockCSR16(int rlen) {
+		this(rlen, INIT_CAPACITY);
+	}
+	
+	public SparseBlockCSR16(int rlen, int capacity) {
+		_ptr = new int[rlen+1]; //ix0=0
+		_indexes = new char[capacity];
+		_values = new double[capacity];
+		_size = 0;
+	}
+	
+	private SparseBlockCSR16(int[] ptr, char[] indexes, double[] values, int nnz) {
+		_ptr = ptr;
+		_indexes = indexes;
+		_values = values;
+		_size = nnz;
+	}
+	
+	/**
+	 * Copy constructor sparse block abstraction. 
+	 * 
+	 * @param sblock sparse block to copy
+	 */
+	public SparseBlockCSR16(SparseBlock sblock)
+	{
+		long size = sblock.size();
+		if( size > Integer.MAX_VALUE )
+			throw new RuntimeException("SparseBlockCSR16 supports nnz<=Integer.MAX_VALUE but got "+size);
+		
+		int rlen = sblock.numRows();
+		_ptr = new int[rlen+1];
+		_indexes = new char[(int)size];
+		_values = new double[(int)size];
+		_size = (int)size;
+		
+		for( int i=0, pos=0; i<rlen; i++ ) {
+			if( !sblock.isEmpty(i) ) {
+				int apos = sblock.pos(i);
+				int alen = sblock.size(i);
+				int[] aix = sblock.indexes(i);
+				double[] avals = sblock.values(i);
+				for( int j=apos; j<apos+alen; j++ ) {
+					if( aix[j] >= MAX_COLUMNS )
+						throw new RuntimeException("SparseBlockCSR16 supports column indexes < "
+							+ MAX_COLUMNS + " but got "+aix[j]);
+					_indexes[pos+j-apos] = (char) aix[j];
+				}
+				System.arraycopy(avals, apos, _values, pos, alen);
+				pos += alen;
+			}
+			_ptr[i+1]=pos;
+		}
+	}
+	
+	/**
+	 * Get the estimated in-memory size of the sparse block in CSR16 
+	 * with the given dimensions w/o accounting for overallocation. 
+	 * 
+	 * @param nrows number of rows
+	 * @param ncols number of columns
+	 * @param sparsity sparsity ratio
+	 * @return memory estimate
+	 */
+	public static long estimateMemory(long nrows, long ncols, double sparsity) {
+		double lnnz = Math.max(INIT_CAPACITY, Math.ceil(sparsity*nrows*ncols));
+		
+		//32B overhead per array, int arr in nrows, char/double arr in nnz 
+		double size = 16 + 4 + 8;    //object + int field + reference
+		size += 32 + (nrows+1) * 4d; //ptr array (row pointers)
+		size += 32 + lnnz * 2d;      //indexes array (column indexes)
+		size += 32 + lnnz * 8d;      //values array (non-zero values)
+		
+		//robustness for long overflows
+		return (long) Math.min(size, Long.MAX_VALUE);
+	}
+	
+	/**
+	 * Creates a shallow copy that shares the compact arrays but widens
+	 * independently, which allows handing out this block to read-only
+	 * consumers without changing its size.
+	 * 
+	 * @return shallow copy, or this block if already widened
+	 */
+	public SparseBlockCSR16 copyShallow() {
+		char[] aix = _indexes;
+		return (_csr == null && aix != null) ? 
+			new SparseBlockCSR16(_ptr, aix, _values, _size) : this;
+	}
+	
+	/**
+	 * Indicates if this block still uses compact 16-bit column indexes,
+	 * i.e., has not been widened to int column indexes yet.
+	 * 
+	 * @return true if compact
+	 */
+	public boolean isCompact() {
+		return _csr == null;
+	}
+	
+	///////////////////
+	//SparseBlock implementation
+
+	@Override
+	public void allocate(int r) {
+		//do nothing everything preallocated
+	}
+	
+	@Override
+	public void allocate(int r, int nnz) {
+		//do nothing everything preallocated
+	}
+	
+	@Override
+	public void allocate(int r, int ennz, int maxnnz) {
+		//do nothing everything preallocated
+	}
+
+	@Override
+	public int numRows() {
+		return _ptr.length-1;
+	}
+
+	@Override
+	public boolean isThreadSafe() {
+		return false;
+	}
+	
+	@Override
+	public boolean isContiguous() {
+		return true;
+	}
+	
+	@Override
+	public long getExactSizeInMemory() {
+		SparseBlockCSR csr = _csr;
+		char[] aix = _indexes;
+		if( csr != null || aix == null )
+			return 16 + 4 + 8 + widen().getExactSizeInMemory();
+		//see estimateMemory, but w/ actual array capacities
+		return 16 + 4 + 8 + 32 + 4L*_ptr.length 
+			+ 32 + 2L*aix.length + 32 + 8L*_values.length;
+	}
+	
+	@Override 
+	public void reset() {
+		widen().reset();
+	}
+
+	@Override 
+	public void reset(int ennz, int maxnnz) {
+		widen().reset(ennz, maxnnz);
+	}
+	
+	@Override 
+	public void reset(int r, int ennz, int maxnnz) {
+		widen().reset(r, ennz, maxnnz);
+	}
+	
+	@Override
+	public long size() {
+		SparseBlockCSR csr = _csr;
+		return (csr != null) ? csr.size() : _size;
+	}
+
+	@Override
+	public int size(int r) {
+		//row pointers are shared with the widened block
+		return _ptr[r+1] - _ptr[r];
+	}
+	
+	@Override
+	public long size(int rl, int ru) {
+		return _ptr[ru] - _ptr[rl];
+	}
+
+	@Override
+	public long size(int rl, int ru, int cl, int cu) {
+		SparseBlockCSR csr = _csr;
+		char[] aix = _indexes;
+		if( csr != null || aix == null )
+			return widen().size(rl, ru, cl, cu);
+		
+		long nnz = 0;
+		for(int i=rl; i<ru; i++)
+			if( !isEmpty(i) ) {
+				int pos = _ptr[i];
+				int len = _ptr[i+1] - pos;
+				int start = posFIndexGTE(aix, pos, len, cl);
+				int end = posFIndexGTE(aix, pos, len, cu);
+				end = (end>=0) ? end : pos+len;
+				nnz += (start!=-1) ? (end-start) : 0;
+			}
+		return nnz;
+	}
+	
+	@Override
+	public boolean isEmpty(int r) {
+		return (_ptr[r+1] - _ptr[r] == 0);
+	}
+	
+	@Override
+	public int[] indexes(int r) {
+		return widen().indexes(r);
+	}
+
+	@Override
+	public double[] values(int r) {
+		SparseBlockCSR csr = _csr;
+		return (csr != null) ? csr.values(r) : _values;
+	}
+
+	@Override
+	public int pos(int r) {
+		return _ptr[r];
+	}
+
+	@Override
+	public boolean set(int r, int c, double v) {
+		return widen().set(r, c, v);
+	}
+
+	@Override
+	public void set(int r, SparseRow row, boolean deep) {
+		widen().set(r, row, deep);
+	}
+	
+	@Override
+	public void append(int r, int c, double v) {
+		widen().append(r, c, v);
+	}
+
+	@Override
+	public void setIndexRange(int r, int cl, int cu, double[] v, int vix, int vlen) {
+		widen().setIndexRange(r, cl, cu, v, vix, vlen);
+	}
+
+	@Override
+	public void deleteIndexRange(int r, int cl, int cu) {
+		widen().deleteIndexRange(r, cl, cu);
+	}
+
+	@Override
+	public void sort() {
+		widen().sort();
+	}
+
+	@Override
+	public void sort(int r) {
+		widen().sort(r);
+	}
+
+	@Override
+	public double get(int r, int c) {
+		SparseBlockCSR csr = _csr;
+		char[] aix = _indexes;
+		if( csr != null || aix == null )
+			return widen().get(r, c);
+		
+		//search for existing col index in [pos,pos+len)
+		int index = binarySearch(aix, _ptr[r], _ptr[r+1], c);
+		return (index >= 0) ? _values[index] : 0;
+	}
+	
+	@Override 
+	public SparseRow get(int r) {
+		SparseBlockCSR csr = _csr;
+		char[] aix = _indexes;
+		if( csr != null || aix == null )
+			return widen().get(r);
+		
+		int pos = pos(r);
+		int len = size(r);
+		SparseRow row = new SparseRow(len);
+		int[] rix = row.indexes();
+		for( int j=0; j<len; j++ )
+			rix[j] = aix[pos+j];
+		System.arraycopy(_values, pos, row.values(), 0, len);
+		row.setSize(len);
+		
+		return row;
+	}
+	
+	@Override
+	public int posFIndexLTE(int r, int c) {
+		SparseBlockCSR csr = _csr;
+		char[] aix = _indexes;
+		if( csr != null || aix == null )
+			return widen().posFIndexLTE(r, c);
+		
+		int pos = pos(r);
+		int len = size(r);
+		
+		//search for existing col index in [pos,pos+len)
+		int index = binarySearch(aix, pos, pos+len, c);
+		if( index >= 0  )
+			return (index < pos+len) ? index : -1;
+		
+		//search lt col index (see binary search)
+		index = Math.abs( index+1 );
+		return (index-1 >= pos) ? index-1 : -1;
+	}
+
+	@Override
+	public int posFIndexGTE(int r, int c) {
+		SparseBlockCSR csr = _csr;
+		char[] aix = _indexes;
+		if( csr != null || aix == null )
+			return widen().posFIndexGTE(r, c);
+		return posFIndexGTE(aix, pos(r), size(r), c);
+	}
+
+	@Override
+	public int posFIndexGT(int r, int c) {
+		SparseBlockCSR csr = _csr;
+		char[] aix = _indexes;
+		if( csr != null || aix == null )
+			return widen().posFIndexGT(r, c);
+		
+		int pos = pos(r);
+		int len = size(r);
+		
+		//search for existing col index
+		int index = binarySearch(aix, pos, pos+len, c);
+		if( index >= 0  )
+			return (index+1 < pos+len) ? index+1 : -1;
+		
+		//search gt col index (see binary search)
+		index = Math.abs( index+1 );
+		return (index < pos+len) ? index : -1;
+	}
+	
+	@Override
+	public Iterator<IJV> getIterator() {
+		return getIterator(0, numRows());
+	}
+	
+	@Override
+	public Iterator<IJV> getIterator(int ru) {
+		return getIterator(0, ru);
+	}
+
+	@Override
+	public Iterator<IJV> getIterator(int rl, int ru) {
+		SparseBlockCSR csr = _csr;
+		char[] aix = _indexes;
+		if( csr != null || aix == null )
+			return widen().getIterator(rl, ru);
+		return new SparseBlockCSR16Iterator(aix, rl, Math.min(ru, numRows()));
+	}
+	
+	@Override
+	public String toString() {
+		SparseBlockCSR csr = _csr;
+		char[] aix = _indexes;
+		if( csr != null || aix == null )
+			return widen().toString();
+		
+		StringBuilder sb = new StringBuilder();
+		sb.append("SparseBlockCSR16: rlen=");
+		sb.append(numRows());
+		sb.append(", nnz=");
+		sb.append(size());
+		sb.append("\n");
+		for( int i=0; i<numRows(); i++ ) {
+			sb.append("row +");
+			sb.append(i);
+			sb.append(": ");
+			//append row
+			int pos = pos(i);
+			int len = size(i);
+			for(int j=pos; j<pos+len; j++) {
+				sb.append((int)aix[j]);
+				sb.append(": ");
+				sb.append(_values[j]);
+				sb.append("\t");
+			}
+			sb.append("\n");
+		}		
+		
+		return sb.toString();
+	}
+	
+	/**
+	 * Get raw access to underlying array of row pointers,
+	 * which is shared with the widened block.
+	 * 
+	 * @return array of row pointers
+	 */
+	public int[] rowPointers() {
+		return _ptr;
+	}
+	
+	/** 
+	 * Get raw access to underlying array of compact column indexes.
+	 * Callers should obtain this array once and use the int column
+	 * indexes of the sparse block abstraction if null, i.e., if this
+	 * block has been widened.
+	 * 
+	 * @return array of compact column indexes, or null if widened
+	 */
+	public char[] indexesCompact() {
+		return (_csr == null) ? _indexes : null;
+	}
+	
+	/**
+	 * Get the compact column indexes of the given sparse block, which
+	 * allows kernels to obtain them once and fall back to the int column
+	 * indexes if null (i.e., if not in CSR16 or already widened).
+	 * 
+	 * @param sblock sparse block
+	 * @return array of compact column indexes, or null if not available
+	 */
+	public static char[] indexesCompact(SparseBlock sblock) {
+		return (sblock instanceof SparseBlockCSR16) ?
+			((SparseBlockCSR16)sblock).indexesCompact() : null;
+	}
+	
+	/**
+	 * Get raw access to underlying array of values,
+	 * which is shared with the widened block.
+	 * 
+	 * @return array of values
+	 */
+	public double[] values() {
+		SparseBlockCSR csr = _csr;
+		return (csr != null) ? csr.values() : _values;
+	}
+	
+	///////////////////////////
+	// private helper methods
+	
+	private synchronized SparseBlockCSR widen() {
+		if( _csr == null ) {
+			//widen compact column indexes, but share row pointers and values
+			char[] aix = _indexes;
+			int[] ix = new int[Math.max(aix.length, 1)];
+			for( int i=0; i<_size; i++ )
+				ix[i] = aix[i];
+			_csr = new SparseBlockCSR(_ptr, ix, _values, _size);
+			_indexes = null;
+		}
+		return _csr;
+	}
+	
+	private static int binarySearch(char[] a, int from, int to, int c) {
+		//handle column indexes outside the range of 16-bit indexes
+		if( c < 0 )
+			return -(from+1);
+		else if( c > Character.MAX_VALUE )
+			return -(to+1);
+		return Arrays.binarySearch(a, from, to, (char)c);
+	}
+	
+	private static int posFIndexGTE(char[] aix, int pos, int len, int c) {
+		//search for existing col index
+		int index = binarySearch(aix, pos, pos+len, c);
+		if( index >= 0  )
+			return (index < pos+len) ? index : -1;
+		
+		//search gt col index (see binary search)
+		index = Math.abs( index+1 );
+		return (index < pos+len) ? index : -1;
+	}
+	
+	/**
+	 * Custom sparse block CSR16 iterator implemented against the
+	 * compact column indexes in order to avoid widening.
+	 * 
+	 */
+	private class SparseBlockCSR16Iterator implements Iterator<IJV>
+	{
+		private final char[] _aix; //compact column indexes
+		private int _curRow = 0;   //current row
+		private int _pos = 0;      //current nnz position
+		private int _len = 0;      //upper nnz position (exclusive)
+		private IJV retijv = new IJV(); //reuse output tuple
+
+		protected SparseBlockCSR16Iterator(char[] aix, int rl, int ru) {
+			_aix = aix;
+			_curRow = rl;
+			_pos = _ptr[rl];
+			_len = _ptr[ru];
+		}
+		
+		@Override
+		public boolean hasNext() {
+			return _pos<_len;
+		}
+
+		@Override
+		public IJV next( ) {
+			while( _ptr[_curRow+1] <= _pos )
+				_curRow++;
+			retijv.set(_curRow, _aix[_pos], _values[_pos++]);
+			return retijv;
+		}
+
+		@Override
+		public void remove() {
+			throw new RuntimeException("SparseBlockCSR16Iterator is unsupported!");			
+		}		
+	}
+}
@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.matrix.data;
+
+/**
+ * Cursor over the non-empty rows and non-zero cells of a sparse block in the 
+ * row range [rl, ru), implemented against the sparse block api. Row segments
+ * directly reference the index and value arrays of the sparse block.
+ * 
+ */
+public final class SparseBlockCursor extends BlockCursor
+{
+	private final SparseBlock _sblock;
+	
+	/**
+	 * Creates a cursor over the rows [rl, ru) of the given sparse block.
+	 * 
+	 * @param sblock sparse block, or null for an empty block
+	 * @param rl     inclusive lower row index starting at 0
+	 * @param ru     exclusive upper row index starting at 0
+	 */
+	public SparseBlockCursor(SparseBlock sblock, int rl, int ru) {
+		super(true, rl, (sblock != null) ? Math.min(ru, sblock.numRows()) : rl);
+		_sblock = sblock;
+	}
+	
+	@Override
+	public boolean nextRow() {
+		if( _sblock == null || _row >= _ru )
+			return false;
+		_row = _sblock.nextNonEmptyRow(_row+1, _ru);
+		if( _row >= _ru )
+			return false;
+		setSegment(_sblock.indexes(_row), _sblock.values(_row),
+			_sblock.pos(_row), _sblock.size(_row));
+		return true;
+	}
+}
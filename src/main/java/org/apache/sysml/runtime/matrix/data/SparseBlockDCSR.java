@@ -0,0 +1,736 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.matrix.data;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+import org.apache.sysml.runtime.util.SortUtils;
+
+/**
+ * SparseBlock implementation that realizes a 'doubly compressed sparse row'
+ * representation, where only non-empty rows are materialized. The sparse block
+ * is stored as four arrays: rindexes of length nnzr to store the sorted row 
+ * indexes of non-empty rows, ptr of length nnzr+1 to store offsets per non-empty 
+ * row, and indexes/values of length nnz to store column indexes and values of 
+ * non-zero entries. In contrast to CSR, the row pointer array does not depend 
+ * on the number of rows, which makes this format very memory efficient for 
+ * ultra-sparse matrices with many empty rows (e.g., permutation matrices, one-hot 
+ * encoded intermediates, or graph blocks). The price is a binary search over 
+ * the non-empty row indexes for random row access, which is why performance-
+ * sensitive operations should iterate over non-empty rows via the raw accessors
+ * numNonEmptyRows, rowIndexes, and rowPointers. Non-empty rows are guaranteed 
+ * to have at least one non-zero entry. Similar to CSR, the nnz is limited to 
+ * Integer.MAX_VALUE.
+ * 
+ */
+public class SparseBlockDCSR extends SparseBlock 
+{
+	private static final long serialVersionUID = -4170423919066049812L;
+
+	private int _rlen = -1;          //number of rows
+	private int[] _rindexes = null;  //row index array (size: >=nnzr)
+	private int[] _ptr = null;       //row pointer array (size: >=nnzr+1)
+	private int[] _indexes = null;   //column index array (size: >=nnz)
+	private double[] _values = null; //value array (size: >=nnz)
+	private int _nnzr = 0;           //actual number of non-empty rows
+	private int _size = 0;           //actual number of nnz
+	
+	public SparseBlockDCSR(int rlen) {
+		this(rlen, INIT_CAPACITY);
+	}
+	
+	public SparseBlockDCSR(int rlen, int capacity) {
+		_rlen = rlen;
+		_rindexes = new int[INIT_CAPACITY];
+		_ptr = new int[INIT_CAPACITY+1]; //ix0=0
+		_indexes = new int[capacity];
+		_values = new double[capacity];
+		_nnzr = 0;
+		_size = 0;
+	}
+	
+	/**
+	 * Copy constructor sparse block abstraction. 
+	 * 
+	 * @param sblock sparse block to copy
+	 */
+	public SparseBlockDCSR(SparseBlock sblock)
+	{
+		long size = sblock.size();
+		if( size > Integer.MAX_VALUE )
+			throw new RuntimeException("SparseBlockDCSR supports nnz<=Integer.MAX_VALUE but got "+size);
+		
+		//special case SparseBlockDCSR
+		if( sblock instanceof SparseBlockDCSR ) { 
+			SparseBlockDCSR odcsr = (SparseBlockDCSR)sblock;
+			_rlen = odcsr._rlen;
+			_rindexes = Arrays.copyOf(odcsr._rindexes, odcsr._nnzr);
+			_ptr = Arrays.copyOf(odcsr._ptr, odcsr._nnzr+1);
+			_indexes = Arrays.copyOf(odcsr._indexes, odcsr._size);
+			_values = Arrays.copyOf(odcsr._values, odcsr._size);
+			_nnzr = odcsr._nnzr;
+			_size = odcsr._size;
+		}
+		//general case SparseBlock
+		else {
+			_rlen = sblock.numRows();
+			
+			//determine number of non-empty rows
+			int nnzr = 0;
+			for( int i=0; i<_rlen; i++ )
+				nnzr += sblock.isEmpty(i) ? 0 : 1;
+			
+			_rindexes = new int[nnzr];
+			_ptr = new int[nnzr+1];
+			_indexes = new int[(int)size];
+			_values = new double[(int)size];
+			_nnzr = nnzr;
+			_size = (int)size;
+			
+			for( int i=0, k=0, pos=0; i<_rlen; i++ ) {
+				if( !sblock.isEmpty(i) ) {
+					int apos = sblock.pos(i);
+					int alen = sblock.size(i);
+					int[] aix = sblock.indexes(i);
+					double[] avals = sblock.values(i);
+					System.arraycopy(aix, apos, _indexes, pos, alen);
+					System.arraycopy(avals, apos, _values, pos, alen);
+					pos += alen;
+					_rindexes[k] = i;
+					_ptr[++k] = pos;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Get the estimated in-memory size of the sparse block in DCSR 
+	 * with the given dimensions w/o accounting for overallocation. 
+	 * Since the number of non-empty rows is unknown, we use the
+	 * upper bound of min(nrows, nnz) non-empty rows.
+	 * 
+	 * @param nrows number of rows
+	 * @param ncols number of columns
+	 * @param sparsity sparsity ratio
+	 * @return memory estimate
+	 */
+	public static long estimateMemory(long nrows, long ncols, double sparsity) {
+		double lnnz = Math.max(INIT_CAPACITY, Math.ceil(sparsity*nrows*ncols));
+		double lnnzr = Math.min(nrows, lnnz);
+		
+		//32B overhead per array, int arr in nnzr, int/double arr in nnz 
+		double size = 16 + 12;        //object + 3 int fields
+		size += 32 + lnnzr * 4d;      //rindexes array (row indexes)
+		size += 32 + (lnnzr+1) * 4d;  //ptr array (row pointers)
+		size += 32 + lnnz * 4d;       //indexes array (column indexes)
+		size += 32 + lnnz * 8d;       //values array (non-zero values)
+		
+		//robustness for long overflows
+		return (long) Math.min(size, Long.MAX_VALUE);
+	}
+	
+	///////////////////
+	//SparseBlock implementation
+
+	@Override
+	public void allocate(int r) {
+		//do nothing everything preallocated
+	}
+	
+	@Override
+	public void allocate(int r, int nnz) {
+		//do nothing everything preallocated
+	}
+	
+	@Override
+	public void allocate(int r, int ennz, int maxnnz) {
+		//do nothing everything preallocated
+	}
+
+	@Override
+	public int numRows() {
+		return _rlen;
+	}
+
+	@Override
+	public boolean isThreadSafe() {
+		return false;
+	}
+	
+	@Override
+	public boolean isContiguous() {
+		return true;
+	}
+	
+	@Override
+	public long getExactSizeInMemory() {
+		//see estimateMemory, but w/ actual array capacities
+		return 16 + 12 + 32 + 4L*_rindexes.length + 32 + 4L*_ptr.length 
+			+ 32 + 4L*_indexes.length + 32 + 8L*_values.length;
+	}
+	
+	@Override 
+	public void reset() {
+		_nnzr = 0;
+		_size = 0;
+		_ptr[0] = 0;
+	}
+
+	@Override 
+	public void reset(int ennz, int maxnnz) {
+		reset();
+	}
+	
+	@Override 
+	public void reset(int r, int ennz, int maxnnz) {
+		int k = posRow(r);
+		if( k < 0 ) //empty row
+			return;
+		
+		//overlapping array copy (shift rhs values left)
+		int pos = _ptr[k];
+		int len = _ptr[k+1] - pos;
+		System.arraycopy(_indexes, pos+len, _indexes, pos, _size-(pos+len));
+		System.arraycopy(_values, pos+len, _values, pos, _size-(pos+len));
+		_size -= len;
+		decrPtr(k+1, len);
+		deleteRow(k);
+	}
+	
+	@Override
+	public long size() {
+		return _size;
+	}
+
+	@Override
+	public int size(int r) {
+		int k = posRow(r);
+		return (k >= 0) ? _ptr[k+1] - _ptr[k] : 0;
+	}
+	
+	@Override
+	public long size(int rl, int ru) {
+		return pos(ru) - pos(rl);
+	}
+
+	@Override
+	public long size(int rl, int ru, int cl, int cu) {
+		long nnz = 0;
+		for( int k=posRowIndexGTE(rl); k<_nnzr && _rindexes[k]<ru; k++ ) {
+			int pos = _ptr[k];
+			int len = _ptr[k+1] - pos;
+			int start = posFIndexGTE(pos, len, cl);
+			int end = posFIndexGTE(pos, len, cu);
+			end = (end>=0) ? end : pos+len;
+			nnz += (start!=-1) ? (end-start) : 0;
+		}
+		return nnz;
+	}
+	
+	@Override
+	public boolean isEmpty(int r) {
+		return posRow(r) < 0;
+	}
+	
+	@Override
+	public int nextNonEmptyRow(int r, int ru) {
+		int k = posRowIndexGTE(r);
+		return (k < _nnzr) ? Math.min(_rindexes[k], ru) : ru;
+	}
+	
+	@Override
+	public int[] indexes(int r) {
+		return _indexes;
+	}
+
+	@Override
+	public double[] values(int r) {
+		return _values;
+	}
+
+	@Override
+	public int pos(int r) {
+		//position of row r, or of the next non-empty row if r is empty
+		int k = posRow(r);
+		return _ptr[(k >= 0) ? k : -(k+1)];
+	}
+
+	@Override
+	public boolean set(int r, int c, double v) {
+		int k = posRow(r);
+		
+		//insert into empty row (early abort on zero)
+		if( k < 0 ) {
+			if( v == 0 ) 
+				return false;
+			k = insertRow(-(k+1), r);
+			insertValue(_ptr[k], c, v);
+			incrPtr(k+1, 1);
+			return true; // nnz++
+		}
+		
+		int pos = _ptr[k];
+		int len = _ptr[k+1] - pos;
+		
+		//search for existing col index
+		int index = Arrays.binarySearch(_indexes, pos, pos+len, c);
+		if( index >= 0 ) {
+			//delete/overwrite existing value (on value delete, we shift 
+			//left for (1) correct nnz maintenance, and (2) smaller size)
+			if( v == 0 ) {
+				shiftLeftByN(index+1, 1);
+				decrPtr(k+1, 1);
+				if( len == 1 )
+					deleteRow(k);
+				return true; // nnz--
+			}
+			else { 	
+				_values[index] = v;
+				return false;
+			} 
+		}
+
+		//early abort on zero (if no overwrite)
+		if( v==0 ) return false;
+		
+		//insert new index-value pair
+		insertValue(Math.abs(index+1), c, v);
+		incrPtr(k+1, 1);
+		return true; // nnz++
+	}
+
+	@Override
+	public void set(int r, SparseRow row, boolean deep) {
+		//delete existing values if necessary
+		reset(r, -1, -1);
+		if( row == null || row.isEmpty() )
+			return;
+		
+		int alen = row.size();
+		int[] aix = row.indexes();
+		double[] avals = row.values();
+		
+		//prepare free space (allocate and shift)
+		int k = insertRow(-(posRow(r)+1), r);
+		int pos = _ptr[k];
+		if( _values.length < _size+alen )
+			resize(_size+alen);
+		shiftRightByN(pos, alen);
+		
+		//copy input row into internal representation
+		System.arraycopy(aix, 0, _indexes, pos, alen);
+		System.arraycopy(avals, 0, _values, pos, alen);
+		incrPtr(k+1, alen);
+	}
+	
+	@Override
+	public void append(int r, int c, double v) {
+		//early abort on zero 
+		if( v==0 ) return;
+		
+		//fast path for appends to the last row (no search)
+		int k = (_nnzr > 0 && _rindexes[_nnzr-1] == r) ? _nnzr-1 : posRow(r);
+		if( k < 0 )
+			k = insertRow(-(k+1), r);
+		insertValue(_ptr[k+1], c, v);
+		incrPtr(k+1, 1);
+	}
+
+	@Override
+	public void setIndexRange(int r, int cl, int cu, double[] v, int vix, int vlen) {
+		//delete existing values in range if necessary 
+		deleteIndexRange(r, cl, cu);
+		
+		//determine input nnz
+		int lnnz = 0;
+		for( int i=vix; i<vix+vlen; i++ )
+			lnnz += ( v[i] != 0 ) ? 1 : 0;
+		if( lnnz == 0 )
+			return;
+		
+		//prepare free space (allocate and shift)
+		int k = posRow(r);
+		if( k < 0 )
+			k = insertRow(-(k+1), r);
+		int pos = _ptr[k];
+		int len = _ptr[k+1] - pos;
+		int index = posFIndexGTE(pos, len, cl);
+		int index2 = (index>=0) ? index : pos+len;
+		if( _values.length < _size+lnnz )
+			resize(_size+lnnz);
+		shiftRightByN(index2, lnnz);
+		
+		//insert values
+		for( int i=vix; i<vix+vlen; i++ )
+			if( v[i] != 0 ) {
+				_indexes[ index2 ] = cl+i-vix;
+				_values[ index2 ] = v[i];
+				index2++;
+			}
+		incrPtr(k+1, lnnz);
+	}
+
+	@Override
+	public void deleteIndexRange(int r, int cl, int cu) {
+		int k = posRow(r);
+		if( k < 0 ) //nothing to delete
+			return;
+		
+		int pos = _ptr[k];
+		int len = _ptr[k+1] - pos;
+		int start = posFIndexGTE(pos, len, cl);
+		if( start < 0 ) //nothing to delete 
+			return;
+		int end = posFIndexGTE(pos, len, cu);
+		if( end < 0 ) //delete all remaining
+			end = pos+len;
+		
+		//overlapping array copy (shift rhs values left)
+		shiftLeftByN(end, end-start);
+		decrPtr(k+1, end-start);
+		if( len == end-start )
+			deleteRow(k);
+	}
+
+	@Override
+	public void sort() {
+		for( int k=0; k<_nnzr; k++ )
+			sortRow(k);
+	}
+
+	@Override
+	public void sort(int r) {
+		int k = posRow(r);
+		if( k >= 0 )
+			sortRow(k);
+	}
+
+	@Override
+	public double get(int r, int c) {
+		int k = posRow(r);
+		if( k < 0 )
+			return 0;
+		
+		//search for existing col index in [pos,pos+len)
+		int index = Arrays.binarySearch(_indexes, _ptr[k], _ptr[k+1], c);
+		return (index >= 0) ? _values[index] : 0;
+	}
+	
+	@Override 
+	public SparseRow get(int r) {
+		int k = posRow(r);
+		int pos = (k >= 0) ? _ptr[k] : 0;
+		int len = (k >= 0) ? _ptr[k+1] - pos : 0;
+		
+		SparseRow row = new SparseRow(len);
+		System.arraycopy(_indexes, pos, row.indexes(), 0, len);
+		System.arraycopy(_values, pos, row.values(), 0, len);
+		row.setSize(len);
+		
+		return row;
+	}
+	
+	@Override
+	public int posFIndexLTE(int r, int c) {
+		int k = posRow(r);
+		if( k < 0 )
+			return -1;
+		int pos = _ptr[k];
+		int len = _ptr[k+1] - pos;
+		
+		//search for existing col index in [pos,pos+len)
+		int index = Arrays.binarySearch(_indexes, pos, pos+len, c);
+		if( index >= 0  )
+			return (index < pos+len) ? index : -1;
+		
+		//search lt col index (see binary search)
+		index = Math.abs( index+1 );
+		return (index-1 >= pos) ? index-1 : -1;
+	}
+
+	@Override
+	public int posFIndexGTE(int r, int c) {
+		int k = posRow(r);
+		return (k >= 0) ? posFIndexGTE(_ptr[k], _ptr[k+1]-_ptr[k], c) : -1;
+	}
+
+	@Override
+	public int posFIndexGT(int r, int c) {
+		int k = posRow(r);
+		if( k < 0 )
+			return -1;
+		int pos = _ptr[k];
+		int len = _ptr[k+1] - pos;
+		
+		//search for existing col index
+		int index = Arrays.binarySearch(_indexes, pos, pos+len, c);
+		if( index >= 0  )
+			return (index+1 < pos+len) ? index+1 : -1;
+		
+		//search gt col index (see binary search)
+		index = Math.abs( index+1 );
+		return (index < pos+len) ? index : -1;
+	}
+	
+	@Override
+	public Iterator<IJV> getIterator() {
+		return new SparseBlockDCSRIterator(0, _nnzr);
+	}
+	
+	@Override
+	public Iterator<IJV> getIterator(int ru) {
+		return new SparseBlockDCSRIterator(0, posRowIndexGTE(ru));
+	}
+
+	@Override
+	public Iterator<IJV> getIterator(int rl, int ru) {
+		return new SparseBlockDCSRIterator(posRowIndexGTE(rl), posRowIndexGTE(ru));
+	}
+	
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SparseBlockDCSR: rlen=");
+		sb.append(_rlen);
+		sb.append(", nnzr=");
+		sb.append(_nnzr);
+		sb.append(", nnz=");
+		sb.append(_size);
+		sb.append("\n");
+		for( int k=0; k<_nnzr; k++ ) {
+			sb.append("row +");
+			sb.append(_rindexes[k]);
+			sb.append(": ");
+			//append row
+			for(int j=_ptr[k]; j<_ptr[k+1]; j++) {
+				sb.append(_indexes[j]);
+				sb.append(": ");
+				sb.append(_values[j]);
+				sb.append("\t");
+			}
+			sb.append("\n");
+		}		
+		
+		return sb.toString();
+	}
+	
+	/**
+	 * Get the number of non-empty rows, i.e., the number of 
+	 * valid entries in the row index array.
+	 * 
+	 * @return number of non-empty rows
+	 */
+	public int numNonEmptyRows() {
+		return _nnzr;
+	}
+	
+	/**
+	 * Get the position of the first non-empty row with a row index 
+	 * greater than or equal to the given row index. Together with 
+	 * the raw row indexes and pointers, this allows to iterate over 
+	 * the non-empty rows of an arbitrary row range [rl,ru) via
+	 * {@code for(k=posRowIndexGTE(rl); k<nnzr && rix[k]<ru; k++)}.
+	 * 
+	 * @param r row index, starting at 0
+	 * @return position in [0, numNonEmptyRows()]
+	 */
+	public int posRowIndexGTE(int r) {
+		int k = posRow(r);
+		return (k >= 0) ? k : -(k+1);
+	}
+	
+	/**
+	 * Get raw access to underlying array of row indexes of
+	 * non-empty rows (sorted, valid up to numNonEmptyRows).
+	 * 
+	 * @return array of row indexes
+	 */
+	public int[] rowIndexes() {
+		return _rindexes;
+	}
+	
+	/**
+	 * Get raw access to underlying array of row pointers
+	 * of non-empty rows (valid up to numNonEmptyRows+1).
+	 * 
+	 * @return array of row pointers
+	 */
+	public int[] rowPointers() {
+		return _ptr;
+	}
+	
+	/** 
+	 * Get raw access to underlying array of column indices
+	 * 
+	 * @return array of column indexes
+	 */
+	public int[] indexes() {
+		return _indexes;
+	}
+	
+	/**
+	 * Get raw access to underlying array of values
+	 * 
+	 * @return array of values
+	 */
+	public double[] values() {
+		return _values;
+	}
+	
+	///////////////////////////
+	// private helper methods
+	
+	private int posRow(int r) {
+		return Arrays.binarySearch(_rindexes, 0, _nnzr, r);
+	}
+	
+	private int posFIndexGTE(int pos, int len, int c) {
+		//search for existing col index
+		int index = Arrays.binarySearch(_indexes, pos, pos+len, c);
+		if( index >= 0  )
+			return (index < pos+len) ? index : -1;
+		
+		//search gt col index (see binary search)
+		index = Math.abs( index+1 );
+		return (index < pos+len) ? index : -1;
+	}
+	
+	private void sortRow(int k) {
+		int pos = _ptr[k];
+		int len = _ptr[k+1] - pos;
+		if( len<=100 || !SortUtils.isSorted(pos, pos+len, _indexes) )
+			SortUtils.sortByIndex(pos, pos+len, _indexes, _values);
+	}
+	
+	private int insertRow(int k, int r) {
+		//resize row arrays if necessary
+		if( _nnzr == _rindexes.length ) {
+			int newCap = newCapacity(_rindexes.length, _nnzr+1);
+			_rindexes = Arrays.copyOf(_rindexes, newCap);
+			_ptr = Arrays.copyOf(_ptr, newCap+1);
+		}
+		
+		//overlapping array copy (shift rhs rows right by 1),
+		//where the new empty row starts at the old row position
+		System.arraycopy(_rindexes, k, _rindexes, k+1, _nnzr-k);
+		System.arraycopy(_ptr, k, _ptr, k+1, _nnzr-k+1);
+		_rindexes[k] = r;
+		_nnzr++;
+		return k;
+	}
+	
+	private void deleteRow(int k) {
+		//overlapping array copy (shift rhs rows left by 1)
+		System.arraycopy(_rindexes, k+1, _rindexes, k, _nnzr-k-1);
+		System.arraycopy(_ptr, k+1, _ptr, k, _nnzr-k);
+		_nnzr--;
+	}
+	
+	private static int newCapacity(int cap, int minsize) {
+		//compute new size until minsize reached
+		double tmpCap = Math.max(cap, 1);
+		while( tmpCap < minsize ) {
+			tmpCap *= (tmpCap <= 1024) ? 
+					RESIZE_FACTOR1 : RESIZE_FACTOR2;
+		}
+		
+		return (int)Math.min(Math.ceil(tmpCap), Integer.MAX_VALUE);
+	}
+
+	private void resize(int minsize) {
+		//reallocate arrays and copy old values
+		int newCap = newCapacity(_values.length, minsize);
+		_indexes = Arrays.copyOf(_indexes, newCap);
+		_values = Arrays.copyOf(_values, newCap);
+	}
+
+	private void insertValue(int ix, int c, double v) {
+		if( _size == _values.length )
+			resize(_size+1);
+		shiftRightByN(ix, 1);
+		_indexes[ix] = c;
+		_values[ix] = v;
+	}
+
+	private void shiftRightByN(int ix, int n) {
+		//overlapping array copy (shift rhs values right by n)
+		System.arraycopy(_indexes, ix, _indexes, ix+n, _size-ix);
+		System.arraycopy(_values, ix, _values, ix+n, _size-ix);
+		_size += n;
+	}
+
+	private void shiftLeftByN(int ix, int n) {
+		//overlapping array copy (shift rhs values left by n)
+		System.arraycopy(_indexes, ix, _indexes, ix-n, _size-ix);
+		System.arraycopy(_values, ix, _values, ix-n, _size-ix);
+		_size -= n;
+	}
+
+	private void incrPtr(int kl, int cnt) {
+		for( int k=kl; k<_nnzr+1; k++ )
+			_ptr[k] += cnt;
+	}
+
+	private void decrPtr(int kl, int cnt) {
+		for( int k=kl; k<_nnzr+1; k++ )
+			_ptr[k] -= cnt;
+	}
+	
+	/**
+	 * Custom sparse block DCSR iterator implemented against the 
+	 * SparseBlockDCSR data structure in order to iterate over 
+	 * non-empty rows only and to avoid unnecessary binary search 
+	 * for row locations and lengths.
+	 * 
+	 */
+	private class SparseBlockDCSRIterator implements Iterator<IJV>
+	{
+		private int _k = 0;   //current non-empty row position
+		private int _pos = 0; //current nnz position
+		private int _len = 0; //upper nnz position (exclusive)
+		private IJV retijv = new IJV(); //reuse output tuple
+
+		protected SparseBlockDCSRIterator(int kl, int ku) {
+			_k = kl;
+			_pos = _ptr[kl];
+			_len = _ptr[ku];
+		}
+		
+		@Override
+		public boolean hasNext() {
+			return _pos<_len;
+		}
+
+		@Override
+		public IJV next( ) {
+			retijv.set(_rindexes[_k], _indexes[_pos], _values[_pos++]);
+			if( _pos >= _ptr[_k+1] )
+				_k++;
+			return retijv;
+		}
+
+		@Override
+		public void remove() {
+			throw new RuntimeException("SparseBlockDCSRIterator is unsupported!");			
+		}		
+	}
+}
@@ -0,0 +1,364 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.matrix.data;
+
+/**
+ * Read-only diagonal sparse block (e.g., outputs of diag(v)), which stores 
+ * the n diagonal values in a single array and shares a column index array 
+ * of 0..n-1, i.e., row r holds at most one value at position pos(r)=r. 
+ * Since this layout is a special case of CSR, kernels that are not aware
+ * of diagonal blocks directly operate on it, while structure-aware kernels 
+ * (e.g., X %*% diag(v) as column scaling) use the diagonal values directly. 
+ * On any modification, the block is copied (once) into a private MCSR block
+ * (copy-on-write).
+ * 
+ */
+public class SparseBlockDiag extends SparseBlock 
+{
+	private static final long serialVersionUID = -5216718433861452905L;
+	
+	private volatile double[] _values; //diagonal values, null after copy-on-write
+	private volatile SparseBlock _base; //private copy, non-null after copy-on-write
+	private int[] _indexes;
+	private int _rlen;
+	private long _nnz;
+	
+	/**
+	 * Creates a diagonal sparse block of the given values, which are
+	 * not copied and thus should not be modified by the caller afterwards.
+	 * 
+	 * @param values diagonal values
+	 */
+	public SparseBlockDiag(double[] values) {
+		_values = values;
+		_rlen = values.length;
+		_indexes = new int[_rlen];
+		for( int i=0; i<_rlen; i++ ) {
+			_indexes[i] = i;
+			_nnz += (values[i]!=0) ? 1 : 0;
+		}
+	}
+	
+	/**
+	 * Creates a copy of the given diagonal sparse block, which 
+	 * is required to not be copied on write yet.
+	 * 
+	 * @param that diagonal sparse block
+	 */
+	public SparseBlockDiag(SparseBlockDiag that) {
+		_values = that.getDiagonalValues().clone();
+		_indexes = that._indexes; //immutable
+		_rlen = that._rlen;
+		_nnz = that._nnz;
+	}
+	
+	/**
+	 * Indicates if the values are still stored as diagonal,
+	 * i.e., the block has not been copied on write yet.
+	 * 
+	 * @return true if diagonal
+	 */
+	public boolean isDiagonal() {
+		return (_values != null);
+	}
+	
+	/**
+	 * Obtains the diagonal values, where the value of row r 
+	 * is stored at position r (including zeros).
+	 * 
+	 * @return array of diagonal values, or null if already copied
+	 */
+	public double[] getDiagonalValues() {
+		return _values;
+	}
+	
+	@Override
+	public void allocate(int r) {
+		copyOnWrite().allocate(r);
+	}
+	
+	@Override
+	public void allocate(int r, int nnz) {
+		copyOnWrite().allocate(r, nnz);
+	}
+	
+	@Override
+	public void allocate(int r, int ennz, int maxnnz) {
+		copyOnWrite().allocate(r, ennz, maxnnz);
+	}
+
+	@Override
+	public int numRows() {
+		return _rlen;
+	}
+
+	@Override
+	public boolean isThreadSafe() {
+		double[] vals = _values;
+		return (vals == null) && _base.isThreadSafe();
+	}
+
+	@Override
+	public boolean isContiguous() {
+		//values and indexes of all rows form a single contiguous
+		//range if there are no zeros on the diagonal
+		double[] vals = _values;
+		return (vals != null) ? (_nnz == _rlen) : _base.isContiguous();
+	}
+
+	@Override
+	public long getExactSizeInMemory() {
+		//object header, values array, and index array
+		double[] vals = _values;
+		return (vals == null) ? _base.getExactSizeInMemory() :
+			estimateSizeInMemory(_rlen);
+	}
+	
+	/**
+	 * Estimates the in-memory size of a diagonal sparse block.
+	 * 
+	 * @param n number of rows and columns
+	 * @return estimated size in bytes
+	 */
+	public static long estimateSizeInMemory(long n) {
+		return 16 + 8 + 8 + 4 + 8 + 32 + 8 * n + 32 + 4 * n;
+	}
+
+	@Override
+	public void reset() {
+		double[] vals = _values;
+		if( vals == null )
+			_base.reset();
+		else
+			resetBase();
+	}
+
+	@Override
+	public void reset(int ennz, int maxnnz) {
+		double[] vals = _values;
+		if( vals == null )
+			_base.reset(ennz, maxnnz);
+		else
+			resetBase();
+	}
+
+	@Override
+	public void reset(int r, int ennz, int maxnnz) {
+		if( !isEmpty(r) )
+			copyOnWrite().reset(r, ennz, maxnnz);
+	}
+
+	@Override
+	public long size() {
+		double[] vals = _values;
+		return (vals == null) ? _base.size() : _nnz;
+	}
+
+	@Override
+	public int size(int r) {
+		double[] vals = _values;
+		return (vals == null) ? _base.size(r) : 
+			(vals[r] != 0) ? 1 : 0;
+	}
+
+	@Override
+	public long size(int rl, int ru) {
+		return size(rl, ru, 0, _rlen);
+	}
+
+	@Override
+	public long size(int rl, int ru, int cl, int cu) {
+		double[] vals = _values;
+		if( vals == null )
+			return _base.size(rl, ru, cl, cu);
+		long nnz = 0;
+		for( int i=Math.max(rl, cl); i<Math.min(ru, cu); i++ )
+			nnz += (vals[i] != 0) ? 1 : 0;
+		return nnz;
+	}
+
+	@Override
+	public boolean isEmpty(int r) {
+		return size(r) == 0;
+	}
+	
+	@Override
+	public int nextNonEmptyRow(int r, int ru) {
+		double[] vals = _values;
+		if( vals == null )
+			return _base.nextNonEmptyRow(r, ru);
+		while( r < ru && vals[r] == 0 )
+			r++;
+		return r;
+	}
+
+	@Override
+	public int[] indexes(int r) {
+		double[] vals = _values;
+		return (vals == null) ? _base.indexes(r) : _indexes;
+	}
+
+	@Override
+	public double[] values(int r) {
+		double[] vals = _values;
+		return (vals == null) ? _base.values(r) : vals;
+	}
+
+	@Override
+	public int pos(int r) {
+		double[] vals = _values;
+		return (vals == null) ? _base.pos(r) : r;
+	}
+
+	@Override
+	public boolean set(int r, int c, double v) {
+		if( _values != null && v == 0 && get(r, c) == 0 )
+			return false; //no change
+		return copyOnWrite().set(r, c, v);
+	}
+
+	@Override
+	public void set(int r, SparseRow row, boolean deep) {
+		copyOnWrite().set(r, row, deep);
+	}
+
+	@Override
+	public void append(int r, int c, double v) {
+		if( v != 0 )
+			copyOnWrite().append(r, c, v);
+	}
+
+	@Override
+	public void setIndexRange(int r, int cl, int cu, double[] v, int vix, int vlen) {
+		copyOnWrite().setIndexRange(r, cl, cu, v, vix, vlen);
+	}
+
+	@Override
+	public void deleteIndexRange(int r, int cl, int cu) {
+		if( !isEmpty(r) )
+			copyOnWrite().deleteIndexRange(r, cl, cu);
+	}
+
+	@Override
+	public void sort() {
+		//rows of the diagonal block are trivially sorted
+		double[] vals = _values;
+		if( vals == null )
+			_base.sort();
+	}
+
+	@Override
+	public void sort(int r) {
+		double[] vals = _values;
+		if( vals == null )
+			_base.sort(r);
+	}
+
+	@Override
+	public double get(int r, int c) {
+		double[] vals = _values;
+		return (vals == null) ? _base.get(r, c) : 
+			(r == c) ? vals[r] : 0;
+	}
+
+	@Override
+	public SparseRow get(int r) {
+		double[] vals = _values;
+		if( vals == null )
+			return _base.get(r);
+		//note: similar to CSR, return a copy that can be safely modified
+		SparseRow row = new SparseRow(1);
+		if( vals[r] != 0 )
+			row.append(r, vals[r]);
+		return row;
+	}
+
+	@Override
+	public int posFIndexLTE(int r, int c) {
+		double[] vals = _values;
+		if( vals == null )
+			return _base.posFIndexLTE(r, c);
+		return (vals[r] != 0 && r <= c) ? r : -1;
+	}
+
+	@Override
+	public int posFIndexGTE(int r, int c) {
+		double[] vals = _values;
+		if( vals == null )
+			return _base.posFIndexGTE(r, c);
+		return (vals[r] != 0 && r >= c) ? r : -1;
+	}
+
+	@Override
+	public int posFIndexGT(int r, int c) {
+		double[] vals = _values;
+		if( vals == null )
+			return _base.posFIndexGT(r, c);
+		return (vals[r] != 0 && r > c) ? r : -1;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SparseBlockDiag: rlen=");
+		sb.append(numRows());
+		sb.append(", nnz=");
+		sb.append(size());
+		sb.append(", diagonal=");
+		sb.append(isDiagonal());
+		sb.append("\n");
+		for( int i=0; i<numRows(); i++ ) {
+			sb.append("row +");
+			sb.append(i);
+			sb.append(": ");
+			//append row
+			if( !isEmpty(i) ) {
+				int pos = pos(i);
+				int len = size(i);
+				int[] aix = indexes(i);
+				double[] avals = values(i);
+				for(int j=pos; j<pos+len; j++) {
+					sb.append(aix[j]);
+					sb.append(": ");
+					sb.append(avals[j]);
+					sb.append("\t");
+				}
+			}
+			sb.append("\n");
+		}
+		return sb.toString();
+	}
+	
+	private synchronized SparseBlock copyOnWrite() {
+		//copy once (concurrent callers might request it simultaneously)
+		if( _values != null ) {
+			_base = new SparseBlockMCSR(this);
+			_values = null;
+		}
+		return _base;
+	}
+	
+	private synchronized void resetBase() {
+		//reset to a private block w/o copying the diagonal
+		_base = new SparseBlockMCSR(_rlen, -1);
+		_values = null;
+	}
+}
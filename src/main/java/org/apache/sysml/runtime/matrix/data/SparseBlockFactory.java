@@ -22,6 +22,9 @@ package org.apache.sysml.runtime.matrix.data;
 
 public abstract class SparseBlockFactory
 {
+	//max ratio of non-empty rows for DCSR, which is smaller than CSR if less than 1/2 
+	//of rows are non-empty, but we require a margin to compensate for the row search
+	private static final double DCSR_MAX_NONEMPTY_RATIO = 0.25;
 
 	public static SparseBlock createSparseBlock(int rlen) {
 		return createSparseBlock(MatrixBlock.DEFAULT_SPARSEBLOCK, rlen);
@@ -32,6 +35,8 @@ public abstract class SparseBlockFactory
 			case MCSR: return new SparseBlockMCSR(rlen, -1);
 			case CSR: return new SparseBlockCSR(rlen);
 			case COO: return new SparseBlockCOO(rlen);
+			case DCSR: return new SparseBlockDCSR(rlen);
+			case CSR16: return new SparseBlockCSR16(rlen);
 			default:
 				throw new RuntimeException("Unexpected sparse block type: "+type.toString());
 		}
@@ -47,7 +52,9 @@ public abstract class SparseBlockFactory
 		if( !forceCopy && 
 			( (sblock instanceof SparseBlockMCSR && type == SparseBlock.Type.MCSR)
 			||(sblock instanceof SparseBlockCSR && type == SparseBlock.Type.CSR)
-			||(sblock instanceof SparseBlockCOO && type == SparseBlock.Type.COO))  )
+			||(sblock instanceof SparseBlockCOO && type == SparseBlock.Type.COO)
+			||(sblock instanceof SparseBlockDCSR && type == SparseBlock.Type.DCSR)
+			||(sblock instanceof SparseBlockCSR16 && type == SparseBlock.Type.CSR16))  )
 		{
 			return sblock;
 		}
@@ -57,16 +64,48 @@ public abstract class SparseBlockFactory
 			case MCSR: return new SparseBlockMCSR(sblock);
 			case CSR: return new SparseBlockCSR(sblock);
 			case COO: return new SparseBlockCOO(sblock);
+			case DCSR: return new SparseBlockDCSR(sblock);
+			case CSR16: return new SparseBlockCSR16(sblock);
 			default:
 				throw new RuntimeException("Unexpected sparse block type: "+type.toString());
 		}
 	}
 
+	/**
+	 * Selects the memory-efficient sparse block type for read-mostly sparse blocks. 
+	 * Ultra-sparse blocks where most rows are empty use DCSR because the CSR row 
+	 * pointer array would dominate the size, all other blocks use CSR, or CSR16 
+	 * with compact column indexes if the number of columns is at most 65536.
+	 * 
+	 * @param sblock sparse block
+	 * @param clen number of columns
+	 * @return sparse block type CSR, CSR16, or DCSR
+	 */
+	public static SparseBlock.Type getCompressedSparseBlockType(SparseBlock sblock, int clen) {
+		SparseBlock.Type ctype = (clen <= SparseBlockCSR16.MAX_COLUMNS) ? 
+			SparseBlock.Type.CSR16 : SparseBlock.Type.CSR;
+		if( sblock instanceof SparseBlockDCSR )
+			return SparseBlock.Type.DCSR;
+		if( sblock == null )
+			return ctype;
+		
+		//count non-empty rows (with early abort)
+		int rlen = sblock.numRows();
+		int maxnnzr = (int)(rlen * DCSR_MAX_NONEMPTY_RATIO);
+		int nnzr = 0;
+		for( int i=0; i<rlen && nnzr<=maxnnzr; i++ )
+			nnzr += sblock.isEmpty(i) ? 0 : 1;
+		return (nnzr <= maxnnzr) ? 
+			SparseBlock.Type.DCSR : ctype;
+	}
+	
 	public static long estimateSizeSparseInMemory(SparseBlock.Type type, long nrows, long ncols, double sparsity) {
 		switch( type ) {
 			case MCSR: return SparseBlockMCSR.estimateMemory(nrows, ncols, sparsity);
 			case CSR: return SparseBlockCSR.estimateMemory(nrows, ncols, sparsity);
 			case COO: return SparseBlockCOO.estimateMemory(nrows, ncols, sparsity);
+			case DCSR: return SparseBlockDCSR.estimateMemory(nrows, ncols, sparsity);
+			case CSR16: return SparseBlockCSR16.estimateMemory(nrows, ncols, sparsity);
 			default:
 				throw new RuntimeException("Unexpected sparse block type: "+type.toString());
 		}
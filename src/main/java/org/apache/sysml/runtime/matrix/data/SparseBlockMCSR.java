@@ -47,7 +47,8 @@ public class SparseBlockMCSR extends SparseBlock
 			SparseRow[] orows = ((SparseBlockMCSR)sblock)._rows;
 			_rows = new SparseRow[orows.length];
 			for( int i=0; i<_rows.length; i++ )
-				_rows[i] = new SparseRow(orows[i]);		
+				if( orows[i] != null ) //robustness for empty rows
+					_rows[i] = new SparseRow(orows[i]);		
 		}
 		//general case SparseBlock
 		else { 
@@ -148,6 +149,17 @@ public class SparseBlockMCSR extends SparseBlock
 		return false;
 	}
 
+	@Override
+	public long getExactSizeInMemory() {
+		//object and row references, plus per allocated sparse row 
+		//the object (48B) and two arrays (2x32B) w/ actual capacities
+		long size = 16 + 32 + 8L*_rows.length;
+		for( SparseRow row : _rows )
+			if( row != null )
+				size += 48 + 32 + 4L*row.indexes().length + 32 + 8L*row.values().length;
+		return size;
+	}
+	
 	@Override 
 	public void reset() {
 		for( SparseRow row : _rows )
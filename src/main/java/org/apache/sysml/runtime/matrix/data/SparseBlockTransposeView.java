@@ -0,0 +1,310 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+
+package org.apache.sysml.runtime.matrix.data;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+
+/**
+ * Lazy transpose of a sparse matrix block, which records transposed access
+ * to the input block instead of materializing t(X). Kernels that support
+ * transposed access (e.g., t(X) %*% y and colSums(t(X))) directly operate 
+ * on the rows of the input block. Since the rows of the transpose are the 
+ * columns of the input, any access via the sparse block API materializes 
+ * the transpose (once) into a private MCSR block, to which all operations 
+ * are delegated. Hence, a view is only valid as long as the input block is 
+ * not modified.
+ * 
+ */
+public class SparseBlockTransposeView extends SparseBlock 
+{
+	private static final long serialVersionUID = -3815637734106915187L;
+	
+	private volatile MatrixBlock _in;    //input block, null after materialization
+	private volatile SparseBlock _base;  //materialized transpose, null before
+	private final int _k;                //parallelism of materialization
+	private final int _rlen;
+	private final int _clen;
+	
+	/**
+	 * Creates a transpose view of the given sparse matrix block.
+	 * 
+	 * @param in sparse input matrix block
+	 * @param k maximum parallelism for materialization
+	 */
+	public SparseBlockTransposeView(MatrixBlock in, int k) {
+		if( !in.isInSparseFormat() || in.getSparseBlock() == null )
+			throw new RuntimeException("Invalid sparse transpose view of dense or empty block.");
+		_in = in;
+		_k = k;
+		_rlen = in.getNumColumns();
+		_clen = in.getNumRows();
+	}
+	
+	/**
+	 * Get the input block of the transpose view, i.e., the block
+	 * X of t(X), or null if the transpose has been materialized.
+	 * 
+	 * @return input matrix block or null
+	 */
+	public MatrixBlock getInput() {
+		return _in;
+	}
+	
+	/**
+	 * Indicates if the transpose is still a view of the input 
+	 * block, i.e., it has not been materialized yet.
+	 * 
+	 * @return true if the transpose is not materialized
+	 */
+	public boolean isTransposeView() {
+		return _in != null;
+	}
+	
+	@Override
+	public void allocate(int r) {
+		base().allocate(r);
+	}
+	
+	@Override
+	public void allocate(int r, int nnz) {
+		base().allocate(r, nnz);
+	}
+	
+	@Override
+	public void allocate(int r, int ennz, int maxnnz) {
+		base().allocate(r, ennz, maxnnz);
+	}
+
+	@Override
+	public int numRows() {
+		return _rlen;
+	}
+
+	@Override
+	public boolean isThreadSafe() {
+		//materialized into MCSR on first access
+		SparseBlock lbase = _base;
+		return (lbase == null) || lbase.isThreadSafe();
+	}
+
+	@Override
+	public boolean isContiguous() {
+		SparseBlock lbase = _base;
+		return (lbase != null) && lbase.isContiguous();
+	}
+
+	@Override
+	public long getExactSizeInMemory() {
+		//size of the materialized MCSR transpose, which is allocated on
+		//demand and then replaces the reference to the input block
+		SparseBlock lbase = _base;
+		return (lbase != null) ? lbase.getExactSizeInMemory() :
+			SparseBlockFactory.estimateSizeSparseInMemory(SparseBlock.Type.MCSR, 
+				_rlen, _clen, (double)size() / _rlen / _clen);
+	}
+
+	@Override
+	public void reset() {
+		resetBase();
+	}
+
+	@Override
+	public void reset(int ennz, int maxnnz) {
+		resetBase();
+	}
+
+	@Override
+	public void reset(int r, int ennz, int maxnnz) {
+		base().reset(r, ennz, maxnnz);
+	}
+
+	@Override
+	public long size() {
+		MatrixBlock in = _in;
+		return (in != null) ? in.getSparseBlock().size() : _base.size();
+	}
+
+	@Override
+	public int size(int r) {
+		return base().size(r);
+	}
+
+	@Override
+	public long size(int rl, int ru) {
+		return base().size(rl, ru);
+	}
+
+	@Override
+	public long size(int rl, int ru, int cl, int cu) {
+		//rows [rl,ru) of the transpose are columns [rl,ru) of the input
+		MatrixBlock in = _in;
+		return (in != null) ? in.getSparseBlock().size(cl, cu, rl, ru) : 
+			_base.size(rl, ru, cl, cu);
+	}
+
+	@Override
+	public boolean isEmpty(int r) {
+		return base().isEmpty(r);
+	}
+	
+	@Override
+	public int nextNonEmptyRow(int r, int ru) {
+		return base().nextNonEmptyRow(r, ru);
+	}
+
+	@Override
+	public int[] indexes(int r) {
+		return base().indexes(r);
+	}
+
+	@Override
+	public double[] values(int r) {
+		return base().values(r);
+	}
+
+	@Override
+	public int pos(int r) {
+		return base().pos(r);
+	}
+
+	@Override
+	public boolean set(int r, int c, double v) {
+		return base().set(r, c, v);
+	}
+
+	@Override
+	public void set(int r, SparseRow row, boolean deep) {
+		base().set(r, row, deep);
+	}
+
+	@Override
+	public void append(int r, int c, double v) {
+		base().append(r, c, v);
+	}
+
+	@Override
+	public void setIndexRange(int r, int cl, int cu, double[] v, int vix, int vlen) {
+		base().setIndexRange(r, cl, cu, v, vix, vlen);
+	}
+
+	@Override
+	public void deleteIndexRange(int r, int cl, int cu) {
+		base().deleteIndexRange(r, cl, cu);
+	}
+
+	@Override
+	public void sort() {
+		//rows of the materialized transpose are already sorted
+		SparseBlock lbase = _base;
+		if( lbase != null )
+			lbase.sort();
+	}
+
+	@Override
+	public void sort(int r) {
+		SparseBlock lbase = _base;
+		if( lbase != null )
+			lbase.sort(r);
+	}
+
+	@Override
+	public double get(int r, int c) {
+		//note: the input is released after the transpose is materialized
+		MatrixBlock in = _in;
+		return (in != null) ? in.getSparseBlock().get(c, r) : _base.get(r, c);
+	}
+
+	@Override
+	public SparseRow get(int r) {
+		return base().get(r);
+	}
+
+	@Override
+	public int posFIndexLTE(int r, int c) {
+		return base().posFIndexLTE(r, c);
+	}
+
+	@Override
+	public int posFIndexGTE(int r, int c) {
+		return base().posFIndexGTE(r, c);
+	}
+
+	@Override
+	public int posFIndexGT(int r, int c) {
+		return base().posFIndexGT(r, c);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SparseBlockTransposeView: rlen=");
+		sb.append(numRows());
+		sb.append(", nnz=");
+		sb.append(size());
+		sb.append(", materialized=");
+		sb.append(_base != null);
+		sb.append("\n");
+		if( _base != null )
+			sb.append(_base.toString());
+		return sb.toString();
+	}
+	
+	/**
+	 * Materializes the transpose of the input block if necessary.
+	 * 
+	 * @return materialized sparse block
+	 */
+	public SparseBlock materialize() {
+		return base();
+	}
+	
+	private SparseBlock base() {
+		SparseBlock lbase = _base;
+		return (lbase != null) ? lbase : materializeTranspose();
+	}
+	
+	private synchronized SparseBlock materializeTranspose() {
+		//materialize once (concurrent callers might request it simultaneously)
+		if( _base == null ) {
+			MatrixBlock tmp = new MatrixBlock(_rlen, _clen, true);
+			try {
+				LibMatrixReorg.transpose(_in, tmp, _k);
+			}
+			catch(DMLRuntimeException ex) {
+				throw new RuntimeException(ex);
+			}
+			resetBase(tmp.getSparseBlock());
+		}
+		return _base;
+	}
+	
+	private synchronized void resetBase() {
+		//reset to a private block w/o materializing the transpose
+		resetBase(new SparseBlockMCSR(_rlen, -1));
+	}
+	
+	private synchronized void resetBase(SparseBlock base) {
+		//publish the base before releasing the input (see get)
+		_base = base;
+		_in = null;
+	}
+}
@@ -0,0 +1,313 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+
+package org.apache.sysml.runtime.matrix.data;
+
+/**
+ * Read-only view of a row range of a CSR sparse block, which shares the row 
+ * pointer, column index, and value arrays of the parent block instead of copying 
+ * them. Row r of the view is row rl+r of the parent, i.e., pos(r) refers to the 
+ * shared arrays. Since the rows of a CSR block reside in contiguous ranges of 
+ * these arrays, kernels can directly operate on the view. On any modification, 
+ * the row range is copied (once) into a private MCSR block (copy-on-write). 
+ * Hence, a view is only valid as long as the parent block is not modified.
+ * 
+ */
+public class SparseBlockView extends SparseBlock 
+{
+	private static final long serialVersionUID = 6184218370357209128L;
+	
+	private volatile SparseBlock _base; //parent block or private copy
+	private volatile int _rl;           //row offset into base
+	private volatile boolean _shared;   //true until copy-on-write
+	private int _rlen;
+	
+	/**
+	 * Creates a view of the row range [rl,ru] of the given sparse block,
+	 * which is required to be a CSR block or a view of a CSR block.
+	 * 
+	 * @param parent sparse block
+	 * @param rl row lower index
+	 * @param ru row upper index (inclusive)
+	 */
+	public SparseBlockView(SparseBlock parent, int rl, int ru) {
+		if( !isSupported(parent) )
+			throw new RuntimeException("Unsupported sparse view of "+parent.getClass().getName()+".");
+		//views of views reference the parent of the input view
+		//(with row range shifted by the offset of the input view)
+		_rlen = ru - rl + 1;
+		if( parent instanceof SparseBlockView ) {
+			rl += ((SparseBlockView)parent)._rl;
+			parent = ((SparseBlockView)parent)._base;
+		}
+		_base = parent;
+		_rl = rl;
+		_shared = true;
+	}
+	
+	/**
+	 * Indicates if the given sparse block allows row range views, i.e., 
+	 * if it is a CSR block or a not yet modified view of a CSR block.
+	 * 
+	 * @param sblock sparse block
+	 * @return true if views are supported
+	 */
+	public static boolean isSupported(SparseBlock sblock) {
+		return sblock instanceof SparseBlockCSR || (sblock instanceof SparseBlockView 
+			&& ((SparseBlockView)sblock).isView());
+	}
+	
+	/**
+	 * Indicates if the values are still referenced from the parent 
+	 * block, i.e., the view has not been copied on write yet.
+	 * 
+	 * @return true if values are shared with the parent block
+	 */
+	public boolean isView() {
+		return _shared;
+	}
+	
+	@Override
+	public void allocate(int r) {
+		copyOnWrite().allocate(r);
+	}
+	
+	@Override
+	public void allocate(int r, int nnz) {
+		copyOnWrite().allocate(r, nnz);
+	}
+	
+	@Override
+	public void allocate(int r, int ennz, int maxnnz) {
+		copyOnWrite().allocate(r, ennz, maxnnz);
+	}
+
+	@Override
+	public int numRows() {
+		return _rlen;
+	}
+
+	@Override
+	public boolean isThreadSafe() {
+		return _base.isThreadSafe();
+	}
+
+	@Override
+	public boolean isContiguous() {
+		return _base.isContiguous();
+	}
+
+	@Override
+	public long getExactSizeInMemory() {
+		//size of the entire parent block, which is retained by the 
+		//view until copy-on-write, plus the view object itself
+		return !_shared ? _base.getExactSizeInMemory() : 
+			16 + 8 + 4 + 4 + 1 + _base.getExactSizeInMemory();
+	}
+
+	@Override
+	public void reset() {
+		if( _shared )
+			resetBase();
+		else
+			_base.reset();
+	}
+
+	@Override
+	public void reset(int ennz, int maxnnz) {
+		if( _shared )
+			resetBase();
+		else
+			_base.reset(ennz, maxnnz);
+	}
+
+	@Override
+	public void reset(int r, int ennz, int maxnnz) {
+		if( !isEmpty(r) )
+			copyOnWrite().reset(r, ennz, maxnnz);
+	}
+
+	@Override
+	public long size() {
+		int rl = _rl;
+		return _base.size(rl, rl+_rlen);
+	}
+
+	@Override
+	public int size(int r) {
+		return _base.size(_rl+r);
+	}
+
+	@Override
+	public long size(int rl, int ru) {
+		int off = _rl;
+		return _base.size(off+rl, off+ru);
+	}
+
+	@Override
+	public long size(int rl, int ru, int cl, int cu) {
+		int off = _rl;
+		return _base.size(off+rl, off+ru, cl, cu);
+	}
+
+	@Override
+	public boolean isEmpty(int r) {
+		return _base.isEmpty(_rl+r);
+	}
+	
+	@Override
+	public int nextNonEmptyRow(int r, int ru) {
+		int off = _rl;
+		return _base.nextNonEmptyRow(off+r, off+ru) - off;
+	}
+
+	@Override
+	public int[] indexes(int r) {
+		return _base.indexes(_rl+r);
+	}
+
+	@Override
+	public double[] values(int r) {
+		return _base.values(_rl+r);
+	}
+
+	@Override
+	public int pos(int r) {
+		return _base.pos(_rl+r);
+	}
+
+	@Override
+	public boolean set(int r, int c, double v) {
+		if( _shared && v == 0 && get(r, c) == 0 )
+			return false; //no change
+		return copyOnWrite().set(r, c, v);
+	}
+
+	@Override
+	public void set(int r, SparseRow row, boolean deep) {
+		copyOnWrite().set(r, row, deep);
+	}
+
+	@Override
+	public void append(int r, int c, double v) {
+		if( v != 0 )
+			copyOnWrite().append(r, c, v);
+	}
+
+	@Override
+	public void setIndexRange(int r, int cl, int cu, double[] v, int vix, int vlen) {
+		copyOnWrite().setIndexRange(r, cl, cu, v, vix, vlen);
+	}
+
+	@Override
+	public void deleteIndexRange(int r, int cl, int cu) {
+		if( !isEmpty(r) )
+			copyOnWrite().deleteIndexRange(r, cl, cu);
+	}
+
+	@Override
+	public void sort() {
+		//rows of the shared CSR block are already sorted
+		if( !_shared )
+			_base.sort();
+	}
+
+	@Override
+	public void sort(int r) {
+		if( !_shared )
+			_base.sort(r);
+	}
+
+	@Override
+	public double get(int r, int c) {
+		return _base.get(_rl+r, c);
+	}
+
+	@Override
+	public SparseRow get(int r) {
+		//note: CSR returns a copy, which can be safely modified
+		return _base.get(_rl+r);
+	}
+
+	@Override
+	public int posFIndexLTE(int r, int c) {
+		return _base.posFIndexLTE(_rl+r, c);
+	}
+
+	@Override
+	public int posFIndexGTE(int r, int c) {
+		return _base.posFIndexGTE(_rl+r, c);
+	}
+
+	@Override
+	public int posFIndexGT(int r, int c) {
+		return _base.posFIndexGT(_rl+r, c);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SparseBlockView: rlen=");
+		sb.append(numRows());
+		sb.append(", nnz=");
+		sb.append(size());
+		sb.append(", shared=");
+		sb.append(_shared);
+		sb.append("\n");
+		for( int i=0; i<numRows(); i++ ) {
+			sb.append("row +");
+			sb.append(i);
+			sb.append(": ");
+			//append row
+			if( !isEmpty(i) ) {
+				int pos = pos(i);
+				int len = size(i);
+				int[] aix = indexes(i);
+				double[] avals = values(i);
+				for(int j=pos; j<pos+len; j++) {
+					sb.append(aix[j]);
+					sb.append(": ");
+					sb.append(avals[j]);
+					sb.append("\t");
+				}
+			}
+			sb.append("\n");
+		}
+		return sb.toString();
+	}
+	
+	private synchronized SparseBlock copyOnWrite() {
+		//copy once (concurrent callers might request it simultaneously)
+		if( _shared ) {
+			_base = new SparseBlockMCSR(this);
+			_rl = 0;
+			_shared = false;
+		}
+		return _base;
+	}
+	
+	private synchronized void resetBase() {
+		//reset to a private block w/o copying the referenced rows
+		_base = new SparseBlockMCSR(_rlen, -1);
+		_rl = 0;
+		_shared = false;
+	}
+}
@@ -36,8 +36,8 @@ import org.apache.hadoop.mapred.Reporter;
 
 import org.apache.sysml.runtime.instructions.mr.CSVWriteInstruction;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
-import org.apache.sysml.runtime.matrix.data.IJV;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCursor;
 import org.apache.sysml.runtime.matrix.data.TaggedFirstSecondIndexes;
 import org.apache.sysml.runtime.matrix.mapred.CSVWriteReducer.RowBlockForTextOutput;
 import org.apache.sysml.runtime.matrix.mapred.CSVWriteReducer.RowBlockForTextOutput.Situation;
@@ -323,16 +323,17 @@ public class CSVWriteReducer extends ReduceBase implements Reducer<TaggedFirstSe
 				}
 				else if( _data.isInSparseFormat() ) //SPARSE BLOCK
 				{
-					Iterator<IJV> iter = _data.getSparseBlockIterator();
+					SparseBlockCursor cur = _data.getSparseBlockCursor(0, _data.getNumRows());
 					int j = -1;
-					while( iter.hasNext() )
+					while( cur.next() )
 					{
-						IJV cell = iter.next();
-						appendZero(_buffer, sparse, delim, true, cell.getJ()-j-1);
+						int jix = cur.getCol();
+						double val = cur.getValue();
+						appendZero(_buffer, sparse, delim, true, jix-j-1);
 						
-						j = cell.getJ(); //current col
-						if( cell.getV() != 0 ) //for nnz
-							_buffer.append(cell.getV());
+						j = jix; //current col
+						if( val != 0 ) //for nnz
+							_buffer.append(val);
 						else if( !sparse ) 
 							_buffer.append('0');
 						if( j < _numCols-1 )
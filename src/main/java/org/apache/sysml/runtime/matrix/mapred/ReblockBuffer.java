@@ -24,13 +24,12 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
-import java.util.Iterator;
 
 import org.apache.hadoop.io.Writable;
 import org.apache.hadoop.mapred.OutputCollector;
 import org.apache.sysml.runtime.DMLRuntimeException;
 import org.apache.sysml.runtime.matrix.data.AdaptivePartialBlock;
-import org.apache.sysml.runtime.matrix.data.IJV;
+import org.apache.sysml.runtime.matrix.data.BlockCursor;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysml.runtime.matrix.data.PartialBlock;
@@ -80,45 +79,19 @@ public class ReblockBuffer
 	public void appendBlock(long r_offset, long c_offset, MatrixBlock inBlk, byte index, OutputCollector<Writable, Writable> out ) 
 		throws IOException
 	{
-		if( inBlk.isInSparseFormat() ) //SPARSE
+		//cursor-based append of sparse/dense non-zero cells
+		BlockCursor cur = inBlk.getBlockCursor();
+		while( cur.next() )
 		{
-			Iterator<IJV> iter = inBlk.getSparseBlockIterator();
-			while( iter.hasNext() )
-			{
-				IJV cell = iter.next();
-				long tmp = Double.doubleToRawLongBits(cell.getV());
-				_buff[_count][0] = r_offset + cell.getI();
-				_buff[_count][1] = c_offset + cell.getJ();
-				_buff[_count][2] = tmp;
-				_count++;
-				
-				//check and flush if required
-				if( _count ==_bufflen )
-					flushBuffer(index, out);
-			}
-		}
-		else //DENSE
-		{
-			//System.out.println("dense merge with ro="+r_offset+", co="+c_offset);
-			int rlen = inBlk.getNumRows();
-			int clen = inBlk.getNumColumns();
-			for( int i=0; i<rlen; i++ )
-				for( int j=0; j<clen; j++ )
-				{
-					double val = inBlk.getValueDenseUnsafe(i, j);
-					if( val !=0 )
-					{
-						long tmp = Double.doubleToRawLongBits(val);
-						_buff[_count][0] = r_offset + i;
-						_buff[_count][1] = c_offset + j;
-						_buff[_count][2] = tmp;
-						_count++;
-						
-						//check and flush if required
-						if( _count ==_bufflen )
-							flushBuffer(index, out);
-					}
-				}
+			long tmp = Double.doubleToRawLongBits(cur.getValue());
+			_buff[_count][0] = r_offset + cur.getRow();
+			_buff[_count][1] = c_offset + cur.getCol();
+			_buff[_count][2] = tmp;
+			_count++;
+			
+			//check and flush if required
+			if( _count ==_bufflen )
+				flushBuffer(index, out);
 		}
 	}
 	
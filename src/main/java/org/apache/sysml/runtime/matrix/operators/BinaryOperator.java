@@ -50,10 +50,16 @@ public class BinaryOperator  extends Operator implements Serializable
 	private static final long serialVersionUID = -2547950181558989209L;
 
 	public ValueFunction fn;
+	private int k; //num threads
 	
-	public BinaryOperator(ValueFunction p)
+	public BinaryOperator(ValueFunction p) {
+		this(p, 1); //default single-threaded
+	}
+	
+	public BinaryOperator(ValueFunction p, int numThreads)
 	{
 		fn = p;
+		k = numThreads;
 		
 		//binaryop is sparse-safe iff (0 op 0) == 0
 		sparseSafe = (fn instanceof Plus || fn instanceof Multiply 
@@ -61,6 +67,10 @@ public class BinaryOperator  extends Operator implements Serializable
 			|| fn instanceof PlusMultiply || fn instanceof MinusMultiply);
 	}
 	
+	public int getNumThreads() {
+		return k;
+	}
+	
 	/**
 	 * Method for getting the hop binary operator type for a given function object.
 	 * This is used in order to use a common code path for consistency between 
@@ -37,16 +37,19 @@ import org.apache.sysml.runtime.io.MatrixReaderFactory;
 import org.apache.sysml.runtime.io.MatrixWriter;
 import org.apache.sysml.runtime.io.MatrixWriterFactory;
 import org.apache.sysml.runtime.io.ReadProperties;
+import org.apache.sysml.runtime.io.WriterBinaryBlockCompressed;
 import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.BlockCursor;
 import org.apache.sysml.runtime.matrix.data.CTableMap;
+import org.apache.sysml.runtime.matrix.data.DenseBlockSym;
 import org.apache.sysml.runtime.matrix.data.FileFormatProperties;
 import org.apache.sysml.runtime.matrix.data.FrameBlock;
-import org.apache.sysml.runtime.matrix.data.IJV;
 import org.apache.sysml.runtime.matrix.data.InputInfo;
 import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysml.runtime.matrix.data.OutputInfo;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCursor;
 
 
 /**
@@ -73,7 +76,10 @@ public class DataConverter
 		throws IOException
 	{
 		try {
-			MatrixWriter writer = MatrixWriterFactory.createMatrixWriter( outputinfo, replication, formatProperties );
+			//compressed blocks are written in compressed form if possible
+			MatrixWriter writer = WriterBinaryBlockCompressed.isApplicable(mat, outputinfo) ?
+				new WriterBinaryBlockCompressed(replication) :
+				MatrixWriterFactory.createMatrixWriter( outputinfo, replication, formatProperties );
 			writer.writeMatrixToHDFS(mat, dir, mc.getRows(), mc.getCols(), mc.getRowsPerBlock(), mc.getColsPerBlock(), mc.getNonZeros());
 		}
 		catch(Exception e)
@@ -231,19 +237,19 @@ public class DataConverter
 		
 		if( mb.getNonZeros() > 0 )
 		{
-			if( mb.isInSparseFormat() )
-			{
-				Iterator<IJV> iter = mb.getSparseBlockIterator();
-				while( iter.hasNext() ) {
-					IJV cell = iter.next();
-					ret[cell.getI()][cell.getJ()] = cell.getV();
-				}
-			}
-			else
-			{			
-				for( int i=0; i<rows; i++ )
-					for( int j=0; j<cols; j++ )
-						ret[i][j] = mb.getValueDenseUnsafe(i, j);
+			//cursor-based copy of sparse/dense row segments
+			BlockCursor cur = mb.getBlockCursor();
+			while( cur.nextRow() ) {
+				double[] c = ret[cur.getRow()];
+				int[] aix = cur.getIndexes();
+				double[] avals = cur.getValues();
+				int apos = cur.getPos();
+				int alen = cur.getSize();
+				if( aix != null ) //SPARSE
+					for( int k=apos; k<apos+alen; k++ )
+						c[aix[k]] = avals[k];
+				else //DENSE
+					System.arraycopy(avals, apos, c, 0, alen);
 			}
 		}
 		
@@ -260,11 +266,16 @@ public class DataConverter
 		{
 			if( mb.isInSparseFormat() )
 			{
-				Iterator<IJV> iter = mb.getSparseBlockIterator();
-				while( iter.hasNext() ) {
-					IJV cell = iter.next();
-					ret[cell.getI()*cols+cell.getJ()] = (cell.getV() != 0.0);
-				}
+				SparseBlockCursor cur = mb.getSparseBlockCursor(0, rows);
+				while( cur.next() )
+					ret[cur.getRow()*cols+cur.getCol()] = (cur.getValue() != 0.0);
+			}
+			else if( mb.isBoolean() )
+			{
+				//unpack boolean dense block w/o widening
+				long[] bits = mb.getDenseBlockValuesBool();
+				for( int i=0; i<rows*cols; i++ )
+					ret[i] = ((bits[i>>>6] & (1L<<i)) != 0);
 			}
 			else
 			{
@@ -288,11 +299,9 @@ public class DataConverter
 		{
 			if( mb.isInSparseFormat() )
 			{
-				Iterator<IJV> iter = mb.getSparseBlockIterator();
-				while( iter.hasNext() ) {
-					IJV cell = iter.next();
-					ret[cell.getI()*cols+cell.getJ()] = (int)cell.getV();
-				}
+				SparseBlockCursor cur = mb.getSparseBlockCursor(0, rows);
+				while( cur.next() )
+					ret[cur.getRow()*cols+cur.getCol()] = (int)cur.getValue();
 			}
 			else
 			{
@@ -316,16 +325,24 @@ public class DataConverter
 		{
 			if( mb.isInSparseFormat() )
 			{
-				Iterator<IJV> iter = mb.getSparseBlockIterator();
-				while( iter.hasNext() ) {
-					IJV cell = iter.next();
-					ret[cell.getI()*cols+cell.getJ()] = cell.getV();
-				}
+				copySparseToDoubleVector(mb, ret, 0);
+			}
+			else if( mb.isSymmetric() )
+			{
+				//unpack symmetric representation w/o widening
+				DenseBlockSym a = (DenseBlockSym) mb.getDenseBlock();
+				for( int i=0; i<rows; i++ )
+					a.getRow(i, ret, i*cols);
+			}
+			else if( mb.isConstant() )
+			{
+				//fill constant value w/o widening
+				Arrays.fill(ret, mb.getConstantValue());
 			}
 			else
 			{
 				//memcopy row major representation if at least 1 non-zero
-				System.arraycopy(mb.getDenseBlock(), 0, ret, 0, rows*cols);
+				System.arraycopy(mb.getDenseBlockValues(), 0, ret, 0, rows*cols);
 			}
 		}
 		
@@ -341,11 +358,9 @@ public class DataConverter
 		
 		if( mb.isInSparseFormat() )
 		{
-			Iterator<IJV> iter = mb.getSparseBlockIterator();
-			while( iter.hasNext() ) {
-				IJV cell = iter.next();
-				ret.add( cell.getV() );
-			}
+			SparseBlockCursor cur = mb.getSparseBlockCursor(0, rows);
+			while( cur.next() )
+				ret.add( cur.getValue() );
 			for( long i=nnz; i<(long)rows*cols; i++ )
 				ret.add( 0d ); //add remaining values
 		}
@@ -522,7 +537,7 @@ public class DataConverter
 			// special case double schema (without cell-object creation, 
 			// cache-friendly row-column copy)
 			double[][] a = new double[n][];
-			double[] c = mb.getDenseBlock();
+			double[] c = mb.getDenseBlockValues();
 			for( int j=0; j<n; j++ )
 				a[j] = (double[])frame.getColumn(j);			
 			int blocksizeIJ = 16; //blocks of a+overhead/c in L1 cache
@@ -662,7 +677,7 @@ public class DataConverter
 				// col pre-allocation, and cache-friendly row-column copy)
 				int m = mb.getNumRows();
 				int n = mb.getNumColumns();
-				double[] a = mb.getDenseBlock();
+				double[] a = mb.getDenseBlockValues();
 				double[][] c = new double[n][m];
 				int blocksizeIJ = 16; //blocks of a/c+overhead in L1 cache
 				if( !mb.isEmptyBlock(false) )
@@ -712,11 +727,9 @@ public class DataConverter
 			//cache-friendly sequential read/append
 			if( !mb.isEmptyBlock(false) ) {
 				if( sparse ){ //SPARSE
-					Iterator<IJV> iter = mb.getSparseBlockIterator();
-					while( iter.hasNext() ) {
-						IJV cell = iter.next();
-						ret[cell.getJ()].appendValue(cell.getI(), 0, cell.getV());
-					}
+					SparseBlockCursor cur = mb.getSparseBlockCursor(0, rows);
+					while( cur.next() )
+						ret[cur.getCol()].appendValue(cur.getRow(), 0, cur.getValue());
 				}
 				else { //DENSE
 					for( int i=0; i<rows; i++ )
@@ -768,15 +781,27 @@ public class DataConverter
 		int cols = mb.getNumColumns();
 		
 		if( mb.isInSparseFormat() ) {
-			Iterator<IJV> iter = mb.getSparseBlockIterator();
-			while( iter.hasNext() ) {
-				IJV cell = iter.next();
-				dest[destPos+cell.getI()*cols+cell.getJ()] = cell.getV();
-			}
+			copySparseToDoubleVector(mb, dest, destPos);
 		}
 		else {
 			//memcopy row major representation if at least 1 non-zero
-			System.arraycopy(mb.getDenseBlock(), 0, dest, destPos, rows*cols);
+			System.arraycopy(mb.getDenseBlockValues(), 0, dest, destPos, rows*cols);
+		}
+	}
+	
+	private static void copySparseToDoubleVector( MatrixBlock mb, double[] dest, int destPos )
+	{
+		//cursor-based copy of sparse row segments
+		int cols = mb.getNumColumns();
+		SparseBlockCursor cur = mb.getSparseBlockCursor(0, mb.getNumRows());
+		while( cur.nextRow() ) {
+			int[] aix = cur.getIndexes();
+			double[] avals = cur.getValues();
+			int apos = cur.getPos();
+			int alen = cur.getSize();
+			int cix = destPos + cur.getRow() * cols;
+			for( int k=apos; k<apos+alen; k++ )
+				dest[cix+aix[k]] = avals[k];
 		}
 	}
 	
@@ -833,12 +858,11 @@ public class DataConverter
 		
 		if (sparse){ // Sparse Print Format
 			if (mb.isInSparseFormat()){	// Block is in sparse format
-				Iterator<IJV> sbi = mb.getSparseBlockIterator();
-				while (sbi.hasNext()){
-					IJV ijv = sbi.next();
-					int row = ijv.getI();
-					int col = ijv.getJ();
-					double value = ijv.getV();
+				SparseBlockCursor cur = mb.getSparseBlockCursor(0, rowLength);
+				while (cur.next()){
+					int row = cur.getRow();
+					int col = cur.getCol();
+					double value = cur.getValue();
 					if (row < rowLength && col < colLength) {
 						// Print (row+1) and (col+1) since for a DML user, everything is 1-indexed
 						sb.append(row+1).append(separator).append(col+1).append(separator);
@@ -114,7 +114,9 @@ public class FastBufferedDataInputStream extends FilterInputStream implements Da
 
 	@Override
 	public char readChar() throws IOException {
-		throw new IOException("Not supported.");
+		readFully(_buff, 0, 2);
+		
+		return (char)(((_buff[0] & 0xFF) << 8) | (_buff[1] & 0xFF));
 	}
 
 	@Override
@@ -137,7 +139,7 @@ public class FastBufferedDataInputStream extends FilterInputStream implements Da
 
 	@Override
 	public float readFloat() throws IOException {
-		throw new IOException("Not supported.");
+		return Float.intBitsToFloat(readInt());
 	}
 
 	@Override
@@ -192,7 +192,7 @@ public class FastBufferedDataOutputStream extends FilterOutputStream implements
 
 	@Override
 	public void writeChar(int v) throws IOException {
-		throw new IOException("Not supported.");
+		writeShort(v);
 	}
 
 	@Override
@@ -202,7 +202,7 @@ public class FastBufferedDataOutputStream extends FilterOutputStream implements
 	
 	@Override
 	public void writeFloat(float v) throws IOException {
-		throw new IOException("Not supported.");
+		writeInt(Float.floatToRawIntBits(v));
 	}
 
 	@Override
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.util;
+
+import java.util.Arrays;
+
+/**
+ * This native long long - double hashmap is an open-addressing (linear probing)
+ * alternative to {@link LongLongDoubleHashMap} for ctable operations which only
+ * require addvalue - extract semantics. Keys and values are stored in primitive
+ * arrays, i.e., without any entry objects, which reduces the memory footprint 
+ * and garbage collection overhead, and allows scans over the entries without
+ * pointer chasing. Entries are accessed via their slot index in [0, capacity).
+ * 
+ * Note: Long.MIN_VALUE is reserved as a marker for empty slots and hence is
+ * not a valid first key (which is no restriction for ctable's positive row indexes).
+ */
+public class LongLongDoubleOpenHashMap 
+{
+	private static final int INIT_CAPACITY = 8;
+	private static final int RESIZE_FACTOR = 2;
+	private static final float LOAD_FACTOR = 0.75f;
+	private static final long EMPTY = Long.MIN_VALUE;
+	
+	private long[] keys1 = null;
+	private long[] keys2 = null;
+	private double[] values = null;
+	private int size = -1;
+	
+	public LongLongDoubleOpenHashMap() {
+		this(INIT_CAPACITY);
+	}
+	
+	public LongLongDoubleOpenHashMap(int capacity) {
+		allocate(UtilFunctions.nextIntPow2(Math.max(capacity, INIT_CAPACITY)));
+		size = 0;
+	}
+	
+	public int size() {
+		return size;
+	}
+	
+	public int getCapacity() {
+		return keys1.length;
+	}
+	
+	public boolean isValid(int ix) {
+		return keys1[ix] != EMPTY;
+	}
+	
+	public long getKey1(int ix) {
+		return keys1[ix];
+	}
+	
+	public long getKey2(int ix) {
+		return keys2[ix];
+	}
+	
+	public double getValue(int ix) {
+		return values[ix];
+	}
+	
+	public void addValue(long key1, long key2, double value)
+	{
+		//probe from hash position until existing or empty slot
+		int mask = keys1.length - 1;
+		int ix = hash(key1, key2) & mask;
+		while( keys1[ix] != EMPTY ) {
+			if( keys1[ix]==key1 && keys2[ix]==key2 ) {
+				values[ix] += value;
+				return; //no need to append or resize
+			}
+			ix = (ix + 1) & mask;
+		}
+		
+		//add non-existing entry (constant time)
+		keys1[ix] = key1;
+		keys2[ix] = key2;
+		values[ix] = value;
+		size++;
+		
+		//resize if necessary
+		if( size >= LOAD_FACTOR*keys1.length )
+			resize();
+	}
+	
+	/**
+	 * Adds all entries of the given map to this map, i.e., 
+	 * merges the two maps by adding values of equal keys.
+	 * 
+	 * @param that map to be merged into this map
+	 */
+	public void addAll(LongLongDoubleOpenHashMap that) {
+		for( int ix=0; ix<that.keys1.length; ix++ )
+			if( that.keys1[ix] != EMPTY )
+				addValue(that.keys1[ix], that.keys2[ix], that.values[ix]);
+	}
+	
+	private void allocate(int capacity) {
+		keys1 = new long[capacity];
+		keys2 = new long[capacity];
+		values = new double[capacity];
+		Arrays.fill(keys1, EMPTY);
+	}
+	
+	private void resize() {
+		//check for integer overflow on resize
+		if( keys1.length > Integer.MAX_VALUE/RESIZE_FACTOR )
+			throw new RuntimeException("Maximum capacity of hash map exceeded.");
+		
+		//resize data arrays and copy existing contents
+		long[] okeys1 = keys1;
+		long[] okeys2 = keys2;
+		double[] ovalues = values;
+		allocate(keys1.length*RESIZE_FACTOR);
+		size = 0;
+		
+		//rehash all entries
+		for( int ix=0; ix<okeys1.length; ix++ )
+			if( okeys1[ix] != EMPTY )
+				addValue(okeys1[ix], okeys2[ix], ovalues[ix]);
+	}
+	
+	private static int hash(long key1, long key2) {
+		//note: linear probing is sensitive to clustered hash codes as
+		//common for ctable keys, so we use a full 64bit mixing (murmur3 
+		//finalizer) instead of the default long-long hash code
+		long h = key1 * 0x9E3779B97F4A7C15L ^ key2;
+		h ^= (h >>> 33);
+		h *= 0xff51afd7ed558ccdL;
+		h ^= (h >>> 33);
+		h *= 0xc4ceb9fe1a85ec53L;
+		return (int)(h ^ (h >>> 33));
+	}
+}
@@ -384,13 +384,20 @@ public class MapReduceTool
 	public static void writeMetaDataFile(String mtdfile, ValueType vt, ValueType[] schema, DataType dt, MatrixCharacteristics mc, 
 			OutputInfo outinfo, FileFormatProperties formatProperties) 
 		throws IOException 
+	{
+		writeMetaDataFile(mtdfile, vt, schema, dt, mc, outinfo, formatProperties, false);
+	}
+	
+	public static void writeMetaDataFile(String mtdfile, ValueType vt, ValueType[] schema, DataType dt, MatrixCharacteristics mc, 
+			OutputInfo outinfo, FileFormatProperties formatProperties, boolean compressed) 
+		throws IOException 
 	{
 		Path pt = new Path(mtdfile);
 		FileSystem fs = FileSystem.get(_rJob);
 		BufferedWriter br = new BufferedWriter(new OutputStreamWriter(fs.create(pt,true)));
 
 		try {
-			String mtd = metaDataToString(vt, schema, dt, mc, outinfo, formatProperties);
+			String mtd = metaDataToString(vt, schema, dt, mc, outinfo, formatProperties, compressed);
 			br.write(mtd);
 			br.close();
 		} catch (Exception e) {
@@ -417,6 +424,12 @@ public class MapReduceTool
 
 	public static String metaDataToString(ValueType vt, ValueType[] schema, DataType dt, MatrixCharacteristics mc,
 			OutputInfo outinfo, FileFormatProperties formatProperties) throws JSONException, DMLRuntimeException
+	{
+		return metaDataToString(vt, schema, dt, mc, outinfo, formatProperties, false);
+	}
+	
+	public static String metaDataToString(ValueType vt, ValueType[] schema, DataType dt, MatrixCharacteristics mc,
+			OutputInfo outinfo, FileFormatProperties formatProperties, boolean compressed) throws JSONException, DMLRuntimeException
 	{
 		OrderedJSONObject mtd = new OrderedJSONObject(); // maintain order in output file
 
@@ -453,6 +466,8 @@ public class MapReduceTool
 			
 		//handle format type and additional arguments	
 		mtd.put(DataExpression.FORMAT_TYPE, OutputInfo.outputInfoToStringExternal(outinfo));
+		if( compressed )
+			mtd.put(DataExpression.COMPRESSEDPARAM, true);
 		if (outinfo == OutputInfo.CSVOutputInfo) {
 			CSVFileFormatProperties csvProperties = (formatProperties==null) ?
 				new CSVFileFormatProperties() : (CSVFileFormatProperties)formatProperties;
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.runtime.util;
+
+/**
+ * Fast splittable pseudo-random number generator based on SplitMix64, as an
+ * alternative to Well1024a for the generation of block-level seeds and uniform
+ * values. The state advances by a constant (the golden gamma) per draw, which
+ * allows to compute the seed of an arbitrary block in constant time, independent
+ * of all other blocks. Hence, results are reproducible for a given seed and block
+ * size, regardless of the number of threads that process these blocks. 
+ */
+public class SplittablePRNGenerator extends PRNGenerator
+{
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+	private static final double DOUBLE_UNIT = 0x1.0p-53;
+	
+	private long _state = 0;
+	
+	public SplittablePRNGenerator() {
+		super();
+	}
+	
+	public SplittablePRNGenerator(long sd) {
+		super();
+		setSeed(sd);
+	}
+	
+	@Override
+	public void setSeed(long sd) {
+		seed = sd;
+		_state = sd;
+	}
+	
+	public long nextLong() {
+		return mix64(_state += GOLDEN_GAMMA);
+	}
+	
+	/**
+	 * Returns a uniformly distributed long value in [0, n), 
+	 * using rejection in order to avoid a modulo bias.
+	 * 
+	 * @param n exclusive upper bound
+	 * @return long value in [0, n)
+	 */
+	public long nextLong(long n) {
+		if( n <= 0 )
+			throw new IllegalArgumentException("n must be positive");
+		long bits, val;
+		do {
+			bits = nextLong() >>> 1;
+			val = bits % n;
+		} while( bits - val + (n-1) < 0L );
+		return val;
+	}
+	
+	@Override
+	public double nextDouble() {
+		return (nextLong() >>> 11) * DOUBLE_UNIT;
+	}
+	
+	/**
+	 * Creates a new, statistically independent generator, seeded 
+	 * by the next value of this generator.
+	 * 
+	 * @return new generator
+	 */
+	public SplittablePRNGenerator split() {
+		return new SplittablePRNGenerator(nextLong());
+	}
+	
+	/**
+	 * Obtains the seed of the given block, which is equivalent to the
+	 * (blockIndex+1)-th value of a generator with the given seed.
+	 * 
+	 * @param seed global seed
+	 * @param blockIndex block index (0-based)
+	 * @return block-level seed
+	 */
+	public static long getBlockSeed(long seed, long blockIndex) {
+		return mix64(seed + (blockIndex+1) * GOLDEN_GAMMA);
+	}
+	
+	private static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+}
@@ -80,7 +80,7 @@ public class SGDNesterovUpdate extends PackageFunction {
 			// v = mu * v - lr * dX
 			updatedV = new Matrix( "tmp_" + rand.nextLong(), v.getNumRows(), v.getNumColumns(), ValueType.Double );
 			MatrixBlock updatedVMB = allocateDenseMatrixBlock(updatedV);
-			double [] updatedVData = updatedVMB.getDenseBlock();
+			double [] updatedVData = updatedVMB.getDenseBlockValues();
 			multiplyByConstant(v, mu, updatedVData);
 			multiplyByConstant(dX, -lr, updatedVData);
 			updatedVMB.setNonZeros(-1); // rather than updatedVMB.recomputeNonZeros();
@@ -89,7 +89,7 @@ public class SGDNesterovUpdate extends PackageFunction {
 			// X = X - mu * v_prev + (1 + mu) * v
 			updatedX = new Matrix( "tmp_" + rand.nextLong(), X.getNumRows(), X.getNumColumns(), ValueType.Double );
 			MatrixBlock updatedXMB = allocateDenseMatrixBlock(updatedX);
-			double [] updatedXData = updatedXMB.getDenseBlock();
+			double [] updatedXData = updatedXMB.getDenseBlockValues();
 			copy(X, updatedXData);
 			multiplyByConstant(v, -mu, updatedXData);
 			multiplyByConstant(updatedVData, 1+mu, updatedXData);
@@ -132,7 +132,7 @@ public class SGDNesterovUpdate extends PackageFunction {
 			}
 		}
 		else {
-			double [] denseBlock = in.getDenseBlock();
+			double [] denseBlock = in.getDenseBlockValues();
 			if(denseBlock != null) {
 				// If not empty block
 				for(int i = 0; i < out.length; i++) {
@@ -152,7 +152,7 @@ public class SGDNesterovUpdate extends PackageFunction {
 			}
 		}
 		else {
-			double [] denseBlock = src.getDenseBlock();
+			double [] denseBlock = src.getDenseBlockValues();
 			if(denseBlock != null) {
 				// If not empty block
 				System.arraycopy(denseBlock, 0, dest, 0, dest.length);
@@ -109,6 +109,8 @@ public class Statistics
 	private static AtomicLong lTotalUIPVar = new AtomicLong(0);
 	private static AtomicLong lTotalLix = new AtomicLong(0);
 	private static AtomicLong lTotalLixUIP = new AtomicLong(0);
+	private static AtomicLong lTotalRixView = new AtomicLong(0);
+	private static AtomicLong lTotalTransposeView = new AtomicLong(0);
 	
 	public static long cudaInitTime = 0;
 	public static long cudaLibrariesInitTime = 0;
@@ -221,6 +223,22 @@ public class Statistics
 		lTotalLix.incrementAndGet();
 	}
 
+	public static long getTotalRixView() {
+		return lTotalRixView.get();
+	}
+
+	public static void incrementTotalRixView() {
+		lTotalRixView.incrementAndGet();
+	}
+
+	public static long getTotalTransposeView() {
+		return lTotalTransposeView.get();
+	}
+
+	public static void incrementTotalTransposeView() {
+		lTotalTransposeView.incrementAndGet();
+	}
+
 	public static void resetNoOfCompiledJobs( int count )
 	{
 		//reset both mr/sp for multiple tests within one jvm
@@ -427,6 +445,8 @@ public class Statistics
 		lTotalLix.set(0);
 		lTotalLixUIP.set(0);
 		lTotalUIPVar.set(0);
+		lTotalRixView.set(0);
+		lTotalTransposeView.set(0);
 		
 		resetJITCompileTime();
 		resetJVMgcTime();
@@ -718,6 +738,8 @@ public class Statistics
 			sb.append("Cache hits (Mem, WB, FS, HDFS):\t" + CacheStatistics.displayHits() + ".\n");
 			sb.append("Cache writes (WB, FS, HDFS):\t" + CacheStatistics.displayWrites() + ".\n");
 			sb.append("Cache times (ACQr/m, RLS, EXP):\t" + CacheStatistics.displayTime() + " sec.\n");
+			if( CacheStatistics.getSparseConversions() > 0 )
+				sb.append("Cache sparse conversions:\t" + CacheStatistics.getSparseConversions() + ".\n");
 			sb.append("HOP DAGs recompiled (PRED, SB):\t" + getHopRecompiledPredDAGs() + "/" + getHopRecompiledSBDAGs() + ".\n");
 			sb.append("HOP DAGs recompile time:\t" + String.format("%.3f", ((double)getHopRecompileTime())/1000000000) + " sec.\n");
 			if( getFunRecompiles()>0 ) {
@@ -750,6 +772,10 @@ public class Statistics
 				sb.append("ParFor result merge time:\t" + String.format("%.3f", ((double)getParforMergeTime())/1000) + " sec.\n");	
 				sb.append("ParFor total update in-place:\t" + lTotalUIPVar + "/" + lTotalLixUIP + "/" + lTotalLix + "\n");
 			}
+			if( lTotalRixView.get()>0 )
+				sb.append("Total right indexing views:\t" + lTotalRixView + ".\n");
+			if( lTotalTransposeView.get()>0 )
+				sb.append("Total transpose views:\t\t" + lTotalTransposeView + ".\n");
 			sb.append("Total JIT compile time:\t\t" + ((double)getJITCompileTime())/1000 + " sec.\n");
 			sb.append("Total JVM GC count:\t\t" + getJVMgcCount() + ".\n");
 			sb.append("Total JVM GC time:\t\t" + ((double)getJVMgcTime())/1000 + " sec.\n");
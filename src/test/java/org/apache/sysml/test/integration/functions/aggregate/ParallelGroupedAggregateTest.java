@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.aggregate;
+
+import org.apache.sysml.runtime.instructions.mr.GroupedAggregateInstruction;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.Operator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the multi-threaded grouped aggregate over column vector targets 
+ * against its single-threaded counterpart, for both the row-partitioned 
+ * (few groups) and the sort-based (many groups) parallelization strategies.
+ */
+public class ParallelGroupedAggregateTest extends AutomatedTestBase
+{
+	private static final int rows = 1100003;
+	private static final int fewGroups = 57;
+	private static final int manyGroups = 250007;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.05;
+	private static final double eps = 1e-8;
+	private static final int k = 6;
+	
+	@Override
+	public void setUp() {
+		
+	}
+	
+	@Test
+	public void testSumDenseFewGroups() {
+		runGroupedAggregateTest("sum", null, sparsity1, false, fewGroups);
+	}
+	
+	@Test
+	public void testSumSparseFewGroups() {
+		runGroupedAggregateTest("sum", null, sparsity2, false, fewGroups);
+	}
+	
+	@Test
+	public void testSumWeightsSparseFewGroups() {
+		runGroupedAggregateTest("sum", null, sparsity2, true, fewGroups);
+	}
+	
+	@Test
+	public void testCountDenseFewGroups() {
+		runGroupedAggregateTest("count", null, sparsity1, false, fewGroups);
+	}
+	
+	@Test
+	public void testCountWeightsDenseFewGroups() {
+		runGroupedAggregateTest("count", null, sparsity1, true, fewGroups);
+	}
+	
+	@Test
+	public void testMeanDenseFewGroups() {
+		runGroupedAggregateTest("mean", null, sparsity1, false, fewGroups);
+	}
+	
+	@Test
+	public void testVarianceSparseFewGroups() {
+		runGroupedAggregateTest("variance", null, sparsity2, false, fewGroups);
+	}
+	
+	@Test
+	public void testCM3WeightsDenseFewGroups() {
+		runGroupedAggregateTest("centralmoment", "3", sparsity1, true, fewGroups);
+	}
+	
+	@Test
+	public void testSumDenseManyGroups() {
+		runGroupedAggregateTest("sum", null, sparsity1, false, manyGroups);
+	}
+	
+	@Test
+	public void testCountDenseManyGroups() {
+		runGroupedAggregateTest("count", null, sparsity1, false, manyGroups);
+	}
+	
+	@Test
+	public void testVarianceWeightsSparseManyGroups() {
+		runGroupedAggregateTest("variance", null, sparsity2, true, manyGroups);
+	}
+	
+	@Test
+	public void testCM4DenseManyGroups() {
+		runGroupedAggregateTest("centralmoment", "4", sparsity1, false, manyGroups);
+	}
+	
+	private void runGroupedAggregateTest(String fn, String order, double sparsity, boolean weights, int numGroups)
+	{
+		try
+		{
+			//generate groups w/ values in [1,numGroups+1] (incl out-of-range), target, and weights
+			double[][] G = TestUtils.round(TestUtils.generateTestMatrix(rows, 1, 1, numGroups+1, 1.0, 7));
+			double[][] A = TestUtils.generateTestMatrix(rows, 1, -1, 1, sparsity, 3);
+			MatrixBlock groups = DataConverter.convertToMatrixBlock(G);
+			MatrixBlock target = DataConverter.convertToMatrixBlock(A);
+			target.examSparsity();
+			MatrixBlock wghts = !weights ? null : DataConverter.convertToMatrixBlock(
+				TestUtils.round(TestUtils.generateTestMatrix(rows, 1, 1, 3, 1.0, 11)));
+			
+			//single- and multi-threaded grouped aggregate
+			Operator op = GroupedAggregateInstruction.parseGroupedAggOperator(fn, order);
+			MatrixBlock ret1 = groups.groupedAggOperations(target, wghts, new MatrixBlock(), numGroups, op, 1);
+			MatrixBlock ret2 = groups.groupedAggOperations(target, wghts, new MatrixBlock(), numGroups, op, k);
+			
+			//compare results
+			Assert.assertEquals(ret1.getNumRows(), ret2.getNumRows());
+			Assert.assertEquals(ret1.getNumColumns(), ret2.getNumColumns());
+			double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatrices(d1, d2, numGroups, 1, eps);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
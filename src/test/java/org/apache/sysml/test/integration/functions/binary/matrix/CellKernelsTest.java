@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.binary.matrix;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.functionobjects.Builtin;
+import org.apache.sysml.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysml.runtime.functionobjects.Divide;
+import org.apache.sysml.runtime.functionobjects.Minus;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.functionobjects.ValueFunction;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.LibMatrixBincell;
+import org.apache.sysml.runtime.matrix.data.LibMatrixCellKernels;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.LeftScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a component test for the specialized cell kernels of common value 
+ * functions, which compares the results of binary, scalar and min/max aggregate
+ * operations over dense blocks against a generic reference computation. 
+ * 
+ */
+public class CellKernelsTest extends AutomatedTestBase 
+{
+	private final static int rows = 1213;
+	private final static int cols = 947;
+	private final static double eps = 1e-10;
+	
+	private enum AccessType {
+		MM,
+		MV_COL,
+		MV_ROW,
+		SCALAR_RIGHT,
+		SCALAR_LEFT,
+	}
+	
+	private final static ValueFunction[] fns = new ValueFunction[] {
+		Plus.getPlusFnObject(),
+		Minus.getMinusFnObject(),
+		Multiply.getMultiplyFnObject(),
+		Divide.getDivideFnObject(),
+		Builtin.getBuiltinFnObject(BuiltinCode.MIN),
+		Builtin.getBuiltinFnObject(BuiltinCode.MAX),
+	};
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testCellKernelsMatrixMatrix() {
+		runCellKernelsTest(AccessType.MM, 1);
+	}
+	
+	@Test
+	public void testCellKernelsMatrixMatrixParallel() {
+		runCellKernelsTest(AccessType.MM, 4);
+	}
+	
+	@Test
+	public void testCellKernelsMatrixColVector() {
+		runCellKernelsTest(AccessType.MV_COL, 1);
+	}
+	
+	@Test
+	public void testCellKernelsMatrixColVectorParallel() {
+		runCellKernelsTest(AccessType.MV_COL, 4);
+	}
+	
+	@Test
+	public void testCellKernelsMatrixRowVector() {
+		runCellKernelsTest(AccessType.MV_ROW, 1);
+	}
+	
+	@Test
+	public void testCellKernelsMatrixRowVectorParallel() {
+		runCellKernelsTest(AccessType.MV_ROW, 4);
+	}
+	
+	@Test
+	public void testCellKernelsRightScalar() {
+		runCellKernelsTest(AccessType.SCALAR_RIGHT, 1);
+	}
+	
+	@Test
+	public void testCellKernelsLeftScalar() {
+		runCellKernelsTest(AccessType.SCALAR_LEFT, 1);
+	}
+	
+	@Test
+	public void testCellKernelsMinMaxAggregates() {
+		runMinMaxAggregateTest();
+	}
+	
+	private void runCellKernelsTest(AccessType type, int k) 
+	{
+		try
+		{
+			//data generation (incl zeros and NaNs for min/max semantics)
+			double[][] A = getRandomMatrix(rows, cols, -10, 10, 0.9, 7);
+			A[3][5] = Double.NaN;
+			int bcols = (type==AccessType.MV_COL) ? 1 : cols;
+			int brows = (type==AccessType.MV_ROW) ? 1 : rows;
+			double[][] B = getRandomMatrix(brows, bcols, -10, 10, 0.9, 3);
+			B[0][0] = Double.NaN;
+			MatrixBlock mbA = DataConverter.convertToMatrixBlock(A);
+			MatrixBlock mbB = DataConverter.convertToMatrixBlock(B);
+			double s = 7.3;
+			
+			for( ValueFunction fn : fns ) {
+				if( LibMatrixCellKernels.getKernel(fn) == null )
+					Assert.fail("Missing cell kernel for: "+fn.getClass().getSimpleName());
+				
+				//compute specialized results
+				MatrixBlock ret = null;
+				switch( type ) {
+					case MM:
+					case MV_COL:
+					case MV_ROW: {
+						ret = new MatrixBlock(rows, cols, false);
+						BinaryOperator op = new BinaryOperator(fn);
+						if( k > 1 )
+							LibMatrixBincell.bincellOp(mbA, mbB, ret, op, k);
+						else
+							ret = (MatrixBlock) mbA.binaryOperations(op, mbB, ret);
+						break;
+					}
+					case SCALAR_RIGHT:
+						ret = (MatrixBlock) mbA.scalarOperations(
+							new RightScalarOperator(fn, s), new MatrixBlock());
+						break;
+					case SCALAR_LEFT:
+						ret = (MatrixBlock) mbA.scalarOperations(
+							new LeftScalarOperator(fn, s), new MatrixBlock());
+						break;
+				}
+				
+				//compute generic reference results and compare
+				double[][] R = new double[rows][cols];
+				long nnz = 0;
+				for( int i=0; i<rows; i++ )
+					for( int j=0; j<cols; j++ ) {
+						switch( type ) {
+							case MM:     R[i][j] = fn.execute(A[i][j], B[i][j]); break;
+							case MV_COL: R[i][j] = fn.execute(A[i][j], B[i][0]); break;
+							case MV_ROW: R[i][j] = fn.execute(A[i][j], B[0][j]); break;
+							case SCALAR_RIGHT: R[i][j] = fn.execute(A[i][j], s); break;
+							case SCALAR_LEFT:  R[i][j] = fn.execute(s, A[i][j]); break;
+						}
+						nnz += (R[i][j] != 0) ? 1 : 0;
+					}
+				compareResults(R, ret, nnz, fn);
+			}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runMinMaxAggregateTest() 
+	{
+		try
+		{
+			double[][] A = getRandomMatrix(rows, cols, -10, 10, 0.9, 7);
+			MatrixBlock mbA = DataConverter.convertToMatrixBlock(A);
+			MatrixBlock mbAs = DataConverter.convertToMatrixBlock(
+				getRandomMatrix(rows, cols, -10, 10, 0.05, 9));
+			
+			for( String opcode : new String[]{"uamax","uamin","uarmax","uarmin","uacmax","uacmin"} ) {
+				for( MatrixBlock in : new MatrixBlock[]{mbA, mbAs} ) {
+					double[][] X = DataConverter.convertToDoubleMatrix(in);
+					boolean max = opcode.endsWith("max");
+					boolean row = opcode.startsWith("uar");
+					boolean col = opcode.startsWith("uac");
+					double init = max ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+					double[][] R = new double[col?1:rows][row?1:cols];
+					for( int i=0; i<R.length; i++ )
+						for( int j=0; j<R[i].length; j++ )
+							R[i][j] = init;
+					for( int i=0; i<rows; i++ )
+						for( int j=0; j<cols; j++ ) {
+							int ri = col ? 0 : i, rj = row ? 0 : j;
+							if( !row && !col ) { ri = 0; rj = 0; }
+							R[ri][rj] = max ? Math.max(R[ri][rj], X[i][j]) : Math.min(R[ri][rj], X[i][j]);
+						}
+					if( !row && !col )
+						R = new double[][]{{R[0][0]}};
+					
+					AggregateUnaryOperator op = InstructionUtils.parseBasicAggregateUnaryOperator(opcode);
+					MatrixBlock ret = (MatrixBlock) in.aggregateUnaryOperations(op, 
+						new MatrixBlock(), rows, cols, new MatrixIndexes(1, 1), true);
+					TestUtils.compareMatrices(R, DataConverter.convertToDoubleMatrix(ret), 
+						R.length, R[0].length, eps);
+				}
+			}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private static void compareResults(double[][] R, MatrixBlock ret, long nnz, ValueFunction fn) {
+		double[][] C = DataConverter.convertToDoubleMatrix(ret);
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ ) {
+				if( Double.isNaN(R[i][j]) != Double.isNaN(C[i][j]) 
+					|| (!Double.isNaN(R[i][j]) && Math.abs(R[i][j]-C[i][j]) > eps) )
+					Assert.fail("Wrong result for "+fn.getClass().getSimpleName()
+						+" at ("+i+","+j+"): "+C[i][j]+" vs "+R[i][j]);
+			}
+		Assert.assertEquals("Wrong nnz for "+fn.getClass().getSimpleName(), nnz, ret.getNonZeros());
+	}
+}
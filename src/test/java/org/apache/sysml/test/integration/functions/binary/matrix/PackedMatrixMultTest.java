@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.binary.matrix;
+
+import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the packed dense-dense matrix multiplication kernel against a naive
+ * reference, and the bit-identical results of single- and multi-threaded execution.
+ */
+public class PackedMatrixMultTest extends AutomatedTestBase
+{
+	private static final int rows1 = 517;
+	private static final int rows2 = 1345;
+	private static final int cols1 = 503;
+	private static final int cols2 = 37;
+	private static final double sparsity1 = 1.0;
+	private static final double sparsity2 = 0.95;
+	private static final double sparsity3 = 0.5;
+	
+	@Override
+	public void setUp() {
+		
+	}
+	
+	@Test
+	public void testSquareDense() {
+		runPackedMatrixMultTest(rows1, cols1, cols1, sparsity1);
+	}
+	
+	@Test
+	public void testSquareAlmostDense() {
+		runPackedMatrixMultTest(rows1, cols1, cols1, sparsity2);
+	}
+	
+	@Test
+	public void testSquareSparse() {
+		runPackedMatrixMultTest(rows1, cols1, cols1, sparsity3);
+	}
+	
+	@Test
+	public void testTallSkinnyDense() {
+		runPackedMatrixMultTest(rows2, cols2, cols1, sparsity1);
+	}
+	
+	@Test
+	public void testWideDense() {
+		runPackedMatrixMultTest(cols2, cols1, rows2, sparsity1);
+	}
+	
+	@Test
+	public void testTallSkinnyAlmostDense() {
+		runPackedMatrixMultTest(rows2, cols2, cols1, sparsity2);
+	}
+	
+	private void runPackedMatrixMultTest(int m, int cd, int n, double sparsity)
+	{
+		try
+		{
+			double[][] A = TestUtils.generateTestMatrix(m, cd, -1, 1, sparsity, 7);
+			double[][] B = TestUtils.generateTestMatrix(cd, n, -1, 1, 1.0, 3);
+			MatrixBlock mb1 = DataConverter.convertToMatrixBlock(A);
+			MatrixBlock mb2 = DataConverter.convertToMatrixBlock(B);
+			
+			//single- and multi-threaded matrix mult
+			MatrixBlock ret1 = new MatrixBlock(m, n, false);
+			LibMatrixMult.matrixMult(mb1, mb2, ret1);
+			MatrixBlock ret2 = new MatrixBlock(m, n, false);
+			LibMatrixMult.matrixMult(mb1, mb2, ret2, 7);
+			
+			//naive reference
+			double[][] C = new double[m][n];
+			for( int i=0; i<m; i++ )
+				for( int k=0; k<cd; k++ )
+					for( int j=0; j<n; j++ )
+						C[i][j] += A[i][k] * B[k][j];
+			
+			//compare results (partitioning must not affect results)
+			double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatrices(C, d1, m, n, 1e-10);
+			TestUtils.compareMatrices(d1, d2, m, n, 0);
+			Assert.assertEquals(ret1.getNonZeros(), ret2.getNonZeros());
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.binary.matrix;
+
+import org.apache.sysml.runtime.functionobjects.Divide;
+import org.apache.sysml.runtime.functionobjects.LessThan;
+import org.apache.sysml.runtime.functionobjects.Minus;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.functionobjects.ValueFunction;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the multi-threaded binary cell operations (MM, MVc, MVr, and in-place)
+ * against their single-threaded counterparts for dense and sparse inputs.
+ */
+public class ParallelBinaryCellTest extends AutomatedTestBase
+{
+	private static final int rows = 2500;
+	private static final int cols = 1500;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.3;
+	private static final int k = 6;
+	
+	@Override
+	public void setUp() {
+		
+	}
+	
+	@Test
+	public void testPlusDenseDense() {
+		runBinaryCellTest(Plus.getPlusFnObject(), cols, sparsity1, sparsity1, false);
+	}
+	
+	@Test
+	public void testLessDenseDense() {
+		runBinaryCellTest(LessThan.getLessThanFnObject(), cols, sparsity1, sparsity1, false);
+	}
+	
+	@Test
+	public void testPlusSparseSparse() {
+		runBinaryCellTest(Plus.getPlusFnObject(), cols, sparsity2, sparsity2, false);
+	}
+	
+	@Test
+	public void testMultSparseSparse() {
+		runBinaryCellTest(Multiply.getMultiplyFnObject(), cols, sparsity2, sparsity2, false);
+	}
+	
+	@Test
+	public void testMultSparseDense() {
+		runBinaryCellTest(Multiply.getMultiplyFnObject(), cols, sparsity2, sparsity1, false);
+	}
+	
+	@Test
+	public void testMinusDenseSparse() {
+		runBinaryCellTest(Minus.getMinusFnObject(), cols, sparsity1, sparsity2, false);
+	}
+	
+	@Test
+	public void testDivDenseColVector() {
+		runBinaryCellTest(Divide.getDivideFnObject(), 1, sparsity1, 1.0, false);
+	}
+	
+	@Test
+	public void testMultSparseColVector() {
+		runBinaryCellTest(Multiply.getMultiplyFnObject(), 1, sparsity2, sparsity1, false);
+	}
+	
+	@Test
+	public void testMinusDenseRowVector() {
+		runBinaryCellTest(Minus.getMinusFnObject(), -1, sparsity1, sparsity1, false);
+	}
+	
+	@Test
+	public void testMultSparseRowVector() {
+		runBinaryCellTest(Multiply.getMultiplyFnObject(), -1, sparsity2, sparsity2, false);
+	}
+	
+	@Test
+	public void testPlusDenseDenseInPlace() {
+		runBinaryCellTest(Plus.getPlusFnObject(), cols, sparsity1, sparsity1, true);
+	}
+	
+	@Test
+	public void testPlusSparseSparseInPlace() {
+		runBinaryCellTest(Plus.getPlusFnObject(), cols, sparsity2, sparsity2, true);
+	}
+	
+	@Test
+	public void testMultSparseDenseInPlace() {
+		runBinaryCellTest(Multiply.getMultiplyFnObject(), cols, sparsity2, sparsity1, true);
+	}
+	
+	@Test
+	public void testLessDenseDenseInPlace() {
+		runBinaryCellTest(LessThan.getLessThanFnObject(), cols, sparsity1, sparsity1, true);
+	}
+	
+	/**
+	 * 
+	 * @param fn value function
+	 * @param cols2 number of columns of the rhs (cols for MM, 1 for MVc, -1 for a MVr row vector)
+	 * @param sp1 sparsity of the lhs
+	 * @param sp2 sparsity of the rhs
+	 * @param inplace in-place operation on the lhs
+	 */
+	private void runBinaryCellTest(ValueFunction fn, int cols2, double sp1, double sp2, boolean inplace)
+	{
+		try
+		{
+			int rows2 = (cols2 < 0) ? 1 : rows;
+			int ncols2 = (cols2 < 0) ? cols : cols2;
+			double[][] A = TestUtils.generateTestMatrix(rows, cols, -1, 1, sp1, 7);
+			double[][] B = TestUtils.generateTestMatrix(rows2, ncols2, -1, 1, sp2, 3);
+			MatrixBlock mb2 = DataConverter.convertToMatrixBlock(B);
+			
+			//single- and multi-threaded binary operations
+			MatrixBlock ret1 = null, ret2 = null;
+			if( inplace ) {
+				ret1 = DataConverter.convertToMatrixBlock(A);
+				ret1.binaryOperationsInPlace(new BinaryOperator(fn), mb2);
+				ret2 = DataConverter.convertToMatrixBlock(A);
+				ret2.binaryOperationsInPlace(new BinaryOperator(fn, k), mb2);
+			}
+			else {
+				MatrixBlock mb1 = DataConverter.convertToMatrixBlock(A);
+				ret1 = (MatrixBlock) mb1.binaryOperations(new BinaryOperator(fn), mb2, new MatrixBlock());
+				ret2 = (MatrixBlock) mb1.binaryOperations(new BinaryOperator(fn, k), mb2, new MatrixBlock());
+			}
+			
+			//compare results (partitioning must not affect results)
+			double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatrices(d1, d2, rows, cols, 0);
+			long nnz = 0;
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					nnz += (d1[i][j] != 0) ? 1 : 0;
+			Assert.assertEquals(nnz, ret1.getNonZeros());
+			Assert.assertEquals(nnz, ret2.getNonZeros());
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
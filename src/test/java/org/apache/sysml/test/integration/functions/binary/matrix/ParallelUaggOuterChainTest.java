@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.binary.matrix;
+
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Test;
+
+/**
+ * Tests the multi-threaded unary aggregate outer chain (e.g., rowSums(outer(X,Y,"&lt;")))
+ * against its single-threaded counterpart and, for sums, against a naive outer 
+ * comparison, for all supported comparison operators and aggregates as well as 
+ * dense and sparse inputs.
+ */
+public class ParallelUaggOuterChainTest extends AutomatedTestBase
+{
+	private static final int rows = 70001;
+	private static final int cols = 231;
+	private static final int k = 6;
+	
+	private static final String[] cmpOps = new String[]{"<", "<=", ">", ">=", "==", "!="};
+	
+	private enum AggType {
+		ROW_SUMS, COL_SUMS, SUM, ROW_INDEX_MAX, ROW_INDEX_MIN
+	}
+	
+	@Override
+	public void setUp() {
+		
+	}
+	
+	@Test
+	public void testRowSumsDense() {
+		runParallelUaggOuterChainTest(AggType.ROW_SUMS, false);
+	}
+	
+	@Test
+	public void testRowSumsSparse() {
+		runParallelUaggOuterChainTest(AggType.ROW_SUMS, true);
+	}
+	
+	@Test
+	public void testColSumsDense() {
+		runParallelUaggOuterChainTest(AggType.COL_SUMS, false);
+	}
+	
+	@Test
+	public void testColSumsSparse() {
+		runParallelUaggOuterChainTest(AggType.COL_SUMS, true);
+	}
+	
+	@Test
+	public void testSumDense() {
+		runParallelUaggOuterChainTest(AggType.SUM, false);
+	}
+	
+	@Test
+	public void testSumSparse() {
+		runParallelUaggOuterChainTest(AggType.SUM, true);
+	}
+	
+	@Test
+	public void testRowIndexMaxDense() {
+		runParallelUaggOuterChainTest(AggType.ROW_INDEX_MAX, false);
+	}
+	
+	@Test
+	public void testRowIndexMaxSparse() {
+		runParallelUaggOuterChainTest(AggType.ROW_INDEX_MAX, true);
+	}
+	
+	@Test
+	public void testRowIndexMinDense() {
+		runParallelUaggOuterChainTest(AggType.ROW_INDEX_MIN, false);
+	}
+	
+	@Test
+	public void testRowIndexMinSparse() {
+		runParallelUaggOuterChainTest(AggType.ROW_INDEX_MIN, true);
+	}
+	
+	private void runParallelUaggOuterChainTest(AggType type, boolean sparse) 
+	{
+		try
+		{
+			//generate vectors w/ many duplicates (rounded values)
+			double sp = sparse ? 0.1 : 0.9;
+			double[][] X = TestUtils.round(TestUtils.generateTestMatrix(rows, 1, -50, 50, sp, 7));
+			double[][] Y = TestUtils.round(TestUtils.generateTestMatrix(1, cols, -50, 50, 0.9, 3));
+			MatrixBlock mbX = DataConverter.convertToMatrixBlock(X);
+			MatrixBlock mbY = DataConverter.convertToMatrixBlock(Y);
+			
+			String opcode = null;
+			switch( type ) {
+				case ROW_SUMS: opcode = "uark+"; break;
+				case COL_SUMS: opcode = "uack+"; break;
+				case SUM: opcode = "uak+"; break;
+				case ROW_INDEX_MAX: opcode = "uarimax"; break;
+				case ROW_INDEX_MIN: opcode = "uarimin"; break;
+			}
+			AggregateUnaryOperator uaggOp = InstructionUtils.parseBasicAggregateUnaryOperator(opcode);
+			
+			for( String cmpOp : cmpOps ) {
+				BinaryOperator bOp = InstructionUtils.parseBinaryOperator(cmpOp);
+				
+				//colSums are computed over the right-hand-side vector (see CP instruction)
+				MatrixBlock left = (type==AggType.COL_SUMS) ? mbY : mbX;
+				MatrixBlock right = (type==AggType.COL_SUMS) ? mbX : mbY;
+				MatrixBlock ret1 = left.uaggouterchainOperations(left, right, null, bOp, uaggOp, 1);
+				MatrixBlock ret2 = left.uaggouterchainOperations(left, right, null, bOp, uaggOp, k);
+				
+				//compare single-threaded and multi-threaded results
+				double[][] C1 = DataConverter.convertToDoubleMatrix(ret1);
+				double[][] C2 = DataConverter.convertToDoubleMatrix(ret2);
+				TestUtils.compareMatrices(C1, C2, ret1.getNumRows(), ret1.getNumColumns(), 0);
+				
+				//compare sums with naive outer comparisons
+				if( type==AggType.ROW_SUMS || type==AggType.COL_SUMS || type==AggType.SUM ) {
+					double[][] R = computeNaiveOuterSums(X, Y, bOp, type);
+					TestUtils.compareMatrices(R, C1, R.length, R[0].length, 0);
+				}
+			}
+		}
+		catch(DMLRuntimeException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private static double[][] computeNaiveOuterSums(double[][] X, double[][] Y, BinaryOperator bOp, AggType type) 
+		throws DMLRuntimeException
+	{
+		double[][] R = null;
+		switch( type ) {
+			case ROW_SUMS: R = new double[rows][2]; break;
+			case COL_SUMS: R = new double[2][cols]; break;
+			default: R = new double[1][2]; break;
+		}
+		
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ ) {
+				double val = bOp.fn.execute(X[i][0], Y[0][j]);
+				switch( type ) {
+					case ROW_SUMS: R[i][0] += val; break;
+					case COL_SUMS: R[0][j] += val; break;
+					default: R[0][0] += val; break;
+				}
+			}
+		
+		return R;
+	}
+}
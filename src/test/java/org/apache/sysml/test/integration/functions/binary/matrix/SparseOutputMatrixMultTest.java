@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.binary.matrix;
+
+import java.util.TreeMap;
+
+import org.apache.sysml.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the sparse-sparse matrix multiplication with sparse output (symbolic
+ * and numeric phase), including dense and hash row accumulators.
+ */
+public class SparseOutputMatrixMultTest extends AutomatedTestBase
+{
+	private static final int rows = 1033;
+	private static final int cols1 = 1221;
+	private static final int cols2 = 300017;
+	private static final double sparsity1 = 0.01;
+	private static final double sparsity2 = 0.002;
+	private static final double sparsity3 = 0.00002;
+	
+	@Override
+	public void setUp() {
+		
+	}
+	
+	@Test
+	public void testSquareSparse() {
+		runSparseOutputMatrixMultTest(rows, cols1, cols1, sparsity1, sparsity1, 1);
+	}
+	
+	@Test
+	public void testSquareSparseParallel() {
+		runSparseOutputMatrixMultTest(rows, cols1, cols1, sparsity1, sparsity1, 6);
+	}
+	
+	@Test
+	public void testSquareVerySparseParallel() {
+		runSparseOutputMatrixMultTest(rows, cols1, cols1, sparsity2, sparsity2, 6);
+	}
+	
+	@Test
+	public void testWideHashAccumulator() {
+		runSparseOutputMatrixMultTest(rows, cols1, cols2, sparsity1, sparsity3, 1);
+	}
+	
+	@Test
+	public void testWideHashAccumulatorParallel() {
+		runSparseOutputMatrixMultTest(rows, cols1, cols2, sparsity1, sparsity3, 6);
+	}
+	
+	private void runSparseOutputMatrixMultTest(int m, int cd, int n, double sp1, double sp2, int k)
+	{
+		try
+		{
+			MatrixBlock mb1 = MatrixBlock.randOperations(m, cd, sp1, -1, 1, "uniform", 7);
+			MatrixBlock mb2 = MatrixBlock.randOperations(cd, n, sp2, -1, 1, "uniform", 3);
+			
+			//sparse-sparse matrix mult
+			MatrixBlock ret = new MatrixBlock(m, n, true);
+			if( k > 1 )
+				LibMatrixMult.matrixMult(mb1, mb2, ret, k);
+			else
+				LibMatrixMult.matrixMult(mb1, mb2, ret);
+			Assert.assertTrue(ret.isInSparseFormat());
+			Assert.assertTrue(ret.getSparseBlock() instanceof SparseBlockCSR);
+			
+			//naive reference and comparison of rows
+			SparseBlock a = mb1.getSparseBlock();
+			SparseBlock b = mb2.getSparseBlock();
+			SparseBlock c = ret.getSparseBlock();
+			long nnz = 0;
+			for( int i=0; i<m; i++ ) {
+				TreeMap<Integer, Double> row = new TreeMap<Integer, Double>();
+				for( int j=a.pos(i); !a.isEmpty(i) && j<a.pos(i)+a.size(i); j++ ) {
+					int aix = a.indexes(i)[j];
+					for( int l=b.pos(aix); !b.isEmpty(aix) && l<b.pos(aix)+b.size(aix); l++ ) {
+						Double val = row.get(b.indexes(aix)[l]);
+						double prod = a.values(i)[j] * b.values(aix)[l];
+						row.put(b.indexes(aix)[l], (val!=null) ? val + prod : prod);
+					}
+				}
+				Assert.assertEquals(row.size(), c.size(i));
+				int pos = c.pos(i);
+				for( Integer j : row.keySet() ) {
+					Assert.assertEquals((int)j, c.indexes(i)[pos]);
+					Assert.assertEquals(row.get(j), c.values(i)[pos++], 1e-12);
+				}
+				nnz += row.size();
+			}
+			Assert.assertEquals(nnz, ret.getNonZeros());
+			
+			//comparison w/ dense matrix mult (for moderate sizes)
+			if( (long)m * n < 4*1024*1024 ) {
+				double[][] A = DataConverter.convertToDoubleMatrix(mb1);
+				double[][] B = DataConverter.convertToDoubleMatrix(mb2);
+				double[][] C = new double[m][n];
+				for( int i=0; i<m; i++ )
+					for( int l=0; l<cd; l++ )
+						for( int j=0; j<n && A[i][l]!=0; j++ )
+							C[i][j] += A[i][l] * B[l][j];
+				TestUtils.compareMatrices(C, DataConverter.convertToDoubleMatrix(ret), m, n, 1e-12);
+			}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
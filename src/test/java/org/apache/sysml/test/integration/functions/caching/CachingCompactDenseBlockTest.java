@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
+import org.apache.sysml.runtime.matrix.data.DenseBlockBool;
+import org.apache.sysml.runtime.matrix.data.DenseBlockSym;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * This is a buffer pool component test for compact dense blocks (e.g., 
+ * single precision), which are handed out as shallow copies on read, 
+ * so that widening on double access leaves the cached block and its 
+ * buffer pool size unchanged, while acquire modify materializes a new 
+ * widened block.
+ * 
+ */
+public class CachingCompactDenseBlockTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = "target/testTemp/functions/caching/CachingCompactDenseBlockTest/";
+	
+	private final static int rows = 1021;
+	private final static int cols = 1021;
+	
+	private enum BlockType {
+		FP32,
+		BOOL,
+		SYM,
+		CONST,
+	}
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testCompactSinglePrecision()  {
+		runCompactDenseBlockTest(BlockType.FP32);
+	}
+	
+	@Test
+	public void testCompactBoolean()  {
+		runCompactDenseBlockTest(BlockType.BOOL);
+	}
+	
+	@Test
+	public void testCompactSymmetric()  {
+		runCompactDenseBlockTest(BlockType.SYM);
+	}
+	
+	@Test
+	public void testCompactConstant()  {
+		runCompactDenseBlockTest(BlockType.CONST);
+	}
+	
+	private void runCompactDenseBlockTest( BlockType type )
+	{
+		try
+		{
+			//data generation
+			MatrixBlock mbA = createCompactBlock(type);
+			double[][] A = DataConverter.convertToDoubleMatrix(mbA);
+			if( !isCompact(mbA, type) )
+				Assert.fail("Wrong dense block type: "+mbA.getDenseBlock().getClass().getName());
+			
+			//setup caching
+			CacheableData.initCaching("tmp_compact_dense_block_test");
+			
+			//create matrix object and write compact block to buffer pool
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, 1000, 1000, mbA.getNonZeros());
+			MatrixFormatMetaData meta = new MatrixFormatMetaData(mc, 
+				OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo);
+			MatrixObject mo = new MatrixObject(ValueType.DOUBLE, TEST_DIR + "A", meta);
+			long size0 = getBufferPoolSize();
+			mo.acquireModify(mbA);
+			mo.release();
+			long size1 = getBufferPoolSize();
+			
+			//widen handed out block on read
+			MatrixBlock mbA2 = mo.acquireRead();
+			mbA2.getDenseBlockValues();
+			if( isCompact(mbA2, type) )
+				Assert.fail("Dense block not widened: "+mbA2.getDenseBlock().getClass().getName());
+			mo.release();
+			
+			//check unchanged cached block and buffer pool size
+			Assert.assertEquals(size1, getBufferPoolSize());
+			if( !isCompact(mbA, type) || !isCompact(mo.acquireRead(), type) )
+				Assert.fail("Cached block widened: "+mbA.getDenseBlock().getClass().getName());
+			mo.release();
+			
+			//materialize widened block on modify
+			MatrixBlock mbA3 = mo.acquireModify();
+			if( mbA3 == mbA || isCompact(mbA3, type) )
+				Assert.fail("Widened block not materialized: "+mbA3.getDenseBlock().getClass().getName());
+			mo.release();
+			Assert.assertEquals(mbA3.getExactSerializedSize(), getBufferPoolSize() - size0);
+			
+			//evict matrix, clear in-memory reference, and read again
+			LazyWriteBuffer.forceEviction();
+			Method clearmo = CacheableData.class
+				.getDeclaredMethod("clearCache", new Class[]{});
+			clearmo.setAccessible(true); //make method public
+			clearmo.invoke(mo, new Object[]{});
+			double[][] A2 = DataConverter.convertToDoubleMatrix(mo.acquireRead());
+			mo.release();
+			
+			//compare matrices
+			TestUtils.compareMatrices(A, A2, rows, cols, 0);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private MatrixBlock createCompactBlock( BlockType type ) 
+		throws DMLRuntimeException
+	{
+		double[][] A = getRandomMatrix(rows, cols, -10, 10, 1.0, 7);
+		switch( type ) {
+			case FP32: 
+				return DataConverter.convertToMatrixBlock(A).toSinglePrecision();
+			case BOOL: {
+				MatrixBlock ret = new MatrixBlock(rows, cols, false);
+				DenseBlockBool db = ret.allocateBooleanBlock();
+				for( int i=0; i<rows; i++ )
+					for( int j=0; j<cols; j++ )
+						db.set(i, j, (A[i][j] > 0) ? 1 : 0);
+				ret.recomputeNonZeros();
+				return ret;
+			}
+			case SYM: {
+				MatrixBlock ret = new MatrixBlock(rows, cols, false);
+				double[] packed = ret.allocateSymmetricBlock().valuesSym();
+				for( int i=0; i<rows; i++ )
+					for( int j=i; j<cols; j++ )
+						packed[DenseBlockSym.posPacked(i, rows)+j-i] = A[i][j];
+				ret.recomputeNonZeros();
+				return ret;
+			}
+			case CONST: {
+				MatrixBlock ret = new MatrixBlock(rows, cols, false);
+				ret.allocateConstantBlock(A[0][0]);
+				return ret;
+			}
+			default:
+				throw new RuntimeException("Unsupported block type: "+type);
+		}
+	}
+	
+	private static boolean isCompact( MatrixBlock mb, BlockType type ) {
+		switch( type ) {
+			case FP32: return mb.isSinglePrecision();
+			case BOOL: return mb.isBoolean();
+			case SYM:  return mb.isSymmetric();
+			case CONST: return mb.isConstant();
+			default:   return false;
+		}
+	}
+	
+	private static long getBufferPoolSize() 
+		throws Exception
+	{
+		Field size = LazyWriteBuffer.class.getDeclaredField("_size");
+		size.setAccessible(true); //make field public
+		return size.getLong(null);
+	}
+}
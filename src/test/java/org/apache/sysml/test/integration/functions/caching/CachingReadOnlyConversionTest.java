@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.caching;
+
+import java.lang.reflect.Method;
+
+import org.apache.sysml.parser.Expression.ValueType;
+import org.apache.sysml.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysml.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.MatrixFormatMetaData;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR16;
+import org.apache.sysml.runtime.matrix.data.SparseBlockDCSR;
+import org.apache.sysml.runtime.matrix.data.SparseBlockMCSR;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.MapReduceTool;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * This is a buffer pool component test for the asynchronous conversion of
+ * read-only MCSR blocks into compressed sparse blocks (CSR16, or DCSR for 
+ * ultra-sparse blocks) on release, for variables marked read-only (e.g., 
+ * loop-invariant inputs) and persistent reads, as well as for read-only 
+ * consumers that widen the compact indexes.
+ * 
+ */
+public class CachingReadOnlyConversionTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = "target/testTemp/functions/caching/CachingReadOnlyConversionTest/";
+	
+	private final static int rows = 1593;
+	private final static int cols = 1007;
+	private final static double sparsity = 0.05;
+	private final static double sparsity2 = 0.0001; //ultra-sparse
+	private final static long timeout = 10000; //in ms
+	
+	private enum SourceType {
+		WRITE,
+		WRITE_READONLY,
+		PERSISTENT_READ,
+	}
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testNoConversionWrite()  {
+		runReadOnlyConversionTest(SourceType.WRITE, false, sparsity);
+	}
+	
+	@Test
+	public void testConversionWriteReadOnly()  {
+		runReadOnlyConversionTest(SourceType.WRITE_READONLY, false, sparsity);
+	}
+	
+	@Test
+	public void testConversionWriteReadOnlyForce()  {
+		runReadOnlyConversionTest(SourceType.WRITE_READONLY, true, sparsity);
+	}
+	
+	@Test
+	public void testConversionPersistentRead()  {
+		runReadOnlyConversionTest(SourceType.PERSISTENT_READ, false, sparsity);
+	}
+	
+	@Test
+	public void testConversionPersistentReadForce()  {
+		runReadOnlyConversionTest(SourceType.PERSISTENT_READ, true, sparsity);
+	}
+	
+	@Test
+	public void testConversionWriteReadOnlyUltraSparse()  {
+		runReadOnlyConversionTest(SourceType.WRITE_READONLY, false, sparsity2);
+	}
+	
+	@Test
+	public void testConversionWriteReadOnlyUltraSparseForce()  {
+		runReadOnlyConversionTest(SourceType.WRITE_READONLY, true, sparsity2);
+	}
+	
+	@Test
+	public void testConversionPersistentReadUltraSparse()  {
+		runReadOnlyConversionTest(SourceType.PERSISTENT_READ, false, sparsity2);
+	}
+	
+	private void runReadOnlyConversionTest( SourceType type, boolean force, double sparsity )
+	{
+		try
+		{
+			//data generation
+			Class<?> stype = (sparsity < 0.001) ? 
+				SparseBlockDCSR.class : SparseBlockCSR16.class;
+			double[][] A = getRandomMatrix(rows, cols, -10, 10, sparsity, 7); 
+			MatrixBlock mbA = DataConverter.convertToMatrixBlock(A);
+			if( !(mbA.getSparseBlock() instanceof SparseBlockMCSR) )
+				Assert.fail("Wrong sparse block type: "+mbA.getSparseBlock().getClass().getName());
+			
+			//setup caching
+			CacheableData.initCaching("tmp_readonly_conversion_test");
+			
+			//create matrix object (written or persistent read)
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, 1000, 1000, mbA.getNonZeros());
+			MatrixFormatMetaData meta = new MatrixFormatMetaData(mc, 
+				OutputInfo.BinaryBlockOutputInfo, InputInfo.BinaryBlockInputInfo);
+			String fname = TEST_DIR + "A";
+			MatrixObject mo = new MatrixObject(ValueType.DOUBLE, fname, meta);
+			if( type == SourceType.PERSISTENT_READ ) {
+				DataConverter.writeMatrixToHDFS(mbA, fname, OutputInfo.BinaryBlockOutputInfo, mc);
+				mo.acquireRead();
+				mo.release();
+			}
+			else {
+				mo.acquireModify(new MatrixBlock(mbA, SparseBlock.Type.MCSR, true));
+				mo.release();
+				mo.setReadOnly(type == SourceType.WRITE_READONLY);
+				mo.acquireRead();
+				mo.release();
+			}
+			
+			//wait for the asynchronous conversion
+			boolean converted = waitForConversion(mo, stype, (type != SourceType.WRITE) ? timeout : 500);
+			if( converted != (type != SourceType.WRITE) )
+				Assert.fail("Wrong conversion status: "+converted);
+			
+			//evict matrix and clear in-memory reference
+			if( force )
+				LazyWriteBuffer.forceEviction();
+			Method clearmo = CacheableData.class
+				.getDeclaredMethod("clearCache", new Class[]{});
+			clearmo.setAccessible(true); //make method public
+			clearmo.invoke(mo, new Object[]{});
+			
+			//read matrix through buffer pool (if not forced, the converted 
+			//block is obtained by shallow reference, persistent reads are 
+			//not written to the buffer pool and hence read again)
+			MatrixBlock mbA2 = mo.acquireRead();
+			boolean shallow = !force && converted && type != SourceType.PERSISTENT_READ;
+			if( shallow && !stype.isInstance(mbA2.getSparseBlock()) )
+				Assert.fail("Wrong sparse block type: "+mbA2.getSparseBlock().getClass().getName());
+			double[][] A2 = DataConverter.convertToDoubleMatrix(mbA2);
+			mbA2.getSparseBlock().indexes(0); //widen by read-only consumer
+			mo.release();
+			
+			//check that widening did not affect the cached block
+			if( shallow && stype == SparseBlockCSR16.class ) {
+				MatrixBlock mbA3 = mo.acquireRead();
+				if( !mbA3.isSparseCompact() )
+					Assert.fail("Unexpected widening of the cached block.");
+				mo.release();
+			}
+			
+			//compare matrices
+			TestUtils.compareMatrices(A, A2, rows, cols, 0);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+		finally {
+			try {
+				MapReduceTool.deleteFileIfExistOnHDFS(TEST_DIR + "A");
+			} catch(Exception ex) {}
+		}
+	}
+	
+	private static boolean waitForConversion(MatrixObject mo, Class<?> stype, long maxTime) 
+		throws Exception
+	{
+		long t0 = System.currentTimeMillis();
+		boolean ret = false;
+		while( !ret && System.currentTimeMillis()-t0 < maxTime ) {
+			MatrixBlock mb = mo.acquireRead();
+			ret = stype.isInstance(mb.getSparseBlock());
+			mo.release();
+			if( !ret ) 
+				Thread.sleep(10);
+		}
+		return ret;
+	}
+}
@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import org.apache.sysml.runtime.compress.BitmapEncoder;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Test;
+
+/**
+ * 
+ */
+public class BasicMatrixMultTest extends AutomatedTestBase
+{	
+	private static final int rows = 1023;
+	private static final int rows2 = 3*BitmapEncoder.BITMAP_BLOCK_SZ+7; //multiple segments
+	private static final int cols = 20;
+	private static final int k = 7; //num weight vectors
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.1;
+	private static final double sparsity3 = 0.0;
+	
+	public enum SparsityType {
+		DENSE,
+		SPARSE,
+		EMPTY,
+	}
+	
+	public enum ValueType {
+		RAND, //UC
+		CONST, //RLE
+		RAND_ROUND_OLE, //OLE
+		RAND_ROUND_DDC, //RLE
+	}
+	
+	public enum MultType {
+		RIGHT, // X %*% B
+		LEFT,  // A %*% X
+	}
+	
+	@Override
+	public void setUp() {
+		
+	}
+	
+	@Test
+	public void testRightDenseRandDataCompression() {
+		runMatrixMultTest(SparsityType.DENSE, ValueType.RAND, MultType.RIGHT, true, false, false);
+	}
+	
+	@Test
+	public void testRightSparseRandDataCompression() {
+		runMatrixMultTest(SparsityType.SPARSE, ValueType.RAND, MultType.RIGHT, true, false, false);
+	}
+	
+	@Test
+	public void testRightEmptyCompression() {
+		runMatrixMultTest(SparsityType.EMPTY, ValueType.RAND, MultType.RIGHT, true, false, false);
+	}
+	
+	@Test
+	public void testRightDenseRoundRandDataOLECompression() {
+		runMatrixMultTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, MultType.RIGHT, true, false, false);
+	}
+	
+	@Test
+	public void testRightSparseRoundRandDataOLECompression() {
+		runMatrixMultTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, MultType.RIGHT, true, false, false);
+	}
+	
+	@Test
+	public void testRightDenseRoundRandDataDDCCompression() {
+		runMatrixMultTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, MultType.RIGHT, true, false, false);
+	}
+	
+	@Test
+	public void testRightSparseConstDataCompression() {
+		runMatrixMultTest(SparsityType.SPARSE, ValueType.CONST, MultType.RIGHT, true, false, false);
+	}
+	
+	@Test
+	public void testRightSparseRoundRandDataOLENoCompression() {
+		runMatrixMultTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, MultType.RIGHT, false, false, false);
+	}
+	
+	@Test
+	public void testRightDenseRandDataCompressionPar() {
+		runMatrixMultTest(SparsityType.DENSE, ValueType.RAND, MultType.RIGHT, true, true, false);
+	}
+	
+	@Test
+	public void testRightSparseRoundRandDataOLECompressionParLarge() {
+		runMatrixMultTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, MultType.RIGHT, true, true, true);
+	}
+	
+	@Test
+	public void testRightDenseRoundRandDataDDCCompressionParLarge() {
+		runMatrixMultTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, MultType.RIGHT, true, true, true);
+	}
+	
+	@Test
+	public void testRightSparseConstDataCompressionParLarge() {
+		runMatrixMultTest(SparsityType.SPARSE, ValueType.CONST, MultType.RIGHT, true, true, true);
+	}
+	
+	@Test
+	public void testLeftDenseRandDataCompression() {
+		runMatrixMultTest(SparsityType.DENSE, ValueType.RAND, MultType.LEFT, true, false, false);
+	}
+	
+	@Test
+	public void testLeftSparseRandDataCompression() {
+		runMatrixMultTest(SparsityType.SPARSE, ValueType.RAND, MultType.LEFT, true, false, false);
+	}
+	
+	@Test
+	public void testLeftEmptyCompression() {
+		runMatrixMultTest(SparsityType.EMPTY, ValueType.RAND, MultType.LEFT, true, false, false);
+	}
+	
+	@Test
+	public void testLeftDenseRoundRandDataOLECompression() {
+		runMatrixMultTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, MultType.LEFT, true, false, false);
+	}
+	
+	@Test
+	public void testLeftSparseRoundRandDataOLECompression() {
+		runMatrixMultTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, MultType.LEFT, true, false, false);
+	}
+	
+	@Test
+	public void testLeftDenseRoundRandDataDDCCompression() {
+		runMatrixMultTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, MultType.LEFT, true, false, false);
+	}
+	
+	@Test
+	public void testLeftSparseConstDataCompression() {
+		runMatrixMultTest(SparsityType.SPARSE, ValueType.CONST, MultType.LEFT, true, false, false);
+	}
+	
+	@Test
+	public void testLeftSparseRoundRandDataOLENoCompression() {
+		runMatrixMultTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, MultType.LEFT, false, false, false);
+	}
+	
+	@Test
+	public void testLeftDenseRoundRandDataDDCCompressionPar() {
+		runMatrixMultTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, MultType.LEFT, true, true, false);
+	}
+	
+	@Test
+	public void testLeftSparseRoundRandDataOLECompressionParLarge() {
+		runMatrixMultTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, MultType.LEFT, true, true, true);
+	}
+	
+	@Test
+	public void testLeftSparseConstDataCompressionParLarge() {
+		runMatrixMultTest(SparsityType.SPARSE, ValueType.CONST, MultType.LEFT, true, true, true);
+	}
+
+	/**
+	 * 
+	 * @param mb
+	 */
+	private void runMatrixMultTest(SparsityType sptype, ValueType vtype, MultType mtype, boolean compress, boolean par, boolean large)
+	{
+		try
+		{
+			//prepare sparsity for input data
+			double sparsity = -1;
+			switch( sptype ){
+				case DENSE: sparsity = sparsity1; break;
+				case SPARSE: sparsity = sparsity2; break;
+				case EMPTY: sparsity = sparsity3; break;
+			}
+			int nrow = large ? rows2 : rows;
+			
+			//generate input data
+			double min = (vtype==ValueType.CONST)? 10 : -10;
+			double[][] input = TestUtils.generateTestMatrix(nrow, cols, min, 10, sparsity, 7);
+			if( vtype==ValueType.RAND_ROUND_OLE || vtype==ValueType.RAND_ROUND_DDC ) {
+				CompressedMatrixBlock.ALLOW_DDC_ENCODING = (vtype==ValueType.RAND_ROUND_DDC);
+				input = TestUtils.round(input);
+			}
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+			MatrixBlock weights = DataConverter.convertToMatrixBlock( (mtype==MultType.RIGHT) ?
+				TestUtils.generateTestMatrix(cols, k, -1, 1, 1.0, 3) : 
+				TestUtils.generateTestMatrix(k, nrow, -1, 1, 1.0, 3));
+			
+			//compress given matrix block
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+			if( compress )
+				cmb.compress();
+			
+			//matrix-matrix uncompressed
+			AggregateOperator aop = new AggregateOperator(0, Plus.getPlusFnObject());
+			AggregateBinaryOperator abop = new AggregateBinaryOperator(Multiply.getMultiplyFnObject(), aop,
+					par ? InfrastructureAnalyzer.getLocalParallelism() : 1);
+			MatrixBlock ret1 = (MatrixBlock) ((mtype==MultType.RIGHT) ?
+				mb.aggregateBinaryOperations(mb, weights, new MatrixBlock(), abop) :
+				mb.aggregateBinaryOperations(weights, mb, new MatrixBlock(), abop));
+			
+			//matrix-matrix compressed
+			MatrixBlock ret2 = (MatrixBlock) ((mtype==MultType.RIGHT) ?
+				cmb.aggregateBinaryOperations(cmb, weights, new MatrixBlock(), abop) :
+				cmb.aggregateBinaryOperations(weights, cmb, new MatrixBlock(), abop));
+			
+			//compare result with input
+			double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatrices(d1, d2, ret1.getNumRows(), ret1.getNumColumns(), 0.0000001);
+			if( ret1.getNonZeros() != ret2.getNonZeros() )
+				throw new RuntimeException("Wrong number of non-zeros: "+ret2.getNonZeros()+" vs "+ret1.getNonZeros());
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CompressedMatrixBlock.ALLOW_DDC_ENCODING = true;
+		}
+	}
+}
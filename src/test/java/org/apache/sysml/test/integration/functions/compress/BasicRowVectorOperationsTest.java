@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.functionobjects.Minus;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 
+ */
+public class BasicRowVectorOperationsTest extends AutomatedTestBase
+{	
+	private static final int rows = 1321;
+	private static final int cols = 37;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.1;
+	private static final double sparsity3 = 0.0;
+	
+	public enum SparsityType {
+		DENSE,
+		SPARSE,
+		EMPTY,
+	}
+	
+	public enum ValueType {
+		RAND, //UC
+		CONST, //RLE
+		RAND_ROUND_OLE, //OLE
+		RAND_ROUND_DDC, //RLE
+	}
+	
+	public enum OpType {
+		MINUS, //sparse-unsafe w.r.t. row vector
+		MULT,  //sparse-safe
+	}
+	
+	@Override
+	public void setUp() {
+		
+	}
+	
+	@Test
+	public void testMinusDenseRandDataCompression() {
+		runRowVectorOperationsTest(SparsityType.DENSE, ValueType.RAND, OpType.MINUS, true, false);
+	}
+	
+	@Test
+	public void testMinusSparseRandDataCompression() {
+		runRowVectorOperationsTest(SparsityType.SPARSE, ValueType.RAND, OpType.MINUS, true, false);
+	}
+	
+	@Test
+	public void testMinusEmptyCompression() {
+		runRowVectorOperationsTest(SparsityType.EMPTY, ValueType.RAND, OpType.MINUS, true, false);
+	}
+	
+	@Test
+	public void testMinusDenseRoundRandDataOLECompression() {
+		runRowVectorOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, OpType.MINUS, true, false);
+	}
+	
+	@Test
+	public void testMinusSparseRoundRandDataOLECompression() {
+		runRowVectorOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, OpType.MINUS, true, false);
+	}
+	
+	@Test
+	public void testMinusDenseRoundRandDataDDCCompression() {
+		runRowVectorOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, OpType.MINUS, true, false);
+	}
+	
+	@Test
+	public void testMinusSparseRoundRandDataDDCCompression() {
+		runRowVectorOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, OpType.MINUS, true, false);
+	}
+	
+	@Test
+	public void testMinusSparseConstDataCompression() {
+		runRowVectorOperationsTest(SparsityType.SPARSE, ValueType.CONST, OpType.MINUS, true, false);
+	}
+	
+	@Test
+	public void testMinusSparseRoundRandDataOLECompressionInPlace() {
+		runRowVectorOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, OpType.MINUS, true, true);
+	}
+	
+	@Test
+	public void testMultSparseRoundRandDataOLECompression() {
+		runRowVectorOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, OpType.MULT, true, false);
+	}
+	
+	@Test
+	public void testMultDenseRoundRandDataDDCCompression() {
+		runRowVectorOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, OpType.MULT, true, false);
+	}
+	
+	@Test
+	public void testMultSparseRandDataCompression() {
+		runRowVectorOperationsTest(SparsityType.SPARSE, ValueType.RAND, OpType.MULT, true, false);
+	}
+	
+	@Test
+	public void testMinusSparseRoundRandDataOLENoCompression() {
+		runRowVectorOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, OpType.MINUS, false, false);
+	}
+
+	/**
+	 * 
+	 * @param mb
+	 */
+	private void runRowVectorOperationsTest(SparsityType sptype, ValueType vtype, OpType otype, boolean compress, boolean inplace)
+	{
+		try
+		{
+			//prepare sparsity for input data
+			double sparsity = -1;
+			switch( sptype ){
+				case DENSE: sparsity = sparsity1; break;
+				case SPARSE: sparsity = sparsity2; break;
+				case EMPTY: sparsity = sparsity3; break;
+			}
+			
+			//generate input data
+			double min = (vtype==ValueType.CONST)? 10 : -10;
+			double[][] input = TestUtils.generateTestMatrix(rows, cols, min, 10, sparsity, 7);
+			if( vtype==ValueType.RAND_ROUND_OLE || vtype==ValueType.RAND_ROUND_DDC ) {
+				CompressedMatrixBlock.ALLOW_DDC_ENCODING = (vtype==ValueType.RAND_ROUND_DDC);
+				input = TestUtils.round(input);
+			}
+			double[][] vector = TestUtils.generateTestMatrix(1, cols, -1, 1, 1.0, 3);
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+			MatrixBlock vb = DataConverter.convertToMatrixBlock(vector);
+			
+			//compress given matrix block
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+			if( compress )
+				cmb.compress();
+			
+			//matrix-row vector uncompressed
+			BinaryOperator bop = new BinaryOperator( (otype==OpType.MINUS) ? 
+				Minus.getMinusFnObject() : Multiply.getMultiplyFnObject());
+			MatrixBlock ret1 = (MatrixBlock)mb.binaryOperations(bop, vb, new MatrixBlock());
+			
+			//matrix-row vector compressed (w/o decompression)
+			MatrixBlock ret2 = null;
+			if( inplace ) {
+				cmb.binaryOperationsInPlace(bop, vb);
+				ret2 = cmb;
+			}
+			else
+				ret2 = (MatrixBlock)cmb.binaryOperations(bop, vb, new MatrixBlock());
+			if( compress ) {
+				if( !(ret2 instanceof CompressedMatrixBlock && ((CompressedMatrixBlock)ret2).isCompressed()) )
+					Assert.fail("Row vector operation output not compressed.");
+				ret1.recomputeNonZeros(); //robustness against approximate nnz
+				Assert.assertEquals(ret1.getNonZeros(), ret2.getNonZeros());
+				ret2 = ((CompressedMatrixBlock)ret2).decompress();
+			}
+			
+			//compare result with input
+			double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatrices(d1, d2, rows, cols, 0.0000001);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CompressedMatrixBlock.ALLOW_DDC_ENCODING = true;
+		}
+	}
+}
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.functionobjects.Builtin;
+import org.apache.sysml.runtime.functionobjects.Builtin.BuiltinCode;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.UnaryOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 
+ */
+public class BasicUnaryOperationsTest extends AutomatedTestBase
+{	
+	private static final int rows = 1321;
+	private static final int cols = 37;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.1;
+	private static final double sparsity3 = 0.0;
+	
+	public enum SparsityType {
+		DENSE,
+		SPARSE,
+		EMPTY,
+	}
+	
+	public enum ValueType {
+		RAND, //UC
+		CONST, //RLE
+		RAND_ROUND_OLE, //OLE
+		RAND_ROUND_DDC, //RLE
+	}
+	
+	public enum OpType {
+		EXP, //sparse-unsafe
+		ABS, //sparse-safe
+	}
+	
+	@Override
+	public void setUp() {
+		
+	}
+	
+	@Test
+	public void testExpDenseRandDataCompression() {
+		runUnaryOperationsTest(SparsityType.DENSE, ValueType.RAND, OpType.EXP, true);
+	}
+	
+	@Test
+	public void testExpSparseRandDataCompression() {
+		runUnaryOperationsTest(SparsityType.SPARSE, ValueType.RAND, OpType.EXP, true);
+	}
+	
+	@Test
+	public void testExpEmptyCompression() {
+		runUnaryOperationsTest(SparsityType.EMPTY, ValueType.RAND, OpType.EXP, true);
+	}
+	
+	@Test
+	public void testExpDenseRoundRandDataOLECompression() {
+		runUnaryOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, OpType.EXP, true);
+	}
+	
+	@Test
+	public void testExpSparseRoundRandDataOLECompression() {
+		runUnaryOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, OpType.EXP, true);
+	}
+	
+	@Test
+	public void testExpDenseRoundRandDataDDCCompression() {
+		runUnaryOperationsTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, OpType.EXP, true);
+	}
+	
+	@Test
+	public void testExpSparseRoundRandDataDDCCompression() {
+		runUnaryOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, OpType.EXP, true);
+	}
+	
+	@Test
+	public void testExpSparseConstDataCompression() {
+		runUnaryOperationsTest(SparsityType.SPARSE, ValueType.CONST, OpType.EXP, true);
+	}
+	
+	@Test
+	public void testAbsSparseRoundRandDataOLECompression() {
+		runUnaryOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, OpType.ABS, true);
+	}
+	
+	@Test
+	public void testAbsSparseRoundRandDataDDCCompression() {
+		runUnaryOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, OpType.ABS, true);
+	}
+	
+	@Test
+	public void testAbsDenseConstDataCompression() {
+		runUnaryOperationsTest(SparsityType.DENSE, ValueType.CONST, OpType.ABS, true);
+	}
+	
+	@Test
+	public void testExpSparseRoundRandDataOLENoCompression() {
+		runUnaryOperationsTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, OpType.EXP, false);
+	}
+	
+	@Test
+	public void testAbsSparseRandDataNoCompression() {
+		runUnaryOperationsTest(SparsityType.SPARSE, ValueType.RAND, OpType.ABS, false);
+	}
+
+	/**
+	 * 
+	 * @param mb
+	 */
+	private void runUnaryOperationsTest(SparsityType sptype, ValueType vtype, OpType otype, boolean compress)
+	{
+		try
+		{
+			//prepare sparsity for input data
+			double sparsity = -1;
+			switch( sptype ){
+				case DENSE: sparsity = sparsity1; break;
+				case SPARSE: sparsity = sparsity2; break;
+				case EMPTY: sparsity = sparsity3; break;
+			}
+			
+			//generate input data
+			double min = (vtype==ValueType.CONST)? 10 : -10;
+			double[][] input = TestUtils.generateTestMatrix(rows, cols, min, 10, sparsity, 7);
+			if( vtype==ValueType.RAND_ROUND_OLE || vtype==ValueType.RAND_ROUND_DDC ) {
+				CompressedMatrixBlock.ALLOW_DDC_ENCODING = (vtype==ValueType.RAND_ROUND_DDC);
+				input = TestUtils.round(input);
+			}
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+			
+			//compress given matrix block
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+			if( compress )
+				cmb.compress();
+			
+			//unary operation uncompressed
+			UnaryOperator uop = new UnaryOperator(Builtin.getBuiltinFnObject(
+				(otype==OpType.EXP) ? BuiltinCode.EXP : BuiltinCode.ABS));
+			MatrixBlock ret1 = (MatrixBlock)mb.unaryOperations(uop, new MatrixBlock());
+			
+			//unary operation compressed (w/o decompression)
+			MatrixBlock ret2 = (MatrixBlock)cmb.unaryOperations(uop, new MatrixBlock());
+			if( compress ) {
+				if( !(ret2 instanceof CompressedMatrixBlock && ((CompressedMatrixBlock)ret2).isCompressed()) )
+					Assert.fail("Unary operation output not compressed.");
+				
+				//check aggregates over compressed output (zero handling)
+				AggregateUnaryOperator aop = InstructionUtils.parseBasicAggregateUnaryOperator("uamin");
+				MatrixBlock agg1 = (MatrixBlock)ret1.aggregateUnaryOperations(aop, new MatrixBlock(), 
+					1000, 1000, null, true);
+				MatrixBlock agg2 = (MatrixBlock)ret2.aggregateUnaryOperations(aop, new MatrixBlock(), 
+					1000, 1000, null, true);
+				TestUtils.compareScalars(agg1.quickGetValue(0, 0), agg2.quickGetValue(0, 0), 0.0000001);
+				ret1.recomputeNonZeros(); //robustness against approximate nnz
+				Assert.assertEquals(ret1.getNonZeros(), ret2.getNonZeros());
+				
+				ret2 = ((CompressedMatrixBlock)ret2).decompress();
+			}
+			
+			//compare result with input
+			double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatrices(d1, d2, rows, cols, 0.0000001);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CompressedMatrixBlock.ALLOW_DDC_ENCODING = true;
+		}
+	}
+}
@@ -0,0 +1,256 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.compress;
+
+import java.io.File;
+
+import org.apache.sysml.api.DMLScript;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysml.runtime.controlprogram.caching.ByteBuffer;
+import org.apache.sysml.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysml.runtime.controlprogram.caching.CacheBlockFactory;
+import org.apache.sysml.runtime.io.ReaderBinaryBlockCompressed;
+import org.apache.sysml.runtime.io.WriterBinaryBlockCompressed;
+import org.apache.sysml.runtime.matrix.MatrixCharacteristics;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.OutputInfo;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.LocalFileUtils;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 
+ */
+public class CompressedBinaryBlockIOTest extends AutomatedTestBase
+{	
+	private final static String TEST_NAME = "CompressedBinaryBlockIO";
+	private final static String TEST_DIR = "functions/compress/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + CompressedBinaryBlockIOTest.class.getSimpleName() + "/";
+	
+	private static final int rows = 1023;
+	private static final int cols = 20;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.1;
+	
+	public enum SparsityType {
+		DENSE,
+		SPARSE,
+	}
+	
+	public enum ValueType {
+		RAND, //UC
+		CONST, //RLE
+		RAND_ROUND_OLE, //OLE
+		RAND_ROUND_DDC, //RLE
+	}
+	
+	public enum IOType {
+		BUFFERPOOL,      //local eviction via byte buffer / local files
+		BINARYBLOCK,     //single file via data converter
+		BINARYBLOCK_UC,  //single file via data converter, w/o compressed write
+		BINARYBLOCK_PAR, //multiple part files, parallel read
+	}
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {"R"}));
+	}
+	
+	@Test
+	public void testBufferPoolDenseRandDataCompression() {
+		runCompressedIOTest(SparsityType.DENSE, ValueType.RAND, IOType.BUFFERPOOL, true);
+	}
+	
+	@Test
+	public void testBufferPoolSparseRoundRandDataOLECompression() {
+		runCompressedIOTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, IOType.BUFFERPOOL, true);
+	}
+	
+	@Test
+	public void testBufferPoolDenseRoundRandDataDDCCompression() {
+		runCompressedIOTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, IOType.BUFFERPOOL, true);
+	}
+	
+	@Test
+	public void testBufferPoolDenseConstDataCompression() {
+		runCompressedIOTest(SparsityType.DENSE, ValueType.CONST, IOType.BUFFERPOOL, true);
+	}
+	
+	@Test
+	public void testBufferPoolSparseRandDataNoCompression() {
+		runCompressedIOTest(SparsityType.SPARSE, ValueType.RAND, IOType.BUFFERPOOL, false);
+	}
+	
+	@Test
+	public void testBinaryBlockDenseRandDataCompression() {
+		runCompressedIOTest(SparsityType.DENSE, ValueType.RAND, IOType.BINARYBLOCK, true);
+	}
+	
+	@Test
+	public void testBinaryBlockSparseRoundRandDataOLECompression() {
+		runCompressedIOTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, IOType.BINARYBLOCK, true);
+	}
+	
+	@Test
+	public void testBinaryBlockDenseRoundRandDataDDCCompression() {
+		runCompressedIOTest(SparsityType.DENSE, ValueType.RAND_ROUND_DDC, IOType.BINARYBLOCK, true);
+	}
+	
+	@Test
+	public void testBinaryBlockDenseConstDataCompression() {
+		runCompressedIOTest(SparsityType.DENSE, ValueType.CONST, IOType.BINARYBLOCK, true);
+	}
+	
+	@Test
+	public void testBinaryBlockSparseRandDataNoCompression() {
+		runCompressedIOTest(SparsityType.SPARSE, ValueType.RAND, IOType.BINARYBLOCK, false);
+	}
+	
+	@Test
+	public void testBinaryBlockNoWriteConfigSparseRoundRandDataOLECompression() {
+		runCompressedIOTest(SparsityType.SPARSE, ValueType.RAND_ROUND_OLE, IOType.BINARYBLOCK_UC, true);
+	}
+	
+	@Test
+	public void testBinaryBlockNoWriteConfigDenseConstDataCompression() {
+		runCompressedIOTest(SparsityType.DENSE, ValueType.CONST, IOType.BINARYBLOCK_UC, true);
+	}
+	
+	@Test
+	public void testBinaryBlockParDenseRoundRandDataOLECompression() {
+		runCompressedIOTest(SparsityType.DENSE, ValueType.RAND_ROUND_OLE, IOType.BINARYBLOCK_PAR, true);
+	}
+	
+	@Test
+	public void testBinaryBlockParSparseRoundRandDataDDCCompression() {
+		runCompressedIOTest(SparsityType.SPARSE, ValueType.RAND_ROUND_DDC, IOType.BINARYBLOCK_PAR, true);
+	}
+	
+	@Test
+	public void testBinaryBlockParDenseRandDataCompression() {
+		runCompressedIOTest(SparsityType.DENSE, ValueType.RAND, IOType.BINARYBLOCK_PAR, true);
+	}
+
+	private void runCompressedIOTest(SparsityType sptype, ValueType vtype, IOType iotype, boolean compress)
+	{
+		RUNTIME_PLATFORM platformOld = DMLScript.rtplatform;
+		
+		try
+		{
+			loadTestConfiguration(getTestConfiguration(TEST_NAME));
+			
+			//prepare sparsity for input data
+			double sparsity = (sptype==SparsityType.DENSE) ? sparsity1 : sparsity2;
+			
+			//generate input data
+			double min = (vtype==ValueType.CONST)? 10 : -10;
+			double[][] input = TestUtils.generateTestMatrix(rows, cols, min, 10, sparsity, 7);
+			if( vtype==ValueType.RAND_ROUND_OLE || vtype==ValueType.RAND_ROUND_DDC ) {
+				CompressedMatrixBlock.ALLOW_DDC_ENCODING = (vtype==ValueType.RAND_ROUND_DDC);
+				input = TestUtils.round(input);
+			}
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(input);
+			
+			//compress given matrix block
+			CompressedMatrixBlock cmb = new CompressedMatrixBlock(mb);
+			if( compress ) {
+				cmb.compress();
+				Assert.assertEquals(cmb.estimateCompressedSizeInMemory(), cmb.getInMemorySize());
+			}
+			
+			//write and read compressed matrix block
+			String fname = output("R");
+			MatrixBlock ret = null;
+			switch( iotype ) {
+				case BUFFERPOOL: {
+					//deep or shallow serialization via byte buffer
+					ByteBuffer bbuff = new ByteBuffer(cmb.getExactSerializedSize());
+					bbuff.serializeBlock(cmb);
+					checkCompressedResult((MatrixBlock)bbuff.deserializeBlock(), input, compress);
+					
+					//eviction to and restore from local file system
+					new File(fname).getParentFile().mkdirs();
+					LocalFileUtils.writeCacheBlockToLocal(fname, cmb);
+					Assert.assertEquals(cmb.getExactSerializedSize(), new File(fname).length());
+					CacheBlock cb = LocalFileUtils.readCacheBlockFromLocal(fname, CacheBlockFactory.getCode(cmb));
+					ret = (MatrixBlock) cb;
+					break;
+				}
+				case BINARYBLOCK: 
+				case BINARYBLOCK_UC: {
+					//compressed write requires explicit opt-in
+					boolean write = (iotype == IOType.BINARYBLOCK);
+					DMLConfig conf = new DMLConfig();
+					conf.setTextValue(DMLConfig.COMPRESSED_WRITE, String.valueOf(write));
+					ConfigurationManager.setGlobalConfig(conf);
+					DMLScript.rtplatform = RUNTIME_PLATFORM.SINGLE_NODE;
+					MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, 1000, 1000, cmb.getNonZeros());
+					DataConverter.writeMatrixToHDFS(cmb, fname, OutputInfo.BinaryBlockOutputInfo, mc);
+					Assert.assertEquals(compress && write, ReaderBinaryBlockCompressed.isCompressedBinaryBlock(fname, false));
+					ret = DataConverter.readMatrixFromHDFS(fname, InputInfo.BinaryBlockInputInfo, rows, cols, 1000, 1000);
+					compress &= write;
+					break;
+				}
+				case BINARYBLOCK_PAR: {
+					new WriterBinaryBlockCompressed(-1, 3)
+						.writeMatrixToHDFS(cmb, fname, rows, cols, 1000, 1000, cmb.getNonZeros());
+					Assert.assertEquals(cmb.getColGroups().size() > 1, new File(fname).isDirectory());
+					ret = DataConverter.readMatrixFromHDFS(fname, InputInfo.BinaryBlockInputInfo, rows, cols, 1000, 1000);
+					break;
+				}
+			}
+			
+			//compare result with input
+			checkCompressedResult(ret, input, compress);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			CompressedMatrixBlock.ALLOW_DDC_ENCODING = true;
+			DMLScript.rtplatform = platformOld;
+			ConfigurationManager.setGlobalConfig(new DMLConfig());
+		}
+	}
+	
+	private static void checkCompressedResult(MatrixBlock ret, double[][] input, boolean compress) 
+		throws Exception
+	{
+		//check preserved compression
+		boolean compressed = ret instanceof CompressedMatrixBlock 
+			&& ((CompressedMatrixBlock)ret).isCompressed();
+		Assert.assertEquals(compress, compressed);
+		
+		//compare values with input
+		MatrixBlock tmp = compressed ? ((CompressedMatrixBlock)ret).decompress() : ret;
+		double[][] d2 = DataConverter.convertToDoubleMatrix(tmp);
+		TestUtils.compareMatrices(input, d2, rows, cols, 0);
+	}
+}
@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.datagen;
+
+import java.util.HashSet;
+
+import org.apache.sysml.hops.DataGenOp;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the multi-threaded sample and seq data generation against their 
+ * single-threaded counterparts, which are expected to produce identical 
+ * results for a given seed, as well as basic properties of the samples.
+ */
+public class ParallelSampleSeqTest extends AutomatedTestBase
+{
+	private static final int size = 1200007;
+	private static final long rangeSmall = 2000003;
+	private static final long rangeLarge = 1000000007L;
+	private static final long seed = 7;
+	private static final int k = 6;
+	
+	@Override
+	public void setUp() {
+		
+	}
+	
+	@Test
+	public void testSampleReplace() {
+		runParallelSampleTest(rangeSmall, true);
+	}
+	
+	@Test
+	public void testSampleReplaceLargeRange() {
+		runParallelSampleTest(rangeLarge, true);
+	}
+	
+	@Test
+	public void testSampleNoReplaceLargeFraction() {
+		runParallelSampleTest(rangeSmall, false);
+	}
+	
+	@Test
+	public void testSampleNoReplaceSmallFraction() {
+		runParallelSampleTest(rangeLarge, false);
+	}
+	
+	@Test
+	public void testSampleNoReplaceFullRange() {
+		runParallelSampleTest(size, false);
+	}
+	
+	@Test
+	public void testSampleReplaceUnseeded() {
+		runUnseededSampleTest(rangeSmall, true);
+	}
+	
+	@Test
+	public void testSampleNoReplaceUnseeded() {
+		runUnseededSampleTest(rangeLarge, false);
+	}
+	
+	@Test
+	public void testSeqIncr() {
+		runParallelSeqTest(1, 3*size, 3);
+	}
+	
+	@Test
+	public void testSeqDecr() {
+		runParallelSeqTest(size, -size, -2);
+	}
+	
+	@Test
+	public void testSeqFractionalIncr() {
+		runParallelSeqTest(0.5, size/10, 0.1);
+	}
+	
+	private void runParallelSampleTest(long range, boolean replace) 
+	{
+		try
+		{
+			MatrixBlock ret1 = MatrixBlock.sampleOperations(range, size, replace, seed, 1);
+			MatrixBlock ret2 = MatrixBlock.sampleOperations(range, size, replace, seed, k);
+			
+			//compare single-threaded and multi-threaded results
+			double[][] C1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] C2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatrices(C1, C2, size, 1, 0);
+			
+			//check valid range and (for sampling without replacement) distinct values
+			HashSet<Double> distinct = new HashSet<Double>();
+			for( int i=0; i<size; i++ ) {
+				double val = C1[i][0];
+				Assert.assertTrue("Sample out of range: "+val, val >= 1 && val <= range && val == Math.floor(val));
+				distinct.add(val);
+			}
+			if( !replace )
+				Assert.assertEquals(size, distinct.size());
+		}
+		catch(DMLRuntimeException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runUnseededSampleTest(long range, boolean replace) 
+	{
+		try
+		{
+			//two samples w/o specified seed are expected to differ
+			MatrixBlock ret1 = MatrixBlock.sampleOperations(range, size, replace, DataGenOp.UNSPECIFIED_SEED, k);
+			MatrixBlock ret2 = MatrixBlock.sampleOperations(range, size, replace, DataGenOp.UNSPECIFIED_SEED, k);
+			double[][] C1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] C2 = DataConverter.convertToDoubleMatrix(ret2);
+			int numEqual = 0;
+			for( int i=0; i<size; i++ )
+				numEqual += (C1[i][0] == C2[i][0]) ? 1 : 0;
+			Assert.assertTrue("Unseeded samples are identical.", numEqual < size);
+		}
+		catch(DMLRuntimeException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runParallelSeqTest(double from, double to, double incr) 
+	{
+		try
+		{
+			MatrixBlock ret1 = MatrixBlock.seqOperations(from, to, incr, 1);
+			MatrixBlock ret2 = MatrixBlock.seqOperations(from, to, incr, k);
+			
+			//compare single-threaded and multi-threaded results
+			double[][] C1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] C2 = DataConverter.convertToDoubleMatrix(ret2);
+			int rows = ret1.getNumRows();
+			TestUtils.compareMatrices(C1, C2, rows, 1, 0);
+			
+			//check sequence values 
+			Assert.assertEquals(1 + (int)Math.floor((to-from)/incr), rows);
+			for( int i=0; i<rows; i++ )
+				Assert.assertEquals(from + i*incr, C1[i][0], 1e-8);
+		}
+		catch(DMLRuntimeException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
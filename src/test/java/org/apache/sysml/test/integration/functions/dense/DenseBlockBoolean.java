@@ -0,0 +1,380 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.dense;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.functionobjects.And;
+import org.apache.sysml.runtime.functionobjects.Equals;
+import org.apache.sysml.runtime.functionobjects.GreaterThan;
+import org.apache.sysml.runtime.functionobjects.LessThan;
+import org.apache.sysml.runtime.functionobjects.Minus;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.LeftScalarOperator;
+import org.apache.sysml.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a dense matrix block component test for boolean (bitset) storage,
+ * which covers relational operations producing boolean blocks, operations
+ * consuming boolean blocks w/o widening (sum, nnz, masking, logical ops, 
+ * removeEmpty w/ select), the serialization in boolean format, as well 
+ * as transparent widening for all other operations.
+ * 
+ */
+public class DenseBlockBoolean extends AutomatedTestBase 
+{
+	private final static int rows = 321;
+	private final static int cols = 97;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.3;
+	private final static double eps = 1e-10;
+	
+	private enum OpType {
+		SCALAR_GT,
+		SCALAR_EQ,
+		MATRIX_LT,
+		MATRIX_COLVECT_GT,
+		MATRIX_ROWVECT_GT,
+	}
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testBooleanScalarGreaterDense() {
+		runBooleanRelationalTest(OpType.SCALAR_GT, sparsity1);
+	}
+	
+	@Test
+	public void testBooleanScalarGreaterSparse() {
+		runBooleanRelationalTest(OpType.SCALAR_GT, sparsity2);
+	}
+	
+	@Test
+	public void testBooleanScalarEqualsDense() {
+		runBooleanRelationalTest(OpType.SCALAR_EQ, sparsity1);
+	}
+	
+	@Test
+	public void testBooleanScalarEqualsSparse() {
+		runBooleanRelationalTest(OpType.SCALAR_EQ, sparsity2);
+	}
+	
+	@Test
+	public void testBooleanMatrixLessDense() {
+		runBooleanRelationalTest(OpType.MATRIX_LT, sparsity1);
+	}
+	
+	@Test
+	public void testBooleanMatrixLessSparse() {
+		runBooleanRelationalTest(OpType.MATRIX_LT, sparsity2);
+	}
+	
+	@Test
+	public void testBooleanMatrixColVectorGreaterDense() {
+		runBooleanRelationalTest(OpType.MATRIX_COLVECT_GT, sparsity1);
+	}
+	
+	@Test
+	public void testBooleanMatrixRowVectorGreaterSparse() {
+		runBooleanRelationalTest(OpType.MATRIX_ROWVECT_GT, sparsity2);
+	}
+	
+	@Test
+	public void testBooleanAggregates() {
+		runBooleanConsumerTest(false);
+	}
+	
+	@Test
+	public void testBooleanMaskingDense() {
+		runBooleanMaskingTest(sparsity1);
+	}
+	
+	@Test
+	public void testBooleanMaskingSparse() {
+		runBooleanMaskingTest(sparsity2);
+	}
+	
+	@Test
+	public void testBooleanRemoveEmptySelect() {
+		runBooleanConsumerTest(true);
+	}
+	
+	@Test
+	public void testBooleanSerialize() {
+		runBooleanSerializeTest();
+	}
+	
+	private void runBooleanRelationalTest(OpType type, double sparsity) 
+	{
+		try
+		{
+			//data generation
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+			double[][] B = getRandomMatrix(rows, cols, -1, 1, sparsity, 3);
+			MatrixBlock mbA = DataConverter.convertToMatrixBlock(A);
+			MatrixBlock mbB = DataConverter.convertToMatrixBlock(B);
+			MatrixBlock mbB2 = null;
+			if( type == OpType.MATRIX_COLVECT_GT )
+				mbB2 = DataConverter.convertToMatrixBlock(getRandomMatrix(rows, 1, -1, 1, 1, 3));
+			else if( type == OpType.MATRIX_ROWVECT_GT )
+				mbB2 = DataConverter.convertToMatrixBlock(getRandomMatrix(1, cols, -1, 1, 1, 3));
+			
+			//relational operation and reference
+			MatrixBlock ret = null;
+			double[][] R = new double[rows][cols];
+			switch( type ) {
+				case SCALAR_GT: 
+					ret = (MatrixBlock) mbA.scalarOperations(new RightScalarOperator(
+						GreaterThan.getGreaterThanFnObject(), 0.1), new MatrixBlock());
+					for( int i=0; i<rows; i++ )
+						for( int j=0; j<cols; j++ )
+							R[i][j] = (A[i][j] > 0.1) ? 1 : 0;
+					break;
+				case SCALAR_EQ:
+					ret = (MatrixBlock) mbA.scalarOperations(new RightScalarOperator(
+						Equals.getEqualsFnObject(), 0), new MatrixBlock());
+					for( int i=0; i<rows; i++ )
+						for( int j=0; j<cols; j++ )
+							R[i][j] = (A[i][j] == 0) ? 1 : 0;
+					break;
+				case MATRIX_LT:
+					ret = (MatrixBlock) mbA.binaryOperations(new BinaryOperator(
+						LessThan.getLessThanFnObject()), mbB, new MatrixBlock());
+					for( int i=0; i<rows; i++ )
+						for( int j=0; j<cols; j++ )
+							R[i][j] = (A[i][j] < B[i][j]) ? 1 : 0;
+					break;
+				case MATRIX_COLVECT_GT:
+				case MATRIX_ROWVECT_GT:
+					ret = (MatrixBlock) mbA.binaryOperations(new BinaryOperator(
+						GreaterThan.getGreaterThanFnObject()), mbB2, new MatrixBlock());
+					boolean col = (type == OpType.MATRIX_COLVECT_GT);
+					for( int i=0; i<rows; i++ )
+						for( int j=0; j<cols; j++ )
+							R[i][j] = (A[i][j] > mbB2.quickGetValue(col?i:0, col?0:j)) ? 1 : 0;
+					break;
+			}
+			ret.examSparsity();
+			
+			//check for boolean output, nnz and in-memory size
+			if( !ret.isBoolean() )
+				Assert.fail("Wrong output representation: boolean block expected.");
+			if( ret.getNonZeros() != ret.recomputeNonZeros(0, rows-1, 0, cols-1) )
+				Assert.fail("Wrong number of non-zeros: "+ret.getNonZeros());
+			if( ret.getInMemorySize() >= MatrixBlock.estimateSizeDenseInMemory(rows, cols)/32 )
+				Assert.fail("Wrong in-memory size: "+ret.getInMemorySize());
+			
+			//compare results via cell access (w/o widening) and via double values
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					if( ret.quickGetValue(i, j) != R[i][j] )
+						Assert.fail("Wrong result at ("+i+","+j+"): "+ret.quickGetValue(i, j));
+			TestUtils.compareMatrices(R, DataConverter.convertToDoubleMatrix(ret), rows, cols, 0);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runBooleanConsumerTest(boolean rmEmpty) 
+	{
+		try
+		{
+			//data generation
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity1, 7);
+			MatrixBlock mbA = DataConverter.convertToMatrixBlock(A);
+			MatrixBlock mbM = (MatrixBlock) mbA.scalarOperations(new RightScalarOperator(
+				GreaterThan.getGreaterThanFnObject(), 0), new MatrixBlock());
+			double[][] M = new double[rows][cols];
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					M[i][j] = (A[i][j] > 0) ? 1 : 0;
+			
+			if( !rmEmpty ) {
+				//full, row, and column aggregates w/o widening
+				MatrixBlock ret1 = aggregate(mbM, "uak+");
+				MatrixBlock ret2 = aggregate(mbM, "uark+");
+				MatrixBlock ret3 = aggregate(mbM, "uack+");
+				MatrixBlock ret4 = aggregate(mbM, "uasqk+");
+				if( !mbM.isBoolean() )
+					Assert.fail("Unexpected widening of boolean block.");
+				
+				//compare with aggregates over double values
+				MatrixBlock mbM2 = DataConverter.convertToMatrixBlock(M);
+				TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(aggregate(mbM2, "uak+")), 
+					DataConverter.convertToDoubleMatrix(ret1), 1, 1, eps);
+				TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(aggregate(mbM2, "uark+")), 
+					DataConverter.convertToDoubleMatrix(ret2), rows, 1, eps);
+				TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(aggregate(mbM2, "uack+")), 
+					DataConverter.convertToDoubleMatrix(ret3), 1, cols, eps);
+				TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(aggregate(mbM2, "uasqk+")), 
+					DataConverter.convertToDoubleMatrix(ret4), 1, 1, eps);
+				Assert.assertEquals(mbM2.getNonZeros(), mbM.getNonZeros());
+			}
+			else {
+				//removeEmpty rows w/ boolean select vector
+				MatrixBlock mbS = (MatrixBlock) mbA.sliceOperations(0, rows-1, 0, 0, new MatrixBlock())
+					.scalarOperations(new RightScalarOperator(GreaterThan.getGreaterThanFnObject(), 0), new MatrixBlock());
+				if( !mbS.isBoolean() )
+					Assert.fail("Wrong select vector representation: boolean block expected.");
+				MatrixBlock ret = LibMatrixReorg.rmempty(mbA, new MatrixBlock(), true, mbS);
+				
+				//compare with reference
+				int nrows = 0;
+				for( int i=0; i<rows; i++ )
+					nrows += (M[i][0] != 0) ? 1 : 0;
+				double[][] R = new double[nrows][];
+				for( int i=0, pos=0; i<rows; i++ )
+					if( M[i][0] != 0 )
+						R[pos++] = A[i];
+				TestUtils.compareMatrices(R, DataConverter.convertToDoubleMatrix(ret), nrows, cols, 0);
+				if( !mbS.isBoolean() )
+					Assert.fail("Unexpected widening of boolean block.");
+			}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runBooleanMaskingTest(double sparsity) 
+	{
+		try
+		{
+			//data generation
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+			double[][] B = getRandomMatrix(rows, cols, -1, 1, sparsity1, 3);
+			MatrixBlock mbA = DataConverter.convertToMatrixBlock(A);
+			MatrixBlock mbB = DataConverter.convertToMatrixBlock(B);
+			MatrixBlock mbM1 = (MatrixBlock) mbB.scalarOperations(new RightScalarOperator(
+				GreaterThan.getGreaterThanFnObject(), 0), new MatrixBlock());
+			MatrixBlock mbM2 = (MatrixBlock) mbB.scalarOperations(new RightScalarOperator(
+				LessThan.getLessThanFnObject(), 0.5), new MatrixBlock());
+			
+			//masking (X*M), logical and (M1&M2), not (1-M), and scaling (7*M)
+			MatrixBlock ret1 = (MatrixBlock) mbA.binaryOperations(new BinaryOperator(
+				Multiply.getMultiplyFnObject()), mbM1, new MatrixBlock());
+			MatrixBlock ret2 = (MatrixBlock) mbM1.binaryOperations(new BinaryOperator(
+				And.getAndFnObject()), mbM2, new MatrixBlock());
+			MatrixBlock ret3 = (MatrixBlock) mbM1.scalarOperations(new LeftScalarOperator(
+				Minus.getMinusFnObject(), 1), new MatrixBlock());
+			MatrixBlock ret4 = (MatrixBlock) mbM1.scalarOperations(new RightScalarOperator(
+				Multiply.getMultiplyFnObject(), 7), new MatrixBlock());
+			
+			//check for boolean inputs and outputs
+			if( !mbM1.isBoolean() || !mbM2.isBoolean() )
+				Assert.fail("Unexpected widening of boolean block.");
+			if( !ret2.isBoolean() || !ret3.isBoolean() )
+				Assert.fail("Wrong output representation: boolean block expected.");
+			
+			//compare with reference
+			double[][] R1 = new double[rows][cols];
+			double[][] R2 = new double[rows][cols];
+			double[][] R3 = new double[rows][cols];
+			double[][] R4 = new double[rows][cols];
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ ) {
+					R1[i][j] = (B[i][j] > 0) ? A[i][j] : 0;
+					R2[i][j] = (B[i][j] > 0 && B[i][j] < 0.5) ? 1 : 0;
+					R3[i][j] = (B[i][j] > 0) ? 0 : 1;
+					R4[i][j] = (B[i][j] > 0) ? 7 : 0;
+				}
+			TestUtils.compareMatrices(R1, DataConverter.convertToDoubleMatrix(ret1), rows, cols, eps);
+			TestUtils.compareMatrices(R2, DataConverter.convertToDoubleMatrix(ret2), rows, cols, eps);
+			TestUtils.compareMatrices(R3, DataConverter.convertToDoubleMatrix(ret3), rows, cols, eps);
+			TestUtils.compareMatrices(R4, DataConverter.convertToDoubleMatrix(ret4), rows, cols, eps);
+			Assert.assertEquals(ret1.recomputeNonZeros(0, rows-1, 0, cols-1), ret1.getNonZeros());
+			Assert.assertEquals(ret3.recomputeNonZeros(0, rows-1, 0, cols-1), ret3.getNonZeros());
+			Assert.assertEquals(ret4.recomputeNonZeros(0, rows-1, 0, cols-1), ret4.getNonZeros());
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runBooleanSerializeTest() 
+	{
+		try
+		{
+			//data generation
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity1, 7);
+			MatrixBlock mbM = (MatrixBlock) DataConverter.convertToMatrixBlock(A).scalarOperations(
+				new RightScalarOperator(GreaterThan.getGreaterThanFnObject(), 0), new MatrixBlock());
+			
+			//serialize and deserialize
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			DataOutputStream dos = new DataOutputStream(bos);
+			mbM.write(dos);
+			dos.close();
+			MatrixBlock mbM2 = new MatrixBlock();
+			mbM2.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+			
+			//check size, representation, and results
+			if( bos.size() != mbM.getExactSizeOnDisk() )
+				Assert.fail("Wrong serialized size: "+bos.size()+", expected: "+mbM.getExactSizeOnDisk());
+			if( bos.size() >= rows*cols/8 + 64 )
+				Assert.fail("Wrong serialized size: "+bos.size());
+			if( !mbM.isBoolean() || !mbM2.isBoolean() )
+				Assert.fail("Wrong representation: boolean block expected.");
+			Assert.assertEquals(mbM.getNonZeros(), mbM2.getNonZeros());
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(mbM), 
+				DataConverter.convertToDoubleMatrix(mbM2), rows, cols, 0);
+			
+			//transparent widening on update
+			mbM2.quickSetValue(3, 7, 2.5);
+			if( mbM2.isBoolean() || mbM2.quickGetValue(3, 7) != 2.5 
+				|| mbM2.quickGetValue(5, 3) != mbM.quickGetValue(5, 3) )
+				Assert.fail("Wrong widening of boolean block.");
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private static MatrixBlock aggregate(MatrixBlock in, String opcode) 
+		throws Exception
+	{
+		AggregateUnaryOperator op = InstructionUtils.parseBasicAggregateUnaryOperator(opcode);
+		return (MatrixBlock) in.aggregateUnaryOperations(op, new MatrixBlock(), 
+			rows, cols, new MatrixIndexes(1, 1), true);
+	}
+}
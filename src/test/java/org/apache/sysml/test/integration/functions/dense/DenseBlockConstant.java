@@ -0,0 +1,368 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.dense;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.functionobjects.Minus;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.functionobjects.SwapIndex;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.LibMatrixDatagen;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
+import org.apache.sysml.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a dense matrix block component test for constant blocks (e.g., 
+ * outputs of matrix(7, rows, cols)), which covers the data generation, 
+ * consumers that operate w/o widening (scalar and binary operations, matrix 
+ * multiplication, aggregates, transpose), and the serialization in constant
+ * format. We compare the results against the same operations over regular
+ * dense blocks of equal values.
+ * 
+ */
+public class DenseBlockConstant extends AutomatedTestBase 
+{
+	private final static int rows = 1021;
+	private final static int cols = 73;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.05;
+	private final static double val = 7;
+	private final static double eps = 1e-8;
+	
+	private enum OpType {
+		SCALAR,
+		BINARY_MM,
+		BINARY_MV,
+		BINARY_LEFT,
+		BINARY_CONST,
+		MM_LEFT,
+		MM_RIGHT,
+		MM_CONST,
+		SUM,
+		ROWSUMS,
+		COLMEANS,
+		ROWMAXS,
+		TRANSPOSE,
+	}
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testConstantDatagen() {
+		runConstantDatagenTest();
+	}
+	
+	@Test
+	public void testConstantScalar() {
+		runConstantConsumerTest(OpType.SCALAR, sparsity1);
+	}
+	
+	@Test
+	public void testConstantBinaryMatrixMatrixDense() {
+		runConstantConsumerTest(OpType.BINARY_MM, sparsity1);
+	}
+	
+	@Test
+	public void testConstantBinaryMatrixMatrixSparse() {
+		runConstantConsumerTest(OpType.BINARY_MM, sparsity2);
+	}
+	
+	@Test
+	public void testConstantBinaryMatrixVector() {
+		runConstantConsumerTest(OpType.BINARY_MV, sparsity1);
+	}
+	
+	@Test
+	public void testConstantBinaryLeft() {
+		runConstantConsumerTest(OpType.BINARY_LEFT, sparsity2);
+	}
+	
+	@Test
+	public void testConstantBinaryConstant() {
+		runConstantConsumerTest(OpType.BINARY_CONST, sparsity1);
+	}
+	
+	@Test
+	public void testConstantMatrixMultLeftDense() {
+		runConstantConsumerTest(OpType.MM_LEFT, sparsity1);
+	}
+	
+	@Test
+	public void testConstantMatrixMultLeftSparse() {
+		runConstantConsumerTest(OpType.MM_LEFT, sparsity2);
+	}
+	
+	@Test
+	public void testConstantMatrixMultRightDense() {
+		runConstantConsumerTest(OpType.MM_RIGHT, sparsity1);
+	}
+	
+	@Test
+	public void testConstantMatrixMultRightSparse() {
+		runConstantConsumerTest(OpType.MM_RIGHT, sparsity2);
+	}
+	
+	@Test
+	public void testConstantMatrixMultConstant() {
+		runConstantConsumerTest(OpType.MM_CONST, sparsity1);
+	}
+	
+	@Test
+	public void testConstantSum() {
+		runConstantConsumerTest(OpType.SUM, sparsity1);
+	}
+	
+	@Test
+	public void testConstantRowSums() {
+		runConstantConsumerTest(OpType.ROWSUMS, sparsity1);
+	}
+	
+	@Test
+	public void testConstantColMeans() {
+		runConstantConsumerTest(OpType.COLMEANS, sparsity1);
+	}
+	
+	@Test
+	public void testConstantRowMaxs() {
+		runConstantConsumerTest(OpType.ROWMAXS, sparsity1);
+	}
+	
+	@Test
+	public void testConstantTranspose() {
+		runConstantConsumerTest(OpType.TRANSPOSE, sparsity1);
+	}
+	
+	@Test
+	public void testConstantSerialize() {
+		runConstantSerializeTest();
+	}
+	
+	private void runConstantDatagenTest() 
+	{
+		try
+		{
+			MatrixBlock mbC = MatrixBlock.randOperations(rows, cols, 1.0, 
+				val, val, LibMatrixDatagen.RAND_PDF_UNIFORM, 7);
+			
+			//check for constant output, nnz and in-memory size
+			if( !mbC.isConstant() || mbC.getConstantValue() != val )
+				Assert.fail("Wrong output representation: constant block expected.");
+			Assert.assertEquals((long)rows*cols, mbC.getNonZeros());
+			if( mbC.getInMemorySize() > 128 )
+				Assert.fail("Wrong in-memory size: "+mbC.getInMemorySize());
+			
+			//compare results via cell access (w/o widening) and via double values
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					if( mbC.quickGetValue(i, j) != val )
+						Assert.fail("Wrong value at ("+i+","+j+"): "+mbC.quickGetValue(i, j));
+			if( !mbC.isConstant() )
+				Assert.fail("Unexpected widening of constant block.");
+			TestUtils.compareMatrices(constant(rows, cols), 
+				DataConverter.convertToDoubleMatrix(mbC), rows, cols, 0);
+			double[] c = mbC.getDenseBlockValues(); //widening
+			if( mbC.isConstant() || c[rows*cols-1] != val )
+				Assert.fail("Wrong widening of constant block.");
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runConstantConsumerTest(OpType type, double sparsity) 
+	{
+		try
+		{
+			//data generation
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+			MatrixBlock mbX = DataConverter.convertToMatrixBlock(X);
+			MatrixBlock mbC = constantBlock(rows, cols);
+			MatrixBlock mbC2 = DataConverter.convertToMatrixBlock(constant(rows, cols));
+			if( !mbC.isConstant() || mbC2.isConstant() )
+				Assert.fail("Wrong input representation.");
+			
+			//consumer operations over constant and full input
+			MatrixBlock ret1 = null, ret2 = null;
+			boolean constOut = false;
+			switch( type ) {
+				case SCALAR: {
+					RightScalarOperator op = new RightScalarOperator(Multiply.getMultiplyFnObject(), 3);
+					ret1 = (MatrixBlock) mbC.scalarOperations(op, new MatrixBlock());
+					ret2 = (MatrixBlock) mbC2.scalarOperations(op, new MatrixBlock());
+					constOut = true;
+					break;
+				}
+				case BINARY_MM:
+				case BINARY_MV:
+				case BINARY_LEFT:
+				case BINARY_CONST: {
+					BinaryOperator op = new BinaryOperator(type==OpType.BINARY_MV ?
+						Multiply.getMultiplyFnObject() : type==OpType.BINARY_LEFT ?
+						Minus.getMinusFnObject() : Plus.getPlusFnObject());
+					if( type == OpType.BINARY_MV ) {
+						mbC = constantBlock(rows, 1);
+						mbC2 = DataConverter.convertToMatrixBlock(constant(rows, 1));
+					}
+					MatrixBlock lhs1 = (type==OpType.BINARY_LEFT || type==OpType.BINARY_CONST) ? mbC : mbX;
+					MatrixBlock lhs2 = (type==OpType.BINARY_LEFT || type==OpType.BINARY_CONST) ? mbC2 : mbX;
+					MatrixBlock rhs1 = (type==OpType.BINARY_LEFT) ? mbX : mbC;
+					MatrixBlock rhs2 = (type==OpType.BINARY_LEFT) ? mbX : mbC2;
+					ret1 = (MatrixBlock) lhs1.binaryOperations(op, rhs1, new MatrixBlock());
+					ret2 = (MatrixBlock) lhs2.binaryOperations(op, rhs2, new MatrixBlock());
+					constOut = (type == OpType.BINARY_CONST);
+					break;
+				}
+				case MM_LEFT:
+				case MM_RIGHT:
+				case MM_CONST: {
+					AggregateBinaryOperator op = new AggregateBinaryOperator(Multiply.getMultiplyFnObject(), 
+						new AggregateOperator(0, Plus.getPlusFnObject()));
+					if( type == OpType.MM_LEFT ) {
+						MatrixBlock mbC3 = constantBlock(17, rows);
+						MatrixBlock mbC4 = DataConverter.convertToMatrixBlock(constant(17, rows));
+						ret1 = (MatrixBlock) mbC3.aggregateBinaryOperations(mbC3, mbX, new MatrixBlock(), op);
+						ret2 = (MatrixBlock) mbC4.aggregateBinaryOperations(mbC4, mbX, new MatrixBlock(), op);
+					}
+					else if( type == OpType.MM_RIGHT ) {
+						MatrixBlock mbC3 = constantBlock(cols, 17);
+						MatrixBlock mbC4 = DataConverter.convertToMatrixBlock(constant(cols, 17));
+						ret1 = (MatrixBlock) mbX.aggregateBinaryOperations(mbX, mbC3, new MatrixBlock(), op);
+						ret2 = (MatrixBlock) mbX.aggregateBinaryOperations(mbX, mbC4, new MatrixBlock(), op);
+					}
+					else {
+						MatrixBlock mbC3 = constantBlock(cols, 17);
+						MatrixBlock mbC4 = DataConverter.convertToMatrixBlock(constant(cols, 17));
+						ret1 = (MatrixBlock) mbC.aggregateBinaryOperations(mbC, mbC3, new MatrixBlock(), op);
+						ret2 = (MatrixBlock) mbC2.aggregateBinaryOperations(mbC2, mbC4, new MatrixBlock(), op);
+						constOut = true;
+					}
+					break;
+				}
+				case SUM:      ret1 = aggregate(mbC, "uak+");    ret2 = aggregate(mbC2, "uak+"); break;
+				case ROWSUMS:  ret1 = aggregate(mbC, "uark+");   ret2 = aggregate(mbC2, "uark+"); break;
+				case COLMEANS: ret1 = aggregate(mbC, "uacmean"); ret2 = aggregate(mbC2, "uacmean"); break;
+				case ROWMAXS:  ret1 = aggregate(mbC, "uarmax");  ret2 = aggregate(mbC2, "uarmax"); break;
+				case TRANSPOSE: {
+					ReorgOperator op = new ReorgOperator(SwapIndex.getSwapIndexFnObject());
+					ret1 = (MatrixBlock) mbC.reorgOperations(op, new MatrixBlock(), 0, 0, cols);
+					ret2 = (MatrixBlock) mbC2.reorgOperations(op, new MatrixBlock(), 0, 0, cols);
+					constOut = true;
+					break;
+				}
+			}
+			
+			//check for unchanged constant input and output representation
+			if( !mbC.isConstant() )
+				Assert.fail("Unexpected widening of constant block.");
+			if( constOut && !ret1.isConstant() )
+				Assert.fail("Wrong output representation: constant block expected.");
+			
+			//compare with reference
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ret2), 
+				DataConverter.convertToDoubleMatrix(ret1), ret2.getNumRows(), ret2.getNumColumns(), eps);
+			Assert.assertEquals(ret2.getNonZeros(), ret1.getNonZeros());
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runConstantSerializeTest() 
+	{
+		try
+		{
+			MatrixBlock mbC = constantBlock(rows, cols);
+			
+			//serialize and deserialize
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			DataOutputStream dos = new DataOutputStream(bos);
+			mbC.write(dos);
+			dos.close();
+			MatrixBlock mbC2 = new MatrixBlock();
+			mbC2.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+			
+			//check size, representation, and results
+			if( bos.size() != mbC.getExactSizeOnDisk() )
+				Assert.fail("Wrong serialized size: "+bos.size()+", expected: "+mbC.getExactSizeOnDisk());
+			if( bos.size() > MatrixBlock.HEADER_SIZE + 8 )
+				Assert.fail("Wrong serialized size: "+bos.size());
+			if( !mbC.isConstant() || !mbC2.isConstant() )
+				Assert.fail("Wrong representation: constant block expected.");
+			Assert.assertEquals(mbC.getNonZeros(), mbC2.getNonZeros());
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(mbC), 
+				DataConverter.convertToDoubleMatrix(mbC2), rows, cols, 0);
+			
+			//transparent widening on update
+			mbC2.quickSetValue(3, 7, 2.5);
+			if( mbC2.isConstant() || mbC2.quickGetValue(3, 7) != 2.5 
+				|| mbC2.quickGetValue(7, 3) != val )
+				Assert.fail("Wrong widening of constant block.");
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private static MatrixBlock constantBlock(int rows, int cols) 
+		throws Exception
+	{
+		return MatrixBlock.randOperations(rows, cols, 1.0, 
+			val, val, LibMatrixDatagen.RAND_PDF_UNIFORM, 7);
+	}
+	
+	private static double[][] constant(int rows, int cols) {
+		double[][] C = new double[rows][cols];
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ )
+				C[i][j] = val;
+		return C;
+	}
+	
+	private static MatrixBlock aggregate(MatrixBlock in, String opcode) 
+		throws Exception
+	{
+		AggregateUnaryOperator op = InstructionUtils.parseBasicAggregateUnaryOperator(opcode);
+		return (MatrixBlock) in.aggregateUnaryOperations(op, new MatrixBlock(), 
+			in.getNumRows(), in.getNumColumns(), new MatrixIndexes(1, 1), true);
+	}
+}
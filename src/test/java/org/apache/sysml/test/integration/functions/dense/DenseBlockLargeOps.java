@@ -0,0 +1,319 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.dense;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.functionobjects.SwapIndex;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.DenseBlock;
+import org.apache.sysml.runtime.matrix.data.DenseBlockLDRB;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a dense matrix block component test for large dense blocks
+ * of multiple row blocks (LDRB). In order to test this functionality
+ * w/o allocating more than 2^31 cells, we use small row block sizes and
+ * compare the results of all supported operations against the results
+ * over single-array dense blocks.
+ * 
+ */
+public class DenseBlockLargeOps extends AutomatedTestBase 
+{
+	private final static int rows = 431;
+	private final static int cols = 187;
+	private final static int blen = 37;
+	private final static double eps = 1e-10;
+	
+	private enum OpType {
+		MM,
+		MV,
+		SUM,
+		ROWSUMS,
+		COLSUMS,
+		SUMSQ,
+		MIN,
+		MAX,
+		ROWMAXS,
+		COLMINS,
+		MEAN,
+		ROWMEANS,
+		COLMEANS,
+		PLUS,
+		MULT_MV,
+		GREATER_SCALAR,
+		TRANSPOSE,
+		SERIALIZE,
+	}
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testDenseBlockLDRBMatrixMult() {
+		runDenseBlockLargeOpsTest(OpType.MM, false);
+	}
+	
+	@Test
+	public void testDenseBlockLDRBMatrixMultOut() {
+		runDenseBlockLargeOpsTest(OpType.MM, true);
+	}
+	
+	@Test
+	public void testDenseBlockLDRBMatrixVectorMult() {
+		runDenseBlockLargeOpsTest(OpType.MV, false);
+	}
+	
+	@Test
+	public void testDenseBlockLDRBSum() {
+		runDenseBlockLargeOpsTest(OpType.SUM, false);
+	}
+	
+	@Test
+	public void testDenseBlockLDRBRowSums() {
+		runDenseBlockLargeOpsTest(OpType.ROWSUMS, false);
+	}
+	
+	@Test
+	public void testDenseBlockLDRBColSums() {
+		runDenseBlockLargeOpsTest(OpType.COLSUMS, false);
+	}
+	
+	@Test
+	public void testDenseBlockLDRBSumSq() {
+		runDenseBlockLargeOpsTest(OpType.SUMSQ, false);
+	}
+	
+	@Test
+	public void testDenseBlockLDRBMin() {
+		runDenseBlockLargeOpsTest(OpType.MIN, false);
+	}
+	
+	@Test
+	public void testDenseBlockLDRBMax() {
+		runDenseBlockLargeOpsTest(OpType.MAX, false);
+	}
+	
+	@Test
+	public void testDenseBlockLDRBRowMaxs() {
+		runDenseBlockLargeOpsTest(OpType.ROWMAXS, false);
+	}
+	
+	@Test
+	public void testDenseBlockLDRBColMins() {
+		runDenseBlockLargeOpsTest(OpType.COLMINS, false);
+	}
+	
+	@Test
+	public void testDenseBlockLDRBMean() {
+		runDenseBlockLargeOpsTest(OpType.MEAN, false);
+	}
+	
+	@Test
+	public void testDenseBlockLDRBRowMeans() {
+		runDenseBlockLargeOpsTest(OpType.ROWMEANS, false);
+	}
+	
+	@Test
+	public void testDenseBlockLDRBColMeans() {
+		runDenseBlockLargeOpsTest(OpType.COLMEANS, false);
+	}
+	
+	@Test
+	public void testDenseBlockLDRBPlus() {
+		runDenseBlockLargeOpsTest(OpType.PLUS, false);
+	}
+	
+	@Test
+	public void testDenseBlockLDRBPlusOut() {
+		runDenseBlockLargeOpsTest(OpType.PLUS, true);
+	}
+	
+	@Test
+	public void testDenseBlockLDRBMultMV() {
+		runDenseBlockLargeOpsTest(OpType.MULT_MV, false);
+	}
+	
+	@Test
+	public void testDenseBlockLDRBGreaterScalar() {
+		runDenseBlockLargeOpsTest(OpType.GREATER_SCALAR, false);
+	}
+	
+	@Test
+	public void testDenseBlockLDRBTranspose() {
+		runDenseBlockLargeOpsTest(OpType.TRANSPOSE, false);
+	}
+	
+	@Test
+	public void testDenseBlockLDRBTransposeOut() {
+		runDenseBlockLargeOpsTest(OpType.TRANSPOSE, true);
+	}
+	
+	@Test
+	public void testDenseBlockLDRBSerialize() {
+		runDenseBlockLargeOpsTest(OpType.SERIALIZE, false);
+	}
+	
+	private void runDenseBlockLargeOpsTest( OpType type, boolean multiBlockOut ) 
+	{
+		try
+		{
+			//data generation
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, 1.0, 7); 
+			double[][] B = getRandomMatrix(cols, 73, -1, 1, 1.0, 3); 
+			double[][] v = getRandomMatrix(1, cols, -1, 1, 1.0, 5); 
+			MatrixBlock mbA = DataConverter.convertToMatrixBlock(A);
+			MatrixBlock mbB = DataConverter.convertToMatrixBlock(B);
+			MatrixBlock mbv = DataConverter.convertToMatrixBlock(v);
+			MatrixBlock mbA2 = createMultiBlock(mbA);
+			MatrixBlock mbB2 = createMultiBlock(mbB);
+			if( !mbA2.isDenseMultiBlock() )
+				Assert.fail("Wrong dense block representation.");
+			
+			//check basic meta data and cell access
+			Assert.assertEquals(mbA.getNonZeros(), mbA2.getNonZeros());
+			Assert.assertEquals(mbA.quickGetValue(rows-1, cols-1), mbA2.quickGetValue(rows-1, cols-1), 0);
+			
+			//execute operations over single- and multi-block inputs
+			MatrixBlock ret1 = null, ret2 = null;
+			switch( type ) {
+				case MM: {
+					AggregateBinaryOperator op = new AggregateBinaryOperator(Multiply.getMultiplyFnObject(), 
+						new AggregateOperator(0, Plus.getPlusFnObject()));
+					ret1 = (MatrixBlock) mbA.aggregateBinaryOperations(mbA, mbB, new MatrixBlock(), op);
+					ret2 = (MatrixBlock) mbA2.aggregateBinaryOperations(mbA2, mbB2, 
+						createOutput(rows, mbB.getNumColumns(), multiBlockOut), op);
+					break;
+				}
+				case MV: {
+					AggregateBinaryOperator op = new AggregateBinaryOperator(Multiply.getMultiplyFnObject(), 
+						new AggregateOperator(0, Plus.getPlusFnObject()));
+					MatrixBlock mbvt = DataConverter.convertToMatrixBlock(DataConverter
+						.convertToDoubleVector(mbv), true);
+					ret1 = (MatrixBlock) mbA.aggregateBinaryOperations(mbA, mbvt, new MatrixBlock(), op);
+					ret2 = (MatrixBlock) mbA2.aggregateBinaryOperations(mbA2, mbvt, new MatrixBlock(), op);
+					break;
+				}
+				case SUM:      ret1 = aggregate(mbA, "uak+");   ret2 = aggregate(mbA2, "uak+"); break;
+				case ROWSUMS:  ret1 = aggregate(mbA, "uark+");  ret2 = aggregate(mbA2, "uark+"); break;
+				case COLSUMS:  ret1 = aggregate(mbA, "uack+");  ret2 = aggregate(mbA2, "uack+"); break;
+				case SUMSQ:    ret1 = aggregate(mbA, "uasqk+"); ret2 = aggregate(mbA2, "uasqk+"); break;
+				case MIN:      ret1 = aggregate(mbA, "uamin");  ret2 = aggregate(mbA2, "uamin"); break;
+				case MAX:      ret1 = aggregate(mbA, "uamax");  ret2 = aggregate(mbA2, "uamax"); break;
+				case ROWMAXS:  ret1 = aggregate(mbA, "uarmax"); ret2 = aggregate(mbA2, "uarmax"); break;
+				case COLMINS:  ret1 = aggregate(mbA, "uacmin"); ret2 = aggregate(mbA2, "uacmin"); break;
+				case MEAN:     ret1 = aggregate(mbA, "uamean"); ret2 = aggregate(mbA2, "uamean"); break;
+				case ROWMEANS: ret1 = aggregate(mbA, "uarmean"); ret2 = aggregate(mbA2, "uarmean"); break;
+				case COLMEANS: ret1 = aggregate(mbA, "uacmean"); ret2 = aggregate(mbA2, "uacmean"); break;
+				case PLUS: {
+					MatrixBlock mbA3 = createMultiBlock(mbA);
+					ret1 = (MatrixBlock) mbA.binaryOperations(InstructionUtils
+						.parseBinaryOperator("+"), mbA, new MatrixBlock());
+					ret2 = (MatrixBlock) mbA2.binaryOperations(InstructionUtils
+						.parseBinaryOperator("+"), mbA3, createOutput(rows, cols, multiBlockOut));
+					break;
+				}
+				case MULT_MV: {
+					ret1 = (MatrixBlock) mbA.binaryOperations(InstructionUtils
+						.parseBinaryOperator("*"), mbv, new MatrixBlock());
+					ret2 = (MatrixBlock) mbA2.binaryOperations(InstructionUtils
+						.parseBinaryOperator("*"), mbv, new MatrixBlock());
+					break;
+				}
+				case GREATER_SCALAR: {
+					ret1 = (MatrixBlock) mbA.scalarOperations(InstructionUtils
+						.parseScalarBinaryOperator(">", false, 0.3), new MatrixBlock());
+					ret2 = (MatrixBlock) mbA2.scalarOperations(InstructionUtils
+						.parseScalarBinaryOperator(">", false, 0.3), new MatrixBlock());
+					break;
+				}
+				case TRANSPOSE: {
+					ReorgOperator op = new ReorgOperator(SwapIndex.getSwapIndexFnObject());
+					ret1 = (MatrixBlock) mbA.reorgOperations(op, new MatrixBlock(), 0, 0, 0);
+					ret2 = (MatrixBlock) mbA2.reorgOperations(op, createOutput(cols, rows, multiBlockOut), 0, 0, 0);
+					break;
+				}
+				case SERIALIZE: {
+					ByteArrayOutputStream bos = new ByteArrayOutputStream();
+					mbA2.write(new DataOutputStream(bos));
+					ret1 = mbA;
+					ret2 = new MatrixBlock(rows, cols, new DenseBlockLDRB(rows, cols, blen));
+					ret2.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+					if( !ret2.isDenseMultiBlock() )
+						Assert.fail("Wrong dense block representation after deserialization.");
+					break;
+				}
+			}
+			
+			//compare results
+			if( multiBlockOut && !ret2.isDenseMultiBlock() )
+				Assert.fail("Wrong dense block representation of output.");
+			Assert.assertEquals(ret1.getNumRows(), ret2.getNumRows());
+			Assert.assertEquals(ret1.getNumColumns(), ret2.getNumColumns());
+			Assert.assertEquals(ret1.getNonZeros(), ret2.getNonZeros());
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ret1), 
+				DataConverter.convertToDoubleMatrix(ret2), ret1.getNumRows(), ret1.getNumColumns(), eps);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private static MatrixBlock createMultiBlock(MatrixBlock in) {
+		int m = in.getNumRows();
+		int n = in.getNumColumns();
+		DenseBlock dblock = new DenseBlockLDRB(m, n, blen);
+		for( int i=0; i<m; i++ )
+			for( int j=0; j<n; j++ )
+				dblock.set(i, j, in.quickGetValue(i, j));
+		return new MatrixBlock(m, n, dblock);
+	}
+	
+	private static MatrixBlock createOutput(int m, int n, boolean multiBlock) {
+		return multiBlock ? new MatrixBlock(m, n, new DenseBlockLDRB(m, n, blen)) : new MatrixBlock();
+	}
+	
+	private static MatrixBlock aggregate(MatrixBlock in, String opcode) 
+		throws Exception
+	{
+		AggregateUnaryOperator op = InstructionUtils.parseBasicAggregateUnaryOperator(opcode);
+		return (MatrixBlock) in.aggregateUnaryOperations(op, new MatrixBlock(), 
+			rows, cols, new MatrixIndexes(1, 1), true);
+	}
+}
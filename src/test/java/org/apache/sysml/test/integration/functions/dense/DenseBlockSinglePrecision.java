@@ -0,0 +1,243 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.dense;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.conf.ConfigurationManager;
+import org.apache.sysml.conf.DMLConfig;
+import org.apache.sysml.runtime.controlprogram.caching.CacheDataInput;
+import org.apache.sysml.runtime.controlprogram.caching.CacheDataOutput;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a dense matrix block component test for single-precision (FP32)
+ * storage, which covers the in-place narrowing and widening, matrix 
+ * multiplication over single-precision inputs, as well as the serialization
+ * in single-precision formats (with and without configured FP32 storage).
+ * 
+ */
+public class DenseBlockSinglePrecision extends AutomatedTestBase 
+{
+	private final static int rows = 321;
+	private final static int cols = 97;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.05;
+	private final static double eps = 1e-10;
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testSinglePrecisionConversion() {
+		runSinglePrecisionConversionTest();
+	}
+	
+	@Test
+	public void testSinglePrecisionCopy() throws Exception {
+		double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity1, 3); 
+		MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+		
+		//narrow into a new block, leaving the input unchanged
+		MatrixBlock mb2 = mb.copyToSinglePrecision();
+		if( mb2 == mb || !mb2.isSinglePrecision() || mb.isSinglePrecision() )
+			Assert.fail("Wrong dense block representation.");
+		Assert.assertEquals(mb.getNonZeros(), mb2.getNonZeros());
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ ) {
+				Assert.assertEquals(A[i][j], mb.quickGetValue(i, j), 0);
+				Assert.assertEquals((float)A[i][j], mb2.quickGetValue(i, j), 0);
+			}
+	}
+	
+	@Test
+	public void testSinglePrecisionMatrixMult() {
+		runSinglePrecisionMatrixMultTest(rows, cols, 73);
+	}
+	
+	@Test
+	public void testSinglePrecisionMatrixMultSkinny() {
+		runSinglePrecisionMatrixMultTest(rows, cols, 3);
+	}
+	
+	@Test
+	public void testSinglePrecisionMatrixVectorMult() {
+		runSinglePrecisionMatrixMultTest(rows, cols, 1);
+	}
+	
+	@Test
+	public void testSinglePrecisionVectorMatrixMult() {
+		runSinglePrecisionMatrixMultTest(1, cols, 73);
+	}
+	
+	@Test
+	public void testSinglePrecisionSerializeDense() {
+		runSinglePrecisionSerializeTest(sparsity1, true, false);
+	}
+	
+	@Test
+	public void testSinglePrecisionSerializeDenseConfig() {
+		runSinglePrecisionSerializeTest(sparsity1, false, true);
+	}
+	
+	@Test
+	public void testSinglePrecisionSerializeSparseConfig() {
+		runSinglePrecisionSerializeTest(sparsity2, false, true);
+	}
+	
+	@Test
+	public void testSinglePrecisionSerializeDenseToSparseConfig() {
+		runSinglePrecisionSerializeTest(sparsity2, true, true);
+	}
+	
+	private void runSinglePrecisionConversionTest() 
+	{
+		try
+		{
+			runSinglePrecisionConversion();
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runSinglePrecisionConversion() 
+		throws Exception
+	{
+		double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity1, 7); 
+		MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+		long size = mb.getInMemorySize();
+		
+		//narrow to single precision (halved size, float-rounded values)
+		mb.toSinglePrecision();
+		if( !mb.isSinglePrecision() )
+			Assert.fail("Wrong dense block representation.");
+		Assert.assertTrue(mb.getInMemorySize() < size/2 + 64);
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ )
+				Assert.assertEquals((float)A[i][j], mb.quickGetValue(i, j), 0);
+		
+		//widening on double access
+		double[] avals = mb.getDenseBlockValues();
+		if( mb.isSinglePrecision() )
+			Assert.fail("Wrong dense block representation after widening.");
+		Assert.assertEquals((float)A[rows-1][cols-1], avals[rows*cols-1], 0);
+		long nnz = mb.getNonZeros();
+		mb.recomputeNonZeros();
+		Assert.assertEquals(nnz, mb.getNonZeros());
+	}
+	
+	private void runSinglePrecisionMatrixMultTest(int m, int cd, int n) 
+	{
+		try
+		{
+			MatrixBlock mbA = DataConverter.convertToMatrixBlock(getRandomMatrix(m, cd, -1, 1, sparsity1, 3));
+			MatrixBlock mbB = DataConverter.convertToMatrixBlock(getRandomMatrix(cd, n, -1, 1, sparsity1, 4));
+			MatrixBlock mbA2 = new MatrixBlock(mbA).toSinglePrecision();
+			MatrixBlock mbB2 = new MatrixBlock(mbB).toSinglePrecision();
+			
+			//reference over double-precision inputs of float-rounded values
+			MatrixBlock mbA3 = DataConverter.convertToMatrixBlock(DataConverter.convertToDoubleMatrix(mbA2));
+			MatrixBlock mbB3 = DataConverter.convertToMatrixBlock(DataConverter.convertToDoubleMatrix(mbB2));
+			
+			AggregateBinaryOperator op = new AggregateBinaryOperator(Multiply.getMultiplyFnObject(), 
+				new AggregateOperator(0, Plus.getPlusFnObject()));
+			MatrixBlock ret1 = (MatrixBlock) mbA3.aggregateBinaryOperations(mbA3, mbB3, new MatrixBlock(), op);
+			MatrixBlock ret2 = (MatrixBlock) mbA2.aggregateBinaryOperations(mbA2, mbB2, new MatrixBlock(), op);
+			
+			//check no widening of inputs and results
+			if( !mbA2.isSinglePrecision() || !mbB2.isSinglePrecision() )
+				Assert.fail("Unnecessary widening of single-precision inputs.");
+			Assert.assertEquals(ret1.getNonZeros(), ret2.getNonZeros());
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ret1), 
+				DataConverter.convertToDoubleMatrix(ret2), m, n, eps);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runSinglePrecisionSerializeTest(double sparsity, boolean fp32, boolean config) 
+	{
+		try
+		{
+			if( config ) {
+				DMLConfig conf = new DMLConfig();
+				conf.setTextValue(DMLConfig.FLOATING_POINT_PRECISION, "single");
+				ConfigurationManager.setGlobalConfig(conf);
+			}
+			
+			double[][] A = getRandomMatrix(rows, cols, -1, 1, sparsity, 7); 
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+			double[][] Aref = new double[rows][cols];
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					Aref[i][j] = (float)A[i][j];
+			MatrixBlock mbRef = DataConverter.convertToMatrixBlock(Aref);
+			if( fp32 )
+				mb.toSinglePrecision();
+			long size = mb.getExactSizeOnDisk();
+			
+			//serialize via general and fast data outputs (exact size)
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			mb.write(new DataOutputStream(bos));
+			byte[] buff = new byte[(int)mb.getExactSerializedSize()];
+			mb.write(new CacheDataOutput(buff));
+			Assert.assertEquals(size, bos.size());
+			if( config )
+				Assert.assertEquals(MatrixBlock.estimateSizeOnDisk(rows, cols, mb.getNonZeros()), size);
+			
+			//deserialize and compare with float-rounded values
+			MatrixBlock mb2 = new MatrixBlock();
+			mb2.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+			MatrixBlock mb3 = new MatrixBlock();
+			mb3.readFields(new CacheDataInput(buff));
+			Assert.assertEquals(mbRef.getNonZeros(), mb2.getNonZeros());
+			Assert.assertEquals(mbRef.getNonZeros(), mb3.getNonZeros());
+			if( !mb2.isInSparseFormat() && config != mb2.isSinglePrecision() )
+				Assert.fail("Wrong dense block representation after deserialization.");
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(mbRef), 
+				DataConverter.convertToDoubleMatrix(mb2), rows, cols, 0);
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(mbRef), 
+				DataConverter.convertToDoubleMatrix(mb3), rows, cols, 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			ConfigurationManager.setGlobalConfig(new DMLConfig());
+		}
+	}
+}
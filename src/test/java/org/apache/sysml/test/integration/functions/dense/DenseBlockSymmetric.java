@@ -0,0 +1,359 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.dense;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.lops.MMTSJ.MMTSJType;
+import org.apache.sysml.runtime.functionobjects.DiagIndex;
+import org.apache.sysml.runtime.functionobjects.GreaterThan;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.functionobjects.SwapIndex;
+import org.apache.sysml.runtime.matrix.data.LibMatrixDecomp;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
+import org.apache.sysml.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a dense matrix block component test for symmetric storage (packed
+ * upper triangle) of tsmm outputs, which covers the tsmm kernels in row panels,
+ * consumers that operate w/o widening (scalar operations, diag, transpose, 
+ * matrix-vector multiplication, addition of diagonal matrices, solve, cholesky, 
+ * eigen), and the serialization in symmetric format.
+ * 
+ */
+public class DenseBlockSymmetric extends AutomatedTestBase 
+{
+	private final static int rows = 1100;
+	private final static int cols = 73;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.2;
+	private final static double eps = 1e-8;
+	
+	private enum OpType {
+		SCALAR,
+		DIAG,
+		TRANSPOSE,
+		MV,
+		VM,
+		PLUS_DIAG,
+		SOLVE,
+		CHOLESKY,
+		EIGEN,
+	}
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testSymmetricTsmmLeftDense() {
+		runSymmetricTsmmTest(true, sparsity1, 1);
+	}
+	
+	@Test
+	public void testSymmetricTsmmLeftSparse() {
+		runSymmetricTsmmTest(true, sparsity2, 1);
+	}
+	
+	@Test
+	public void testSymmetricTsmmRightDense() {
+		runSymmetricTsmmTest(false, sparsity1, 1);
+	}
+	
+	@Test
+	public void testSymmetricTsmmRightSparse() {
+		runSymmetricTsmmTest(false, sparsity2, 1);
+	}
+	
+	@Test
+	public void testSymmetricTsmmLeftDenseMT() {
+		runSymmetricTsmmTest(true, sparsity1, 4);
+	}
+	
+	@Test
+	public void testSymmetricTsmmRightSparseMT() {
+		runSymmetricTsmmTest(false, sparsity2, 4);
+	}
+	
+	@Test
+	public void testSymmetricScalar() {
+		runSymmetricConsumerTest(OpType.SCALAR);
+	}
+	
+	@Test
+	public void testSymmetricDiag() {
+		runSymmetricConsumerTest(OpType.DIAG);
+	}
+	
+	@Test
+	public void testSymmetricTranspose() {
+		runSymmetricConsumerTest(OpType.TRANSPOSE);
+	}
+	
+	@Test
+	public void testSymmetricMatrixVector() {
+		runSymmetricConsumerTest(OpType.MV);
+	}
+	
+	@Test
+	public void testSymmetricVectorMatrix() {
+		runSymmetricConsumerTest(OpType.VM);
+	}
+	
+	@Test
+	public void testSymmetricPlusDiag() {
+		runSymmetricConsumerTest(OpType.PLUS_DIAG);
+	}
+	
+	@Test
+	public void testSymmetricSolve() {
+		runSymmetricConsumerTest(OpType.SOLVE);
+	}
+	
+	@Test
+	public void testSymmetricCholesky() {
+		runSymmetricConsumerTest(OpType.CHOLESKY);
+	}
+	
+	@Test
+	public void testSymmetricEigen() {
+		runSymmetricConsumerTest(OpType.EIGEN);
+	}
+	
+	@Test
+	public void testSymmetricSerialize() {
+		runSymmetricSerializeTest();
+	}
+	
+	private void runSymmetricTsmmTest(boolean left, double sparsity, int k) 
+	{
+		try
+		{
+			//data generation
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+			MatrixBlock mbX = DataConverter.convertToMatrixBlock(X);
+			
+			//tsmm and reference
+			MatrixBlock ret = mbX.transposeSelfMatrixMultOperations(
+				new MatrixBlock(), left ? MMTSJType.LEFT : MMTSJType.RIGHT, k);
+			int n = left ? cols : rows;
+			double[][] R = tsmm(X, left);
+			
+			//check for symmetric output, nnz and in-memory size
+			if( !ret.isSymmetric() )
+				Assert.fail("Wrong output representation: symmetric block expected.");
+			if( ret.getNonZeros() != ret.recomputeNonZeros(0, n-1, 0, n-1) )
+				Assert.fail("Wrong number of non-zeros: "+ret.getNonZeros());
+			if( ret.getInMemorySize() > MatrixBlock.estimateSizeDenseInMemory(n, n)/2 + 8*n + 128 )
+				Assert.fail("Wrong in-memory size: "+ret.getInMemorySize());
+			
+			//compare results via cell access (w/o widening) and via double values
+			for( int i=0; i<n; i++ )
+				for( int j=0; j<n; j++ )
+					if( Math.abs(ret.quickGetValue(i, j) - R[i][j]) > eps )
+						Assert.fail("Wrong result at ("+i+","+j+"): "+ret.quickGetValue(i, j)+" vs "+R[i][j]);
+			if( !ret.isSymmetric() )
+				Assert.fail("Unexpected widening of symmetric block.");
+			TestUtils.compareMatrices(R, DataConverter.convertToDoubleMatrix(ret), n, n, eps);
+			ret.getDenseBlockValues(); //widening
+			TestUtils.compareMatrices(R, DataConverter.convertToDoubleMatrix(ret), n, n, eps);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runSymmetricConsumerTest(OpType type) 
+	{
+		try
+		{
+			//data generation (positive definite symmetric matrix)
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, sparsity1, 7);
+			double[][] v = getRandomMatrix(cols, 1, -1, 1, 1, 3);
+			MatrixBlock mbX = DataConverter.convertToMatrixBlock(X);
+			MatrixBlock mbA = mbX.transposeSelfMatrixMultOperations(new MatrixBlock(), MMTSJType.LEFT);
+			MatrixBlock mbA2 = DataConverter.convertToMatrixBlock(tsmm(X, true));
+			MatrixBlock mbV = DataConverter.convertToMatrixBlock(v);
+			if( !mbA.isSymmetric() || mbA2.isSymmetric() )
+				Assert.fail("Wrong input representation.");
+			
+			//consumer operations over symmetric and full input
+			MatrixBlock ret1 = null, ret2 = null;
+			boolean symOut = false;
+			switch( type ) {
+				case SCALAR: {
+					RightScalarOperator op = new RightScalarOperator(Multiply.getMultiplyFnObject(), 7);
+					ret1 = (MatrixBlock) mbA.scalarOperations(op, new MatrixBlock());
+					ret2 = (MatrixBlock) mbA2.scalarOperations(op, new MatrixBlock());
+					//relational operations w/o widening
+					RightScalarOperator op2 = new RightScalarOperator(GreaterThan.getGreaterThanFnObject(), 0);
+					MatrixBlock ret3 = (MatrixBlock) mbA.scalarOperations(op2, new MatrixBlock());
+					MatrixBlock ret4 = (MatrixBlock) mbA2.scalarOperations(op2, new MatrixBlock());
+					TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ret4), 
+						DataConverter.convertToDoubleMatrix(ret3), cols, cols, 0);
+					symOut = true;
+					break;
+				}
+				case DIAG: {
+					ReorgOperator op = new ReorgOperator(DiagIndex.getDiagIndexFnObject());
+					ret1 = (MatrixBlock) mbA.reorgOperations(op, new MatrixBlock(), 0, 0, cols);
+					ret2 = (MatrixBlock) mbA2.reorgOperations(op, new MatrixBlock(), 0, 0, cols);
+					break;
+				}
+				case TRANSPOSE: {
+					ReorgOperator op = new ReorgOperator(SwapIndex.getSwapIndexFnObject());
+					ret1 = (MatrixBlock) mbA.reorgOperations(op, new MatrixBlock(), 0, 0, cols);
+					ret2 = (MatrixBlock) mbA2.reorgOperations(op, new MatrixBlock(), 0, 0, cols);
+					symOut = true;
+					break;
+				}
+				case MV:
+				case VM: {
+					AggregateBinaryOperator op = new AggregateBinaryOperator(Multiply.getMultiplyFnObject(), 
+						new AggregateOperator(0, Plus.getPlusFnObject()));
+					if( type == OpType.MV ) {
+						ret1 = (MatrixBlock) mbA.aggregateBinaryOperations(mbA, mbV, new MatrixBlock(), op);
+						ret2 = (MatrixBlock) mbA2.aggregateBinaryOperations(mbA2, mbV, new MatrixBlock(), op);
+					}
+					else {
+						MatrixBlock mbVt = DataConverter.convertToMatrixBlock(getRandomMatrix(1, cols, -1, 1, 1, 3));
+						ret1 = (MatrixBlock) mbVt.aggregateBinaryOperations(mbVt, mbA, new MatrixBlock(), op);
+						ret2 = (MatrixBlock) mbVt.aggregateBinaryOperations(mbVt, mbA2, new MatrixBlock(), op);
+					}
+					break;
+				}
+				case PLUS_DIAG: {
+					ReorgOperator rop = new ReorgOperator(DiagIndex.getDiagIndexFnObject());
+					MatrixBlock mbD = (MatrixBlock) mbV.reorgOperations(rop, new MatrixBlock(), 0, 0, cols);
+					BinaryOperator op = new BinaryOperator(Plus.getPlusFnObject());
+					ret1 = (MatrixBlock) mbA.binaryOperations(op, mbD, new MatrixBlock());
+					ret2 = (MatrixBlock) mbA2.binaryOperations(op, mbD, new MatrixBlock());
+					symOut = true;
+					break;
+				}
+				case SOLVE: {
+					ret1 = LibMatrixDecomp.computeSolve(mbA, mbV, 1);
+					ret2 = LibMatrixDecomp.computeSolve(mbA2, mbV, 1);
+					break;
+				}
+				case CHOLESKY: {
+					ret1 = LibMatrixDecomp.computeCholesky(mbA, 1);
+					ret2 = LibMatrixDecomp.computeCholesky(mbA2, 1);
+					break;
+				}
+				case EIGEN: {
+					if( !LibMatrixDecomp.isSymmetric(mbA, 0) )
+						Assert.fail("Wrong symmetry check for symmetric block.");
+					MatrixBlock[] tmp1 = LibMatrixDecomp.computeEigen(mbA, 1);
+					MatrixBlock[] tmp2 = LibMatrixDecomp.computeEigen(mbA2, 1);
+					ret1 = tmp1[0]; ret2 = tmp2[0];
+					TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(tmp2[1]), 
+						DataConverter.convertToDoubleMatrix(tmp1[1]), cols, cols, eps);
+					break;
+				}
+			}
+			
+			//check for unchanged symmetric input and output representation
+			if( !mbA.isSymmetric() )
+				Assert.fail("Unexpected widening of symmetric block.");
+			if( symOut && !ret1.isSymmetric() )
+				Assert.fail("Wrong output representation: symmetric block expected.");
+			
+			//compare with reference
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ret2), 
+				DataConverter.convertToDoubleMatrix(ret1), ret2.getNumRows(), ret2.getNumColumns(), eps);
+			Assert.assertEquals(ret2.getNonZeros(), ret1.getNonZeros());
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runSymmetricSerializeTest() 
+	{
+		try
+		{
+			//data generation
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, sparsity1, 7);
+			MatrixBlock mbA = DataConverter.convertToMatrixBlock(X)
+				.transposeSelfMatrixMultOperations(new MatrixBlock(), MMTSJType.LEFT);
+			
+			//serialize and deserialize
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			DataOutputStream dos = new DataOutputStream(bos);
+			mbA.write(dos);
+			dos.close();
+			MatrixBlock mbA2 = new MatrixBlock();
+			mbA2.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+			
+			//check size, representation, and results
+			if( bos.size() != mbA.getExactSizeOnDisk() )
+				Assert.fail("Wrong serialized size: "+bos.size()+", expected: "+mbA.getExactSizeOnDisk());
+			if( bos.size() >= 8*cols*(cols+1)/2 + 64 )
+				Assert.fail("Wrong serialized size: "+bos.size());
+			if( !mbA.isSymmetric() || !mbA2.isSymmetric() )
+				Assert.fail("Wrong representation: symmetric block expected.");
+			Assert.assertEquals(mbA.getNonZeros(), mbA2.getNonZeros());
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(mbA), 
+				DataConverter.convertToDoubleMatrix(mbA2), cols, cols, 0);
+			
+			//transparent widening on update of non-diagonal cells
+			mbA2.quickSetValue(3, 7, 2.5);
+			if( mbA2.isSymmetric() || mbA2.quickGetValue(3, 7) != 2.5 
+				|| mbA2.quickGetValue(7, 3) != mbA.quickGetValue(7, 3) )
+				Assert.fail("Wrong widening of symmetric block.");
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private static double[][] tsmm(double[][] X, boolean left) {
+		int m = left ? X[0].length : X.length;
+		int k = left ? X.length : X[0].length;
+		double[][] R = new double[m][m];
+		for( int i=0; i<m; i++ )
+			for( int j=0; j<m; j++ ) {
+				double val = 0;
+				for( int l=0; l<k; l++ )
+					val += left ? X[l][i] * X[l][j] : X[i][l] * X[j][l];
+				R[i][j] = val;
+			}
+		return R;
+	}
+}
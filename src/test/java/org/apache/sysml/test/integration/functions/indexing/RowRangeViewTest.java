@@ -0,0 +1,400 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.indexing;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.functionobjects.SwapIndex;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.runtime.util.IndexRange;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.Statistics;
+
+/**
+ * This test checks zero-copy row range views of dense and CSR blocks,
+ * which are created for read-only right indexing X[rl:ru,]. We compare 
+ * the results of operations over views against the same operations over 
+ * copies, check copy-on-write on modification, and check that the compiled 
+ * mini-batch loop indeed uses views.
+ * 
+ */
+public class RowRangeViewTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "RowRangeViewTest";
+	private final static String TEST_DIR = "functions/indexing/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + RowRangeViewTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 1200;
+	private final static int cols = 73;
+	private final static int rl = 117;
+	private final static int ru = 893;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.05;
+	private final static double eps = 1e-10;
+	
+	private enum OpType {
+		SUM,
+		ROWSUMS,
+		COLMAXS,
+		MM,
+		TRANSPOSE,
+		BINARY,
+		WRITE,
+		SLICE,
+	}
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {"R"}));
+	}
+	
+	@Test
+	public void testRowRangeViewDenseSum() {
+		runRowRangeViewTest(OpType.SUM, false);
+	}
+	
+	@Test
+	public void testRowRangeViewSparseSum() {
+		runRowRangeViewTest(OpType.SUM, true);
+	}
+	
+	@Test
+	public void testRowRangeViewDenseRowSums() {
+		runRowRangeViewTest(OpType.ROWSUMS, false);
+	}
+	
+	@Test
+	public void testRowRangeViewSparseRowSums() {
+		runRowRangeViewTest(OpType.ROWSUMS, true);
+	}
+	
+	@Test
+	public void testRowRangeViewDenseColMaxs() {
+		runRowRangeViewTest(OpType.COLMAXS, false);
+	}
+	
+	@Test
+	public void testRowRangeViewSparseColMaxs() {
+		runRowRangeViewTest(OpType.COLMAXS, true);
+	}
+	
+	@Test
+	public void testRowRangeViewDenseMatrixMult() {
+		runRowRangeViewTest(OpType.MM, false);
+	}
+	
+	@Test
+	public void testRowRangeViewSparseMatrixMult() {
+		runRowRangeViewTest(OpType.MM, true);
+	}
+	
+	@Test
+	public void testRowRangeViewDenseTranspose() {
+		runRowRangeViewTest(OpType.TRANSPOSE, false);
+	}
+	
+	@Test
+	public void testRowRangeViewSparseTranspose() {
+		runRowRangeViewTest(OpType.TRANSPOSE, true);
+	}
+	
+	@Test
+	public void testRowRangeViewDenseBinary() {
+		runRowRangeViewTest(OpType.BINARY, false);
+	}
+	
+	@Test
+	public void testRowRangeViewSparseBinary() {
+		runRowRangeViewTest(OpType.BINARY, true);
+	}
+	
+	@Test
+	public void testRowRangeViewDenseWrite() {
+		runRowRangeViewTest(OpType.WRITE, false);
+	}
+	
+	@Test
+	public void testRowRangeViewSparseWrite() {
+		runRowRangeViewTest(OpType.WRITE, true);
+	}
+	
+	@Test
+	public void testRowRangeViewDenseSlice() {
+		runRowRangeViewTest(OpType.SLICE, false);
+	}
+	
+	@Test
+	public void testRowRangeViewSparseSlice() {
+		runRowRangeViewTest(OpType.SLICE, true);
+	}
+	
+	@Test
+	public void testRowRangeViewDenseCopyOnWrite() {
+		runRowRangeViewCopyOnWriteTest(false);
+	}
+	
+	@Test
+	public void testRowRangeViewSparseCopyOnWrite() {
+		runRowRangeViewCopyOnWriteTest(true);
+	}
+	
+	@Test
+	public void testRowRangeViewDenseSize() {
+		runRowRangeViewSizeTest(false);
+	}
+	
+	@Test
+	public void testRowRangeViewSparseSize() {
+		runRowRangeViewSizeTest(true);
+	}
+	
+	@Test
+	public void testRowRangeViewDenseScript() {
+		runRowRangeViewScriptTest(false);
+	}
+	
+	@Test
+	public void testRowRangeViewSparseScript() {
+		runRowRangeViewScriptTest(true);
+	}
+	
+	private void runRowRangeViewTest(OpType type, boolean sparse)
+	{
+		try
+		{
+			//data generation (CSR for sparse inputs)
+			MatrixBlock mbX = createInput(sparse);
+			IndexRange ix = new IndexRange(rl, ru, 0, cols-1);
+			MatrixBlock ret1 = mbX.sliceOperations(ix, new MatrixBlock());
+			MatrixBlock ret2 = mbX.sliceOperations(ix, new MatrixBlock(), true);
+			if( ret1.isView() || !ret2.isView() )
+				Assert.fail("Wrong view selection: "+ret1.isView()+", "+ret2.isView());
+			if( ret1.getNonZeros() != ret2.getNonZeros() )
+				Assert.fail("Wrong number of non-zeros: "+ret2.getNonZeros()+", expected: "+ret1.getNonZeros());
+			MatrixBlock view = ret2;
+			
+			//core operations
+			switch( type ) {
+				case SUM:     ret1 = aggregate(ret1, "uak+");   ret2 = aggregate(ret2, "uak+"); break;
+				case ROWSUMS: ret1 = aggregate(ret1, "uark+");  ret2 = aggregate(ret2, "uark+"); break;
+				case COLMAXS: ret1 = aggregate(ret1, "uacmax"); ret2 = aggregate(ret2, "uacmax"); break;
+				case MM: {
+					MatrixBlock mbW = DataConverter.convertToMatrixBlock(getRandomMatrix(cols, 7, -1, 1, 1.0, 3));
+					AggregateBinaryOperator op = new AggregateBinaryOperator(Multiply.getMultiplyFnObject(), 
+						new AggregateOperator(0, Plus.getPlusFnObject()));
+					ret1 = (MatrixBlock) ret1.aggregateBinaryOperations(ret1, mbW, new MatrixBlock(), op);
+					ret2 = (MatrixBlock) ret2.aggregateBinaryOperations(ret2, mbW, new MatrixBlock(), op);
+					break;
+				}
+				case TRANSPOSE: {
+					ReorgOperator op = new ReorgOperator(SwapIndex.getSwapIndexFnObject());
+					ret1 = (MatrixBlock) ret1.reorgOperations(op, new MatrixBlock(), 0, 0, 0);
+					ret2 = (MatrixBlock) ret2.reorgOperations(op, new MatrixBlock(), 0, 0, 0);
+					break;
+				}
+				case BINARY: {
+					BinaryOperator op = new BinaryOperator(Plus.getPlusFnObject());
+					ret1 = (MatrixBlock) ret1.binaryOperations(op, ret1, new MatrixBlock());
+					ret2 = (MatrixBlock) ret2.binaryOperations(op, ret2, new MatrixBlock());
+					break;
+				}
+				case WRITE: {
+					ret2 = serializeAndDeserialize(ret2);
+					break;
+				}
+				case SLICE: {
+					IndexRange ix2 = new IndexRange(13, 411, 0, cols-1);
+					ret1 = ret1.sliceOperations(ix2, new MatrixBlock());
+					ret2 = ret2.sliceOperations(ix2, new MatrixBlock(), true);
+					if( !ret2.isView() )
+						Assert.fail("Wrong view selection for view of view.");
+					if( ret1.getNumRows() != ret2.getNumRows() )
+						Assert.fail("Wrong number of rows of view of view: "+ret2.getNumRows()+", expected: "+ret1.getNumRows());
+					if( ret1.getNonZeros() != ret2.getNonZeros() )
+						Assert.fail("Wrong number of non-zeros of view of view: "+ret2.getNonZeros()+", expected: "+ret1.getNonZeros());
+					break;
+				}
+			}
+			
+			//compare results and check that the view is still shared
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ret1), 
+				DataConverter.convertToDoubleMatrix(ret2), ret1.getNumRows(), ret1.getNumColumns(), eps);
+			if( !view.isView() )
+				Assert.fail("View was unnecessarily copied by "+type.name()+".");
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runRowRangeViewCopyOnWriteTest(boolean sparse)
+	{
+		try
+		{
+			MatrixBlock mbX = createInput(sparse);
+			double[][] X = DataConverter.convertToDoubleMatrix(mbX);
+			MatrixBlock view = mbX.sliceOperations(
+				new IndexRange(rl, ru, 0, cols-1), new MatrixBlock(), true);
+			
+			//modify view via cell update and in-place operation
+			view.quickSetValue(3, 5, 7);
+			if( view.isView() )
+				Assert.fail("View was not copied on write.");
+			view.binaryOperationsInPlace(new BinaryOperator(Plus.getPlusFnObject()), new MatrixBlock(view));
+			
+			//check unmodified input and modified view
+			TestUtils.compareMatrices(X, DataConverter.convertToDoubleMatrix(mbX), rows, cols, 0);
+			double[][] V = DataConverter.convertToDoubleMatrix(view);
+			for( int i=0; i<ru-rl+1; i++ )
+				for( int j=0; j<cols; j++ ) {
+					double expected = 2 * ((i==3 && j==5) ? 7 : X[rl+i][j]);
+					if( V[i][j] != expected )
+						Assert.fail("Wrong value at ("+i+","+j+"): "+V[i][j]+", expected: "+expected);
+				}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runRowRangeViewSizeTest(boolean sparse)
+	{
+		try
+		{
+			MatrixBlock mbX = createInput(sparse);
+			IndexRange ix = new IndexRange(rl, ru, 0, cols-1);
+			MatrixBlock view = mbX.sliceOperations(ix, new MatrixBlock(), true);
+			MatrixBlock view2 = view.sliceOperations(new IndexRange(13, 411, 0, cols-1), new MatrixBlock(), true);
+			
+			//views (incl views of views) account for the retained parent
+			//and are deep serialized by the buffer pool to release the parent
+			long size = sparse ? mbX.getInMemorySize() : 8L * rows * cols;
+			for( MatrixBlock mb : new MatrixBlock[]{view, view2} ) {
+				if( !mb.isView() )
+					Assert.fail("Wrong view selection.");
+				if( mb.getInMemorySize() < size )
+					Assert.fail("Wrong in-memory size of view: "+mb.getInMemorySize()+", expected at least: "+size);
+				if( mb.isShallowSerialize() )
+					Assert.fail("Views should not be shallow serialized.");
+			}
+			
+			//copy-on-write releases the parent (sparse views copy
+			//into MCSR, whose size estimate exceeds the CSR parent)
+			view.quickSetValue(0, 0, 7);
+			if( view.isView() || (!sparse && view.getInMemorySize() >= size) )
+				Assert.fail("Wrong in-memory size of copied view: "+view.getInMemorySize());
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runRowRangeViewScriptTest(boolean sparse)
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = RUNTIME_PLATFORM.SINGLE_NODE;
+		
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-stats", "-args", input("X"), input("w"), output("R") };
+			
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, sparse ? sparsity2 : sparsity1, 7);
+			double[][] w = getRandomMatrix(cols, 1, -1, 1, 1.0, 3);
+			writeInputMatrixWithMTD("X", X, true);
+			writeInputMatrixWithMTD("w", w, true);
+			
+			runTest(true, false, null, -1);
+			
+			//compare against sum(X %*% w) + 2 * sum(X)
+			double expected = 0;
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					expected += X[i][j] * w[j][0] + 2 * X[i][j];
+			HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromHDFS("R");
+			Assert.assertEquals(expected, dmlfile.get(new CellIndex(1,1)), 1e-8);
+			
+			//check for views of dense inputs
+			if( !sparse && Statistics.getTotalRixView() != rows/100 )
+				Assert.fail("Wrong number of right indexing views: "+Statistics.getTotalRixView());
+		}
+		finally {
+			rtplatform = platformOld;
+		}
+	}
+	
+	private MatrixBlock createInput(boolean sparse)
+		throws Exception
+	{
+		double[][] X = getRandomMatrix(rows, cols, -10, 10, sparse ? sparsity2 : sparsity1, 7);
+		MatrixBlock mbX = DataConverter.convertToMatrixBlock(X);
+		return sparse ? new MatrixBlock(mbX, SparseBlock.Type.CSR, true) : mbX;
+	}
+	
+	private static MatrixBlock aggregate(MatrixBlock in, String opcode) 
+		throws Exception
+	{
+		AggregateUnaryOperator op = InstructionUtils.parseBasicAggregateUnaryOperator(opcode);
+		return (MatrixBlock) in.aggregateUnaryOperations(op, new MatrixBlock(), 
+			in.getNumRows(), in.getNumColumns(), new MatrixIndexes(1, 1), true);
+	}
+	
+	private static MatrixBlock serializeAndDeserialize(MatrixBlock in) 
+		throws Exception
+	{
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		DataOutputStream dos = new DataOutputStream(bos);
+		in.write(dos);
+		dos.close();
+		MatrixBlock ret = new MatrixBlock();
+		ret.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+		return ret;
+	}
+}
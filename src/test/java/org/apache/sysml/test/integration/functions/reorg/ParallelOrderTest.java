@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysml.test.integration.functions.reorg;
+
+import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the multi-threaded sort (order) against the single-threaded sort, 
+ * for dense and sparse inputs with many ties (stability), ascending and 
+ * descending order, as well as data and index return.
+ */
+public class ParallelOrderTest extends AutomatedTestBase
+{
+	private static final int rows = 300007;
+	private static final int cols = 3;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.1;
+	private static final int k = 6;
+	
+	@Override
+	public void setUp() {
+		
+	}
+	
+	@Test
+	public void testOrderDenseDataAsc() {
+		runOrderTest(sparsity1, false, false, false);
+	}
+	
+	@Test
+	public void testOrderDenseDataDesc() {
+		runOrderTest(sparsity1, true, false, false);
+	}
+	
+	@Test
+	public void testOrderDenseIndexAsc() {
+		runOrderTest(sparsity1, false, true, false);
+	}
+	
+	@Test
+	public void testOrderDenseIndexDesc() {
+		runOrderTest(sparsity1, true, true, false);
+	}
+	
+	@Test
+	public void testOrderSparseDataAsc() {
+		runOrderTest(sparsity2, false, false, false);
+	}
+	
+	@Test
+	public void testOrderSparseDataDesc() {
+		runOrderTest(sparsity2, true, false, false);
+	}
+	
+	@Test
+	public void testOrderSparseIndexAsc() {
+		runOrderTest(sparsity2, false, true, false);
+	}
+	
+	@Test
+	public void testOrderSparseIndexDesc() {
+		runOrderTest(sparsity2, true, true, false);
+	}
+	
+	@Test
+	public void testOrderDenseIndexAscPresorted() {
+		runOrderTest(sparsity1, false, true, true);
+	}
+	
+	@Test
+	public void testOrderDenseIndexDescPresorted() {
+		runOrderTest(sparsity1, true, true, true);
+	}
+	
+	@Test
+	public void testOrderDenseVectorAsc() {
+		runOrderVectorTest(false);
+	}
+	
+	@Test
+	public void testOrderDenseVectorDesc() {
+		runOrderVectorTest(true);
+	}
+	
+	private void runOrderTest(double sparsity, boolean desc, boolean ixret, boolean presorted)
+	{
+		try
+		{
+			//generate input with many ties in the orderby column
+			double[][] A = TestUtils.generateTestMatrix(rows, cols, -7, 7, sparsity, 7);
+			for( int i=0; i<rows; i++ )
+				A[i][1] = presorted ? (i - rows/2) / 16 : Math.round(A[i][1]);
+			MatrixBlock in = DataConverter.convertToMatrixBlock(A);
+			in.examSparsity();
+			
+			//single- and multi-threaded sort
+			int ncol = ixret ? 1 : cols;
+			boolean sparse = in.isInSparseFormat() && !ixret;
+			MatrixBlock ret1 = LibMatrixReorg.sort(in, new MatrixBlock(rows, ncol, sparse), 2, desc, ixret, 1);
+			MatrixBlock ret2 = LibMatrixReorg.sort(in, new MatrixBlock(rows, ncol, sparse), 2, desc, ixret, k);
+			
+			//compare results (identical since stable)
+			double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatrices(d1, d2, rows, ncol, 0);
+			Assert.assertEquals(ret1.getNonZeros(), ret2.getNonZeros());
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runOrderVectorTest(boolean desc)
+	{
+		try
+		{
+			double[][] A = TestUtils.generateTestMatrix(rows, 1, -1, 1, sparsity1, 3);
+			MatrixBlock in = DataConverter.convertToMatrixBlock(A);
+			
+			//single- and multi-threaded sort
+			MatrixBlock ret1 = LibMatrixReorg.sort(in, new MatrixBlock(rows, 1, false), 1, desc, false, 1);
+			MatrixBlock ret2 = LibMatrixReorg.sort(in, new MatrixBlock(rows, 1, false), 1, desc, false, k);
+			
+			double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatrices(d1, d2, rows, 1, 0);
+			for( int i=1; i<rows; i++ )
+				Assert.assertTrue(desc ? d2[i-1][0] >= d2[i][0] : d2[i-1][0] <= d2[i][0]);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.reorg;
+
+import org.apache.sysml.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the multi-threaded removeEmpty and rexpand against their single-threaded
+ * counterparts, for dense and sparse inputs, with and without select vectors,
+ * as well as dense and sparse (csr) expanded outputs.
+ */
+public class ParallelRemoveEmptyRexpandTest extends AutomatedTestBase
+{
+	private static final int rows = 2017;
+	private static final int cols = 1003;
+	private static final int vrows = 200003;
+	private static final double sparsity1 = 0.9;
+	private static final double sparsity2 = 0.05;
+	private static final int k = 6;
+	
+	@Override
+	public void setUp() {
+		
+	}
+	
+	@Test
+	public void testRemoveEmptyRowsDense() {
+		runRemoveEmptyTest(sparsity1, true, false);
+	}
+	
+	@Test
+	public void testRemoveEmptyRowsSparse() {
+		runRemoveEmptyTest(sparsity2, true, false);
+	}
+	
+	@Test
+	public void testRemoveEmptyColsDense() {
+		runRemoveEmptyTest(sparsity1, false, false);
+	}
+	
+	@Test
+	public void testRemoveEmptyColsSparse() {
+		runRemoveEmptyTest(sparsity2, false, false);
+	}
+	
+	@Test
+	public void testRemoveEmptyRowsDenseSelect() {
+		runRemoveEmptyTest(sparsity1, true, true);
+	}
+	
+	@Test
+	public void testRemoveEmptyRowsSparseSelect() {
+		runRemoveEmptyTest(sparsity2, true, true);
+	}
+	
+	@Test
+	public void testRemoveEmptyColsDenseSelect() {
+		runRemoveEmptyTest(sparsity1, false, true);
+	}
+	
+	@Test
+	public void testRemoveEmptyColsSparseSelect() {
+		runRemoveEmptyTest(sparsity2, false, true);
+	}
+	
+	@Test
+	public void testRexpandRowsDenseOutput() {
+		runRexpandTest(true, 2);
+	}
+	
+	@Test
+	public void testRexpandRowsSparseOutput() {
+		runRexpandTest(true, 97);
+	}
+	
+	@Test
+	public void testRexpandColsDenseOutput() {
+		runRexpandTest(false, 2);
+	}
+	
+	@Test
+	public void testRexpandColsSparseOutput() {
+		runRexpandTest(false, 97);
+	}
+	
+	private void runRemoveEmptyTest(double sparsity, boolean margin, boolean select)
+	{
+		try
+		{
+			//generate input with empty rows and columns
+			double[][] A = TestUtils.generateTestMatrix(rows, cols, -1, 1, sparsity, 7);
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					if( i%3==0 || j%5==0 )
+						A[i][j] = 0;
+			MatrixBlock in = DataConverter.convertToMatrixBlock(A);
+			in.examSparsity();
+			
+			//generate 0/1 select vector
+			MatrixBlock sel = null;
+			if( select ) {
+				int len = margin ? rows : cols;
+				double[][] S = TestUtils.round(TestUtils.generateTestMatrix(
+					margin ? len : 1, margin ? 1 : len, 0, 1, 1.0, 3));
+				sel = DataConverter.convertToMatrixBlock(S);
+			}
+			
+			//single- and multi-threaded remove empty
+			MatrixBlock ret1 = LibMatrixReorg.rmempty(in, new MatrixBlock(), margin, sel, 1);
+			MatrixBlock ret2 = LibMatrixReorg.rmempty(in, new MatrixBlock(), margin, sel, k);
+			
+			//compare results
+			compareResults(ret1, ret2);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runRexpandTest(boolean margin, int max)
+	{
+		try
+		{
+			//generate input vector w/ values in [1,max+1] (incl out-of-range)
+			double[][] A = TestUtils.round(TestUtils.generateTestMatrix(vrows, 1, 1, max+1, 1.0, 11));
+			MatrixBlock in = DataConverter.convertToMatrixBlock(A);
+			
+			//single- and multi-threaded rexpand
+			MatrixBlock ret1 = LibMatrixReorg.rexpand(in, new MatrixBlock(), max, margin, true, true, 1);
+			MatrixBlock ret2 = LibMatrixReorg.rexpand(in, new MatrixBlock(), max, margin, true, true, k);
+			
+			//compare results
+			compareResults(ret1, ret2);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void compareResults(MatrixBlock ret1, MatrixBlock ret2) 
+		throws Exception
+	{
+		Assert.assertEquals(ret1.getNumRows(), ret2.getNumRows());
+		Assert.assertEquals(ret1.getNumColumns(), ret2.getNumColumns());
+		double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+		double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+		TestUtils.compareMatrices(d1, d2, ret1.getNumRows(), ret1.getNumColumns(), 0);
+		
+		//check exact nnz of multi-threaded result
+		long nnz = 0;
+		for( int i=0; i<d1.length; i++ )
+			for( int j=0; j<d1[i].length; j++ )
+				nnz += (d1[i][j] != 0) ? 1 : 0;
+		Assert.assertEquals(nnz, ret2.getNonZeros());
+	}
+}
@@ -0,0 +1,373 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+
+package org.apache.sysml.test.integration.functions.reorg;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.functionobjects.SwapIndex;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+import org.apache.sysml.utils.Statistics;
+
+/**
+ * This test checks lazy transpose views of dense and sparse blocks, which
+ * are consumed by kernels with transposed access (matrix multiplication,
+ * unary aggregates, and dense binary operations) w/o materialization. We 
+ * compare the results against the same operations over materialized 
+ * transposes, and check the materialization for all other consumers.
+ * 
+ */
+public class TransposeViewTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "TransposeView";
+	private final static String TEST_DIR = "functions/reorg/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + TransposeViewTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 1201;
+	private final static int cols = 73;
+	private final static double sparsity1 = 0.7;
+	private final static double sparsity2 = 0.05;
+	private final static double eps = 1e-10;
+	
+	private enum OpType {
+		MM,
+		MV,
+		MM_SPARSE,
+		TSMM,
+		SUM,
+		ROWSUMS,
+		COLMEANS,
+		ROWMAXS,
+		BINARY_MM,
+		BINARY_MV,
+		WRITE,
+	}
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {"R"}));
+	}
+	
+	@Test
+	public void testTransposeViewDenseMatrixMult() {
+		runTransposeViewTest(OpType.MM, false);
+	}
+	
+	@Test
+	public void testTransposeViewSparseMatrixMult() {
+		runTransposeViewTest(OpType.MM, true);
+	}
+	
+	@Test
+	public void testTransposeViewDenseMatrixVectorMult() {
+		runTransposeViewTest(OpType.MV, false);
+	}
+	
+	@Test
+	public void testTransposeViewSparseMatrixVectorMult() {
+		runTransposeViewTest(OpType.MV, true);
+	}
+	
+	@Test
+	public void testTransposeViewDenseMatrixMultSparse() {
+		runTransposeViewTest(OpType.MM_SPARSE, false);
+	}
+	
+	@Test
+	public void testTransposeViewDenseTsmm() {
+		runTransposeViewTest(OpType.TSMM, false);
+	}
+	
+	@Test
+	public void testTransposeViewSparseTsmm() {
+		runTransposeViewTest(OpType.TSMM, true);
+	}
+	
+	@Test
+	public void testTransposeViewDenseSum() {
+		runTransposeViewTest(OpType.SUM, false);
+	}
+	
+	@Test
+	public void testTransposeViewSparseSum() {
+		runTransposeViewTest(OpType.SUM, true);
+	}
+	
+	@Test
+	public void testTransposeViewDenseRowSums() {
+		runTransposeViewTest(OpType.ROWSUMS, false);
+	}
+	
+	@Test
+	public void testTransposeViewSparseRowSums() {
+		runTransposeViewTest(OpType.ROWSUMS, true);
+	}
+	
+	@Test
+	public void testTransposeViewDenseColMeans() {
+		runTransposeViewTest(OpType.COLMEANS, false);
+	}
+	
+	@Test
+	public void testTransposeViewSparseColMeans() {
+		runTransposeViewTest(OpType.COLMEANS, true);
+	}
+	
+	@Test
+	public void testTransposeViewDenseRowMaxs() {
+		runTransposeViewTest(OpType.ROWMAXS, false);
+	}
+	
+	@Test
+	public void testTransposeViewSparseRowMaxs() {
+		runTransposeViewTest(OpType.ROWMAXS, true);
+	}
+	
+	@Test
+	public void testTransposeViewDenseBinaryMatrix() {
+		runTransposeViewTest(OpType.BINARY_MM, false);
+	}
+	
+	@Test
+	public void testTransposeViewSparseBinaryMatrix() {
+		runTransposeViewTest(OpType.BINARY_MM, true);
+	}
+	
+	@Test
+	public void testTransposeViewDenseBinaryVector() {
+		runTransposeViewTest(OpType.BINARY_MV, false);
+	}
+	
+	@Test
+	public void testTransposeViewDenseWrite() {
+		runTransposeViewTest(OpType.WRITE, false);
+	}
+	
+	@Test
+	public void testTransposeViewSparseWrite() {
+		runTransposeViewTest(OpType.WRITE, true);
+	}
+	
+	@Test
+	public void testTransposeViewDenseMaterialize() {
+		runTransposeViewMaterializeTest(false);
+	}
+	
+	@Test
+	public void testTransposeViewSparseMaterialize() {
+		runTransposeViewMaterializeTest(true);
+	}
+	
+	@Test
+	public void testTransposeViewDenseScript() {
+		runTransposeViewScriptTest(false);
+	}
+	
+	@Test
+	public void testTransposeViewSparseScript() {
+		runTransposeViewScriptTest(true);
+	}
+	
+	private void runTransposeViewTest(OpType type, boolean sparse)
+	{
+		try
+		{
+			//data generation
+			double sp = sparse ? sparsity2 : sparsity1;
+			MatrixBlock mbX = DataConverter.convertToMatrixBlock(getRandomMatrix(rows, cols, -10, 10, sp, 7));
+			ReorgOperator rop = new ReorgOperator(SwapIndex.getSwapIndexFnObject());
+			MatrixBlock ret1 = (MatrixBlock) mbX.reorgOperations(rop, new MatrixBlock(), 0, 0, 0);
+			MatrixBlock ret2 = mbX.reorgOperations(rop, new MatrixBlock(), true);
+			if( ret1.isTransposeView() || !ret2.isTransposeView() )
+				Assert.fail("Wrong view selection: "+ret1.isTransposeView()+", "+ret2.isTransposeView());
+			if( ret1.getNonZeros() != ret2.getNonZeros() || ret1.isInSparseFormat() != ret2.isInSparseFormat() )
+				Assert.fail("Wrong meta data: "+ret2.getNonZeros()+", expected: "+ret1.getNonZeros());
+			MatrixBlock view = ret2;
+			boolean supported = true;
+			
+			//core operations
+			switch( type ) {
+				case MM:
+				case MV:
+				case MM_SPARSE: 
+				case TSMM: {
+					int n = (type==OpType.MV) ? 1 : 17;
+					MatrixBlock mbW = (type==OpType.TSMM) ? mbX : DataConverter.convertToMatrixBlock(
+						getRandomMatrix(rows, n, -1, 1, (type==OpType.MM_SPARSE) ? 0.05 : 1.0, 3));
+					AggregateBinaryOperator op = new AggregateBinaryOperator(Multiply.getMultiplyFnObject(), 
+						new AggregateOperator(0, Plus.getPlusFnObject()), 3);
+					ret1 = (MatrixBlock) ret1.aggregateBinaryOperations(ret1, mbW, new MatrixBlock(), op);
+					ret2 = (MatrixBlock) ret2.aggregateBinaryOperations(ret2, mbW, new MatrixBlock(), op);
+					break;
+				}
+				case SUM:      ret1 = aggregate(ret1, "uak+");   ret2 = aggregate(ret2, "uak+"); break;
+				case ROWSUMS:  ret1 = aggregate(ret1, "uark+");  ret2 = aggregate(ret2, "uark+"); break;
+				case COLMEANS: ret1 = aggregate(ret1, "uacmean"); ret2 = aggregate(ret2, "uacmean"); break;
+				case ROWMAXS:  ret1 = aggregate(ret1, "uarmax"); ret2 = aggregate(ret2, "uarmax"); break;
+				case BINARY_MM:
+				case BINARY_MV: {
+					int n = (type==OpType.BINARY_MV) ? 1 : rows;
+					MatrixBlock mbW = DataConverter.convertToMatrixBlock(getRandomMatrix(cols, n, -1, 1, 1.0, 3));
+					BinaryOperator op = new BinaryOperator(Plus.getPlusFnObject());
+					ret1 = (MatrixBlock) ret1.binaryOperations(op, mbW, new MatrixBlock());
+					ret2 = (MatrixBlock) ret2.binaryOperations(op, mbW, new MatrixBlock());
+					supported = !sparse;
+					break;
+				}
+				case WRITE: {
+					ret2 = serializeAndDeserialize(ret2);
+					supported = false;
+					break;
+				}
+			}
+			
+			//compare results and check for materialization
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ret1), 
+				DataConverter.convertToDoubleMatrix(ret2), ret1.getNumRows(), ret1.getNumColumns(), eps);
+			if( view.isTransposeView() != supported )
+				Assert.fail("Wrong materialization by "+type.name()+": "+!view.isTransposeView());
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runTransposeViewMaterializeTest(boolean sparse)
+	{
+		try
+		{
+			double sp = sparse ? sparsity2 : sparsity1;
+			MatrixBlock mbX = DataConverter.convertToMatrixBlock(getRandomMatrix(rows, cols, -10, 10, sp, 7));
+			double[][] X = DataConverter.convertToDoubleMatrix(mbX);
+			MatrixBlock view = mbX.reorgOperations(
+				new ReorgOperator(SwapIndex.getSwapIndexFnObject()), new MatrixBlock(), true);
+			
+			//cell reads w/o materialization, cell update w/ materialization
+			if( view.quickGetValue(5, 3) != X[3][5] || !view.isTransposeView() )
+				Assert.fail("Wrong cell read of transpose view.");
+			view.quickSetValue(5, 3, 7);
+			if( view.isTransposeView() )
+				Assert.fail("Transpose view was not materialized on write.");
+			
+			//check unmodified input and modified transpose
+			TestUtils.compareMatrices(X, DataConverter.convertToDoubleMatrix(mbX), rows, cols, 0);
+			double[][] V = DataConverter.convertToDoubleMatrix(view);
+			for( int i=0; i<cols; i++ )
+				for( int j=0; j<rows; j++ ) {
+					double expected = (i==5 && j==3) ? 7 : X[j][i];
+					if( V[i][j] != expected )
+						Assert.fail("Wrong value at ("+i+","+j+"): "+V[i][j]+", expected: "+expected);
+				}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runTransposeViewScriptTest(boolean sparse)
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = RUNTIME_PLATFORM.SINGLE_NODE;
+		
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-stats", "-args", input("X"), input("y"), input("W"), output("R") };
+			
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, sparse ? sparsity2 : sparsity1, 7);
+			double[][] y = getRandomMatrix(rows, 1, -1, 1, 1.0, 3);
+			double[][] W = getRandomMatrix(cols, rows, -1, 1, 1.0, 5);
+			writeInputMatrixWithMTD("X", X, true);
+			writeInputMatrixWithMTD("y", y, true);
+			writeInputMatrixWithMTD("W", W, true);
+			
+			runTest(true, false, null, -1);
+			
+			//compare against sum(t(X)%*%y) + sum(colSums(t(X))) + sum(rowMaxs(t(X))) + sum(t(X)*W)
+			double expected = 0;
+			for( int j=0; j<cols; j++ ) {
+				double max = -Double.MAX_VALUE;
+				for( int i=0; i<rows; i++ ) {
+					expected += X[i][j] * y[i][0] + X[i][j] + X[i][j] * W[j][i];
+					max = Math.max(max, X[i][j]);
+				}
+				expected += max;
+			}
+			HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromHDFS("R");
+			Assert.assertEquals(expected, dmlfile.get(new CellIndex(1,1)), 1e-8);
+			
+			//check for transpose view
+			if( Statistics.getTotalTransposeView() != 1 )
+				Assert.fail("Wrong number of transpose views: "+Statistics.getTotalTransposeView());
+		}
+		finally {
+			rtplatform = platformOld;
+		}
+	}
+	
+	private static MatrixBlock aggregate(MatrixBlock in, String opcode) 
+		throws Exception
+	{
+		AggregateUnaryOperator op = InstructionUtils.parseBasicAggregateUnaryOperator(opcode);
+		return (MatrixBlock) in.aggregateUnaryOperations(op, new MatrixBlock(), 
+			in.getNumRows(), in.getNumColumns(), new MatrixIndexes(1, 1), true);
+	}
+	
+	private static MatrixBlock serializeAndDeserialize(MatrixBlock in) 
+		throws Exception
+	{
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		DataOutputStream dos = new DataOutputStream(bos);
+		in.write(dos);
+		dos.close();
+		MatrixBlock ret = new MatrixBlock();
+		ret.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+		return ret;
+	}
+}
@@ -0,0 +1,353 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.sparse;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.util.Iterator;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.commons.io.FileUtils;
+import org.apache.sysml.runtime.io.MatrixWriter;
+import org.apache.sysml.runtime.io.WriterMatrixMarket;
+import org.apache.sysml.runtime.io.WriterTextCSV;
+import org.apache.sysml.runtime.io.WriterTextCell;
+import org.apache.sysml.runtime.matrix.data.BlockCursor;
+import org.apache.sysml.runtime.matrix.data.CSVFileFormatProperties;
+import org.apache.sysml.runtime.matrix.data.IJV;
+import org.apache.sysml.runtime.matrix.data.InputInfo;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCOO;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR16;
+import org.apache.sysml.runtime.matrix.data.SparseBlockDCSR;
+import org.apache.sysml.runtime.matrix.data.SparseBlockMCSR;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a sparse matrix block component test for the allocation-free
+ * block cursors over sparse and dense blocks, which we compare against the
+ * input data for full and partial row ranges and cell-wise as well as 
+ * row-wise iteration. Furthermore, we check the cursor-based text cell, 
+ * matrix market and csv writers, and compare the output of the cursor-based 
+ * text cell writer against the previous iterator-based write.
+ * 
+ */
+public class BlockCursorTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "BlockCursorTest";
+	private final static String TEST_DIR = "functions/sparse/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + BlockCursorTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 772;
+	private final static int cols = 394;
+	private final static int rlPartial = 134;
+	private final static double sparsity1 = 0.1;
+	private final static double sparsity2 = 0.7;
+	private final static double eps = 1e-10;
+	
+	private enum WriteType {
+		TEXTCELL,
+		MM,
+		CSV,
+	}
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {"R"}));
+	}
+	
+	@Test
+	public void testCursorMCSRFull()  {
+		runBlockCursorTest(SparseBlock.Type.MCSR, sparsity1, false);
+	}
+	
+	@Test
+	public void testCursorMCSRPartial()  {
+		runBlockCursorTest(SparseBlock.Type.MCSR, sparsity1, true);
+	}
+	
+	@Test
+	public void testCursorCSRFull()  {
+		runBlockCursorTest(SparseBlock.Type.CSR, sparsity1, false);
+	}
+	
+	@Test
+	public void testCursorCSRPartial()  {
+		runBlockCursorTest(SparseBlock.Type.CSR, sparsity1, true);
+	}
+	
+	@Test
+	public void testCursorCOOFull()  {
+		runBlockCursorTest(SparseBlock.Type.COO, sparsity1, false);
+	}
+	
+	@Test
+	public void testCursorDCSRPartial()  {
+		runBlockCursorTest(SparseBlock.Type.DCSR, sparsity1, true);
+	}
+	
+	@Test
+	public void testCursorCSR16Partial()  {
+		runBlockCursorTest(SparseBlock.Type.CSR16, sparsity1, true);
+	}
+	
+	@Test
+	public void testCursorDenseFull()  {
+		runBlockCursorTest(null, sparsity2, false);
+	}
+	
+	@Test
+	public void testCursorDensePartial()  {
+		runBlockCursorTest(null, sparsity2, true);
+	}
+	
+	@Test
+	public void testCursorDenseConstant()  {
+		try {
+			MatrixBlock mb = new MatrixBlock(rows, cols, false);
+			mb.allocateConstantBlock(7);
+			BlockCursor cur = mb.getBlockCursor(rlPartial, rows);
+			long count = 0;
+			while( cur.next() ) {
+				if( cur.getValue() != 7 )
+					Assert.fail("Wrong value returned by cursor: "+cur.getValue()+", expected: 7");
+				count++;
+			}
+			if( count != (long)(rows-rlPartial)*cols )
+				Assert.fail("Wrong number of values returned by cursor: "+count);
+			if( !mb.isConstant() )
+				Assert.fail("Constant block widened by cursor.");
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	@Test
+	public void testCursorEmpty()  {
+		try {
+			for( boolean sparse : new boolean[]{true, false} ) {
+				MatrixBlock mb = new MatrixBlock(rows, cols, sparse);
+				if( mb.getBlockCursor().nextRow() || mb.getBlockCursor(rlPartial, rows).next() )
+					Assert.fail("Non-empty cursor over empty block (sparse="+sparse+").");
+			}
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	@Test
+	public void testWriteTextCellSparse()  {
+		runWriteTest(WriteType.TEXTCELL, sparsity1);
+	}
+	
+	@Test
+	public void testWriteTextCellDense()  {
+		runWriteTest(WriteType.TEXTCELL, sparsity2);
+	}
+	
+	@Test
+	public void testWriteMMSparse()  {
+		runWriteTest(WriteType.MM, sparsity1);
+	}
+	
+	@Test
+	public void testWriteMMDense()  {
+		runWriteTest(WriteType.MM, sparsity2);
+	}
+	
+	@Test
+	public void testWriteCSVSparse()  {
+		runWriteTest(WriteType.CSV, sparsity1);
+	}
+	
+	@Test
+	public void testWriteCSVDense()  {
+		runWriteTest(WriteType.CSV, sparsity2);
+	}
+	
+	@Test
+	public void testWriteTextCellIteratorSparse()  {
+		runWriteIteratorTest(sparsity1);
+	}
+	
+	private void runBlockCursorTest( SparseBlock.Type btype, double sparsity, boolean partial)
+	{
+		try
+		{
+			//data generation
+			double[][] A = getRandomMatrix(rows, cols, -10, 10, sparsity, 8765432); 
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+			if( btype != null ) {
+				SparseBlock srtmp = mb.getSparseBlock();
+				switch( btype ) {
+					case MCSR: srtmp = new SparseBlockMCSR(srtmp); break;
+					case CSR: srtmp = new SparseBlockCSR(srtmp); break;
+					case COO: srtmp = new SparseBlockCOO(srtmp); break;
+					case DCSR: srtmp = new SparseBlockDCSR(srtmp); break;
+					case CSR16: srtmp = new SparseBlockCSR16(srtmp); break;
+					default: throw new RuntimeException("Unsupported sparse block type: "+btype);
+				}
+				mb = new MatrixBlock(rows, cols, mb.getNonZeros(), srtmp);
+			}
+			if( mb.isInSparseFormat() != (btype != null) )
+				Assert.fail("Wrong block format: "+mb.isInSparseFormat());
+			
+			//expected number of non-zeros
+			int rl = partial ? rlPartial : 0;
+			int nnz = 0;
+			for( int i=rl; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					nnz += (A[i][j]!=0) ? 1 : 0;
+			
+			//check cell-wise iteration
+			BlockCursor cur = mb.getBlockCursor(rl, rows);
+			int count = 0;
+			while( cur.next() ) {
+				int i = cur.getRow(), j = cur.getCol();
+				if( i < rl || cur.getValue() != A[i][j] )
+					Assert.fail("Wrong value returned by cursor: "+cur.getValue()+", expected: "+A[i][j]);
+				count++;
+			}
+			if( count != nnz )
+				Assert.fail("Wrong number of values returned by cursor: "+count+", expected: "+nnz);
+			
+			//check row-wise iteration (sparse: non-empty rows only)
+			cur = mb.getBlockCursor(rl, rows);
+			double[][] B = new double[rows][cols];
+			int lastRow = rl-1;
+			while( cur.nextRow() ) {
+				if( cur.getRow() <= lastRow )
+					Assert.fail("Wrong row order returned by cursor: "+cur.getRow());
+				lastRow = cur.getRow();
+				int[] aix = cur.getIndexes();
+				double[] avals = cur.getValues();
+				int apos = cur.getPos();
+				for( int k=apos; k<apos+cur.getSize(); k++ )
+					B[lastRow][(aix!=null) ? aix[k] : k-apos] = avals[k];
+			}
+			for( int i=0; i<rl; i++ )
+				System.arraycopy(A[i], 0, B[i], 0, cols);
+			TestUtils.compareMatrices(A, B, rows, cols, eps);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runWriteTest( WriteType wtype, double sparsity )
+	{
+		try
+		{
+			loadTestConfiguration(getTestConfiguration(TEST_NAME));
+			
+			//data generation
+			double[][] A = getRandomMatrix(rows, cols, -10, 10, sparsity, 7); 
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(A);
+			String fname = output("R");
+			
+			//write and read matrix
+			MatrixWriter writer = null;
+			InputInfo iinfo = null;
+			switch( wtype ) {
+				case TEXTCELL: writer = new WriterTextCell(); iinfo = InputInfo.TextCellInputInfo; break;
+				case MM: writer = new WriterMatrixMarket(); iinfo = InputInfo.MatrixMarketInputInfo; break;
+				case CSV: writer = new WriterTextCSV(new CSVFileFormatProperties()); iinfo = InputInfo.CSVInputInfo; break;
+			}
+			writer.writeMatrixToHDFS(mb, fname, rows, cols, 1000, 1000, mb.getNonZeros());
+			MatrixBlock ret = DataConverter.readMatrixFromHDFS(fname, iinfo, rows, cols, 1000, 1000, 
+				sparsity, new CSVFileFormatProperties());
+			
+			//compare matrices
+			TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(ret), rows, cols, eps);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runWriteIteratorTest( double sparsity )
+	{
+		try
+		{
+			loadTestConfiguration(getTestConfiguration(TEST_NAME));
+			
+			//data generation
+			MatrixBlock mb = DataConverter.convertToMatrixBlock(
+				getRandomMatrix(rows, cols, -10, 10, sparsity, 3));
+			String fname1 = output("R1");
+			String fname2 = output("R2");
+			
+			//write w/ iterator (previous write) and cursor
+			writeTextCellIterator(mb, fname1);
+			new WriterTextCell().writeMatrixToHDFS(mb, fname2, 
+				rows, cols, 1000, 1000, mb.getNonZeros());
+			
+			//compare written files
+			String out1 = FileUtils.readFileToString(new File(fname1));
+			String out2 = FileUtils.readFileToString(new File(fname2));
+			if( !out1.equals(out2) )
+				Assert.fail("Different outputs of iterator- and cursor-based write.");
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private static void writeTextCellIterator(MatrixBlock mb, String fname) 
+		throws Exception
+	{
+		new File(fname).getParentFile().mkdirs();
+		BufferedWriter br = new BufferedWriter(new FileWriter(fname));
+		try {
+			StringBuilder sb = new StringBuilder();
+			Iterator<IJV> iter = mb.getSparseBlockIterator();
+			while( iter.hasNext() ) {
+				IJV cell = iter.next();
+				sb.append(cell.getI()+1);
+				sb.append(' ');
+				sb.append(cell.getJ()+1);
+				sb.append(' ');
+				sb.append(cell.getV());
+				sb.append('\n');
+				br.write( sb.toString() );
+				sb.setLength(0); 
+			}
+		}
+		finally {
+			br.close();
+		}
+	}
+}
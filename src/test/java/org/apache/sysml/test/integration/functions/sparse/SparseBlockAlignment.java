@@ -25,6 +25,8 @@ import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
 import org.apache.sysml.runtime.matrix.data.SparseBlockCOO;
 import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR16;
+import org.apache.sysml.runtime.matrix.data.SparseBlockDCSR;
 import org.apache.sysml.runtime.matrix.data.SparseBlockMCSR;
 import org.apache.sysml.runtime.util.DataConverter;
 import org.apache.sysml.test.integration.AutomatedTestBase;
@@ -93,6 +95,36 @@ public class SparseBlockAlignment extends AutomatedTestBase
 	public void testSparseBlockCOO3Pos()  {
 		runSparseBlockScanTest(SparseBlock.Type.COO, sparsity3, true);
 	}
+	
+	@Test
+	public void testSparseBlockDCSR1Pos()  {
+		runSparseBlockScanTest(SparseBlock.Type.DCSR, sparsity1, true);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR2Pos()  {
+		runSparseBlockScanTest(SparseBlock.Type.DCSR, sparsity2, true);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR3Pos()  {
+		runSparseBlockScanTest(SparseBlock.Type.DCSR, sparsity3, true);
+	}
+	
+	@Test
+	public void testSparseBlockCSR161Pos()  {
+		runSparseBlockScanTest(SparseBlock.Type.CSR16, sparsity1, true);
+	}
+	
+	@Test
+	public void testSparseBlockCSR162Pos()  {
+		runSparseBlockScanTest(SparseBlock.Type.CSR16, sparsity2, true);
+	}
+	
+	@Test
+	public void testSparseBlockCSR163Pos()  {
+		runSparseBlockScanTest(SparseBlock.Type.CSR16, sparsity3, true);
+	}
 
 	@Test
 	public void testSparseBlockMCSR1Neg()  {
@@ -139,6 +171,36 @@ public class SparseBlockAlignment extends AutomatedTestBase
 		runSparseBlockScanTest(SparseBlock.Type.COO, sparsity3, false);
 	}
 	
+	@Test
+	public void testSparseBlockDCSR1Neg()  {
+		runSparseBlockScanTest(SparseBlock.Type.DCSR, sparsity1, false);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR2Neg()  {
+		runSparseBlockScanTest(SparseBlock.Type.DCSR, sparsity2, false);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR3Neg()  {
+		runSparseBlockScanTest(SparseBlock.Type.DCSR, sparsity3, false);
+	}
+	
+	@Test
+	public void testSparseBlockCSR161Neg()  {
+		runSparseBlockScanTest(SparseBlock.Type.CSR16, sparsity1, false);
+	}
+	
+	@Test
+	public void testSparseBlockCSR162Neg()  {
+		runSparseBlockScanTest(SparseBlock.Type.CSR16, sparsity2, false);
+	}
+	
+	@Test
+	public void testSparseBlockCSR163Neg()  {
+		runSparseBlockScanTest(SparseBlock.Type.CSR16, sparsity3, false);
+	}
+	
 	/**
 	 * 
 	 * @param btype
@@ -160,6 +222,8 @@ public class SparseBlockAlignment extends AutomatedTestBase
 				case MCSR: sblock = new SparseBlockMCSR(srtmp); break;
 				case CSR: sblock = new SparseBlockCSR(srtmp); break;
 				case COO: sblock = new SparseBlockCOO(srtmp); break;
+				case DCSR: sblock = new SparseBlockDCSR(srtmp); break;
+				case CSR16: sblock = new SparseBlockCSR16(srtmp); break;
 			}
 			
 			//init second sparse block and deep copy
@@ -168,6 +232,8 @@ public class SparseBlockAlignment extends AutomatedTestBase
 				case MCSR: sblock2 = new SparseBlockMCSR(sblock); break;
 				case CSR: sblock2 = new SparseBlockCSR(sblock); break;
 				case COO: sblock2 = new SparseBlockCOO(sblock); break;
+				case DCSR: sblock2 = new SparseBlockDCSR(sblock); break;
+				case CSR16: sblock2 = new SparseBlockCSR16(sblock); break;
 			}
 			
 			//modify second block if necessary
@@ -24,6 +24,8 @@ import org.junit.Test;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
 import org.apache.sysml.runtime.matrix.data.SparseBlockCOO;
 import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR16;
+import org.apache.sysml.runtime.matrix.data.SparseBlockDCSR;
 import org.apache.sysml.runtime.matrix.data.SparseBlockMCSR;
 import org.apache.sysml.runtime.util.LongLongDoubleHashMap;
 import org.apache.sysml.runtime.util.LongLongDoubleHashMap.LLDoubleEntry;
@@ -144,6 +146,66 @@ public class SparseBlockAppendSort extends AutomatedTestBase
 		runSparseBlockAppendSortTest(SparseBlock.Type.COO, sparsity3, InitType.RAND_SET);
 	}
 	
+	@Test
+	public void testSparseBlockDCSR1Seq()  {
+		runSparseBlockAppendSortTest(SparseBlock.Type.DCSR, sparsity1, InitType.SEQ_SET);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR2Seq()  {
+		runSparseBlockAppendSortTest(SparseBlock.Type.DCSR, sparsity2, InitType.SEQ_SET);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR3Seq()  {
+		runSparseBlockAppendSortTest(SparseBlock.Type.DCSR, sparsity3, InitType.SEQ_SET);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR1Rand()  {
+		runSparseBlockAppendSortTest(SparseBlock.Type.DCSR, sparsity1, InitType.RAND_SET);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR2Rand()  {
+		runSparseBlockAppendSortTest(SparseBlock.Type.DCSR, sparsity2, InitType.RAND_SET);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR3Rand()  {
+		runSparseBlockAppendSortTest(SparseBlock.Type.DCSR, sparsity3, InitType.RAND_SET);
+	}
+	
+	@Test
+	public void testSparseBlockCSR161Seq()  {
+		runSparseBlockAppendSortTest(SparseBlock.Type.CSR16, sparsity1, InitType.SEQ_SET);
+	}
+	
+	@Test
+	public void testSparseBlockCSR162Seq()  {
+		runSparseBlockAppendSortTest(SparseBlock.Type.CSR16, sparsity2, InitType.SEQ_SET);
+	}
+	
+	@Test
+	public void testSparseBlockCSR163Seq()  {
+		runSparseBlockAppendSortTest(SparseBlock.Type.CSR16, sparsity3, InitType.SEQ_SET);
+	}
+	
+	@Test
+	public void testSparseBlockCSR161Rand()  {
+		runSparseBlockAppendSortTest(SparseBlock.Type.CSR16, sparsity1, InitType.RAND_SET);
+	}
+	
+	@Test
+	public void testSparseBlockCSR162Rand()  {
+		runSparseBlockAppendSortTest(SparseBlock.Type.CSR16, sparsity2, InitType.RAND_SET);
+	}
+	
+	@Test
+	public void testSparseBlockCSR163Rand()  {
+		runSparseBlockAppendSortTest(SparseBlock.Type.CSR16, sparsity3, InitType.RAND_SET);
+	}
+	
 	/**
 	 * 
 	 * @param sparseM1
@@ -163,6 +225,8 @@ public class SparseBlockAppendSort extends AutomatedTestBase
 				case MCSR: sblock = new SparseBlockMCSR(rows, cols); break;
 				case CSR: sblock = new SparseBlockCSR(rows, cols); break;
 				case COO: sblock = new SparseBlockCOO(rows, cols); break;
+				case DCSR: sblock = new SparseBlockDCSR(rows, cols); break;
+				case CSR16: sblock = new SparseBlockCSR16(rows, cols); break;
 			}
 			
 			if(itype == InitType.SEQ_SET) {
@@ -0,0 +1,326 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.sparse;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR16;
+import org.apache.sysml.runtime.matrix.data.SparseBlockFactory;
+import org.apache.sysml.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a sparse matrix block component test for CSR blocks with compact
+ * 16-bit column indexes (CSR16). We check that matrix multiplications, column
+ * aggregates, sparse-safe scalar and matrix-vector operations, as well as 
+ * serialization operate over the compact indexes (i.e., w/o widening) and 
+ * compare the results against the same operations over MCSR blocks.
+ * 
+ */
+public class SparseBlockCompactIndexes extends AutomatedTestBase 
+{
+	private final static int rows = 1021;
+	private final static int cols = 733;
+	private final static double sparsity = 0.1;
+	private final static double sparsity2 = 0.01;
+	private final static double eps = 1e-10;
+	
+	private enum OpType {
+		MM_SPARSE,
+		MM_SPARSE_OUT,
+		COLSUMS,
+		COLSUMSQ,
+		SCALAR_MULT,
+		SCALAR_NEQ0,
+		ROWVECTOR_MULT,
+		COLVECTOR_PLUS,
+	}
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testSparseBlockCSR16MatrixVectorMult()  {
+		runSparseBlockMatrixMultTest(1);
+	}
+	
+	@Test
+	public void testSparseBlockCSR16MatrixMultSkinny()  {
+		runSparseBlockMatrixMultTest(17);
+	}
+	
+	@Test
+	public void testSparseBlockCSR16MatrixMult()  {
+		runSparseBlockMatrixMultTest(101);
+	}
+	
+	@Test
+	public void testSparseBlockCSR16MatrixMultSparse()  {
+		runSparseBlockKernelTest(OpType.MM_SPARSE);
+	}
+	
+	@Test
+	public void testSparseBlockCSR16MatrixMultSparseOut()  {
+		runSparseBlockKernelTest(OpType.MM_SPARSE_OUT);
+	}
+	
+	@Test
+	public void testSparseBlockCSR16ColSums()  {
+		runSparseBlockKernelTest(OpType.COLSUMS);
+	}
+	
+	@Test
+	public void testSparseBlockCSR16ColSumsSq()  {
+		runSparseBlockKernelTest(OpType.COLSUMSQ);
+	}
+	
+	@Test
+	public void testSparseBlockCSR16ScalarMult()  {
+		runSparseBlockKernelTest(OpType.SCALAR_MULT);
+	}
+	
+	@Test
+	public void testSparseBlockCSR16ScalarNotEqualsZero()  {
+		runSparseBlockKernelTest(OpType.SCALAR_NEQ0);
+	}
+	
+	@Test
+	public void testSparseBlockCSR16RowVectorMult()  {
+		runSparseBlockKernelTest(OpType.ROWVECTOR_MULT);
+	}
+	
+	@Test
+	public void testSparseBlockCSR16ColVectorPlus()  {
+		runSparseBlockKernelTest(OpType.COLVECTOR_PLUS);
+	}
+	
+	@Test
+	public void testSparseBlockCSR16Serialize()  {
+		runSparseBlockSerializeTest();
+	}
+	
+	@Test
+	public void testSparseBlockCSR16MemorySize()  {
+		runSparseBlockMemorySizeTest();
+	}
+	
+	@Test
+	public void testSparseBlockTypeSelectionWide()  {
+		runSparseBlockTypeSelectionTest(SparseBlockCSR16.MAX_COLUMNS+1, SparseBlock.Type.CSR);
+	}
+	
+	@Test
+	public void testSparseBlockTypeSelectionMaxCols()  {
+		runSparseBlockTypeSelectionTest(SparseBlockCSR16.MAX_COLUMNS, SparseBlock.Type.CSR16);
+	}
+	
+	private void runSparseBlockMatrixMultTest(int n)
+	{
+		try
+		{
+			//data generation
+			MatrixBlock mbA = DataConverter.convertToMatrixBlock(
+				getRandomMatrix(rows, cols, -10, 10, sparsity, 7));
+			MatrixBlock mbA2 = new MatrixBlock(mbA, SparseBlock.Type.CSR16, true);
+			MatrixBlock mbB = DataConverter.convertToMatrixBlock(
+				getRandomMatrix(cols, n, -1, 1, 1.0, 3));
+			
+			//matrix multiplication
+			AggregateBinaryOperator op = new AggregateBinaryOperator(Multiply.getMultiplyFnObject(), 
+				new AggregateOperator(0, Plus.getPlusFnObject()));
+			MatrixBlock ret1 = (MatrixBlock) mbA.aggregateBinaryOperations(mbA, mbB, new MatrixBlock(), op);
+			MatrixBlock ret2 = (MatrixBlock) mbA2.aggregateBinaryOperations(mbA2, mbB, new MatrixBlock(), op);
+			
+			//compare results and check for compact indexes
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ret1), 
+				DataConverter.convertToDoubleMatrix(ret2), rows, n, eps);
+			if( !((SparseBlockCSR16)mbA2.getSparseBlock()).isCompact() )
+				Assert.fail("Unexpected widening of compact column indexes.");
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runSparseBlockKernelTest(OpType type)
+	{
+		try
+		{
+			//data generation
+			double sp = (type==OpType.MM_SPARSE_OUT) ? sparsity2 : sparsity;
+			MatrixBlock mbA = DataConverter.convertToMatrixBlock(
+				getRandomMatrix(rows, cols, -10, 10, sp, 7));
+			MatrixBlock mbA2 = new MatrixBlock(mbA, SparseBlock.Type.CSR16, true);
+			MatrixBlock mbB2 = null;
+			
+			//core operations
+			MatrixBlock ret1 = null, ret2 = null;
+			switch( type ) {
+				case MM_SPARSE:
+				case MM_SPARSE_OUT: {
+					MatrixBlock mbB = DataConverter.convertToMatrixBlock(
+						getRandomMatrix(cols, 200, -1, 1, sp, 3));
+					mbB2 = new MatrixBlock(mbB, SparseBlock.Type.CSR16, true);
+					AggregateBinaryOperator op = new AggregateBinaryOperator(Multiply.getMultiplyFnObject(), 
+						new AggregateOperator(0, Plus.getPlusFnObject()));
+					ret1 = (MatrixBlock) mbA.aggregateBinaryOperations(mbA, mbB, new MatrixBlock(), op);
+					ret2 = (MatrixBlock) mbA2.aggregateBinaryOperations(mbA2, mbB2, new MatrixBlock(), op);
+					break;
+				}
+				case COLSUMS:     ret1 = aggregate(mbA, "uack+");   ret2 = aggregate(mbA2, "uack+"); break;
+				case COLSUMSQ:    ret1 = aggregate(mbA, "uacsqk+"); ret2 = aggregate(mbA2, "uacsqk+"); break;
+				case SCALAR_MULT: ret1 = scalar(mbA, "*", 7);       ret2 = scalar(mbA2, "*", 7); break;
+				case SCALAR_NEQ0: ret1 = scalar(mbA, "!=", 0);      ret2 = scalar(mbA2, "!=", 0); break;
+				case ROWVECTOR_MULT:
+				case COLVECTOR_PLUS: {
+					boolean row = (type==OpType.ROWVECTOR_MULT);
+					MatrixBlock mbV = DataConverter.convertToMatrixBlock(
+						getRandomMatrix(row?1:rows, row?cols:1, -1, 1, 1.0, 3));
+					BinaryOperator op = InstructionUtils.parseBinaryOperator(row ? "*" : "+");
+					ret1 = (MatrixBlock) mbA.binaryOperations(op, mbV, new MatrixBlock());
+					ret2 = (MatrixBlock) mbA2.binaryOperations(op, mbV, new MatrixBlock());
+					break;
+				}
+			}
+			
+			//compare results and check for compact indexes
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ret1), 
+				DataConverter.convertToDoubleMatrix(ret2), ret1.getNumRows(), ret1.getNumColumns(), eps);
+			if( !((SparseBlockCSR16)mbA2.getSparseBlock()).isCompact() 
+				|| (mbB2 != null && !((SparseBlockCSR16)mbB2.getSparseBlock()).isCompact()) )
+				Assert.fail("Unexpected widening of compact column indexes.");
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runSparseBlockSerializeTest()
+	{
+		try
+		{
+			//data generation
+			double[][] A = getRandomMatrix(rows, cols, -10, 10, sparsity, 7);
+			MatrixBlock mbA = new MatrixBlock(DataConverter
+				.convertToMatrixBlock(A), SparseBlock.Type.CSR16, true);
+			
+			//serialize and deserialize
+			ByteArrayOutputStream bos = new ByteArrayOutputStream();
+			DataOutputStream dos = new DataOutputStream(bos);
+			mbA.write(dos);
+			dos.close();
+			MatrixBlock mbA2 = new MatrixBlock();
+			mbA2.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+			
+			//compare results, size, and check for compact indexes
+			TestUtils.compareMatrices(A, DataConverter.convertToDoubleMatrix(mbA2), rows, cols, 0);
+			if( bos.size() != mbA.getExactSizeOnDisk() )
+				Assert.fail("Wrong serialized size: "+bos.size()+", expected: "+mbA.getExactSizeOnDisk());
+			if( !((SparseBlockCSR16)mbA.getSparseBlock()).isCompact() )
+				Assert.fail("Unexpected widening of compact column indexes.");
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runSparseBlockMemorySizeTest()
+	{
+		try
+		{
+			//data generation
+			MatrixBlock mbA = DataConverter.convertToMatrixBlock(
+				getRandomMatrix(rows, cols, -10, 10, sparsity, 7));
+			SparseBlock sblock1 = new SparseBlockCSR(mbA.getSparseBlock());
+			SparseBlock sblock2 = new SparseBlockCSR16(mbA.getSparseBlock());
+			
+			//check 2 bytes less per non-zero value
+			long nnz = mbA.getNonZeros();
+			long diff = sblock1.getExactSizeInMemory() - sblock2.getExactSizeInMemory();
+			if( diff < 2*nnz - 8 )
+				Assert.fail("Wrong memory savings: "+diff+", expected: "+(2*nnz));
+			
+			//check exact size of matrix block w/ compact sparse block
+			MatrixBlock mbA2 = new MatrixBlock(mbA, SparseBlock.Type.CSR16, true);
+			if( mbA2.getInMemorySize() >= mbA.getInMemorySize() )
+				Assert.fail("Wrong in-memory size: "+mbA2.getInMemorySize());
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runSparseBlockTypeSelectionTest(int clen, SparseBlock.Type expected)
+	{
+		try
+		{
+			MatrixBlock mbA = DataConverter.convertToMatrixBlock(
+				getRandomMatrix(3, clen, -10, 10, 0.01, 7));
+			SparseBlock.Type stype = SparseBlockFactory
+				.getCompressedSparseBlockType(mbA.getSparseBlock(), clen);
+			if( stype != expected )
+				Assert.fail("Wrong sparse block type: "+stype+", expected: "+expected);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private static MatrixBlock aggregate(MatrixBlock in, String opcode) 
+		throws Exception
+	{
+		AggregateUnaryOperator op = InstructionUtils.parseBasicAggregateUnaryOperator(opcode);
+		return (MatrixBlock) in.aggregateUnaryOperations(op, new MatrixBlock(), 
+			rows, cols, new MatrixIndexes(1, 1), true);
+	}
+	
+	private static MatrixBlock scalar(MatrixBlock in, String opcode, double constant) 
+		throws Exception
+	{
+		ScalarOperator op = InstructionUtils.parseScalarBinaryOperator(opcode, false, constant);
+		return (MatrixBlock) in.scalarOperations(op, new MatrixBlock());
+	}
+}
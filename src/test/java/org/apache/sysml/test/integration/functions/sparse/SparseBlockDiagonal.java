@@ -0,0 +1,357 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.sparse;
+
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.api.DMLScript.RUNTIME_PLATFORM;
+import org.apache.sysml.runtime.functionobjects.DiagIndex;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.functionobjects.SwapIndex;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysml.runtime.matrix.data.SparseBlockDiag;
+import org.apache.sysml.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.ReorgOperator;
+import org.apache.sysml.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.integration.TestConfiguration;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a sparse matrix block component test for diagonal blocks (e.g.,
+ * outputs of diag(v)), which covers consumers that operate w/o expansion 
+ * (matrix multiplication as row or column scaling, scalar and binary
+ * operations w/ diagonal output, transpose) and generic kernels over the 
+ * CSR-compatible layout. We compare the results against the same operations
+ * over MCSR blocks of equal values.
+ * 
+ */
+public class SparseBlockDiagonal extends AutomatedTestBase 
+{
+	private final static String TEST_NAME = "DiagonalMatrix";
+	private final static String TEST_DIR = "functions/sparse/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + SparseBlockDiagonal.class.getSimpleName() + "/";
+	
+	private final static int rows = 1021;
+	private final static int cols = 533;
+	private final static double sparsity1 = 0.9;
+	private final static double sparsity2 = 0.05;
+	private final static double eps = 1e-10;
+	
+	private enum OpType {
+		MM_RIGHT,
+		MM_LEFT,
+		MM_DIAG,
+		SCALAR,
+		PLUS_DIAG,
+		MULT,
+		PLUS,
+		SUM,
+		ROWSUMS,
+		COLMAXS,
+		TRANSPOSE,
+	}
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME, new String[] {"R"}));
+	}
+	
+	@Test
+	public void testDiagonalCreation() {
+		runDiagonalCreationTest();
+	}
+	
+	@Test
+	public void testDiagonalMatrixMultRightDense() {
+		runDiagonalConsumerTest(OpType.MM_RIGHT, sparsity1);
+	}
+	
+	@Test
+	public void testDiagonalMatrixMultRightSparse() {
+		runDiagonalConsumerTest(OpType.MM_RIGHT, sparsity2);
+	}
+	
+	@Test
+	public void testDiagonalMatrixMultLeftDense() {
+		runDiagonalConsumerTest(OpType.MM_LEFT, sparsity1);
+	}
+	
+	@Test
+	public void testDiagonalMatrixMultLeftSparse() {
+		runDiagonalConsumerTest(OpType.MM_LEFT, sparsity2);
+	}
+	
+	@Test
+	public void testDiagonalMatrixMultDiagonal() {
+		runDiagonalConsumerTest(OpType.MM_DIAG, sparsity1);
+	}
+	
+	@Test
+	public void testDiagonalScalar() {
+		runDiagonalConsumerTest(OpType.SCALAR, sparsity1);
+	}
+	
+	@Test
+	public void testDiagonalPlusDiagonal() {
+		runDiagonalConsumerTest(OpType.PLUS_DIAG, sparsity1);
+	}
+	
+	@Test
+	public void testDiagonalMultDense() {
+		runDiagonalConsumerTest(OpType.MULT, sparsity1);
+	}
+	
+	@Test
+	public void testDiagonalPlusSparse() {
+		runDiagonalConsumerTest(OpType.PLUS, sparsity2);
+	}
+	
+	@Test
+	public void testDiagonalSum() {
+		runDiagonalConsumerTest(OpType.SUM, sparsity1);
+	}
+	
+	@Test
+	public void testDiagonalRowSums() {
+		runDiagonalConsumerTest(OpType.ROWSUMS, sparsity1);
+	}
+	
+	@Test
+	public void testDiagonalColMaxs() {
+		runDiagonalConsumerTest(OpType.COLMAXS, sparsity1);
+	}
+	
+	@Test
+	public void testDiagonalTranspose() {
+		runDiagonalConsumerTest(OpType.TRANSPOSE, sparsity1);
+	}
+	
+	@Test
+	public void testDiagonalCopyOnWrite() {
+		runDiagonalCopyOnWriteTest();
+	}
+	
+	@Test
+	public void testDiagonalScript() {
+		runDiagonalScriptTest();
+	}
+	
+	private void runDiagonalCreationTest() 
+	{
+		try
+		{
+			//diag(v) w/ zeros in v
+			double[][] v = getRandomMatrix(cols, 1, -1, 1, 0.7, 3);
+			MatrixBlock mbD = diag(DataConverter.convertToMatrixBlock(v));
+			
+			//check for diagonal output, nnz and in-memory size
+			if( !mbD.isDiagonal() || !(mbD.getSparseBlock() instanceof SparseBlockDiag) )
+				Assert.fail("Wrong output representation: diagonal block expected.");
+			Assert.assertEquals(mbD.getNonZeros(), mbD.recomputeNonZeros(0, cols-1, 0, cols-1));
+			if( mbD.getInMemorySize() > SparseBlockDiag.estimateSizeInMemory(cols) + 64 )
+				Assert.fail("Wrong in-memory size: "+mbD.getInMemorySize());
+			
+			//compare results via cell access
+			for( int i=0; i<cols; i++ )
+				for( int j=0; j<cols; j++ )
+					if( mbD.quickGetValue(i, j) != ((i==j) ? v[i][0] : 0) )
+						Assert.fail("Wrong value at ("+i+","+j+"): "+mbD.quickGetValue(i, j));
+			
+			//diag of constant vector (e.g., regularization diag(lambda))
+			MatrixBlock mbL = MatrixBlock.randOperations(cols, 1, 1.0, 0.5, 0.5, "uniform", 7);
+			MatrixBlock mbD2 = diag(mbL);
+			if( !mbL.isConstant() || !mbD2.isDiagonal() || mbD2.getNonZeros() != cols )
+				Assert.fail("Wrong diag of constant vector.");
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runDiagonalConsumerTest(OpType type, double sparsity) 
+	{
+		try
+		{
+			//data generation
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, sparsity, 7);
+			MatrixBlock mbX = DataConverter.convertToMatrixBlock(X);
+			int n = (type==OpType.MM_LEFT) ? rows : cols;
+			MatrixBlock mbD = diag(DataConverter.convertToMatrixBlock(getRandomMatrix(n, 1, -1, 1, 0.9, 3)));
+			MatrixBlock mbD2 = new MatrixBlock(mbD, MatrixBlock.DEFAULT_SPARSEBLOCK, true);
+			if( !mbD.isDiagonal() || mbD2.isDiagonal() )
+				Assert.fail("Wrong input representation.");
+			
+			//consumer operations over diagonal and MCSR input
+			MatrixBlock ret1 = null, ret2 = null;
+			boolean diagOut = false;
+			switch( type ) {
+				case MM_RIGHT:
+				case MM_LEFT:
+				case MM_DIAG: {
+					AggregateBinaryOperator op = new AggregateBinaryOperator(Multiply.getMultiplyFnObject(), 
+						new AggregateOperator(0, Plus.getPlusFnObject()));
+					MatrixBlock lhs1 = (type==OpType.MM_RIGHT) ? mbX : mbD;
+					MatrixBlock lhs2 = (type==OpType.MM_RIGHT) ? mbX : mbD2;
+					MatrixBlock rhs1 = (type==OpType.MM_LEFT) ? mbX : mbD;
+					MatrixBlock rhs2 = (type==OpType.MM_LEFT) ? mbX : mbD2;
+					ret1 = (MatrixBlock) lhs1.aggregateBinaryOperations(lhs1, rhs1, new MatrixBlock(), op);
+					ret2 = (MatrixBlock) lhs2.aggregateBinaryOperations(lhs2, rhs2, new MatrixBlock(), op);
+					diagOut = (type == OpType.MM_DIAG);
+					break;
+				}
+				case SCALAR: {
+					RightScalarOperator op = new RightScalarOperator(Multiply.getMultiplyFnObject(), 7);
+					ret1 = (MatrixBlock) mbD.scalarOperations(op, new MatrixBlock());
+					ret2 = (MatrixBlock) mbD2.scalarOperations(op, new MatrixBlock());
+					diagOut = true;
+					break;
+				}
+				case PLUS_DIAG:
+				case MULT:
+				case PLUS: {
+					BinaryOperator op = new BinaryOperator((type==OpType.MULT) ? 
+						Multiply.getMultiplyFnObject() : Plus.getPlusFnObject());
+					MatrixBlock mbX2 = (type==OpType.PLUS_DIAG) ? mbD : 
+						DataConverter.convertToMatrixBlock(getRandomMatrix(cols, cols, -1, 1, sparsity, 7));
+					MatrixBlock mbX3 = (type==OpType.PLUS_DIAG) ? mbD2 : mbX2;
+					ret1 = (MatrixBlock) mbX2.binaryOperations(op, mbD, new MatrixBlock());
+					ret2 = (MatrixBlock) mbX3.binaryOperations(op, mbD2, new MatrixBlock());
+					diagOut = (type != OpType.PLUS);
+					break;
+				}
+				case SUM:      ret1 = aggregate(mbD, "uak+");   ret2 = aggregate(mbD2, "uak+"); break;
+				case ROWSUMS:  ret1 = aggregate(mbD, "uark+");  ret2 = aggregate(mbD2, "uark+"); break;
+				case COLMAXS:  ret1 = aggregate(mbD, "uacmax"); ret2 = aggregate(mbD2, "uacmax"); break;
+				case TRANSPOSE: {
+					ReorgOperator op = new ReorgOperator(SwapIndex.getSwapIndexFnObject());
+					ret1 = (MatrixBlock) mbD.reorgOperations(op, new MatrixBlock(), 0, 0, cols);
+					ret2 = (MatrixBlock) mbD2.reorgOperations(op, new MatrixBlock(), 0, 0, cols);
+					diagOut = true;
+					break;
+				}
+			}
+			
+			//check for unchanged diagonal input and output representation
+			if( !mbD.isDiagonal() )
+				Assert.fail("Unexpected expansion of diagonal block.");
+			if( diagOut && !ret1.isDiagonal() )
+				Assert.fail("Wrong output representation: diagonal block expected.");
+			
+			//compare with reference
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ret2), 
+				DataConverter.convertToDoubleMatrix(ret1), ret2.getNumRows(), ret2.getNumColumns(), eps);
+			Assert.assertEquals(ret2.getNonZeros(), ret1.getNonZeros());
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runDiagonalCopyOnWriteTest() 
+	{
+		try
+		{
+			double[][] v = getRandomMatrix(cols, 1, 1, 2, 1.0, 3);
+			MatrixBlock mbD = diag(DataConverter.convertToMatrixBlock(v));
+			MatrixBlock mbD2 = new MatrixBlock();
+			mbD2.copy(mbD);
+			if( !mbD2.isDiagonal() )
+				Assert.fail("Wrong copy of diagonal block.");
+			
+			//transparent copy on write of updates (incl off-diagonal cells)
+			mbD2.quickSetValue(3, 7, 2.5);
+			mbD2.quickSetValue(5, 5, 0);
+			if( mbD2.isDiagonal() || mbD2.quickGetValue(3, 7) != 2.5 || mbD2.quickGetValue(5, 5) != 0
+				|| mbD2.quickGetValue(7, 7) != v[7][0] || mbD2.getNonZeros() != cols )
+				Assert.fail("Wrong copy on write of diagonal block.");
+			
+			//unmodified source block
+			if( !mbD.isDiagonal() || mbD.quickGetValue(5, 5) != v[5][0] || mbD.quickGetValue(3, 7) != 0 )
+				Assert.fail("Unexpected modification of source block.");
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runDiagonalScriptTest()
+	{
+		RUNTIME_PLATFORM platformOld = rtplatform;
+		rtplatform = RUNTIME_PLATFORM.SINGLE_NODE;
+		
+		try
+		{
+			TestConfiguration config = getTestConfiguration(TEST_NAME);
+			loadTestConfiguration(config);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME + ".dml";
+			programArgs = new String[]{"-args", input("X"), output("R") };
+			
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, sparsity1, 7);
+			writeInputMatrixWithMTD("X", X, true);
+			
+			runTest(true, false, null, -1);
+			
+			//compare against sum(X %*% diag(lambda)) + sum(X + 1) + sum(diag(lambda)) 
+			double lambda = 0.5;
+			double expected = 2 * rows * cols + lambda * cols;
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<cols; j++ )
+					expected += X[i][j] * lambda + X[i][j];
+			HashMap<CellIndex, Double> dmlfile = readDMLMatrixFromHDFS("R");
+			Assert.assertEquals(expected, dmlfile.get(new CellIndex(1,1)), 1e-6);
+		}
+		finally {
+			rtplatform = platformOld;
+		}
+	}
+	
+	private static MatrixBlock diag(MatrixBlock in) 
+		throws Exception
+	{
+		ReorgOperator op = new ReorgOperator(DiagIndex.getDiagIndexFnObject());
+		return (MatrixBlock) in.reorgOperations(op, new MatrixBlock(), 0, 0, in.getNumRows());
+	}
+	
+	private static MatrixBlock aggregate(MatrixBlock in, String opcode) 
+		throws Exception
+	{
+		AggregateUnaryOperator op = InstructionUtils.parseBasicAggregateUnaryOperator(opcode);
+		return (MatrixBlock) in.aggregateUnaryOperations(op, new MatrixBlock(), 
+			in.getNumRows(), in.getNumColumns(), new MatrixIndexes(1, 1), true);
+	}
+}
@@ -25,6 +25,8 @@ import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
 import org.apache.sysml.runtime.matrix.data.SparseBlockCOO;
 import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR16;
+import org.apache.sysml.runtime.matrix.data.SparseBlockDCSR;
 import org.apache.sysml.runtime.matrix.data.SparseBlockMCSR;
 import org.apache.sysml.runtime.util.DataConverter;
 import org.apache.sysml.runtime.util.LongLongDoubleHashMap;
@@ -192,6 +194,96 @@ public class SparseBlockGetSet extends AutomatedTestBase
 		runSparseBlockGetSetTest(SparseBlock.Type.COO, sparsity3, InitType.RAND_SET);
 	}
 	
+	@Test
+	public void testSparseBlockDCSR1Bulk()  {
+		runSparseBlockGetSetTest(SparseBlock.Type.DCSR, sparsity1, InitType.BULK);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR2Bulk()  {
+		runSparseBlockGetSetTest(SparseBlock.Type.DCSR, sparsity2, InitType.BULK);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR3Bulk()  {
+		runSparseBlockGetSetTest(SparseBlock.Type.DCSR, sparsity3, InitType.BULK);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR1Seq()  {
+		runSparseBlockGetSetTest(SparseBlock.Type.DCSR, sparsity1, InitType.SEQ_SET);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR2Seq()  {
+		runSparseBlockGetSetTest(SparseBlock.Type.DCSR, sparsity2, InitType.SEQ_SET);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR3Seq()  {
+		runSparseBlockGetSetTest(SparseBlock.Type.DCSR, sparsity3, InitType.SEQ_SET);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR1Rand()  {
+		runSparseBlockGetSetTest(SparseBlock.Type.DCSR, sparsity1, InitType.RAND_SET);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR2Rand()  {
+		runSparseBlockGetSetTest(SparseBlock.Type.DCSR, sparsity2, InitType.RAND_SET);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR3Rand()  {
+		runSparseBlockGetSetTest(SparseBlock.Type.DCSR, sparsity3, InitType.RAND_SET);
+	}
+	
+	@Test
+	public void testSparseBlockCSR161Bulk()  {
+		runSparseBlockGetSetTest(SparseBlock.Type.CSR16, sparsity1, InitType.BULK);
+	}
+	
+	@Test
+	public void testSparseBlockCSR162Bulk()  {
+		runSparseBlockGetSetTest(SparseBlock.Type.CSR16, sparsity2, InitType.BULK);
+	}
+	
+	@Test
+	public void testSparseBlockCSR163Bulk()  {
+		runSparseBlockGetSetTest(SparseBlock.Type.CSR16, sparsity3, InitType.BULK);
+	}
+	
+	@Test
+	public void testSparseBlockCSR161Seq()  {
+		runSparseBlockGetSetTest(SparseBlock.Type.CSR16, sparsity1, InitType.SEQ_SET);
+	}
+	
+	@Test
+	public void testSparseBlockCSR162Seq()  {
+		runSparseBlockGetSetTest(SparseBlock.Type.CSR16, sparsity2, InitType.SEQ_SET);
+	}
+	
+	@Test
+	public void testSparseBlockCSR163Seq()  {
+		runSparseBlockGetSetTest(SparseBlock.Type.CSR16, sparsity3, InitType.SEQ_SET);
+	}
+	
+	@Test
+	public void testSparseBlockCSR161Rand()  {
+		runSparseBlockGetSetTest(SparseBlock.Type.CSR16, sparsity1, InitType.RAND_SET);
+	}
+	
+	@Test
+	public void testSparseBlockCSR162Rand()  {
+		runSparseBlockGetSetTest(SparseBlock.Type.CSR16, sparsity2, InitType.RAND_SET);
+	}
+	
+	@Test
+	public void testSparseBlockCSR163Rand()  {
+		runSparseBlockGetSetTest(SparseBlock.Type.CSR16, sparsity3, InitType.RAND_SET);
+	}
+	
 	/**
 	 * 
 	 * @param sparseM1
@@ -214,6 +306,8 @@ public class SparseBlockGetSet extends AutomatedTestBase
 					case MCSR: sblock = new SparseBlockMCSR(srtmp); break;
 					case CSR: sblock = new SparseBlockCSR(srtmp); break;
 					case COO: sblock = new SparseBlockCOO(srtmp); break;
+					case DCSR: sblock = new SparseBlockDCSR(srtmp); break;
+					case CSR16: sblock = new SparseBlockCSR16(srtmp); break;
 				}
 			}
 			else if( itype == InitType.SEQ_SET || itype == InitType.RAND_SET ) {
@@ -221,6 +315,8 @@ public class SparseBlockGetSet extends AutomatedTestBase
 					case MCSR: sblock = new SparseBlockMCSR(rows, cols); break;
 					case CSR: sblock = new SparseBlockCSR(rows, cols); break;
 					case COO: sblock = new SparseBlockCOO(rows, cols); break;
+					case DCSR: sblock = new SparseBlockDCSR(rows, cols); break;
+					case CSR16: sblock = new SparseBlockCSR16(rows, cols); break;
 				}
 				
 				if(itype == InitType.SEQ_SET) {
@@ -64,6 +64,8 @@ public class SparseBlockMemEstimate extends AutomatedTestBase
 		double memMCSR = SparseBlockFactory.estimateSizeSparseInMemory(SparseBlock.Type.MCSR, rows, cols, sparsity);
 		double memCSR = SparseBlockFactory.estimateSizeSparseInMemory(SparseBlock.Type.CSR, rows, cols, sparsity);
 		double memCOO = SparseBlockFactory.estimateSizeSparseInMemory(SparseBlock.Type.COO, rows, cols, sparsity);
+		double memDCSR = SparseBlockFactory.estimateSizeSparseInMemory(SparseBlock.Type.DCSR, rows, cols, sparsity);
+		double memCSR16 = SparseBlockFactory.estimateSizeSparseInMemory(SparseBlock.Type.CSR16, rows, cols, sparsity);
 		double memDense = MatrixBlock.estimateSizeDenseInMemory(rows, cols);
 		
 		//check negative estimate
@@ -73,6 +75,10 @@ public class SparseBlockMemEstimate extends AutomatedTestBase
 			Assert.fail("SparseBlockCSR memory estimate <= 0.");
 		if( memCOO  <= 0 )
 			Assert.fail("SparseBlockCOO memory estimate <= 0.");
+		if( memDCSR <= 0 )
+			Assert.fail("SparseBlockDCSR memory estimate <= 0.");
+		if( memCSR16 <= 0 )
+			Assert.fail("SparseBlockCSR16 memory estimate <= 0.");
 		
 		//check dense estimate
 		if( memMCSR > memDense )
@@ -81,6 +87,10 @@ public class SparseBlockMemEstimate extends AutomatedTestBase
 			Assert.fail("SparseBlockCSR memory estimate larger than dense estimate.");
 		if( memCOO > memDense )
 			Assert.fail("SparseBlockCOO memory estimate larger than dense estimate.");
+		if( memDCSR > memDense )
+			Assert.fail("SparseBlockDCSR memory estimate larger than dense estimate.");
+		if( memCSR16 > memDense )
+			Assert.fail("SparseBlockCSR16 memory estimate larger than dense estimate.");
 		
 		//check sparse estimates relations
 		if( sparsity == sparsity1 ) { //sparse (pref CSR)
@@ -88,12 +98,20 @@ public class SparseBlockMemEstimate extends AutomatedTestBase
 				Assert.fail("SparseBlockMCSR memory estimate smaller than SparseBlockCSR estimate.");
 			if( memCOO < memCSR )
 				Assert.fail("SparseBlockCOO memory estimate smaller than SparseBlockCSR estimate.");
+			if( memDCSR < memCSR )
+				Assert.fail("SparseBlockDCSR memory estimate smaller than SparseBlockCSR estimate.");
+			if( memCSR16 >= memCSR )
+				Assert.fail("SparseBlockCSR16 memory estimate not smaller than SparseBlockCSR estimate.");
 		}
 		else { //ultra-sparse (pref COO)
 			if( memMCSR < memCOO )
 				Assert.fail("SparseBlockMCSR memory estimate smaller than SparseBlockCOO estimate.");
 			if( memCSR < memCOO )
 				Assert.fail("SparseBlockCSR memory estimate smaller than SparseBlockCOO estimate.");	
+			if( memCSR < memDCSR )
+				Assert.fail("SparseBlockCSR memory estimate smaller than SparseBlockDCSR estimate.");
+			if( memMCSR < memDCSR )
+				Assert.fail("SparseBlockMCSR memory estimate smaller than SparseBlockDCSR estimate.");
 		}
 	}
 }
\ No newline at end of file
@@ -25,6 +25,8 @@ import org.apache.sysml.runtime.matrix.data.MatrixBlock;
 import org.apache.sysml.runtime.matrix.data.SparseBlock;
 import org.apache.sysml.runtime.matrix.data.SparseBlockCOO;
 import org.apache.sysml.runtime.matrix.data.SparseBlockCSR;
+import org.apache.sysml.runtime.matrix.data.SparseBlockCSR16;
+import org.apache.sysml.runtime.matrix.data.SparseBlockDCSR;
 import org.apache.sysml.runtime.matrix.data.SparseBlockMCSR;
 import org.apache.sysml.runtime.util.DataConverter;
 import org.apache.sysml.test.integration.AutomatedTestBase;
@@ -98,6 +100,36 @@ public class SparseBlockSize extends AutomatedTestBase
 	public void testSparseBlockCOO3()  {
 		runSparseBlockSizeTest(SparseBlock.Type.COO, sparsity3);
 	}
+	
+	@Test
+	public void testSparseBlockDCSR1()  {
+		runSparseBlockSizeTest(SparseBlock.Type.DCSR, sparsity1);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR2()  {
+		runSparseBlockSizeTest(SparseBlock.Type.DCSR, sparsity2);
+	}
+	
+	@Test
+	public void testSparseBlockDCSR3()  {
+		runSparseBlockSizeTest(SparseBlock.Type.DCSR, sparsity3);
+	}
+	
+	@Test
+	public void testSparseBlockCSR161()  {
+		runSparseBlockSizeTest(SparseBlock.Type.CSR16, sparsity1);
+	}
+	
+	@Test
+	public void testSparseBlockCSR162()  {
+		runSparseBlockSizeTest(SparseBlock.Type.CSR16, sparsity2);
+	}
+	
+	@Test
+	public void testSparseBlockCSR163()  {
+		runSparseBlockSizeTest(SparseBlock.Type.CSR16, sparsity3);
+	}
 		
 	/**
 	 * 
@@ -119,6 +151,8 @@ public class SparseBlockSize extends AutomatedTestBase
 				case MCSR: sblock = new SparseBlockMCSR(srtmp); break;
 				case CSR: sblock = new SparseBlockCSR(srtmp); break;
 				case COO: sblock = new SparseBlockCOO(srtmp); break;
+				case DCSR: sblock = new SparseBlockDCSR(srtmp); break;
+				case CSR16: sblock = new SparseBlockCSR16(srtmp); break;
 			}
 			
 			//prepare summary statistics nnz
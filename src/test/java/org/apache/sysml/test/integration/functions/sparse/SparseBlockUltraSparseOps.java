@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.sparse;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysml.runtime.functionobjects.Multiply;
+import org.apache.sysml.runtime.functionobjects.Plus;
+import org.apache.sysml.runtime.instructions.InstructionUtils;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysml.runtime.matrix.data.SparseBlock;
+import org.apache.sysml.runtime.matrix.data.SparseBlockDCSR;
+import org.apache.sysml.runtime.matrix.data.SparseBlockFactory;
+import org.apache.sysml.runtime.matrix.operators.AggregateBinaryOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysml.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+
+/**
+ * This is a sparse matrix block component test for operations over
+ * ultra-sparse blocks in DCSR, which iterate over non-empty rows only.
+ * We compare the results against the same operations over MCSR blocks
+ * and check the automatic selection of DCSR for read-mostly blocks.
+ * 
+ */
+public class SparseBlockUltraSparseOps extends AutomatedTestBase 
+{
+	private final static int rows = 1021;
+	private final static int cols = 533;
+	private final static double sparsity1 = 0.0003;  //sparse-dense kernels
+	private final static double sparsity2 = 0.00005; //ultra-sparse kernels
+	private final static double sparsity3 = 0.1;
+	private final static double eps = 1e-10;
+	
+	private enum OpType {
+		MM,
+		MV,
+		MM_SPARSE,
+		SUM,
+		ROWSUMS,
+		COLSUMS,
+		ROWSUMSQ,
+		ROWMAXS,
+	}
+	
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+	
+	@Test
+	public void testSparseBlockDCSRMatrixMult()  {
+		runSparseBlockUltraSparseOpsTest(OpType.MM, sparsity1);
+	}
+	
+	@Test
+	public void testSparseBlockDCSRMatrixVectorMult()  {
+		runSparseBlockUltraSparseOpsTest(OpType.MV, sparsity1);
+	}
+	
+	@Test
+	public void testSparseBlockDCSRMatrixMultSparse()  {
+		runSparseBlockUltraSparseOpsTest(OpType.MM_SPARSE, sparsity1);
+	}
+	
+	@Test
+	public void testSparseBlockDCSRMatrixMultUltraSparse()  {
+		runSparseBlockUltraSparseOpsTest(OpType.MM, sparsity2);
+	}
+	
+	@Test
+	public void testSparseBlockDCSRSum()  {
+		runSparseBlockUltraSparseOpsTest(OpType.SUM, sparsity1);
+	}
+	
+	@Test
+	public void testSparseBlockDCSRRowSums()  {
+		runSparseBlockUltraSparseOpsTest(OpType.ROWSUMS, sparsity1);
+	}
+	
+	@Test
+	public void testSparseBlockDCSRColSums()  {
+		runSparseBlockUltraSparseOpsTest(OpType.COLSUMS, sparsity1);
+	}
+	
+	@Test
+	public void testSparseBlockDCSRRowSumsSq()  {
+		runSparseBlockUltraSparseOpsTest(OpType.ROWSUMSQ, sparsity1);
+	}
+	
+	@Test
+	public void testSparseBlockDCSRRowMaxs()  {
+		runSparseBlockUltraSparseOpsTest(OpType.ROWMAXS, sparsity1);
+	}
+	
+	@Test
+	public void testSparseBlockTypeSelectionUltraSparse()  {
+		runSparseBlockTypeSelectionTest(sparsity1, SparseBlock.Type.DCSR);
+	}
+	
+	@Test
+	public void testSparseBlockTypeSelectionSparse()  {
+		runSparseBlockTypeSelectionTest(sparsity3, SparseBlock.Type.CSR16);
+	}
+	
+	private void runSparseBlockUltraSparseOpsTest(OpType type, double sparsity)
+	{
+		try
+		{
+			//data generation
+			double[][] A = getRandomMatrix(rows, cols, -10, 10, sparsity, 7); 
+			MatrixBlock mbA = DataConverter.convertToMatrixBlock(A);
+			MatrixBlock mbA2 = new MatrixBlock(mbA, SparseBlock.Type.DCSR, true);
+			if( !(mbA2.getSparseBlock() instanceof SparseBlockDCSR) )
+				Assert.fail("Wrong sparse block type: "+mbA2.getSparseBlock().getClass().getName());
+			
+			//core operations
+			MatrixBlock ret1 = null, ret2 = null;
+			switch( type ) {
+				case MM:
+				case MV:
+				case MM_SPARSE: {
+					int n = (type==OpType.MV) ? 1 : 17;
+					double sp = (type==OpType.MM_SPARSE) ? sparsity3 : 1.0;
+					MatrixBlock mbB = DataConverter.convertToMatrixBlock(
+						getRandomMatrix(cols, n, -1, 1, sp, 3));
+					AggregateBinaryOperator op = new AggregateBinaryOperator(Multiply.getMultiplyFnObject(), 
+						new AggregateOperator(0, Plus.getPlusFnObject()));
+					ret1 = (MatrixBlock) mbA.aggregateBinaryOperations(mbA, mbB, new MatrixBlock(), op);
+					ret2 = (MatrixBlock) mbA2.aggregateBinaryOperations(mbA2, mbB, new MatrixBlock(), op);
+					break;
+				}
+				case SUM:      ret1 = aggregate(mbA, "uak+");    ret2 = aggregate(mbA2, "uak+"); break;
+				case ROWSUMS:  ret1 = aggregate(mbA, "uark+");   ret2 = aggregate(mbA2, "uark+"); break;
+				case COLSUMS:  ret1 = aggregate(mbA, "uack+");   ret2 = aggregate(mbA2, "uack+"); break;
+				case ROWSUMSQ: ret1 = aggregate(mbA, "uarsqk+"); ret2 = aggregate(mbA2, "uarsqk+"); break;
+				case ROWMAXS:  ret1 = aggregate(mbA, "uarmax");  ret2 = aggregate(mbA2, "uarmax"); break;
+			}
+			
+			//compare results
+			TestUtils.compareMatrices(DataConverter.convertToDoubleMatrix(ret1), 
+				DataConverter.convertToDoubleMatrix(ret2), ret1.getNumRows(), ret1.getNumColumns(), eps);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runSparseBlockTypeSelectionTest(double sparsity, SparseBlock.Type expected)
+	{
+		try
+		{
+			double[][] A = getRandomMatrix(rows, cols, -10, 10, sparsity, 7); 
+			MatrixBlock mbA = DataConverter.convertToMatrixBlock(A);
+			SparseBlock.Type stype = SparseBlockFactory
+				.getCompressedSparseBlockType(mbA.getSparseBlock(), cols);
+			if( stype != expected )
+				Assert.fail("Wrong sparse block type: "+stype+", expected: "+expected);
+		}
+		catch(Exception ex) {
+			ex.printStackTrace();
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private static MatrixBlock aggregate(MatrixBlock in, String opcode) 
+		throws Exception
+	{
+		AggregateUnaryOperator op = InstructionUtils.parseBasicAggregateUnaryOperator(opcode);
+		return (MatrixBlock) in.aggregateUnaryOperations(op, new MatrixBlock(), 
+			rows, cols, new MatrixIndexes(1, 1), true);
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.ternary;
+
+import org.apache.sysml.runtime.matrix.data.CTableMap;
+import org.apache.sysml.runtime.matrix.data.LibMatrixCTable;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.matrix.operators.SimpleOperator;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the multi-threaded ctable with partitioned primitive hash maps against 
+ * the single-threaded ctable via CTableMap, for matrix and scalar second inputs 
+ * and weights, known and unknown output dimensions, as well as dense (few 
+ * categories) and sparse (many categories) outputs.
+ */
+public class ParallelCTableTest extends AutomatedTestBase
+{
+	private static final int rows = 1200007;
+	private static final int fewCats = 7;
+	private static final int manyCats = 3001;
+	private static final int k = 6;
+	
+	@Override
+	public void setUp() {
+		
+	}
+	
+	@Test
+	public void testCTableDenseOutput() {
+		runParallelCTableTest(true, false, fewCats, false);
+	}
+	
+	@Test
+	public void testCTableWeightsDenseOutput() {
+		runParallelCTableTest(true, true, fewCats, false);
+	}
+	
+	@Test
+	public void testCTableSparseOutput() {
+		runParallelCTableTest(true, false, manyCats, false);
+	}
+	
+	@Test
+	public void testCTableWeightsSparseOutput() {
+		runParallelCTableTest(true, true, manyCats, false);
+	}
+	
+	@Test
+	public void testCTableDenseOutputKnownDims() {
+		runParallelCTableTest(true, false, fewCats, true);
+	}
+	
+	@Test
+	public void testCTableSparseOutputKnownDims() {
+		runParallelCTableTest(true, true, manyCats, true);
+	}
+	
+	@Test
+	public void testHistogramDenseOutput() {
+		runParallelCTableTest(false, false, fewCats, false);
+	}
+	
+	@Test
+	public void testHistogramWeightsSparseOutput() {
+		runParallelCTableTest(false, true, manyCats, false);
+	}
+	
+	private void runParallelCTableTest(boolean matrixB, boolean matrixW, int numCats, boolean knownDims)
+	{
+		try
+		{
+			//generate category vectors w/ values in [1,numCats] and integer weights
+			MatrixBlock A = DataConverter.convertToMatrixBlock(
+				TestUtils.round(TestUtils.generateTestMatrix(rows, 1, 1, numCats, 1.0, 7)));
+			MatrixBlock B = !matrixB ? null : DataConverter.convertToMatrixBlock(
+				TestUtils.round(TestUtils.generateTestMatrix(rows, 1, 1, numCats, 1.0, 3)));
+			MatrixBlock W = !matrixW ? null : DataConverter.convertToMatrixBlock(
+				TestUtils.round(TestUtils.generateTestMatrix(rows, 1, 0, 3, 1.0, 11)));
+			
+			//known output dimensions smaller than the number of categories
+			long dim1 = knownDims ? numCats-2 : -1;
+			long dim2 = knownDims ? numCats-1 : -1;
+			
+			//single-threaded ctable via ctable map
+			CTableMap map = new CTableMap();
+			SimpleOperator op = new SimpleOperator(null);
+			if( matrixB && matrixW )
+				A.ternaryOperations(op, B, W, map, null);
+			else if( matrixB )
+				A.ternaryOperations(op, B, 1, false, map, null);
+			else if( matrixW )
+				A.ternaryOperations(op, 1, W, map, null);
+			else
+				A.ternaryOperations(op, 1, 1, map, null);
+			MatrixBlock ret1 = knownDims ? DataConverter.convertToMatrixBlock(map, (int)dim1, (int)dim2) :
+				DataConverter.convertToMatrixBlock(map);
+			
+			//multi-threaded ctable
+			MatrixBlock ret2 = LibMatrixCTable.ctable(A, B, 1, W, 1, false, dim1, dim2, k);
+			
+			//compare results
+			Assert.assertEquals(ret1.getNumRows(), ret2.getNumRows());
+			Assert.assertEquals(ret1.getNumColumns(), ret2.getNumColumns());
+			Assert.assertEquals(ret1.getNonZeros(), ret2.getNonZeros());
+			double[][] d1 = DataConverter.convertToDoubleMatrix(ret1);
+			double[][] d2 = DataConverter.convertToDoubleMatrix(ret2);
+			TestUtils.compareMatrices(d1, d2, ret1.getNumRows(), ret1.getNumColumns(), 0);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
@@ -0,0 +1,282 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.apache.sysml.test.integration.functions.unary.matrix;
+
+import java.util.Arrays;
+
+import org.apache.commons.math3.linear.Array2DRowRealMatrix;
+import org.apache.commons.math3.linear.CholeskyDecomposition;
+import org.apache.commons.math3.linear.EigenDecomposition;
+import org.apache.commons.math3.linear.LUDecomposition;
+import org.apache.commons.math3.linear.QRDecomposition;
+import org.apache.commons.math3.linear.RealMatrix;
+import org.apache.sysml.lops.Lop;
+import org.apache.sysml.runtime.DMLRuntimeException;
+import org.apache.sysml.runtime.instructions.CPInstructionParser;
+import org.apache.sysml.runtime.instructions.cp.CPInstruction;
+import org.apache.sysml.runtime.instructions.cp.MatrixBuiltinCPInstruction;
+import org.apache.sysml.runtime.instructions.cp.MatrixMatrixBuiltinCPInstruction;
+import org.apache.sysml.runtime.instructions.cp.MultiReturnBuiltinCPInstruction;
+import org.apache.sysml.runtime.matrix.data.LibMatrixDecomp;
+import org.apache.sysml.runtime.matrix.data.MatrixBlock;
+import org.apache.sysml.runtime.util.DataConverter;
+import org.apache.sysml.test.integration.AutomatedTestBase;
+import org.apache.sysml.test.utils.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the native blocked LU, QR, Cholesky and symmetric eigen decompositions
+ * (single- and multi-threaded) against the commons-math reference implementations.
+ */
+public class NativeDecompositionTest extends AutomatedTestBase
+{
+	private static final int rows = 317;
+	private static final int cols = 283;
+	private static final int k = 6;
+	private static final double eps = 1e-8;
+	
+	@Override
+	public void setUp() {
+		
+	}
+	
+	@Test
+	public void testLUSingleThreaded() {
+		runLUTest(1);
+	}
+	
+	@Test
+	public void testLUMultiThreaded() {
+		runLUTest(k);
+	}
+	
+	@Test
+	public void testQRTallMultiThreaded() {
+		runQRTest(rows, cols, k);
+	}
+	
+	@Test
+	public void testQRWideMultiThreaded() {
+		runQRTest(cols, rows, k);
+	}
+	
+	@Test
+	public void testCholeskySingleThreaded() {
+		runCholeskyTest(1);
+	}
+	
+	@Test
+	public void testCholeskyMultiThreaded() {
+		runCholeskyTest(k);
+	}
+	
+	@Test
+	public void testEigenSingleThreaded() {
+		runEigenTest(1);
+	}
+	
+	@Test
+	public void testEigenMultiThreaded() {
+		runEigenTest(k);
+	}
+	
+	@Test
+	public void testSolveSquareMultiThreaded() {
+		runSolveTest(rows, rows, k);
+	}
+	
+	@Test
+	public void testSolveTallMultiThreaded() {
+		runSolveTest(rows, cols, k);
+	}
+	
+	@Test
+	public void testInverseMultiThreaded() {
+		runInverseTest(k);
+	}
+	
+	@Test
+	public void testInstructionNumThreads() throws DMLRuntimeException {
+		//unary, binary, and multi-return decompositions parse the degree of parallelism
+		String A = "A"+Lop.DATATYPE_PREFIX+"MATRIX"+Lop.VALUETYPE_PREFIX+"DOUBLE";
+		String B = "B"+Lop.DATATYPE_PREFIX+"MATRIX"+Lop.VALUETYPE_PREFIX+"DOUBLE";
+		String C = "C"+Lop.DATATYPE_PREFIX+"MATRIX"+Lop.VALUETYPE_PREFIX+"DOUBLE";
+		for( String opcode : new String[]{"inverse", "cholesky"} ) {
+			CPInstruction inst = CPInstructionParser.parseSingleInstruction(
+				constructInstruction(opcode, A, B, String.valueOf(k)));
+			Assert.assertEquals(k, ((MatrixBuiltinCPInstruction)inst).getNumThreads());
+		}
+		CPInstruction solve = CPInstructionParser.parseSingleInstruction(
+			constructInstruction("solve", A, B, C, String.valueOf(k)));
+		Assert.assertEquals(k, ((MatrixMatrixBuiltinCPInstruction)solve).getNumThreads());
+		CPInstruction qr = CPInstructionParser.parseSingleInstruction(
+			constructInstruction("qr", A, "H", "R", String.valueOf(k)));
+		Assert.assertEquals(k, ((MultiReturnBuiltinCPInstruction)qr).getNumThreads());
+		CPInstruction lu = CPInstructionParser.parseSingleInstruction(
+			constructInstruction("lu", A, "P", "L", "U", String.valueOf(k)));
+		Assert.assertEquals(k, ((MultiReturnBuiltinCPInstruction)lu).getNumThreads());
+		CPInstruction eigen = CPInstructionParser.parseSingleInstruction(
+			constructInstruction("eigen", A, "V", "W", String.valueOf(k)));
+		Assert.assertEquals(k, ((MultiReturnBuiltinCPInstruction)eigen).getNumThreads());
+		
+		//backwards compatibility: default single-threaded
+		CPInstruction qr1 = CPInstructionParser.parseSingleInstruction(
+			constructInstruction("qr", A, "H", "R"));
+		Assert.assertEquals(1, ((MultiReturnBuiltinCPInstruction)qr1).getNumThreads());
+	}
+	
+	@Test(expected=DMLRuntimeException.class)
+	public void testLUSingular() throws DMLRuntimeException {
+		double[][] A = TestUtils.generateTestMatrix(rows, rows, -1, 1, 1.0, 7);
+		for( int i=0; i<rows; i++ ) //zero column
+			A[i][3] = 0;
+		LibMatrixDecomp.computeInverse(DataConverter.convertToMatrixBlock(A), k);
+	}
+	
+	private void runLUTest(int k)
+	{
+		try {
+			double[][] A = TestUtils.generateTestMatrix(rows, rows, -1, 1, 1.0, 7);
+			MatrixBlock[] ret = LibMatrixDecomp.computeLU(DataConverter.convertToMatrixBlock(A), k);
+			LUDecomposition lu = new LUDecomposition(new Array2DRowRealMatrix(A));
+			compare(lu.getP(), ret[0]);
+			compare(lu.getL(), ret[1]);
+			compare(lu.getU(), ret[2]);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runQRTest(int m, int n, int k)
+	{
+		try {
+			double[][] A = TestUtils.generateTestMatrix(m, n, -1, 1, 1.0, 3);
+			MatrixBlock[] ret = LibMatrixDecomp.computeQR(DataConverter.convertToMatrixBlock(A), k);
+			QRDecomposition qr = new QRDecomposition(new Array2DRowRealMatrix(A));
+			compare(qr.getH(), ret[0]);
+			compare(qr.getR(), ret[1]);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runCholeskyTest(int k)
+	{
+		try {
+			RealMatrix A = getSymmetricMatrix(rows, true);
+			MatrixBlock ret = LibMatrixDecomp.computeCholesky(DataConverter.convertToMatrixBlock(A.getData()), k);
+			compare(new CholeskyDecomposition(A).getL(), ret);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runEigenTest(int k)
+	{
+		try {
+			RealMatrix A = getSymmetricMatrix(rows, false);
+			MatrixBlock[] ret = LibMatrixDecomp.computeEigen(DataConverter.convertToMatrixBlock(A.getData()), k);
+			
+			//compare sorted eigen values
+			double[] evals = new EigenDecomposition(A).getRealEigenvalues();
+			Arrays.sort(evals);
+			double[][] w = DataConverter.convertToDoubleMatrix(ret[0]);
+			for( int i=0; i<rows; i++ )
+				Assert.assertEquals(evals[i], w[i][0], eps);
+			
+			//check A %*% V = V %*% diag(w) 
+			RealMatrix V = new Array2DRowRealMatrix(DataConverter.convertToDoubleMatrix(ret[1]));
+			double[][] AV = A.multiply(V).getData();
+			double[][] VW = V.getData();
+			for( int i=0; i<rows; i++ )
+				for( int j=0; j<rows; j++ )
+					VW[i][j] *= w[j][0];
+			TestUtils.compareMatrices(AV, VW, rows, rows, eps);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runSolveTest(int m, int n, int k)
+	{
+		try {
+			double[][] A = TestUtils.generateTestMatrix(m, n, -1, 1, 1.0, 7);
+			double[][] B = TestUtils.generateTestMatrix(m, 3, -1, 1, 1.0, 3);
+			MatrixBlock ret = LibMatrixDecomp.computeSolve(DataConverter.convertToMatrixBlock(A), 
+				DataConverter.convertToMatrixBlock(B), k);
+			RealMatrix X = new QRDecomposition(new Array2DRowRealMatrix(A))
+				.getSolver().solve(new Array2DRowRealMatrix(B));
+			compare(X, ret);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private void runInverseTest(int k)
+	{
+		try {
+			double[][] A = TestUtils.generateTestMatrix(rows, rows, -1, 1, 1.0, 7);
+			MatrixBlock ret = LibMatrixDecomp.computeInverse(DataConverter.convertToMatrixBlock(A), k);
+			RealMatrix Ainv = new LUDecomposition(new Array2DRowRealMatrix(A)).getSolver().getInverse();
+			compare(Ainv, ret);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+	
+	private static RealMatrix getSymmetricMatrix(int n, boolean posdef) {
+		double[][] X = TestUtils.generateTestMatrix(n, n, -1, 1, 1.0, 11);
+		RealMatrix A = new Array2DRowRealMatrix(X);
+		A = A.transpose().multiply(A);
+		for( int i=0; i<n; i++ )
+			for( int j=0; j<i; j++ )
+				A.setEntry(i, j, A.getEntry(j, i));
+		if( posdef )
+			for( int i=0; i<n; i++ )
+				A.addToEntry(i, i, n);
+		return A;
+	}
+	
+	private static void compare(RealMatrix expected, MatrixBlock actual) {
+		double[][] d1 = expected.getData();
+		double[][] d2 = DataConverter.convertToDoubleMatrix(actual);
+		TestUtils.compareMatrices(d1, d2, d1.length, d1[0].length, eps);
+	}
+	
+	private static String constructInstruction(String opcode, String... operands) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("CP");
+		sb.append(Lop.OPERAND_DELIMITOR);
+		sb.append(opcode);
+		for( String op : operands ) {
+			sb.append(Lop.OPERAND_DELIMITOR);
+			sb.append(op);
+		}
+		return sb.toString();
+	}
+}
@@ -1951,7 +1951,7 @@ public class TestUtils
 							}
 							
 						} else {
-							double[] valuesInBlock = value.getDenseBlock();
+							double[] valuesInBlock = value.getDenseBlockValues();
 							for (int i = 0; i < value.getNumRows(); i++) {
 								for (int j = 0; j < value.getNumColumns(); j++) {
 									valueMap.put(new MatrixIndexes(((indexes.getRowIndex() - 1) * rowsInBlock + i),